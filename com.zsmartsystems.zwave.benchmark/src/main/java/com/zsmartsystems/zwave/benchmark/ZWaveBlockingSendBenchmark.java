@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveTransportTransmit;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassConfigurationV1;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+import com.zsmartsystems.zwave.transaction.ZWaveExecutors;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
+
+/**
+ * Benchmarks {@value #CALLERS} transactions in flight at once, as during the interview of a large network, with the
+ * callers on a platform thread each, on a virtual thread each, or using the non-blocking API.
+ * <p>
+ * Besides the time, the number of live platform threads and the heap used while all the transactions are in flight are
+ * reported as the <code>threads</code> and <code>heapKb</code> counters. Virtual threads are only available from JDK
+ * 21 - on older JDKs the <code>VIRTUAL</code> mode falls back to the non-blocking API, as the library does.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ZWaveBlockingSendBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveBlockingSendBenchmark.class);
+
+    private static final int CALLERS = 2000;
+    private static final int NODE_COUNT = 200;
+    private static final long RESPONSE_DELAY = 1;
+
+    @Param({ "PLATFORM", "VIRTUAL", "ASYNC" })
+    public String mode;
+
+    private ZWaveTransactionManager transactionManager;
+    private ScheduledExecutorService responseScheduler;
+    private ExecutorService virtualExecutor;
+
+    /**
+     * The resources used while the transactions are in flight
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Resources {
+        public long threads;
+        public long heapKb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            threads = 0;
+            heapKb = 0;
+        }
+
+        void sample() {
+            threads = ManagementFactory.getThreadMXBean().getThreadCount();
+            heapKb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1024;
+        }
+    }
+
+    /**
+     * A network of listening nodes, numbered from 2
+     */
+    private static class LoopbackNetwork extends ZWaveNetwork {
+        private final ZWaveNode[] nodes = new ZWaveNode[NODE_COUNT + 2];
+
+        LoopbackNetwork() {
+            for (int nodeId = 2; nodeId < nodes.length; nodeId++) {
+                nodes[nodeId] = new ZWaveNode(this, nodeId);
+                nodes[nodeId].setListening(true);
+                nodes[nodeId].addEndpoint(0);
+            }
+        }
+
+        @Override
+        public ZWaveNode getNode(int nodeId) {
+            return nodeId >= 0 && nodeId < nodes.length ? nodes[nodeId] : null;
+        }
+    }
+
+    /**
+     * A transport where each node answers a CONFIGURATION_GET with a CONFIGURATION_REPORT after a delay
+     */
+    private class DelayedTransport implements ZWaveTransportTransmit {
+        @Override
+        public void sendMessage(final ZWaveCommandClassTransactionPayload payload) {
+            final ZWaveCommandClassPayload report = new ZWaveCommandClassPayload(CommandClassConfigurationV1
+                    .getConfigurationReport(payload.getPayloadBuffer()[2] & 0xff, new byte[] { 0x01 }));
+            responseScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    transactionManager.processReceiveMessage(payload.getNodeId(), report);
+                }
+            }, RESPONSE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        responseScheduler = Executors.newSingleThreadScheduledExecutor();
+        transactionManager = new ZWaveTransactionManager(new LoopbackNetwork(), new DelayedTransport());
+
+        if ("VIRTUAL".equals(mode)) {
+            virtualExecutor = ZWaveExecutors.newVirtualThreadExecutor();
+            if (virtualExecutor == null) {
+                logger.warn("Virtual threads are not available - using the non-blocking API");
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionManager.shutdown();
+        responseScheduler.shutdownNow();
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets a configuration read. Each caller reads a different parameter, spread over all the nodes.
+     */
+    private ZWaveCommandClassTransactionPayload getTransaction(int caller) {
+        return new ZWaveCommandClassTransactionPayloadBuilder(2 + caller % NODE_COUNT,
+                CommandClassConfigurationV1.getConfigurationGet(1 + caller / NODE_COUNT))
+                        .withExpectedResponseCommand(CommandClassConfigurationV1.CONFIGURATION_REPORT).build();
+    }
+
+    @Benchmark
+    public int sendTransactions(Resources resources) throws Exception {
+        if ("PLATFORM".equals(mode)) {
+            return sendBlocking(resources, null);
+        }
+        if (virtualExecutor != null) {
+            return sendBlocking(resources, virtualExecutor);
+        }
+        return sendAsync(resources);
+    }
+
+    /**
+     * Each caller blocks in sendTransaction on its own thread
+     */
+    private int sendBlocking(Resources resources, ExecutorService executor) throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(CALLERS);
+        final CountDownLatch finished = new CountDownLatch(CALLERS);
+        final int[] completed = new int[1];
+
+        for (int caller = 0; caller < CALLERS; caller++) {
+            final ZWaveCommandClassTransactionPayload transaction = getTransaction(caller);
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    ZWaveTransactionResponse response = transactionManager.sendTransaction(transaction);
+                    if (response != null) {
+                        synchronized (completed) {
+                            completed[0]++;
+                        }
+                    }
+                    finished.countDown();
+                }
+            };
+            if (executor == null) {
+                new Thread(task).start();
+            } else {
+                executor.execute(task);
+            }
+        }
+
+        started.await();
+        resources.sample();
+        finished.await();
+        return completed[0];
+    }
+
+    /**
+     * All the transactions are sent from this thread without blocking
+     */
+    private int sendAsync(Resources resources) throws Exception {
+        List<CompletableFuture<ZWaveTransactionResponse>> futures = new ArrayList<>(CALLERS);
+        for (int caller = 0; caller < CALLERS; caller++) {
+            futures.add(transactionManager.sendTransactionAsync(getTransaction(caller)));
+        }
+
+        resources.sample();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[CALLERS])).get();
+        return futures.size();
+    }
+}
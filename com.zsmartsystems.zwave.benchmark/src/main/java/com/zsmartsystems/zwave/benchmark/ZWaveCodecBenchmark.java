@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassMeterV4;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassMultiChannelV4;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassNotificationV8;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSensorMultilevelV10;
+
+/**
+ * Benchmarks for the generated command class encoders and decoders. Decoders are measured through both the
+ * {@link Map} based handlers and the typed report views.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZWaveCodecBenchmark {
+    private final byte[] meterReport = { 0x32, 0x02, 0x21, 0x74, 0x00, 0x00, 0x01, (byte) 0xB7, 0x00, 0x3C, 0x00,
+            0x00, 0x01, (byte) 0xA0 };
+    private final byte[] sensorMultilevelReport = { 0x31, 0x05, 0x01, 0x22, 0x00, (byte) 0xE0 };
+    private final byte[] notificationReport = { 0x71, 0x05, 0x00, 0x00, 0x00, (byte) 0xFF, 0x08, 0x01, 0x00 };
+    private final byte[] multiChannelEncap = { 0x60, 0x0D, 0x01, 0x00, 0x25, 0x03, (byte) 0xFF };
+    private final int[] encapsulatedCommand = { 0xFF };
+
+    private final CommandClassMeterV4.MeterReport meterReportView = new CommandClassMeterV4.MeterReport();
+    private final CommandClassSensorMultilevelV10.SensorMultilevelReport sensorMultilevelReportView =
+            new CommandClassSensorMultilevelV10.SensorMultilevelReport();
+    private final CommandClassNotificationV8.NotificationReport notificationReportView =
+            new CommandClassNotificationV8.NotificationReport();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    @Benchmark
+    public byte[] encodeMeterGet() {
+        return CommandClassMeterV4.getMeterGet(2, "IMPORT", 0);
+    }
+
+    @Benchmark
+    public byte[] encodeSensorMultilevelGet() {
+        return CommandClassSensorMultilevelV10.getSensorMultilevelGet("TEMPERATURE", 1);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeSensorMultilevelGetBuffer() {
+        buffer.clear();
+        CommandClassSensorMultilevelV10.getSensorMultilevelGet(buffer, "TEMPERATURE", 1);
+        return buffer;
+    }
+
+    @Benchmark
+    public byte[] encodeNotificationGet() {
+        return CommandClassNotificationV8.getNotificationGet(0, "SMOKE", 1);
+    }
+
+    @Benchmark
+    public byte[] encodeMultiChannelCmdEncap() {
+        return CommandClassMultiChannelV4.getMultiChannelCmdEncap(1, false, 0, false, 0x25, 0x03, encapsulatedCommand);
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeMeterReport() {
+        return CommandClassMeterV4.handleMeterReport(meterReport);
+    }
+
+    @Benchmark
+    public int decodeMeterReportView() {
+        meterReportView.wrap(meterReport);
+        return meterReportView.getMeterType() + meterReportView.getScaleBits10() + meterReportView.getMeterValue()
+                + meterReportView.getDeltaTime() + meterReportView.getPreviousMeterValue();
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeSensorMultilevelReport() {
+        return CommandClassSensorMultilevelV10.handleSensorMultilevelReport(sensorMultilevelReport);
+    }
+
+    @Benchmark
+    public int decodeSensorMultilevelReportView() {
+        sensorMultilevelReportView.wrap(sensorMultilevelReport);
+        return sensorMultilevelReportView.getSensorType() + sensorMultilevelReportView.getScale()
+                + sensorMultilevelReportView.getPrecision() + sensorMultilevelReportView.getSensorValue();
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeNotificationReport() {
+        return CommandClassNotificationV8.handleNotificationReport(notificationReport);
+    }
+
+    @Benchmark
+    public int decodeNotificationReportView() {
+        notificationReportView.wrap(notificationReport);
+        return notificationReportView.getNotificationStatus() + notificationReportView.getNotificationType()
+                + notificationReportView.getEvent();
+    }
+
+    @Benchmark
+    public Map<String, Object> decodeMultiChannelCmdEncap() {
+        return CommandClassMultiChannelV4.handleMultiChannelCmdEncap(multiChannelEncap);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClass;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
+import com.zsmartsystems.zwave.commandclass.ZWaveResponseHandler;
+
+/**
+ * Compares the response handler dispatch in {@link ZWaveCommandClass} with the reflective path it replaced. The
+ * reflective benchmarks reproduce the old implementation - a scan of {@link Class#getMethods()} for every new command
+ * class, and {@link Method#invoke(Object, Object...)} with three map lookups for every received command.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZWaveCommandClassDispatchBenchmark {
+    /**
+     * A command class with a handful of handlers, similar to the real implementations
+     */
+    public static class BenchmarkCommandClass extends ZWaveCommandClass {
+        private int count;
+
+        public BenchmarkCommandClass(ZWaveEndpoint endpoint) {
+            super(endpoint, ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_MULTILEVEL);
+        }
+
+        @ZWaveResponseHandler(id = 3, name = "SWITCH_MULTILEVEL_REPORT")
+        public void handleSwitchMultilevelReport(ZWaveCommandClassPayload payload, int endpoint) {
+            count += payload.getPayloadByte(2);
+        }
+
+        @ZWaveResponseHandler(id = 7, name = "SWITCH_MULTILEVEL_SUPPORTED_REPORT")
+        public void handleSwitchMultilevelSupportedReport(ZWaveCommandClassPayload payload, int endpoint) {
+            count++;
+        }
+
+        @ZWaveResponseHandler(id = 4, name = "SWITCH_MULTILEVEL_START_LEVEL_CHANGE")
+        public void handleSwitchMultilevelStartLevelChange(ZWaveCommandClassPayload payload, int endpoint) {
+            count++;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private ZWaveEndpoint endpoint;
+    private BenchmarkCommandClass commandClass;
+    private Map<Integer, Method> reflectiveCommands;
+    private ZWaveCommandClassPayload payload;
+
+    @Setup
+    public void setup() {
+        endpoint = new ZWaveNode(null, 2).addEndpoint(0);
+        commandClass = new BenchmarkCommandClass(endpoint);
+        reflectiveCommands = scanHandlers(BenchmarkCommandClass.class);
+        payload = new ZWaveCommandClassPayload(new byte[] { 0x26, 0x03, 0x63 });
+    }
+
+    private static Map<Integer, Method> scanHandlers(Class<?> cls) {
+        Map<Integer, Method> commands = new HashMap<Integer, Method>();
+        for (Method method : cls.getMethods()) {
+            ZWaveResponseHandler handler = method.getAnnotation(ZWaveResponseHandler.class);
+            if (handler != null) {
+                commands.put(handler.id(), method);
+            }
+        }
+        return commands;
+    }
+
+    @Benchmark
+    public int dispatchMethodHandle() {
+        commandClass.handleApplicationCommandRequest(payload);
+        return commandClass.getCount();
+    }
+
+    @Benchmark
+    public int dispatchReflection() throws IllegalAccessException, InvocationTargetException {
+        Method method = reflectiveCommands.get(payload.getCommandClassCommand());
+        if (method == null) {
+            method = reflectiveCommands.get(0);
+        }
+        reflectiveCommands.get(payload.getCommandClassCommand());
+        Object[] parms = { payload, endpoint.getEndpointId() };
+        reflectiveCommands.get(payload.getCommandClassCommand()).invoke(commandClass, parms);
+        return commandClass.getCount();
+    }
+
+    @Benchmark
+    public ZWaveCommandClass createCommandClass() {
+        return new BenchmarkCommandClass(endpoint);
+    }
+
+    @Benchmark
+    public void createCommandClassReflection(Blackhole blackhole) {
+        blackhole.consume(scanHandlers(BenchmarkCommandClass.class));
+        blackhole.consume(new BenchmarkCommandClass(endpoint));
+    }
+}
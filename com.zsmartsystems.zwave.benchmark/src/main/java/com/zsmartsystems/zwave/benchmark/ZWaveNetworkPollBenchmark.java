@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveTransportTransmit;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
+
+/**
+ * Benchmarks polling every node in a network through the {@link ZWaveTransactionManager}. Each node answers after a
+ * fixed delay, so the time taken shows how many nodes are polled in parallel for a given in-flight window.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZWaveNetworkPollBenchmark {
+    private static final int NODE_COUNT = 32;
+    private static final long RESPONSE_DELAY = 2;
+
+    @Param({ "1", "8", "32" })
+    public int window;
+
+    private ZWaveTransactionManager transactionManager;
+    private ScheduledExecutorService responseScheduler;
+
+    /**
+     * A network of listening nodes, numbered from 2
+     */
+    private static class PollNetwork extends ZWaveNetwork {
+        private final ZWaveNode[] nodes = new ZWaveNode[NODE_COUNT + 2];
+
+        PollNetwork() {
+            for (int nodeId = 2; nodeId < nodes.length; nodeId++) {
+                nodes[nodeId] = new ZWaveNode(this, nodeId);
+                nodes[nodeId].setListening(true);
+                nodes[nodeId].addEndpoint(0);
+            }
+        }
+
+        @Override
+        public ZWaveNode getNode(int nodeId) {
+            return nodeId >= 0 && nodeId < nodes.length ? nodes[nodeId] : null;
+        }
+    }
+
+    /**
+     * A transport where each node answers a SWITCH_MULTILEVEL_GET with a SWITCH_MULTILEVEL_REPORT after a delay
+     */
+    private class DelayedTransport implements ZWaveTransportTransmit {
+        private final ZWaveCommandClassPayload report = new ZWaveCommandClassPayload(CommandClassSwitchMultilevelV4
+                .getSwitchMultilevelReport("ON_ENABLE", 0xFF, "ALREADY_AT_THE_TARGET_VALUE"));
+
+        @Override
+        public void sendMessage(final ZWaveCommandClassTransactionPayload payload) {
+            responseScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    transactionManager.processReceiveMessage(payload.getNodeId(), report);
+                }
+            }, RESPONSE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        responseScheduler = Executors.newSingleThreadScheduledExecutor();
+        transactionManager = new ZWaveTransactionManager(new PollNetwork(), new DelayedTransport());
+        transactionManager.setMaxOutstandingTransactions(window);
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionManager.shutdown();
+        responseScheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public List<ZWaveTransactionResponse> pollNetwork() throws InterruptedException, ExecutionException {
+        List<Future<ZWaveTransactionResponse>> futures = new ArrayList<Future<ZWaveTransactionResponse>>(NODE_COUNT);
+        for (int nodeId = 2; nodeId < NODE_COUNT + 2; nodeId++) {
+            futures.add(transactionManager.sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                    CommandClassSwitchMultilevelV4.getSwitchMultilevelGet())
+                            .withExpectedResponseCommand(CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_REPORT)
+                            .build()));
+        }
+
+        List<ZWaveTransactionResponse> responses = new ArrayList<ZWaveTransactionResponse>(NODE_COUNT);
+        for (Future<ZWaveTransactionResponse> future : futures) {
+            responses.add(future.get());
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.commandclass.ZWaveSecurityCommandClass;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurityV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.security.ZWaveS0Key;
+
+/**
+ * Benchmarks for the security (S0) encapsulation in {@link ZWaveSecurityCommandClass}.
+ * <p>
+ * Two instances of the security command class share a network key and talk to each other. Both use node 0 as the
+ * local and the remote node id so that the MAC header computed by the sender matches the one checked by the receiver.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZWaveSecurityBenchmark {
+    private static final String NETWORK_KEY = "0102030405060708090A0B0C0D0E0F10";
+
+    private ZWaveSecurityCommandClass sender;
+    private ZWaveSecurityCommandClass receiver;
+
+    private ZWaveCommandClassPayload nonceReport;
+    private byte[] command;
+    private byte[] encapsulated;
+    private ZWaveS0Key authenticationKey;
+    private byte[] initializationVector;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        sender = new ZWaveSecurityCommandClass(new ZWaveNode(null, 0).addEndpoint(0));
+        sender.setNetworkKey(NETWORK_KEY);
+        receiver = new ZWaveSecurityCommandClass(new ZWaveNode(null, 0).addEndpoint(0));
+        receiver.setNetworkKey(NETWORK_KEY);
+
+        nonceReport = new ZWaveCommandClassPayload(
+                CommandClassSecurityV1.getSecurityNonceReport(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+        command = CommandClassSwitchMultilevelV4.getSwitchMultilevelSet("ON_ENABLE", "DEFAULT");
+
+        sender.handleSecurityNonceReport(nonceReport, 0);
+        encapsulated = sender.getSecurityMessageEncapsulation(command);
+
+        authenticationKey = new ZWaveS0Key(new byte[16]);
+        initializationVector = new byte[16];
+    }
+
+    @Benchmark
+    public byte[] encapsulate() {
+        sender.handleSecurityNonceReport(nonceReport, 0);
+        return sender.getSecurityMessageEncapsulation(command);
+    }
+
+    @Benchmark
+    public byte[] encapsulateDecapsulate() {
+        // The receiver issues a nonce in a NONCE_REPORT, as it would on receiving a NONCE_GET
+        sender.handleSecurityNonceReport(
+                new ZWaveCommandClassPayload(receiver.getSecurityNonceReport().getPayloadBuffer()), 0);
+
+        return receiver.getSecurityMessageDecapsulation(sender.getSecurityMessageEncapsulation(command));
+    }
+
+    @Benchmark
+    public byte[] generateMac() throws GeneralSecurityException {
+        return sender.generateMAC(authenticationKey, encapsulated, (byte) 1, (byte) 2, initializationVector);
+    }
+}
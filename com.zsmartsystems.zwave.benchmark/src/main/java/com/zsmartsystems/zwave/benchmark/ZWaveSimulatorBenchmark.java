@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveSerialController;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.test.ZWaveSimulatedController;
+import com.zsmartsystems.zwave.test.ZWaveSimulatedNode;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
+
+/**
+ * Benchmarks polling a simulated network end to end - through the {@link ZWaveTransactionManager}, the
+ * {@link ZWaveSerialController} and the serial API framing to a {@link ZWaveSimulatedController}. Unlike
+ * {@link ZWaveNetworkPollBenchmark} this includes the cost of the serial frame pipeline and its threads.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZWaveSimulatorBenchmark {
+    private static final int HOME_ID = 0xC0FFEE01;
+
+    @Param({ "32", "231" })
+    public int nodeCount;
+
+    @Param({ "8", "32" })
+    public int window;
+
+    private ZWaveSimulatedController simulator;
+    private ZWaveSerialController controller;
+    private ZWaveTransactionManager transactionManager;
+
+    /**
+     * A network of listening nodes, numbered from 2
+     */
+    private static class SimulatedNetwork extends ZWaveNetwork {
+        private final ZWaveNode[] nodes;
+
+        SimulatedNetwork(int nodeCount) {
+            nodes = new ZWaveNode[nodeCount + 2];
+            for (int nodeId = 2; nodeId < nodes.length; nodeId++) {
+                nodes[nodeId] = new ZWaveNode(this, nodeId);
+                nodes[nodeId].setListening(true);
+                nodes[nodeId].addEndpoint(0);
+            }
+        }
+
+        @Override
+        public ZWaveNode getNode(int nodeId) {
+            return nodeId >= 0 && nodeId < nodes.length ? nodes[nodeId] : null;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException, GeneralSecurityException {
+        simulator = new ZWaveSimulatedController(HOME_ID);
+        for (int nodeId = 2; nodeId < nodeCount + 2; nodeId++) {
+            simulator.addNode(new ZWaveSimulatedNode(nodeId));
+        }
+        simulator.start();
+
+        controller = new ZWaveSerialController(simulator.getHostInput(), simulator.getHostOutput());
+        transactionManager = new ZWaveTransactionManager(new SimulatedNetwork(nodeCount), controller);
+        transactionManager.setMaxOutstandingTransactions(window);
+        controller.setTransactionManager(transactionManager);
+        controller.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionManager.shutdown();
+        controller.shutdown();
+        simulator.shutdown();
+    }
+
+    @Benchmark
+    public List<ZWaveTransactionResponse> pollNetwork() throws InterruptedException, ExecutionException {
+        List<Future<ZWaveTransactionResponse>> futures = new ArrayList<Future<ZWaveTransactionResponse>>(nodeCount);
+        for (int nodeId = 2; nodeId < nodeCount + 2; nodeId++) {
+            futures.add(transactionManager.sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                    CommandClassSwitchMultilevelV4.getSwitchMultilevelGet())
+                            .withExpectedResponseCommand(CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_REPORT)
+                            .build()));
+        }
+
+        List<ZWaveTransactionResponse> responses = new ArrayList<ZWaveTransactionResponse>(nodeCount);
+        for (Future<ZWaveTransactionResponse> future : futures) {
+            responses.add(future.get());
+        }
+        return responses;
+    }
+}
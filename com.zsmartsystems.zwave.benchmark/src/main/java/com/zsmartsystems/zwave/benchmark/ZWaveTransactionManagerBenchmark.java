@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveTransportTransmit;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
+
+/**
+ * Benchmarks a complete transaction through the {@link ZWaveTransactionManager} - the request is queued, released to
+ * a loopback transport which immediately answers with the expected report, and the response is correlated and
+ * returned to the caller.
+ *
+ * @author Jordan Hayes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZWaveTransactionManagerBenchmark {
+    private static final int NODE_ID = 2;
+
+    private ZWaveTransactionManager transactionManager;
+
+    /**
+     * A network holding a single listening node
+     */
+    private static class LoopbackNetwork extends ZWaveNetwork {
+        private final ZWaveNode node;
+
+        LoopbackNetwork() {
+            node = new ZWaveNode(this, NODE_ID);
+            node.setListening(true);
+            node.addEndpoint(0);
+        }
+
+        @Override
+        public ZWaveNode getNode(int nodeId) {
+            return nodeId == NODE_ID ? node : null;
+        }
+    }
+
+    /**
+     * A transport that answers every SWITCH_MULTILEVEL_GET with a SWITCH_MULTILEVEL_REPORT
+     */
+    private class LoopbackTransport implements ZWaveTransportTransmit {
+        private final ZWaveCommandClassPayload report = new ZWaveCommandClassPayload(CommandClassSwitchMultilevelV4
+                .getSwitchMultilevelReport("ON_ENABLE", 0xFF, "ALREADY_AT_THE_TARGET_VALUE"));
+
+        @Override
+        public void sendMessage(ZWaveCommandClassTransactionPayload payload) {
+            transactionManager.processReceiveMessage(payload.getNodeId(), report);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        transactionManager = new ZWaveTransactionManager(new LoopbackNetwork(), new LoopbackTransport());
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionManager.shutdown();
+    }
+
+    @Benchmark
+    public ZWaveTransactionResponse sendTransaction() {
+        ZWaveCommandClassTransactionPayload payload = new ZWaveCommandClassTransactionPayloadBuilder(NODE_ID,
+                CommandClassSwitchMultilevelV4.getSwitchMultilevelGet())
+                        .withExpectedResponseCommand(CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_REPORT).build();
+        return transactionManager.sendTransaction(payload);
+    }
+}
@@ -1,12 +1,436 @@
 package com.zsmartsystems.zwave;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrame;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameHandler;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameParser;
+import com.zsmartsystems.zwave.transaction.ReceiveOverflowPolicy;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+
 /**
  * An implementation of the low level serial controller for ZWave.
  * This provides an interface between the ZWave stack and the serial API controllers.
- * 
+ * <p>
+ * The controller talks to the stick through a pair of NIO channels - normally the serial port
+ * ({@link #openSerialPort(String)}), but any channel can be used, eg a {@link java.nio.channels.Pipe} or socket for
+ * testing. The receive thread reads whatever bytes are available into the {@link ZWaveSerialFrameParser}, and
+ * commands received from nodes are passed straight to {@link ZWaveTransactionManager#processReceiveMessage}. If the
+ * input channel is a {@link SelectableChannel} it is read without blocking through a {@link Selector}.
+ * <p>
+ * Frames are sent by a single send thread, which waits for the stick to ACK each frame and retries it on a NAK, CAN
+ * or timeout. The stick only transmits one ZW_SendData at a time, so the send thread then holds the next frame until
+ * the stick has responded and the callback for the frame has been received, or the wait has timed out. A frame the
+ * stick rejects in its response is sent again after a short delay.
+ *
  * @author Chris Jackson
  *
  */
-public class ZWaveSerialController {
+public class ZWaveSerialController implements ZWaveTransportTransmit {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveSerialController.class);
+
+    // TRANSMIT_OPTION_ACK | TRANSMIT_OPTION_AUTO_ROUTE | TRANSMIT_OPTION_EXPLORE
+    private static final int TRANSMIT_OPTIONS = 0x25;
+
+    /**
+     * The time to wait for the stick to ACK a frame
+     */
+    private static final long ACK_TIMEOUT = 1600;
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * The time to wait for the stick to respond to a ZW_SendData, and then for the callback once it has transmitted
+     * the frame
+     */
+    private static final long RESPONSE_TIMEOUT = 1600;
+    private static final long CALLBACK_TIMEOUT = 10000;
+
+    /**
+     * The time to wait before sending a frame that the stick rejected as busy
+     */
+    private static final long REJECTED_DELAY = 100;
+
+    private static final byte[] ACK_FRAME = { ZWaveSerialFrame.ACK };
+    private static final byte[] NAK_FRAME = { ZWaveSerialFrame.NAK };
+
+    private enum AckState {
+        WAITING,
+        ACK,
+        NAK
+    }
+
+    private enum TransmitState {
+        WAITING,
+        ACCEPTED,
+        REJECTED,
+        COMPLETE
+    }
+
+    private final ReadableByteChannel input;
+    private final WritableByteChannel output;
+    private final ZWaveSerialFrameParser parser = new ZWaveSerialFrameParser();
+
+    private final BlockingQueue<byte[]> sendQueue = new LinkedBlockingQueue<byte[]>();
+    private final AtomicInteger callbackId = new AtomicInteger();
+
+    private final Object ackLock = new Object();
+    private AckState ackState = AckState.WAITING;
+    private TransmitState transmitState = TransmitState.COMPLETE;
+    private int transmitCallbackId;
+
+    private ZWaveTransactionManager transactionManager;
+
+    private Thread receiveThread;
+    private Thread sendThread;
+
+    /**
+     * Creates a controller that reads and writes the same channel, eg the serial port
+     *
+     * @param channel the {@link ByteChannel} connected to the stick
+     */
+    public ZWaveSerialController(ByteChannel channel) {
+        this(channel, channel);
+    }
+
+    /**
+     * Creates a controller with separate input and output channels, eg the two ends of a pair of
+     * {@link java.nio.channels.Pipe}s
+     *
+     * @param input the {@link ReadableByteChannel} to receive from the stick
+     * @param output the {@link WritableByteChannel} to send to the stick
+     */
+    public ZWaveSerialController(ReadableByteChannel input, WritableByteChannel output) {
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     * Opens a serial port as a channel. The port must already be configured for the serial API (115200 baud, 8 data
+     * bits, no parity and 1 stop bit), eg with stty.
+     *
+     * @param portName the name of the port, eg /dev/ttyACM0
+     * @return the {@link ByteChannel} for the port
+     * @throws IOException if the port can't be opened
+     */
+    public static ByteChannel openSerialPort(String portName) throws IOException {
+        return FileChannel.open(Paths.get(portName), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Sets the {@link ZWaveTransactionManager} that commands received from nodes are passed to. Its receive queue is
+     * set to {@link ReceiveOverflowPolicy#SPILL}, as frames are acknowledged as soon as they are received, and the
+     * receive thread must keep handling the responses and callbacks for the frames being sent.
+     *
+     * @param transactionManager the {@link ZWaveTransactionManager}
+     */
+    public void setTransactionManager(ZWaveTransactionManager transactionManager) {
+        transactionManager.setReceiveOverflowPolicy(ReceiveOverflowPolicy.SPILL);
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Starts the receive and send threads
+     */
+    public void start() {
+        receiveThread = new Thread("ZWaveSerialReceive") {
+            @Override
+            public void run() {
+                try {
+                    receive();
+                } catch (IOException e) {
+                    if (!isInterrupted()) {
+                        logger.error("Serial receive failed", e);
+                    }
+                }
+                logger.debug("Serial receive thread exiting");
+            }
+        };
+        receiveThread.setDaemon(true);
+        receiveThread.start();
+
+        sendThread = new Thread("ZWaveSerialSend") {
+            @Override
+            public void run() {
+                try {
+                    send();
+                } catch (InterruptedException e) {
+                    // Shutting down
+                } catch (IOException e) {
+                    logger.error("Serial send failed", e);
+                }
+                logger.debug("Serial send thread exiting");
+            }
+        };
+        sendThread.setDaemon(true);
+        sendThread.start();
+    }
+
+    /**
+     * Stops the threads and closes the channels
+     */
+    public void shutdown() {
+        if (receiveThread != null) {
+            receiveThread.interrupt();
+        }
+        if (sendThread != null) {
+            sendThread.interrupt();
+        }
+        try {
+            input.close();
+            output.close();
+        } catch (IOException e) {
+            logger.debug("Serial error closing channels", e);
+        }
+    }
+
+    @Override
+    public void sendMessage(ZWaveCommandClassTransactionPayload payload) {
+        byte[] command = payload.getPayloadBuffer();
+        byte[] data = new byte[command.length + 4];
+        data[0] = (byte) payload.getNodeId();
+        data[1] = (byte) command.length;
+        System.arraycopy(command, 0, data, 2, command.length);
+        data[command.length + 2] = TRANSMIT_OPTIONS;
+        data[command.length + 3] = (byte) getCallbackId();
+
+        sendQueue.add(ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA, data));
+    }
+
+    @Override
+    public boolean sendMulticastMessage(int[] nodeIds, byte[] payload) {
+        byte[] data = new byte[nodeIds.length + payload.length + 4];
+        data[0] = (byte) nodeIds.length;
+        for (int cnt = 0; cnt < nodeIds.length; cnt++) {
+            data[cnt + 1] = (byte) nodeIds[cnt];
+        }
+        int offset = nodeIds.length + 1;
+        data[offset++] = (byte) payload.length;
+        System.arraycopy(payload, 0, data, offset, payload.length);
+        offset += payload.length;
+        data[offset++] = TRANSMIT_OPTIONS;
+        data[offset] = (byte) getCallbackId();
+
+        sendQueue.add(ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA_MULTI, data));
+        return true;
+    }
+
+    private int getCallbackId() {
+        // Callback ids are 1 to 255 - 0 means no callback is wanted
+        return (callbackId.getAndIncrement() & 0x7fffffff) % 255 + 1;
+    }
+
+    private void receive() throws IOException {
+        Selector selector = null;
+        if (input instanceof SelectableChannel) {
+            SelectableChannel channel = (SelectableChannel) input;
+            channel.configureBlocking(false);
+            selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_READ);
+        }
+
+        ZWaveSerialFrameHandler handler = new ReceiveHandler();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (selector != null) {
+                    selector.select();
+                    selector.selectedKeys().clear();
+                }
+                if (input.read(parser.getBuffer()) < 0) {
+                    logger.debug("Serial input closed");
+                    break;
+                }
+                parser.parse(handler);
+            }
+        } finally {
+            if (selector != null) {
+                selector.close();
+            }
+        }
+    }
+
+    private void send() throws InterruptedException, IOException {
+        while (true) {
+            byte[] frame = sendQueue.take();
+            boolean sendData = isSendData(frame);
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                synchronized (ackLock) {
+                    ackState = AckState.WAITING;
+                    transmitState = sendData ? TransmitState.WAITING : TransmitState.COMPLETE;
+                    // The callback id is the last byte of the data
+                    transmitCallbackId = frame[frame.length - 2] & 0xff;
+                }
+                write(frame);
+
+                if (waitForAck() != AckState.ACK) {
+                    logger.debug("Serial frame not acknowledged on attempt {}", attempt);
+                    continue;
+                }
+                if (!sendData) {
+                    break;
+                }
+
+                TransmitState state = waitForTransmit(TransmitState.WAITING, RESPONSE_TIMEOUT);
+                if (state == TransmitState.REJECTED) {
+                    logger.debug("Serial send data rejected by controller on attempt {}", attempt);
+                    Thread.sleep(REJECTED_DELAY);
+                    continue;
+                }
+                if (state == TransmitState.WAITING) {
+                    logger.debug("Serial send data response timeout");
+                } else if (waitForTransmit(TransmitState.ACCEPTED, CALLBACK_TIMEOUT) == TransmitState.ACCEPTED) {
+                    logger.debug("Serial send data callback {} timeout", frame[frame.length - 2] & 0xff);
+                }
+                break;
+            }
+        }
+    }
+
+    private boolean isSendData(byte[] frame) {
+        return frame[2] == ZWaveSerialFrame.REQUEST
+                && (frame[3] == ZWaveSerialFrame.SEND_DATA || frame[3] == ZWaveSerialFrame.SEND_DATA_MULTI);
+    }
+
+    private AckState waitForAck() throws InterruptedException {
+        long timeout = System.currentTimeMillis() + ACK_TIMEOUT;
+        synchronized (ackLock) {
+            long remaining = ACK_TIMEOUT;
+            while (ackState == AckState.WAITING && remaining > 0) {
+                ackLock.wait(remaining);
+                remaining = timeout - System.currentTimeMillis();
+            }
+            return ackState;
+        }
+    }
+
+    private TransmitState waitForTransmit(TransmitState state, long period) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + period;
+        synchronized (ackLock) {
+            long remaining = period;
+            while (transmitState == state && remaining > 0) {
+                ackLock.wait(remaining);
+                remaining = timeout - System.currentTimeMillis();
+            }
+            return transmitState;
+        }
+    }
+
+    private void setAckState(AckState state) {
+        synchronized (ackLock) {
+            ackState = state;
+            ackLock.notify();
+        }
+    }
+
+    private void setTransmitState(TransmitState from, TransmitState to, int callbackId) {
+        synchronized (ackLock) {
+            // Ignore a response or callback for a frame that has already timed out
+            if (transmitState == from && (callbackId == 0 || callbackId == transmitCallbackId)) {
+                transmitState = to;
+                ackLock.notify();
+            }
+        }
+    }
+
+    private void write(byte[] frame) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        synchronized (output) {
+            while (buffer.hasRemaining()) {
+                // A non-blocking channel may not take the whole frame at once
+                if (output.write(buffer) == 0) {
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    private class ReceiveHandler implements ZWaveSerialFrameHandler {
+        @Override
+        public void ackReceived() {
+            setAckState(AckState.ACK);
+        }
+
+        @Override
+        public void nakReceived(int frameType) {
+            logger.debug("Serial {} received", frameType == ZWaveSerialFrame.CAN ? "CAN" : "NAK");
+            setAckState(AckState.NAK);
+        }
+
+        @Override
+        public void invalidFrameReceived() {
+            writeControl(NAK_FRAME);
+        }
+
+        @Override
+        public void frameReceived(int type, int function, ByteBuffer data) {
+            writeControl(ACK_FRAME);
+
+            if (type == ZWaveSerialFrame.REQUEST && function == ZWaveSerialFrame.APPLICATION_COMMAND_HANDLER) {
+                handleApplicationCommand(data);
+            } else if (type == ZWaveSerialFrame.RESPONSE
+                    && (function == ZWaveSerialFrame.SEND_DATA || function == ZWaveSerialFrame.SEND_DATA_MULTI)) {
+                boolean accepted = data.hasRemaining() && data.get(data.position()) != 0;
+                setTransmitState(TransmitState.WAITING, accepted ? TransmitState.ACCEPTED : TransmitState.REJECTED,
+                        0);
+            } else if (type == ZWaveSerialFrame.REQUEST
+                    && (function == ZWaveSerialFrame.SEND_DATA || function == ZWaveSerialFrame.SEND_DATA_MULTI)) {
+                if (data.remaining() >= 2) {
+                    int callbackId = data.get(data.position()) & 0xff;
+                    logger.debug("Serial send data callback {} status {}", callbackId,
+                            data.get(data.position() + 1) & 0xff);
+                    setTransmitState(TransmitState.ACCEPTED, TransmitState.COMPLETE, callbackId);
+                }
+            } else {
+                logger.debug("Serial function {} type {} not handled", function, type);
+            }
+        }
+
+        private void handleApplicationCommand(ByteBuffer data) {
+            // Receive status, source node, command length and command
+            if (data.remaining() < 3) {
+                logger.debug("Serial application command too short");
+                return;
+            }
+            int nodeId = data.get(data.position() + 1) & 0xff;
+            int length = data.get(data.position() + 2) & 0xff;
+            if (length < 1 || data.remaining() < length + 3) {
+                logger.debug("NODE {}: Serial application command with invalid length {}", nodeId, length);
+                return;
+            }
+
+            byte[] command = new byte[length];
+            data.position(data.position() + 3);
+            data.get(command);
+
+            if (transactionManager == null) {
+                logger.debug("NODE {}: Serial no transaction manager for command", nodeId);
+                return;
+            }
+            transactionManager.processReceiveMessage(nodeId, new ZWaveCommandClassPayload(command));
+        }
 
+        private void writeControl(byte[] frame) {
+            try {
+                write(frame);
+            } catch (IOException e) {
+                logger.error("Serial error writing", e);
+            }
+        }
+    }
 }
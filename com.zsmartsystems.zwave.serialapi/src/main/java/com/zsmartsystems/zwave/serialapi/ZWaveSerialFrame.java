@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.serialapi;
+
+/**
+ * Constants and encoder for the frames of the Z-Wave serial API.
+ * <p>
+ * A data frame is SOF, LENGTH, TYPE, FUNCTION, DATA..., CHECKSUM. The length covers all bytes following it, including
+ * the checksum, and the checksum is 0xFF XORed with all bytes from the length to the end of the data. The single byte
+ * ACK, NAK and CAN frames are used by each side to confirm or reject a data frame.
+ *
+ * @author Jordan Hayes
+ */
+public final class ZWaveSerialFrame {
+    public static final int SOF = 0x01;
+    public static final int ACK = 0x06;
+    public static final int NAK = 0x15;
+    public static final int CAN = 0x18;
+
+    public static final int REQUEST = 0x00;
+    public static final int RESPONSE = 0x01;
+
+    public static final int APPLICATION_COMMAND_HANDLER = 0x04;
+    public static final int SEND_DATA = 0x13;
+    public static final int SEND_DATA_MULTI = 0x14;
+
+    /**
+     * The smallest length of a data frame - the type, function and checksum
+     */
+    public static final int MIN_LENGTH = 3;
+
+    private ZWaveSerialFrame() {
+    }
+
+    /**
+     * Encodes a data frame
+     *
+     * @param type {@link #REQUEST} or {@link #RESPONSE}
+     * @param function the serial API function
+     * @param data the data for the function
+     * @return the encoded frame
+     */
+    public static byte[] encode(int type, int function, byte[] data) {
+        if (data.length > 255 - MIN_LENGTH) {
+            throw new IllegalArgumentException("Serial frame data is too long");
+        }
+        byte[] frame = new byte[data.length + 5];
+        frame[0] = SOF;
+        frame[1] = (byte) (data.length + MIN_LENGTH);
+        frame[2] = (byte) type;
+        frame[3] = (byte) function;
+        System.arraycopy(data, 0, frame, 4, data.length);
+        frame[frame.length - 1] = (byte) getChecksum(frame, 1, frame.length - 2);
+        return frame;
+    }
+
+    /**
+     * Calculates the checksum of a frame
+     *
+     * @param frame the frame
+     * @param offset the offset of the length byte
+     * @param length the number of bytes from the length byte to the end of the data
+     * @return the checksum
+     */
+    public static int getChecksum(byte[] frame, int offset, int length) {
+        int checksum = 0xff;
+        for (int cnt = offset; cnt < offset + length; cnt++) {
+            checksum ^= frame[cnt];
+        }
+        return checksum & 0xff;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.serialapi;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the frames found by the {@link ZWaveSerialFrameParser}
+ *
+ * @author Jordan Hayes
+ */
+public interface ZWaveSerialFrameHandler {
+    /**
+     * Called when an ACK is received
+     */
+    void ackReceived();
+
+    /**
+     * Called when a NAK or CAN is received
+     *
+     * @param frameType {@link ZWaveSerialFrame#NAK} or {@link ZWaveSerialFrame#CAN}
+     */
+    void nakReceived(int frameType);
+
+    /**
+     * Called when a data frame with a valid checksum is received. The data is between the position and limit of the
+     * buffer, which is only valid during the call.
+     *
+     * @param type {@link ZWaveSerialFrame#REQUEST} or {@link ZWaveSerialFrame#RESPONSE}
+     * @param function the serial API function
+     * @param data the {@link ByteBuffer} holding the data
+     */
+    void frameReceived(int type, int function, ByteBuffer data);
+
+    /**
+     * Called when a data frame with an invalid checksum is received
+     */
+    void invalidFrameReceived();
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.serialapi;
+
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the frames in the bytes received from the serial API.
+ * <p>
+ * Bytes are read straight into the parser's {@link ByteBuffer} ({@link #getBuffer()}), and {@link #parse} then passes
+ * each complete frame to the {@link ZWaveSerialFrameHandler} as a view of the same buffer. A partial frame is kept
+ * for the next read, so frames may be split across reads in any way, and no memory is allocated for each byte or
+ * frame.
+ * <p>
+ * This class is not thread safe, and should be used by the receive thread only.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveSerialFrameParser {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveSerialFrameParser.class);
+
+    // Enough for several of the largest frames (SOF, LENGTH and 255 bytes)
+    private static final int BUFFER_SIZE = 1024;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Gets the buffer to read received bytes into. The buffer is ready to be written to.
+     *
+     * @return the receive {@link ByteBuffer}
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Passes all complete frames in the buffer to the handler. Bytes that are not part of a frame are discarded, and
+     * any partial frame is left in the buffer.
+     *
+     * @param handler the {@link ZWaveSerialFrameHandler} to receive the frames
+     */
+    public void parse(ZWaveSerialFrameHandler handler) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            int frameType = buffer.get(start) & 0xff;
+            switch (frameType) {
+                case ZWaveSerialFrame.ACK:
+                    buffer.position(start + 1);
+                    handler.ackReceived();
+                    continue;
+                case ZWaveSerialFrame.NAK:
+                case ZWaveSerialFrame.CAN:
+                    buffer.position(start + 1);
+                    handler.nakReceived(frameType);
+                    continue;
+                case ZWaveSerialFrame.SOF:
+                    break;
+                default:
+                    logger.debug("Serial frame discarded byte {}", String.format("%02X", frameType));
+                    buffer.position(start + 1);
+                    continue;
+            }
+
+            if (buffer.remaining() < 2) {
+                break;
+            }
+            int length = buffer.get(start + 1) & 0xff;
+            if (length < ZWaveSerialFrame.MIN_LENGTH) {
+                logger.debug("Serial frame with invalid length {}", length);
+                buffer.position(start + 1);
+                continue;
+            }
+            if (buffer.remaining() < length + 2) {
+                break;
+            }
+
+            int end = start + length + 2;
+            int checksum = 0xff;
+            for (int cnt = start + 1; cnt < end - 1; cnt++) {
+                checksum ^= buffer.get(cnt);
+            }
+            if ((checksum & 0xff) != (buffer.get(end - 1) & 0xff)) {
+                logger.debug("Serial frame with invalid checksum");
+                buffer.position(end);
+                handler.invalidFrameReceived();
+                continue;
+            }
+
+            // Present the data as a view of the buffer, then restore it to continue parsing
+            int limit = buffer.limit();
+            buffer.limit(end - 1);
+            buffer.position(start + 4);
+            handler.frameReceived(buffer.get(start + 2) & 0xff, buffer.get(start + 3) & 0xff, buffer);
+            buffer.limit(limit);
+            buffer.position(end);
+        }
+        buffer.compact();
+    }
+}
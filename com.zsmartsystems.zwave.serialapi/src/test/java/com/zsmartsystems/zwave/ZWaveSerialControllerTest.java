@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrame;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameHandler;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameParser;
+import com.zsmartsystems.zwave.transaction.ReceiveOverflowPolicy;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse.State;
+
+/**
+ * Test cases for {@link ZWaveSerialController}. The controller is connected to the test, acting as the stick, through
+ * a pair of {@link Pipe}s.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveSerialControllerTest {
+    private Pipe toStick;
+    private Pipe fromStick;
+    private ZWaveSerialController controller;
+    private ZWaveTransactionManager transactionManager;
+
+    private final ZWaveSerialFrameParser stickParser = new ZWaveSerialFrameParser();
+    private final List<byte[]> stickReceived = new ArrayList<byte[]>();
+
+    // Frames received by the stick - control frames as the single byte, and data frames as type, function and data
+    private final ZWaveSerialFrameHandler stickHandler = new ZWaveSerialFrameHandler() {
+        @Override
+        public void ackReceived() {
+            stickReceived.add(new byte[] { ZWaveSerialFrame.ACK });
+        }
+
+        @Override
+        public void nakReceived(int frameType) {
+            stickReceived.add(new byte[] { (byte) frameType });
+        }
+
+        @Override
+        public void frameReceived(int type, int function, ByteBuffer data) {
+            byte[] frame = new byte[data.remaining() + 2];
+            frame[0] = (byte) type;
+            frame[1] = (byte) function;
+            data.get(frame, 2, frame.length - 2);
+            stickReceived.add(frame);
+        }
+
+        @Override
+        public void invalidFrameReceived() {
+            fail("Invalid frame sent by controller");
+        }
+    };
+
+    @Before
+    public void setup() throws IOException {
+        toStick = Pipe.open();
+        fromStick = Pipe.open();
+        toStick.source().configureBlocking(false);
+
+        ZWaveNetwork network = new ZWaveNetwork() {
+            @Override
+            public ZWaveNode getNode(int nodeId) {
+                ZWaveNode node = new ZWaveNode(this, nodeId);
+                node.setListening(true);
+                node.addEndpoint(0);
+                return node;
+            }
+        };
+
+        controller = new ZWaveSerialController(fromStick.source(), toStick.sink());
+        transactionManager = new ZWaveTransactionManager(network, controller);
+        controller.setTransactionManager(transactionManager);
+        controller.start();
+    }
+
+    @After
+    public void shutdown() {
+        transactionManager.shutdown();
+        controller.shutdown();
+    }
+
+    private byte[] stickRead() throws Exception {
+        long timeout = System.currentTimeMillis() + 3000;
+        while (stickReceived.isEmpty()) {
+            if (System.currentTimeMillis() > timeout) {
+                fail("Nothing received from controller");
+            }
+            if (toStick.source().read(stickParser.getBuffer()) > 0) {
+                stickParser.parse(stickHandler);
+            } else {
+                Thread.sleep(5);
+            }
+        }
+        return stickReceived.remove(0);
+    }
+
+    private void stickReadNothing() throws Exception {
+        long timeout = System.currentTimeMillis() + 100;
+        while (System.currentTimeMillis() < timeout) {
+            if (toStick.source().read(stickParser.getBuffer()) > 0) {
+                stickParser.parse(stickHandler);
+            } else {
+                Thread.sleep(5);
+            }
+        }
+        assertTrue(stickReceived.isEmpty());
+    }
+
+    private void stickWrite(byte[] data) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            fromStick.sink().write(buffer);
+        }
+    }
+
+    @Test
+    public void sendAndReceive() throws Exception {
+        CompletableFuture<ZWaveTransactionResponse> future = transactionManager
+                .sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(2,
+                        CommandClassSwitchMultilevelV4.getSwitchMultilevelGet())
+                                .withExpectedResponseCommand(CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_REPORT)
+                                .build());
+
+        // ZW_SendData with the node, command length, command and transmit options
+        byte[] frame = stickRead();
+        assertEquals(ZWaveSerialFrame.REQUEST, frame[0]);
+        assertEquals(ZWaveSerialFrame.SEND_DATA, frame[1]);
+        assertArrayEquals(new byte[] { 2, 2, 0x26, 0x02, 0x25 }, Arrays.copyOfRange(frame, 2, 7));
+        stickWrite(new byte[] { ZWaveSerialFrame.ACK });
+
+        // The report from the node is acknowledged and completes the transaction, even when split across writes
+        byte[] report = CommandClassSwitchMultilevelV4.getSwitchMultilevelReport("ON_ENABLE", 0x20,
+                "ALREADY_AT_THE_TARGET_VALUE");
+        byte[] data = new byte[report.length + 3];
+        data[1] = 2;
+        data[2] = (byte) report.length;
+        System.arraycopy(report, 0, data, 3, report.length);
+        byte[] request = ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST,
+                ZWaveSerialFrame.APPLICATION_COMMAND_HANDLER, data);
+        stickWrite(Arrays.copyOf(request, 4));
+        Thread.sleep(20);
+        assertFalse(future.isDone());
+        stickWrite(Arrays.copyOfRange(request, 4, request.length));
+
+        assertArrayEquals(new byte[] { ZWaveSerialFrame.ACK }, stickRead());
+        assertEquals(State.COMPLETE, future.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    public void retryOnNak() throws Exception {
+        controller.sendMulticastMessage(new int[] { 2, 3 }, new byte[] { 0x20, 0x01, (byte) 0xFF });
+
+        // ZW_SendDataMulti with the nodes, command length, command and transmit options
+        byte[] frame = stickRead();
+        assertEquals(ZWaveSerialFrame.SEND_DATA_MULTI, frame[1]);
+        assertArrayEquals(new byte[] { 2, 2, 3, 3, 0x20, 0x01, (byte) 0xFF, 0x25 }, Arrays.copyOfRange(frame, 2, 10));
+
+        stickWrite(new byte[] { ZWaveSerialFrame.NAK });
+        assertArrayEquals(frame, stickRead());
+        stickWrite(new byte[] { ZWaveSerialFrame.CAN });
+        assertArrayEquals(frame, stickRead());
+        stickWrite(new byte[] { ZWaveSerialFrame.ACK });
+    }
+
+    @Test
+    public void waitForSendDataCallback() throws Exception {
+        controller.sendMulticastMessage(new int[] { 2, 3 }, new byte[] { 0x20, 0x01, (byte) 0xFF });
+        controller.sendMulticastMessage(new int[] { 4, 5 }, new byte[] { 0x20, 0x01, 0x00 });
+
+        byte[] frame = stickRead();
+        int callbackId = frame[frame.length - 1];
+        stickWrite(new byte[] { ZWaveSerialFrame.ACK });
+        stickWrite(ZWaveSerialFrame.encode(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA_MULTI,
+                new byte[] { 1 }));
+        assertArrayEquals(new byte[] { ZWaveSerialFrame.ACK }, stickRead());
+
+        // The next frame is held until the callback for the first, including a callback for another frame
+        stickReadNothing();
+        stickWrite(ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA_MULTI,
+                new byte[] { (byte) (callbackId + 1), 0 }));
+        assertArrayEquals(new byte[] { ZWaveSerialFrame.ACK }, stickRead());
+        stickReadNothing();
+
+        stickWrite(ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA_MULTI,
+                new byte[] { (byte) callbackId, 0 }));
+        assertArrayEquals(new byte[] { ZWaveSerialFrame.ACK }, stickRead());
+        frame = stickRead();
+        assertArrayEquals(new byte[] { 2, 4, 5, 3, 0x20, 0x01, 0x00, 0x25 }, Arrays.copyOfRange(frame, 2, 10));
+    }
+
+    @Test
+    public void retryRejectedSendData() throws Exception {
+        controller.sendMulticastMessage(new int[] { 2, 3 }, new byte[] { 0x20, 0x01, (byte) 0xFF });
+
+        // The stick is busy and rejects the frame in its response, so it's sent again
+        byte[] frame = stickRead();
+        stickWrite(new byte[] { ZWaveSerialFrame.ACK });
+        stickWrite(ZWaveSerialFrame.encode(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA_MULTI,
+                new byte[] { 0 }));
+        assertArrayEquals(new byte[] { ZWaveSerialFrame.ACK }, stickRead());
+        assertArrayEquals(frame, stickRead());
+    }
+
+    @Test
+    public void spillReceivedMessages() {
+        // Frames are acknowledged before they're queued, so the receive thread mustn't wait for room
+        assertEquals(ReceiveOverflowPolicy.SPILL, transactionManager.getReceiveOverflowPolicy());
+    }
+
+    @Test
+    public void nakInvalidFrame() throws Exception {
+        byte[] request = ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST,
+                ZWaveSerialFrame.APPLICATION_COMMAND_HANDLER, new byte[] { 0, 2, 2, 0x20, 0x02 });
+        request[request.length - 1] ^= 0x01;
+        stickWrite(request);
+
+        assertArrayEquals(new byte[] { ZWaveSerialFrame.NAK }, stickRead());
+    }
+}
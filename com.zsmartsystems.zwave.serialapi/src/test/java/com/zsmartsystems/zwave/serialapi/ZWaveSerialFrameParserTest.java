@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.serialapi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveSerialFrameParser}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveSerialFrameParserTest {
+    private final ZWaveSerialFrameParser parser = new ZWaveSerialFrameParser();
+    private final List<String> received = new ArrayList<String>();
+
+    private final ZWaveSerialFrameHandler handler = new ZWaveSerialFrameHandler() {
+        @Override
+        public void ackReceived() {
+            received.add("ACK");
+        }
+
+        @Override
+        public void nakReceived(int frameType) {
+            received.add(frameType == ZWaveSerialFrame.CAN ? "CAN" : "NAK");
+        }
+
+        @Override
+        public void frameReceived(int type, int function, ByteBuffer data) {
+            StringBuilder builder = new StringBuilder(String.format("%02X %02X", type, function));
+            while (data.hasRemaining()) {
+                builder.append(String.format(" %02X", data.get()));
+            }
+            received.add(builder.toString());
+        }
+
+        @Override
+        public void invalidFrameReceived() {
+            received.add("INVALID");
+        }
+    };
+
+    private void receive(int... bytes) {
+        for (int value : bytes) {
+            parser.getBuffer().put((byte) value);
+        }
+        parser.parse(handler);
+    }
+
+    @Test
+    public void encode() {
+        // The ZW_GetVersion request
+        byte[] frame = ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, 0x15, new byte[0]);
+        assertEquals(5, frame.length);
+        assertEquals(0x01, frame[0]);
+        assertEquals(0x03, frame[1]);
+        assertEquals(0xE9, frame[4] & 0xff);
+    }
+
+    @Test
+    public void parseFrames() {
+        receive(0x06, 0x01, 0x03, 0x00, 0x15, 0xE9, 0x15, 0x18);
+        assertEquals(4, received.size());
+        assertEquals("ACK", received.get(0));
+        assertEquals("00 15", received.get(1));
+        assertEquals("NAK", received.get(2));
+        assertEquals("CAN", received.get(3));
+    }
+
+    @Test
+    public void parseSplitFrame() {
+        byte[] frame = ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.APPLICATION_COMMAND_HANDLER,
+                new byte[] { 0x00, 0x02, 0x03, 0x20, 0x03, (byte) 0xFF });
+
+        // Every split of the frame across two reads is parsed the same way
+        for (int split = 0; split <= frame.length; split++) {
+            received.clear();
+            for (int cnt = 0; cnt < split; cnt++) {
+                parser.getBuffer().put(frame[cnt]);
+            }
+            parser.parse(handler);
+            assertEquals(split == frame.length ? 1 : 0, received.size());
+            for (int cnt = split; cnt < frame.length; cnt++) {
+                parser.getBuffer().put(frame[cnt]);
+            }
+            parser.parse(handler);
+
+            assertEquals(1, received.size());
+            assertEquals("00 04 00 02 03 20 03 FF", received.get(0));
+        }
+    }
+
+    @Test
+    public void parseInvalidData() {
+        // Noise before the frame is discarded, and a bad checksum is reported
+        receive(0x55, 0xAA, 0x01, 0x03, 0x00, 0x15, 0x00, 0x01, 0x03, 0x00, 0x15, 0xE9);
+        assertEquals(2, received.size());
+        assertEquals("INVALID", received.get(0));
+        assertEquals("00 15", received.get(1));
+
+        // A frame that is too short to hold the type and function is skipped
+        received.clear();
+        receive(0x01, 0x02, 0x06);
+        assertEquals(1, received.size());
+        assertEquals("ACK", received.get(0));
+    }
+}
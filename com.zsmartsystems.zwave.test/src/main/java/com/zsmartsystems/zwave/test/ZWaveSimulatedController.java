@@ -0,0 +1,454 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassWakeUpV2;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrame;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameHandler;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameParser;
+
+/**
+ * A virtual Z-Wave stick, hosting a network of {@link ZWaveSimulatedNode}s, for testing and load testing the stack
+ * without hardware.
+ * <p>
+ * The controller speaks the serial API over a pair of in-memory {@link Pipe}s. The host ends are available from
+ * {@link #getHostInput()} and {@link #getHostOutput()}, so the real serial controller can be connected with
+ * <code>new ZWaveSerialController(sim.getHostInput(), sim.getHostOutput())</code>.
+ * <p>
+ * Every data frame from the host is acknowledged, and a ZW_SendData request is answered with the response and, after
+ * the latency of the node, the transmit callback. The callback reports NO_ACK if the node is asleep or the frame is
+ * lost, otherwise the frame is processed by the node and any answer is sent to the host in an
+ * APPLICATION_COMMAND_HANDLER request. Like a real stick, only one ZW_SendData or ZW_SendDataMulti is transmitted at
+ * a time - a request received before the callback of the previous one is rejected in the response. All nodes are
+ * run by a single simulation thread, so large networks don't need a thread for each node.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveSimulatedController {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveSimulatedController.class);
+
+    /**
+     * The node id of the controller
+     */
+    public static final int CONTROLLER_ID = 1;
+
+    /**
+     * The highest node id in a network
+     */
+    public static final int MAX_NODES = 232;
+
+    private static final int TRANSMIT_COMPLETE_OK = 0x00;
+    private static final int TRANSMIT_COMPLETE_NO_ACK = 0x01;
+
+    private final int homeId;
+    private final ZWaveSimulatedNode[] nodes = new ZWaveSimulatedNode[MAX_NODES + 1];
+
+    private final Pipe toHost;
+    private final Pipe fromHost;
+    private final ZWaveSerialFrameParser parser = new ZWaveSerialFrameParser();
+    private final Random random = new Random();
+
+    private final ScheduledExecutorService scheduler;
+    private Thread readerThread;
+
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesLost = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesRejected = new AtomicLong();
+
+    // Set from the response to a ZW_SendData until its transmission has completed
+    private final AtomicBoolean transmitting = new AtomicBoolean();
+
+    /**
+     * Creates a simulated controller for a network
+     *
+     * @param homeId the home id of the network
+     * @throws IOException if the pipes can't be opened
+     */
+    public ZWaveSimulatedController(int homeId) throws IOException {
+        this.homeId = homeId;
+        toHost = Pipe.open();
+        fromHost = Pipe.open();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ZWaveSimulation");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Gets the channel that the host reads from
+     *
+     * @return the {@link ReadableByteChannel} for the host
+     */
+    public ReadableByteChannel getHostInput() {
+        return toHost.source();
+    }
+
+    /**
+     * Gets the channel that the host writes to
+     *
+     * @return the {@link WritableByteChannel} for the host
+     */
+    public WritableByteChannel getHostOutput() {
+        return fromHost.sink();
+    }
+
+    public int getHomeId() {
+        return homeId;
+    }
+
+    /**
+     * Adds a node to the network. If the node sleeps, its wake-up cycle is started.
+     *
+     * @param node the {@link ZWaveSimulatedNode} to add
+     * @throws GeneralSecurityException if the security of the node can't be initialised
+     */
+    public void addNode(final ZWaveSimulatedNode node) throws GeneralSecurityException {
+        int nodeId = node.getNodeId();
+        if (nodeId <= CONTROLLER_ID || nodeId > MAX_NODES) {
+            throw new IllegalArgumentException("Node id " + nodeId + " is out of range");
+        }
+        node.attach(homeId, CONTROLLER_ID);
+        nodes[nodeId] = node;
+
+        if (node.getWakeUpInterval() != 0) {
+            scheduler.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    wakeUp(node);
+                }
+            }, node.getWakeUpInterval(), node.getWakeUpInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets a node in the network
+     *
+     * @param nodeId the node id
+     * @return the {@link ZWaveSimulatedNode} or null if the node is not in the network
+     */
+    public ZWaveSimulatedNode getNode(int nodeId) {
+        return nodeId >= 0 && nodeId <= MAX_NODES ? nodes[nodeId] : null;
+    }
+
+    /**
+     * Wakes up a sleeping node now, rather than waiting for its wake-up interval
+     *
+     * @param nodeId the node id
+     */
+    public void wakeUp(int nodeId) {
+        final ZWaveSimulatedNode node = getNode(nodeId);
+        if (node == null || node.getWakeUpInterval() == 0) {
+            return;
+        }
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                wakeUp(node);
+            }
+        });
+    }
+
+    private void wakeUp(final ZWaveSimulatedNode node) {
+        node.setAwake(true);
+        sendApplicationCommand(node.getNodeId(), CommandClassWakeUpV2.getWakeUpNotification());
+
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                node.setAwake(false);
+            }
+        }, node.getAwakeTime(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the number of ZW_SendData frames received from the host. A multicast frame is counted once for each node.
+     *
+     * @return the number of frames received
+     */
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    /**
+     * Gets the number of frames that were not delivered because the node was asleep or the frame was lost
+     *
+     * @return the number of frames lost
+     */
+    public long getFramesLost() {
+        return framesLost.get();
+    }
+
+    /**
+     * Gets the number of commands sent to the host by nodes
+     *
+     * @return the number of frames sent
+     */
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    /**
+     * Gets the number of ZW_SendData frames rejected because the previous frame was still being transmitted
+     *
+     * @return the number of frames rejected
+     */
+    public long getFramesRejected() {
+        return framesRejected.get();
+    }
+
+    /**
+     * Starts the thread that reads from the host
+     */
+    public void start() {
+        readerThread = new Thread("ZWaveSimulationReader") {
+            @Override
+            public void run() {
+                ZWaveSerialFrameHandler handler = new HostFrameHandler();
+                try {
+                    while (!isInterrupted()) {
+                        if (fromHost.source().read(parser.getBuffer()) < 0) {
+                            break;
+                        }
+                        parser.parse(handler);
+                    }
+                } catch (IOException e) {
+                    if (!isInterrupted()) {
+                        logger.debug("Simulation read failed", e);
+                    }
+                }
+            }
+        };
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    /**
+     * Stops the simulation and closes the pipes
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (readerThread != null) {
+            readerThread.interrupt();
+        }
+        try {
+            fromHost.source().close();
+            fromHost.sink().close();
+            toHost.source().close();
+            toHost.sink().close();
+        } catch (IOException e) {
+            logger.debug("Simulation error closing pipes", e);
+        }
+    }
+
+    private void sendData(final int callbackId, final int nodeId, final byte[] command) {
+        framesReceived.incrementAndGet();
+        final ZWaveSimulatedNode node = getNode(nodeId);
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                boolean delivered = deliver(node, command, false);
+                transmitting.set(false);
+                if (callbackId != 0) {
+                    writeFrame(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA, new byte[] { (byte) callbackId,
+                            (byte) (delivered ? TRANSMIT_COMPLETE_OK : TRANSMIT_COMPLETE_NO_ACK) });
+                }
+            }
+        }, node == null ? 0 : node.getLatency(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sendDataMulti(final int callbackId, int[] nodeIds, final byte[] command) {
+        long latency = 0;
+        for (int nodeId : nodeIds) {
+            framesReceived.incrementAndGet();
+            final ZWaveSimulatedNode node = getNode(nodeId);
+            if (node != null) {
+                latency = Math.max(latency, node.getLatency());
+            }
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(node, command, true);
+                }
+            }, node == null ? 0 : node.getLatency(), TimeUnit.MILLISECONDS);
+        }
+
+        // Multicast frames are not acknowledged by the nodes, so the transmission always completes once the slowest
+        // node has received it
+        scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                transmitting.set(false);
+                if (callbackId != 0) {
+                    writeFrame(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA_MULTI,
+                            new byte[] { (byte) callbackId, TRANSMIT_COMPLETE_OK });
+                }
+            }
+        }, latency, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Delivers a frame to a node and sends any response to the host. Called by the simulation thread.
+     *
+     * @return true if the frame was delivered to the node
+     */
+    private boolean deliver(ZWaveSimulatedNode node, byte[] command, boolean multicast) {
+        if (node == null || !node.isAwake() || (node.getLossRate() != 0 && random.nextDouble() < node.getLossRate())) {
+            framesLost.incrementAndGet();
+            return false;
+        }
+
+        byte[] response = node.processFrame(CONTROLLER_ID, command, multicast);
+        if (response != null) {
+            sendApplicationCommand(node.getNodeId(), response);
+        }
+        return true;
+    }
+
+    private void sendApplicationCommand(int nodeId, byte[] command) {
+        // Receive status, source node, command length and command
+        byte[] data = new byte[command.length + 3];
+        data[1] = (byte) nodeId;
+        data[2] = (byte) command.length;
+        System.arraycopy(command, 0, data, 3, command.length);
+
+        framesSent.incrementAndGet();
+        writeFrame(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.APPLICATION_COMMAND_HANDLER, data);
+    }
+
+    private void writeFrame(int type, int function, byte[] data) {
+        write(ZWaveSerialFrame.encode(type, function, data));
+    }
+
+    private void write(byte[] frame) {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        synchronized (toHost) {
+            try {
+                while (buffer.hasRemaining()) {
+                    toHost.sink().write(buffer);
+                }
+            } catch (IOException e) {
+                logger.debug("Simulation write failed", e);
+            }
+        }
+    }
+
+    private class HostFrameHandler implements ZWaveSerialFrameHandler {
+        private final byte[] ackFrame = { ZWaveSerialFrame.ACK };
+
+        @Override
+        public void ackReceived() {
+            // Frames to the host are not retried, so ACKs are ignored
+        }
+
+        @Override
+        public void nakReceived(int frameType) {
+            logger.debug("Simulation frame not accepted by host");
+        }
+
+        @Override
+        public void invalidFrameReceived() {
+            write(new byte[] { ZWaveSerialFrame.NAK });
+        }
+
+        @Override
+        public void frameReceived(int type, int function, ByteBuffer data) {
+            write(ackFrame);
+            if (type != ZWaveSerialFrame.REQUEST) {
+                return;
+            }
+
+            switch (function) {
+                case ZWaveSerialFrame.SEND_DATA:
+                    handleSendData(data);
+                    break;
+                case ZWaveSerialFrame.SEND_DATA_MULTI:
+                    handleSendDataMulti(data);
+                    break;
+                default:
+                    logger.debug("Simulation function {} not supported", function);
+                    break;
+            }
+        }
+
+        private void handleSendData(ByteBuffer data) {
+            // Node, command length, command, transmit options and callback id
+            if (data.remaining() < 2 || data.remaining() < (data.get(data.position() + 1) & 0xff) + 4) {
+                writeFrame(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA, new byte[] { 0 });
+                return;
+            }
+            int nodeId = data.get() & 0xff;
+            byte[] command = new byte[data.get() & 0xff];
+            data.get(command);
+            data.get();
+            int callbackId = data.get() & 0xff;
+
+            if (!transmitting.compareAndSet(false, true)) {
+                reject(ZWaveSerialFrame.SEND_DATA);
+                return;
+            }
+            writeFrame(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA, new byte[] { 1 });
+            sendData(callbackId, nodeId, command);
+        }
+
+        private void handleSendDataMulti(ByteBuffer data) {
+            // Node count, nodes, command length, command, transmit options and callback id
+            int count = data.hasRemaining() ? data.get(data.position()) & 0xff : 0;
+            if (data.remaining() < count + 2
+                    || data.remaining() < count + (data.get(data.position() + count + 1) & 0xff) + 4) {
+                writeFrame(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA_MULTI, new byte[] { 0 });
+                return;
+            }
+            data.get();
+            int[] nodeIds = new int[count];
+            for (int cnt = 0; cnt < count; cnt++) {
+                nodeIds[cnt] = data.get() & 0xff;
+            }
+            byte[] command = new byte[data.get() & 0xff];
+            data.get(command);
+            data.get();
+            int callbackId = data.get() & 0xff;
+
+            if (!transmitting.compareAndSet(false, true)) {
+                reject(ZWaveSerialFrame.SEND_DATA_MULTI);
+                return;
+            }
+            writeFrame(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA_MULTI, new byte[] { 1 });
+            sendDataMulti(callbackId, nodeIds, command);
+        }
+
+        private void reject(int function) {
+            logger.debug("Simulation busy - function {} rejected", function);
+            framesRejected.incrementAndGet();
+            writeFrame(ZWaveSerialFrame.RESPONSE, function, new byte[] { 0 });
+        }
+    }
+}
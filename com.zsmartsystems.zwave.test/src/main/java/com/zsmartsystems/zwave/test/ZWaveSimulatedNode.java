@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.test;
+
+import java.security.GeneralSecurityException;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassBasicV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurity2V1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchBinaryV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassWakeUpV2;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2Engine;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2KeyClass;
+
+/**
+ * A virtual node hosted by the {@link ZWaveSimulatedController}. The node holds a single level, which is set and
+ * reported through the BASIC, SWITCH_BINARY and SWITCH_MULTILEVEL command classes, and answers using the generated
+ * command class codecs.
+ * <p>
+ * The latency, frame loss, wake-up cycle and S2 security of the node can be configured before it is added to the
+ * controller. All commands are processed by the controller's simulation thread, so the node needs no locking.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveSimulatedNode {
+    private final int nodeId;
+
+    private long latency;
+    private double lossRate;
+    private long wakeUpInterval;
+    private long awakeTime;
+
+    private ZWaveS2KeyClass keyClass;
+    private byte[] networkKey;
+    private ZWaveS2Engine s2Engine;
+
+    private volatile boolean awake = true;
+    private volatile int level;
+
+    /**
+     * Creates a listening node without security
+     *
+     * @param nodeId the node id
+     */
+    public ZWaveSimulatedNode(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sets the time taken to deliver a frame to the node, and for its response to be returned
+     *
+     * @param latency the latency in milliseconds
+     */
+    public void setLatency(long latency) {
+        this.latency = latency;
+    }
+
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * Sets the proportion of frames to the node that are not acknowledged
+     *
+     * @param lossRate the loss rate, from 0 to 1
+     */
+    public void setLossRate(double lossRate) {
+        this.lossRate = lossRate;
+    }
+
+    public double getLossRate() {
+        return lossRate;
+    }
+
+    /**
+     * Makes this a sleeping node. Frames are only received while the node is awake - it wakes up every interval,
+     * sends a WAKE_UP_NOTIFICATION, and goes back to sleep after the awake time or a WAKE_UP_NO_MORE_INFORMATION.
+     *
+     * @param wakeUpInterval the time between wake-ups in milliseconds
+     * @param awakeTime the time the node stays awake in milliseconds
+     */
+    public void setWakeUp(long wakeUpInterval, long awakeTime) {
+        this.wakeUpInterval = wakeUpInterval;
+        this.awakeTime = awakeTime;
+        awake = false;
+    }
+
+    public long getWakeUpInterval() {
+        return wakeUpInterval;
+    }
+
+    public long getAwakeTime() {
+        return awakeTime;
+    }
+
+    public boolean isAwake() {
+        return awake;
+    }
+
+    void setAwake(boolean awake) {
+        this.awake = awake;
+    }
+
+    /**
+     * Makes this an S2 node. Commands are then only accepted in S2 encapsulation, and responses are encapsulated.
+     *
+     * @param keyClass the {@link ZWaveS2KeyClass} granted to the node
+     * @param networkKey the 16 byte network key for the key class
+     */
+    public void setSecurity(ZWaveS2KeyClass keyClass, byte[] networkKey) {
+        this.keyClass = keyClass;
+        this.networkKey = networkKey.clone();
+    }
+
+    public boolean isSecure() {
+        return keyClass != null;
+    }
+
+    /**
+     * Gets the level last set on the node
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Called when the node is added to the controller
+     */
+    void attach(int homeId, int controllerId) throws GeneralSecurityException {
+        if (keyClass != null) {
+            s2Engine = new ZWaveS2Engine(homeId, nodeId);
+            s2Engine.setNetworkKey(keyClass, networkKey);
+            s2Engine.setKeyClass(controllerId, keyClass);
+        }
+    }
+
+    /**
+     * Processes a frame sent to the node by the controller
+     *
+     * @param controllerId the node id of the controller
+     * @param frame the received frame
+     * @param multicast true if the frame was sent as a multicast
+     * @return the response to send to the controller, or null if there is no response
+     */
+    byte[] processFrame(int controllerId, byte[] frame, boolean multicast) {
+        if (frame.length < 2) {
+            return null;
+        }
+        if (s2Engine == null) {
+            return processCommand(frame);
+        }
+
+        int commandClass = frame[0] & 0xff;
+        int command = frame[1] & 0xff;
+        if (commandClass != CommandClassSecurity2V1.COMMAND_CLASS_KEY) {
+            // Only S2 commands are accepted without encapsulation
+            return null;
+        }
+        if (command == CommandClassSecurity2V1.SECURITY_2_NONCE_GET) {
+            return s2Engine.getNonceReport(controllerId);
+        }
+        if (command != CommandClassSecurity2V1.SECURITY_2_MESSAGE_ENCAPSULATION) {
+            return null;
+        }
+
+        if (multicast) {
+            byte[] payload = s2Engine.decapsulateMulticast(controllerId, frame);
+            if (payload != null) {
+                processCommand(payload);
+            }
+            return null;
+        }
+
+        byte[] payload = s2Engine.decapsulate(controllerId, frame);
+        if (payload == null) {
+            // Resynchronise the SPAN
+            return s2Engine.isSpanAvailable(controllerId) ? null : s2Engine.getNonceReport(controllerId);
+        }
+        if (payload.length == 0) {
+            // The follow-up of a multicast that has already been processed
+            return null;
+        }
+        byte[] response = processCommand(payload);
+        return response == null ? null : s2Engine.encapsulate(controllerId, response);
+    }
+
+    private byte[] processCommand(byte[] payload) {
+        if (payload.length < 2) {
+            return null;
+        }
+        int commandClass = payload[0] & 0xff;
+        int command = payload[1] & 0xff;
+
+        switch (commandClass) {
+            case CommandClassBasicV1.COMMAND_CLASS_KEY:
+                if (command == CommandClassBasicV1.BASIC_SET
+                        && payload.length >= CommandClassBasicV1.BASIC_SET_LENGTH) {
+                    level = payload[2] & 0xff;
+                } else if (command == CommandClassBasicV1.BASIC_GET) {
+                    return CommandClassBasicV1.getBasicReport(level);
+                }
+                break;
+            case CommandClassSwitchBinaryV1.COMMAND_CLASS_KEY:
+                if (command == CommandClassSwitchBinaryV1.SWITCH_BINARY_SET
+                        && payload.length >= CommandClassSwitchBinaryV1.SWITCH_BINARY_SET_LENGTH) {
+                    level = payload[2] & 0xff;
+                } else if (command == CommandClassSwitchBinaryV1.SWITCH_BINARY_GET) {
+                    return CommandClassSwitchBinaryV1.getSwitchBinaryReport(level == 0 ? "OFF_DISABLE" : "ON_ENABLE");
+                }
+                break;
+            case CommandClassSwitchMultilevelV4.COMMAND_CLASS_KEY:
+                if (command == CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_SET
+                        && payload.length >= CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_SET_LENGTH) {
+                    level = payload[2] & 0xff;
+                } else if (command == CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_GET) {
+                    return CommandClassSwitchMultilevelV4.getSwitchMultilevelReport(
+                            level == 0 ? "OFF_DISABLE" : "ON_ENABLE", level, "ALREADY_AT_THE_TARGET_VALUE");
+                }
+                break;
+            case CommandClassWakeUpV2.COMMAND_CLASS_KEY:
+                if (command == CommandClassWakeUpV2.WAKE_UP_NO_MORE_INFORMATION && wakeUpInterval != 0) {
+                    awake = false;
+                }
+                break;
+            default:
+                break;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveSerialController;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassBasicV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2Engine;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2KeyClass;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrame;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameHandler;
+import com.zsmartsystems.zwave.serialapi.ZWaveSerialFrameParser;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse.State;
+
+/**
+ * Test cases for {@link ZWaveSimulatedController}. The simulated network is driven end to end through the
+ * {@link ZWaveSerialController} and the {@link ZWaveTransactionManager}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveSimulatedControllerTest {
+    private static final int HOME_ID = 0xC0FFEE01;
+
+    private ZWaveSimulatedController simulator;
+    private ZWaveSerialController controller;
+    private ZWaveTransactionManager transactionManager;
+    private ZWaveNetwork network;
+
+    /**
+     * A network of listening nodes, as the host sees them
+     */
+    private static class SimulatedNetwork extends ZWaveNetwork {
+        private final ZWaveNode[] nodes = new ZWaveNode[ZWaveSimulatedController.MAX_NODES + 1];
+
+        SimulatedNetwork() {
+            for (int nodeId = 2; nodeId < nodes.length; nodeId++) {
+                nodes[nodeId] = new ZWaveNode(this, nodeId);
+                nodes[nodeId].setListening(true);
+                nodes[nodeId].addEndpoint(0);
+            }
+        }
+
+        @Override
+        public ZWaveNode getNode(int nodeId) {
+            return nodeId >= 0 && nodeId < nodes.length ? nodes[nodeId] : null;
+        }
+    }
+
+    private void start(List<ZWaveSimulatedNode> nodes) throws Exception {
+        simulator = new ZWaveSimulatedController(HOME_ID);
+        for (ZWaveSimulatedNode node : nodes) {
+            simulator.addNode(node);
+        }
+        simulator.start();
+
+        network = new SimulatedNetwork();
+        controller = new ZWaveSerialController(simulator.getHostInput(), simulator.getHostOutput());
+        transactionManager = new ZWaveTransactionManager(network, controller);
+        controller.setTransactionManager(transactionManager);
+        controller.start();
+    }
+
+    @After
+    public void shutdown() {
+        if (transactionManager != null) {
+            transactionManager.shutdown();
+            controller.shutdown();
+        }
+        if (simulator != null) {
+            simulator.shutdown();
+        }
+    }
+
+    private void waitFor(String description, long expected, Counter counter) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (counter.get() != expected) {
+            if (System.currentTimeMillis() > timeout) {
+                fail("Timeout waiting for " + description + " - " + counter.get() + " instead of " + expected);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForLevel(List<ZWaveSimulatedNode> nodes, final int level) throws InterruptedException {
+        for (final ZWaveSimulatedNode node : nodes) {
+            waitFor("level of node " + node.getNodeId(), level, new Counter() {
+                @Override
+                public long get() {
+                    return node.getLevel();
+                }
+            });
+        }
+    }
+
+    private interface Counter {
+        long get();
+    }
+
+    private final Counter framesReceived = new Counter() {
+        @Override
+        public long get() {
+            return simulator.getFramesReceived();
+        }
+    };
+
+    private final Counter framesLost = new Counter() {
+        @Override
+        public long get() {
+            return simulator.getFramesLost();
+        }
+    };
+
+    private final Counter framesSent = new Counter() {
+        @Override
+        public long get() {
+            return simulator.getFramesSent();
+        }
+    };
+
+    @Test
+    public void pollAllNodes() throws Exception {
+        List<ZWaveSimulatedNode> nodes = new ArrayList<ZWaveSimulatedNode>();
+        for (int nodeId = 2; nodeId <= ZWaveSimulatedController.MAX_NODES; nodeId++) {
+            ZWaveSimulatedNode node = new ZWaveSimulatedNode(nodeId);
+            node.setLatency(nodeId % 4);
+            nodes.add(node);
+        }
+        start(nodes);
+
+        List<CompletableFuture<ZWaveTransactionResponse>> futures = new ArrayList<>();
+        for (ZWaveSimulatedNode node : nodes) {
+            futures.add(transactionManager.sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(
+                    node.getNodeId(), CommandClassSwitchMultilevelV4.getSwitchMultilevelGet())
+                            .withExpectedResponseCommand(CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_REPORT)
+                            .build()));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get(30, TimeUnit.SECONDS);
+        for (CompletableFuture<ZWaveTransactionResponse> future : futures) {
+            assertEquals(State.COMPLETE, future.get().getState());
+        }
+        assertEquals(231, simulator.getFramesReceived());
+        assertEquals(231, simulator.getFramesSent());
+        assertEquals(0, simulator.getFramesLost());
+        assertEquals(0, simulator.getFramesRejected());
+    }
+
+    @Test
+    public void setAndGet() throws Exception {
+        List<ZWaveSimulatedNode> nodes = new ArrayList<ZWaveSimulatedNode>();
+        nodes.add(new ZWaveSimulatedNode(5));
+        start(nodes);
+
+        transactionManager.sendTransaction(
+                new ZWaveCommandClassTransactionPayloadBuilder(5, CommandClassBasicV1.getBasicSet(0x30)).build());
+        ZWaveTransactionResponse response = transactionManager
+                .sendTransaction(new ZWaveCommandClassTransactionPayloadBuilder(5, CommandClassBasicV1.getBasicGet())
+                        .withExpectedResponseCommand(CommandClassBasicV1.BASIC_REPORT).build());
+
+        assertEquals(State.COMPLETE, response.getState());
+        assertEquals(0x30, simulator.getNode(5).getLevel());
+    }
+
+    @Test
+    public void lostFrames() throws Exception {
+        List<ZWaveSimulatedNode> nodes = new ArrayList<ZWaveSimulatedNode>();
+        ZWaveSimulatedNode node = new ZWaveSimulatedNode(6);
+        node.setLossRate(1);
+        nodes.add(node);
+        start(nodes);
+
+        transactionManager.sendTransaction(
+                new ZWaveCommandClassTransactionPayloadBuilder(6, CommandClassBasicV1.getBasicSet(0x30)).build());
+        waitFor("frames lost", 1, framesLost);
+        assertEquals(0, node.getLevel());
+    }
+
+    @Test
+    public void sleepingNode() throws Exception {
+        List<ZWaveSimulatedNode> nodes = new ArrayList<ZWaveSimulatedNode>();
+        ZWaveSimulatedNode node = new ZWaveSimulatedNode(7);
+        node.setWakeUp(60000, 60000);
+        nodes.add(node);
+        start(nodes);
+
+        // Frames sent while the node is asleep are lost
+        assertFalse(node.isAwake());
+        transactionManager.sendTransaction(
+                new ZWaveCommandClassTransactionPayloadBuilder(7, CommandClassBasicV1.getBasicSet(0x30)).build());
+        waitFor("frames lost", 1, framesLost);
+
+        // The node sends a WAKE_UP_NOTIFICATION when it wakes up, and then receives frames
+        simulator.wakeUp(7);
+        waitFor("notifications", 1, framesSent);
+        assertTrue(node.isAwake());
+        transactionManager.sendTransaction(
+                new ZWaveCommandClassTransactionPayloadBuilder(7, CommandClassBasicV1.getBasicSet(0x40)).build());
+        waitFor("frames received", 2, framesReceived);
+        waitFor("frames lost", 1, framesLost);
+    }
+
+    @Test
+    public void secureMulticast() throws Exception {
+        byte[] networkKey = new byte[16];
+        List<ZWaveSimulatedNode> nodes = new ArrayList<ZWaveSimulatedNode>();
+        List<Integer> nodeIds = new ArrayList<Integer>();
+        for (int nodeId = 10; nodeId < 40; nodeId++) {
+            ZWaveSimulatedNode node = new ZWaveSimulatedNode(nodeId);
+            node.setSecurity(ZWaveS2KeyClass.S2_UNAUTHENTICATED, networkKey);
+            node.setLatency(1);
+            nodes.add(node);
+            nodeIds.add(nodeId);
+        }
+        start(nodes);
+
+        ZWaveS2Engine s2Engine = new ZWaveS2Engine(HOME_ID, ZWaveSimulatedController.CONTROLLER_ID);
+        s2Engine.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, networkKey);
+        network.setS2Engine(s2Engine);
+
+        // The first scene is received by each node in its follow-up, after a nonce exchange
+        Map<Integer, CompletableFuture<ZWaveTransactionResponse>> futures = transactionManager
+                .sendSecureMulticast(nodeIds, CommandClassBasicV1.getBasicSet(0x63));
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[30])).get(10, TimeUnit.SECONDS);
+        waitFor("frames received", 90, framesReceived);
+        waitForLevel(nodes, 0x63);
+
+        // The next scene is received in the multicast frame, and the follow-ups are discarded
+        futures = transactionManager.sendSecureMulticast(nodeIds, CommandClassBasicV1.getBasicSet(0x10));
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[30])).get(10, TimeUnit.SECONDS);
+        waitFor("frames received", 150, framesReceived);
+        waitForLevel(nodes, 0x10);
+        assertEquals(30, simulator.getFramesSent());
+        assertEquals(0, simulator.getFramesLost());
+        assertEquals(0, simulator.getFramesRejected());
+    }
+
+    @Test(timeout = 5000)
+    public void rejectOverlappingSendData() throws Exception {
+        simulator = new ZWaveSimulatedController(HOME_ID);
+        ZWaveSimulatedNode node = new ZWaveSimulatedNode(5);
+        node.setLatency(200);
+        simulator.addNode(node);
+        simulator.start();
+
+        // The second ZW_SendData arrives while the first is being transmitted
+        writeSendData(5, CommandClassBasicV1.getBasicSet(0x30), 1);
+        writeSendData(5, CommandClassBasicV1.getBasicSet(0x40), 2);
+
+        // Responses and the callback as type, function and first data byte
+        final List<List<Integer>> received = new ArrayList<List<Integer>>();
+        ZWaveSerialFrameHandler handler = new ZWaveSerialFrameHandler() {
+            @Override
+            public void ackReceived() {
+            }
+
+            @Override
+            public void nakReceived(int frameType) {
+                fail("Frame not accepted by simulator");
+            }
+
+            @Override
+            public void frameReceived(int type, int function, ByteBuffer data) {
+                received.add(Arrays.asList(type, function, data.get() & 0xff));
+            }
+
+            @Override
+            public void invalidFrameReceived() {
+                fail("Invalid frame sent by simulator");
+            }
+        };
+        ZWaveSerialFrameParser parser = new ZWaveSerialFrameParser();
+        while (received.size() < 3) {
+            simulator.getHostInput().read(parser.getBuffer());
+            parser.parse(handler);
+        }
+
+        assertEquals(Arrays.asList(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA, 1), received.get(0));
+        assertEquals(Arrays.asList(ZWaveSerialFrame.RESPONSE, ZWaveSerialFrame.SEND_DATA, 0), received.get(1));
+        assertEquals(Arrays.asList(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA, 1), received.get(2));
+        assertEquals(1, simulator.getFramesReceived());
+        assertEquals(1, simulator.getFramesRejected());
+        assertEquals(0x30, node.getLevel());
+    }
+
+    private void writeSendData(int nodeId, byte[] command, int callbackId) throws IOException {
+        byte[] data = new byte[command.length + 4];
+        data[0] = (byte) nodeId;
+        data[1] = (byte) command.length;
+        System.arraycopy(command, 0, data, 2, command.length);
+        data[command.length + 3] = (byte) callbackId;
+        ByteBuffer buffer = ByteBuffer.wrap(
+                ZWaveSerialFrame.encode(ZWaveSerialFrame.REQUEST, ZWaveSerialFrame.SEND_DATA, data));
+        while (buffer.hasRemaining()) {
+            simulator.getHostOutput().write(buffer);
+        }
+    }
+}
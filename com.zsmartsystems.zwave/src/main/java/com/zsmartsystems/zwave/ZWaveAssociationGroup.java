@@ -1,6 +1,7 @@
 package com.zsmartsystems.zwave;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Set;
 
@@ -28,10 +29,31 @@ public class ZWaveAssociationGroup {
 
     private List<ZWaveAssociation> associations = new ArrayList<ZWaveAssociation>();
 
+    /**
+     * The node this group belongs to, which is told about changes to the group. Null until the group is added to a
+     * node.
+     */
+    private ZWaveNode node;
+
     public ZWaveAssociationGroup(int index) {
         this.index = index;
     }
 
+    /**
+     * Sets the node this group belongs to
+     *
+     * @param node the {@link ZWaveNode}
+     */
+    void setNode(ZWaveNode node) {
+        this.node = node;
+    }
+
+    private void notifyChanged(ZWaveNodeChange change) {
+        if (node != null) {
+            node.notifyChanged(change);
+        }
+    }
+
     /**
      * Return the group index
      *
@@ -48,6 +70,7 @@ public class ZWaveAssociationGroup {
      */
     public void setIndex(int newIndex) {
         index = newIndex;
+        notifyChanged(ZWaveNodeChange.NODE);
     }
 
     /**
@@ -74,6 +97,7 @@ public class ZWaveAssociationGroup {
         // No - add a new association
         ZWaveAssociation newAssociation = new ZWaveAssociation(node, endpoint);
         associations.add(newAssociation);
+        notifyChanged(new ZWaveNodeChange(ZWaveNodeChange.Type.ASSOCIATION_ADDED, index, node, endpoint));
     }
 
     /**
@@ -99,6 +123,8 @@ public class ZWaveAssociationGroup {
             ZWaveAssociation association = associations.get(index);
             if (association.getNode() == node && association.getEndpoint() == endpoint) {
                 associations.remove(index);
+                notifyChanged(new ZWaveNodeChange(ZWaveNodeChange.Type.ASSOCIATION_REMOVED, this.index, node,
+                        endpoint));
                 return true;
             }
         }
@@ -144,6 +170,20 @@ public class ZWaveAssociationGroup {
         return associations;
     }
 
+    /**
+     * Returns the nodes that are members of the group, on any endpoint
+     *
+     * @return {@link BitSet} with a bit set for each member node ID
+     */
+    public BitSet getAssociatedNodes() {
+        BitSet nodes = new BitSet(ZWaveNetwork.MAX_NODE_ID + 1);
+        int associationCnt = associations.size();
+        for (int index = 0; index < associationCnt; index++) {
+            nodes.set(associations.get(index).getNode());
+        }
+        return nodes;
+    }
+
     /**
      * Sets the list of association group members
      *
@@ -151,6 +191,7 @@ public class ZWaveAssociationGroup {
      */
     public void setAssociations(List<ZWaveAssociation> associations) {
         this.associations = associations;
+        notifyChanged(ZWaveNodeChange.NODE);
     }
 
     /**
@@ -168,6 +209,7 @@ public class ZWaveAssociationGroup {
 
     public void setCommandClasses(Set<ZWaveCommandClassEnum> commands) {
         this.commands = commands;
+        notifyChanged(ZWaveNodeChange.NODE);
     }
 
     public Integer getProfile1() {
@@ -180,10 +222,12 @@ public class ZWaveAssociationGroup {
 
     public void setProfile1(Integer profile1) {
         this.profile1 = profile1;
+        notifyChanged(ZWaveNodeChange.NODE);
     }
 
     public void setProfile2(Integer profile2) {
         this.profile2 = profile2;
+        notifyChanged(ZWaveNodeChange.NODE);
     }
 
     public String getName() {
@@ -192,5 +236,6 @@ public class ZWaveAssociationGroup {
 
     public void setName(String name) {
         this.name = name;
+        notifyChanged(ZWaveNodeChange.NODE);
     }
 }
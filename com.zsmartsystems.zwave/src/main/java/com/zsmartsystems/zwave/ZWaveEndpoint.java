@@ -1,7 +1,9 @@
 package com.zsmartsystems.zwave;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,8 +34,22 @@ public class ZWaveEndpoint {
      */
     private final int endpointId;
 
-    private final Set<ZWaveCommandClassEnum> secureCommandClasses = new HashSet<ZWaveCommandClassEnum>();
-    private final Map<ZWaveCommandClassEnum, ZWaveCommandClass> supportedCommandClasses = new HashMap<ZWaveCommandClassEnum, ZWaveCommandClass>();
+    private final Set<ZWaveCommandClassEnum> secureCommandClasses = EnumSet.noneOf(ZWaveCommandClassEnum.class);
+    private final Map<ZWaveCommandClassEnum, ZWaveCommandClass> supportedCommandClasses = new EnumMap<>(
+            ZWaveCommandClassEnum.class);
+
+    /**
+     * The ids of the supported command classes, as a 256 bit set for {@link #supportsCommandClass}. Kept in step with
+     * supportedCommandClasses, and replaced rather than changed.
+     */
+    private volatile long[] supportedIds = new long[4];
+
+    /**
+     * The ids of the command classes that must be sent with security encapsulation, as a 256 bit set. This is
+     * computed when a secure command class is added, so the check for each message is a single bit test. Guarded by
+     * this for writes.
+     */
+    private volatile long[] secureIds = new long[4];
 
     ZWaveEndpoint(ZWaveNode node, int endpointId, ZWaveDeviceClass deviceClass) {
         this.node = node;
@@ -62,11 +78,29 @@ public class ZWaveEndpoint {
     public void addCommandClass(ZWaveCommandClass commandClass) {
         ZWaveCommandClassEnum key = commandClass.getCommandClass();
 
-        if (!supportedCommandClasses.containsKey(key)) {
-            supportedCommandClasses.put(key, commandClass);
+        boolean added;
+        synchronized (this) {
+            added = !supportedCommandClasses.containsKey(key);
+            if (added) {
+                supportedCommandClasses.put(key, commandClass);
+                supportedIds = setId(supportedIds, key.getKey(), true);
+            }
+        }
+        if (added) {
+            node.notifyChanged(new ZWaveNodeChange(ZWaveNodeChange.Type.COMMAND_CLASS_VERSION, endpointId,
+                    key.getKey(), commandClass.getVersion()));
         }
     }
 
+    /**
+     * Gets the command classes supported by this endpoint
+     *
+     * @return {@link Collection} of {@link ZWaveCommandClass}
+     */
+    public Collection<ZWaveCommandClass> getCommandClasses() {
+        return Collections.unmodifiableCollection(supportedCommandClasses.values());
+    }
+
     /**
      * Adds a secure command class to the list of supported command classes by this endpoint. Does nothing if command
      * class is already added.
@@ -74,7 +108,27 @@ public class ZWaveEndpoint {
      * @param commandClass the command class instance to add.
      */
     public void addSecureCommandClass(ZWaveCommandClassEnum commandClass) {
-        secureCommandClasses.add(commandClass);
+        boolean added;
+        synchronized (this) {
+            added = secureCommandClasses.add(commandClass);
+            // PING is never encrypted
+            if (added && commandClass != ZWaveCommandClassEnum.COMMAND_CLASS_NO_OPERATION) {
+                secureIds = setId(secureIds, commandClass.getKey(), true);
+            }
+        }
+        if (added) {
+            node.notifyChanged(new ZWaveNodeChange(ZWaveNodeChange.Type.SECURE_COMMAND_CLASS, endpointId,
+                    commandClass.getKey()));
+        }
+    }
+
+    /**
+     * Gets the command classes supported in secure mode by this endpoint
+     *
+     * @return {@link Set} of {@link ZWaveCommandClassEnum}
+     */
+    public Set<ZWaveCommandClassEnum> getSecureCommandClasses() {
+        return Collections.unmodifiableSet(secureCommandClasses);
     }
 
     /**
@@ -88,6 +142,16 @@ public class ZWaveEndpoint {
         return supportedCommandClasses.containsKey(commandClass);
     }
 
+    /**
+     * Checks if a command class is supported by this endpoint, given its id
+     *
+     * @param commandClassId the id of the command class
+     * @return true if the command class is supported.
+     */
+    public boolean supportsCommandClass(int commandClassId) {
+        return isIdSet(supportedIds, commandClassId);
+    }
+
     /**
      * Checks if a commandClass is supported in secure mode by this endpoint.
      *
@@ -99,6 +163,18 @@ public class ZWaveEndpoint {
         return secureCommandClasses.contains(commandClass);
     }
 
+    /**
+     * Checks if commands of a command class must be sent to this endpoint with security encapsulation. This is true
+     * for the classes supported in secure mode, other than NO_OPERATION. It doesn't check if the node supports
+     * security, or handle the SECURITY command class, where only some commands are encapsulated.
+     *
+     * @param commandClassId the id of the command class
+     * @return true if the commands must be encapsulated
+     */
+    public boolean requiresSecurityEncapsulation(int commandClassId) {
+        return isIdSet(secureIds, commandClassId);
+    }
+
     /**
      * Removes a command class from the node.
      * This is used to remove classes that a node may report it supports
@@ -107,7 +183,16 @@ public class ZWaveEndpoint {
      * @param commandClass The command class key
      */
     public void removeCommandClass(ZWaveCommandClassEnum commandClass) {
-        supportedCommandClasses.remove(commandClass);
+        boolean removed;
+        synchronized (this) {
+            removed = supportedCommandClasses.remove(commandClass) != null;
+            if (removed) {
+                supportedIds = setId(supportedIds, commandClass.getKey(), false);
+            }
+        }
+        if (removed) {
+            node.notifyChanged();
+        }
     }
 
     /**
@@ -130,4 +215,18 @@ public class ZWaveEndpoint {
     public int getEndpointId() {
         return endpointId;
     }
+
+    private static boolean isIdSet(long[] ids, int id) {
+        return (ids[(id >>> 6) & 3] & (1L << id)) != 0;
+    }
+
+    private static long[] setId(long[] ids, int id, boolean set) {
+        long[] updated = ids.clone();
+        if (set) {
+            updated[(id >>> 6) & 3] |= 1L << id;
+        } else {
+            updated[(id >>> 6) & 3] &= ~(1L << id);
+        }
+        return updated;
+    }
 }
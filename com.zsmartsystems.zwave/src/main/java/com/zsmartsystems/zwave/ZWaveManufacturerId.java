@@ -12,7 +12,7 @@ public class ZWaveManufacturerId {
     private final int deviceType;
     private final int deviceId;
 
-    ZWaveManufacturerId(int manufacturerId, int deviceId, int deviceType) {
+    public ZWaveManufacturerId(int manufacturerId, int deviceId, int deviceType) {
         this.manufacturerId = manufacturerId;
         this.deviceId = deviceId;
         this.deviceType = deviceType;
@@ -1,15 +1,21 @@
 package com.zsmartsystems.zwave;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zsmartsystems.zwave.commandclass.impl.CommandClassNetworkManagementInclusionV1;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2Engine;
+import com.zsmartsystems.zwave.store.ZWaveNodeStore;
+import com.zsmartsystems.zwave.timer.ZWaveTimer;
 import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
 import com.zsmartsystems.zwave.transaction.ZWaveTransactionManager;
 import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
@@ -17,6 +23,11 @@ import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse;
 public class ZWaveNetwork {
     private static final Logger logger = LoggerFactory.getLogger(ZWaveNetwork.class);
 
+    /**
+     * The highest node id in a network
+     */
+    public final static int MAX_NODE_ID = 232;
+
     /**
      * If true defines that we are the master controller in the network. In this case the framework
      * will automatically configure some device configuration to provide reports.
@@ -29,14 +40,30 @@ public class ZWaveNetwork {
     private int[] networkSecurityKey;
 
     /**
-     * 
+     * The S2 security engine, or null if S2 is not used in the network
+     */
+    private ZWaveS2Engine s2Engine;
+
+    /**
+     * The transaction manager sending the network's transactions, or null until one is set
      */
     private ZWaveTransactionManager transactionManager;
 
     /**
-     * 
+     * The nodes in the network, indexed by node id, so {@link #getNode(int)} is a single array read. Registering nodes
+     * replaces the whole array.
+     */
+    private volatile ZWaveNode[] zwaveNodes = new ZWaveNode[MAX_NODE_ID + 1];
+
+    /**
+     * The store that nodes are saved to when they change, or null if nodes are not saved
      */
-    private final Map<Integer, ZWaveNode> zwaveNodes = new HashMap<Integer, ZWaveNode>();
+    private ZWaveNodeStore nodeStore;
+
+    /**
+     * The timer shared by the transaction manager and nodes for all timeouts in the network
+     */
+    private final ZWaveTimer timer = new ZWaveTimer();
 
     /**
      * Unique sequence number used within the network management command classes
@@ -50,7 +77,139 @@ public class ZWaveNetwork {
      * @return the {@link ZWaveNode} or null if the node can not be found.
      */
     public ZWaveNode getNode(int nodeId) {
-        return null;
+        ZWaveNode[] nodes = zwaveNodes;
+        if (nodeId < 0 || nodeId >= nodes.length) {
+            return null;
+        }
+        return nodes[nodeId];
+    }
+
+    /**
+     * Gets all the nodes in the network
+     *
+     * @return {@link List} of {@link ZWaveNode}s, in node id order
+     */
+    public List<ZWaveNode> getNodes() {
+        List<ZWaveNode> nodes = new ArrayList<ZWaveNode>();
+        for (ZWaveNode node : zwaveNodes) {
+            if (node != null) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Adds a node to the network, replacing any existing node with the same ID
+     *
+     * @param node the {@link ZWaveNode} to add
+     */
+    public void registerNode(ZWaveNode node) {
+        if (node.getNodeId() < 1 || node.getNodeId() > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Illegal node id " + node.getNodeId());
+        }
+        putNodes(Collections.singletonList(node));
+        nodeChanged(node);
+    }
+
+    private synchronized void putNodes(List<ZWaveNode> nodes) {
+        ZWaveNode[] updated = zwaveNodes.clone();
+        for (ZWaveNode node : nodes) {
+            if (node.getNodeId() < 1 || node.getNodeId() > MAX_NODE_ID) {
+                logger.warn("NODE {}: Ignoring node with illegal node id", node.getNodeId());
+                continue;
+            }
+            updated[node.getNodeId()] = node;
+        }
+        zwaveNodes = updated;
+    }
+
+    /**
+     * Sets the store that nodes are saved to, and adds the nodes saved in it to the network. The network is then
+     * usable without interviewing the nodes again - {@link #getStaleNodes} can be used to find the nodes whose
+     * information should be checked.
+     *
+     * @param nodeStore the {@link ZWaveNodeStore}
+     * @return the number of nodes loaded from the store
+     */
+    public int setNodeStore(ZWaveNodeStore nodeStore) {
+        List<ZWaveNode> nodes = nodeStore.load(this);
+        putNodes(nodes);
+        this.nodeStore = nodeStore;
+        logger.debug("Loaded {} nodes from the node store", nodes.size());
+        return nodes.size();
+    }
+
+    /**
+     * Called when the information about a node has changed, so that it is saved to the node store
+     *
+     * @param node the {@link ZWaveNode} that has changed
+     */
+    public void nodeChanged(ZWaveNode node) {
+        nodeChanged(node, ZWaveNodeChange.NODE);
+    }
+
+    /**
+     * Called when the information about a node has changed, so that the change is saved to the node store
+     *
+     * @param node the {@link ZWaveNode} that has changed
+     * @param change the {@link ZWaveNodeChange} describing the change
+     */
+    public void nodeChanged(ZWaveNode node, ZWaveNodeChange change) {
+        // Changes to nodes that are still being built aren't saved
+        if (nodeStore != null && getNode(node.getNodeId()) == node) {
+            nodeStore.markChanged(node, change);
+        }
+    }
+
+    /**
+     * Gets the nodes whose saved information hasn't changed for longer than the given age, so may need to be checked
+     *
+     * @param maxAge the maximum age of the information
+     * @param unit the {@link TimeUnit} of the age
+     * @return {@link List} of the node IDs whose information is older than the maximum age
+     */
+    public List<Integer> getStaleNodes(long maxAge, TimeUnit unit) {
+        if (nodeStore == null) {
+            return new ArrayList<Integer>();
+        }
+        return nodeStore.getStaleNodes(maxAge, unit);
+    }
+
+    /**
+     * Gets the {@link ZWaveTimer} used for timeouts in this network
+     *
+     * @return the {@link ZWaveTimer}
+     */
+    public ZWaveTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * Sets the {@link ZWaveS2Engine} holding the S2 keys and SPANs for the network
+     *
+     * @param s2Engine the {@link ZWaveS2Engine}
+     */
+    public void setS2Engine(ZWaveS2Engine s2Engine) {
+        this.s2Engine = s2Engine;
+    }
+
+    /**
+     * Gets the {@link ZWaveS2Engine} for the network
+     *
+     * @return the {@link ZWaveS2Engine}, or null if S2 is not used in the network
+     */
+    public ZWaveS2Engine getS2Engine() {
+        return s2Engine;
+    }
+
+    /**
+     * Sets the {@link ZWaveTransactionManager} that sends the transactions for the network
+     *
+     * @param transactionManager the {@link ZWaveTransactionManager}
+     */
+    public void setTransactionManager(ZWaveTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
     }
 
     /**
@@ -88,6 +247,10 @@ public class ZWaveNetwork {
             logger.debug("Attempt to queue null message");
             return;
         }
+        if (transactionManager == null) {
+            logger.debug("NODE {}: No transaction manager to send nonce", transaction.getDestinationNode());
+            return;
+        }
 
         transactionManager.queueNonceReportForSend(transaction);
     }
@@ -97,18 +260,70 @@ public class ZWaveNetwork {
      *
      * @param transaction
      *            the {@link ZWaveMessagePayloadTransaction} message to enqueue.
+     * @throws IllegalStateException if no {@link ZWaveTransactionManager} has been set
      */
     public ZWaveTransactionResponse sendTransaction(ZWaveCommandClassTransactionPayload transaction) {
-        return transactionManager.sendTransaction(transaction);
+        return requireTransactionManager().sendTransaction(transaction);
+    }
+
+    /**
+     * Queues a message for sending without blocking the caller. This should be used rather than
+     * {@link #sendTransaction} when many transactions are in flight at once and virtual threads are not available.
+     *
+     * @param transaction
+     *            the {@link ZWaveMessagePayloadTransaction} message to enqueue.
+     * @return a {@link CompletableFuture} for the {@link ZWaveTransactionResponse}
+     * @throws IllegalStateException if no {@link ZWaveTransactionManager} has been set
+     */
+    public CompletableFuture<ZWaveTransactionResponse> sendTransactionAsync(
+            ZWaveCommandClassTransactionPayload transaction) {
+        return requireTransactionManager().sendTransactionAsync(transaction);
+    }
+
+    /**
+     * Sends the same command to a group of S2 nodes - eg a scene - as a single multicast frame, followed by a
+     * singlecast follow-up to each node. This avoids a nonce exchange for every node.
+     *
+     * @param nodeIds the ids of the nodes to send to
+     * @param command the command to send
+     * @return a {@link CompletableFuture} for the {@link ZWaveTransactionResponse} of each node, keyed by node id
+     * @throws IllegalStateException if no {@link ZWaveTransactionManager} has been set
+     */
+    public Map<Integer, CompletableFuture<ZWaveTransactionResponse>> sendSecureMulticast(Collection<Integer> nodeIds,
+            byte[] command) {
+        return requireTransactionManager().sendSecureMulticast(nodeIds, command);
+    }
+
+    private ZWaveTransactionManager requireTransactionManager() {
+        if (transactionManager == null) {
+            throw new IllegalStateException("No transaction manager has been set");
+        }
+        return transactionManager;
     }
 
     /**
-     * Returns the size of the send queue for a specific node.
+     * Returns the size of the send queue for a specific node, or 0 if no transaction manager has been set.
      */
     public int getSendQueueLength(int nodeId) {
+        if (transactionManager == null) {
+            return 0;
+        }
         return transactionManager.getSendQueueLength(nodeId);
     }
 
+    /**
+     * Notifies the network that a node has woken up so that any transactions queued for it can be sent.
+     *
+     * @param nodeId the node that is now awake
+     */
+    public void notifyNodeAwake(int nodeId) {
+        if (transactionManager == null) {
+            logger.debug("NODE {}: No transaction manager to send queued transactions", nodeId);
+            return;
+        }
+        transactionManager.notifyNodeAwake(nodeId);
+    }
+
     /**
      * Notifies event listeners of network level events
      * 
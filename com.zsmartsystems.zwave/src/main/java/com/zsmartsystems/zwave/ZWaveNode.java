@@ -1,24 +1,32 @@
 package com.zsmartsystems.zwave;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClass;
 import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
 import com.zsmartsystems.zwave.commandclass.ZWaveSecurityCommandClass;
+import com.zsmartsystems.zwave.timer.ZWaveTimeout;
 
 public class ZWaveNode {
     private static final Logger logger = LoggerFactory.getLogger(ZWaveNode.class);
 
+    /**
+     * The highest endpoint id
+     */
+    public final static int MAX_ENDPOINT_ID = 127;
+
+    private final static int SECURITY_KEY = ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY.getKey();
+
     /**
      * The {@link ZWaveNetwork} that's the parent of this node
      */
@@ -59,17 +67,19 @@ public class ZWaveNode {
     /**
      * Provides the list of command classes reported in the NIF (Node Information Frame)
      */
-    private List<ZWaveCommandClassEnum> nodeInformationFrame = null;
+    private final List<ZWaveCommandClassEnum> nodeInformationFrame = new ArrayList<ZWaveCommandClassEnum>();
 
     /**
-     * Endpoints supported by this node
+     * Endpoints supported by this node, indexed by endpoint id. {@link #addEndpoint} publishes a new array, and
+     * endpoints are never removed.
      */
-    private final Map<Integer, ZWaveEndpoint> endpoints = new HashMap<Integer, ZWaveEndpoint>();
+    private volatile ZWaveEndpoint[] endpoints = new ZWaveEndpoint[MAX_ENDPOINT_ID + 1];
 
     /**
-     * Neighbours of this node
+     * Neighbours of this node from the routing info, as a set of node ids. Never modified once published - updates
+     * swap in a new set under the node's lock.
      */
-    private List<Integer> nodeNeighbors = new ArrayList<Integer>();
+    private volatile BitSet nodeNeighbors = new BitSet(ZWaveNetwork.MAX_NODE_ID + 1);
 
     /**
      * Stores the device serial number. This is only provided by new ZWave+ devices
@@ -82,20 +92,25 @@ public class ZWaveNode {
     private final Map<Integer, ZWaveAssociationGroup> associationGroups = new HashMap<Integer, ZWaveAssociationGroup>();
 
     /**
-     * A timer used for the device wakeup management
+     * The wakeup timer task
      */
-    private Timer timer = null;
+    private WakeupTimerTask timerTask = null;
 
     /**
-     * The wakeup timer task
+     * The timeout for the next run of the wakeup timer task, scheduled on the network timer
      */
-    private TimerTask timerTask = null;
+    private ZWaveTimeout timerTimeout = null;
 
     /**
      * Flag recalls if the device is currently awake or asleep
      */
     private boolean awake = false;
 
+    /**
+     * The wake up interval of a battery device in seconds, or 0 if not known
+     */
+    private int wakeUpInterval = 0;
+
     /**
      * The period to wait before telling a sleeping node to sleep again
      */
@@ -121,6 +136,15 @@ public class ZWaveNode {
         return nodeId;
     }
 
+    /**
+     * Get the network this node belongs to
+     *
+     * @return the {@link ZWaveNetwork}
+     */
+    public ZWaveNetwork getNetwork() {
+        return network;
+    }
+
     /**
      * Adds an endpoint to the node
      * 
@@ -128,18 +152,54 @@ public class ZWaveNode {
      * @return
      */
     public ZWaveEndpoint addEndpoint(int endpointNumber) {
-        if (endpoints.containsKey(endpointNumber)) {
-            logger.debug("NODE {}: Endpoint {} already exists", nodeId, endpointNumber);
-            return endpoints.get(endpointNumber);
+        return addEndpoint(endpointNumber, null);
+    }
+
+    /**
+     * Adds an endpoint with a known device class to the node
+     *
+     * @param endpointNumber the endpoint number
+     * @param deviceClass the {@link ZWaveDeviceClass} of the endpoint, or null if it is not known
+     * @return the {@link ZWaveEndpoint}
+     */
+    public ZWaveEndpoint addEndpoint(int endpointNumber, ZWaveDeviceClass deviceClass) {
+        if (endpointNumber < 0 || endpointNumber > MAX_ENDPOINT_ID) {
+            throw new IllegalArgumentException("Illegal endpoint " + endpointNumber);
+        }
+
+        ZWaveEndpoint endpoint;
+        synchronized (this) {
+            if (endpoints[endpointNumber] != null) {
+                logger.debug("NODE {}: Endpoint {} already exists", nodeId, endpointNumber);
+                return endpoints[endpointNumber];
+            }
+            endpoint = new ZWaveEndpoint(this, endpointNumber, deviceClass);
+            ZWaveEndpoint[] updated = endpoints.clone();
+            updated[endpointNumber] = endpoint;
+            endpoints = updated;
         }
-        ZWaveEndpoint endpoint = new ZWaveEndpoint(this, endpointNumber, null);
-        endpoints.put(endpointNumber, endpoint);
 
         logger.debug("NODE {}: Endpoint {} added", nodeId, endpointNumber);
+        notifyChanged(ZWaveNodeChange.endpointAdded(endpointNumber, deviceClass));
 
         return endpoint;
     }
 
+    /**
+     * Gets all the endpoints of the node, including the root endpoint
+     *
+     * @return {@link Collection} of {@link ZWaveEndpoint}
+     */
+    public Collection<ZWaveEndpoint> getEndpoints() {
+        List<ZWaveEndpoint> endpointList = new ArrayList<ZWaveEndpoint>();
+        for (ZWaveEndpoint endpoint : endpoints) {
+            if (endpoint != null) {
+                endpointList.add(endpoint);
+            }
+        }
+        return Collections.unmodifiableCollection(endpointList);
+    }
+
     /**
      * Get an endpoint. If the requested endpoint is not supported then null is returned.
      * 
@@ -147,7 +207,11 @@ public class ZWaveNode {
      * @return
      */
     public ZWaveEndpoint getEndpoint(int endpointId) {
-        return endpoints.get(endpointId);
+        ZWaveEndpoint[] current = endpoints;
+        if (endpointId < 0 || endpointId >= current.length) {
+            return null;
+        }
+        return current[endpointId];
     }
 
     /**
@@ -166,6 +230,7 @@ public class ZWaveNode {
      */
     public void setListening(boolean listening) {
         this.listening = listening;
+        notifyChanged();
     }
 
     /**
@@ -192,6 +257,7 @@ public class ZWaveNode {
      */
     public void setFrequentlyListening(boolean frequentlyListening) {
         this.frequentlyListening = frequentlyListening;
+        notifyChanged();
     }
 
     /**
@@ -210,6 +276,7 @@ public class ZWaveNode {
      */
     public void setRouting(boolean routing) {
         this.routing = routing;
+        notifyChanged();
     }
 
     /**
@@ -217,6 +284,7 @@ public class ZWaveNode {
      */
     public void setSerialNumber(String deviceSerialId) {
         this.deviceSerialId = deviceSerialId;
+        notifyChanged();
     }
 
     /**
@@ -231,49 +299,136 @@ public class ZWaveNode {
     /**
      * Return a list with the nodes neighbors
      *
-     * @return list of node IDs
+     * @return list of node IDs, in order
      */
     public List<Integer> getNeighbors() {
-        return nodeNeighbors;
+        BitSet current = nodeNeighbors;
+        List<Integer> neighbors = new ArrayList<Integer>(current.cardinality());
+        for (int neighbor = current.nextSetBit(0); neighbor >= 0; neighbor = current.nextSetBit(neighbor + 1)) {
+            neighbors.add(neighbor);
+        }
+        return neighbors;
+    }
+
+    /**
+     * Gets the neighbors of the node as a set of node IDs
+     *
+     * @return {@link BitSet} with a bit set for each neighbor node ID. This is a copy, so may be changed.
+     */
+    public BitSet getNeighborSet() {
+        return (BitSet) nodeNeighbors.clone();
+    }
+
+    /**
+     * Checks if a node is a neighbor of this node
+     *
+     * @param neighborId the node ID to check
+     * @return true if the node is a neighbor
+     */
+    public boolean isNeighbor(int neighborId) {
+        return neighborId >= 0 && nodeNeighbors.get(neighborId);
     }
 
     /**
      * Clear the neighbor list
      */
     public void clearNeighbors() {
-        nodeNeighbors.clear();
+        BitSet neighbors = new BitSet(ZWaveNetwork.MAX_NODE_ID + 1);
+        synchronized (this) {
+            nodeNeighbors = neighbors;
+        }
+        notifyChanged(ZWaveNodeChange.neighbors(neighbors));
+    }
+
+    /**
+     * Gets the manufacturer ID of the device
+     *
+     * @return the {@link ZWaveManufacturerId}, or null if it is not known
+     */
+    public ZWaveManufacturerId getManufacturerId() {
+        return manufacturerId;
+    }
+
+    /**
+     * Sets the manufacturer ID of the device
+     *
+     * @param manufacturerId the {@link ZWaveManufacturerId}
+     */
+    public void setManufacturerId(ZWaveManufacturerId manufacturerId) {
+        this.manufacturerId = manufacturerId;
+        notifyChanged();
+    }
+
+    /**
+     * Gets an association group
+     *
+     * @param index the group index
+     * @return the {@link ZWaveAssociationGroup}, or null if the group is not known
+     */
+    public ZWaveAssociationGroup getAssociationGroup(int index) {
+        return associationGroups.get(index);
+    }
+
+    /**
+     * Gets all the known association groups
+     *
+     * @return {@link Collection} of {@link ZWaveAssociationGroup}
+     */
+    public Collection<ZWaveAssociationGroup> getAssociationGroups() {
+        return Collections.unmodifiableCollection(associationGroups.values());
+    }
+
+    /**
+     * Adds or replaces an association group
+     *
+     * @param associationGroup the {@link ZWaveAssociationGroup}
+     */
+    public void setAssociationGroup(ZWaveAssociationGroup associationGroup) {
+        associationGroup.setNode(this);
+        associationGroups.put(associationGroup.getIndex(), associationGroup);
+        notifyChanged();
+    }
+
+    /**
+     * Gets the wake up interval of a battery device
+     *
+     * @return the wake up interval in seconds, or 0 if not known
+     */
+    public int getWakeUpInterval() {
+        return wakeUpInterval;
+    }
+
+    /**
+     * Sets the wake up interval of a battery device
+     *
+     * @param wakeUpInterval the wake up interval in seconds
+     */
+    public void setWakeUpInterval(int wakeUpInterval) {
+        this.wakeUpInterval = wakeUpInterval;
+        notifyChanged(new ZWaveNodeChange(ZWaveNodeChange.Type.WAKE_UP_INTERVAL, wakeUpInterval));
     }
 
     /**
      * Updates a nodes routing information
      * Generation of routes uses associations
      *
-     * @param nodeId
+     * @return {@link BitSet} with a bit set for each node ID that routes are needed to
      */
-    public Set<Integer> getRoutingList() {
+    public BitSet getRoutingList() {
         logger.debug("NODE {}: Generate return routes list", nodeId);
 
-        // Create a list of nodes this device is configured to talk to
-        Set<Integer> routedNodes = new HashSet<Integer>();
+        // Create a set of nodes this device is configured to talk to
+        BitSet routedNodes = new BitSet(ZWaveNetwork.MAX_NODE_ID + 1);
 
         // Only update routes if this is a routing node
         if (isRouting() == false) {
             logger.debug("NODE {}: Node is not a routing node. No routes can be set.", nodeId);
-            return Collections.emptySet();
+            return routedNodes;
         }
 
-        // Get the number of association groups reported by this node
-        int groups = associationGroups.size();
-        if (groups != 0) {
-            // Loop through each association group and add the node ID to the list
-            for (int group = 1; group <= groups; group++) {
-                if (associationGroups.get(group) == null) {
-                    continue;
-                }
-                for (ZWaveAssociation associationNode : associationGroups.get(group).getAssociations()) {
-                    routedNodes.add(associationNode.getNode());
-                }
-            }
+        // Loop through each association group and add the node IDs to the set
+        for (ZWaveAssociationGroup group : associationGroups.values()) {
+            routedNodes.or(group.getAssociatedNodes());
         }
 
         // Add the wakeup destination node to the list for battery devices
@@ -285,9 +440,8 @@ public class ZWaveNode {
         // }
 
         // Are there any nodes to which we need to set routes?
-        if (routedNodes.size() == 0) {
+        if (routedNodes.isEmpty()) {
             logger.debug("NODE {}: No return routes required.", nodeId);
-            return Collections.emptySet();
         }
 
         return routedNodes;
@@ -299,7 +453,13 @@ public class ZWaveNode {
      * @param nodeId the node to add
      */
     public void addNeighbor(Integer nodeId) {
-        nodeNeighbors.add(nodeId);
+        BitSet neighbors;
+        synchronized (this) {
+            neighbors = (BitSet) nodeNeighbors.clone();
+            neighbors.set(nodeId);
+            nodeNeighbors = neighbors;
+        }
+        notifyChanged(ZWaveNodeChange.neighbors(neighbors));
     }
 
     /**
@@ -312,44 +472,62 @@ public class ZWaveNode {
             nodeInformationFrame.clear();
             nodeInformationFrame.addAll(nifClasses);
         }
+        notifyChanged();
+    }
+
+    /**
+     * Gets the list of command classes reported in the NIF
+     *
+     * @return {@link List} of {@link ZWaveCommandClassEnum}
+     */
+    public List<ZWaveCommandClassEnum> getNifClasses() {
+        synchronized (nodeInformationFrame) {
+            return new ArrayList<ZWaveCommandClassEnum>(nodeInformationFrame);
+        }
     }
 
     /**
-     * Checks if the specified class should be securely encrypted for transmission
+     * Tells the network that the information about this node has changed, so that it can be saved
+     */
+    public void notifyChanged() {
+        notifyChanged(ZWaveNodeChange.NODE);
+    }
+
+    /**
+     * Tells the network about a change to the information about this node, so that it can be saved
+     *
+     * @param change the {@link ZWaveNodeChange}
+     */
+    public void notifyChanged(ZWaveNodeChange change) {
+        if (network != null) {
+            network.nodeChanged(this, change);
+        }
+    }
+
+    /**
+     * Checks if the specified class should be securely encrypted for transmission. This is called for every message
+     * sent, so is answered from the bit sets held by the endpoints.
      * 
      * @param endpoint
      * @param payload
      * @return
      */
     public boolean doesMessageRequireSecurityEncapsulation(int endpoint, ZWaveCommandClassPayload payload) {
+        ZWaveEndpoint[] current = endpoints;
+
         // Does this node support security at all?
-        if (endpoints.get(0).getCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY) == null) {
-            logger.debug("NODE {}: SECURITY not supported", nodeId);
+        if (current[0] == null || !current[0].supportsCommandClass(SECURITY_KEY)) {
             return false;
         }
 
-        final ZWaveCommandClassEnum commandClass = ZWaveCommandClassEnum.getCommandClass(payload.getCommandClassId());
-
-        if (ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY == commandClass) {
-            logger.debug("NODE {}: SECURITY check internal", nodeId);
-            // CommandClass.SECURITY is a special case because only some commands get encrypted
+        // CommandClass.SECURITY is a special case because only some commands get encrypted
+        if (payload.getCommandClassId() == SECURITY_KEY) {
             return ZWaveSecurityCommandClass.doesCommandRequireSecurityEncapsulation(payload.getCommandClassCommand());
         }
 
-        // PING should not be encrypted
-        if (commandClass == ZWaveCommandClassEnum.COMMAND_CLASS_NO_OPERATION) {
-            logger.debug("NODE {}: SECURITY doesn't encrypt PING", nodeId);
-            return false;
-        }
-
         // Does this endpoint support this class secure
-        if (endpoints.get(endpoint).supportsSecureCommandClass(commandClass)) {
-            logger.debug("NODE {}: SECURITY required on {}", nodeId, commandClass);
-            return true;
-        }
-
-        logger.debug("NODE {}: SECURITY NOT required on {}", nodeId, commandClass);
-        return false;
+        return endpoint >= 0 && endpoint < current.length && current[endpoint] != null
+                && current[endpoint].requiresSecurityEncapsulation(payload.getCommandClassId());
     }
 
     /**
@@ -364,12 +542,6 @@ public class ZWaveNode {
             return;
         }
 
-        // Create the timer if this is our first call
-        if (timer == null) {
-            logger.debug("NODE {}: Creating wakeup timer", getNodeId());
-            timer = new Timer();
-        }
-
         // We're awake
         this.awake = awake;
 
@@ -379,6 +551,7 @@ public class ZWaveNode {
                     network.getSendQueueLength(getNodeId()));
 
             setSleepTimer();
+            network.notifyNodeAwake(getNodeId());
 
             // Notify application
             // ZWaveEvent event = new ZWaveNodeStatusEvent(getNodeId(), ZWaveNodeState.AWAKE);
@@ -406,7 +579,7 @@ public class ZWaveNode {
      * be sent in the wake-up queue. When the timer times out it will send the 'Go To Sleep' message to the node.
      * The timer just provides some time for anything further to be sent as a result of any processing.
      */
-    private class WakeupTimerTask extends TimerTask {
+    private class WakeupTimerTask implements Runnable {
         // Two cycles through the loop are required to send a device to sleep
         private boolean triggered;
         // private ZWaveWakeUpCommandClass wakeUpCommandClass;
@@ -435,12 +608,14 @@ public class ZWaveNode {
                     network.getSendQueueLength(getNodeId()));
             if (network.getSendQueueLength(getNodeId()) != 0) {
                 triggered = false;
+                scheduleSleepTimer(this);
                 return;
             }
 
             if (!triggered) {
                 logger.debug("NODE {}: WakeupTimerTask First iteration", getNodeId());
                 triggered = true;
+                scheduleSleepTimer(this);
                 return;
             }
 
@@ -466,20 +641,68 @@ public class ZWaveNode {
         timerTask = new WakeupTimerTask();
 
         // Start the timer
-        timer.schedule(timerTask, sleepDelay / 2, sleepDelay / 2);
+        scheduleSleepTimer(timerTask);
+    }
+
+    /**
+     * Schedules the next run of the wakeup timer task, unless the task has been replaced or stopped since it was
+     * started
+     *
+     * @param task the {@link WakeupTimerTask} to run
+     */
+    private synchronized void scheduleSleepTimer(WakeupTimerTask task) {
+        if (task != timerTask) {
+            return;
+        }
+        timerTimeout = network.getTimer().schedule(task, sleepDelay / 2, TimeUnit.MILLISECONDS);
     }
 
     private synchronized void resetSleepTimer() {
         // Stop any existing timer
-        if (timerTask != null) {
-            timerTask.cancel();
+        if (timerTimeout != null) {
+            timerTimeout.cancel();
         }
         timerTask = null;
+        timerTimeout = null;
+    }
+
+    /**
+     * Gets the commands contained in a frame received from this node, so that they can be correlated with outstanding
+     * transactions. This is called on the receive thread, so must not block.
+     *
+     * @param payload the received {@link ZWaveCommandClassPayload}
+     * @return list of {@link ZWaveCommandClassPayload} commands contained in the received frame
+     */
+    public List<ZWaveCommandClassPayload> getCommands(ZWaveCommandClassPayload payload) {
+        return Collections.singletonList(payload);
     }
 
-    public List<ZWaveCommandClassPayload> processCommand(ZWaveCommandClassPayload zWaveCommandClassPayload) {
-        // TODO Auto-generated method stub
-        return null;
+    /**
+     * Processes a command received from this node. Each command in the frame is passed to the command class on the
+     * root endpoint. Commands from a node are processed in the order they are received, but not on the receive thread.
+     *
+     * @param payload the received {@link ZWaveCommandClassPayload}
+     * @return list of {@link ZWaveCommandClassPayload} commands contained in the received frame
+     */
+    public List<ZWaveCommandClassPayload> processCommand(ZWaveCommandClassPayload payload) {
+        List<ZWaveCommandClassPayload> commands = getCommands(payload);
+        ZWaveEndpoint endpoint = endpoints[0];
+        if (endpoint == null) {
+            return commands;
+        }
+
+        for (ZWaveCommandClassPayload command : commands) {
+            ZWaveCommandClassEnum commandClassType = ZWaveCommandClassEnum.getCommandClass(command.getCommandClassId());
+            if (commandClassType == null) {
+                continue;
+            }
+            ZWaveCommandClass commandClass = endpoint.getCommandClass(commandClassType);
+            if (commandClass != null) {
+                commandClass.handleApplicationCommandRequest(command);
+            }
+        }
+
+        return commands;
     }
 
 }
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave;
+
+import java.util.BitSet;
+
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Basic;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Generic;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Specific;
+
+/**
+ * Describes a change to the information held about a {@link ZWaveNode}, so that the change can be saved without saving
+ * the whole node. Changes that don't have their own {@link Type} are described by {@link #NODE}, which means the whole
+ * node needs to be saved.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNodeChange {
+    /**
+     * The type of change, and the values that describe it
+     */
+    public enum Type {
+        /**
+         * Any change to the node. No values.
+         */
+        NODE(0),
+        /**
+         * An endpoint was added. Values are the endpoint id, and the basic, generic and specific device class codes,
+         * or -1 if not known.
+         */
+        ENDPOINT_ADDED(1),
+        /**
+         * A command class was added to an endpoint, or its version was learned. Values are the endpoint id, command
+         * class id and version.
+         */
+        COMMAND_CLASS_VERSION(2),
+        /**
+         * A command class is supported securely by an endpoint. Values are the endpoint id and command class id.
+         */
+        SECURE_COMMAND_CLASS(3),
+        /**
+         * A node was added to an association group. Values are the group, node id and endpoint id.
+         */
+        ASSOCIATION_ADDED(4),
+        /**
+         * A node was removed from an association group. Values are the group, node id and endpoint id.
+         */
+        ASSOCIATION_REMOVED(5),
+        /**
+         * The neighbor list was updated. Values are the neighbor node ids.
+         */
+        NEIGHBORS(6),
+        /**
+         * The wake up interval was changed. The value is the interval in seconds.
+         */
+        WAKE_UP_INTERVAL(7);
+
+        private final int key;
+
+        private Type(int key) {
+            this.key = key;
+        }
+
+        /**
+         * Gets the code saved for this type
+         *
+         * @return the code
+         */
+        public int getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the type for a saved code
+         *
+         * @param key the code
+         * @return the {@link Type}, or null if the code is not known
+         */
+        public static Type getType(int key) {
+            for (Type type : values()) {
+                if (type.key == key) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A change that requires the whole node to be saved
+     */
+    public final static ZWaveNodeChange NODE = new ZWaveNodeChange(Type.NODE);
+
+    private final Type type;
+    private final int[] values;
+
+    /**
+     * Creates a change
+     *
+     * @param type the {@link Type} of change
+     * @param values the values describing the change - see {@link Type}
+     */
+    public ZWaveNodeChange(Type type, int... values) {
+        this.type = type;
+        this.values = values;
+    }
+
+    static ZWaveNodeChange endpointAdded(int endpointId, ZWaveDeviceClass deviceClass) {
+        if (deviceClass == null) {
+            return new ZWaveNodeChange(Type.ENDPOINT_ADDED, endpointId, -1, -1, -1);
+        }
+        Basic basic = deviceClass.getBasicDeviceClass();
+        Generic generic = deviceClass.getGenericDeviceClass();
+        Specific specific = deviceClass.getSpecificDeviceClass();
+        return new ZWaveNodeChange(Type.ENDPOINT_ADDED, endpointId, basic == null ? -1 : basic.getKey(),
+                generic == null ? -1 : generic.getKey(), specific == null ? -1 : specific.getKey());
+    }
+
+    static ZWaveNodeChange neighbors(BitSet neighbors) {
+        int[] values = new int[neighbors.cardinality()];
+        int neighbor = neighbors.nextSetBit(0);
+        for (int cnt = 0; cnt < values.length; cnt++) {
+            values[cnt] = neighbor;
+            neighbor = neighbors.nextSetBit(neighbor + 1);
+        }
+        return new ZWaveNodeChange(Type.NEIGHBORS, values);
+    }
+
+    /**
+     * Gets the type of change
+     *
+     * @return the {@link Type}
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the values describing the change - see {@link Type}
+     *
+     * @return the values
+     */
+    public int[] getValues() {
+        return values;
+    }
+}
@@ -1,5 +1,35 @@
 package com.zsmartsystems.zwave;
 
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
+
+/**
+ * Interface implemented by the transport layer (eg the serial controller) to send frames released by the
+ * {@link com.zsmartsystems.zwave.transaction.ZWaveTransactionManager}.
+ *
+ * @author Chris Jackson
+ *
+ */
 public interface ZWaveTransportTransmit {
+    /**
+     * Sends a command class payload to the node defined in the payload. The call should not block waiting for any
+     * response - responses are returned to the transaction manager through its processReceiveMessage method.
+     *
+     * @param payload the {@link ZWaveCommandClassTransactionPayload} to send
+     */
+    void sendMessage(ZWaveCommandClassTransactionPayload payload);
 
+    /**
+     * Sends a command class payload to a group of nodes in a single multicast frame. The call should not block, and
+     * no response is expected.
+     * <p>
+     * Multicast frames are not acknowledged, so every node is also sent a singlecast follow-up. A transport that
+     * doesn't support multicast can therefore ignore the frame and leave delivery to the follow-ups.
+     *
+     * @param nodeIds the ids of the nodes to send to
+     * @param payload the command class payload
+     * @return true if the frame was sent
+     */
+    default boolean sendMulticastMessage(int[] nodeIds, byte[] payload) {
+        return false;
+    }
 }
@@ -1,16 +1,22 @@
 package com.zsmartsystems.zwave.commandclass;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
 import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveNodeChange;
 
 /**
  * Base implementation of a ZWave command class.
@@ -31,17 +37,31 @@ public abstract class ZWaveCommandClass {
      */
     private ZWaveEndpoint endpoint;
 
-    private Map<Integer, ZWaveResponseHandlerMethod> commands;
+    /**
+     * The response handlers for this class, indexed by command. This is shared by all instances of the class.
+     */
+    private final ZWaveResponseHandlerMethod[] commands;
 
     private int version = 0;
     private int instances = 0;
 
-    private class ZWaveResponseHandlerMethod {
-        private int id;
-        private String name;
-        private Method method;
+    /**
+     * The type that all handler {@link MethodHandle}s are adapted to so they can be called with invokeExact
+     */
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, ZWaveCommandClass.class,
+            ZWaveCommandClassPayload.class, int.class);
 
-        ZWaveResponseHandlerMethod(int id, String name, Method method) {
+    /**
+     * Response handler tables, computed once for each command class implementation
+     */
+    private static final ConcurrentMap<Class<?>, ZWaveResponseHandlerMethod[]> handlerTables = new ConcurrentHashMap<Class<?>, ZWaveResponseHandlerMethod[]>();
+
+    private static class ZWaveResponseHandlerMethod {
+        private final int id;
+        private final String name;
+        private final MethodHandle method;
+
+        ZWaveResponseHandlerMethod(int id, String name, MethodHandle method) {
             this.id = id;
             this.name = name;
             this.method = method;
@@ -49,17 +69,7 @@ public abstract class ZWaveCommandClass {
     };
 
     protected ZWaveCommandClass(ZWaveEndpoint endpoint, ZWaveCommandClassEnum commandClass) {
-        // Create the map of response command handlers
-        commands = new HashMap<Integer, ZWaveResponseHandlerMethod>();
-        Method[] methods = getClass().getMethods();
-        for (Method method : methods) {
-            ZWaveResponseHandler handler = method.getAnnotation(ZWaveResponseHandler.class);
-            if (handler != null) {
-                ZWaveResponseHandlerMethod handlerMethod = new ZWaveResponseHandlerMethod(handler.id(), handler.name(),
-                        method);
-                commands.put(handler.id(), handlerMethod);
-            }
-        }
+        commands = getHandlerTable(getClass());
 
         this.endpoint = endpoint;
         this.commandClass = commandClass;
@@ -68,6 +78,45 @@ public abstract class ZWaveCommandClass {
                 endpoint == null ? 0 : endpoint.getEndpointId());
     }
 
+    /**
+     * Gets the table of response command handlers for a command class implementation. The class is only scanned for
+     * {@link ZWaveResponseHandler} annotations the first time it is requested.
+     *
+     * @param commandClassClass the class implementing the command class
+     * @return array of {@link ZWaveResponseHandlerMethod} indexed by the command id
+     */
+    private static ZWaveResponseHandlerMethod[] getHandlerTable(Class<? extends ZWaveCommandClass> commandClassClass) {
+        ZWaveResponseHandlerMethod[] table = handlerTables.get(commandClassClass);
+        if (table != null) {
+            return table;
+        }
+
+        table = new ZWaveResponseHandlerMethod[256];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Method method : commandClassClass.getMethods()) {
+            ZWaveResponseHandler handler = method.getAnnotation(ZWaveResponseHandler.class);
+            if (handler == null) {
+                continue;
+            }
+            if (handler.id() < 0 || handler.id() > 255) {
+                logger.warn("Response handler {} in {} has invalid command id {}", handler.name(),
+                        commandClassClass.getSimpleName(), handler.id());
+                continue;
+            }
+            try {
+                method.setAccessible(true);
+                MethodHandle methodHandle = lookup.unreflect(method).asType(HANDLER_TYPE);
+                table[handler.id()] = new ZWaveResponseHandlerMethod(handler.id(), handler.name(), methodHandle);
+            } catch (IllegalAccessException | WrongMethodTypeException | SecurityException e) {
+                logger.warn("Response handler {} in {} can not be used: {}", handler.name(),
+                        commandClassClass.getSimpleName(), e.getMessage());
+            }
+        }
+
+        ZWaveResponseHandlerMethod[] existing = handlerTables.putIfAbsent(commandClassClass, table);
+        return existing == null ? table : existing;
+    }
+
     /**
      * Gets the parent {@link ZWaveEndpoint} in which this class is implemented
      * 
@@ -86,6 +135,22 @@ public abstract class ZWaveCommandClass {
         return version;
     }
 
+    /**
+     * Sets the version of the command class supported by the node
+     *
+     * @param version the command class version
+     */
+    public void setVersion(int version) {
+        if (this.version == version) {
+            return;
+        }
+        this.version = version;
+        if (endpoint != null && endpoint.getNode() != null) {
+            endpoint.getNode().notifyChanged(new ZWaveNodeChange(ZWaveNodeChange.Type.COMMAND_CLASS_VERSION,
+                    endpoint.getEndpointId(), commandClass.getKey(), version));
+        }
+    }
+
     /**
      * Returns the command class enum that this class implements
      * 
@@ -134,35 +199,27 @@ public abstract class ZWaveCommandClass {
      * @param endpoint the endpoint or instance number this message is meant for.
      */
     public void handleApplicationCommandRequest(ZWaveCommandClassPayload payload) {
+        int command = payload.getCommandClassCommand();
 
-        if (commands == null) {
-            logger.debug("NODE {}: Received {} V{} but class has no handlers.", endpoint.getNodeId(), commandClass,
-                    getVersion());
-        }
-
-        ZWaveResponseHandlerMethod commandMethod = commands.get(payload.getCommandClassCommand());
+        ZWaveResponseHandlerMethod commandMethod = command < 0 ? null : commands[command];
         if (commandMethod == null) {
             // Check if there's a default handler
-            commandMethod = commands.get(0);
+            commandMethod = commands[0];
             if (commandMethod == null) {
                 logger.debug("NODE {}: Received {} V{} unknown command {}", endpoint.getNodeId(), commandClass,
-                        getVersion(), payload.getCommandClassCommand());
+                        getVersion(), command);
                 return;
             }
         }
 
         logger.debug("NODE {}: Received {} V{} {}", endpoint.getNodeId(), commandClass, getVersion(),
-                commands.get(payload.getCommandClassCommand()).name);
+                commandMethod.name);
 
-        Object[] parms = { payload, endpoint };
         try {
-            commands.get(payload.getCommandClassCommand()).method.invoke(this, parms);
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-        } catch (InvocationTargetException e) {
-            e.printStackTrace();
+            commandMethod.method.invokeExact(this, payload, endpoint.getEndpointId());
+        } catch (Throwable e) {
+            logger.error("NODE {}: Error processing {} V{} {}", endpoint.getNodeId(), commandClass, getVersion(),
+                    commandMethod.name, e);
         }
     }
 
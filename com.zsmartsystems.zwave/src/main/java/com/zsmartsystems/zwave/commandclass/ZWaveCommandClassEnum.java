@@ -1,7 +1,7 @@
 package com.zsmartsystems.zwave.commandclass;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Command class enumeration - Lists all command classes and provides a link to the implementation.
@@ -142,15 +142,25 @@ public enum ZWaveCommandClassEnum {
 
     /**
      * A mapping between the integer code and its corresponding
-     * Command class to facilitate lookup by code.
+     * Command class to facilitate lookup by code. Indexed by the code, and built when the class is initialised so it
+     * can be read from any thread without locking.
      */
-    private static Map<Integer, ZWaveCommandClassEnum> codeToCommandClassMapping;
+    private static final ZWaveCommandClassEnum[] codeToCommandClassMapping = new ZWaveCommandClassEnum[256];
 
     /**
      * A mapping between the string label and its corresponding
-     * Command class to facilitate lookup by label.
+     * Command class to facilitate lookup by label. The labels are compared ignoring case, so a lookup never has to
+     * convert the label.
      */
-    private static Map<String, ZWaveCommandClassEnum> labelToCommandClassMapping;
+    private static final Map<String, ZWaveCommandClassEnum> labelToCommandClassMapping = new TreeMap<>(
+            String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (ZWaveCommandClassEnum s : values()) {
+            codeToCommandClassMapping[s.key] = s;
+            labelToCommandClassMapping.put(s.name(), s);
+        }
+    }
 
     private int key;
     private Class<? extends ZWaveCommandClass> commandClassClass;
@@ -160,15 +170,6 @@ public enum ZWaveCommandClassEnum {
         this.commandClassClass = commandClassClass;
     }
 
-    private static void initMapping() {
-        codeToCommandClassMapping = new HashMap<Integer, ZWaveCommandClassEnum>();
-        labelToCommandClassMapping = new HashMap<String, ZWaveCommandClassEnum>();
-        for (ZWaveCommandClassEnum s : values()) {
-            codeToCommandClassMapping.put(s.key, s);
-            labelToCommandClassMapping.put(s.name(), s);
-        }
-    }
-
     /**
      * Lookup function based on the command class code.
      * Returns null if there is no command class with code i
@@ -177,26 +178,22 @@ public enum ZWaveCommandClassEnum {
      * @return enumeration value of the command class or null if command class is not known
      */
     public static ZWaveCommandClassEnum getCommandClass(int id) {
-        if (codeToCommandClassMapping == null) {
-            initMapping();
+        if (id < 0 || id >= codeToCommandClassMapping.length) {
+            return null;
         }
 
-        return codeToCommandClassMapping.get(id);
+        return codeToCommandClassMapping[id];
     }
 
     /**
      * Lookup function based on the command class label.
-     * Returns null if there is no command class with that label.
+     * Returns null if there is no command class with that label. The label is not case sensitive.
      *
      * @param label the label to lookup
      * @return enumeration value of the command class.
      */
     public static ZWaveCommandClassEnum getCommandClass(String label) {
-        if (labelToCommandClassMapping == null) {
-            initMapping();
-        }
-
-        return labelToCommandClassMapping.get(label.toUpperCase());
+        return labelToCommandClassMapping.get(label);
     }
 
     /**
@@ -1,19 +1,12 @@
 package com.zsmartsystems.zwave.commandclass;
 
+import java.io.ByteArrayOutputStream;
 import java.security.GeneralSecurityException;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.slf4j.Logger;
@@ -21,8 +14,11 @@ import org.slf4j.LoggerFactory;
 
 import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
 import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveNetwork;
 import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurityV1;
 import com.zsmartsystems.zwave.security.ZWaveNonce;
+import com.zsmartsystems.zwave.security.ZWaveNonceManager;
+import com.zsmartsystems.zwave.security.ZWaveS0Key;
 import com.zsmartsystems.zwave.transaction.TransactionPriority;
 import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
 import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
@@ -35,36 +31,33 @@ import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBu
 public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
     private static final Logger logger = LoggerFactory.getLogger(ZWaveSecurityCommandClass.class);
 
-    private static final byte[] DERIVE_ENCRYPT_KEY = { (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA,
-            (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA,
-            (byte) 0xAA, (byte) 0xAA, (byte) 0xAA };
-    private static final byte[] DERIVE_AUTH_KEY = { 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55,
-            0x55, 0x55, 0x55, 0x55, 0x55 };
-
     private int ownNodeId;
 
     private SecretKey networkKey;
 
-    private SecretKey txEncryptionKey;
-
-    private SecretKey txAuthenticationKey;
-
-    private SecretKey rxEncryptionKey;
-
-    private SecretKey rxAuthenticationKey;
+    // Keys derived from the network key, with their ciphers initialised ready for use
+    private ZWaveS0Key txKey;
 
-    // Our last nonce we sent to the remove
-    private ZWaveNonce ourNonce = null;
+    private ZWaveS0Key rxKey;
 
-    // The last nonce we received from the remote
-    private ZWaveNonce theirNonce = null;
+    // The nonces we've sent to the remote, and received from it
+    private final ZWaveNonceManager nonceManager;
 
     private static final String AES = "AES";
 
-    private static final List<Byte> securityRequired = Arrays.asList(new Byte[] {
-            CommandClassSecurityV1.NETWORK_KEY_SET, CommandClassSecurityV1.NETWORK_KEY_VERIFY,
-            CommandClassSecurityV1.SECURITY_SCHEME_INHERIT, CommandClassSecurityV1.SECURITY_COMMANDS_SUPPORTED_GET,
-            CommandClassSecurityV1.SECURITY_COMMANDS_SUPPORTED_REPORT });
+    /**
+     * The SECURITY commands that must be encapsulated, indexed by command id
+     */
+    private static final boolean[] securityRequired = new boolean[256];
+
+    static {
+        for (int command : new int[] { CommandClassSecurityV1.NETWORK_KEY_SET,
+                CommandClassSecurityV1.NETWORK_KEY_VERIFY, CommandClassSecurityV1.SECURITY_SCHEME_INHERIT,
+                CommandClassSecurityV1.SECURITY_COMMANDS_SUPPORTED_GET,
+                CommandClassSecurityV1.SECURITY_COMMANDS_SUPPORTED_REPORT }) {
+            securityRequired[command] = true;
+        }
+    }
 
     /**
      * Creates a new instance of the ZWaveSecurityCommandClass class.
@@ -78,6 +71,10 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
      */
     public ZWaveSecurityCommandClass(ZWaveEndpoint endpoint) {
         super(endpoint, ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY);
+
+        // Issued nonces are expired on the network timer
+        ZWaveNetwork network = endpoint.getNode() == null ? null : endpoint.getNode().getNetwork();
+        nonceManager = new ZWaveNonceManager(network == null ? null : network.getTimer());
     }
 
     /**
@@ -222,24 +219,33 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
 
     @ZWaveResponseHandler(id = CommandClassSecurityV1.SECURITY_NONCE_REPORT, name = "SECURITY_NONCE_REPORT")
     public void handleSecurityNonceReport(ZWaveCommandClassPayload payload, int endpoint) {
-        logger.debug("NODE {}: NONCE Received start...", getEndpoint().getNodeId());
-        if (theirNonce == null) {
-            logger.debug("NODE {}: NONCE Received start null", getEndpoint().getNodeId());
-        } else {
-            logger.debug("NODE {}: NONCE Received start {}", getEndpoint().getNodeId(), theirNonce.toString());
-        }
-        // theirNonce;
         Map<String, Object> response = CommandClassSecurityV1.handleSecurityNonceReport(payload.getPayloadBuffer());
-        theirNonce = new ZWaveNonce((byte[]) response.get("NONCE_BYTE"));
+        ZWaveNonce theirNonce = new ZWaveNonce((byte[]) response.get("NONCE_BYTE"));
+        nonceManager.addReceivedNonce(theirNonce);
         logger.debug("NODE {}: NONCE Received {}", getEndpoint().getNodeId(), theirNonce.toString());
     }
 
     @ZWaveResponseHandler(id = CommandClassSecurityV1.SECURITY_NONCE_GET, name = "SECURITY_NONCE_GET")
     public void handleSecurityNonceGet(ZWaveCommandClassPayload payload, int endpoint) {
-        ourNonce = new ZWaveNonce();
-        // getController().enqueueNonce(new ZWaveCommandClassTransactionPayloadBuilder(getEndpoint().getNodeId(),
-        // CommandClassSecurityV1.getSecurityNonceReport(ourNonce.getNonceBytes()))
-        // .withPriority(TransactionPriority.NonceResponse).build());
+        ZWaveNetwork network = getEndpoint().getNode() == null ? null : getEndpoint().getNode().getNetwork();
+        if (network == null) {
+            logger.debug("NODE {}: No network to send NONCE_REPORT", getEndpoint().getNodeId());
+            return;
+        }
+        network.enqueueNonce(getSecurityNonceReport());
+    }
+
+    /**
+     * Issues a new nonce to the node. The nonce is remembered until it is used to decapsulate a message from the
+     * node, or it expires.
+     *
+     * @return the NONCE_REPORT {@link ZWaveCommandClassTransactionPayload} to send
+     */
+    public ZWaveCommandClassTransactionPayload getSecurityNonceReport() {
+        ZWaveNonce ourNonce = nonceManager.issueNonce();
+        return new ZWaveCommandClassTransactionPayloadBuilder(getEndpoint().getNodeId(),
+                CommandClassSecurityV1.getSecurityNonceReport(ourNonce.getNonceBytes()))
+                        .withPriority(TransactionPriority.NonceResponse).build();
     }
 
     public byte[] getSecurityMessageDecapsulation(byte[] ciphertextBytes) { // Check if this is a decapsulation message
@@ -255,9 +261,11 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
             return null;
         }
 
-        // Make sure we sent a NONCE
-        if (ourNonce == null || !ourNonce.isValid()) {
-            logger.debug("NODE {}: SECURITY_ERR No valid NONCE! {}", getEndpoint().getNodeId(), ourNonce);
+        // Make sure we sent a NONCE - its identifier is in the clear just before the MAC
+        int nonceId = ciphertextBytes[ciphertextBytes.length - 9] & 0xff;
+        ZWaveNonce ourNonce = nonceManager.getIssuedNonce(nonceId);
+        if (ourNonce == null) {
+            logger.debug("NODE {}: SECURITY_ERR No valid NONCE with ID {}!", getEndpoint().getNodeId(), nonceId);
             return null;
         }
 
@@ -266,28 +274,17 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
         System.arraycopy(ciphertextBytes, 2, initializationVector, 0, 8);
         System.arraycopy(ourNonce.getNonceBytes(), 0, initializationVector, 8, 8);
 
-        Cipher cipher;
         try {
             byte nodeid = (byte) getEndpoint().getNodeId();
             byte ourid = (byte) ownNodeId;
-            byte[] messageAuthenticationCode = generateMAC(rxAuthenticationKey, ciphertextBytes, nodeid, ourid,
+            byte[] messageAuthenticationCode = generateMAC(rxKey, ciphertextBytes, nodeid, ourid,
                     initializationVector);
 
-            byte[] securePayload = new byte[ciphertextBytes.length - 19];
-            System.arraycopy(ciphertextBytes, 10, securePayload, 0, ciphertextBytes.length - 19);
-            cipher = Cipher.getInstance("AES/OFB/NoPadding");
-            cipher.init(Cipher.DECRYPT_MODE, rxEncryptionKey, new IvParameterSpec(initializationVector));
-            byte[] plaintextBytes = cipher.doFinal(securePayload);
-            System.arraycopy(plaintextBytes, 0, ciphertextBytes, 10, plaintextBytes.length);
+            // Decrypt the secure part of the message in place
+            rxKey.crypt(initializationVector, ciphertextBytes, 10, ciphertextBytes.length - 19);
 
             Map<String, Object> response = CommandClassSecurityV1.handleSecurityMessageEncapsulation(ciphertextBytes);
 
-            if ((Integer) response.get("RECEIVERS_NONCE_IDENTIFIER") != ourNonce.getId()) {
-                logger.debug("NODE {}: SECURITY_ERR NONCE ID invalid! {}<>{}", getEndpoint().getNodeId(),
-                        (int) response.get("RECEIVERS_NONCE_IDENTIFIER") & 0xff, ourNonce.getId());
-                return null;
-            }
-
             if (!Arrays.equals(messageAuthenticationCode, (byte[]) response.get("MESSAGE_AUTHENTICATION_CODE_BYTE"))) {
                 logger.debug("NODE {}: SECURITY_ERR Failed authentication! [{}]<>[{}]", getEndpoint().getNodeId(),
                         bb2hex(messageAuthenticationCode),
@@ -296,20 +293,15 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
             }
 
             // Our nonce has been used - forget it
-            ourNonce = null;
-
-            logger.debug("NODE {}: SECURITY_RXD {}", getEndpoint().getNodeId(),
-                    bb2hex((byte[]) response.get("COMMAND_BYTE")));
-
-            return (byte[]) response.get("COMMAND_BYTE");
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
-            e.printStackTrace();
-        } catch (InvalidKeyException e) {
-            e.printStackTrace();
-        } catch (InvalidAlgorithmParameterException e) {
-            e.printStackTrace();
+            nonceManager.useIssuedNonce(nonceId);
+
+            // The command is variable length, so the decoder returns it as a stream
+            byte[] commandBytes = ((ByteArrayOutputStream) response.get("COMMAND_BYTE")).toByteArray();
+            logger.debug("NODE {}: SECURITY_RXD {}", getEndpoint().getNodeId(), bb2hex(commandBytes));
+
+            return commandBytes;
         } catch (GeneralSecurityException e) {
-            e.printStackTrace();
+            logger.error("NODE {}: Error decrypting message {}", getEndpoint().getNodeId(), e);
         }
 
         return null;
@@ -319,6 +311,13 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
         // tmpNonce.setNonceBytes(new byte[] { 0, 0, 0, 0, 0, 0, 0, 0 });
         // theirNonce.setNonceBytes(new byte[] { 1, 1, 1, 1, 1, 1, 1, 1 });
 
+        // Take a nonce received from the node. It is used once, so is removed from the cache.
+        ZWaveNonce theirNonce = nonceManager.pollReceivedNonce();
+        if (theirNonce == null) {
+            logger.debug("NODE {}: SECURITY_ERR No valid NONCE to encrypt with!", getEndpoint().getNodeId());
+            return null;
+        }
+
         // Create the initialisation vector which is an 8 byte random number followed by their nonce
         ZWaveNonce tmpNonce = new ZWaveNonce();
         byte[] initializationVector = new byte[16];
@@ -332,39 +331,18 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
             byte[] securePayload = CommandClassSecurityV1.getSecurityMessageEncapsulation(tmpNonce.getNonceBytes(), 0,
                     false, false, payload, (int) theirNonce.getId(), messageAuthenticationCode);
 
-            // Now encrypt the secure part of the securePayload
-            Cipher encryptCipher = Cipher.getInstance("AES/OFB/NoPadding");
-            encryptCipher.init(Cipher.ENCRYPT_MODE, txEncryptionKey, new IvParameterSpec(initializationVector));
-            byte[] ciphertextBytes = encryptCipher.doFinal(securePayload, 10, securePayload.length - 19);
-            System.arraycopy(ciphertextBytes, 0, securePayload, 10, securePayload.length - 19);
+            // Now encrypt the secure part of the securePayload in place
+            txKey.crypt(initializationVector, securePayload, 10, securePayload.length - 19);
 
-            // Now generate the MAC
-            messageAuthenticationCode = generateMAC(txAuthenticationKey, securePayload, (byte) ownNodeId,
-                    (byte) getEndpoint().getNodeId(), initializationVector);
-
-            // And copy the MAC to the end of securePayload
-            System.arraycopy(messageAuthenticationCode, 0, securePayload, securePayload.length - 8, 8);
+            // Now generate the MAC directly into the end of securePayload
+            txKey.mac(initializationVector, securePayload[1], (byte) ownNodeId, (byte) getEndpoint().getNodeId(),
+                    securePayload, 10, securePayload.length - 19, securePayload, securePayload.length - 8);
 
             logger.debug("NODE {}: SECURITY_TXD {}", getEndpoint().getNodeId(), bb2hex(payload));
 
-            // We've used this nonce, so forget it
-            theirNonce = null;
-
             return securePayload;
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
-        } catch (NoSuchPaddingException e) {
-            e.printStackTrace();
-        } catch (InvalidKeyException e) {
-            e.printStackTrace();
-        } catch (InvalidAlgorithmParameterException e) {
-            e.printStackTrace();
-        } catch (IllegalBlockSizeException e) {
-            e.printStackTrace();
-        } catch (BadPaddingException e) {
-            e.printStackTrace();
         } catch (GeneralSecurityException e) {
-            e.printStackTrace();
+            logger.error("NODE {}: Error encrypting message {}", getEndpoint().getNodeId(), e);
         }
         return null;
     }
@@ -408,128 +386,58 @@ public class ZWaveSecurityCommandClass extends ZWaveCommandClass {
         logger.debug("NODE {}: setupNetworkKey useSchemeZero={}", getEndpoint().getNodeId(), useSchemeZero);
 
         try {
-            SecretKey key;
-            Cipher cipher;
+            byte[] key;
             if (useSchemeZero) {
                 logger.info("NODE {}: Using Scheme0 Network Key for Key Exchange since we are in inclusion mode.",
                         getEndpoint().getNodeId());
                 // Scheme0 network key is a key of all zeros
-                key = new SecretKeySpec(new byte[16], AES);
+                key = new byte[16];
             } else {
                 // Use the real key
                 logger.trace("NODE {}: Using Real Network Key.", getEndpoint().getNodeId());
-                key = networkKey;
+                key = networkKey.getEncoded();
             }
 
-            // Derived the message encryption key from the network key
-            cipher = Cipher.getInstance("AES/ECB/NoPadding");
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            txEncryptionKey = new SecretKeySpec(cipher.doFinal(DERIVE_ENCRYPT_KEY), AES);
-
-            // Derived the message auth key from the network key
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-            txAuthenticationKey = new SecretKeySpec(cipher.doFinal(DERIVE_AUTH_KEY), AES);
+            // Derive the message encryption and auth keys from the network key. The keys are derived once here, and
+            // their ciphers are reused for every frame.
+            txKey = new ZWaveS0Key(key);
 
             // Always use the real key for RX
-
-            // Derived the message encryption key from the network key
-            cipher = Cipher.getInstance("AES/ECB/NoPadding");
-            cipher.init(Cipher.ENCRYPT_MODE, networkKey);
-            rxEncryptionKey = new SecretKeySpec(cipher.doFinal(DERIVE_ENCRYPT_KEY), AES);
-
-            // Derived the message auth key from the network key
-            cipher.init(Cipher.ENCRYPT_MODE, networkKey);
-            rxAuthenticationKey = new SecretKeySpec(cipher.doFinal(DERIVE_AUTH_KEY), AES);
-
+            rxKey = new ZWaveS0Key(networkKey.getEncoded());
         } catch (GeneralSecurityException e) {
             logger.error("NODE {}: Error building derived keys {}", getEndpoint().getNodeId(), e);
         }
     }
 
     public static boolean doesCommandRequireSecurityEncapsulation(int commandKey) {
-        return securityRequired.contains(commandKey);
+        return securityRequired[commandKey & 0xFF];
     }
 
+    /**
+     * Checks if a valid nonce received from the node is available, so that a message can be encapsulated without
+     * first requesting a nonce
+     *
+     * @return true if a message can be encapsulated now
+     */
     public boolean isNonceAvailable() {
-        if (theirNonce == null) {
-            logger.debug("NODE {}: isNonceAvailable = null", getEndpoint().getNodeId());
-            return false;
-        }
-        return theirNonce.isValid();
+        return nonceManager.isReceivedNonceAvailable();
     }
 
     /**
      * Generate the MAC (Message Authentication Code) for an encrypted message
      *
-     * @param commandByte the security command we're sending
-     * @param ciphertext
-     * @param sendingNode
-     * @param receivingNode
-     * @param iv
-     * @return
+     * @param key the {@link ZWaveS0Key} to authenticate with
+     * @param payload the security encapsulation message, with the secure part encrypted
+     * @param sendingNode the id of the node sending the message
+     * @param receivingNode the id of the node receiving the message
+     * @param iv the initialisation vector
+     * @return the 8 byte MAC
      * @throws GeneralSecurityException
      */
-    public byte[] generateMAC(SecretKey key, byte[] payload, byte sendingNode, byte receivingNode, byte[] iv)
+    public byte[] generateMAC(ZWaveS0Key key, byte[] payload, byte sendingNode, byte receivingNode, byte[] iv)
             throws GeneralSecurityException {
-        // Build a buffer containing a 4-byte header and the encrypted message data
-        // padded with zeros to a 16-byte boundary.
-        byte[] tempAuth = new byte[16];
-
-        int bufferSize = payload.length - 19 + 4; // -19 for packet overhead, +4 to account for the header
-        byte[] buffer = new byte[bufferSize];
-        buffer[0] = payload[1]; // Command byte
-        buffer[1] = sendingNode;
-        buffer[2] = receivingNode;
-        buffer[3] = (byte) (payload.length - 19);
-
-        System.arraycopy(payload, 10, buffer, 4, payload.length - 19);
-
-        // Encrypt the IV with ECB
-        Cipher encryptCipher = Cipher.getInstance("AES/ECB/NoPadding");
-        encryptCipher.init(Cipher.ENCRYPT_MODE, key);
-        tempAuth = encryptCipher.doFinal(iv);
-
-        // Working buffer
-        byte[] encpck = new byte[16];
-        int block = 0;
-
-        // Now XOR the buffer with our encrypted IV
-        for (int i = 0; i < bufferSize; i++) {
-            encpck[block] = buffer[i];
-            block++;
-
-            // If we hit a block boundary, then XOR and encrypt
-            if (block == 16) {
-                for (int j = 0; j < 16; j++) {
-                    // here we do our xor
-                    tempAuth[j] = (byte) (encpck[j] ^ tempAuth[j]);
-                    encpck[j] = 0;
-                }
-                // Reset encpck for good measure
-                Arrays.fill(encpck, (byte) 0);
-
-                // Reset our block counter back to 0
-                block = 0;
-
-                encryptCipher.init(Cipher.ENCRYPT_MODE, key);
-                tempAuth = encryptCipher.doFinal(tempAuth);
-            }
-        }
-
-        // Add any left over data that isn't a full block size
-        if (block > 0) {
-            for (int i = 0; i < 16; i++) {
-                // encpck from block to 16 is already guaranteed to be 0 so its safe to XOR it with out tempAuth
-                tempAuth[i] = (byte) (encpck[i] ^ tempAuth[i]);
-            }
-
-            encryptCipher.init(Cipher.ENCRYPT_MODE, key);
-            tempAuth = encryptCipher.doFinal(tempAuth);
-        }
-
-        // We only care about the first 8 bytes of tempAuth as the MAC
         byte[] mac = new byte[8];
-        System.arraycopy(tempAuth, 0, mac, 0, 8);
+        key.mac(iv, payload[1], sendingNode, receivingNode, payload, 10, payload.length - 19, mac, 0);
         return mac;
     }
 }
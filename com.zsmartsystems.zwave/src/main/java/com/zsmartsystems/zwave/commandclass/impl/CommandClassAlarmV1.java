@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +41,18 @@ public class CommandClassAlarmV1 {
      * Alarm Get Command Constant
      */
     public final static int ALARM_GET = 0x04;
+    /**
+     * Length of the encoded ALARM_GET command
+     */
+    public final static int ALARM_GET_LENGTH = 3;
     /**
      * Alarm Report Command Constant
      */
     public final static int ALARM_REPORT = 0x05;
+    /**
+     * Length of the encoded ALARM_REPORT command
+     */
+    public final static int ALARM_REPORT_LENGTH = 4;
 
 
     /**
@@ -55,16 +64,31 @@ public class CommandClassAlarmV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAlarmGet(Integer alarmType) {
-        logger.debug("Creating command message ALARM_GET version 1");
+        byte[] outputData = new byte[ALARM_GET_LENGTH];
+        getAlarmGet(ByteBuffer.wrap(outputData), alarmType);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ALARM_GET);
+    /**
+     * Writes a new message with the ALARM_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ALARM_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param alarmType {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ALARM_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAlarmGet(ByteBuffer buffer, Integer alarmType) {
+        logger.debug("Creating command message ALARM_GET version 1");
 
-        // Process 'Alarm Type'
-        outputData.write(alarmType);
+        if (buffer.remaining() < ALARM_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ALARM_GET);
+        buffer.put(alarmType.byteValue());
     }
 
     /**
@@ -102,19 +126,33 @@ public class CommandClassAlarmV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAlarmReport(Integer alarmType, Integer alarmLevel) {
-        logger.debug("Creating command message ALARM_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ALARM_REPORT);
+        byte[] outputData = new byte[ALARM_REPORT_LENGTH];
+        getAlarmReport(ByteBuffer.wrap(outputData), alarmType, alarmLevel);
+        return outputData;
+    }
 
-        // Process 'Alarm Type'
-        outputData.write(alarmType);
+    /**
+     * Writes a new message with the ALARM_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ALARM_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param alarmType {@link Integer}
+     * @param alarmLevel {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ALARM_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getAlarmReport(ByteBuffer buffer, Integer alarmType, Integer alarmLevel) {
+        logger.debug("Creating command message ALARM_REPORT version 1");
 
-        // Process 'Alarm Level'
-        outputData.write(alarmLevel);
+        if (buffer.remaining() < ALARM_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ALARM_REPORT);
+        buffer.put(alarmType.byteValue());
+        buffer.put(alarmLevel.byteValue());
     }
 
     /**
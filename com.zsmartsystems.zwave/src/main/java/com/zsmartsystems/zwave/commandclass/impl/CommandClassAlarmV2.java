@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassAlarmV2 {
      * Alarm Get Command Constant
      */
     public final static int ALARM_GET = 0x04;
+    /**
+     * Length of the encoded ALARM_GET command
+     */
+    public final static int ALARM_GET_LENGTH = 4;
     /**
      * Alarm Report Command Constant
      */
@@ -51,10 +57,18 @@ public class CommandClassAlarmV2 {
      * Alarm Set Command Constant
      */
     public final static int ALARM_SET = 0x06;
+    /**
+     * Length of the encoded ALARM_SET command
+     */
+    public final static int ALARM_SET_LENGTH = 4;
     /**
      * Alarm Type Supported Get Command Constant
      */
     public final static int ALARM_TYPE_SUPPORTED_GET = 0x07;
+    /**
+     * Length of the encoded ALARM_TYPE_SUPPORTED_GET command
+     */
+    public final static int ALARM_TYPE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Alarm Type Supported Report Command Constant
      */
@@ -65,16 +79,31 @@ public class CommandClassAlarmV2 {
      */
     private static Map<Integer, String> constantAlarmSetZwaveAlarmType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for AlarmSetZwaveAlarmType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseAlarmSetZwaveAlarmType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for AlarmReportZwaveAlarmType
      */
     private static Map<Integer, String> constantAlarmReportZwaveAlarmType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for AlarmReportZwaveAlarmType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseAlarmReportZwaveAlarmType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for AlarmGetZwaveAlarmType
      */
     private static Map<Integer, String> constantAlarmGetZwaveAlarmType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for AlarmGetZwaveAlarmType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseAlarmGetZwaveAlarmType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for AlarmTypeSupportedReportProperties1
      */
@@ -85,16 +114,31 @@ public class CommandClassAlarmV2 {
      */
     private static Map<Integer, String> constantAlarmReportZwaveAlarmStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for AlarmReportZwaveAlarmStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseAlarmReportZwaveAlarmStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for AlarmTypeSupportedReportBitMask
      */
     private static Map<Integer, String> constantAlarmTypeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for AlarmTypeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseAlarmTypeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for AlarmSetZwaveAlarmStatus
      */
     private static Map<Integer, String> constantAlarmSetZwaveAlarmStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for AlarmSetZwaveAlarmStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseAlarmSetZwaveAlarmStatus = new HashMap<String, Integer>();
+
     static {
         // Constants for AlarmSetZwaveAlarmType
         constantAlarmSetZwaveAlarmType.put(0x01, "SMOKE");
@@ -158,6 +202,66 @@ public class CommandClassAlarmV2 {
         // Constants for AlarmSetZwaveAlarmStatus
         constantAlarmSetZwaveAlarmStatus.put(0x00, "OFF");
         constantAlarmSetZwaveAlarmStatus.put(0xFF, "ON");
+
+        // Reverse constants for AlarmSetZwaveAlarmType
+        reverseAlarmSetZwaveAlarmType.put("SMOKE", 0x01);
+        reverseAlarmSetZwaveAlarmType.put("CO", 0x02);
+        reverseAlarmSetZwaveAlarmType.put("CO2", 0x03);
+        reverseAlarmSetZwaveAlarmType.put("HEAT", 0x04);
+        reverseAlarmSetZwaveAlarmType.put("WATER", 0x05);
+        reverseAlarmSetZwaveAlarmType.put("ACCESS_CONTROL", 0x06);
+        reverseAlarmSetZwaveAlarmType.put("BURGLAR", 0x07);
+        reverseAlarmSetZwaveAlarmType.put("POWER_MANAGEMENT", 0x08);
+        reverseAlarmSetZwaveAlarmType.put("SYSTEM", 0x09);
+        reverseAlarmSetZwaveAlarmType.put("EMERGENCY", 0x0A);
+        reverseAlarmSetZwaveAlarmType.put("CLOCK", 0x0B);
+
+        // Reverse constants for AlarmReportZwaveAlarmType
+        reverseAlarmReportZwaveAlarmType.put("SMOKE", 0x01);
+        reverseAlarmReportZwaveAlarmType.put("CO", 0x02);
+        reverseAlarmReportZwaveAlarmType.put("CO2", 0x03);
+        reverseAlarmReportZwaveAlarmType.put("HEAT", 0x04);
+        reverseAlarmReportZwaveAlarmType.put("WATER", 0x05);
+        reverseAlarmReportZwaveAlarmType.put("ACCESS_CONTROL", 0x06);
+        reverseAlarmReportZwaveAlarmType.put("BURGLAR", 0x07);
+        reverseAlarmReportZwaveAlarmType.put("POWER_MANAGEMENT", 0x08);
+        reverseAlarmReportZwaveAlarmType.put("SYSTEM", 0x09);
+        reverseAlarmReportZwaveAlarmType.put("EMERGENCY", 0x0A);
+        reverseAlarmReportZwaveAlarmType.put("CLOCK", 0x0B);
+
+        // Reverse constants for AlarmGetZwaveAlarmType
+        reverseAlarmGetZwaveAlarmType.put("SMOKE", 0x01);
+        reverseAlarmGetZwaveAlarmType.put("CO", 0x02);
+        reverseAlarmGetZwaveAlarmType.put("CO2", 0x03);
+        reverseAlarmGetZwaveAlarmType.put("HEAT", 0x04);
+        reverseAlarmGetZwaveAlarmType.put("WATER", 0x05);
+        reverseAlarmGetZwaveAlarmType.put("ACCESS_CONTROL", 0x06);
+        reverseAlarmGetZwaveAlarmType.put("BURGLAR", 0x07);
+        reverseAlarmGetZwaveAlarmType.put("POWER_MANAGEMENT", 0x08);
+        reverseAlarmGetZwaveAlarmType.put("SYSTEM", 0x09);
+        reverseAlarmGetZwaveAlarmType.put("EMERGENCY", 0x0A);
+        reverseAlarmGetZwaveAlarmType.put("CLOCK", 0x0B);
+
+        // Reverse constants for AlarmReportZwaveAlarmStatus
+        reverseAlarmReportZwaveAlarmStatus.put("OFF", 0x00);
+        reverseAlarmReportZwaveAlarmStatus.put("ON", 0xFF);
+
+        // Reverse constants for AlarmTypeSupportedReportBitMask
+        reverseAlarmTypeSupportedReportBitMask.put("SMOKE", 0x01);
+        reverseAlarmTypeSupportedReportBitMask.put("CO", 0x02);
+        reverseAlarmTypeSupportedReportBitMask.put("CO2", 0x03);
+        reverseAlarmTypeSupportedReportBitMask.put("HEAT", 0x04);
+        reverseAlarmTypeSupportedReportBitMask.put("WATER", 0x05);
+        reverseAlarmTypeSupportedReportBitMask.put("ACCESS_CONTROL", 0x06);
+        reverseAlarmTypeSupportedReportBitMask.put("BURGLAR", 0x07);
+        reverseAlarmTypeSupportedReportBitMask.put("POWER_MANAGEMENT", 0x08);
+        reverseAlarmTypeSupportedReportBitMask.put("SYSTEM", 0x09);
+        reverseAlarmTypeSupportedReportBitMask.put("EMERGENCY", 0x0A);
+        reverseAlarmTypeSupportedReportBitMask.put("CLOCK", 0x0B);
+
+        // Reverse constants for AlarmSetZwaveAlarmStatus
+        reverseAlarmSetZwaveAlarmStatus.put("OFF", 0x00);
+        reverseAlarmSetZwaveAlarmStatus.put("ON", 0xFF);
     }
 
     /**
@@ -185,29 +289,54 @@ public class CommandClassAlarmV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAlarmGet(Integer alarmType, String zwaveAlarmType) {
-        logger.debug("Creating command message ALARM_GET version 2");
+        byte[] outputData = new byte[ALARM_GET_LENGTH];
+        getAlarmGet(ByteBuffer.wrap(outputData), alarmType, zwaveAlarmType);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ALARM_GET);
+    /**
+     * Writes a new message with the ALARM_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ALARM_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param alarmType {@link Integer}
+     * @param zwaveAlarmType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>ACCESS_CONTROL
+     *            <li>BURGLAR
+     *            <li>POWER_MANAGEMENT
+     *            <li>SYSTEM
+     *            <li>EMERGENCY
+     *            <li>CLOCK
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #ALARM_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAlarmGet(ByteBuffer buffer, Integer alarmType, String zwaveAlarmType) {
+        logger.debug("Creating command message ALARM_GET version 2");
 
-        // Process 'Alarm Type'
-        outputData.write(alarmType);
+        if (buffer.remaining() < ALARM_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'ZWave Alarm Type'
-        boolean foundZwaveAlarmType = false;
-        for (Integer entry : constantAlarmGetZwaveAlarmType.keySet()) {
-            if (constantAlarmGetZwaveAlarmType.get(entry).equals(zwaveAlarmType)) {
-                outputData.write(entry);
-                foundZwaveAlarmType = true;
-                break;
-            }
-        }
-        if (!foundZwaveAlarmType) {
+        Integer varZwaveAlarmType = reverseAlarmGetZwaveAlarmType.get(zwaveAlarmType);
+        if (varZwaveAlarmType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zwaveAlarmType + "' for zwaveAlarmType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ALARM_GET);
+        buffer.put(alarmType.byteValue());
+        buffer.put(varZwaveAlarmType.byteValue());
     }
 
     /**
@@ -314,30 +443,18 @@ public class CommandClassAlarmV2 {
         outputData.write(zensorNetSourceNodeId);
 
         // Process 'ZWave Alarm Status'
-        boolean foundZwaveAlarmStatus = false;
-        for (Integer entry : constantAlarmReportZwaveAlarmStatus.keySet()) {
-            if (constantAlarmReportZwaveAlarmStatus.get(entry).equals(zwaveAlarmStatus)) {
-                outputData.write(entry);
-                foundZwaveAlarmStatus = true;
-                break;
-            }
-        }
-        if (!foundZwaveAlarmStatus) {
+        Integer varZwaveAlarmStatus = reverseAlarmReportZwaveAlarmStatus.get(zwaveAlarmStatus);
+        if (varZwaveAlarmStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zwaveAlarmStatus + "' for zwaveAlarmStatus");
         }
+        outputData.write(varZwaveAlarmStatus);
 
         // Process 'ZWave Alarm Type'
-        boolean foundZwaveAlarmType = false;
-        for (Integer entry : constantAlarmReportZwaveAlarmType.keySet()) {
-            if (constantAlarmReportZwaveAlarmType.get(entry).equals(zwaveAlarmType)) {
-                outputData.write(entry);
-                foundZwaveAlarmType = true;
-                break;
-            }
-        }
-        if (!foundZwaveAlarmType) {
+        Integer varZwaveAlarmType = reverseAlarmReportZwaveAlarmType.get(zwaveAlarmType);
+        if (varZwaveAlarmType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zwaveAlarmType + "' for zwaveAlarmType");
         }
+        outputData.write(varZwaveAlarmType);
 
         // Process 'ZWave Alarm Event'
         outputData.write(zwaveAlarmEvent);
@@ -477,39 +594,66 @@ public class CommandClassAlarmV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAlarmSet(String zwaveAlarmType, String zwaveAlarmStatus) {
+        byte[] outputData = new byte[ALARM_SET_LENGTH];
+        getAlarmSet(ByteBuffer.wrap(outputData), zwaveAlarmType, zwaveAlarmStatus);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ALARM_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ALARM_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zwaveAlarmType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>ACCESS_CONTROL
+     *            <li>BURGLAR
+     *            <li>POWER_MANAGEMENT
+     *            <li>SYSTEM
+     *            <li>EMERGENCY
+     *            <li>CLOCK
+     *            </ul>
+     * @param zwaveAlarmStatus {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #ALARM_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAlarmSet(ByteBuffer buffer, String zwaveAlarmType, String zwaveAlarmStatus) {
         logger.debug("Creating command message ALARM_SET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ALARM_SET);
+        if (buffer.remaining() < ALARM_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'ZWave Alarm Type'
-        boolean foundZwaveAlarmType = false;
-        for (Integer entry : constantAlarmSetZwaveAlarmType.keySet()) {
-            if (constantAlarmSetZwaveAlarmType.get(entry).equals(zwaveAlarmType)) {
-                outputData.write(entry);
-                foundZwaveAlarmType = true;
-                break;
-            }
-        }
-        if (!foundZwaveAlarmType) {
+        Integer varZwaveAlarmType = reverseAlarmSetZwaveAlarmType.get(zwaveAlarmType);
+        if (varZwaveAlarmType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zwaveAlarmType + "' for zwaveAlarmType");
         }
 
         // Process 'ZWave Alarm Status'
-        boolean foundZwaveAlarmStatus = false;
-        for (Integer entry : constantAlarmSetZwaveAlarmStatus.keySet()) {
-            if (constantAlarmSetZwaveAlarmStatus.get(entry).equals(zwaveAlarmStatus)) {
-                outputData.write(entry);
-                foundZwaveAlarmStatus = true;
-                break;
-            }
-        }
-        if (!foundZwaveAlarmStatus) {
+        Integer varZwaveAlarmStatus = reverseAlarmSetZwaveAlarmStatus.get(zwaveAlarmStatus);
+        if (varZwaveAlarmStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zwaveAlarmStatus + "' for zwaveAlarmStatus");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ALARM_SET);
+        buffer.put(varZwaveAlarmType.byteValue());
+        buffer.put(varZwaveAlarmStatus.byteValue());
     }
 
     /**
@@ -570,13 +714,29 @@ public class CommandClassAlarmV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAlarmTypeSupportedGet() {
+        byte[] outputData = new byte[ALARM_TYPE_SUPPORTED_GET_LENGTH];
+        getAlarmTypeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ALARM_TYPE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ALARM_TYPE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ALARM_TYPE_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAlarmTypeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message ALARM_TYPE_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ALARM_TYPE_SUPPORTED_GET);
+        if (buffer.remaining() < ALARM_TYPE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ALARM_TYPE_SUPPORTED_GET);
     }
 
     /**
@@ -635,17 +795,11 @@ public class CommandClassAlarmV2 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantAlarmTypeSupportedReportBitMask.keySet()) {
-                if (constantAlarmTypeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseAlarmTypeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class CommandClassAntitheftV1 {
      * Anti-theft Get Command Constant
      */
     public final static int ANTITHEFT_GET = 0x02;
+    /**
+     * Length of the encoded ANTITHEFT_GET command
+     */
+    public final static int ANTITHEFT_GET_LENGTH = 2;
     /**
      * Anti-theft Report Command Constant
      */
@@ -178,13 +184,29 @@ public class CommandClassAntitheftV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAntitheftGet() {
+        byte[] outputData = new byte[ANTITHEFT_GET_LENGTH];
+        getAntitheftGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ANTITHEFT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ANTITHEFT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ANTITHEFT_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAntitheftGet(ByteBuffer buffer) {
         logger.debug("Creating command message ANTITHEFT_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ANTITHEFT_GET);
+        if (buffer.remaining() < ANTITHEFT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ANTITHEFT_GET);
     }
 
     /**
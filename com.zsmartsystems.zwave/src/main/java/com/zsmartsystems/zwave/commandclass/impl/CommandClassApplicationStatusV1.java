@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,21 +41,39 @@ public class CommandClassApplicationStatusV1 {
      * Application Busy Command Constant
      */
     public final static int APPLICATION_BUSY = 0x01;
+    /**
+     * Length of the encoded APPLICATION_BUSY command
+     */
+    public final static int APPLICATION_BUSY_LENGTH = 4;
     /**
      * Application Rejected Request Command Constant
      */
     public final static int APPLICATION_REJECTED_REQUEST = 0x02;
+    /**
+     * Length of the encoded APPLICATION_REJECTED_REQUEST command
+     */
+    public final static int APPLICATION_REJECTED_REQUEST_LENGTH = 3;
 
     /**
      * Map holding constants for ApplicationBusyStatus
      */
     private static Map<Integer, String> constantApplicationBusyStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ApplicationBusyStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseApplicationBusyStatus = new HashMap<String, Integer>();
+
     static {
         // Constants for ApplicationBusyStatus
         constantApplicationBusyStatus.put(0x00, "TRY_AGAIN_LATER");
         constantApplicationBusyStatus.put(0x01, "TRY_AGAIN_IN_WAIT_TIME_SECONDS");
         constantApplicationBusyStatus.put(0x02, "REQUEST_QUEUED_EXECUTED_LATER");
+
+        // Reverse constants for ApplicationBusyStatus
+        reverseApplicationBusyStatus.put("TRY_AGAIN_LATER", 0x00);
+        reverseApplicationBusyStatus.put("TRY_AGAIN_IN_WAIT_TIME_SECONDS", 0x01);
+        reverseApplicationBusyStatus.put("REQUEST_QUEUED_EXECUTED_LATER", 0x02);
     }
 
     /**
@@ -74,29 +93,46 @@ public class CommandClassApplicationStatusV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getApplicationBusy(String status, Integer waitTime) {
+        byte[] outputData = new byte[APPLICATION_BUSY_LENGTH];
+        getApplicationBusy(ByteBuffer.wrap(outputData), status, waitTime);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the APPLICATION_BUSY command into the supplied buffer.
+     * <p>
+     * Exactly {@link #APPLICATION_BUSY_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>TRY_AGAIN_LATER
+     *            <li>TRY_AGAIN_IN_WAIT_TIME_SECONDS
+     *            <li>REQUEST_QUEUED_EXECUTED_LATER
+     *            </ul>
+     * @param waitTime {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #APPLICATION_BUSY_LENGTH} bytes remain in the buffer
+     */
+    static public void getApplicationBusy(ByteBuffer buffer, String status, Integer waitTime) {
         logger.debug("Creating command message APPLICATION_BUSY version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(APPLICATION_BUSY);
+        if (buffer.remaining() < APPLICATION_BUSY_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantApplicationBusyStatus.keySet()) {
-            if (constantApplicationBusyStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseApplicationBusyStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        // Process 'Wait Time'
-        outputData.write(waitTime);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) APPLICATION_BUSY);
+        buffer.put(varStatus.byteValue());
+        buffer.put(waitTime.byteValue());
     }
 
     /**
@@ -144,16 +180,32 @@ public class CommandClassApplicationStatusV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getApplicationRejectedRequest(Integer status) {
-        logger.debug("Creating command message APPLICATION_REJECTED_REQUEST version 1");
+        byte[] outputData = new byte[APPLICATION_REJECTED_REQUEST_LENGTH];
+        getApplicationRejectedRequest(ByteBuffer.wrap(outputData), status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(APPLICATION_REJECTED_REQUEST);
+    /**
+     * Writes a new message with the APPLICATION_REJECTED_REQUEST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #APPLICATION_REJECTED_REQUEST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #APPLICATION_REJECTED_REQUEST_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getApplicationRejectedRequest(ByteBuffer buffer, Integer status) {
+        logger.debug("Creating command message APPLICATION_REJECTED_REQUEST version 1");
 
-        // Process 'Status'
-        outputData.write(status);
+        if (buffer.remaining() < APPLICATION_REJECTED_REQUEST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) APPLICATION_REJECTED_REQUEST);
+        buffer.put(status.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +43,10 @@ public class CommandClassAssociationCommandConfigurationV1 {
      * Command Records Supported Get Command Constant
      */
     public final static int COMMAND_RECORDS_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded COMMAND_RECORDS_SUPPORTED_GET command
+     */
+    public final static int COMMAND_RECORDS_SUPPORTED_GET_LENGTH = 2;
     /**
      * Command Records Supported Report Command Constant
      */
@@ -77,13 +83,30 @@ public class CommandClassAssociationCommandConfigurationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandRecordsSupportedGet() {
+        byte[] outputData = new byte[COMMAND_RECORDS_SUPPORTED_GET_LENGTH];
+        getCommandRecordsSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the COMMAND_RECORDS_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_RECORDS_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_RECORDS_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCommandRecordsSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message COMMAND_RECORDS_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_RECORDS_SUPPORTED_GET);
+        if (buffer.remaining() < COMMAND_RECORDS_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_RECORDS_SUPPORTED_GET);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassAssociationGrpInfoV3 {
      * Association Group Name Get Command Constant
      */
     public final static int ASSOCIATION_GROUP_NAME_GET = 0x01;
+    /**
+     * Length of the encoded ASSOCIATION_GROUP_NAME_GET command
+     */
+    public final static int ASSOCIATION_GROUP_NAME_GET_LENGTH = 3;
     /**
      * Association Group Name Report Command Constant
      */
@@ -59,6 +65,10 @@ public class CommandClassAssociationGrpInfoV3 {
      * Association Group Command List Get Command Constant
      */
     public final static int ASSOCIATION_GROUP_COMMAND_LIST_GET = 0x05;
+    /**
+     * Length of the encoded ASSOCIATION_GROUP_COMMAND_LIST_GET command
+     */
+    public final static int ASSOCIATION_GROUP_COMMAND_LIST_GET_LENGTH = 4;
     /**
      * Association Group Command List Report Command Constant
      */
@@ -114,16 +124,32 @@ public class CommandClassAssociationGrpInfoV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssociationGroupNameGet(Integer groupingIdentifier) {
-        logger.debug("Creating command message ASSOCIATION_GROUP_NAME_GET version 3");
+        byte[] outputData = new byte[ASSOCIATION_GROUP_NAME_GET_LENGTH];
+        getAssociationGroupNameGet(ByteBuffer.wrap(outputData), groupingIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSOCIATION_GROUP_NAME_GET);
+    /**
+     * Writes a new message with the ASSOCIATION_GROUP_NAME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSOCIATION_GROUP_NAME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ASSOCIATION_GROUP_NAME_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAssociationGroupNameGet(ByteBuffer buffer, Integer groupingIdentifier) {
+        logger.debug("Creating command message ASSOCIATION_GROUP_NAME_GET version 3");
 
-        // Process 'Grouping Identifier'
-        outputData.write(groupingIdentifier);
+        if (buffer.remaining() < ASSOCIATION_GROUP_NAME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSOCIATION_GROUP_NAME_GET);
+        buffer.put(groupingIdentifier.byteValue());
     }
 
     /**
@@ -391,19 +417,36 @@ public class CommandClassAssociationGrpInfoV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssociationGroupCommandListGet(Boolean allowCache, Integer groupingIdentifier) {
-        logger.debug("Creating command message ASSOCIATION_GROUP_COMMAND_LIST_GET version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSOCIATION_GROUP_COMMAND_LIST_GET);
+        byte[] outputData = new byte[ASSOCIATION_GROUP_COMMAND_LIST_GET_LENGTH];
+        getAssociationGroupCommandListGet(ByteBuffer.wrap(outputData), allowCache, groupingIdentifier);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(allowCache ? 0x80 : 0);
+    /**
+     * Writes a new message with the ASSOCIATION_GROUP_COMMAND_LIST_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSOCIATION_GROUP_COMMAND_LIST_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param allowCache {@link Boolean}
+     * @param groupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ASSOCIATION_GROUP_COMMAND_LIST_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getAssociationGroupCommandListGet(ByteBuffer buffer, Boolean allowCache,
+            Integer groupingIdentifier) {
+        logger.debug("Creating command message ASSOCIATION_GROUP_COMMAND_LIST_GET version 3");
 
-        // Process 'Grouping Identifier'
-        outputData.write(groupingIdentifier);
+        if (buffer.remaining() < ASSOCIATION_GROUP_COMMAND_LIST_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSOCIATION_GROUP_COMMAND_LIST_GET);
+        buffer.put((byte) (allowCache ? 0x80 : 0));
+        buffer.put(groupingIdentifier.byteValue());
     }
 
     /**
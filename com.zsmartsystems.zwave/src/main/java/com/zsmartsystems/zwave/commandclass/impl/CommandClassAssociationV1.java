@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class CommandClassAssociationV1 {
      * Association Get Command Constant
      */
     public final static int ASSOCIATION_GET = 0x02;
+    /**
+     * Length of the encoded ASSOCIATION_GET command
+     */
+    public final static int ASSOCIATION_GET_LENGTH = 3;
     /**
      * Association Report Command Constant
      */
@@ -57,10 +63,18 @@ public class CommandClassAssociationV1 {
      * Association Groupings Get Command Constant
      */
     public final static int ASSOCIATION_GROUPINGS_GET = 0x05;
+    /**
+     * Length of the encoded ASSOCIATION_GROUPINGS_GET command
+     */
+    public final static int ASSOCIATION_GROUPINGS_GET_LENGTH = 2;
     /**
      * Association Groupings Report Command Constant
      */
     public final static int ASSOCIATION_GROUPINGS_REPORT = 0x06;
+    /**
+     * Length of the encoded ASSOCIATION_GROUPINGS_REPORT command
+     */
+    public final static int ASSOCIATION_GROUPINGS_REPORT_LENGTH = 3;
 
 
     /**
@@ -140,16 +154,31 @@ public class CommandClassAssociationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssociationGet(Integer groupingIdentifier) {
-        logger.debug("Creating command message ASSOCIATION_GET version 1");
+        byte[] outputData = new byte[ASSOCIATION_GET_LENGTH];
+        getAssociationGet(ByteBuffer.wrap(outputData), groupingIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSOCIATION_GET);
+    /**
+     * Writes a new message with the ASSOCIATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSOCIATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ASSOCIATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAssociationGet(ByteBuffer buffer, Integer groupingIdentifier) {
+        logger.debug("Creating command message ASSOCIATION_GET version 1");
 
-        // Process 'Grouping Identifier'
-        outputData.write(groupingIdentifier);
+        if (buffer.remaining() < ASSOCIATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSOCIATION_GET);
+        buffer.put(groupingIdentifier.byteValue());
     }
 
     /**
@@ -340,13 +369,30 @@ public class CommandClassAssociationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssociationGroupingsGet() {
+        byte[] outputData = new byte[ASSOCIATION_GROUPINGS_GET_LENGTH];
+        getAssociationGroupingsGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ASSOCIATION_GROUPINGS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSOCIATION_GROUPINGS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ASSOCIATION_GROUPINGS_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAssociationGroupingsGet(ByteBuffer buffer) {
         logger.debug("Creating command message ASSOCIATION_GROUPINGS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSOCIATION_GROUPINGS_GET);
+        if (buffer.remaining() < ASSOCIATION_GROUPINGS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSOCIATION_GROUPINGS_GET);
     }
 
     /**
@@ -374,16 +420,32 @@ public class CommandClassAssociationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssociationGroupingsReport(Integer supportedGroupings) {
-        logger.debug("Creating command message ASSOCIATION_GROUPINGS_REPORT version 1");
+        byte[] outputData = new byte[ASSOCIATION_GROUPINGS_REPORT_LENGTH];
+        getAssociationGroupingsReport(ByteBuffer.wrap(outputData), supportedGroupings);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSOCIATION_GROUPINGS_REPORT);
+    /**
+     * Writes a new message with the ASSOCIATION_GROUPINGS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSOCIATION_GROUPINGS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedGroupings {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ASSOCIATION_GROUPINGS_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAssociationGroupingsReport(ByteBuffer buffer, Integer supportedGroupings) {
+        logger.debug("Creating command message ASSOCIATION_GROUPINGS_REPORT version 1");
 
-        // Process 'Supported Groupings'
-        outputData.write(supportedGroupings);
+        if (buffer.remaining() < ASSOCIATION_GROUPINGS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSOCIATION_GROUPINGS_REPORT);
+        buffer.put(supportedGroupings.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,34 +41,66 @@ public class CommandClassAvContentDirectoryMdV1 {
      * Av Content Browse Md Get Command Constant
      */
     public final static int AV_CONTENT_BROWSE_MD_GET = 0x01;
+    /**
+     * Length of the encoded AV_CONTENT_BROWSE_MD_GET command
+     */
+    public final static int AV_CONTENT_BROWSE_MD_GET_LENGTH = 2;
     /**
      * Av Content Browse Md Report Command Constant
      */
     public final static int AV_CONTENT_BROWSE_MD_REPORT = 0x02;
+    /**
+     * Length of the encoded AV_CONTENT_BROWSE_MD_REPORT command
+     */
+    public final static int AV_CONTENT_BROWSE_MD_REPORT_LENGTH = 2;
     /**
      * Av Content Browse Md By Letter Get Command Constant
      */
     public final static int AV_CONTENT_BROWSE_MD_BY_LETTER_GET = 0x03;
+    /**
+     * Length of the encoded AV_CONTENT_BROWSE_MD_BY_LETTER_GET command
+     */
+    public final static int AV_CONTENT_BROWSE_MD_BY_LETTER_GET_LENGTH = 2;
     /**
      * Av Content Browse Md By Letter Report Command Constant
      */
     public final static int AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT = 0x04;
+    /**
+     * Length of the encoded AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT command
+     */
+    public final static int AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT_LENGTH = 2;
     /**
      * Av Content Browse Md Child Count Get Command Constant
      */
     public final static int AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET = 0x05;
+    /**
+     * Length of the encoded AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET command
+     */
+    public final static int AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET_LENGTH = 2;
     /**
      * Av Content Browse Md Child Count Report Command Constant
      */
     public final static int AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT = 0x06;
+    /**
+     * Length of the encoded AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT command
+     */
+    public final static int AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT_LENGTH = 2;
     /**
      * Av Match Item To Renderer Md Get Command Constant
      */
     public final static int AV_MATCH_ITEM_TO_RENDERER_MD_GET = 0x07;
+    /**
+     * Length of the encoded AV_MATCH_ITEM_TO_RENDERER_MD_GET command
+     */
+    public final static int AV_MATCH_ITEM_TO_RENDERER_MD_GET_LENGTH = 2;
     /**
      * Av Match Item To Renderer Md Report Command Constant
      */
     public final static int AV_MATCH_ITEM_TO_RENDERER_MD_REPORT = 0x08;
+    /**
+     * Length of the encoded AV_MATCH_ITEM_TO_RENDERER_MD_REPORT command
+     */
+    public final static int AV_MATCH_ITEM_TO_RENDERER_MD_REPORT_LENGTH = 2;
 
 
     /**
@@ -78,13 +111,29 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentBrowseMdGet() {
+        byte[] outputData = new byte[AV_CONTENT_BROWSE_MD_GET_LENGTH];
+        getAvContentBrowseMdGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_BROWSE_MD_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_BROWSE_MD_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_BROWSE_MD_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAvContentBrowseMdGet(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_BROWSE_MD_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_BROWSE_MD_GET);
+        if (buffer.remaining() < AV_CONTENT_BROWSE_MD_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_BROWSE_MD_GET);
     }
 
     /**
@@ -111,13 +160,30 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentBrowseMdReport() {
+        byte[] outputData = new byte[AV_CONTENT_BROWSE_MD_REPORT_LENGTH];
+        getAvContentBrowseMdReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_BROWSE_MD_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_BROWSE_MD_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_BROWSE_MD_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAvContentBrowseMdReport(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_BROWSE_MD_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_BROWSE_MD_REPORT);
+        if (buffer.remaining() < AV_CONTENT_BROWSE_MD_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_BROWSE_MD_REPORT);
     }
 
     /**
@@ -144,13 +210,31 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentBrowseMdByLetterGet() {
+        byte[] outputData = new byte[AV_CONTENT_BROWSE_MD_BY_LETTER_GET_LENGTH];
+        getAvContentBrowseMdByLetterGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_BROWSE_MD_BY_LETTER_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_BROWSE_MD_BY_LETTER_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_BROWSE_MD_BY_LETTER_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getAvContentBrowseMdByLetterGet(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_BROWSE_MD_BY_LETTER_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_BROWSE_MD_BY_LETTER_GET);
+        if (buffer.remaining() < AV_CONTENT_BROWSE_MD_BY_LETTER_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_BROWSE_MD_BY_LETTER_GET);
     }
 
     /**
@@ -177,13 +261,31 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentBrowseMdByLetterReport() {
+        byte[] outputData = new byte[AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT_LENGTH];
+        getAvContentBrowseMdByLetterReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getAvContentBrowseMdByLetterReport(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT);
+        if (buffer.remaining() < AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_BROWSE_MD_BY_LETTER_REPORT);
     }
 
     /**
@@ -210,13 +312,31 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentBrowseMdChildCountGet() {
+        byte[] outputData = new byte[AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET_LENGTH];
+        getAvContentBrowseMdChildCountGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getAvContentBrowseMdChildCountGet(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET);
+        if (buffer.remaining() < AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_BROWSE_MD_CHILD_COUNT_GET);
     }
 
     /**
@@ -243,13 +363,31 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentBrowseMdChildCountReport() {
+        byte[] outputData = new byte[AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT_LENGTH];
+        getAvContentBrowseMdChildCountReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getAvContentBrowseMdChildCountReport(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT);
+        if (buffer.remaining() < AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_BROWSE_MD_CHILD_COUNT_REPORT);
     }
 
     /**
@@ -276,13 +414,30 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvMatchItemToRendererMdGet() {
+        byte[] outputData = new byte[AV_MATCH_ITEM_TO_RENDERER_MD_GET_LENGTH];
+        getAvMatchItemToRendererMdGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_MATCH_ITEM_TO_RENDERER_MD_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_MATCH_ITEM_TO_RENDERER_MD_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_MATCH_ITEM_TO_RENDERER_MD_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getAvMatchItemToRendererMdGet(ByteBuffer buffer) {
         logger.debug("Creating command message AV_MATCH_ITEM_TO_RENDERER_MD_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_MATCH_ITEM_TO_RENDERER_MD_GET);
+        if (buffer.remaining() < AV_MATCH_ITEM_TO_RENDERER_MD_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_MATCH_ITEM_TO_RENDERER_MD_GET);
     }
 
     /**
@@ -309,13 +464,31 @@ public class CommandClassAvContentDirectoryMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvMatchItemToRendererMdReport() {
+        byte[] outputData = new byte[AV_MATCH_ITEM_TO_RENDERER_MD_REPORT_LENGTH];
+        getAvMatchItemToRendererMdReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_MATCH_ITEM_TO_RENDERER_MD_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_MATCH_ITEM_TO_RENDERER_MD_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_MATCH_ITEM_TO_RENDERER_MD_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getAvMatchItemToRendererMdReport(ByteBuffer buffer) {
         logger.debug("Creating command message AV_MATCH_ITEM_TO_RENDERER_MD_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_MATCH_ITEM_TO_RENDERER_MD_REPORT);
+        if (buffer.remaining() < AV_MATCH_ITEM_TO_RENDERER_MD_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_MATCH_ITEM_TO_RENDERER_MD_REPORT);
     }
 
     /**
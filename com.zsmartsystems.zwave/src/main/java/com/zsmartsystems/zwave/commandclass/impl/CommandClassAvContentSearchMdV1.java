@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +41,18 @@ public class CommandClassAvContentSearchMdV1 {
      * Av Content Search Md Get Command Constant
      */
     public final static int AV_CONTENT_SEARCH_MD_GET = 0x01;
+    /**
+     * Length of the encoded AV_CONTENT_SEARCH_MD_GET command
+     */
+    public final static int AV_CONTENT_SEARCH_MD_GET_LENGTH = 2;
     /**
      * Av Content Search Md Report Command Constant
      */
     public final static int AV_CONTENT_SEARCH_MD_REPORT = 0x02;
+    /**
+     * Length of the encoded AV_CONTENT_SEARCH_MD_REPORT command
+     */
+    public final static int AV_CONTENT_SEARCH_MD_REPORT_LENGTH = 2;
 
 
     /**
@@ -54,13 +63,29 @@ public class CommandClassAvContentSearchMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentSearchMdGet() {
+        byte[] outputData = new byte[AV_CONTENT_SEARCH_MD_GET_LENGTH];
+        getAvContentSearchMdGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_SEARCH_MD_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_SEARCH_MD_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_SEARCH_MD_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAvContentSearchMdGet(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_SEARCH_MD_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_SEARCH_MD_GET);
+        if (buffer.remaining() < AV_CONTENT_SEARCH_MD_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_SEARCH_MD_GET);
     }
 
     /**
@@ -87,13 +112,30 @@ public class CommandClassAvContentSearchMdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvContentSearchMdReport() {
+        byte[] outputData = new byte[AV_CONTENT_SEARCH_MD_REPORT_LENGTH];
+        getAvContentSearchMdReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_CONTENT_SEARCH_MD_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_CONTENT_SEARCH_MD_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_CONTENT_SEARCH_MD_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAvContentSearchMdReport(ByteBuffer buffer) {
         logger.debug("Creating command message AV_CONTENT_SEARCH_MD_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_CONTENT_SEARCH_MD_REPORT);
+        if (buffer.remaining() < AV_CONTENT_SEARCH_MD_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_CONTENT_SEARCH_MD_REPORT);
     }
 
     /**
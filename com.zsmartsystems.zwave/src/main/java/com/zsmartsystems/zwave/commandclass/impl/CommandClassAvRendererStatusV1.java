@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +41,18 @@ public class CommandClassAvRendererStatusV1 {
      * Av Renderer Status Get Command Constant
      */
     public final static int AV_RENDERER_STATUS_GET = 0x01;
+    /**
+     * Length of the encoded AV_RENDERER_STATUS_GET command
+     */
+    public final static int AV_RENDERER_STATUS_GET_LENGTH = 2;
     /**
      * Av Renderer Status Report Command Constant
      */
     public final static int AV_RENDERER_STATUS_REPORT = 0x02;
+    /**
+     * Length of the encoded AV_RENDERER_STATUS_REPORT command
+     */
+    public final static int AV_RENDERER_STATUS_REPORT_LENGTH = 2;
 
 
     /**
@@ -54,13 +63,29 @@ public class CommandClassAvRendererStatusV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvRendererStatusGet() {
+        byte[] outputData = new byte[AV_RENDERER_STATUS_GET_LENGTH];
+        getAvRendererStatusGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_RENDERER_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_RENDERER_STATUS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_RENDERER_STATUS_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getAvRendererStatusGet(ByteBuffer buffer) {
         logger.debug("Creating command message AV_RENDERER_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_RENDERER_STATUS_GET);
+        if (buffer.remaining() < AV_RENDERER_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_RENDERER_STATUS_GET);
     }
 
     /**
@@ -87,13 +112,30 @@ public class CommandClassAvRendererStatusV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAvRendererStatusReport() {
+        byte[] outputData = new byte[AV_RENDERER_STATUS_REPORT_LENGTH];
+        getAvRendererStatusReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the AV_RENDERER_STATUS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #AV_RENDERER_STATUS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #AV_RENDERER_STATUS_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAvRendererStatusReport(ByteBuffer buffer) {
         logger.debug("Creating command message AV_RENDERER_STATUS_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(AV_RENDERER_STATUS_REPORT);
+        if (buffer.remaining() < AV_RENDERER_STATUS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) AV_RENDERER_STATUS_REPORT);
     }
 
     /**
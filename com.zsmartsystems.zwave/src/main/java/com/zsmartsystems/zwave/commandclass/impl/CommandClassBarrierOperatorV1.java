@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,18 +44,34 @@ public class CommandClassBarrierOperatorV1 {
      * Barrier Operator Set Command Constant
      */
     public final static int BARRIER_OPERATOR_SET = 0x01;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_SET command
+     */
+    public final static int BARRIER_OPERATOR_SET_LENGTH = 3;
     /**
      * Barrier Operator Get Command Constant
      */
     public final static int BARRIER_OPERATOR_GET = 0x02;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_GET command
+     */
+    public final static int BARRIER_OPERATOR_GET_LENGTH = 2;
     /**
      * Barrier Operator Report Command Constant
      */
     public final static int BARRIER_OPERATOR_REPORT = 0x03;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_REPORT command
+     */
+    public final static int BARRIER_OPERATOR_REPORT_LENGTH = 3;
     /**
      * Barrier Operator Signal Supported Get Command Constant
      */
     public final static int BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET command
+     */
+    public final static int BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET_LENGTH = 2;
     /**
      * Barrier Operator Signal Supported Report Command Constant
      */
@@ -62,55 +80,107 @@ public class CommandClassBarrierOperatorV1 {
      * Barrier Operator Signal Set Command Constant
      */
     public final static int BARRIER_OPERATOR_SIGNAL_SET = 0x06;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_SIGNAL_SET command
+     */
+    public final static int BARRIER_OPERATOR_SIGNAL_SET_LENGTH = 4;
     /**
      * Barrier Operator Signal Get Command Constant
      */
     public final static int BARRIER_OPERATOR_SIGNAL_GET = 0x07;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_SIGNAL_GET command
+     */
+    public final static int BARRIER_OPERATOR_SIGNAL_GET_LENGTH = 3;
     /**
      * Barrier Operator Signal Report Command Constant
      */
     public final static int BARRIER_OPERATOR_SIGNAL_REPORT = 0x08;
+    /**
+     * Length of the encoded BARRIER_OPERATOR_SIGNAL_REPORT command
+     */
+    public final static int BARRIER_OPERATOR_SIGNAL_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for BarrierOperatorSignalSetSubsystemState
      */
     private static Map<Integer, String> constantBarrierOperatorSignalSetSubsystemState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSignalSetSubsystemState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSignalSetSubsystemState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorSetTargetValue
      */
     private static Map<Integer, String> constantBarrierOperatorSetTargetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSetTargetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSetTargetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorSignalReportSubsystemType
      */
     private static Map<Integer, String> constantBarrierOperatorSignalReportSubsystemType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSignalReportSubsystemType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSignalReportSubsystemType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorSignalGetSubsystemType
      */
     private static Map<Integer, String> constantBarrierOperatorSignalGetSubsystemType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSignalGetSubsystemType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSignalGetSubsystemType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorSignalReportSubsystemState
      */
     private static Map<Integer, String> constantBarrierOperatorSignalReportSubsystemState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSignalReportSubsystemState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSignalReportSubsystemState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorReportState
      */
     private static Map<Integer, String> constantBarrierOperatorReportState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorReportState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorReportState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorSignalSupportedReportBitMask
      */
     private static Map<Integer, String> constantBarrierOperatorSignalSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSignalSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSignalSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for BarrierOperatorSignalSetSubsystemType
      */
     private static Map<Integer, String> constantBarrierOperatorSignalSetSubsystemType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BarrierOperatorSignalSetSubsystemType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBarrierOperatorSignalSetSubsystemType = new HashMap<String, Integer>();
+
     static {
         // Constants for BarrierOperatorSignalSetSubsystemState
         constantBarrierOperatorSignalSetSubsystemState.put(0x00, "OFF");
@@ -150,6 +220,45 @@ public class CommandClassBarrierOperatorV1 {
         constantBarrierOperatorSignalSetSubsystemType.put(0x00, "NOT_SUPPORTED");
         constantBarrierOperatorSignalSetSubsystemType.put(0x01, "AUDIBLE_NOTIFICATION");
         constantBarrierOperatorSignalSetSubsystemType.put(0x02, "VISUAL_NOTIFICATION");
+
+        // Reverse constants for BarrierOperatorSignalSetSubsystemState
+        reverseBarrierOperatorSignalSetSubsystemState.put("OFF", 0x00);
+        reverseBarrierOperatorSignalSetSubsystemState.put("ON", 0xFF);
+
+        // Reverse constants for BarrierOperatorSetTargetValue
+        reverseBarrierOperatorSetTargetValue.put("CLOSE", 0x00);
+        reverseBarrierOperatorSetTargetValue.put("OPEN", 0xFF);
+
+        // Reverse constants for BarrierOperatorSignalReportSubsystemType
+        reverseBarrierOperatorSignalReportSubsystemType.put("NOT_SUPPORTED", 0x00);
+        reverseBarrierOperatorSignalReportSubsystemType.put("AUDIBLE_NOTIFICATION", 0x01);
+        reverseBarrierOperatorSignalReportSubsystemType.put("VISUAL_NOTIFICATION", 0x02);
+
+        // Reverse constants for BarrierOperatorSignalGetSubsystemType
+        reverseBarrierOperatorSignalGetSubsystemType.put("NOT_SUPPORTED", 0x00);
+        reverseBarrierOperatorSignalGetSubsystemType.put("AUDIBLE_NOTIFICATION", 0x01);
+        reverseBarrierOperatorSignalGetSubsystemType.put("VISUAL_NOTIFICATION", 0x02);
+
+        // Reverse constants for BarrierOperatorSignalReportSubsystemState
+        reverseBarrierOperatorSignalReportSubsystemState.put("OFF", 0x00);
+        reverseBarrierOperatorSignalReportSubsystemState.put("ON", 0xFF);
+
+        // Reverse constants for BarrierOperatorReportState
+        reverseBarrierOperatorReportState.put("CLOSED", 0x00);
+        reverseBarrierOperatorReportState.put("CLOSING", 0xFC);
+        reverseBarrierOperatorReportState.put("STOPPED", 0xFD);
+        reverseBarrierOperatorReportState.put("OPENING", 0xFE);
+        reverseBarrierOperatorReportState.put("OPEN", 0xFF);
+
+        // Reverse constants for BarrierOperatorSignalSupportedReportBitMask
+        reverseBarrierOperatorSignalSupportedReportBitMask.put("NOT_SUPPORTED", 0x00);
+        reverseBarrierOperatorSignalSupportedReportBitMask.put("AUDIBLE_NOTIFICATION", 0x01);
+        reverseBarrierOperatorSignalSupportedReportBitMask.put("VISUAL_NOTIFICATION", 0x02);
+
+        // Reverse constants for BarrierOperatorSignalSetSubsystemType
+        reverseBarrierOperatorSignalSetSubsystemType.put("NOT_SUPPORTED", 0x00);
+        reverseBarrierOperatorSignalSetSubsystemType.put("AUDIBLE_NOTIFICATION", 0x01);
+        reverseBarrierOperatorSignalSetSubsystemType.put("VISUAL_NOTIFICATION", 0x02);
     }
 
     /**
@@ -167,26 +276,43 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorSet(String targetValue) {
+        byte[] outputData = new byte[BARRIER_OPERATOR_SET_LENGTH];
+        getBarrierOperatorSet(ByteBuffer.wrap(outputData), targetValue);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param targetValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>CLOSE
+     *            <li>OPEN
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getBarrierOperatorSet(ByteBuffer buffer, String targetValue) {
         logger.debug("Creating command message BARRIER_OPERATOR_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_SET);
+        if (buffer.remaining() < BARRIER_OPERATOR_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Target Value'
-        boolean foundTargetValue = false;
-        for (Integer entry : constantBarrierOperatorSetTargetValue.keySet()) {
-            if (constantBarrierOperatorSetTargetValue.get(entry).equals(targetValue)) {
-                outputData.write(entry);
-                foundTargetValue = true;
-                break;
-            }
-        }
-        if (!foundTargetValue) {
+        Integer varTargetValue = reverseBarrierOperatorSetTargetValue.get(targetValue);
+        if (varTargetValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + targetValue + "' for targetValue");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_SET);
+        buffer.put(varTargetValue.byteValue());
     }
 
     /**
@@ -228,13 +354,29 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorGet() {
+        byte[] outputData = new byte[BARRIER_OPERATOR_GET_LENGTH];
+        getBarrierOperatorGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getBarrierOperatorGet(ByteBuffer buffer) {
         logger.debug("Creating command message BARRIER_OPERATOR_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_GET);
+        if (buffer.remaining() < BARRIER_OPERATOR_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_GET);
     }
 
     /**
@@ -271,26 +413,46 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorReport(String state) {
+        byte[] outputData = new byte[BARRIER_OPERATOR_REPORT_LENGTH];
+        getBarrierOperatorReport(ByteBuffer.wrap(outputData), state);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param state {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OPENING
+     *            <li>CLOSED
+     *            <li>OPEN
+     *            <li>CLOSING
+     *            <li>STOPPED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getBarrierOperatorReport(ByteBuffer buffer, String state) {
         logger.debug("Creating command message BARRIER_OPERATOR_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_REPORT);
+        if (buffer.remaining() < BARRIER_OPERATOR_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'State'
-        boolean foundState = false;
-        for (Integer entry : constantBarrierOperatorReportState.keySet()) {
-            if (constantBarrierOperatorReportState.get(entry).equals(state)) {
-                outputData.write(entry);
-                foundState = true;
-                break;
-            }
-        }
-        if (!foundState) {
+        Integer varState = reverseBarrierOperatorReportState.get(state);
+        if (varState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + state + "' for state");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_REPORT);
+        buffer.put(varState.byteValue());
     }
 
     /**
@@ -335,13 +497,31 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorSignalSupportedGet() {
+        byte[] outputData = new byte[BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET_LENGTH];
+        getBarrierOperatorSignalSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getBarrierOperatorSignalSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET);
+        if (buffer.remaining() < BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_SIGNAL_SUPPORTED_GET);
     }
 
     /**
@@ -385,17 +565,11 @@ public class CommandClassBarrierOperatorV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantBarrierOperatorSignalSupportedReportBitMask.keySet()) {
-                if (constantBarrierOperatorSignalSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseBarrierOperatorSignalSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -464,39 +638,59 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorSignalSet(String subsystemType, String subsystemState) {
+        byte[] outputData = new byte[BARRIER_OPERATOR_SIGNAL_SET_LENGTH];
+        getBarrierOperatorSignalSet(ByteBuffer.wrap(outputData), subsystemType, subsystemState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_SIGNAL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_SIGNAL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param subsystemType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NOT_SUPPORTED
+     *            <li>AUDIBLE_NOTIFICATION
+     *            <li>VISUAL_NOTIFICATION
+     *            </ul>
+     * @param subsystemState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_SIGNAL_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getBarrierOperatorSignalSet(ByteBuffer buffer, String subsystemType, String subsystemState) {
         logger.debug("Creating command message BARRIER_OPERATOR_SIGNAL_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_SIGNAL_SET);
+        if (buffer.remaining() < BARRIER_OPERATOR_SIGNAL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Subsystem Type'
-        boolean foundSubsystemType = false;
-        for (Integer entry : constantBarrierOperatorSignalSetSubsystemType.keySet()) {
-            if (constantBarrierOperatorSignalSetSubsystemType.get(entry).equals(subsystemType)) {
-                outputData.write(entry);
-                foundSubsystemType = true;
-                break;
-            }
-        }
-        if (!foundSubsystemType) {
+        Integer varSubsystemType = reverseBarrierOperatorSignalSetSubsystemType.get(subsystemType);
+        if (varSubsystemType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + subsystemType + "' for subsystemType");
         }
 
         // Process 'Subsystem State'
-        boolean foundSubsystemState = false;
-        for (Integer entry : constantBarrierOperatorSignalSetSubsystemState.keySet()) {
-            if (constantBarrierOperatorSignalSetSubsystemState.get(entry).equals(subsystemState)) {
-                outputData.write(entry);
-                foundSubsystemState = true;
-                break;
-            }
-        }
-        if (!foundSubsystemState) {
+        Integer varSubsystemState = reverseBarrierOperatorSignalSetSubsystemState.get(subsystemState);
+        if (varSubsystemState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + subsystemState + "' for subsystemState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_SIGNAL_SET);
+        buffer.put(varSubsystemType.byteValue());
+        buffer.put(varSubsystemState.byteValue());
     }
 
     /**
@@ -557,26 +751,45 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorSignalGet(String subsystemType) {
+        byte[] outputData = new byte[BARRIER_OPERATOR_SIGNAL_GET_LENGTH];
+        getBarrierOperatorSignalGet(ByteBuffer.wrap(outputData), subsystemType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_SIGNAL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_SIGNAL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param subsystemType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NOT_SUPPORTED
+     *            <li>AUDIBLE_NOTIFICATION
+     *            <li>VISUAL_NOTIFICATION
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_SIGNAL_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getBarrierOperatorSignalGet(ByteBuffer buffer, String subsystemType) {
         logger.debug("Creating command message BARRIER_OPERATOR_SIGNAL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_SIGNAL_GET);
+        if (buffer.remaining() < BARRIER_OPERATOR_SIGNAL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Subsystem Type'
-        boolean foundSubsystemType = false;
-        for (Integer entry : constantBarrierOperatorSignalGetSubsystemType.keySet()) {
-            if (constantBarrierOperatorSignalGetSubsystemType.get(entry).equals(subsystemType)) {
-                outputData.write(entry);
-                foundSubsystemType = true;
-                break;
-            }
-        }
-        if (!foundSubsystemType) {
+        Integer varSubsystemType = reverseBarrierOperatorSignalGetSubsystemType.get(subsystemType);
+        if (varSubsystemType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + subsystemType + "' for subsystemType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_SIGNAL_GET);
+        buffer.put(varSubsystemType.byteValue());
     }
 
     /**
@@ -634,39 +847,59 @@ public class CommandClassBarrierOperatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBarrierOperatorSignalReport(String subsystemType, String subsystemState) {
+        byte[] outputData = new byte[BARRIER_OPERATOR_SIGNAL_REPORT_LENGTH];
+        getBarrierOperatorSignalReport(ByteBuffer.wrap(outputData), subsystemType, subsystemState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BARRIER_OPERATOR_SIGNAL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BARRIER_OPERATOR_SIGNAL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param subsystemType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NOT_SUPPORTED
+     *            <li>AUDIBLE_NOTIFICATION
+     *            <li>VISUAL_NOTIFICATION
+     *            </ul>
+     * @param subsystemState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #BARRIER_OPERATOR_SIGNAL_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getBarrierOperatorSignalReport(ByteBuffer buffer, String subsystemType, String subsystemState) {
         logger.debug("Creating command message BARRIER_OPERATOR_SIGNAL_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BARRIER_OPERATOR_SIGNAL_REPORT);
+        if (buffer.remaining() < BARRIER_OPERATOR_SIGNAL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Subsystem Type'
-        boolean foundSubsystemType = false;
-        for (Integer entry : constantBarrierOperatorSignalReportSubsystemType.keySet()) {
-            if (constantBarrierOperatorSignalReportSubsystemType.get(entry).equals(subsystemType)) {
-                outputData.write(entry);
-                foundSubsystemType = true;
-                break;
-            }
-        }
-        if (!foundSubsystemType) {
+        Integer varSubsystemType = reverseBarrierOperatorSignalReportSubsystemType.get(subsystemType);
+        if (varSubsystemType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + subsystemType + "' for subsystemType");
         }
 
         // Process 'Subsystem State'
-        boolean foundSubsystemState = false;
-        for (Integer entry : constantBarrierOperatorSignalReportSubsystemState.keySet()) {
-            if (constantBarrierOperatorSignalReportSubsystemState.get(entry).equals(subsystemState)) {
-                outputData.write(entry);
-                foundSubsystemState = true;
-                break;
-            }
-        }
-        if (!foundSubsystemState) {
+        Integer varSubsystemState = reverseBarrierOperatorSignalReportSubsystemState.get(subsystemState);
+        if (varSubsystemState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + subsystemState + "' for subsystemState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BARRIER_OPERATOR_SIGNAL_REPORT);
+        buffer.put(varSubsystemType.byteValue());
+        buffer.put(varSubsystemState.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassBasicTariffInfoV1 {
      * Basic Tariff Info Get Command Constant
      */
     public final static int BASIC_TARIFF_INFO_GET = 0x01;
+    /**
+     * Length of the encoded BASIC_TARIFF_INFO_GET command
+     */
+    public final static int BASIC_TARIFF_INFO_GET_LENGTH = 2;
     /**
      * Basic Tariff Info Report Command Constant
      */
@@ -63,13 +69,29 @@ public class CommandClassBasicTariffInfoV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBasicTariffInfoGet() {
+        byte[] outputData = new byte[BASIC_TARIFF_INFO_GET_LENGTH];
+        getBasicTariffInfoGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BASIC_TARIFF_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BASIC_TARIFF_INFO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BASIC_TARIFF_INFO_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getBasicTariffInfoGet(ByteBuffer buffer) {
         logger.debug("Creating command message BASIC_TARIFF_INFO_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BASIC_TARIFF_INFO_GET);
+        if (buffer.remaining() < BASIC_TARIFF_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BASIC_TARIFF_INFO_GET);
     }
 
     /**
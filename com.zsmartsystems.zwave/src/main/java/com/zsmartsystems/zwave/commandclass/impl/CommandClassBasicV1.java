@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +41,26 @@ public class CommandClassBasicV1 {
      * Basic Set Command Constant
      */
     public final static int BASIC_SET = 0x01;
+    /**
+     * Length of the encoded BASIC_SET command
+     */
+    public final static int BASIC_SET_LENGTH = 3;
     /**
      * Basic Get Command Constant
      */
     public final static int BASIC_GET = 0x02;
+    /**
+     * Length of the encoded BASIC_GET command
+     */
+    public final static int BASIC_GET_LENGTH = 2;
     /**
      * Basic Report Command Constant
      */
     public final static int BASIC_REPORT = 0x03;
+    /**
+     * Length of the encoded BASIC_REPORT command
+     */
+    public final static int BASIC_REPORT_LENGTH = 3;
 
 
     /**
@@ -59,16 +72,31 @@ public class CommandClassBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBasicSet(Integer value) {
-        logger.debug("Creating command message BASIC_SET version 1");
+        byte[] outputData = new byte[BASIC_SET_LENGTH];
+        getBasicSet(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BASIC_SET);
+    /**
+     * Writes a new message with the BASIC_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BASIC_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #BASIC_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getBasicSet(ByteBuffer buffer, Integer value) {
+        logger.debug("Creating command message BASIC_SET version 1");
 
-        // Process 'Value'
-        outputData.write(value);
+        if (buffer.remaining() < BASIC_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BASIC_SET);
+        buffer.put(value.byteValue());
     }
 
     /**
@@ -104,13 +132,29 @@ public class CommandClassBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBasicGet() {
+        byte[] outputData = new byte[BASIC_GET_LENGTH];
+        getBasicGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BASIC_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BASIC_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BASIC_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getBasicGet(ByteBuffer buffer) {
         logger.debug("Creating command message BASIC_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BASIC_GET);
+        if (buffer.remaining() < BASIC_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BASIC_GET);
     }
 
     /**
@@ -138,16 +182,31 @@ public class CommandClassBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBasicReport(Integer value) {
-        logger.debug("Creating command message BASIC_REPORT version 1");
+        byte[] outputData = new byte[BASIC_REPORT_LENGTH];
+        getBasicReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BASIC_REPORT);
+    /**
+     * Writes a new message with the BASIC_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BASIC_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #BASIC_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getBasicReport(ByteBuffer buffer, Integer value) {
+        logger.debug("Creating command message BASIC_REPORT version 1");
 
-        // Process 'Value'
-        outputData.write(value);
+        if (buffer.remaining() < BASIC_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BASIC_REPORT);
+        buffer.put(value.byteValue());
     }
 
     /**
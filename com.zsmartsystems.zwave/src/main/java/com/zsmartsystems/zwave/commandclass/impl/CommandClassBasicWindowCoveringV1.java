@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +41,18 @@ public class CommandClassBasicWindowCoveringV1 {
      * Basic Window Covering Start Level Change Command Constant
      */
     public final static int BASIC_WINDOW_COVERING_START_LEVEL_CHANGE = 0x01;
+    /**
+     * Length of the encoded BASIC_WINDOW_COVERING_START_LEVEL_CHANGE command
+     */
+    public final static int BASIC_WINDOW_COVERING_START_LEVEL_CHANGE_LENGTH = 3;
     /**
      * Basic Window Covering Stop Level Change Command Constant
      */
     public final static int BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE = 0x02;
+    /**
+     * Length of the encoded BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE command
+     */
+    public final static int BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH = 2;
 
     /**
      * Map holding constants for BasicWindowCoveringStartLevelChangeLevel
@@ -64,16 +73,33 @@ public class CommandClassBasicWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBasicWindowCoveringStartLevelChange(Boolean openClose) {
-        logger.debug("Creating command message BASIC_WINDOW_COVERING_START_LEVEL_CHANGE version 1");
+        byte[] outputData = new byte[BASIC_WINDOW_COVERING_START_LEVEL_CHANGE_LENGTH];
+        getBasicWindowCoveringStartLevelChange(ByteBuffer.wrap(outputData), openClose);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BASIC_WINDOW_COVERING_START_LEVEL_CHANGE);
+    /**
+     * Writes a new message with the BASIC_WINDOW_COVERING_START_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BASIC_WINDOW_COVERING_START_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param openClose {@link Boolean}
+     * @throws BufferOverflowException if fewer than {@link #BASIC_WINDOW_COVERING_START_LEVEL_CHANGE_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getBasicWindowCoveringStartLevelChange(ByteBuffer buffer, Boolean openClose) {
+        logger.debug("Creating command message BASIC_WINDOW_COVERING_START_LEVEL_CHANGE version 1");
 
-        // Process 'Level'
-        outputData.write(openClose ? 0x40 : 0);
+        if (buffer.remaining() < BASIC_WINDOW_COVERING_START_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BASIC_WINDOW_COVERING_START_LEVEL_CHANGE);
+        buffer.put((byte) (openClose ? 0x40 : 0));
     }
 
     /**
@@ -109,13 +135,31 @@ public class CommandClassBasicWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBasicWindowCoveringStopLevelChange() {
+        byte[] outputData = new byte[BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH];
+        getBasicWindowCoveringStopLevelChange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getBasicWindowCoveringStopLevelChange(ByteBuffer buffer) {
         logger.debug("Creating command message BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE);
+        if (buffer.remaining() < BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BASIC_WINDOW_COVERING_STOP_LEVEL_CHANGE);
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,19 +41,35 @@ public class CommandClassBatteryV1 {
      * Battery Get Command Constant
      */
     public final static int BATTERY_GET = 0x02;
+    /**
+     * Length of the encoded BATTERY_GET command
+     */
+    public final static int BATTERY_GET_LENGTH = 2;
     /**
      * Battery Report Command Constant
      */
     public final static int BATTERY_REPORT = 0x03;
+    /**
+     * Length of the encoded BATTERY_REPORT command
+     */
+    public final static int BATTERY_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for BatteryReportBatteryLevel
      */
     private static Map<Integer, String> constantBatteryReportBatteryLevel = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for BatteryReportBatteryLevel, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseBatteryReportBatteryLevel = new HashMap<String, Integer>();
+
     static {
         // Constants for BatteryReportBatteryLevel
         constantBatteryReportBatteryLevel.put(0xFF, "BATTERY_LOW_WARNING");
+
+        // Reverse constants for BatteryReportBatteryLevel
+        reverseBatteryReportBatteryLevel.put("BATTERY_LOW_WARNING", 0xFF);
     }
 
     /**
@@ -63,13 +80,29 @@ public class CommandClassBatteryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBatteryGet() {
+        byte[] outputData = new byte[BATTERY_GET_LENGTH];
+        getBatteryGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BATTERY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BATTERY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BATTERY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getBatteryGet(ByteBuffer buffer) {
         logger.debug("Creating command message BATTERY_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BATTERY_GET);
+        if (buffer.remaining() < BATTERY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BATTERY_GET);
     }
 
     /**
@@ -102,26 +135,42 @@ public class CommandClassBatteryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBatteryReport(String batteryLevel) {
+        byte[] outputData = new byte[BATTERY_REPORT_LENGTH];
+        getBatteryReport(ByteBuffer.wrap(outputData), batteryLevel);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BATTERY_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BATTERY_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param batteryLevel {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>BATTERY_LOW_WARNING
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #BATTERY_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getBatteryReport(ByteBuffer buffer, String batteryLevel) {
         logger.debug("Creating command message BATTERY_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BATTERY_REPORT);
+        if (buffer.remaining() < BATTERY_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Battery Level'
-        boolean foundBatteryLevel = false;
-        for (Integer entry : constantBatteryReportBatteryLevel.keySet()) {
-            if (constantBatteryReportBatteryLevel.get(entry).equals(batteryLevel)) {
-                outputData.write(entry);
-                foundBatteryLevel = true;
-                break;
-            }
-        }
-        if (!foundBatteryLevel) {
+        Integer varBatteryLevel = reverseBatteryReportBatteryLevel.get(batteryLevel);
+        if (varBatteryLevel == null) {
             throw new IllegalArgumentException("Unknown constant value '" + batteryLevel + "' for batteryLevel");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BATTERY_REPORT);
+        buffer.put(varBatteryLevel.byteValue());
     }
 
     /**
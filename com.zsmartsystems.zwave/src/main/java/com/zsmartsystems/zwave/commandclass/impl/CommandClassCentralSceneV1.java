@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +41,26 @@ public class CommandClassCentralSceneV1 {
      * Central Scene Supported Get Command Constant
      */
     public final static int CENTRAL_SCENE_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded CENTRAL_SCENE_SUPPORTED_GET command
+     */
+    public final static int CENTRAL_SCENE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Central Scene Supported Report Command Constant
      */
     public final static int CENTRAL_SCENE_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded CENTRAL_SCENE_SUPPORTED_REPORT command
+     */
+    public final static int CENTRAL_SCENE_SUPPORTED_REPORT_LENGTH = 3;
     /**
      * Central Scene Notification Command Constant
      */
     public final static int CENTRAL_SCENE_NOTIFICATION = 0x03;
+    /**
+     * Length of the encoded CENTRAL_SCENE_NOTIFICATION command
+     */
+    public final static int CENTRAL_SCENE_NOTIFICATION_LENGTH = 5;
 
 
     /**
@@ -58,13 +71,30 @@ public class CommandClassCentralSceneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneSupportedGet() {
+        byte[] outputData = new byte[CENTRAL_SCENE_SUPPORTED_GET_LENGTH];
+        getCentralSceneSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CENTRAL_SCENE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message CENTRAL_SCENE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_SUPPORTED_GET);
+        if (buffer.remaining() < CENTRAL_SCENE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_SUPPORTED_GET);
     }
 
     /**
@@ -92,16 +122,32 @@ public class CommandClassCentralSceneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneSupportedReport(Integer supportedScenes) {
-        logger.debug("Creating command message CENTRAL_SCENE_SUPPORTED_REPORT version 1");
+        byte[] outputData = new byte[CENTRAL_SCENE_SUPPORTED_REPORT_LENGTH];
+        getCentralSceneSupportedReport(ByteBuffer.wrap(outputData), supportedScenes);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_SUPPORTED_REPORT);
+    /**
+     * Writes a new message with the CENTRAL_SCENE_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedScenes {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_SUPPORTED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneSupportedReport(ByteBuffer buffer, Integer supportedScenes) {
+        logger.debug("Creating command message CENTRAL_SCENE_SUPPORTED_REPORT version 1");
 
-        // Process 'Supported Scenes'
-        outputData.write(supportedScenes);
+        if (buffer.remaining() < CENTRAL_SCENE_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_SUPPORTED_REPORT);
+        buffer.put(supportedScenes.byteValue());
     }
 
     /**
@@ -140,22 +186,37 @@ public class CommandClassCentralSceneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneNotification(Integer sequenceNumber, Integer keyAttributes, Integer sceneNumber) {
-        logger.debug("Creating command message CENTRAL_SCENE_NOTIFICATION version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_NOTIFICATION);
-
-        // Process 'Sequence Number'
-        outputData.write(sequenceNumber);
+        byte[] outputData = new byte[CENTRAL_SCENE_NOTIFICATION_LENGTH];
+        getCentralSceneNotification(ByteBuffer.wrap(outputData), sequenceNumber, keyAttributes, sceneNumber);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(keyAttributes & 0x07);
+    /**
+     * Writes a new message with the CENTRAL_SCENE_NOTIFICATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_NOTIFICATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sequenceNumber {@link Integer}
+     * @param keyAttributes {@link Integer}
+     * @param sceneNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_NOTIFICATION_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneNotification(ByteBuffer buffer, Integer sequenceNumber, Integer keyAttributes,
+            Integer sceneNumber) {
+        logger.debug("Creating command message CENTRAL_SCENE_NOTIFICATION version 1");
 
-        // Process 'Scene Number'
-        outputData.write(sceneNumber);
+        if (buffer.remaining() < CENTRAL_SCENE_NOTIFICATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_NOTIFICATION);
+        buffer.put(sequenceNumber.byteValue());
+        buffer.put((byte) (keyAttributes & 0x07));
+        buffer.put(sceneNumber.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassCentralSceneV2 {
      * Central Scene Supported Get Command Constant
      */
     public final static int CENTRAL_SCENE_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded CENTRAL_SCENE_SUPPORTED_GET command
+     */
+    public final static int CENTRAL_SCENE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Central Scene Supported Report Command Constant
      */
@@ -50,6 +56,10 @@ public class CommandClassCentralSceneV2 {
      * Central Scene Notification Command Constant
      */
     public final static int CENTRAL_SCENE_NOTIFICATION = 0x03;
+    /**
+     * Length of the encoded CENTRAL_SCENE_NOTIFICATION command
+     */
+    public final static int CENTRAL_SCENE_NOTIFICATION_LENGTH = 5;
 
     /**
      * Map holding constants for CentralSceneSupportedReportSupportedKeyAttributesForScene
@@ -66,6 +76,11 @@ public class CommandClassCentralSceneV2 {
      */
     private static Map<Integer, String> constantCentralSceneNotificationKeyAttributes = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for CentralSceneNotificationKeyAttributes, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseCentralSceneNotificationKeyAttributes = new HashMap<String, Integer>();
+
     static {
         // Constants for CentralSceneSupportedReportSupportedKeyAttributesForScene
         constantCentralSceneSupportedReportSupportedKeyAttributesForScene.put(0x00, "KEY_PRESSED_1_TIME");
@@ -87,6 +102,15 @@ public class CommandClassCentralSceneV2 {
         constantCentralSceneNotificationKeyAttributes.put(0x04, "KEY_PRESSED_3_TIMES");
         constantCentralSceneNotificationKeyAttributes.put(0x05, "KEY_PRESSED_4_TIMES");
         constantCentralSceneNotificationKeyAttributes.put(0x06, "KEY_PRESSED_5_TIMES");
+
+        // Reverse constants for CentralSceneNotificationKeyAttributes
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_1_TIME", 0x00);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_RELEASED", 0x01);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_HELD_DOWN", 0x02);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_2_TIMES", 0x03);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_3_TIMES", 0x04);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_4_TIMES", 0x05);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_5_TIMES", 0x06);
     }
 
     /**
@@ -97,13 +121,30 @@ public class CommandClassCentralSceneV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneSupportedGet() {
+        byte[] outputData = new byte[CENTRAL_SCENE_SUPPORTED_GET_LENGTH];
+        getCentralSceneSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CENTRAL_SCENE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message CENTRAL_SCENE_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_SUPPORTED_GET);
+        if (buffer.remaining() < CENTRAL_SCENE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_SUPPORTED_GET);
     }
 
     /**
@@ -238,32 +279,54 @@ public class CommandClassCentralSceneV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneNotification(Integer sequenceNumber, String keyAttributes, Integer sceneNumber) {
-        logger.debug("Creating command message CENTRAL_SCENE_NOTIFICATION version 2");
+        byte[] outputData = new byte[CENTRAL_SCENE_NOTIFICATION_LENGTH];
+        getCentralSceneNotification(ByteBuffer.wrap(outputData), sequenceNumber, keyAttributes, sceneNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_NOTIFICATION);
+    /**
+     * Writes a new message with the CENTRAL_SCENE_NOTIFICATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_NOTIFICATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sequenceNumber {@link Integer}
+     * @param keyAttributes {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>KEY_PRESSED_1_TIME
+     *            <li>KEY_RELEASED
+     *            <li>KEY_HELD_DOWN
+     *            <li>KEY_PRESSED_2_TIMES
+     *            <li>KEY_PRESSED_3_TIMES
+     *            <li>KEY_PRESSED_4_TIMES
+     *            <li>KEY_PRESSED_5_TIMES
+     *            </ul>
+     * @param sceneNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_NOTIFICATION_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneNotification(ByteBuffer buffer, Integer sequenceNumber, String keyAttributes,
+            Integer sceneNumber) {
+        logger.debug("Creating command message CENTRAL_SCENE_NOTIFICATION version 2");
 
-        // Process 'Sequence Number'
-        outputData.write(sequenceNumber);
+        if (buffer.remaining() < CENTRAL_SCENE_NOTIFICATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varKeyAttributes = Integer.MAX_VALUE;
-        for (Integer entry : constantCentralSceneNotificationKeyAttributes.keySet()) {
-            if (constantCentralSceneNotificationKeyAttributes.get(entry).equals(keyAttributes)) {
-                varKeyAttributes = entry;
-                break;
-            }
-        }
-        if (varKeyAttributes == Integer.MAX_VALUE) {
+        Integer varKeyAttributes = reverseCentralSceneNotificationKeyAttributes.get(keyAttributes);
+        if (varKeyAttributes == null) {
             throw new IllegalArgumentException("Unknown constant value '" + keyAttributes + "' for keyAttributes");
         }
-        outputData.write(varKeyAttributes & 0x07);
 
-        // Process 'Scene Number'
-        outputData.write(sceneNumber);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_NOTIFICATION);
+        buffer.put(sequenceNumber.byteValue());
+        buffer.put((byte) (varKeyAttributes & 0x07));
+        buffer.put(sceneNumber.byteValue());
     }
 
     /**
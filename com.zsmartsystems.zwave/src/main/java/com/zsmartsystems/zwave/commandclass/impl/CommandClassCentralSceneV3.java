@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassCentralSceneV3 {
      * Central Scene Supported Get Command Constant
      */
     public final static int CENTRAL_SCENE_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded CENTRAL_SCENE_SUPPORTED_GET command
+     */
+    public final static int CENTRAL_SCENE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Central Scene Supported Report Command Constant
      */
@@ -54,14 +60,26 @@ public class CommandClassCentralSceneV3 {
      * Central Scene Configuration Set Command Constant
      */
     public final static int CENTRAL_SCENE_CONFIGURATION_SET = 0x04;
+    /**
+     * Length of the encoded CENTRAL_SCENE_CONFIGURATION_SET command
+     */
+    public final static int CENTRAL_SCENE_CONFIGURATION_SET_LENGTH = 3;
     /**
      * Central Scene Configuration Get Command Constant
      */
     public final static int CENTRAL_SCENE_CONFIGURATION_GET = 0x05;
+    /**
+     * Length of the encoded CENTRAL_SCENE_CONFIGURATION_GET command
+     */
+    public final static int CENTRAL_SCENE_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Central Scene Configuration Report Command Constant
      */
     public final static int CENTRAL_SCENE_CONFIGURATION_REPORT = 0x06;
+    /**
+     * Length of the encoded CENTRAL_SCENE_CONFIGURATION_REPORT command
+     */
+    public final static int CENTRAL_SCENE_CONFIGURATION_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for CentralSceneConfigurationSetProperties1
@@ -93,6 +111,11 @@ public class CommandClassCentralSceneV3 {
      */
     private static Map<Integer, String> constantCentralSceneNotificationKeyAttributes = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for CentralSceneNotificationKeyAttributes, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseCentralSceneNotificationKeyAttributes = new HashMap<String, Integer>();
+
     static {
         // Constants for CentralSceneConfigurationSetProperties1
         constantCentralSceneConfigurationSetProperties1.put(0x80, "SLOW_REFRESH");
@@ -124,6 +147,15 @@ public class CommandClassCentralSceneV3 {
         constantCentralSceneNotificationKeyAttributes.put(0x04, "KEY_PRESSED_3_TIMES");
         constantCentralSceneNotificationKeyAttributes.put(0x05, "KEY_PRESSED_4_TIMES");
         constantCentralSceneNotificationKeyAttributes.put(0x06, "KEY_PRESSED_5_TIMES");
+
+        // Reverse constants for CentralSceneNotificationKeyAttributes
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_1_TIME", 0x00);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_RELEASED", 0x01);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_HELD_DOWN", 0x02);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_2_TIMES", 0x03);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_3_TIMES", 0x04);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_4_TIMES", 0x05);
+        reverseCentralSceneNotificationKeyAttributes.put("KEY_PRESSED_5_TIMES", 0x06);
     }
 
     /**
@@ -134,13 +166,30 @@ public class CommandClassCentralSceneV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneSupportedGet() {
+        byte[] outputData = new byte[CENTRAL_SCENE_SUPPORTED_GET_LENGTH];
+        getCentralSceneSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CENTRAL_SCENE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message CENTRAL_SCENE_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_SUPPORTED_GET);
+        if (buffer.remaining() < CENTRAL_SCENE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_SUPPORTED_GET);
     }
 
     /**
@@ -292,14 +341,8 @@ public class CommandClassCentralSceneV3 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varKeyAttributes = Integer.MAX_VALUE;
-        for (Integer entry : constantCentralSceneNotificationKeyAttributes.keySet()) {
-            if (constantCentralSceneNotificationKeyAttributes.get(entry).equals(keyAttributes)) {
-                varKeyAttributes = entry;
-                break;
-            }
-        }
-        if (varKeyAttributes == Integer.MAX_VALUE) {
+        Integer varKeyAttributes = reverseCentralSceneNotificationKeyAttributes.get(keyAttributes);
+        if (varKeyAttributes == null) {
             throw new IllegalArgumentException("Unknown constant value '" + keyAttributes + "' for keyAttributes");
         }
         valProperties1 |= varKeyAttributes & 0x07;
@@ -367,16 +410,32 @@ public class CommandClassCentralSceneV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneConfigurationSet(Boolean slowRefresh) {
-        logger.debug("Creating command message CENTRAL_SCENE_CONFIGURATION_SET version 3");
+        byte[] outputData = new byte[CENTRAL_SCENE_CONFIGURATION_SET_LENGTH];
+        getCentralSceneConfigurationSet(ByteBuffer.wrap(outputData), slowRefresh);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_CONFIGURATION_SET);
+    /**
+     * Writes a new message with the CENTRAL_SCENE_CONFIGURATION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_CONFIGURATION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param slowRefresh {@link Boolean}
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_CONFIGURATION_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneConfigurationSet(ByteBuffer buffer, Boolean slowRefresh) {
+        logger.debug("Creating command message CENTRAL_SCENE_CONFIGURATION_SET version 3");
 
-        // Process 'Properties1'
-        outputData.write(slowRefresh ? 0x80 : 0);
+        if (buffer.remaining() < CENTRAL_SCENE_CONFIGURATION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_CONFIGURATION_SET);
+        buffer.put((byte) (slowRefresh ? 0x80 : 0));
     }
 
     /**
@@ -412,13 +471,30 @@ public class CommandClassCentralSceneV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneConfigurationGet() {
+        byte[] outputData = new byte[CENTRAL_SCENE_CONFIGURATION_GET_LENGTH];
+        getCentralSceneConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CENTRAL_SCENE_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_CONFIGURATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCentralSceneConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message CENTRAL_SCENE_CONFIGURATION_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_CONFIGURATION_GET);
+        if (buffer.remaining() < CENTRAL_SCENE_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_CONFIGURATION_GET);
     }
 
     /**
@@ -446,16 +522,33 @@ public class CommandClassCentralSceneV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCentralSceneConfigurationReport(Boolean slowRefresh) {
-        logger.debug("Creating command message CENTRAL_SCENE_CONFIGURATION_REPORT version 3");
+        byte[] outputData = new byte[CENTRAL_SCENE_CONFIGURATION_REPORT_LENGTH];
+        getCentralSceneConfigurationReport(ByteBuffer.wrap(outputData), slowRefresh);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CENTRAL_SCENE_CONFIGURATION_REPORT);
+    /**
+     * Writes a new message with the CENTRAL_SCENE_CONFIGURATION_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CENTRAL_SCENE_CONFIGURATION_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param slowRefresh {@link Boolean}
+     * @throws BufferOverflowException if fewer than {@link #CENTRAL_SCENE_CONFIGURATION_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getCentralSceneConfigurationReport(ByteBuffer buffer, Boolean slowRefresh) {
+        logger.debug("Creating command message CENTRAL_SCENE_CONFIGURATION_REPORT version 3");
 
-        // Process 'Properties1'
-        outputData.write(slowRefresh ? 0x80 : 0);
+        if (buffer.remaining() < CENTRAL_SCENE_CONFIGURATION_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CENTRAL_SCENE_CONFIGURATION_REPORT);
+        buffer.put((byte) (slowRefresh ? 0x80 : 0));
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,26 +43,50 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan State Set Command Constant
      */
     public final static int CHIMNEY_FAN_STATE_SET = 0x01;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STATE_SET command
+     */
+    public final static int CHIMNEY_FAN_STATE_SET_LENGTH = 3;
     /**
      * Chimney Fan State Get Command Constant
      */
     public final static int CHIMNEY_FAN_STATE_GET = 0x02;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STATE_GET command
+     */
+    public final static int CHIMNEY_FAN_STATE_GET_LENGTH = 2;
     /**
      * Chimney Fan State Report Command Constant
      */
     public final static int CHIMNEY_FAN_STATE_REPORT = 0x03;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STATE_REPORT command
+     */
+    public final static int CHIMNEY_FAN_STATE_REPORT_LENGTH = 3;
     /**
      * Chimney Fan Speed Set Command Constant
      */
     public final static int CHIMNEY_FAN_SPEED_SET = 0x04;
+    /**
+     * Length of the encoded CHIMNEY_FAN_SPEED_SET command
+     */
+    public final static int CHIMNEY_FAN_SPEED_SET_LENGTH = 3;
     /**
      * Chimney Fan Speed Get Command Constant
      */
     public final static int CHIMNEY_FAN_SPEED_GET = 0x05;
+    /**
+     * Length of the encoded CHIMNEY_FAN_SPEED_GET command
+     */
+    public final static int CHIMNEY_FAN_SPEED_GET_LENGTH = 2;
     /**
      * Chimney Fan Speed Report Command Constant
      */
     public final static int CHIMNEY_FAN_SPEED_REPORT = 0x06;
+    /**
+     * Length of the encoded CHIMNEY_FAN_SPEED_REPORT command
+     */
+    public final static int CHIMNEY_FAN_SPEED_REPORT_LENGTH = 3;
     /**
      * Chimney Fan Start Temp Set Command Constant
      */
@@ -69,6 +95,10 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Start Temp Get Command Constant
      */
     public final static int CHIMNEY_FAN_START_TEMP_GET = 0x08;
+    /**
+     * Length of the encoded CHIMNEY_FAN_START_TEMP_GET command
+     */
+    public final static int CHIMNEY_FAN_START_TEMP_GET_LENGTH = 2;
     /**
      * Chimney Fan Start Temp Report Command Constant
      */
@@ -81,6 +111,10 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Stop Temp Get Command Constant
      */
     public final static int CHIMNEY_FAN_STOP_TEMP_GET = 0x0B;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STOP_TEMP_GET command
+     */
+    public final static int CHIMNEY_FAN_STOP_TEMP_GET_LENGTH = 2;
     /**
      * Chimney Fan Stop Temp Report Command Constant
      */
@@ -93,6 +127,10 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Alarm Temp Get Command Constant
      */
     public final static int CHIMNEY_FAN_ALARM_TEMP_GET = 0x0E;
+    /**
+     * Length of the encoded CHIMNEY_FAN_ALARM_TEMP_GET command
+     */
+    public final static int CHIMNEY_FAN_ALARM_TEMP_GET_LENGTH = 2;
     /**
      * Chimney Fan Alarm Temp Report Command Constant
      */
@@ -101,38 +139,74 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Boost Time Set Command Constant
      */
     public final static int CHIMNEY_FAN_BOOST_TIME_SET = 0x10;
+    /**
+     * Length of the encoded CHIMNEY_FAN_BOOST_TIME_SET command
+     */
+    public final static int CHIMNEY_FAN_BOOST_TIME_SET_LENGTH = 3;
     /**
      * Chimney Fan Boost Time Get Command Constant
      */
     public final static int CHIMNEY_FAN_BOOST_TIME_GET = 0x11;
+    /**
+     * Length of the encoded CHIMNEY_FAN_BOOST_TIME_GET command
+     */
+    public final static int CHIMNEY_FAN_BOOST_TIME_GET_LENGTH = 2;
     /**
      * Chimney Fan Boost Time Report Command Constant
      */
     public final static int CHIMNEY_FAN_BOOST_TIME_REPORT = 0x12;
+    /**
+     * Length of the encoded CHIMNEY_FAN_BOOST_TIME_REPORT command
+     */
+    public final static int CHIMNEY_FAN_BOOST_TIME_REPORT_LENGTH = 3;
     /**
      * Chimney Fan Stop Time Set Command Constant
      */
     public final static int CHIMNEY_FAN_STOP_TIME_SET = 0x13;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STOP_TIME_SET command
+     */
+    public final static int CHIMNEY_FAN_STOP_TIME_SET_LENGTH = 3;
     /**
      * Chimney Fan Stop Time Get Command Constant
      */
     public final static int CHIMNEY_FAN_STOP_TIME_GET = 0x14;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STOP_TIME_GET command
+     */
+    public final static int CHIMNEY_FAN_STOP_TIME_GET_LENGTH = 2;
     /**
      * Chimney Fan Stop Time Report Command Constant
      */
     public final static int CHIMNEY_FAN_STOP_TIME_REPORT = 0x15;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STOP_TIME_REPORT command
+     */
+    public final static int CHIMNEY_FAN_STOP_TIME_REPORT_LENGTH = 3;
     /**
      * Chimney Fan Mode Set Command Constant
      */
     public final static int CHIMNEY_FAN_MODE_SET = 0x16;
+    /**
+     * Length of the encoded CHIMNEY_FAN_MODE_SET command
+     */
+    public final static int CHIMNEY_FAN_MODE_SET_LENGTH = 3;
     /**
      * Chimney Fan Mode Get Command Constant
      */
     public final static int CHIMNEY_FAN_MODE_GET = 0x17;
+    /**
+     * Length of the encoded CHIMNEY_FAN_MODE_GET command
+     */
+    public final static int CHIMNEY_FAN_MODE_GET_LENGTH = 2;
     /**
      * Chimney Fan Mode Report Command Constant
      */
     public final static int CHIMNEY_FAN_MODE_REPORT = 0x18;
+    /**
+     * Length of the encoded CHIMNEY_FAN_MODE_REPORT command
+     */
+    public final static int CHIMNEY_FAN_MODE_REPORT_LENGTH = 3;
     /**
      * Chimney Fan Setup Set Command Constant
      */
@@ -141,6 +215,10 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Setup Get Command Constant
      */
     public final static int CHIMNEY_FAN_SETUP_GET = 0x1A;
+    /**
+     * Length of the encoded CHIMNEY_FAN_SETUP_GET command
+     */
+    public final static int CHIMNEY_FAN_SETUP_GET_LENGTH = 2;
     /**
      * Chimney Fan Setup Report Command Constant
      */
@@ -149,6 +227,10 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Status Get Command Constant
      */
     public final static int CHIMNEY_FAN_STATUS_GET = 0x1D;
+    /**
+     * Length of the encoded CHIMNEY_FAN_STATUS_GET command
+     */
+    public final static int CHIMNEY_FAN_STATUS_GET_LENGTH = 2;
     /**
      * Chimney Fan Status Report Command Constant
      */
@@ -157,10 +239,18 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Alarm Log Set Command Constant
      */
     public final static int CHIMNEY_FAN_ALARM_LOG_SET = 0x1F;
+    /**
+     * Length of the encoded CHIMNEY_FAN_ALARM_LOG_SET command
+     */
+    public final static int CHIMNEY_FAN_ALARM_LOG_SET_LENGTH = 3;
     /**
      * Chimney Fan Alarm Log Get Command Constant
      */
     public final static int CHIMNEY_FAN_ALARM_LOG_GET = 0x20;
+    /**
+     * Length of the encoded CHIMNEY_FAN_ALARM_LOG_GET command
+     */
+    public final static int CHIMNEY_FAN_ALARM_LOG_GET_LENGTH = 2;
     /**
      * Chimney Fan Alarm Log Report Command Constant
      */
@@ -173,6 +263,10 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Alarm Status Get Command Constant
      */
     public final static int CHIMNEY_FAN_ALARM_STATUS_GET = 0x23;
+    /**
+     * Length of the encoded CHIMNEY_FAN_ALARM_STATUS_GET command
+     */
+    public final static int CHIMNEY_FAN_ALARM_STATUS_GET_LENGTH = 2;
     /**
      * Chimney Fan Alarm Status Report Command Constant
      */
@@ -181,49 +275,95 @@ public class CommandClassChimneyFanV1 {
      * Chimney Fan Min Speed Set Command Constant
      */
     public final static int CHIMNEY_FAN_MIN_SPEED_SET = 0x25;
+    /**
+     * Length of the encoded CHIMNEY_FAN_MIN_SPEED_SET command
+     */
+    public final static int CHIMNEY_FAN_MIN_SPEED_SET_LENGTH = 3;
     /**
      * Chimney Fan Min Speed Get Command Constant
      */
     public final static int CHIMNEY_FAN_MIN_SPEED_GET = 0x26;
+    /**
+     * Length of the encoded CHIMNEY_FAN_MIN_SPEED_GET command
+     */
+    public final static int CHIMNEY_FAN_MIN_SPEED_GET_LENGTH = 2;
     /**
      * Chimney Fan Min Speed Report Command Constant
      */
     public final static int CHIMNEY_FAN_MIN_SPEED_REPORT = 0x27;
+    /**
+     * Length of the encoded CHIMNEY_FAN_MIN_SPEED_REPORT command
+     */
+    public final static int CHIMNEY_FAN_MIN_SPEED_REPORT_LENGTH = 3;
     /**
      * Chimney Fan Default Set Command Constant
      */
     public final static int CHIMNEY_FAN_DEFAULT_SET = 0x28;
+    /**
+     * Length of the encoded CHIMNEY_FAN_DEFAULT_SET command
+     */
+    public final static int CHIMNEY_FAN_DEFAULT_SET_LENGTH = 2;
 
     /**
      * Map holding constants for ChimneyFanStatusReportState
      */
     private static Map<Integer, String> constantChimneyFanStatusReportState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanStatusReportState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanStatusReportState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanAlarmLogSetMessage
      */
     private static Map<Integer, String> constantChimneyFanAlarmLogSetMessage = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanAlarmLogSetMessage, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanAlarmLogSetMessage = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanStateReportState
      */
     private static Map<Integer, String> constantChimneyFanStateReportState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanStateReportState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanStateReportState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanSetupSetMode
      */
     private static Map<Integer, String> constantChimneyFanSetupSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanSetupSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanSetupSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanStateSetState
      */
     private static Map<Integer, String> constantChimneyFanStateSetState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanStateSetState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanStateSetState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanModeSetMode
      */
     private static Map<Integer, String> constantChimneyFanModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanAlarmStatusSetMessage
      */
@@ -234,6 +374,11 @@ public class CommandClassChimneyFanV1 {
      */
     private static Map<Integer, String> constantChimneyFanModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanModeReportMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanAlarmStatusReportAlarmStatus
      */
@@ -274,11 +419,21 @@ public class CommandClassChimneyFanV1 {
      */
     private static Map<Integer, String> constantChimneyFanSpeedSetSpeed = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanSpeedSetSpeed, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanSpeedSetSpeed = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ChimneyFanSetupReportMode
      */
     private static Map<Integer, String> constantChimneyFanSetupReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ChimneyFanSetupReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseChimneyFanSetupReportMode = new HashMap<String, Integer>();
+
     static {
         // Constants for ChimneyFanStatusReportState
         constantChimneyFanStatusReportState.put(0x00, "OFF");
@@ -382,6 +537,58 @@ public class CommandClassChimneyFanV1 {
         // Constants for ChimneyFanSetupReportMode
         constantChimneyFanSetupReportMode.put(0x00, "OFF");
         constantChimneyFanSetupReportMode.put(0xFF, "ON");
+
+        // Reverse constants for ChimneyFanStatusReportState
+        reverseChimneyFanStatusReportState.put("OFF", 0x00);
+        reverseChimneyFanStatusReportState.put("BOOST", 0x01);
+        reverseChimneyFanStatusReportState.put("EXHAUST", 0x02);
+        reverseChimneyFanStatusReportState.put("RELOAD", 0x03);
+        reverseChimneyFanStatusReportState.put("VENTING", 0x04);
+        reverseChimneyFanStatusReportState.put("STOP", 0x05);
+        reverseChimneyFanStatusReportState.put("VENTING_EX", 0x06);
+        reverseChimneyFanStatusReportState.put("SERVICE", 0x07);
+        reverseChimneyFanStatusReportState.put("SENSOR_FAILURE", 0x08);
+        reverseChimneyFanStatusReportState.put("CHIMNEY_FIRE", 0x09);
+        reverseChimneyFanStatusReportState.put("EXTERNAL_ALARM", 0x0A);
+
+        // Reverse constants for ChimneyFanAlarmLogSetMessage
+        reverseChimneyFanAlarmLogSetMessage.put("RESET_LOG", 0x08);
+
+        // Reverse constants for ChimneyFanStateReportState
+        reverseChimneyFanStateReportState.put("OFF", 0x00);
+        reverseChimneyFanStateReportState.put("BOOST", 0x01);
+        reverseChimneyFanStateReportState.put("EXHAUST", 0x02);
+        reverseChimneyFanStateReportState.put("RELOAD", 0x03);
+        reverseChimneyFanStateReportState.put("VENTING", 0x04);
+        reverseChimneyFanStateReportState.put("STOP", 0x05);
+        reverseChimneyFanStateReportState.put("VENTING_EX", 0x06);
+        reverseChimneyFanStateReportState.put("SERVICE", 0x07);
+        reverseChimneyFanStateReportState.put("SENSOR_FAILURE", 0x08);
+        reverseChimneyFanStateReportState.put("CHIMNEY_FIRE", 0x09);
+        reverseChimneyFanStateReportState.put("EXTERNAL_ALARM", 0x0A);
+
+        // Reverse constants for ChimneyFanSetupSetMode
+        reverseChimneyFanSetupSetMode.put("OFF", 0x00);
+        reverseChimneyFanSetupSetMode.put("ON", 0xFF);
+
+        // Reverse constants for ChimneyFanStateSetState
+        reverseChimneyFanStateSetState.put("NEXT_STATE", 0x01);
+
+        // Reverse constants for ChimneyFanModeSetMode
+        reverseChimneyFanModeSetMode.put("OFF", 0x00);
+        reverseChimneyFanModeSetMode.put("ON", 0xFF);
+
+        // Reverse constants for ChimneyFanModeReportMode
+        reverseChimneyFanModeReportMode.put("OFF", 0x00);
+        reverseChimneyFanModeReportMode.put("ON", 0xFF);
+
+        // Reverse constants for ChimneyFanSpeedSetSpeed
+        reverseChimneyFanSpeedSetSpeed.put("SPEED_DOWN", 0x65);
+        reverseChimneyFanSpeedSetSpeed.put("SPEED_UP", 0xC8);
+
+        // Reverse constants for ChimneyFanSetupReportMode
+        reverseChimneyFanSetupReportMode.put("OFF", 0x00);
+        reverseChimneyFanSetupReportMode.put("ON", 0xFF);
     }
 
     /**
@@ -398,26 +605,42 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStateSet(String state) {
+        byte[] outputData = new byte[CHIMNEY_FAN_STATE_SET_LENGTH];
+        getChimneyFanStateSet(ByteBuffer.wrap(outputData), state);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STATE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STATE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param state {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NEXT_STATE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STATE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanStateSet(ByteBuffer buffer, String state) {
         logger.debug("Creating command message CHIMNEY_FAN_STATE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STATE_SET);
+        if (buffer.remaining() < CHIMNEY_FAN_STATE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'State'
-        boolean foundState = false;
-        for (Integer entry : constantChimneyFanStateSetState.keySet()) {
-            if (constantChimneyFanStateSetState.get(entry).equals(state)) {
-                outputData.write(entry);
-                foundState = true;
-                break;
-            }
-        }
-        if (!foundState) {
+        Integer varState = reverseChimneyFanStateSetState.get(state);
+        if (varState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + state + "' for state");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STATE_SET);
+        buffer.put(varState.byteValue());
     }
 
     /**
@@ -458,13 +681,29 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStateGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_STATE_GET_LENGTH];
+        getChimneyFanStateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanStateGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_STATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STATE_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STATE_GET);
     }
 
     /**
@@ -507,26 +746,52 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStateReport(String state) {
+        byte[] outputData = new byte[CHIMNEY_FAN_STATE_REPORT_LENGTH];
+        getChimneyFanStateReport(ByteBuffer.wrap(outputData), state);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STATE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param state {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>BOOST
+     *            <li>EXHAUST
+     *            <li>RELOAD
+     *            <li>VENTING
+     *            <li>STOP
+     *            <li>VENTING_EX
+     *            <li>SERVICE
+     *            <li>SENSOR_FAILURE
+     *            <li>CHIMNEY_FIRE
+     *            <li>EXTERNAL_ALARM
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STATE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanStateReport(ByteBuffer buffer, String state) {
         logger.debug("Creating command message CHIMNEY_FAN_STATE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STATE_REPORT);
+        if (buffer.remaining() < CHIMNEY_FAN_STATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'State'
-        boolean foundState = false;
-        for (Integer entry : constantChimneyFanStateReportState.keySet()) {
-            if (constantChimneyFanStateReportState.get(entry).equals(state)) {
-                outputData.write(entry);
-                foundState = true;
-                break;
-            }
-        }
-        if (!foundState) {
+        Integer varState = reverseChimneyFanStateReportState.get(state);
+        if (varState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + state + "' for state");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STATE_REPORT);
+        buffer.put(varState.byteValue());
     }
 
     /**
@@ -584,26 +849,43 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanSpeedSet(String speed) {
+        byte[] outputData = new byte[CHIMNEY_FAN_SPEED_SET_LENGTH];
+        getChimneyFanSpeedSet(ByteBuffer.wrap(outputData), speed);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_SPEED_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_SPEED_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param speed {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SPEED_DOWN
+     *            <li>SPEED_UP
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_SPEED_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanSpeedSet(ByteBuffer buffer, String speed) {
         logger.debug("Creating command message CHIMNEY_FAN_SPEED_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_SPEED_SET);
+        if (buffer.remaining() < CHIMNEY_FAN_SPEED_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Speed'
-        boolean foundSpeed = false;
-        for (Integer entry : constantChimneyFanSpeedSetSpeed.keySet()) {
-            if (constantChimneyFanSpeedSetSpeed.get(entry).equals(speed)) {
-                outputData.write(entry);
-                foundSpeed = true;
-                break;
-            }
-        }
-        if (!foundSpeed) {
+        Integer varSpeed = reverseChimneyFanSpeedSetSpeed.get(speed);
+        if (varSpeed == null) {
             throw new IllegalArgumentException("Unknown constant value '" + speed + "' for speed");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_SPEED_SET);
+        buffer.put(varSpeed.byteValue());
     }
 
     /**
@@ -645,13 +927,29 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanSpeedGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_SPEED_GET_LENGTH];
+        getChimneyFanSpeedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_SPEED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_SPEED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_SPEED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanSpeedGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_SPEED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_SPEED_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_SPEED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_SPEED_GET);
     }
 
     /**
@@ -679,16 +977,31 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanSpeedReport(Integer speed) {
-        logger.debug("Creating command message CHIMNEY_FAN_SPEED_REPORT version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_SPEED_REPORT_LENGTH];
+        getChimneyFanSpeedReport(ByteBuffer.wrap(outputData), speed);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_SPEED_REPORT);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_SPEED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_SPEED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param speed {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_SPEED_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanSpeedReport(ByteBuffer buffer, Integer speed) {
+        logger.debug("Creating command message CHIMNEY_FAN_SPEED_REPORT version 1");
 
-        // Process 'Speed'
-        outputData.write(speed);
+        if (buffer.remaining() < CHIMNEY_FAN_SPEED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_SPEED_REPORT);
+        buffer.put(speed.byteValue());
     }
 
     /**
@@ -799,13 +1112,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStartTempGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_START_TEMP_GET_LENGTH];
+        getChimneyFanStartTempGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_START_TEMP_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_START_TEMP_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_START_TEMP_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanStartTempGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_START_TEMP_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_START_TEMP_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_START_TEMP_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_START_TEMP_GET);
     }
 
     /**
@@ -982,13 +1312,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStopTempGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_STOP_TEMP_GET_LENGTH];
+        getChimneyFanStopTempGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STOP_TEMP_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STOP_TEMP_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STOP_TEMP_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanStopTempGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_STOP_TEMP_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STOP_TEMP_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_STOP_TEMP_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STOP_TEMP_GET);
     }
 
     /**
@@ -1165,13 +1512,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanAlarmTempGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_ALARM_TEMP_GET_LENGTH];
+        getChimneyFanAlarmTempGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_ALARM_TEMP_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_ALARM_TEMP_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_ALARM_TEMP_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanAlarmTempGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_ALARM_TEMP_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_ALARM_TEMP_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_ALARM_TEMP_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_ALARM_TEMP_GET);
     }
 
     /**
@@ -1274,16 +1638,32 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanBoostTimeSet(Integer time) {
-        logger.debug("Creating command message CHIMNEY_FAN_BOOST_TIME_SET version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_BOOST_TIME_SET_LENGTH];
+        getChimneyFanBoostTimeSet(ByteBuffer.wrap(outputData), time);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_BOOST_TIME_SET);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_BOOST_TIME_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_BOOST_TIME_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param time {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_BOOST_TIME_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanBoostTimeSet(ByteBuffer buffer, Integer time) {
+        logger.debug("Creating command message CHIMNEY_FAN_BOOST_TIME_SET version 1");
 
-        // Process 'Time'
-        outputData.write(time);
+        if (buffer.remaining() < CHIMNEY_FAN_BOOST_TIME_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_BOOST_TIME_SET);
+        buffer.put(time.byteValue());
     }
 
     /**
@@ -1319,13 +1699,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanBoostTimeGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_BOOST_TIME_GET_LENGTH];
+        getChimneyFanBoostTimeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_BOOST_TIME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_BOOST_TIME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_BOOST_TIME_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanBoostTimeGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_BOOST_TIME_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_BOOST_TIME_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_BOOST_TIME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_BOOST_TIME_GET);
     }
 
     /**
@@ -1353,16 +1750,32 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanBoostTimeReport(Integer time) {
-        logger.debug("Creating command message CHIMNEY_FAN_BOOST_TIME_REPORT version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_BOOST_TIME_REPORT_LENGTH];
+        getChimneyFanBoostTimeReport(ByteBuffer.wrap(outputData), time);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_BOOST_TIME_REPORT);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_BOOST_TIME_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_BOOST_TIME_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param time {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_BOOST_TIME_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanBoostTimeReport(ByteBuffer buffer, Integer time) {
+        logger.debug("Creating command message CHIMNEY_FAN_BOOST_TIME_REPORT version 1");
 
-        // Process 'Time'
-        outputData.write(time);
+        if (buffer.remaining() < CHIMNEY_FAN_BOOST_TIME_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_BOOST_TIME_REPORT);
+        buffer.put(time.byteValue());
     }
 
     /**
@@ -1399,16 +1812,32 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStopTimeSet(Integer time) {
-        logger.debug("Creating command message CHIMNEY_FAN_STOP_TIME_SET version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_STOP_TIME_SET_LENGTH];
+        getChimneyFanStopTimeSet(ByteBuffer.wrap(outputData), time);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STOP_TIME_SET);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STOP_TIME_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STOP_TIME_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param time {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STOP_TIME_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanStopTimeSet(ByteBuffer buffer, Integer time) {
+        logger.debug("Creating command message CHIMNEY_FAN_STOP_TIME_SET version 1");
 
-        // Process 'Time'
-        outputData.write(time);
+        if (buffer.remaining() < CHIMNEY_FAN_STOP_TIME_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STOP_TIME_SET);
+        buffer.put(time.byteValue());
     }
 
     /**
@@ -1444,13 +1873,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStopTimeGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_STOP_TIME_GET_LENGTH];
+        getChimneyFanStopTimeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STOP_TIME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STOP_TIME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STOP_TIME_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanStopTimeGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_STOP_TIME_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STOP_TIME_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_STOP_TIME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STOP_TIME_GET);
     }
 
     /**
@@ -1478,16 +1924,32 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStopTimeReport(Integer time) {
-        logger.debug("Creating command message CHIMNEY_FAN_STOP_TIME_REPORT version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_STOP_TIME_REPORT_LENGTH];
+        getChimneyFanStopTimeReport(ByteBuffer.wrap(outputData), time);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STOP_TIME_REPORT);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STOP_TIME_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STOP_TIME_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param time {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STOP_TIME_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanStopTimeReport(ByteBuffer buffer, Integer time) {
+        logger.debug("Creating command message CHIMNEY_FAN_STOP_TIME_REPORT version 1");
 
-        // Process 'Time'
-        outputData.write(time);
+        if (buffer.remaining() < CHIMNEY_FAN_STOP_TIME_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STOP_TIME_REPORT);
+        buffer.put(time.byteValue());
     }
 
     /**
@@ -1530,26 +1992,43 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanModeSet(String mode) {
+        byte[] outputData = new byte[CHIMNEY_FAN_MODE_SET_LENGTH];
+        getChimneyFanModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message CHIMNEY_FAN_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_MODE_SET);
+        if (buffer.remaining() < CHIMNEY_FAN_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantChimneyFanModeSetMode.keySet()) {
-            if (constantChimneyFanModeSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseChimneyFanModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_MODE_SET);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -1591,13 +2070,29 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanModeGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_MODE_GET_LENGTH];
+        getChimneyFanModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_MODE_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_MODE_GET);
     }
 
     /**
@@ -1631,26 +2126,43 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanModeReport(String mode) {
+        byte[] outputData = new byte[CHIMNEY_FAN_MODE_REPORT_LENGTH];
+        getChimneyFanModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_MODE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message CHIMNEY_FAN_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_MODE_REPORT);
+        if (buffer.remaining() < CHIMNEY_FAN_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantChimneyFanModeReportMode.keySet()) {
-            if (constantChimneyFanModeReportMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseChimneyFanModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_MODE_REPORT);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -1720,17 +2232,11 @@ public class CommandClassChimneyFanV1 {
         outputData.write(CHIMNEY_FAN_SETUP_SET);
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantChimneyFanSetupSetMode.keySet()) {
-            if (constantChimneyFanSetupSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseChimneyFanSetupSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
+        outputData.write(varMode);
 
         // Process 'Boost Time'
         outputData.write(boostTime);
@@ -1907,13 +2413,29 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanSetupGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_SETUP_GET_LENGTH];
+        getChimneyFanSetupGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_SETUP_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_SETUP_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_SETUP_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanSetupGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_SETUP_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_SETUP_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_SETUP_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_SETUP_GET);
     }
 
     /**
@@ -1968,17 +2490,11 @@ public class CommandClassChimneyFanV1 {
         outputData.write(CHIMNEY_FAN_SETUP_REPORT);
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantChimneyFanSetupReportMode.keySet()) {
-            if (constantChimneyFanSetupReportMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseChimneyFanSetupReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
+        outputData.write(varMode);
 
         // Process 'Boost Time'
         outputData.write(boostTime);
@@ -2155,13 +2671,29 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanStatusGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_STATUS_GET_LENGTH];
+        getChimneyFanStatusGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_STATUS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_STATUS_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanStatusGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_STATUS_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_STATUS_GET);
     }
 
     /**
@@ -2223,17 +2755,11 @@ public class CommandClassChimneyFanV1 {
         outputData.write(CHIMNEY_FAN_STATUS_REPORT);
 
         // Process 'State'
-        boolean foundState = false;
-        for (Integer entry : constantChimneyFanStatusReportState.keySet()) {
-            if (constantChimneyFanStatusReportState.get(entry).equals(state)) {
-                outputData.write(entry);
-                foundState = true;
-                break;
-            }
-        }
-        if (!foundState) {
+        Integer varState = reverseChimneyFanStatusReportState.get(state);
+        if (varState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + state + "' for state");
         }
+        outputData.write(varState);
 
         // Process 'Speed'
         outputData.write(speed);
@@ -2364,26 +2890,43 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanAlarmLogSet(String message) {
+        byte[] outputData = new byte[CHIMNEY_FAN_ALARM_LOG_SET_LENGTH];
+        getChimneyFanAlarmLogSet(ByteBuffer.wrap(outputData), message);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_ALARM_LOG_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_ALARM_LOG_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param message {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>RESET_LOG
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_ALARM_LOG_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanAlarmLogSet(ByteBuffer buffer, String message) {
         logger.debug("Creating command message CHIMNEY_FAN_ALARM_LOG_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_ALARM_LOG_SET);
+        if (buffer.remaining() < CHIMNEY_FAN_ALARM_LOG_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Message'
-        boolean foundMessage = false;
-        for (Integer entry : constantChimneyFanAlarmLogSetMessage.keySet()) {
-            if (constantChimneyFanAlarmLogSetMessage.get(entry).equals(message)) {
-                outputData.write(entry);
-                foundMessage = true;
-                break;
-            }
-        }
-        if (!foundMessage) {
+        Integer varMessage = reverseChimneyFanAlarmLogSetMessage.get(message);
+        if (varMessage == null) {
             throw new IllegalArgumentException("Unknown constant value '" + message + "' for message");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_ALARM_LOG_SET);
+        buffer.put(varMessage.byteValue());
     }
 
     /**
@@ -2424,13 +2967,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanAlarmLogGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_ALARM_LOG_GET_LENGTH];
+        getChimneyFanAlarmLogGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_ALARM_LOG_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_ALARM_LOG_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_ALARM_LOG_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanAlarmLogGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_ALARM_LOG_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_ALARM_LOG_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_ALARM_LOG_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_ALARM_LOG_GET);
     }
 
     /**
@@ -2667,13 +3227,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanAlarmStatusGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_ALARM_STATUS_GET_LENGTH];
+        getChimneyFanAlarmStatusGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_ALARM_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_ALARM_STATUS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_ALARM_STATUS_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanAlarmStatusGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_ALARM_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_ALARM_STATUS_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_ALARM_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_ALARM_STATUS_GET);
     }
 
     /**
@@ -2770,16 +3347,32 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanMinSpeedSet(Integer minSpeed) {
-        logger.debug("Creating command message CHIMNEY_FAN_MIN_SPEED_SET version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_MIN_SPEED_SET_LENGTH];
+        getChimneyFanMinSpeedSet(ByteBuffer.wrap(outputData), minSpeed);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_MIN_SPEED_SET);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_MIN_SPEED_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_MIN_SPEED_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param minSpeed {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_MIN_SPEED_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanMinSpeedSet(ByteBuffer buffer, Integer minSpeed) {
+        logger.debug("Creating command message CHIMNEY_FAN_MIN_SPEED_SET version 1");
 
-        // Process 'Min Speed'
-        outputData.write(minSpeed);
+        if (buffer.remaining() < CHIMNEY_FAN_MIN_SPEED_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_MIN_SPEED_SET);
+        buffer.put(minSpeed.byteValue());
     }
 
     /**
@@ -2815,13 +3408,30 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanMinSpeedGet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_MIN_SPEED_GET_LENGTH];
+        getChimneyFanMinSpeedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_MIN_SPEED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_MIN_SPEED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_MIN_SPEED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanMinSpeedGet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_MIN_SPEED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_MIN_SPEED_GET);
+        if (buffer.remaining() < CHIMNEY_FAN_MIN_SPEED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_MIN_SPEED_GET);
     }
 
     /**
@@ -2849,16 +3459,32 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanMinSpeedReport(Integer minSpeed) {
-        logger.debug("Creating command message CHIMNEY_FAN_MIN_SPEED_REPORT version 1");
+        byte[] outputData = new byte[CHIMNEY_FAN_MIN_SPEED_REPORT_LENGTH];
+        getChimneyFanMinSpeedReport(ByteBuffer.wrap(outputData), minSpeed);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_MIN_SPEED_REPORT);
+    /**
+     * Writes a new message with the CHIMNEY_FAN_MIN_SPEED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_MIN_SPEED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param minSpeed {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_MIN_SPEED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getChimneyFanMinSpeedReport(ByteBuffer buffer, Integer minSpeed) {
+        logger.debug("Creating command message CHIMNEY_FAN_MIN_SPEED_REPORT version 1");
 
-        // Process 'Min Speed'
-        outputData.write(minSpeed);
+        if (buffer.remaining() < CHIMNEY_FAN_MIN_SPEED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_MIN_SPEED_REPORT);
+        buffer.put(minSpeed.byteValue());
     }
 
     /**
@@ -2894,13 +3520,29 @@ public class CommandClassChimneyFanV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getChimneyFanDefaultSet() {
+        byte[] outputData = new byte[CHIMNEY_FAN_DEFAULT_SET_LENGTH];
+        getChimneyFanDefaultSet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CHIMNEY_FAN_DEFAULT_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CHIMNEY_FAN_DEFAULT_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CHIMNEY_FAN_DEFAULT_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getChimneyFanDefaultSet(ByteBuffer buffer) {
         logger.debug("Creating command message CHIMNEY_FAN_DEFAULT_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CHIMNEY_FAN_DEFAULT_SET);
+        if (buffer.remaining() < CHIMNEY_FAN_DEFAULT_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CHIMNEY_FAN_DEFAULT_SET);
     }
 
     /**
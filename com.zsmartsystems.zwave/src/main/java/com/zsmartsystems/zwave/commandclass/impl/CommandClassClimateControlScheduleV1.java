@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,45 +41,87 @@ public class CommandClassClimateControlScheduleV1 {
      * Schedule Set Command Constant
      */
     public final static int SCHEDULE_SET = 0x01;
+    /**
+     * Length of the encoded SCHEDULE_SET command
+     */
+    public final static int SCHEDULE_SET_LENGTH = 3;
     /**
      * Schedule Get Command Constant
      */
     public final static int SCHEDULE_GET = 0x02;
+    /**
+     * Length of the encoded SCHEDULE_GET command
+     */
+    public final static int SCHEDULE_GET_LENGTH = 3;
     /**
      * Schedule Report Command Constant
      */
     public final static int SCHEDULE_REPORT = 0x03;
+    /**
+     * Length of the encoded SCHEDULE_REPORT command
+     */
+    public final static int SCHEDULE_REPORT_LENGTH = 3;
     /**
      * Schedule Changed Get Command Constant
      */
     public final static int SCHEDULE_CHANGED_GET = 0x04;
+    /**
+     * Length of the encoded SCHEDULE_CHANGED_GET command
+     */
+    public final static int SCHEDULE_CHANGED_GET_LENGTH = 2;
     /**
      * Schedule Changed Report Command Constant
      */
     public final static int SCHEDULE_CHANGED_REPORT = 0x05;
+    /**
+     * Length of the encoded SCHEDULE_CHANGED_REPORT command
+     */
+    public final static int SCHEDULE_CHANGED_REPORT_LENGTH = 3;
     /**
      * Schedule Override Set Command Constant
      */
     public final static int SCHEDULE_OVERRIDE_SET = 0x06;
+    /**
+     * Length of the encoded SCHEDULE_OVERRIDE_SET command
+     */
+    public final static int SCHEDULE_OVERRIDE_SET_LENGTH = 4;
     /**
      * Schedule Override Get Command Constant
      */
     public final static int SCHEDULE_OVERRIDE_GET = 0x07;
+    /**
+     * Length of the encoded SCHEDULE_OVERRIDE_GET command
+     */
+    public final static int SCHEDULE_OVERRIDE_GET_LENGTH = 2;
     /**
      * Schedule Override Report Command Constant
      */
     public final static int SCHEDULE_OVERRIDE_REPORT = 0x08;
+    /**
+     * Length of the encoded SCHEDULE_OVERRIDE_REPORT command
+     */
+    public final static int SCHEDULE_OVERRIDE_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for ScheduleOverrideReportOverrideState
      */
     private static Map<Integer, String> constantScheduleOverrideReportOverrideState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ScheduleOverrideReportOverrideState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseScheduleOverrideReportOverrideState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ScheduleOverrideSetOverrideState
      */
     private static Map<Integer, String> constantScheduleOverrideSetOverrideState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ScheduleOverrideSetOverrideState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseScheduleOverrideSetOverrideState = new HashMap<String, Integer>();
+
     static {
         // Constants for ScheduleOverrideReportOverrideState
         constantScheduleOverrideReportOverrideState.put(0x00, "NO_OVERRIDE");
@@ -89,6 +132,16 @@ public class CommandClassClimateControlScheduleV1 {
         constantScheduleOverrideSetOverrideState.put(0x00, "NO_OVERRIDE");
         constantScheduleOverrideSetOverrideState.put(0x01, "TEMPORARY_OVERRIDE");
         constantScheduleOverrideSetOverrideState.put(0x02, "PERMANENT_OVERRIDE");
+
+        // Reverse constants for ScheduleOverrideReportOverrideState
+        reverseScheduleOverrideReportOverrideState.put("NO_OVERRIDE", 0x00);
+        reverseScheduleOverrideReportOverrideState.put("TEMPORARY_OVERRIDE", 0x01);
+        reverseScheduleOverrideReportOverrideState.put("PERMANENT_OVERRIDE", 0x02);
+
+        // Reverse constants for ScheduleOverrideSetOverrideState
+        reverseScheduleOverrideSetOverrideState.put("NO_OVERRIDE", 0x00);
+        reverseScheduleOverrideSetOverrideState.put("TEMPORARY_OVERRIDE", 0x01);
+        reverseScheduleOverrideSetOverrideState.put("PERMANENT_OVERRIDE", 0x02);
     }
 
     /**
@@ -100,34 +153,31 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleSet(Integer weekday) {
-        logger.debug("Creating command message SCHEDULE_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_SET);
-
-        // Process 'Properties1'
-        outputData.write(weekday & 0x07);
-
-        // Process 'Switchpoint 0'
-
-        // Process 'Switchpoint 1'
-
-        // Process 'Switchpoint 2'
-
-        // Process 'Switchpoint 3'
-
-        // Process 'Switchpoint 4'
-
-        // Process 'Switchpoint 5'
-
-        // Process 'Switchpoint 6'
+        byte[] outputData = new byte[SCHEDULE_SET_LENGTH];
+        getScheduleSet(ByteBuffer.wrap(outputData), weekday);
+        return outputData;
+    }
 
-        // Process 'Switchpoint 7'
+    /**
+     * Writes a new message with the SCHEDULE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param weekday {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleSet(ByteBuffer buffer, Integer weekday) {
+        logger.debug("Creating command message SCHEDULE_SET version 1");
 
-        // Process 'Switchpoint 8'
+        if (buffer.remaining() < SCHEDULE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_SET);
+        buffer.put((byte) (weekday & 0x07));
     }
 
     /**
@@ -182,16 +232,31 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleGet(Integer weekday) {
-        logger.debug("Creating command message SCHEDULE_GET version 1");
+        byte[] outputData = new byte[SCHEDULE_GET_LENGTH];
+        getScheduleGet(ByteBuffer.wrap(outputData), weekday);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_GET);
+    /**
+     * Writes a new message with the SCHEDULE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param weekday {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleGet(ByteBuffer buffer, Integer weekday) {
+        logger.debug("Creating command message SCHEDULE_GET version 1");
 
-        // Process 'Properties1'
-        outputData.write(weekday & 0x07);
+        if (buffer.remaining() < SCHEDULE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_GET);
+        buffer.put((byte) (weekday & 0x07));
     }
 
     /**
@@ -228,34 +293,31 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleReport(Integer weekday) {
-        logger.debug("Creating command message SCHEDULE_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_REPORT);
-
-        // Process 'Properties1'
-        outputData.write(weekday & 0x07);
-
-        // Process 'Switchpoint 0'
-
-        // Process 'Switchpoint 1'
-
-        // Process 'Switchpoint 2'
-
-        // Process 'Switchpoint 3'
-
-        // Process 'Switchpoint 4'
-
-        // Process 'Switchpoint 5'
-
-        // Process 'Switchpoint 6'
+        byte[] outputData = new byte[SCHEDULE_REPORT_LENGTH];
+        getScheduleReport(ByteBuffer.wrap(outputData), weekday);
+        return outputData;
+    }
 
-        // Process 'Switchpoint 7'
+    /**
+     * Writes a new message with the SCHEDULE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param weekday {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleReport(ByteBuffer buffer, Integer weekday) {
+        logger.debug("Creating command message SCHEDULE_REPORT version 1");
 
-        // Process 'Switchpoint 8'
+        if (buffer.remaining() < SCHEDULE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_REPORT);
+        buffer.put((byte) (weekday & 0x07));
     }
 
     /**
@@ -309,13 +371,29 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleChangedGet() {
+        byte[] outputData = new byte[SCHEDULE_CHANGED_GET_LENGTH];
+        getScheduleChangedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_CHANGED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_CHANGED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_CHANGED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleChangedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCHEDULE_CHANGED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_CHANGED_GET);
+        if (buffer.remaining() < SCHEDULE_CHANGED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_CHANGED_GET);
     }
 
     /**
@@ -343,16 +421,31 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleChangedReport(Integer changecounter) {
-        logger.debug("Creating command message SCHEDULE_CHANGED_REPORT version 1");
+        byte[] outputData = new byte[SCHEDULE_CHANGED_REPORT_LENGTH];
+        getScheduleChangedReport(ByteBuffer.wrap(outputData), changecounter);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_CHANGED_REPORT);
+    /**
+     * Writes a new message with the SCHEDULE_CHANGED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_CHANGED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param changecounter {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_CHANGED_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleChangedReport(ByteBuffer buffer, Integer changecounter) {
+        logger.debug("Creating command message SCHEDULE_CHANGED_REPORT version 1");
 
-        // Process 'ChangeCounter'
-        outputData.write(changecounter);
+        if (buffer.remaining() < SCHEDULE_CHANGED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_CHANGED_REPORT);
+        buffer.put(changecounter.byteValue());
     }
 
     /**
@@ -397,29 +490,46 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleOverrideSet(Integer overrideType, String overrideState) {
-        logger.debug("Creating command message SCHEDULE_OVERRIDE_SET version 1");
+        byte[] outputData = new byte[SCHEDULE_OVERRIDE_SET_LENGTH];
+        getScheduleOverrideSet(ByteBuffer.wrap(outputData), overrideType, overrideState);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_OVERRIDE_SET);
+    /**
+     * Writes a new message with the SCHEDULE_OVERRIDE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_OVERRIDE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param overrideType {@link Integer}
+     * @param overrideState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NO_OVERRIDE
+     *            <li>TEMPORARY_OVERRIDE
+     *            <li>PERMANENT_OVERRIDE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_OVERRIDE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleOverrideSet(ByteBuffer buffer, Integer overrideType, String overrideState) {
+        logger.debug("Creating command message SCHEDULE_OVERRIDE_SET version 1");
 
-        // Process 'Properties1'
-        outputData.write(overrideType & 0x03);
+        if (buffer.remaining() < SCHEDULE_OVERRIDE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Override State'
-        boolean foundOverrideState = false;
-        for (Integer entry : constantScheduleOverrideSetOverrideState.keySet()) {
-            if (constantScheduleOverrideSetOverrideState.get(entry).equals(overrideState)) {
-                outputData.write(entry);
-                foundOverrideState = true;
-                break;
-            }
-        }
-        if (!foundOverrideState) {
+        Integer varOverrideState = reverseScheduleOverrideSetOverrideState.get(overrideState);
+        if (varOverrideState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + overrideState + "' for overrideState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_OVERRIDE_SET);
+        buffer.put((byte) (overrideType & 0x03));
+        buffer.put(varOverrideState.byteValue());
     }
 
     /**
@@ -466,13 +576,29 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleOverrideGet() {
+        byte[] outputData = new byte[SCHEDULE_OVERRIDE_GET_LENGTH];
+        getScheduleOverrideGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_OVERRIDE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_OVERRIDE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_OVERRIDE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleOverrideGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCHEDULE_OVERRIDE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_OVERRIDE_GET);
+        if (buffer.remaining() < SCHEDULE_OVERRIDE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_OVERRIDE_GET);
     }
 
     /**
@@ -508,29 +634,46 @@ public class CommandClassClimateControlScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleOverrideReport(Integer overrideType, String overrideState) {
-        logger.debug("Creating command message SCHEDULE_OVERRIDE_REPORT version 1");
+        byte[] outputData = new byte[SCHEDULE_OVERRIDE_REPORT_LENGTH];
+        getScheduleOverrideReport(ByteBuffer.wrap(outputData), overrideType, overrideState);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_OVERRIDE_REPORT);
+    /**
+     * Writes a new message with the SCHEDULE_OVERRIDE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_OVERRIDE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param overrideType {@link Integer}
+     * @param overrideState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NO_OVERRIDE
+     *            <li>TEMPORARY_OVERRIDE
+     *            <li>PERMANENT_OVERRIDE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_OVERRIDE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleOverrideReport(ByteBuffer buffer, Integer overrideType, String overrideState) {
+        logger.debug("Creating command message SCHEDULE_OVERRIDE_REPORT version 1");
 
-        // Process 'Properties1'
-        outputData.write(overrideType & 0x03);
+        if (buffer.remaining() < SCHEDULE_OVERRIDE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Override State'
-        boolean foundOverrideState = false;
-        for (Integer entry : constantScheduleOverrideReportOverrideState.keySet()) {
-            if (constantScheduleOverrideReportOverrideState.get(entry).equals(overrideState)) {
-                outputData.write(entry);
-                foundOverrideState = true;
-                break;
-            }
-        }
-        if (!foundOverrideState) {
+        Integer varOverrideState = reverseScheduleOverrideReportOverrideState.get(overrideState);
+        if (varOverrideState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + overrideState + "' for overrideState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_OVERRIDE_REPORT);
+        buffer.put((byte) (overrideType & 0x03));
+        buffer.put(varOverrideState.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassClockV1 {
      * Clock Get Command Constant
      */
     public final static int CLOCK_GET = 0x05;
+    /**
+     * Length of the encoded CLOCK_GET command
+     */
+    public final static int CLOCK_GET_LENGTH = 2;
     /**
      * Clock Report Command Constant
      */
@@ -118,13 +124,29 @@ public class CommandClassClockV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getClockGet() {
+        byte[] outputData = new byte[CLOCK_GET_LENGTH];
+        getClockGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CLOCK_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CLOCK_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CLOCK_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getClockGet(ByteBuffer buffer) {
         logger.debug("Creating command message CLOCK_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CLOCK_GET);
+        if (buffer.remaining() < CLOCK_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CLOCK_GET);
     }
 
     /**
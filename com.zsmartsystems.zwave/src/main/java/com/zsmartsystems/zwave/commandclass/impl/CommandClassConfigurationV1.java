@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class CommandClassConfigurationV1 {
      * Configuration Get Command Constant
      */
     public final static int CONFIGURATION_GET = 0x05;
+    /**
+     * Length of the encoded CONFIGURATION_GET command
+     */
+    public final static int CONFIGURATION_GET_LENGTH = 3;
     /**
      * Configuration Report Command Constant
      */
@@ -153,16 +159,31 @@ public class CommandClassConfigurationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getConfigurationGet(Integer parameterNumber) {
-        logger.debug("Creating command message CONFIGURATION_GET version 1");
+        byte[] outputData = new byte[CONFIGURATION_GET_LENGTH];
+        getConfigurationGet(ByteBuffer.wrap(outputData), parameterNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CONFIGURATION_GET);
+    /**
+     * Writes a new message with the CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CONFIGURATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getConfigurationGet(ByteBuffer buffer, Integer parameterNumber) {
+        logger.debug("Creating command message CONFIGURATION_GET version 1");
 
-        // Process 'Parameter Number'
-        outputData.write(parameterNumber);
+        if (buffer.remaining() < CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CONFIGURATION_GET);
+        buffer.put(parameterNumber.byteValue());
     }
 
     /**
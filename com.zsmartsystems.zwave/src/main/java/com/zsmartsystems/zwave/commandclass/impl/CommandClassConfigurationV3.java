@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +49,10 @@ public class CommandClassConfigurationV3 {
      * Configuration Get Command Constant
      */
     public final static int CONFIGURATION_GET = 0x05;
+    /**
+     * Length of the encoded CONFIGURATION_GET command
+     */
+    public final static int CONFIGURATION_GET_LENGTH = 3;
     /**
      * Configuration Report Command Constant
      */
@@ -59,6 +65,10 @@ public class CommandClassConfigurationV3 {
      * Configuration Bulk Get Command Constant
      */
     public final static int CONFIGURATION_BULK_GET = 0x08;
+    /**
+     * Length of the encoded CONFIGURATION_BULK_GET command
+     */
+    public final static int CONFIGURATION_BULK_GET_LENGTH = 5;
     /**
      * Configuration Bulk Report Command Constant
      */
@@ -67,6 +77,10 @@ public class CommandClassConfigurationV3 {
      * Configuration Name Get Command Constant
      */
     public final static int CONFIGURATION_NAME_GET = 0x0A;
+    /**
+     * Length of the encoded CONFIGURATION_NAME_GET command
+     */
+    public final static int CONFIGURATION_NAME_GET_LENGTH = 4;
     /**
      * Configuration Name Report Command Constant
      */
@@ -75,6 +89,10 @@ public class CommandClassConfigurationV3 {
      * Configuration Info Get Command Constant
      */
     public final static int CONFIGURATION_INFO_GET = 0x0C;
+    /**
+     * Length of the encoded CONFIGURATION_INFO_GET command
+     */
+    public final static int CONFIGURATION_INFO_GET_LENGTH = 4;
     /**
      * Configuration Info Report Command Constant
      */
@@ -83,6 +101,10 @@ public class CommandClassConfigurationV3 {
      * Configuration Properties Get Command Constant
      */
     public final static int CONFIGURATION_PROPERTIES_GET = 0x0E;
+    /**
+     * Length of the encoded CONFIGURATION_PROPERTIES_GET command
+     */
+    public final static int CONFIGURATION_PROPERTIES_GET_LENGTH = 4;
     /**
      * Configuration Properties Report Command Constant
      */
@@ -98,6 +120,11 @@ public class CommandClassConfigurationV3 {
      */
     private static Map<Integer, String> constantConfigurationPropertiesReportFormat = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ConfigurationPropertiesReportFormat, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseConfigurationPropertiesReportFormat = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ConfigurationBulkReportProperties1
      */
@@ -125,6 +152,12 @@ public class CommandClassConfigurationV3 {
 
         // Constants for ConfigurationSetLevel
         constantConfigurationSetLevel.put(0x80, "DEFAULT");
+
+        // Reverse constants for ConfigurationPropertiesReportFormat
+        reverseConfigurationPropertiesReportFormat.put("SIGNED_INTEGER", 0x00);
+        reverseConfigurationPropertiesReportFormat.put("UNSIGNED_INTEGER", 0x01);
+        reverseConfigurationPropertiesReportFormat.put("ENUMERATED", 0x02);
+        reverseConfigurationPropertiesReportFormat.put("BIT_FIELD", 0x03);
     }
 
     /**
@@ -220,16 +253,31 @@ public class CommandClassConfigurationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getConfigurationGet(Integer parameterNumber) {
-        logger.debug("Creating command message CONFIGURATION_GET version 3");
+        byte[] outputData = new byte[CONFIGURATION_GET_LENGTH];
+        getConfigurationGet(ByteBuffer.wrap(outputData), parameterNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CONFIGURATION_GET);
+    /**
+     * Writes a new message with the CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CONFIGURATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getConfigurationGet(ByteBuffer buffer, Integer parameterNumber) {
+        logger.debug("Creating command message CONFIGURATION_GET version 3");
 
-        // Process 'Parameter Number'
-        outputData.write(parameterNumber);
+        if (buffer.remaining() < CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CONFIGURATION_GET);
+        buffer.put(parameterNumber.byteValue());
     }
 
     /**
@@ -456,20 +504,34 @@ public class CommandClassConfigurationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getConfigurationBulkGet(Integer parameterOffset, Integer numberOfParameters) {
-        logger.debug("Creating command message CONFIGURATION_BULK_GET version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CONFIGURATION_BULK_GET);
+        byte[] outputData = new byte[CONFIGURATION_BULK_GET_LENGTH];
+        getConfigurationBulkGet(ByteBuffer.wrap(outputData), parameterOffset, numberOfParameters);
+        return outputData;
+    }
 
-        // Process 'Parameter Offset'
-        outputData.write((parameterOffset >> 8) & 0xff);
-        outputData.write(parameterOffset & 0xff);
+    /**
+     * Writes a new message with the CONFIGURATION_BULK_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CONFIGURATION_BULK_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterOffset {@link Integer}
+     * @param numberOfParameters {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CONFIGURATION_BULK_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getConfigurationBulkGet(ByteBuffer buffer, Integer parameterOffset, Integer numberOfParameters) {
+        logger.debug("Creating command message CONFIGURATION_BULK_GET version 3");
 
-        // Process 'Number of Parameters'
-        outputData.write(numberOfParameters);
+        if (buffer.remaining() < CONFIGURATION_BULK_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CONFIGURATION_BULK_GET);
+        buffer.put((byte) ((parameterOffset >> 8) & 0xff));
+        buffer.put((byte) (parameterOffset & 0xff));
+        buffer.put(numberOfParameters.byteValue());
     }
 
     /**
@@ -630,17 +692,32 @@ public class CommandClassConfigurationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getConfigurationNameGet(Integer parameterNumber) {
-        logger.debug("Creating command message CONFIGURATION_NAME_GET version 3");
+        byte[] outputData = new byte[CONFIGURATION_NAME_GET_LENGTH];
+        getConfigurationNameGet(ByteBuffer.wrap(outputData), parameterNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CONFIGURATION_NAME_GET);
+    /**
+     * Writes a new message with the CONFIGURATION_NAME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CONFIGURATION_NAME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CONFIGURATION_NAME_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getConfigurationNameGet(ByteBuffer buffer, Integer parameterNumber) {
+        logger.debug("Creating command message CONFIGURATION_NAME_GET version 3");
 
-        // Process 'Parameter Number'
-        outputData.write((parameterNumber >> 8) & 0xff);
-        outputData.write(parameterNumber & 0xff);
+        if (buffer.remaining() < CONFIGURATION_NAME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CONFIGURATION_NAME_GET);
+        buffer.put((byte) ((parameterNumber >> 8) & 0xff));
+        buffer.put((byte) (parameterNumber & 0xff));
     }
 
     /**
@@ -755,17 +832,32 @@ public class CommandClassConfigurationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getConfigurationInfoGet(Integer parameterNumber) {
-        logger.debug("Creating command message CONFIGURATION_INFO_GET version 3");
+        byte[] outputData = new byte[CONFIGURATION_INFO_GET_LENGTH];
+        getConfigurationInfoGet(ByteBuffer.wrap(outputData), parameterNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CONFIGURATION_INFO_GET);
+    /**
+     * Writes a new message with the CONFIGURATION_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CONFIGURATION_INFO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CONFIGURATION_INFO_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getConfigurationInfoGet(ByteBuffer buffer, Integer parameterNumber) {
+        logger.debug("Creating command message CONFIGURATION_INFO_GET version 3");
 
-        // Process 'Parameter Number'
-        outputData.write((parameterNumber >> 8) & 0xff);
-        outputData.write(parameterNumber & 0xff);
+        if (buffer.remaining() < CONFIGURATION_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CONFIGURATION_INFO_GET);
+        buffer.put((byte) ((parameterNumber >> 8) & 0xff));
+        buffer.put((byte) (parameterNumber & 0xff));
     }
 
     /**
@@ -880,17 +972,33 @@ public class CommandClassConfigurationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getConfigurationPropertiesGet(Integer parameterNumber) {
-        logger.debug("Creating command message CONFIGURATION_PROPERTIES_GET version 3");
+        byte[] outputData = new byte[CONFIGURATION_PROPERTIES_GET_LENGTH];
+        getConfigurationPropertiesGet(ByteBuffer.wrap(outputData), parameterNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CONFIGURATION_PROPERTIES_GET);
+    /**
+     * Writes a new message with the CONFIGURATION_PROPERTIES_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CONFIGURATION_PROPERTIES_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #CONFIGURATION_PROPERTIES_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getConfigurationPropertiesGet(ByteBuffer buffer, Integer parameterNumber) {
+        logger.debug("Creating command message CONFIGURATION_PROPERTIES_GET version 3");
 
-        // Process 'Parameter Number'
-        outputData.write((parameterNumber >> 8) & 0xff);
-        outputData.write(parameterNumber & 0xff);
+        if (buffer.remaining() < CONFIGURATION_PROPERTIES_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CONFIGURATION_PROPERTIES_GET);
+        buffer.put((byte) ((parameterNumber >> 8) & 0xff));
+        buffer.put((byte) (parameterNumber & 0xff));
     }
 
     /**
@@ -956,14 +1064,8 @@ public class CommandClassConfigurationV3 {
         int size = minValue.length;
         int valProperties1 = 0;
         valProperties1 |= size & 0x07;
-        int varFormat = Integer.MAX_VALUE;
-        for (Integer entry : constantConfigurationPropertiesReportFormat.keySet()) {
-            if (constantConfigurationPropertiesReportFormat.get(entry).equals(format)) {
-                varFormat = entry;
-                break;
-            }
-        }
-        if (varFormat == Integer.MAX_VALUE) {
+        Integer varFormat = reverseConfigurationPropertiesReportFormat.get(format);
+        if (varFormat == null) {
             throw new IllegalArgumentException("Unknown constant value '" + format + "' for format");
         }
         valProperties1 |= varFormat << 3 & 0x38;
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,10 +44,18 @@ public class CommandClassDcpConfigV1 {
      * Dcp List Supported Get Command Constant
      */
     public final static int DCP_LIST_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded DCP_LIST_SUPPORTED_GET command
+     */
+    public final static int DCP_LIST_SUPPORTED_GET_LENGTH = 2;
     /**
      * Dcp List Supported Report Command Constant
      */
     public final static int DCP_LIST_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded DCP_LIST_SUPPORTED_REPORT command
+     */
+    public final static int DCP_LIST_SUPPORTED_REPORT_LENGTH = 4;
     /**
      * Dcp List Set Command Constant
      */
@@ -64,13 +74,29 @@ public class CommandClassDcpConfigV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDcpListSupportedGet() {
+        byte[] outputData = new byte[DCP_LIST_SUPPORTED_GET_LENGTH];
+        getDcpListSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DCP_LIST_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DCP_LIST_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DCP_LIST_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDcpListSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message DCP_LIST_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DCP_LIST_SUPPORTED_GET);
+        if (buffer.remaining() < DCP_LIST_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DCP_LIST_SUPPORTED_GET);
     }
 
     /**
@@ -99,19 +125,34 @@ public class CommandClassDcpConfigV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDcpListSupportedReport(Integer dcpListSize, Integer freeDcpListEntries) {
-        logger.debug("Creating command message DCP_LIST_SUPPORTED_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DCP_LIST_SUPPORTED_REPORT);
+        byte[] outputData = new byte[DCP_LIST_SUPPORTED_REPORT_LENGTH];
+        getDcpListSupportedReport(ByteBuffer.wrap(outputData), dcpListSize, freeDcpListEntries);
+        return outputData;
+    }
 
-        // Process 'DCP List Size'
-        outputData.write(dcpListSize);
+    /**
+     * Writes a new message with the DCP_LIST_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DCP_LIST_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param dcpListSize {@link Integer}
+     * @param freeDcpListEntries {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DCP_LIST_SUPPORTED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getDcpListSupportedReport(ByteBuffer buffer, Integer dcpListSize, Integer freeDcpListEntries) {
+        logger.debug("Creating command message DCP_LIST_SUPPORTED_REPORT version 1");
 
-        // Process 'Free DCP List entries'
-        outputData.write(freeDcpListEntries);
+        if (buffer.remaining() < DCP_LIST_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DCP_LIST_SUPPORTED_REPORT);
+        buffer.put(dcpListSize.byteValue());
+        buffer.put(freeDcpListEntries.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassDcpMonitorV1 {
      * Dcp List Get Command Constant
      */
     public final static int DCP_LIST_GET = 0x01;
+    /**
+     * Length of the encoded DCP_LIST_GET command
+     */
+    public final static int DCP_LIST_GET_LENGTH = 2;
     /**
      * Dcp List Report Command Constant
      */
@@ -60,12 +66,23 @@ public class CommandClassDcpMonitorV1 {
      */
     private static Map<Integer, String> constantDcpEventStatusReportEventStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DcpEventStatusReportEventStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDcpEventStatusReportEventStatus = new HashMap<String, Integer>();
+
     static {
         // Constants for DcpEventStatusReportEventStatus
         constantDcpEventStatusReportEventStatus.put(0x01, "EVENT_STARTED");
         constantDcpEventStatusReportEventStatus.put(0x02, "EVENT_COMPLETED");
         constantDcpEventStatusReportEventStatus.put(0x03, "EVENT_REJECTED");
         constantDcpEventStatusReportEventStatus.put(0x04, "EVENT_NOT_APPLICABLE");
+
+        // Reverse constants for DcpEventStatusReportEventStatus
+        reverseDcpEventStatusReportEventStatus.put("EVENT_STARTED", 0x01);
+        reverseDcpEventStatusReportEventStatus.put("EVENT_COMPLETED", 0x02);
+        reverseDcpEventStatusReportEventStatus.put("EVENT_REJECTED", 0x03);
+        reverseDcpEventStatusReportEventStatus.put("EVENT_NOT_APPLICABLE", 0x04);
     }
 
     /**
@@ -76,13 +93,29 @@ public class CommandClassDcpMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDcpListGet() {
+        byte[] outputData = new byte[DCP_LIST_GET_LENGTH];
+        getDcpListGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DCP_LIST_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DCP_LIST_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DCP_LIST_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDcpListGet(ByteBuffer buffer) {
         logger.debug("Creating command message DCP_LIST_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DCP_LIST_GET);
+        if (buffer.remaining() < DCP_LIST_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DCP_LIST_GET);
     }
 
     /**
@@ -496,17 +529,11 @@ public class CommandClassDcpMonitorV1 {
         outputData.write(secondLocalTime);
 
         // Process 'Event status'
-        boolean foundEventStatus = false;
-        for (Integer entry : constantDcpEventStatusReportEventStatus.keySet()) {
-            if (constantDcpEventStatusReportEventStatus.get(entry).equals(eventStatus)) {
-                outputData.write(entry);
-                foundEventStatus = true;
-                break;
-            }
-        }
-        if (!foundEventStatus) {
+        Integer varEventStatus = reverseDcpEventStatusReportEventStatus.get(eventStatus);
+        if (varEventStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + eventStatus + "' for eventStatus");
         }
+        outputData.write(varEventStatus);
 
         return outputData.toByteArray();
     }
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +41,10 @@ public class CommandClassDeviceResetLocallyV1 {
      * Device Reset Locally Notification Command Constant
      */
     public final static int DEVICE_RESET_LOCALLY_NOTIFICATION = 0x01;
+    /**
+     * Length of the encoded DEVICE_RESET_LOCALLY_NOTIFICATION command
+     */
+    public final static int DEVICE_RESET_LOCALLY_NOTIFICATION_LENGTH = 2;
 
 
     /**
@@ -50,13 +55,31 @@ public class CommandClassDeviceResetLocallyV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDeviceResetLocallyNotification() {
+        byte[] outputData = new byte[DEVICE_RESET_LOCALLY_NOTIFICATION_LENGTH];
+        getDeviceResetLocallyNotification(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DEVICE_RESET_LOCALLY_NOTIFICATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DEVICE_RESET_LOCALLY_NOTIFICATION_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DEVICE_RESET_LOCALLY_NOTIFICATION_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getDeviceResetLocallyNotification(ByteBuffer buffer) {
         logger.debug("Creating command message DEVICE_RESET_LOCALLY_NOTIFICATION version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DEVICE_RESET_LOCALLY_NOTIFICATION);
+        if (buffer.remaining() < DEVICE_RESET_LOCALLY_NOTIFICATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DEVICE_RESET_LOCALLY_NOTIFICATION);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,18 +43,34 @@ public class CommandClassDmxV1 {
      * DMX Address Set Command Constant
      */
     public final static int DMX_ADDRESS_SET = 0x01;
+    /**
+     * Length of the encoded DMX_ADDRESS_SET command
+     */
+    public final static int DMX_ADDRESS_SET_LENGTH = 4;
     /**
      * DMX Address Get Command Constant
      */
     public final static int DMX_ADDRESS_GET = 0x02;
+    /**
+     * Length of the encoded DMX_ADDRESS_GET command
+     */
+    public final static int DMX_ADDRESS_GET_LENGTH = 2;
     /**
      * DMX Address Report Command Constant
      */
     public final static int DMX_ADDRESS_REPORT = 0x03;
+    /**
+     * Length of the encoded DMX_ADDRESS_REPORT command
+     */
+    public final static int DMX_ADDRESS_REPORT_LENGTH = 4;
     /**
      * DMX Capability Get Command Constant
      */
     public final static int DMX_CAPABILITY_GET = 0x04;
+    /**
+     * Length of the encoded DMX_CAPABILITY_GET command
+     */
+    public final static int DMX_CAPABILITY_GET_LENGTH = 3;
     /**
      * DMX Capability Report Command Constant
      */
@@ -73,19 +91,33 @@ public class CommandClassDmxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDmxAddressSet(Integer pageId, Integer channelId) {
-        logger.debug("Creating command message DMX_ADDRESS_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DMX_ADDRESS_SET);
+        byte[] outputData = new byte[DMX_ADDRESS_SET_LENGTH];
+        getDmxAddressSet(ByteBuffer.wrap(outputData), pageId, channelId);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(pageId & 0x0F);
+    /**
+     * Writes a new message with the DMX_ADDRESS_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DMX_ADDRESS_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param pageId {@link Integer}
+     * @param channelId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DMX_ADDRESS_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDmxAddressSet(ByteBuffer buffer, Integer pageId, Integer channelId) {
+        logger.debug("Creating command message DMX_ADDRESS_SET version 1");
 
-        // Process 'Channel ID'
-        outputData.write(channelId);
+        if (buffer.remaining() < DMX_ADDRESS_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DMX_ADDRESS_SET);
+        buffer.put((byte) (pageId & 0x0F));
+        buffer.put(channelId.byteValue());
     }
 
     /**
@@ -125,13 +157,29 @@ public class CommandClassDmxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDmxAddressGet() {
+        byte[] outputData = new byte[DMX_ADDRESS_GET_LENGTH];
+        getDmxAddressGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DMX_ADDRESS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DMX_ADDRESS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DMX_ADDRESS_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDmxAddressGet(ByteBuffer buffer) {
         logger.debug("Creating command message DMX_ADDRESS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DMX_ADDRESS_GET);
+        if (buffer.remaining() < DMX_ADDRESS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DMX_ADDRESS_GET);
     }
 
     /**
@@ -160,19 +208,33 @@ public class CommandClassDmxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDmxAddressReport(Integer pageId, Integer channelId) {
-        logger.debug("Creating command message DMX_ADDRESS_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DMX_ADDRESS_REPORT);
+        byte[] outputData = new byte[DMX_ADDRESS_REPORT_LENGTH];
+        getDmxAddressReport(ByteBuffer.wrap(outputData), pageId, channelId);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(pageId & 0x0F);
+    /**
+     * Writes a new message with the DMX_ADDRESS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DMX_ADDRESS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param pageId {@link Integer}
+     * @param channelId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DMX_ADDRESS_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getDmxAddressReport(ByteBuffer buffer, Integer pageId, Integer channelId) {
+        logger.debug("Creating command message DMX_ADDRESS_REPORT version 1");
 
-        // Process 'Channel ID'
-        outputData.write(channelId);
+        if (buffer.remaining() < DMX_ADDRESS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DMX_ADDRESS_REPORT);
+        buffer.put((byte) (pageId & 0x0F));
+        buffer.put(channelId.byteValue());
     }
 
     /**
@@ -213,16 +275,31 @@ public class CommandClassDmxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDmxCapabilityGet(Integer channelId) {
-        logger.debug("Creating command message DMX_CAPABILITY_GET version 1");
+        byte[] outputData = new byte[DMX_CAPABILITY_GET_LENGTH];
+        getDmxCapabilityGet(ByteBuffer.wrap(outputData), channelId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DMX_CAPABILITY_GET);
+    /**
+     * Writes a new message with the DMX_CAPABILITY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DMX_CAPABILITY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param channelId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DMX_CAPABILITY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDmxCapabilityGet(ByteBuffer buffer, Integer channelId) {
+        logger.debug("Creating command message DMX_CAPABILITY_GET version 1");
 
-        // Process 'Channel ID'
-        outputData.write(channelId);
+        if (buffer.remaining() < DMX_CAPABILITY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DMX_CAPABILITY_GET);
+        buffer.put(channelId.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,14 +43,26 @@ public class CommandClassDoorLockLoggingV1 {
      * Door Lock Logging Records Supported Get Command Constant
      */
     public final static int DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET command
+     */
+    public final static int DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET_LENGTH = 2;
     /**
      * Door Lock Logging Records Supported Report Command Constant
      */
     public final static int DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT command
+     */
+    public final static int DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT_LENGTH = 3;
     /**
      * Record Get Command Constant
      */
     public final static int RECORD_GET = 0x03;
+    /**
+     * Length of the encoded RECORD_GET command
+     */
+    public final static int RECORD_GET_LENGTH = 3;
     /**
      * Record Report Command Constant
      */
@@ -63,13 +77,31 @@ public class CommandClassDoorLockLoggingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDoorLockLoggingRecordsSupportedGet() {
+        byte[] outputData = new byte[DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET_LENGTH];
+        getDoorLockLoggingRecordsSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getDoorLockLoggingRecordsSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET);
+        if (buffer.remaining() < DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_GET);
     }
 
     /**
@@ -97,16 +129,33 @@ public class CommandClassDoorLockLoggingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDoorLockLoggingRecordsSupportedReport(Integer maxRecordsStored) {
-        logger.debug("Creating command message DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT version 1");
+        byte[] outputData = new byte[DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT_LENGTH];
+        getDoorLockLoggingRecordsSupportedReport(ByteBuffer.wrap(outputData), maxRecordsStored);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT);
+    /**
+     * Writes a new message with the DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of
+     * the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param maxRecordsStored {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getDoorLockLoggingRecordsSupportedReport(ByteBuffer buffer, Integer maxRecordsStored) {
+        logger.debug("Creating command message DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT version 1");
 
-        // Process 'Max records stored'
-        outputData.write(maxRecordsStored);
+        if (buffer.remaining() < DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DOOR_LOCK_LOGGING_RECORDS_SUPPORTED_REPORT);
+        buffer.put(maxRecordsStored.byteValue());
     }
 
     /**
@@ -143,16 +192,31 @@ public class CommandClassDoorLockLoggingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRecordGet(Integer recordNumber) {
-        logger.debug("Creating command message RECORD_GET version 1");
+        byte[] outputData = new byte[RECORD_GET_LENGTH];
+        getRecordGet(ByteBuffer.wrap(outputData), recordNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RECORD_GET);
+    /**
+     * Writes a new message with the RECORD_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RECORD_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param recordNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #RECORD_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getRecordGet(ByteBuffer buffer, Integer recordNumber) {
+        logger.debug("Creating command message RECORD_GET version 1");
 
-        // Process 'Record number'
-        outputData.write(recordNumber);
+        if (buffer.remaining() < RECORD_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RECORD_GET);
+        buffer.put(recordNumber.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +42,18 @@ public class CommandClassDoorLockV3 {
      * Door Lock Operation Set Command Constant
      */
     public final static int DOOR_LOCK_OPERATION_SET = 0x01;
+    /**
+     * Length of the encoded DOOR_LOCK_OPERATION_SET command
+     */
+    public final static int DOOR_LOCK_OPERATION_SET_LENGTH = 3;
     /**
      * Door Lock Operation Get Command Constant
      */
     public final static int DOOR_LOCK_OPERATION_GET = 0x02;
+    /**
+     * Length of the encoded DOOR_LOCK_OPERATION_GET command
+     */
+    public final static int DOOR_LOCK_OPERATION_GET_LENGTH = 2;
     /**
      * Door Lock Operation Report Command Constant
      */
@@ -56,6 +66,10 @@ public class CommandClassDoorLockV3 {
      * Door Lock Configuration Get Command Constant
      */
     public final static int DOOR_LOCK_CONFIGURATION_GET = 0x05;
+    /**
+     * Length of the encoded DOOR_LOCK_CONFIGURATION_GET command
+     */
+    public final static int DOOR_LOCK_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Door Lock Configuration Report Command Constant
      */
@@ -66,31 +80,61 @@ public class CommandClassDoorLockV3 {
      */
     private static Map<Integer, String> constantDoorLockOperationReportDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DoorLockOperationReportDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDoorLockOperationReportDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DoorLockConfigurationSetOperationType
      */
     private static Map<Integer, String> constantDoorLockConfigurationSetOperationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DoorLockConfigurationSetOperationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDoorLockConfigurationSetOperationType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DoorLockConfigurationReportOperationType
      */
     private static Map<Integer, String> constantDoorLockConfigurationReportOperationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DoorLockConfigurationReportOperationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDoorLockConfigurationReportOperationType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DoorLockOperationReportCurrentDoorLockMode
      */
     private static Map<Integer, String> constantDoorLockOperationReportCurrentDoorLockMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DoorLockOperationReportCurrentDoorLockMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDoorLockOperationReportCurrentDoorLockMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DoorLockOperationReportTargetDoorLockMode
      */
     private static Map<Integer, String> constantDoorLockOperationReportTargetDoorLockMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DoorLockOperationReportTargetDoorLockMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDoorLockOperationReportTargetDoorLockMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DoorLockOperationSetDoorLockMode
      */
     private static Map<Integer, String> constantDoorLockOperationSetDoorLockMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DoorLockOperationSetDoorLockMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDoorLockOperationSetDoorLockMode = new HashMap<String, Integer>();
+
     static {
         // Constants for DoorLockOperationReportDuration
         constantDoorLockOperationReportDuration.put(0xFE, "UNKNOWN_DURATION");
@@ -133,6 +177,48 @@ public class CommandClassDoorLockV3 {
         constantDoorLockOperationSetDoorLockMode.put(0x01, "DOOR_UNSECURED_WITH_TIMEOUT");
         constantDoorLockOperationSetDoorLockMode.put(0x20, "DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES");
         constantDoorLockOperationSetDoorLockMode.put(0x21, "DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES_WITH_TIMEOUT");
+
+        // Reverse constants for DoorLockOperationReportDuration
+        reverseDoorLockOperationReportDuration.put("ALREADY_AT_THE_TARGET_VALUE", 0x00);
+        reverseDoorLockOperationReportDuration.put("UNKNOWN_DURATION", 0xFE);
+
+        // Reverse constants for DoorLockConfigurationSetOperationType
+        reverseDoorLockConfigurationSetOperationType.put("CONSTANT_OPERATION", 0x01);
+        reverseDoorLockConfigurationSetOperationType.put("TIMED_OPERATION", 0x02);
+
+        // Reverse constants for DoorLockConfigurationReportOperationType
+        reverseDoorLockConfigurationReportOperationType.put("CONSTANT_OPERATION", 0x01);
+        reverseDoorLockConfigurationReportOperationType.put("TIMED_OPERATION", 0x02);
+
+        // Reverse constants for DoorLockOperationReportCurrentDoorLockMode
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_UNSECURED", 0x00);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_UNSECURED_WITH_TIMEOUT", 0x01);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES", 0x10);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES_WITH_TIMEOUT", 0x11);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES", 0x20);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES_WITH_TIMEOUT", 0x21);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_LOCK_STATE_UNKNOWN", 0xFE);
+        reverseDoorLockOperationReportCurrentDoorLockMode.put("DOOR_SECURED", 0xFF);
+
+        // Reverse constants for DoorLockOperationReportTargetDoorLockMode
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_UNSECURED", 0x00);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_UNSECURED_WITH_TIMEOUT", 0x01);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES", 0x10);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES_WITH_TIMEOUT", 0x11);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES", 0x20);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES_WITH_TIMEOUT", 0x21);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_LOCK_STATE_UNKNOWN", 0xFE);
+        reverseDoorLockOperationReportTargetDoorLockMode.put("DOOR_SECURED", 0xFF);
+
+        // Reverse constants for DoorLockOperationSetDoorLockMode
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_UNSECURED", 0x00);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_UNSECURED_WITH_TIMEOUT", 0x01);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES", 0x10);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES_WITH_TIMEOUT", 0x11);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES", 0x20);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES_WITH_TIMEOUT", 0x21);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_LOCK_STATE_UNKNOWN", 0xFE);
+        reverseDoorLockOperationSetDoorLockMode.put("DOOR_SECURED", 0xFF);
     }
 
     /**
@@ -156,26 +242,49 @@ public class CommandClassDoorLockV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDoorLockOperationSet(String doorLockMode) {
+        byte[] outputData = new byte[DOOR_LOCK_OPERATION_SET_LENGTH];
+        getDoorLockOperationSet(ByteBuffer.wrap(outputData), doorLockMode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DOOR_LOCK_OPERATION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DOOR_LOCK_OPERATION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param doorLockMode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>DOOR_LOCK_STATE_UNKNOWN
+     *            <li>DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES_WITH_TIMEOUT
+     *            <li>DOOR_UNSECURED
+     *            <li>DOOR_SECURED
+     *            <li>DOOR_UNSECURED_FOR_INSIDE_DOOR_HANDLES
+     *            <li>DOOR_UNSECURED_WITH_TIMEOUT
+     *            <li>DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES
+     *            <li>DOOR_UNSECURED_FOR_OUTSIDE_DOOR_HANDLES_WITH_TIMEOUT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #DOOR_LOCK_OPERATION_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDoorLockOperationSet(ByteBuffer buffer, String doorLockMode) {
         logger.debug("Creating command message DOOR_LOCK_OPERATION_SET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DOOR_LOCK_OPERATION_SET);
+        if (buffer.remaining() < DOOR_LOCK_OPERATION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Door Lock Mode'
-        boolean foundDoorLockMode = false;
-        for (Integer entry : constantDoorLockOperationSetDoorLockMode.keySet()) {
-            if (constantDoorLockOperationSetDoorLockMode.get(entry).equals(doorLockMode)) {
-                outputData.write(entry);
-                foundDoorLockMode = true;
-                break;
-            }
-        }
-        if (!foundDoorLockMode) {
+        Integer varDoorLockMode = reverseDoorLockOperationSetDoorLockMode.get(doorLockMode);
+        if (varDoorLockMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + doorLockMode + "' for doorLockMode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DOOR_LOCK_OPERATION_SET);
+        buffer.put(varDoorLockMode.byteValue());
     }
 
     /**
@@ -223,13 +332,29 @@ public class CommandClassDoorLockV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDoorLockOperationGet() {
+        byte[] outputData = new byte[DOOR_LOCK_OPERATION_GET_LENGTH];
+        getDoorLockOperationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DOOR_LOCK_OPERATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DOOR_LOCK_OPERATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DOOR_LOCK_OPERATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDoorLockOperationGet(ByteBuffer buffer) {
         logger.debug("Creating command message DOOR_LOCK_OPERATION_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DOOR_LOCK_OPERATION_GET);
+        if (buffer.remaining() < DOOR_LOCK_OPERATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DOOR_LOCK_OPERATION_GET);
     }
 
     /**
@@ -303,17 +428,11 @@ public class CommandClassDoorLockV3 {
         outputData.write(DOOR_LOCK_OPERATION_REPORT);
 
         // Process 'Current Door Lock Mode'
-        boolean foundCurrentDoorLockMode = false;
-        for (Integer entry : constantDoorLockOperationReportCurrentDoorLockMode.keySet()) {
-            if (constantDoorLockOperationReportCurrentDoorLockMode.get(entry).equals(currentDoorLockMode)) {
-                outputData.write(entry);
-                foundCurrentDoorLockMode = true;
-                break;
-            }
-        }
-        if (!foundCurrentDoorLockMode) {
+        Integer varCurrentDoorLockMode = reverseDoorLockOperationReportCurrentDoorLockMode.get(currentDoorLockMode);
+        if (varCurrentDoorLockMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + currentDoorLockMode + "' for currentDoorLockMode");
         }
+        outputData.write(varCurrentDoorLockMode);
 
         // Process 'Properties1'
         int valProperties1 = 0;
@@ -331,30 +450,18 @@ public class CommandClassDoorLockV3 {
         outputData.write(lockTimeoutSeconds);
 
         // Process 'Target Door Lock Mode'
-        boolean foundTargetDoorLockMode = false;
-        for (Integer entry : constantDoorLockOperationReportTargetDoorLockMode.keySet()) {
-            if (constantDoorLockOperationReportTargetDoorLockMode.get(entry).equals(targetDoorLockMode)) {
-                outputData.write(entry);
-                foundTargetDoorLockMode = true;
-                break;
-            }
-        }
-        if (!foundTargetDoorLockMode) {
+        Integer varTargetDoorLockMode = reverseDoorLockOperationReportTargetDoorLockMode.get(targetDoorLockMode);
+        if (varTargetDoorLockMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + targetDoorLockMode + "' for targetDoorLockMode");
         }
+        outputData.write(varTargetDoorLockMode);
 
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantDoorLockOperationReportDuration.keySet()) {
-            if (constantDoorLockOperationReportDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseDoorLockOperationReportDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
+        outputData.write(varDuration);
 
         return outputData.toByteArray();
     }
@@ -467,17 +574,11 @@ public class CommandClassDoorLockV3 {
         outputData.write(DOOR_LOCK_CONFIGURATION_SET);
 
         // Process 'Operation Type'
-        boolean foundOperationType = false;
-        for (Integer entry : constantDoorLockConfigurationSetOperationType.keySet()) {
-            if (constantDoorLockConfigurationSetOperationType.get(entry).equals(operationType)) {
-                outputData.write(entry);
-                foundOperationType = true;
-                break;
-            }
-        }
-        if (!foundOperationType) {
+        Integer varOperationType = reverseDoorLockConfigurationSetOperationType.get(operationType);
+        if (varOperationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + operationType + "' for operationType");
         }
+        outputData.write(varOperationType);
 
         // Process 'Properties1'
         int valProperties1 = 0;
@@ -547,13 +648,30 @@ public class CommandClassDoorLockV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDoorLockConfigurationGet() {
+        byte[] outputData = new byte[DOOR_LOCK_CONFIGURATION_GET_LENGTH];
+        getDoorLockConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DOOR_LOCK_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DOOR_LOCK_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DOOR_LOCK_CONFIGURATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getDoorLockConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message DOOR_LOCK_CONFIGURATION_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DOOR_LOCK_CONFIGURATION_GET);
+        if (buffer.remaining() < DOOR_LOCK_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DOOR_LOCK_CONFIGURATION_GET);
     }
 
     /**
@@ -599,17 +717,11 @@ public class CommandClassDoorLockV3 {
         outputData.write(DOOR_LOCK_CONFIGURATION_REPORT);
 
         // Process 'Operation Type'
-        boolean foundOperationType = false;
-        for (Integer entry : constantDoorLockConfigurationReportOperationType.keySet()) {
-            if (constantDoorLockConfigurationReportOperationType.get(entry).equals(operationType)) {
-                outputData.write(entry);
-                foundOperationType = true;
-                break;
-            }
-        }
-        if (!foundOperationType) {
+        Integer varOperationType = reverseDoorLockConfigurationReportOperationType.get(operationType);
+        if (varOperationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + operationType + "' for operationType");
         }
+        outputData.write(varOperationType);
 
         // Process 'Properties1'
         int valProperties1 = 0;
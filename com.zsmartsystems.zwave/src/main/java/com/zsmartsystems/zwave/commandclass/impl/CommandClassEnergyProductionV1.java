@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +43,10 @@ public class CommandClassEnergyProductionV1 {
      * Energy Production Get Command Constant
      */
     public final static int ENERGY_PRODUCTION_GET = 0x02;
+    /**
+     * Length of the encoded ENERGY_PRODUCTION_GET command
+     */
+    public final static int ENERGY_PRODUCTION_GET_LENGTH = 3;
     /**
      * Energy Production Report Command Constant
      */
@@ -51,11 +57,21 @@ public class CommandClassEnergyProductionV1 {
      */
     private static Map<Integer, String> constantEnergyProductionGetParameterNumber = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EnergyProductionGetParameterNumber, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEnergyProductionGetParameterNumber = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for EnergyProductionReportParameterNumber
      */
     private static Map<Integer, String> constantEnergyProductionReportParameterNumber = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EnergyProductionReportParameterNumber, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEnergyProductionReportParameterNumber = new HashMap<String, Integer>();
+
     static {
         // Constants for EnergyProductionGetParameterNumber
         constantEnergyProductionGetParameterNumber.put(0x00, "INSTANT_ENERGY_PRODUCTION");
@@ -68,6 +84,18 @@ public class CommandClassEnergyProductionV1 {
         constantEnergyProductionReportParameterNumber.put(0x01, "TOTAL_ENERGY_PRODUCTION");
         constantEnergyProductionReportParameterNumber.put(0x02, "ENERGY_PRODUCTION_TODAY");
         constantEnergyProductionReportParameterNumber.put(0x03, "TOTAL_PRODUCTION_TIME");
+
+        // Reverse constants for EnergyProductionGetParameterNumber
+        reverseEnergyProductionGetParameterNumber.put("INSTANT_ENERGY_PRODUCTION", 0x00);
+        reverseEnergyProductionGetParameterNumber.put("TOTAL_ENERGY_PRODUCTION", 0x01);
+        reverseEnergyProductionGetParameterNumber.put("ENERGY_PRODUCTION_TODAY", 0x02);
+        reverseEnergyProductionGetParameterNumber.put("TOTAL_PRODUCTION_TIME", 0x03);
+
+        // Reverse constants for EnergyProductionReportParameterNumber
+        reverseEnergyProductionReportParameterNumber.put("INSTANT_ENERGY_PRODUCTION", 0x00);
+        reverseEnergyProductionReportParameterNumber.put("TOTAL_ENERGY_PRODUCTION", 0x01);
+        reverseEnergyProductionReportParameterNumber.put("ENERGY_PRODUCTION_TODAY", 0x02);
+        reverseEnergyProductionReportParameterNumber.put("TOTAL_PRODUCTION_TIME", 0x03);
     }
 
     /**
@@ -87,26 +115,45 @@ public class CommandClassEnergyProductionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEnergyProductionGet(String parameterNumber) {
+        byte[] outputData = new byte[ENERGY_PRODUCTION_GET_LENGTH];
+        getEnergyProductionGet(ByteBuffer.wrap(outputData), parameterNumber);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ENERGY_PRODUCTION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ENERGY_PRODUCTION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterNumber {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANT_ENERGY_PRODUCTION
+     *            <li>TOTAL_ENERGY_PRODUCTION
+     *            <li>ENERGY_PRODUCTION_TODAY
+     *            <li>TOTAL_PRODUCTION_TIME
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #ENERGY_PRODUCTION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getEnergyProductionGet(ByteBuffer buffer, String parameterNumber) {
         logger.debug("Creating command message ENERGY_PRODUCTION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ENERGY_PRODUCTION_GET);
+        if (buffer.remaining() < ENERGY_PRODUCTION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Parameter Number'
-        boolean foundParameterNumber = false;
-        for (Integer entry : constantEnergyProductionGetParameterNumber.keySet()) {
-            if (constantEnergyProductionGetParameterNumber.get(entry).equals(parameterNumber)) {
-                outputData.write(entry);
-                foundParameterNumber = true;
-                break;
-            }
-        }
-        if (!foundParameterNumber) {
+        Integer varParameterNumber = reverseEnergyProductionGetParameterNumber.get(parameterNumber);
+        if (varParameterNumber == null) {
             throw new IllegalArgumentException("Unknown constant value '" + parameterNumber + "' for parameterNumber");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ENERGY_PRODUCTION_GET);
+        buffer.put(varParameterNumber.byteValue());
     }
 
     /**
@@ -170,17 +217,11 @@ public class CommandClassEnergyProductionV1 {
         outputData.write(ENERGY_PRODUCTION_REPORT);
 
         // Process 'Parameter Number'
-        boolean foundParameterNumber = false;
-        for (Integer entry : constantEnergyProductionReportParameterNumber.keySet()) {
-            if (constantEnergyProductionReportParameterNumber.get(entry).equals(parameterNumber)) {
-                outputData.write(entry);
-                foundParameterNumber = true;
-                break;
-            }
-        }
-        if (!foundParameterNumber) {
+        Integer varParameterNumber = reverseEnergyProductionReportParameterNumber.get(parameterNumber);
+        if (varParameterNumber == null) {
             throw new IllegalArgumentException("Unknown constant value '" + parameterNumber + "' for parameterNumber");
         }
+        outputData.write(varParameterNumber);
 
         // Process 'Level'
         // Size is used by 'Value'
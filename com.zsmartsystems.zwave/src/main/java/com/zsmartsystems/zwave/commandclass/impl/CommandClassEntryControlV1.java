@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -48,6 +50,10 @@ public class CommandClassEntryControlV1 {
      * Entry Control Key Supported Get Command Constant
      */
     public final static int ENTRY_CONTROL_KEY_SUPPORTED_GET = 0x02;
+    /**
+     * Length of the encoded ENTRY_CONTROL_KEY_SUPPORTED_GET command
+     */
+    public final static int ENTRY_CONTROL_KEY_SUPPORTED_GET_LENGTH = 2;
     /**
      * Entry Control Key Supported Report Command Constant
      */
@@ -56,6 +62,10 @@ public class CommandClassEntryControlV1 {
      * Entry Control Event Supported Get Command Constant
      */
     public final static int ENTRY_CONTROL_EVENT_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded ENTRY_CONTROL_EVENT_SUPPORTED_GET command
+     */
+    public final static int ENTRY_CONTROL_EVENT_SUPPORTED_GET_LENGTH = 2;
     /**
      * Entry Control Event Supported Report Command Constant
      */
@@ -64,35 +74,67 @@ public class CommandClassEntryControlV1 {
      * Entry Control Configuration Set Command Constant
      */
     public final static int ENTRY_CONTROL_CONFIGURATION_SET = 0x06;
+    /**
+     * Length of the encoded ENTRY_CONTROL_CONFIGURATION_SET command
+     */
+    public final static int ENTRY_CONTROL_CONFIGURATION_SET_LENGTH = 4;
     /**
      * Entry Control Configuration Get Command Constant
      */
     public final static int ENTRY_CONTROL_CONFIGURATION_GET = 0x07;
+    /**
+     * Length of the encoded ENTRY_CONTROL_CONFIGURATION_GET command
+     */
+    public final static int ENTRY_CONTROL_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Entry Control Configuration Report Command Constant
      */
     public final static int ENTRY_CONTROL_CONFIGURATION_REPORT = 0x08;
+    /**
+     * Length of the encoded ENTRY_CONTROL_CONFIGURATION_REPORT command
+     */
+    public final static int ENTRY_CONTROL_CONFIGURATION_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for EntryControlNotificationEventType
      */
     private static Map<Integer, String> constantEntryControlNotificationEventType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EntryControlNotificationEventType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEntryControlNotificationEventType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for EntryControlEventSupportedReportDataTypeSupportedBitMask
      */
     private static Map<Integer, String> constantEntryControlEventSupportedReportDataTypeSupportedBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EntryControlEventSupportedReportDataTypeSupportedBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEntryControlEventSupportedReportDataTypeSupportedBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for EntryControlEventSupportedReportEventTypeSupportedBitMask
      */
     private static Map<Integer, String> constantEntryControlEventSupportedReportEventTypeSupportedBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EntryControlEventSupportedReportEventTypeSupportedBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEntryControlEventSupportedReportEventTypeSupportedBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for EntryControlNotificationDataType
      */
     private static Map<Integer, String> constantEntryControlNotificationDataType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EntryControlNotificationDataType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEntryControlNotificationDataType = new HashMap<String, Integer>();
+
     static {
         // Constants for EntryControlNotificationEventType
         constantEntryControlNotificationEventType.put(0x00, "CACHING");
@@ -161,6 +203,74 @@ public class CommandClassEntryControlV1 {
         constantEntryControlNotificationDataType.put(0x01, "RAW");
         constantEntryControlNotificationDataType.put(0x02, "ASCII");
         constantEntryControlNotificationDataType.put(0x03, "MD5");
+
+        // Reverse constants for EntryControlNotificationEventType
+        reverseEntryControlNotificationEventType.put("CACHING", 0x00);
+        reverseEntryControlNotificationEventType.put("CACHED_KEYS", 0x01);
+        reverseEntryControlNotificationEventType.put("ENTER", 0x02);
+        reverseEntryControlNotificationEventType.put("DISARM_ALL", 0x03);
+        reverseEntryControlNotificationEventType.put("ARM_ALL", 0x04);
+        reverseEntryControlNotificationEventType.put("ARM_AWAY", 0x05);
+        reverseEntryControlNotificationEventType.put("ARM_HOME", 0x06);
+        reverseEntryControlNotificationEventType.put("EXIT_DELAY", 0x07);
+        reverseEntryControlNotificationEventType.put("ARM_1", 0x08);
+        reverseEntryControlNotificationEventType.put("ARM_2", 0x09);
+        reverseEntryControlNotificationEventType.put("ARM_3", 0x0A);
+        reverseEntryControlNotificationEventType.put("ARM_4", 0x0B);
+        reverseEntryControlNotificationEventType.put("ARM_5", 0x0C);
+        reverseEntryControlNotificationEventType.put("ARM_6", 0x0D);
+        reverseEntryControlNotificationEventType.put("RFID", 0x0E);
+        reverseEntryControlNotificationEventType.put("BELL", 0x0F);
+        reverseEntryControlNotificationEventType.put("FIRE", 0x10);
+        reverseEntryControlNotificationEventType.put("POLICE", 0x11);
+        reverseEntryControlNotificationEventType.put("ALERT_PANIC", 0x12);
+        reverseEntryControlNotificationEventType.put("ALERT_MEDICAL", 0x13);
+        reverseEntryControlNotificationEventType.put("GATE_OPEN", 0x14);
+        reverseEntryControlNotificationEventType.put("GATE_CLOSE", 0x15);
+        reverseEntryControlNotificationEventType.put("LOCK", 0x16);
+        reverseEntryControlNotificationEventType.put("UNLOCK", 0x17);
+        reverseEntryControlNotificationEventType.put("TEST", 0x18);
+        reverseEntryControlNotificationEventType.put("CANCEL", 0x19);
+
+        // Reverse constants for EntryControlEventSupportedReportDataTypeSupportedBitMask
+        reverseEntryControlEventSupportedReportDataTypeSupportedBitMask.put("NA", 0x00);
+        reverseEntryControlEventSupportedReportDataTypeSupportedBitMask.put("RAW", 0x01);
+        reverseEntryControlEventSupportedReportDataTypeSupportedBitMask.put("ASCII", 0x02);
+        reverseEntryControlEventSupportedReportDataTypeSupportedBitMask.put("MD5", 0x03);
+
+        // Reverse constants for EntryControlEventSupportedReportEventTypeSupportedBitMask
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("CACHING", 0x00);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("CACHED_KEYS", 0x01);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ENTER", 0x02);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("DISARM_ALL", 0x03);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_ALL", 0x04);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_AWAY", 0x05);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_HOME", 0x06);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("EXIT_DELAY", 0x07);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_1", 0x08);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_2", 0x09);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_3", 0x0A);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_4", 0x0B);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_5", 0x0C);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ARM_6", 0x0D);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("RFID", 0x0E);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("BELL", 0x0F);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("FIRE", 0x10);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("POLICE", 0x11);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ALERT_PANIC", 0x12);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("ALERT_MEDICAL", 0x13);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("GATE_OPEN", 0x14);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("GATE_CLOSE", 0x15);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("LOCK", 0x16);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("UNLOCK", 0x17);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("TEST", 0x18);
+        reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.put("CANCEL", 0x19);
+
+        // Reverse constants for EntryControlNotificationDataType
+        reverseEntryControlNotificationDataType.put("NA", 0x00);
+        reverseEntryControlNotificationDataType.put("RAW", 0x01);
+        reverseEntryControlNotificationDataType.put("ASCII", 0x02);
+        reverseEntryControlNotificationDataType.put("MD5", 0x03);
     }
 
     /**
@@ -225,30 +335,18 @@ public class CommandClassEntryControlV1 {
         outputData.write(sequenceNumber);
 
         // Process 'Properties1'
-        int varDataType = Integer.MAX_VALUE;
-        for (Integer entry : constantEntryControlNotificationDataType.keySet()) {
-            if (constantEntryControlNotificationDataType.get(entry).equals(dataType)) {
-                varDataType = entry;
-                break;
-            }
-        }
-        if (varDataType == Integer.MAX_VALUE) {
+        Integer varDataType = reverseEntryControlNotificationDataType.get(dataType);
+        if (varDataType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dataType + "' for dataType");
         }
         outputData.write(varDataType & 0x03);
 
         // Process 'Event Type'
-        boolean foundEventType = false;
-        for (Integer entry : constantEntryControlNotificationEventType.keySet()) {
-            if (constantEntryControlNotificationEventType.get(entry).equals(eventType)) {
-                outputData.write(entry);
-                foundEventType = true;
-                break;
-            }
-        }
-        if (!foundEventType) {
+        Integer varEventType = reverseEntryControlNotificationEventType.get(eventType);
+        if (varEventType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + eventType + "' for eventType");
         }
+        outputData.write(varEventType);
 
         // Process 'Event Data Length'
         outputData.write(eventDataLength);
@@ -364,13 +462,30 @@ public class CommandClassEntryControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEntryControlKeySupportedGet() {
+        byte[] outputData = new byte[ENTRY_CONTROL_KEY_SUPPORTED_GET_LENGTH];
+        getEntryControlKeySupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ENTRY_CONTROL_KEY_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ENTRY_CONTROL_KEY_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ENTRY_CONTROL_KEY_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getEntryControlKeySupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message ENTRY_CONTROL_KEY_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ENTRY_CONTROL_KEY_SUPPORTED_GET);
+        if (buffer.remaining() < ENTRY_CONTROL_KEY_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ENTRY_CONTROL_KEY_SUPPORTED_GET);
     }
 
     /**
@@ -470,13 +585,31 @@ public class CommandClassEntryControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEntryControlEventSupportedGet() {
+        byte[] outputData = new byte[ENTRY_CONTROL_EVENT_SUPPORTED_GET_LENGTH];
+        getEntryControlEventSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ENTRY_CONTROL_EVENT_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ENTRY_CONTROL_EVENT_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ENTRY_CONTROL_EVENT_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getEntryControlEventSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message ENTRY_CONTROL_EVENT_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ENTRY_CONTROL_EVENT_SUPPORTED_GET);
+        if (buffer.remaining() < ENTRY_CONTROL_EVENT_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ENTRY_CONTROL_EVENT_SUPPORTED_GET);
     }
 
     /**
@@ -562,17 +695,11 @@ public class CommandClassEntryControlV1 {
         // Process 'Data Type Supported Bit Mask'
         int valDataTypeSupportedBitMask = 0;
         for (String value : dataTypeSupportedBitMask) {
-            boolean foundDataTypeSupportedBitMask = false;
-            for (Integer entry : constantEntryControlEventSupportedReportDataTypeSupportedBitMask.keySet()) {
-                if (constantEntryControlEventSupportedReportDataTypeSupportedBitMask.get(entry).equals(value)) {
-                    foundDataTypeSupportedBitMask = true;
-                    valDataTypeSupportedBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundDataTypeSupportedBitMask) {
+            Integer varDataTypeSupportedBitMask = reverseEntryControlEventSupportedReportDataTypeSupportedBitMask.get(value);
+            if (varDataTypeSupportedBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + dataTypeSupportedBitMask + "' for dataTypeSupportedBitMask");
             }
+            valDataTypeSupportedBitMask += varDataTypeSupportedBitMask;
         }
         outputData.write(valDataTypeSupportedBitMask);
 
@@ -582,17 +709,11 @@ public class CommandClassEntryControlV1 {
         // Process 'Event Type Supported Bit Mask'
         int valEventTypeSupportedBitMask = 0;
         for (String value : eventTypeSupportedBitMask) {
-            boolean foundEventTypeSupportedBitMask = false;
-            for (Integer entry : constantEntryControlEventSupportedReportEventTypeSupportedBitMask.keySet()) {
-                if (constantEntryControlEventSupportedReportEventTypeSupportedBitMask.get(entry).equals(value)) {
-                    foundEventTypeSupportedBitMask = true;
-                    valEventTypeSupportedBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundEventTypeSupportedBitMask) {
+            Integer varEventTypeSupportedBitMask = reverseEntryControlEventSupportedReportEventTypeSupportedBitMask.get(value);
+            if (varEventTypeSupportedBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + eventTypeSupportedBitMask + "' for eventTypeSupportedBitMask");
             }
+            valEventTypeSupportedBitMask += varEventTypeSupportedBitMask;
         }
         outputData.write(valEventTypeSupportedBitMask);
 
@@ -726,19 +847,35 @@ public class CommandClassEntryControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEntryControlConfigurationSet(Integer keyCacheSize, Integer keyCacheTimeout) {
-        logger.debug("Creating command message ENTRY_CONTROL_CONFIGURATION_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ENTRY_CONTROL_CONFIGURATION_SET);
+        byte[] outputData = new byte[ENTRY_CONTROL_CONFIGURATION_SET_LENGTH];
+        getEntryControlConfigurationSet(ByteBuffer.wrap(outputData), keyCacheSize, keyCacheTimeout);
+        return outputData;
+    }
 
-        // Process 'Key Cache Size'
-        outputData.write(keyCacheSize);
+    /**
+     * Writes a new message with the ENTRY_CONTROL_CONFIGURATION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ENTRY_CONTROL_CONFIGURATION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param keyCacheSize {@link Integer}
+     * @param keyCacheTimeout {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ENTRY_CONTROL_CONFIGURATION_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getEntryControlConfigurationSet(ByteBuffer buffer, Integer keyCacheSize,
+            Integer keyCacheTimeout) {
+        logger.debug("Creating command message ENTRY_CONTROL_CONFIGURATION_SET version 1");
 
-        // Process 'Key Cache Timeout'
-        outputData.write(keyCacheTimeout);
+        if (buffer.remaining() < ENTRY_CONTROL_CONFIGURATION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ENTRY_CONTROL_CONFIGURATION_SET);
+        buffer.put(keyCacheSize.byteValue());
+        buffer.put(keyCacheTimeout.byteValue());
     }
 
     /**
@@ -778,13 +915,30 @@ public class CommandClassEntryControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEntryControlConfigurationGet() {
+        byte[] outputData = new byte[ENTRY_CONTROL_CONFIGURATION_GET_LENGTH];
+        getEntryControlConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ENTRY_CONTROL_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ENTRY_CONTROL_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ENTRY_CONTROL_CONFIGURATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getEntryControlConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message ENTRY_CONTROL_CONFIGURATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ENTRY_CONTROL_CONFIGURATION_GET);
+        if (buffer.remaining() < ENTRY_CONTROL_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ENTRY_CONTROL_CONFIGURATION_GET);
     }
 
     /**
@@ -813,19 +967,36 @@ public class CommandClassEntryControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEntryControlConfigurationReport(Integer keyCacheSize, Integer keyCacheTimeout) {
-        logger.debug("Creating command message ENTRY_CONTROL_CONFIGURATION_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ENTRY_CONTROL_CONFIGURATION_REPORT);
+        byte[] outputData = new byte[ENTRY_CONTROL_CONFIGURATION_REPORT_LENGTH];
+        getEntryControlConfigurationReport(ByteBuffer.wrap(outputData), keyCacheSize, keyCacheTimeout);
+        return outputData;
+    }
 
-        // Process 'Key Cache Size'
-        outputData.write(keyCacheSize);
+    /**
+     * Writes a new message with the ENTRY_CONTROL_CONFIGURATION_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ENTRY_CONTROL_CONFIGURATION_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param keyCacheSize {@link Integer}
+     * @param keyCacheTimeout {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #ENTRY_CONTROL_CONFIGURATION_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getEntryControlConfigurationReport(ByteBuffer buffer, Integer keyCacheSize,
+            Integer keyCacheTimeout) {
+        logger.debug("Creating command message ENTRY_CONTROL_CONFIGURATION_REPORT version 1");
 
-        // Process 'Key Cache Timeout'
-        outputData.write(keyCacheTimeout);
+        if (buffer.remaining() < ENTRY_CONTROL_CONFIGURATION_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ENTRY_CONTROL_CONFIGURATION_REPORT);
+        buffer.put(keyCacheSize.byteValue());
+        buffer.put(keyCacheTimeout.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassFirmwareUpdateMdV5 {
      * Firmware Md Get Command Constant
      */
     public final static int FIRMWARE_MD_GET = 0x01;
+    /**
+     * Length of the encoded FIRMWARE_MD_GET command
+     */
+    public final static int FIRMWARE_MD_GET_LENGTH = 2;
     /**
      * Firmware Md Report Command Constant
      */
@@ -55,6 +61,10 @@ public class CommandClassFirmwareUpdateMdV5 {
      * Firmware Update Md Request Report Command Constant
      */
     public final static int FIRMWARE_UPDATE_MD_REQUEST_REPORT = 0x04;
+    /**
+     * Length of the encoded FIRMWARE_UPDATE_MD_REQUEST_REPORT command
+     */
+    public final static int FIRMWARE_UPDATE_MD_REQUEST_REPORT_LENGTH = 3;
     /**
      * Firmware Update Md Get Command Constant
      */
@@ -67,6 +77,10 @@ public class CommandClassFirmwareUpdateMdV5 {
      * Firmware Update Md Status Report Command Constant
      */
     public final static int FIRMWARE_UPDATE_MD_STATUS_REPORT = 0x07;
+    /**
+     * Length of the encoded FIRMWARE_UPDATE_MD_STATUS_REPORT command
+     */
+    public final static int FIRMWARE_UPDATE_MD_STATUS_REPORT_LENGTH = 5;
     /**
      * Firmware Update Activation Set Command Command Constant
      */
@@ -83,17 +97,31 @@ public class CommandClassFirmwareUpdateMdV5 {
      * Firmware Update MD Prepare Report Command Constant
      */
     public final static int FIRMWARE_UPDATE_MD_PREPARE_REPORT = 0x0B;
+    /**
+     * Length of the encoded FIRMWARE_UPDATE_MD_PREPARE_REPORT command
+     */
+    public final static int FIRMWARE_UPDATE_MD_PREPARE_REPORT_LENGTH = 5;
 
     /**
      * Map holding constants for FirmwareUpdateMdStatusReportStatus
      */
     private static Map<Integer, String> constantFirmwareUpdateMdStatusReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FirmwareUpdateMdStatusReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFirmwareUpdateMdStatusReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for FirmwareUpdateMdRequestReportStatus
      */
     private static Map<Integer, String> constantFirmwareUpdateMdRequestReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FirmwareUpdateMdRequestReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFirmwareUpdateMdRequestReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for FirmwareUpdateMdRequestGetProperties1
      */
@@ -104,11 +132,21 @@ public class CommandClassFirmwareUpdateMdV5 {
      */
     private static Map<Integer, String> constantFirmwareUpdateActivationStatusReportFirmwareUpdateStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FirmwareUpdateActivationStatusReportFirmwareUpdateStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFirmwareUpdateActivationStatusReportFirmwareUpdateStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for FirmwareUpdateMdPrepareReportStatus
      */
     private static Map<Integer, String> constantFirmwareUpdateMdPrepareReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FirmwareUpdateMdPrepareReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFirmwareUpdateMdPrepareReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for FirmwareUpdateMdReportProperties1
      */
@@ -163,6 +201,41 @@ public class CommandClassFirmwareUpdateMdV5 {
 
         // Constants for FirmwareUpdateMdGetProperties1
         constantFirmwareUpdateMdGetProperties1.put(0x80, "ZERO");
+
+        // Reverse constants for FirmwareUpdateMdStatusReportStatus
+        reverseFirmwareUpdateMdStatusReportStatus.put("UNABLE_TO_RECEIVE_WITHOUT_CHECKSUM_ERROR", 0x00);
+        reverseFirmwareUpdateMdStatusReportStatus.put("UNABLE_TO_RECEIVE", 0x01);
+        reverseFirmwareUpdateMdStatusReportStatus.put("DOES_NOT_MATCH_THE_MANUFACTURER_ID", 0x02);
+        reverseFirmwareUpdateMdStatusReportStatus.put("DOES_NOT_MATCH_THE_FIRMWARE_ID", 0x03);
+        reverseFirmwareUpdateMdStatusReportStatus.put("DOES_NOT_MATCH_THE_FIRMWARE_TARGET", 0x04);
+        reverseFirmwareUpdateMdStatusReportStatus.put("INVALID_FILE_HEADER_INFORMATION", 0x05);
+        reverseFirmwareUpdateMdStatusReportStatus.put("INVALID_FILE_HEADER_FORMAT", 0x06);
+        reverseFirmwareUpdateMdStatusReportStatus.put("INSUFFICIENT_MEMORY", 0x07);
+        reverseFirmwareUpdateMdStatusReportStatus.put("DOES_NOT_MATCH_THE_HARDWARE_VERSION", 0x08);
+        reverseFirmwareUpdateMdStatusReportStatus.put("SUCCESSFULLY_WAITING_FOR_ACTIVATION", 0xFD);
+        reverseFirmwareUpdateMdStatusReportStatus.put("SUCCESSFULLY_STORED", 0xFE);
+        reverseFirmwareUpdateMdStatusReportStatus.put("SUCCESSFULLY", 0xFF);
+
+        // Reverse constants for FirmwareUpdateMdRequestReportStatus
+        reverseFirmwareUpdateMdRequestReportStatus.put("INVALID_COMBINATION", 0x00);
+        reverseFirmwareUpdateMdRequestReportStatus.put("REQUIRES_AUTHENTICATION", 0x01);
+        reverseFirmwareUpdateMdRequestReportStatus.put("INVALID_FRAGMENT_SIZE", 0x02);
+        reverseFirmwareUpdateMdRequestReportStatus.put("NOT_UPGRADABLE", 0x03);
+        reverseFirmwareUpdateMdRequestReportStatus.put("INVALID_HARDWARE_VERSION", 0x04);
+        reverseFirmwareUpdateMdRequestReportStatus.put("VALID_COMBINATION", 0xFF);
+
+        // Reverse constants for FirmwareUpdateActivationStatusReportFirmwareUpdateStatus
+        reverseFirmwareUpdateActivationStatusReportFirmwareUpdateStatus.put("INVALID_COMBINATION", 0x00);
+        reverseFirmwareUpdateActivationStatusReportFirmwareUpdateStatus.put("ERROR_ACTIVATING_THE_FIRMWARE", 0x01);
+        reverseFirmwareUpdateActivationStatusReportFirmwareUpdateStatus.put("FIRMWARE_UPDATE_COMPLETED_SUCCESSFULLY", 0xFF);
+
+        // Reverse constants for FirmwareUpdateMdPrepareReportStatus
+        reverseFirmwareUpdateMdPrepareReportStatus.put("INVALID_COMBINATION", 0x00);
+        reverseFirmwareUpdateMdPrepareReportStatus.put("REQUIRES_AUTHENTICATION", 0x01);
+        reverseFirmwareUpdateMdPrepareReportStatus.put("INVALID_FRAGMENT_SIZE", 0x02);
+        reverseFirmwareUpdateMdPrepareReportStatus.put("NOT_UPGRADABLE", 0x03);
+        reverseFirmwareUpdateMdPrepareReportStatus.put("INVALID_HARDWARE_VERSION", 0x04);
+        reverseFirmwareUpdateMdPrepareReportStatus.put("VALID_COMBINATION", 0xFF);
     }
 
     /**
@@ -173,13 +246,29 @@ public class CommandClassFirmwareUpdateMdV5 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFirmwareMdGet() {
+        byte[] outputData = new byte[FIRMWARE_MD_GET_LENGTH];
+        getFirmwareMdGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the FIRMWARE_MD_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FIRMWARE_MD_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #FIRMWARE_MD_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getFirmwareMdGet(ByteBuffer buffer) {
         logger.debug("Creating command message FIRMWARE_MD_GET version 5");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FIRMWARE_MD_GET);
+        if (buffer.remaining() < FIRMWARE_MD_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FIRMWARE_MD_GET);
     }
 
     /**
@@ -441,26 +530,49 @@ public class CommandClassFirmwareUpdateMdV5 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFirmwareUpdateMdRequestReport(String status) {
+        byte[] outputData = new byte[FIRMWARE_UPDATE_MD_REQUEST_REPORT_LENGTH];
+        getFirmwareUpdateMdRequestReport(ByteBuffer.wrap(outputData), status);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the FIRMWARE_UPDATE_MD_REQUEST_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FIRMWARE_UPDATE_MD_REQUEST_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INVALID_COMBINATION
+     *            <li>VALID_COMBINATION
+     *            <li>REQUIRES_AUTHENTICATION
+     *            <li>INVALID_FRAGMENT_SIZE
+     *            <li>NOT_UPGRADABLE
+     *            <li>INVALID_HARDWARE_VERSION
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #FIRMWARE_UPDATE_MD_REQUEST_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getFirmwareUpdateMdRequestReport(ByteBuffer buffer, String status) {
         logger.debug("Creating command message FIRMWARE_UPDATE_MD_REQUEST_REPORT version 5");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FIRMWARE_UPDATE_MD_REQUEST_REPORT);
+        if (buffer.remaining() < FIRMWARE_UPDATE_MD_REQUEST_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantFirmwareUpdateMdRequestReportStatus.keySet()) {
-            if (constantFirmwareUpdateMdRequestReportStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseFirmwareUpdateMdRequestReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FIRMWARE_UPDATE_MD_REQUEST_REPORT);
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -687,30 +799,57 @@ public class CommandClassFirmwareUpdateMdV5 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFirmwareUpdateMdStatusReport(String status, Integer waittime) {
+        byte[] outputData = new byte[FIRMWARE_UPDATE_MD_STATUS_REPORT_LENGTH];
+        getFirmwareUpdateMdStatusReport(ByteBuffer.wrap(outputData), status, waittime);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the FIRMWARE_UPDATE_MD_STATUS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FIRMWARE_UPDATE_MD_STATUS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SUCCESSFULLY_STORED
+     *            <li>UNABLE_TO_RECEIVE_WITHOUT_CHECKSUM_ERROR
+     *            <li>SUCCESSFULLY
+     *            <li>UNABLE_TO_RECEIVE
+     *            <li>DOES_NOT_MATCH_THE_MANUFACTURER_ID
+     *            <li>SUCCESSFULLY_WAITING_FOR_ACTIVATION
+     *            <li>DOES_NOT_MATCH_THE_FIRMWARE_ID
+     *            <li>DOES_NOT_MATCH_THE_FIRMWARE_TARGET
+     *            <li>INVALID_FILE_HEADER_INFORMATION
+     *            <li>INVALID_FILE_HEADER_FORMAT
+     *            <li>INSUFFICIENT_MEMORY
+     *            <li>DOES_NOT_MATCH_THE_HARDWARE_VERSION
+     *            </ul>
+     * @param waittime {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #FIRMWARE_UPDATE_MD_STATUS_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getFirmwareUpdateMdStatusReport(ByteBuffer buffer, String status, Integer waittime) {
         logger.debug("Creating command message FIRMWARE_UPDATE_MD_STATUS_REPORT version 5");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FIRMWARE_UPDATE_MD_STATUS_REPORT);
+        if (buffer.remaining() < FIRMWARE_UPDATE_MD_STATUS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantFirmwareUpdateMdStatusReportStatus.keySet()) {
-            if (constantFirmwareUpdateMdStatusReportStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseFirmwareUpdateMdStatusReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        // Process 'WaitTime'
-        outputData.write((waittime >> 8) & 0xff);
-        outputData.write(waittime & 0xff);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FIRMWARE_UPDATE_MD_STATUS_REPORT);
+        buffer.put(varStatus.byteValue());
+        buffer.put((byte) ((waittime >> 8) & 0xff));
+        buffer.put((byte) (waittime & 0xff));
     }
 
     /**
@@ -883,17 +1022,11 @@ public class CommandClassFirmwareUpdateMdV5 {
         outputData.write(firmwareTarget);
 
         // Process 'Firmware Update Status'
-        boolean foundFirmwareUpdateStatus = false;
-        for (Integer entry : constantFirmwareUpdateActivationStatusReportFirmwareUpdateStatus.keySet()) {
-            if (constantFirmwareUpdateActivationStatusReportFirmwareUpdateStatus.get(entry).equals(firmwareUpdateStatus)) {
-                outputData.write(entry);
-                foundFirmwareUpdateStatus = true;
-                break;
-            }
-        }
-        if (!foundFirmwareUpdateStatus) {
+        Integer varFirmwareUpdateStatus = reverseFirmwareUpdateActivationStatusReportFirmwareUpdateStatus.get(firmwareUpdateStatus);
+        if (varFirmwareUpdateStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + firmwareUpdateStatus + "' for firmwareUpdateStatus");
         }
+        outputData.write(varFirmwareUpdateStatus);
 
         // Process 'Hardware Version'
         outputData.write(hardwareVersion);
@@ -1055,30 +1188,52 @@ public class CommandClassFirmwareUpdateMdV5 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFirmwareUpdateMdPrepareReport(String status, Integer firmwareChecksum) {
+        byte[] outputData = new byte[FIRMWARE_UPDATE_MD_PREPARE_REPORT_LENGTH];
+        getFirmwareUpdateMdPrepareReport(ByteBuffer.wrap(outputData), status, firmwareChecksum);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the FIRMWARE_UPDATE_MD_PREPARE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FIRMWARE_UPDATE_MD_PREPARE_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INVALID_COMBINATION
+     *            <li>VALID_COMBINATION
+     *            <li>REQUIRES_AUTHENTICATION
+     *            <li>INVALID_FRAGMENT_SIZE
+     *            <li>NOT_UPGRADABLE
+     *            <li>INVALID_HARDWARE_VERSION
+     *            </ul>
+     * @param firmwareChecksum {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #FIRMWARE_UPDATE_MD_PREPARE_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getFirmwareUpdateMdPrepareReport(ByteBuffer buffer, String status, Integer firmwareChecksum) {
         logger.debug("Creating command message FIRMWARE_UPDATE_MD_PREPARE_REPORT version 5");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FIRMWARE_UPDATE_MD_PREPARE_REPORT);
+        if (buffer.remaining() < FIRMWARE_UPDATE_MD_PREPARE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantFirmwareUpdateMdPrepareReportStatus.keySet()) {
-            if (constantFirmwareUpdateMdPrepareReportStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseFirmwareUpdateMdPrepareReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        // Process 'Firmware Checksum'
-        outputData.write((firmwareChecksum >> 8) & 0xff);
-        outputData.write(firmwareChecksum & 0xff);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FIRMWARE_UPDATE_MD_PREPARE_REPORT);
+        buffer.put(varStatus.byteValue());
+        buffer.put((byte) ((firmwareChecksum >> 8) & 0xff));
+        buffer.put((byte) (firmwareChecksum & 0xff));
     }
 
     /**
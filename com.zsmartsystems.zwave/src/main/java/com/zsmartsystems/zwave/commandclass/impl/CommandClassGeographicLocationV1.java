@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassGeographicLocationV1 {
      * Geographic Location Get Command Constant
      */
     public final static int GEOGRAPHIC_LOCATION_GET = 0x02;
+    /**
+     * Length of the encoded GEOGRAPHIC_LOCATION_GET command
+     */
+    public final static int GEOGRAPHIC_LOCATION_GET_LENGTH = 2;
     /**
      * Geographic Location Report Command Constant
      */
@@ -174,13 +180,29 @@ public class CommandClassGeographicLocationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGeographicLocationGet() {
+        byte[] outputData = new byte[GEOGRAPHIC_LOCATION_GET_LENGTH];
+        getGeographicLocationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the GEOGRAPHIC_LOCATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GEOGRAPHIC_LOCATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #GEOGRAPHIC_LOCATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getGeographicLocationGet(ByteBuffer buffer) {
         logger.debug("Creating command message GEOGRAPHIC_LOCATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GEOGRAPHIC_LOCATION_GET);
+        if (buffer.remaining() < GEOGRAPHIC_LOCATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GEOGRAPHIC_LOCATION_GET);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -46,6 +48,10 @@ public class CommandClassGroupingNameV1 {
      * Grouping Name Get Command Constant
      */
     public final static int GROUPING_NAME_GET = 0x02;
+    /**
+     * Length of the encoded GROUPING_NAME_GET command
+     */
+    public final static int GROUPING_NAME_GET_LENGTH = 3;
     /**
      * Grouping Name Report Command Constant
      */
@@ -136,16 +142,31 @@ public class CommandClassGroupingNameV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGroupingNameGet(Integer groupingIdentifier) {
-        logger.debug("Creating command message GROUPING_NAME_GET version 1");
+        byte[] outputData = new byte[GROUPING_NAME_GET_LENGTH];
+        getGroupingNameGet(ByteBuffer.wrap(outputData), groupingIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GROUPING_NAME_GET);
+    /**
+     * Writes a new message with the GROUPING_NAME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GROUPING_NAME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #GROUPING_NAME_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getGroupingNameGet(ByteBuffer buffer, Integer groupingIdentifier) {
+        logger.debug("Creating command message GROUPING_NAME_GET version 1");
 
-        // Process 'Grouping identifier'
-        outputData.write(groupingIdentifier);
+        if (buffer.remaining() < GROUPING_NAME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GROUPING_NAME_GET);
+        buffer.put(groupingIdentifier.byteValue());
     }
 
     /**
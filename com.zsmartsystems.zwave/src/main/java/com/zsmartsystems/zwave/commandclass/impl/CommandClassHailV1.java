@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +41,10 @@ public class CommandClassHailV1 {
      * Hail Command Constant
      */
     public final static int HAIL = 0x01;
+    /**
+     * Length of the encoded HAIL command
+     */
+    public final static int HAIL_LENGTH = 2;
 
 
     /**
@@ -50,13 +55,29 @@ public class CommandClassHailV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHail() {
+        byte[] outputData = new byte[HAIL_LENGTH];
+        getHail(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HAIL command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HAIL_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HAIL_LENGTH} bytes remain in the buffer
+     */
+    static public void getHail(ByteBuffer buffer) {
         logger.debug("Creating command message HAIL version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HAIL);
+        if (buffer.remaining() < HAIL_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HAIL);
     }
 
     /**
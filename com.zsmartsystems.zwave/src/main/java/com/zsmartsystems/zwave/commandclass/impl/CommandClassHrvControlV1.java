@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,42 +44,82 @@ public class CommandClassHrvControlV1 {
      * Hrv Control Mode Set Command Constant
      */
     public final static int HRV_CONTROL_MODE_SET = 0x01;
+    /**
+     * Length of the encoded HRV_CONTROL_MODE_SET command
+     */
+    public final static int HRV_CONTROL_MODE_SET_LENGTH = 3;
     /**
      * Hrv Control Mode Get Command Constant
      */
     public final static int HRV_CONTROL_MODE_GET = 0x02;
+    /**
+     * Length of the encoded HRV_CONTROL_MODE_GET command
+     */
+    public final static int HRV_CONTROL_MODE_GET_LENGTH = 2;
     /**
      * Hrv Control Mode Report Command Constant
      */
     public final static int HRV_CONTROL_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded HRV_CONTROL_MODE_REPORT command
+     */
+    public final static int HRV_CONTROL_MODE_REPORT_LENGTH = 3;
     /**
      * Hrv Control Bypass Set Command Constant
      */
     public final static int HRV_CONTROL_BYPASS_SET = 0x04;
+    /**
+     * Length of the encoded HRV_CONTROL_BYPASS_SET command
+     */
+    public final static int HRV_CONTROL_BYPASS_SET_LENGTH = 3;
     /**
      * Hrv Control Bypass Get Command Constant
      */
     public final static int HRV_CONTROL_BYPASS_GET = 0x05;
+    /**
+     * Length of the encoded HRV_CONTROL_BYPASS_GET command
+     */
+    public final static int HRV_CONTROL_BYPASS_GET_LENGTH = 2;
     /**
      * Hrv Control Bypass Report Command Constant
      */
     public final static int HRV_CONTROL_BYPASS_REPORT = 0x06;
+    /**
+     * Length of the encoded HRV_CONTROL_BYPASS_REPORT command
+     */
+    public final static int HRV_CONTROL_BYPASS_REPORT_LENGTH = 3;
     /**
      * Hrv Control Ventilation Rate Set Command Constant
      */
     public final static int HRV_CONTROL_VENTILATION_RATE_SET = 0x07;
+    /**
+     * Length of the encoded HRV_CONTROL_VENTILATION_RATE_SET command
+     */
+    public final static int HRV_CONTROL_VENTILATION_RATE_SET_LENGTH = 3;
     /**
      * Hrv Control Ventilation Rate Get Command Constant
      */
     public final static int HRV_CONTROL_VENTILATION_RATE_GET = 0x08;
+    /**
+     * Length of the encoded HRV_CONTROL_VENTILATION_RATE_GET command
+     */
+    public final static int HRV_CONTROL_VENTILATION_RATE_GET_LENGTH = 2;
     /**
      * Hrv Control Ventilation Rate Report Command Constant
      */
     public final static int HRV_CONTROL_VENTILATION_RATE_REPORT = 0x09;
+    /**
+     * Length of the encoded HRV_CONTROL_VENTILATION_RATE_REPORT command
+     */
+    public final static int HRV_CONTROL_VENTILATION_RATE_REPORT_LENGTH = 3;
     /**
      * Hrv Control Mode Supported Get Command Constant
      */
     public final static int HRV_CONTROL_MODE_SUPPORTED_GET = 0x0A;
+    /**
+     * Length of the encoded HRV_CONTROL_MODE_SUPPORTED_GET command
+     */
+    public final static int HRV_CONTROL_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Hrv Control Mode Supported Report Command Constant
      */
@@ -88,21 +130,41 @@ public class CommandClassHrvControlV1 {
      */
     private static Map<Integer, String> constantHrvControlModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvControlModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvControlModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HrvControlModeSetMode
      */
     private static Map<Integer, String> constantHrvControlModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvControlModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvControlModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HrvControlModeReportMode
      */
     private static Map<Integer, String> constantHrvControlModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvControlModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvControlModeReportMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HrvControlModeSupportedReportManualControlSupported
      */
     private static Map<Integer, String> constantHrvControlModeSupportedReportManualControlSupported = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvControlModeSupportedReportManualControlSupported, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvControlModeSupportedReportManualControlSupported = new HashMap<String, Integer>();
+
     static {
         // Constants for HrvControlModeSupportedReportBitMask
         constantHrvControlModeSupportedReportBitMask.put(0x00, "OFF");
@@ -130,6 +192,33 @@ public class CommandClassHrvControlV1 {
         constantHrvControlModeSupportedReportManualControlSupported.put(0x01, "BYPASS_AUTO");
         constantHrvControlModeSupportedReportManualControlSupported.put(0x02, "MODULATED_BYPASS");
         constantHrvControlModeSupportedReportManualControlSupported.put(0x03, "VENTILATION_RATE");
+
+        // Reverse constants for HrvControlModeSupportedReportBitMask
+        reverseHrvControlModeSupportedReportBitMask.put("OFF", 0x00);
+        reverseHrvControlModeSupportedReportBitMask.put("DEMAND_AUTOMATIC", 0x01);
+        reverseHrvControlModeSupportedReportBitMask.put("SCHEDULE", 0x02);
+        reverseHrvControlModeSupportedReportBitMask.put("ENERGY_SAVINGS_MODE", 0x03);
+        reverseHrvControlModeSupportedReportBitMask.put("MANUAL", 0x04);
+
+        // Reverse constants for HrvControlModeSetMode
+        reverseHrvControlModeSetMode.put("OFF", 0x00);
+        reverseHrvControlModeSetMode.put("DEMAND_AUTOMATIC", 0x01);
+        reverseHrvControlModeSetMode.put("SCHEDULE", 0x02);
+        reverseHrvControlModeSetMode.put("ENERGY_SAVINGS_MODE", 0x03);
+        reverseHrvControlModeSetMode.put("MANUAL", 0x04);
+
+        // Reverse constants for HrvControlModeReportMode
+        reverseHrvControlModeReportMode.put("OFF", 0x00);
+        reverseHrvControlModeReportMode.put("DEMAND_AUTOMATIC", 0x01);
+        reverseHrvControlModeReportMode.put("SCHEDULE", 0x02);
+        reverseHrvControlModeReportMode.put("ENERGY_SAVINGS_MODE", 0x03);
+        reverseHrvControlModeReportMode.put("MANUAL", 0x04);
+
+        // Reverse constants for HrvControlModeSupportedReportManualControlSupported
+        reverseHrvControlModeSupportedReportManualControlSupported.put("BYPASS_OPEN_CLOSE", 0x00);
+        reverseHrvControlModeSupportedReportManualControlSupported.put("BYPASS_AUTO", 0x01);
+        reverseHrvControlModeSupportedReportManualControlSupported.put("MODULATED_BYPASS", 0x02);
+        reverseHrvControlModeSupportedReportManualControlSupported.put("VENTILATION_RATE", 0x03);
     }
 
     /**
@@ -150,26 +239,46 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlModeSet(String mode) {
+        byte[] outputData = new byte[HRV_CONTROL_MODE_SET_LENGTH];
+        getHrvControlModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_CONTROL_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>DEMAND_AUTOMATIC
+     *            <li>SCHEDULE
+     *            <li>ENERGY_SAVINGS_MODE
+     *            <li>MANUAL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvControlModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message HRV_CONTROL_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_MODE_SET);
+        if (buffer.remaining() < HRV_CONTROL_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantHrvControlModeSetMode.keySet()) {
-            if (constantHrvControlModeSetMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseHrvControlModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
-        outputData.write(varMode & 0x1F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_MODE_SET);
+        buffer.put((byte) (varMode & 0x1F));
     }
 
     /**
@@ -214,13 +323,29 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlModeGet() {
+        byte[] outputData = new byte[HRV_CONTROL_MODE_GET_LENGTH];
+        getHrvControlModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_CONTROL_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvControlModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message HRV_CONTROL_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_MODE_GET);
+        if (buffer.remaining() < HRV_CONTROL_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_MODE_GET);
     }
 
     /**
@@ -257,26 +382,46 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlModeReport(String mode) {
+        byte[] outputData = new byte[HRV_CONTROL_MODE_REPORT_LENGTH];
+        getHrvControlModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_CONTROL_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>DEMAND_AUTOMATIC
+     *            <li>SCHEDULE
+     *            <li>ENERGY_SAVINGS_MODE
+     *            <li>MANUAL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_MODE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvControlModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message HRV_CONTROL_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_MODE_REPORT);
+        if (buffer.remaining() < HRV_CONTROL_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantHrvControlModeReportMode.keySet()) {
-            if (constantHrvControlModeReportMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseHrvControlModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
-        outputData.write(varMode & 0x1F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_MODE_REPORT);
+        buffer.put((byte) (varMode & 0x1F));
     }
 
     /**
@@ -322,16 +467,31 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlBypassSet(Integer bypass) {
-        logger.debug("Creating command message HRV_CONTROL_BYPASS_SET version 1");
+        byte[] outputData = new byte[HRV_CONTROL_BYPASS_SET_LENGTH];
+        getHrvControlBypassSet(ByteBuffer.wrap(outputData), bypass);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_BYPASS_SET);
+    /**
+     * Writes a new message with the HRV_CONTROL_BYPASS_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_BYPASS_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param bypass {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_BYPASS_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvControlBypassSet(ByteBuffer buffer, Integer bypass) {
+        logger.debug("Creating command message HRV_CONTROL_BYPASS_SET version 1");
 
-        // Process 'Bypass'
-        outputData.write(bypass);
+        if (buffer.remaining() < HRV_CONTROL_BYPASS_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_BYPASS_SET);
+        buffer.put(bypass.byteValue());
     }
 
     /**
@@ -367,13 +527,29 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlBypassGet() {
+        byte[] outputData = new byte[HRV_CONTROL_BYPASS_GET_LENGTH];
+        getHrvControlBypassGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_CONTROL_BYPASS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_BYPASS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_BYPASS_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvControlBypassGet(ByteBuffer buffer) {
         logger.debug("Creating command message HRV_CONTROL_BYPASS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_BYPASS_GET);
+        if (buffer.remaining() < HRV_CONTROL_BYPASS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_BYPASS_GET);
     }
 
     /**
@@ -401,16 +577,32 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlBypassReport(Integer bypass) {
-        logger.debug("Creating command message HRV_CONTROL_BYPASS_REPORT version 1");
+        byte[] outputData = new byte[HRV_CONTROL_BYPASS_REPORT_LENGTH];
+        getHrvControlBypassReport(ByteBuffer.wrap(outputData), bypass);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_BYPASS_REPORT);
+    /**
+     * Writes a new message with the HRV_CONTROL_BYPASS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_BYPASS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param bypass {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_BYPASS_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getHrvControlBypassReport(ByteBuffer buffer, Integer bypass) {
+        logger.debug("Creating command message HRV_CONTROL_BYPASS_REPORT version 1");
 
-        // Process 'Bypass'
-        outputData.write(bypass);
+        if (buffer.remaining() < HRV_CONTROL_BYPASS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_BYPASS_REPORT);
+        buffer.put(bypass.byteValue());
     }
 
     /**
@@ -447,16 +639,32 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlVentilationRateSet(Integer ventilationRate) {
-        logger.debug("Creating command message HRV_CONTROL_VENTILATION_RATE_SET version 1");
+        byte[] outputData = new byte[HRV_CONTROL_VENTILATION_RATE_SET_LENGTH];
+        getHrvControlVentilationRateSet(ByteBuffer.wrap(outputData), ventilationRate);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_VENTILATION_RATE_SET);
+    /**
+     * Writes a new message with the HRV_CONTROL_VENTILATION_RATE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_VENTILATION_RATE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param ventilationRate {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_VENTILATION_RATE_SET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getHrvControlVentilationRateSet(ByteBuffer buffer, Integer ventilationRate) {
+        logger.debug("Creating command message HRV_CONTROL_VENTILATION_RATE_SET version 1");
 
-        // Process 'Ventilation Rate'
-        outputData.write(ventilationRate);
+        if (buffer.remaining() < HRV_CONTROL_VENTILATION_RATE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_VENTILATION_RATE_SET);
+        buffer.put(ventilationRate.byteValue());
     }
 
     /**
@@ -492,13 +700,30 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlVentilationRateGet() {
+        byte[] outputData = new byte[HRV_CONTROL_VENTILATION_RATE_GET_LENGTH];
+        getHrvControlVentilationRateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_CONTROL_VENTILATION_RATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_VENTILATION_RATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_VENTILATION_RATE_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getHrvControlVentilationRateGet(ByteBuffer buffer) {
         logger.debug("Creating command message HRV_CONTROL_VENTILATION_RATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_VENTILATION_RATE_GET);
+        if (buffer.remaining() < HRV_CONTROL_VENTILATION_RATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_VENTILATION_RATE_GET);
     }
 
     /**
@@ -526,16 +751,33 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlVentilationRateReport(Integer ventilationRate) {
-        logger.debug("Creating command message HRV_CONTROL_VENTILATION_RATE_REPORT version 1");
+        byte[] outputData = new byte[HRV_CONTROL_VENTILATION_RATE_REPORT_LENGTH];
+        getHrvControlVentilationRateReport(ByteBuffer.wrap(outputData), ventilationRate);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_VENTILATION_RATE_REPORT);
+    /**
+     * Writes a new message with the HRV_CONTROL_VENTILATION_RATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_VENTILATION_RATE_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param ventilationRate {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_VENTILATION_RATE_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getHrvControlVentilationRateReport(ByteBuffer buffer, Integer ventilationRate) {
+        logger.debug("Creating command message HRV_CONTROL_VENTILATION_RATE_REPORT version 1");
 
-        // Process 'Ventilation Rate'
-        outputData.write(ventilationRate);
+        if (buffer.remaining() < HRV_CONTROL_VENTILATION_RATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_VENTILATION_RATE_REPORT);
+        buffer.put(ventilationRate.byteValue());
     }
 
     /**
@@ -571,13 +813,30 @@ public class CommandClassHrvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvControlModeSupportedGet() {
+        byte[] outputData = new byte[HRV_CONTROL_MODE_SUPPORTED_GET_LENGTH];
+        getHrvControlModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_CONTROL_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_CONTROL_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HRV_CONTROL_MODE_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getHrvControlModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message HRV_CONTROL_MODE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_CONTROL_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < HRV_CONTROL_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_CONTROL_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -630,14 +889,8 @@ public class CommandClassHrvControlV1 {
         outputData.write(HRV_CONTROL_MODE_SUPPORTED_REPORT);
 
         // Process 'Properties1'
-        int varManualControlSupported = Integer.MAX_VALUE;
-        for (Integer entry : constantHrvControlModeSupportedReportManualControlSupported.keySet()) {
-            if (constantHrvControlModeSupportedReportManualControlSupported.get(entry).equals(manualControlSupported)) {
-                varManualControlSupported = entry;
-                break;
-            }
-        }
-        if (varManualControlSupported == Integer.MAX_VALUE) {
+        Integer varManualControlSupported = reverseHrvControlModeSupportedReportManualControlSupported.get(manualControlSupported);
+        if (varManualControlSupported == null) {
             throw new IllegalArgumentException("Unknown constant value '" + manualControlSupported + "' for manualControlSupported");
         }
         outputData.write(varManualControlSupported & 0x0F);
@@ -645,17 +898,11 @@ public class CommandClassHrvControlV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantHrvControlModeSupportedReportBitMask.keySet()) {
-                if (constantHrvControlModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseHrvControlModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassHrvStatusV1 {
      * Hrv Status Get Command Constant
      */
     public final static int HRV_STATUS_GET = 0x01;
+    /**
+     * Length of the encoded HRV_STATUS_GET command
+     */
+    public final static int HRV_STATUS_GET_LENGTH = 3;
     /**
      * Hrv Status Report Command Constant
      */
@@ -51,6 +57,10 @@ public class CommandClassHrvStatusV1 {
      * Hrv Status Supported Get Command Constant
      */
     public final static int HRV_STATUS_SUPPORTED_GET = 0x03;
+    /**
+     * Length of the encoded HRV_STATUS_SUPPORTED_GET command
+     */
+    public final static int HRV_STATUS_SUPPORTED_GET_LENGTH = 2;
     /**
      * Hrv Status Supported Report Command Constant
      */
@@ -61,16 +71,31 @@ public class CommandClassHrvStatusV1 {
      */
     private static Map<Integer, String> constantHrvStatusGetStatusParameter = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvStatusGetStatusParameter, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvStatusGetStatusParameter = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HrvStatusSupportedReportBitMask
      */
     private static Map<Integer, String> constantHrvStatusSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvStatusSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvStatusSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HrvStatusReportStatusParameter
      */
     private static Map<Integer, String> constantHrvStatusReportStatusParameter = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HrvStatusReportStatusParameter, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHrvStatusReportStatusParameter = new HashMap<String, Integer>();
+
     static {
         // Constants for HrvStatusGetStatusParameter
         constantHrvStatusGetStatusParameter.put(0x00, "OUTDOOR_AIR_TEMPERATURE");
@@ -98,6 +123,33 @@ public class CommandClassHrvStatusV1 {
         constantHrvStatusReportStatusParameter.put(0x04, "ROOM_TEMPERATURE");
         constantHrvStatusReportStatusParameter.put(0x05, "RELATIVE_HUMIDITY_IN_ROOM");
         constantHrvStatusReportStatusParameter.put(0x06, "REMAINING_FILTER_LIFE");
+
+        // Reverse constants for HrvStatusGetStatusParameter
+        reverseHrvStatusGetStatusParameter.put("OUTDOOR_AIR_TEMPERATURE", 0x00);
+        reverseHrvStatusGetStatusParameter.put("SUPPLY_AIR_TEMPERATURE", 0x01);
+        reverseHrvStatusGetStatusParameter.put("EXHAUST_AIR_TEMPERATURE", 0x02);
+        reverseHrvStatusGetStatusParameter.put("DISCHARGE_AIR_TEMPERATURE", 0x03);
+        reverseHrvStatusGetStatusParameter.put("ROOM_TEMPERATURE", 0x04);
+        reverseHrvStatusGetStatusParameter.put("RELATIVE_HUMIDITY_IN_ROOM", 0x05);
+        reverseHrvStatusGetStatusParameter.put("REMAINING_FILTER_LIFE", 0x06);
+
+        // Reverse constants for HrvStatusSupportedReportBitMask
+        reverseHrvStatusSupportedReportBitMask.put("OUTDOOR_AIR_TEMPERATURE", 0x00);
+        reverseHrvStatusSupportedReportBitMask.put("SUPPLY_AIR_TEMPERATURE", 0x01);
+        reverseHrvStatusSupportedReportBitMask.put("EXHAUST_AIR_TEMPERATURE", 0x02);
+        reverseHrvStatusSupportedReportBitMask.put("DISCHARGE_AIR_TEMPERATURE", 0x03);
+        reverseHrvStatusSupportedReportBitMask.put("ROOM_TEMPERATURE", 0x04);
+        reverseHrvStatusSupportedReportBitMask.put("RELATIVE_HUMIDITY_IN_ROOM", 0x05);
+        reverseHrvStatusSupportedReportBitMask.put("REMAINING_FILTER_LIFE", 0x06);
+
+        // Reverse constants for HrvStatusReportStatusParameter
+        reverseHrvStatusReportStatusParameter.put("OUTDOOR_AIR_TEMPERATURE", 0x00);
+        reverseHrvStatusReportStatusParameter.put("SUPPLY_AIR_TEMPERATURE", 0x01);
+        reverseHrvStatusReportStatusParameter.put("EXHAUST_AIR_TEMPERATURE", 0x02);
+        reverseHrvStatusReportStatusParameter.put("DISCHARGE_AIR_TEMPERATURE", 0x03);
+        reverseHrvStatusReportStatusParameter.put("ROOM_TEMPERATURE", 0x04);
+        reverseHrvStatusReportStatusParameter.put("RELATIVE_HUMIDITY_IN_ROOM", 0x05);
+        reverseHrvStatusReportStatusParameter.put("REMAINING_FILTER_LIFE", 0x06);
     }
 
     /**
@@ -120,26 +172,48 @@ public class CommandClassHrvStatusV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvStatusGet(String statusParameter) {
+        byte[] outputData = new byte[HRV_STATUS_GET_LENGTH];
+        getHrvStatusGet(ByteBuffer.wrap(outputData), statusParameter);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_STATUS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param statusParameter {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OUTDOOR_AIR_TEMPERATURE
+     *            <li>SUPPLY_AIR_TEMPERATURE
+     *            <li>EXHAUST_AIR_TEMPERATURE
+     *            <li>DISCHARGE_AIR_TEMPERATURE
+     *            <li>ROOM_TEMPERATURE
+     *            <li>RELATIVE_HUMIDITY_IN_ROOM
+     *            <li>REMAINING_FILTER_LIFE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HRV_STATUS_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvStatusGet(ByteBuffer buffer, String statusParameter) {
         logger.debug("Creating command message HRV_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_STATUS_GET);
+        if (buffer.remaining() < HRV_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status Parameter'
-        boolean foundStatusParameter = false;
-        for (Integer entry : constantHrvStatusGetStatusParameter.keySet()) {
-            if (constantHrvStatusGetStatusParameter.get(entry).equals(statusParameter)) {
-                outputData.write(entry);
-                foundStatusParameter = true;
-                break;
-            }
-        }
-        if (!foundStatusParameter) {
+        Integer varStatusParameter = reverseHrvStatusGetStatusParameter.get(statusParameter);
+        if (varStatusParameter == null) {
             throw new IllegalArgumentException("Unknown constant value '" + statusParameter + "' for statusParameter");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_STATUS_GET);
+        buffer.put(varStatusParameter.byteValue());
     }
 
     /**
@@ -210,17 +284,11 @@ public class CommandClassHrvStatusV1 {
         outputData.write(HRV_STATUS_REPORT);
 
         // Process 'Status Parameter'
-        boolean foundStatusParameter = false;
-        for (Integer entry : constantHrvStatusReportStatusParameter.keySet()) {
-            if (constantHrvStatusReportStatusParameter.get(entry).equals(statusParameter)) {
-                outputData.write(entry);
-                foundStatusParameter = true;
-                break;
-            }
-        }
-        if (!foundStatusParameter) {
+        Integer varStatusParameter = reverseHrvStatusReportStatusParameter.get(statusParameter);
+        if (varStatusParameter == null) {
             throw new IllegalArgumentException("Unknown constant value '" + statusParameter + "' for statusParameter");
         }
+        outputData.write(varStatusParameter);
 
         // Process 'Properties1'
         int valProperties1 = 0;
@@ -306,13 +374,29 @@ public class CommandClassHrvStatusV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHrvStatusSupportedGet() {
+        byte[] outputData = new byte[HRV_STATUS_SUPPORTED_GET_LENGTH];
+        getHrvStatusSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HRV_STATUS_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HRV_STATUS_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HRV_STATUS_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getHrvStatusSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message HRV_STATUS_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HRV_STATUS_SUPPORTED_GET);
+        if (buffer.remaining() < HRV_STATUS_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HRV_STATUS_SUPPORTED_GET);
     }
 
     /**
@@ -360,17 +444,11 @@ public class CommandClassHrvStatusV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantHrvStatusSupportedReportBitMask.keySet()) {
-                if (constantHrvStatusSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseHrvStatusSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,18 +44,34 @@ public class CommandClassHumidityControlModeV1 {
      * Humidity Control Mode Set Command Constant
      */
     public final static int HUMIDITY_CONTROL_MODE_SET = 0x01;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_MODE_SET command
+     */
+    public final static int HUMIDITY_CONTROL_MODE_SET_LENGTH = 3;
     /**
      * Humidity Control Mode Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_MODE_GET = 0x02;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_MODE_GET command
+     */
+    public final static int HUMIDITY_CONTROL_MODE_GET_LENGTH = 2;
     /**
      * Humidity Control Mode Report Command Constant
      */
     public final static int HUMIDITY_CONTROL_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_MODE_REPORT command
+     */
+    public final static int HUMIDITY_CONTROL_MODE_REPORT_LENGTH = 3;
     /**
      * Humidity Control Mode Supported Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_MODE_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_MODE_SUPPORTED_GET command
+     */
+    public final static int HUMIDITY_CONTROL_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Humidity Control Mode Supported Report Command Constant
      */
@@ -64,16 +82,31 @@ public class CommandClassHumidityControlModeV1 {
      */
     private static Map<Integer, String> constantHumidityControlModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlModeSupportedReportBitMask
      */
     private static Map<Integer, String> constantHumidityControlModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlModeReportMode
      */
     private static Map<Integer, String> constantHumidityControlModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlModeReportMode = new HashMap<String, Integer>();
+
     static {
         // Constants for HumidityControlModeSetMode
         constantHumidityControlModeSetMode.put(0x00, "OFF");
@@ -89,6 +122,21 @@ public class CommandClassHumidityControlModeV1 {
         constantHumidityControlModeReportMode.put(0x00, "OFF");
         constantHumidityControlModeReportMode.put(0x01, "HUMIDIFY");
         constantHumidityControlModeReportMode.put(0x02, "DEHUMIDIFY");
+
+        // Reverse constants for HumidityControlModeSetMode
+        reverseHumidityControlModeSetMode.put("OFF", 0x00);
+        reverseHumidityControlModeSetMode.put("HUMIDIFY", 0x01);
+        reverseHumidityControlModeSetMode.put("DEHUMIDIFY", 0x02);
+
+        // Reverse constants for HumidityControlModeSupportedReportBitMask
+        reverseHumidityControlModeSupportedReportBitMask.put("OFF", 0x00);
+        reverseHumidityControlModeSupportedReportBitMask.put("HUMIDIFY", 0x01);
+        reverseHumidityControlModeSupportedReportBitMask.put("DEHUMIDIFY", 0x02);
+
+        // Reverse constants for HumidityControlModeReportMode
+        reverseHumidityControlModeReportMode.put("OFF", 0x00);
+        reverseHumidityControlModeReportMode.put("HUMIDIFY", 0x01);
+        reverseHumidityControlModeReportMode.put("DEHUMIDIFY", 0x02);
     }
 
     /**
@@ -107,26 +155,45 @@ public class CommandClassHumidityControlModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlModeSet(String mode) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_MODE_SET_LENGTH];
+        getHumidityControlModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>HUMIDIFY
+     *            <li>DEHUMIDIFY
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_MODE_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getHumidityControlModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message HUMIDITY_CONTROL_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_MODE_SET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlModeSetMode.keySet()) {
-            if (constantHumidityControlModeSetMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseHumidityControlModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
-        outputData.write(varMode & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_MODE_SET);
+        buffer.put((byte) (varMode & 0x0F));
     }
 
     /**
@@ -169,13 +236,30 @@ public class CommandClassHumidityControlModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlModeGet() {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_MODE_GET_LENGTH];
+        getHumidityControlModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_MODE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getHumidityControlModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message HUMIDITY_CONTROL_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_MODE_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_MODE_GET);
     }
 
     /**
@@ -210,26 +294,45 @@ public class CommandClassHumidityControlModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlModeReport(String mode) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_MODE_REPORT_LENGTH];
+        getHumidityControlModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>HUMIDIFY
+     *            <li>DEHUMIDIFY
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_MODE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getHumidityControlModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message HUMIDITY_CONTROL_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_MODE_REPORT);
+        if (buffer.remaining() < HUMIDITY_CONTROL_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlModeReportMode.keySet()) {
-            if (constantHumidityControlModeReportMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseHumidityControlModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
-        outputData.write(varMode & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_MODE_REPORT);
+        buffer.put((byte) (varMode & 0x0F));
     }
 
     /**
@@ -272,13 +375,31 @@ public class CommandClassHumidityControlModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlModeSupportedGet() {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_MODE_SUPPORTED_GET_LENGTH];
+        getHumidityControlModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_MODE_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getHumidityControlModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message HUMIDITY_CONTROL_MODE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -322,17 +443,11 @@ public class CommandClassHumidityControlModeV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantHumidityControlModeSupportedReportBitMask.keySet()) {
-                if (constantHumidityControlModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseHumidityControlModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,21 +41,39 @@ public class CommandClassHumidityControlOperatingStateV1 {
      * Humidity Control Operating State Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_OPERATING_STATE_GET = 0x01;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_OPERATING_STATE_GET command
+     */
+    public final static int HUMIDITY_CONTROL_OPERATING_STATE_GET_LENGTH = 2;
     /**
      * Humidity Control Operating State Report Command Constant
      */
     public final static int HUMIDITY_CONTROL_OPERATING_STATE_REPORT = 0x02;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_OPERATING_STATE_REPORT command
+     */
+    public final static int HUMIDITY_CONTROL_OPERATING_STATE_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for HumidityControlOperatingStateReportOperatingState
      */
     private static Map<Integer, String> constantHumidityControlOperatingStateReportOperatingState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlOperatingStateReportOperatingState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlOperatingStateReportOperatingState = new HashMap<String, Integer>();
+
     static {
         // Constants for HumidityControlOperatingStateReportOperatingState
         constantHumidityControlOperatingStateReportOperatingState.put(0x00, "IDLE");
         constantHumidityControlOperatingStateReportOperatingState.put(0x01, "HUMIDIFYING");
         constantHumidityControlOperatingStateReportOperatingState.put(0x02, "DEHUMIDIFYING");
+
+        // Reverse constants for HumidityControlOperatingStateReportOperatingState
+        reverseHumidityControlOperatingStateReportOperatingState.put("IDLE", 0x00);
+        reverseHumidityControlOperatingStateReportOperatingState.put("HUMIDIFYING", 0x01);
+        reverseHumidityControlOperatingStateReportOperatingState.put("DEHUMIDIFYING", 0x02);
     }
 
     /**
@@ -65,13 +84,31 @@ public class CommandClassHumidityControlOperatingStateV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlOperatingStateGet() {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_OPERATING_STATE_GET_LENGTH];
+        getHumidityControlOperatingStateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_OPERATING_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_OPERATING_STATE_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_OPERATING_STATE_GET_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getHumidityControlOperatingStateGet(ByteBuffer buffer) {
         logger.debug("Creating command message HUMIDITY_CONTROL_OPERATING_STATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_OPERATING_STATE_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_OPERATING_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_OPERATING_STATE_GET);
     }
 
     /**
@@ -106,26 +143,46 @@ public class CommandClassHumidityControlOperatingStateV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlOperatingStateReport(String operatingState) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_OPERATING_STATE_REPORT_LENGTH];
+        getHumidityControlOperatingStateReport(ByteBuffer.wrap(outputData), operatingState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_OPERATING_STATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_OPERATING_STATE_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param operatingState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>IDLE
+     *            <li>HUMIDIFYING
+     *            <li>DEHUMIDIFYING
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_OPERATING_STATE_REPORT_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getHumidityControlOperatingStateReport(ByteBuffer buffer, String operatingState) {
         logger.debug("Creating command message HUMIDITY_CONTROL_OPERATING_STATE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_OPERATING_STATE_REPORT);
+        if (buffer.remaining() < HUMIDITY_CONTROL_OPERATING_STATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varOperatingState = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlOperatingStateReportOperatingState.keySet()) {
-            if (constantHumidityControlOperatingStateReportOperatingState.get(entry).equals(operatingState)) {
-                varOperatingState = entry;
-                break;
-            }
-        }
-        if (varOperatingState == Integer.MAX_VALUE) {
+        Integer varOperatingState = reverseHumidityControlOperatingStateReportOperatingState.get(operatingState);
+        if (varOperatingState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + operatingState + "' for operatingState");
         }
-        outputData.write(varOperatingState & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_OPERATING_STATE_REPORT);
+        buffer.put((byte) (varOperatingState & 0x0F));
     }
 
     /**
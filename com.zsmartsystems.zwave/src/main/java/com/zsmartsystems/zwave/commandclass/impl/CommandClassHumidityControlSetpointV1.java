@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +49,10 @@ public class CommandClassHumidityControlSetpointV1 {
      * Humidity Control Setpoint Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_SETPOINT_GET = 0x02;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_SETPOINT_GET command
+     */
+    public final static int HUMIDITY_CONTROL_SETPOINT_GET_LENGTH = 3;
     /**
      * Humidity Control Setpoint Report Command Constant
      */
@@ -55,6 +61,10 @@ public class CommandClassHumidityControlSetpointV1 {
      * Humidity Control Setpoint Supported Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET command
+     */
+    public final static int HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET_LENGTH = 2;
     /**
      * Humidity Control Setpoint Supported Report Command Constant
      */
@@ -63,14 +73,26 @@ public class CommandClassHumidityControlSetpointV1 {
      * Humidity Control Setpoint Scale Supported Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET = 0x06;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET command
+     */
+    public final static int HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET_LENGTH = 3;
     /**
      * Humidity Control Setpoint Scale Supported Report Command Constant
      */
     public final static int HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT = 0x07;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT command
+     */
+    public final static int HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT_LENGTH = 3;
     /**
      * Humidity Control Setpoint Capabilities Get Command Constant
      */
     public final static int HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET = 0x08;
+    /**
+     * Length of the encoded HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET command
+     */
+    public final static int HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET_LENGTH = 3;
     /**
      * Humidity Control Setpoint Capabilities Report Command Constant
      */
@@ -81,61 +103,121 @@ public class CommandClassHumidityControlSetpointV1 {
      */
     private static Map<Integer, String> constantHumidityControlSetpointGetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointGetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointGetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointCapabilitiesGetSetpointType
      */
     private static Map<Integer, String> constantHumidityControlSetpointCapabilitiesGetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointCapabilitiesGetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointCapabilitiesGetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointSupportedReportBitMask
      */
     private static Map<Integer, String> constantHumidityControlSetpointSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointScaleSupportedGetSetpointType
      */
     private static Map<Integer, String> constantHumidityControlSetpointScaleSupportedGetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointScaleSupportedGetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointScaleSupportedGetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointSetSetpointType
      */
     private static Map<Integer, String> constantHumidityControlSetpointSetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointSetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointSetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointReportScale
      */
     private static Map<Integer, String> constantHumidityControlSetpointReportScale = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointReportScale, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointReportScale = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointCapabilitiesReportSetpointType
      */
     private static Map<Integer, String> constantHumidityControlSetpointCapabilitiesReportSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointCapabilitiesReportSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointCapabilitiesReportSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointReportSetpointType
      */
     private static Map<Integer, String> constantHumidityControlSetpointReportSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointReportSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointReportSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointCapabilitiesReportScale2
      */
     private static Map<Integer, String> constantHumidityControlSetpointCapabilitiesReportScale2 = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointCapabilitiesReportScale2, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointCapabilitiesReportScale2 = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointCapabilitiesReportScale1
      */
     private static Map<Integer, String> constantHumidityControlSetpointCapabilitiesReportScale1 = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointCapabilitiesReportScale1, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointCapabilitiesReportScale1 = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointScaleSupportedReportScaleBitMask
      */
     private static Map<Integer, String> constantHumidityControlSetpointScaleSupportedReportScaleBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointScaleSupportedReportScaleBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointScaleSupportedReportScaleBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for HumidityControlSetpointSetScale
      */
     private static Map<Integer, String> constantHumidityControlSetpointSetScale = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for HumidityControlSetpointSetScale, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseHumidityControlSetpointSetScale = new HashMap<String, Integer>();
+
     static {
         // Constants for HumidityControlSetpointGetSetpointType
         constantHumidityControlSetpointGetSetpointType.put(0x00, "HUMIDIFIER");
@@ -184,6 +266,54 @@ public class CommandClassHumidityControlSetpointV1 {
         // Constants for HumidityControlSetpointSetScale
         constantHumidityControlSetpointSetScale.put(0x00, "PERCENTAGE");
         constantHumidityControlSetpointSetScale.put(0x01, "ABSOLUTE");
+
+        // Reverse constants for HumidityControlSetpointGetSetpointType
+        reverseHumidityControlSetpointGetSetpointType.put("HUMIDIFIER", 0x00);
+        reverseHumidityControlSetpointGetSetpointType.put("DEHUMIDIFIER", 0x01);
+
+        // Reverse constants for HumidityControlSetpointCapabilitiesGetSetpointType
+        reverseHumidityControlSetpointCapabilitiesGetSetpointType.put("HUMIDIFIER", 0x00);
+        reverseHumidityControlSetpointCapabilitiesGetSetpointType.put("DEHUMIDIFIER", 0x01);
+
+        // Reverse constants for HumidityControlSetpointSupportedReportBitMask
+        reverseHumidityControlSetpointSupportedReportBitMask.put("HUMIDIFIER", 0x01);
+        reverseHumidityControlSetpointSupportedReportBitMask.put("DEHUMIDIFIER", 0x02);
+
+        // Reverse constants for HumidityControlSetpointScaleSupportedGetSetpointType
+        reverseHumidityControlSetpointScaleSupportedGetSetpointType.put("HUMIDIFIER", 0x00);
+        reverseHumidityControlSetpointScaleSupportedGetSetpointType.put("DEHUMIDIFIER", 0x01);
+
+        // Reverse constants for HumidityControlSetpointSetSetpointType
+        reverseHumidityControlSetpointSetSetpointType.put("HUMIDIFIER", 0x00);
+        reverseHumidityControlSetpointSetSetpointType.put("DEHUMIDIFIER", 0x01);
+
+        // Reverse constants for HumidityControlSetpointReportScale
+        reverseHumidityControlSetpointReportScale.put("PERCENTAGE", 0x00);
+        reverseHumidityControlSetpointReportScale.put("ABSOLUTE", 0x01);
+
+        // Reverse constants for HumidityControlSetpointCapabilitiesReportSetpointType
+        reverseHumidityControlSetpointCapabilitiesReportSetpointType.put("HUMIDIFIER", 0x00);
+        reverseHumidityControlSetpointCapabilitiesReportSetpointType.put("DEHUMIDIFIER", 0x01);
+
+        // Reverse constants for HumidityControlSetpointReportSetpointType
+        reverseHumidityControlSetpointReportSetpointType.put("HUMIDIFIER", 0x00);
+        reverseHumidityControlSetpointReportSetpointType.put("DEHUMIDIFIER", 0x01);
+
+        // Reverse constants for HumidityControlSetpointCapabilitiesReportScale2
+        reverseHumidityControlSetpointCapabilitiesReportScale2.put("PERCENTAGE", 0x00);
+        reverseHumidityControlSetpointCapabilitiesReportScale2.put("ABSOLUTE", 0x01);
+
+        // Reverse constants for HumidityControlSetpointCapabilitiesReportScale1
+        reverseHumidityControlSetpointCapabilitiesReportScale1.put("PERCENTAGE", 0x00);
+        reverseHumidityControlSetpointCapabilitiesReportScale1.put("ABSOLUTE", 0x01);
+
+        // Reverse constants for HumidityControlSetpointScaleSupportedReportScaleBitMask
+        reverseHumidityControlSetpointScaleSupportedReportScaleBitMask.put("PERCENTAGE", 0x00);
+        reverseHumidityControlSetpointScaleSupportedReportScaleBitMask.put("ABSOLUTE", 0x01);
+
+        // Reverse constants for HumidityControlSetpointSetScale
+        reverseHumidityControlSetpointSetScale.put("PERCENTAGE", 0x00);
+        reverseHumidityControlSetpointSetScale.put("ABSOLUTE", 0x01);
     }
 
     /**
@@ -218,14 +348,8 @@ public class CommandClassHumidityControlSetpointV1 {
         outputData.write(HUMIDITY_CONTROL_SETPOINT_SET);
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointSetSetpointType.keySet()) {
-            if (constantHumidityControlSetpointSetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseHumidityControlSetpointSetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -235,14 +359,8 @@ public class CommandClassHumidityControlSetpointV1 {
         int size = value.length;
         int valProperties2 = 0;
         valProperties2 |= size & 0x07;
-        int varScale = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointSetScale.keySet()) {
-            if (constantHumidityControlSetpointSetScale.get(entry).equals(scale)) {
-                varScale = entry;
-                break;
-            }
-        }
-        if (varScale == Integer.MAX_VALUE) {
+        Integer varScale = reverseHumidityControlSetpointSetScale.get(scale);
+        if (varScale == null) {
             throw new IllegalArgumentException("Unknown constant value '" + scale + "' for scale");
         }
         valProperties2 |= varScale << 3 & 0x18;
@@ -334,26 +452,44 @@ public class CommandClassHumidityControlSetpointV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlSetpointGet(String setpointType) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_SETPOINT_GET_LENGTH];
+        getHumidityControlSetpointGet(ByteBuffer.wrap(outputData), setpointType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_SETPOINT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_SETPOINT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>HUMIDIFIER
+     *            <li>DEHUMIDIFIER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_SETPOINT_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getHumidityControlSetpointGet(ByteBuffer buffer, String setpointType) {
         logger.debug("Creating command message HUMIDITY_CONTROL_SETPOINT_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_SETPOINT_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_SETPOINT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointGetSetpointType.keySet()) {
-            if (constantHumidityControlSetpointGetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseHumidityControlSetpointGetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
-        outputData.write(varSetpointType & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_SETPOINT_GET);
+        buffer.put((byte) (varSetpointType & 0x0F));
     }
 
     /**
@@ -419,14 +555,8 @@ public class CommandClassHumidityControlSetpointV1 {
         outputData.write(HUMIDITY_CONTROL_SETPOINT_REPORT);
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointReportSetpointType.keySet()) {
-            if (constantHumidityControlSetpointReportSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseHumidityControlSetpointReportSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -436,14 +566,8 @@ public class CommandClassHumidityControlSetpointV1 {
         int size = value.length;
         int valProperties2 = 0;
         valProperties2 |= size & 0x07;
-        int varScale = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointReportScale.keySet()) {
-            if (constantHumidityControlSetpointReportScale.get(entry).equals(scale)) {
-                varScale = entry;
-                break;
-            }
-        }
-        if (varScale == Integer.MAX_VALUE) {
+        Integer varScale = reverseHumidityControlSetpointReportScale.get(scale);
+        if (varScale == null) {
             throw new IllegalArgumentException("Unknown constant value '" + scale + "' for scale");
         }
         valProperties2 |= varScale << 3 & 0x18;
@@ -528,13 +652,31 @@ public class CommandClassHumidityControlSetpointV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlSetpointSupportedGet() {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET_LENGTH];
+        getHumidityControlSetpointSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getHumidityControlSetpointSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_SETPOINT_SUPPORTED_GET);
     }
 
     /**
@@ -577,17 +719,11 @@ public class CommandClassHumidityControlSetpointV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantHumidityControlSetpointSupportedReportBitMask.keySet()) {
-                if (constantHumidityControlSetpointSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseHumidityControlSetpointSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -648,26 +784,45 @@ public class CommandClassHumidityControlSetpointV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlSetpointScaleSupportedGet(String setpointType) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET_LENGTH];
+        getHumidityControlSetpointScaleSupportedGet(ByteBuffer.wrap(outputData), setpointType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET_LENGTH} bytes are written at the current position
+     * of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>HUMIDIFIER
+     *            <li>DEHUMIDIFIER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getHumidityControlSetpointScaleSupportedGet(ByteBuffer buffer, String setpointType) {
         logger.debug("Creating command message HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointScaleSupportedGetSetpointType.keySet()) {
-            if (constantHumidityControlSetpointScaleSupportedGetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseHumidityControlSetpointScaleSupportedGetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
-        outputData.write(varSetpointType & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_GET);
+        buffer.put((byte) (varSetpointType & 0x0F));
     }
 
     /**
@@ -716,26 +871,45 @@ public class CommandClassHumidityControlSetpointV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlSetpointScaleSupportedReport(String scaleBitMask) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT_LENGTH];
+        getHumidityControlSetpointScaleSupportedReport(ByteBuffer.wrap(outputData), scaleBitMask);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT_LENGTH} bytes are written at the current
+     * position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scaleBitMask {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>PERCENTAGE
+     *            <li>ABSOLUTE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT_LENGTH}
+     *            bytes remain in the buffer
+     */
+    static public void getHumidityControlSetpointScaleSupportedReport(ByteBuffer buffer, String scaleBitMask) {
         logger.debug("Creating command message HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT);
+        if (buffer.remaining() < HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varScaleBitMask = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointScaleSupportedReportScaleBitMask.keySet()) {
-            if (constantHumidityControlSetpointScaleSupportedReportScaleBitMask.get(entry).equals(scaleBitMask)) {
-                varScaleBitMask = entry;
-                break;
-            }
-        }
-        if (varScaleBitMask == Integer.MAX_VALUE) {
+        Integer varScaleBitMask = reverseHumidityControlSetpointScaleSupportedReportScaleBitMask.get(scaleBitMask);
+        if (varScaleBitMask == null) {
             throw new IllegalArgumentException("Unknown constant value '" + scaleBitMask + "' for scaleBitMask");
         }
-        outputData.write(varScaleBitMask & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_SETPOINT_SCALE_SUPPORTED_REPORT);
+        buffer.put((byte) (varScaleBitMask & 0x0F));
     }
 
     /**
@@ -784,26 +958,45 @@ public class CommandClassHumidityControlSetpointV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getHumidityControlSetpointCapabilitiesGet(String setpointType) {
+        byte[] outputData = new byte[HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET_LENGTH];
+        getHumidityControlSetpointCapabilitiesGet(ByteBuffer.wrap(outputData), setpointType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET_LENGTH} bytes are written at the current position of
+     * the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>HUMIDIFIER
+     *            <li>DEHUMIDIFIER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getHumidityControlSetpointCapabilitiesGet(ByteBuffer buffer, String setpointType) {
         logger.debug("Creating command message HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET);
+        if (buffer.remaining() < HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointCapabilitiesGetSetpointType.keySet()) {
-            if (constantHumidityControlSetpointCapabilitiesGetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseHumidityControlSetpointCapabilitiesGetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
-        outputData.write(varSetpointType & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_GET);
+        buffer.put((byte) (varSetpointType & 0x0F));
     }
 
     /**
@@ -878,14 +1071,8 @@ public class CommandClassHumidityControlSetpointV1 {
         outputData.write(HUMIDITY_CONTROL_SETPOINT_CAPABILITIES_REPORT);
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointCapabilitiesReportSetpointType.keySet()) {
-            if (constantHumidityControlSetpointCapabilitiesReportSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseHumidityControlSetpointCapabilitiesReportSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -895,14 +1082,8 @@ public class CommandClassHumidityControlSetpointV1 {
         int size1 = minimumValue.length;
         int valProperties2 = 0;
         valProperties2 |= size1 & 0x07;
-        int varScale1 = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointCapabilitiesReportScale1.keySet()) {
-            if (constantHumidityControlSetpointCapabilitiesReportScale1.get(entry).equals(scale1)) {
-                varScale1 = entry;
-                break;
-            }
-        }
-        if (varScale1 == Integer.MAX_VALUE) {
+        Integer varScale1 = reverseHumidityControlSetpointCapabilitiesReportScale1.get(scale1);
+        if (varScale1 == null) {
             throw new IllegalArgumentException("Unknown constant value '" + scale1 + "' for scale1");
         }
         valProperties2 |= varScale1 << 3 & 0x18;
@@ -922,14 +1103,8 @@ public class CommandClassHumidityControlSetpointV1 {
         int size2 = maximumValue.length;
         int valProperties3 = 0;
         valProperties3 |= size2 & 0x07;
-        int varScale2 = Integer.MAX_VALUE;
-        for (Integer entry : constantHumidityControlSetpointCapabilitiesReportScale2.keySet()) {
-            if (constantHumidityControlSetpointCapabilitiesReportScale2.get(entry).equals(scale2)) {
-                varScale2 = entry;
-                break;
-            }
-        }
-        if (varScale2 == Integer.MAX_VALUE) {
+        Integer varScale2 = reverseHumidityControlSetpointCapabilitiesReportScale2.get(scale2);
+        if (varScale2 == null) {
             throw new IllegalArgumentException("Unknown constant value '" + scale2 + "' for scale2");
         }
         valProperties3 |= varScale2 << 3 & 0x18;
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,22 +46,41 @@ public class CommandClassInclusionControllerV1 {
      * Complete Command Constant
      */
     public final static int COMPLETE = 0x02;
+    /**
+     * Length of the encoded COMPLETE command
+     */
+    public final static int COMPLETE_LENGTH = 4;
 
     /**
      * Map holding constants for CompleteStatus
      */
     private static Map<Integer, String> constantCompleteStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for CompleteStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseCompleteStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for InitiateStepId
      */
     private static Map<Integer, String> constantInitiateStepId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for InitiateStepId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseInitiateStepId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for CompleteStepId
      */
     private static Map<Integer, String> constantCompleteStepId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for CompleteStepId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseCompleteStepId = new HashMap<String, Integer>();
+
     static {
         // Constants for CompleteStatus
         constantCompleteStatus.put(0x01, "STEP_OK");
@@ -74,6 +95,20 @@ public class CommandClassInclusionControllerV1 {
         // Constants for CompleteStepId
         constantCompleteStepId.put(0x01, "PROXY_INCLUSION");
         constantCompleteStepId.put(0x02, "S0_INCLUSION");
+
+        // Reverse constants for CompleteStatus
+        reverseCompleteStatus.put("STEP_OK", 0x01);
+        reverseCompleteStatus.put("STEP_USER_REJECTED", 0x02);
+        reverseCompleteStatus.put("STEP_FAILED", 0x03);
+        reverseCompleteStatus.put("STEP_NOT_SUPPORTED", 0x04);
+
+        // Reverse constants for InitiateStepId
+        reverseInitiateStepId.put("PROXY_INCLUSION", 0x01);
+        reverseInitiateStepId.put("S0_INCLUSION", 0x02);
+
+        // Reverse constants for CompleteStepId
+        reverseCompleteStepId.put("PROXY_INCLUSION", 0x01);
+        reverseCompleteStepId.put("S0_INCLUSION", 0x02);
     }
 
     /**
@@ -107,17 +142,11 @@ public class CommandClassInclusionControllerV1 {
         outputData.write(nodeId);
 
         // Process 'Step ID'
-        boolean foundStepId = false;
-        for (Integer entry : constantInitiateStepId.keySet()) {
-            if (constantInitiateStepId.get(entry).equals(stepId)) {
-                outputData.write(entry);
-                foundStepId = true;
-                break;
-            }
-        }
-        if (!foundStepId) {
+        Integer varStepId = reverseInitiateStepId.get(stepId);
+        if (varStepId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + stepId + "' for stepId");
         }
+        outputData.write(varStepId);
 
         return outputData.toByteArray();
     }
@@ -181,39 +210,59 @@ public class CommandClassInclusionControllerV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getComplete(String stepId, String status) {
+        byte[] outputData = new byte[COMPLETE_LENGTH];
+        getComplete(ByteBuffer.wrap(outputData), stepId, status);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param stepId {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>PROXY_INCLUSION
+     *            <li>S0_INCLUSION
+     *            </ul>
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>STEP_OK
+     *            <li>STEP_USER_REJECTED
+     *            <li>STEP_FAILED
+     *            <li>STEP_NOT_SUPPORTED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #COMPLETE_LENGTH} bytes remain in the buffer
+     */
+    static public void getComplete(ByteBuffer buffer, String stepId, String status) {
         logger.debug("Creating command message COMPLETE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMPLETE);
+        if (buffer.remaining() < COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Step ID'
-        boolean foundStepId = false;
-        for (Integer entry : constantCompleteStepId.keySet()) {
-            if (constantCompleteStepId.get(entry).equals(stepId)) {
-                outputData.write(entry);
-                foundStepId = true;
-                break;
-            }
-        }
-        if (!foundStepId) {
+        Integer varStepId = reverseCompleteStepId.get(stepId);
+        if (varStepId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + stepId + "' for stepId");
         }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantCompleteStatus.keySet()) {
-            if (constantCompleteStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseCompleteStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMPLETE);
+        buffer.put(varStepId.byteValue());
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,25 +41,47 @@ public class CommandClassIndicatorV1 {
      * Indicator Set Command Constant
      */
     public final static int INDICATOR_SET = 0x01;
+    /**
+     * Length of the encoded INDICATOR_SET command
+     */
+    public final static int INDICATOR_SET_LENGTH = 3;
     /**
      * Indicator Get Command Constant
      */
     public final static int INDICATOR_GET = 0x02;
+    /**
+     * Length of the encoded INDICATOR_GET command
+     */
+    public final static int INDICATOR_GET_LENGTH = 2;
     /**
      * Indicator Report Command Constant
      */
     public final static int INDICATOR_REPORT = 0x03;
+    /**
+     * Length of the encoded INDICATOR_REPORT command
+     */
+    public final static int INDICATOR_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for IndicatorReportValue
      */
     private static Map<Integer, String> constantIndicatorReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorReportValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorSetValue
      */
     private static Map<Integer, String> constantIndicatorSetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorSetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorSetValue = new HashMap<String, Integer>();
+
     static {
         // Constants for IndicatorReportValue
         constantIndicatorReportValue.put(0x00, "OFF_DISABLE");
@@ -67,6 +90,14 @@ public class CommandClassIndicatorV1 {
         // Constants for IndicatorSetValue
         constantIndicatorSetValue.put(0x00, "OFF_DISABLE");
         constantIndicatorSetValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for IndicatorReportValue
+        reverseIndicatorReportValue.put("OFF_DISABLE", 0x00);
+        reverseIndicatorReportValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for IndicatorSetValue
+        reverseIndicatorSetValue.put("OFF_DISABLE", 0x00);
+        reverseIndicatorSetValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -84,26 +115,43 @@ public class CommandClassIndicatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorSet(String value) {
+        byte[] outputData = new byte[INDICATOR_SET_LENGTH];
+        getIndicatorSet(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorSet(ByteBuffer buffer, String value) {
         logger.debug("Creating command message INDICATOR_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_SET);
+        if (buffer.remaining() < INDICATOR_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantIndicatorSetValue.keySet()) {
-            if (constantIndicatorSetValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseIndicatorSetValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_SET);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -145,13 +193,29 @@ public class CommandClassIndicatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorGet() {
+        byte[] outputData = new byte[INDICATOR_GET_LENGTH];
+        getIndicatorGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorGet(ByteBuffer buffer) {
         logger.debug("Creating command message INDICATOR_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_GET);
+        if (buffer.remaining() < INDICATOR_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_GET);
     }
 
     /**
@@ -185,26 +249,43 @@ public class CommandClassIndicatorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorReport(String value) {
+        byte[] outputData = new byte[INDICATOR_REPORT_LENGTH];
+        getIndicatorReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message INDICATOR_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_REPORT);
+        if (buffer.remaining() < INDICATOR_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantIndicatorReportValue.keySet()) {
-            if (constantIndicatorReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseIndicatorReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
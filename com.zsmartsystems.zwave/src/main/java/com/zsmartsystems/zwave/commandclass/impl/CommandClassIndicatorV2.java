@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,18 +44,34 @@ public class CommandClassIndicatorV2 {
      * Indicator Set Command Constant
      */
     public final static int INDICATOR_SET = 0x01;
+    /**
+     * Length of the encoded INDICATOR_SET command
+     */
+    public final static int INDICATOR_SET_LENGTH = 4;
     /**
      * Indicator Get Command Constant
      */
     public final static int INDICATOR_GET = 0x02;
+    /**
+     * Length of the encoded INDICATOR_GET command
+     */
+    public final static int INDICATOR_GET_LENGTH = 3;
     /**
      * Indicator Report Command Constant
      */
     public final static int INDICATOR_REPORT = 0x03;
+    /**
+     * Length of the encoded INDICATOR_REPORT command
+     */
+    public final static int INDICATOR_REPORT_LENGTH = 4;
     /**
      * Indicator Supported Get Command Constant
      */
     public final static int INDICATOR_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded INDICATOR_SUPPORTED_GET command
+     */
+    public final static int INDICATOR_SUPPORTED_GET_LENGTH = 3;
     /**
      * Indicator Supported Report Command Constant
      */
@@ -79,6 +97,11 @@ public class CommandClassIndicatorV2 {
      */
     private static Map<Integer, String> constantIndicatorReportIndicator0Value = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorReportIndicator0Value, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorReportIndicator0Value = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorReportPropertyId
      */
@@ -89,31 +112,61 @@ public class CommandClassIndicatorV2 {
      */
     private static Map<Integer, String> constantIndicatorSupportedReportIndicatorId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorSupportedReportIndicatorId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorSupportedReportIndicatorId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorSupportedReportNextIndicatorId
      */
     private static Map<Integer, String> constantIndicatorSupportedReportNextIndicatorId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorSupportedReportNextIndicatorId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorSupportedReportNextIndicatorId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorSupportedReportPropertySupportedBitMask
      */
     private static Map<Integer, String> constantIndicatorSupportedReportPropertySupportedBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorSupportedReportPropertySupportedBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorSupportedReportPropertySupportedBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorSupportedGetIndicatorId
      */
     private static Map<Integer, String> constantIndicatorSupportedGetIndicatorId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorSupportedGetIndicatorId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorSupportedGetIndicatorId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorGetIndicatorId
      */
     private static Map<Integer, String> constantIndicatorGetIndicatorId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorGetIndicatorId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorGetIndicatorId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IndicatorSetIndicator0Value
      */
     private static Map<Integer, String> constantIndicatorSetIndicator0Value = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IndicatorSetIndicator0Value, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIndicatorSetIndicator0Value = new HashMap<String, Integer>();
+
     static {
         // Constants for IndicatorSetIndicatorId
         constantIndicatorSetIndicatorId.put(0x00, "NA");
@@ -353,6 +406,161 @@ public class CommandClassIndicatorV2 {
         // Constants for IndicatorSetIndicator0Value
         constantIndicatorSetIndicator0Value.put(0x00, "OFF_DISABLE");
         constantIndicatorSetIndicator0Value.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for IndicatorReportIndicator0Value
+        reverseIndicatorReportIndicator0Value.put("OFF_DISABLE", 0x00);
+        reverseIndicatorReportIndicator0Value.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for IndicatorSupportedReportIndicatorId
+        reverseIndicatorSupportedReportIndicatorId.put("NA", 0x00);
+        reverseIndicatorSupportedReportIndicatorId.put("ARMED", 0x01);
+        reverseIndicatorSupportedReportIndicatorId.put("NOT_ARMED", 0x02);
+        reverseIndicatorSupportedReportIndicatorId.put("READY", 0x03);
+        reverseIndicatorSupportedReportIndicatorId.put("FAULT", 0x04);
+        reverseIndicatorSupportedReportIndicatorId.put("BUSY", 0x05);
+        reverseIndicatorSupportedReportIndicatorId.put("ENTER_ID", 0x06);
+        reverseIndicatorSupportedReportIndicatorId.put("ENTER_PIN", 0x07);
+        reverseIndicatorSupportedReportIndicatorId.put("OK", 0x08);
+        reverseIndicatorSupportedReportIndicatorId.put("NOT_OK", 0x09);
+        reverseIndicatorSupportedReportIndicatorId.put("ZONE1_ARMED", 0x20);
+        reverseIndicatorSupportedReportIndicatorId.put("ZONE2_ARMED", 0x21);
+        reverseIndicatorSupportedReportIndicatorId.put("ZONE3_ARMED", 0x22);
+        reverseIndicatorSupportedReportIndicatorId.put("ZONE4_ARMED", 0x23);
+        reverseIndicatorSupportedReportIndicatorId.put("ZONE5_ARMED", 0x24);
+        reverseIndicatorSupportedReportIndicatorId.put("ZONE6_ARMED", 0x25);
+        reverseIndicatorSupportedReportIndicatorId.put("LCD_BACKLIGHT", 0x30);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON_BACKLIGHT_LETTERS", 0x40);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON_BACKLIGHT_DIGITS", 0x41);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON_BACKLIGHT_COMMAND", 0x42);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON1_INDICATION", 0x43);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON2_INDICATION", 0x44);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON3_INDICATION", 0x45);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON4_INDICATION", 0x46);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON5_INDICATION", 0x47);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON6_INDICATION", 0x48);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON7_INDICATION", 0x49);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON8_INDICATION", 0x4A);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON9_INDICATION", 0x4B);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON10_INDICATION", 0x4C);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON11_INDICATION", 0x4D);
+        reverseIndicatorSupportedReportIndicatorId.put("BUTTON12_INDICATION", 0x4E);
+        reverseIndicatorSupportedReportIndicatorId.put("BUZZER", 0xF0);
+
+        // Reverse constants for IndicatorSupportedReportNextIndicatorId
+        reverseIndicatorSupportedReportNextIndicatorId.put("NA", 0x00);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ARMED", 0x01);
+        reverseIndicatorSupportedReportNextIndicatorId.put("NOT_ARMED", 0x02);
+        reverseIndicatorSupportedReportNextIndicatorId.put("READY", 0x03);
+        reverseIndicatorSupportedReportNextIndicatorId.put("FAULT", 0x04);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUSY", 0x05);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ENTER_ID", 0x06);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ENTER_PIN", 0x07);
+        reverseIndicatorSupportedReportNextIndicatorId.put("OK", 0x08);
+        reverseIndicatorSupportedReportNextIndicatorId.put("NOT_OK", 0x09);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ZONE1_ARMED", 0x20);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ZONE2_ARMED", 0x21);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ZONE3_ARMED", 0x22);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ZONE4_ARMED", 0x23);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ZONE5_ARMED", 0x24);
+        reverseIndicatorSupportedReportNextIndicatorId.put("ZONE6_ARMED", 0x25);
+        reverseIndicatorSupportedReportNextIndicatorId.put("LCD_BACKLIGHT", 0x30);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON_BACKLIGHT_LETTERS", 0x40);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON_BACKLIGHT_DIGITS", 0x41);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON_BACKLIGHT_COMMAND", 0x42);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON1_INDICATION", 0x43);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON2_INDICATION", 0x44);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON3_INDICATION", 0x45);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON4_INDICATION", 0x46);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON5_INDICATION", 0x47);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON6_INDICATION", 0x48);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON7_INDICATION", 0x49);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON8_INDICATION", 0x4A);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON9_INDICATION", 0x4B);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON10_INDICATION", 0x4C);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON11_INDICATION", 0x4D);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUTTON12_INDICATION", 0x4E);
+        reverseIndicatorSupportedReportNextIndicatorId.put("BUZZER", 0xF0);
+
+        // Reverse constants for IndicatorSupportedReportPropertySupportedBitMask
+        reverseIndicatorSupportedReportPropertySupportedBitMask.put("MULTILEVEL", 0x01);
+        reverseIndicatorSupportedReportPropertySupportedBitMask.put("BINARY", 0x02);
+        reverseIndicatorSupportedReportPropertySupportedBitMask.put("ON_OFF_PERIOD", 0x03);
+        reverseIndicatorSupportedReportPropertySupportedBitMask.put("ON_OFF_CYCLES", 0x04);
+        reverseIndicatorSupportedReportPropertySupportedBitMask.put("LOW_POWER", 0x10);
+
+        // Reverse constants for IndicatorSupportedGetIndicatorId
+        reverseIndicatorSupportedGetIndicatorId.put("NA", 0x00);
+        reverseIndicatorSupportedGetIndicatorId.put("ARMED", 0x01);
+        reverseIndicatorSupportedGetIndicatorId.put("NOT_ARMED", 0x02);
+        reverseIndicatorSupportedGetIndicatorId.put("READY", 0x03);
+        reverseIndicatorSupportedGetIndicatorId.put("FAULT", 0x04);
+        reverseIndicatorSupportedGetIndicatorId.put("BUSY", 0x05);
+        reverseIndicatorSupportedGetIndicatorId.put("ENTER_ID", 0x06);
+        reverseIndicatorSupportedGetIndicatorId.put("ENTER_PIN", 0x07);
+        reverseIndicatorSupportedGetIndicatorId.put("OK", 0x08);
+        reverseIndicatorSupportedGetIndicatorId.put("NOT_OK", 0x09);
+        reverseIndicatorSupportedGetIndicatorId.put("ZONE1_ARMED", 0x20);
+        reverseIndicatorSupportedGetIndicatorId.put("ZONE2_ARMED", 0x21);
+        reverseIndicatorSupportedGetIndicatorId.put("ZONE3_ARMED", 0x22);
+        reverseIndicatorSupportedGetIndicatorId.put("ZONE4_ARMED", 0x23);
+        reverseIndicatorSupportedGetIndicatorId.put("ZONE5_ARMED", 0x24);
+        reverseIndicatorSupportedGetIndicatorId.put("ZONE6_ARMED", 0x25);
+        reverseIndicatorSupportedGetIndicatorId.put("LCD_BACKLIGHT", 0x30);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON_BACKLIGHT_LETTERS", 0x40);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON_BACKLIGHT_DIGITS", 0x41);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON_BACKLIGHT_COMMAND", 0x42);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON1_INDICATION", 0x43);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON2_INDICATION", 0x44);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON3_INDICATION", 0x45);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON4_INDICATION", 0x46);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON5_INDICATION", 0x47);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON6_INDICATION", 0x48);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON7_INDICATION", 0x49);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON8_INDICATION", 0x4A);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON9_INDICATION", 0x4B);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON10_INDICATION", 0x4C);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON11_INDICATION", 0x4D);
+        reverseIndicatorSupportedGetIndicatorId.put("BUTTON12_INDICATION", 0x4E);
+        reverseIndicatorSupportedGetIndicatorId.put("BUZZER", 0xF0);
+
+        // Reverse constants for IndicatorGetIndicatorId
+        reverseIndicatorGetIndicatorId.put("NA", 0x00);
+        reverseIndicatorGetIndicatorId.put("ARMED", 0x01);
+        reverseIndicatorGetIndicatorId.put("NOT_ARMED", 0x02);
+        reverseIndicatorGetIndicatorId.put("READY", 0x03);
+        reverseIndicatorGetIndicatorId.put("FAULT", 0x04);
+        reverseIndicatorGetIndicatorId.put("BUSY", 0x05);
+        reverseIndicatorGetIndicatorId.put("ENTER_ID", 0x06);
+        reverseIndicatorGetIndicatorId.put("ENTER_PIN", 0x07);
+        reverseIndicatorGetIndicatorId.put("OK", 0x08);
+        reverseIndicatorGetIndicatorId.put("NOT_OK", 0x09);
+        reverseIndicatorGetIndicatorId.put("ZONE1_ARMED", 0x20);
+        reverseIndicatorGetIndicatorId.put("ZONE2_ARMED", 0x21);
+        reverseIndicatorGetIndicatorId.put("ZONE3_ARMED", 0x22);
+        reverseIndicatorGetIndicatorId.put("ZONE4_ARMED", 0x23);
+        reverseIndicatorGetIndicatorId.put("ZONE5_ARMED", 0x24);
+        reverseIndicatorGetIndicatorId.put("ZONE6_ARMED", 0x25);
+        reverseIndicatorGetIndicatorId.put("LCD_BACKLIGHT", 0x30);
+        reverseIndicatorGetIndicatorId.put("BUTTON_BACKLIGHT_LETTERS", 0x40);
+        reverseIndicatorGetIndicatorId.put("BUTTON_BACKLIGHT_DIGITS", 0x41);
+        reverseIndicatorGetIndicatorId.put("BUTTON_BACKLIGHT_COMMAND", 0x42);
+        reverseIndicatorGetIndicatorId.put("BUTTON1_INDICATION", 0x43);
+        reverseIndicatorGetIndicatorId.put("BUTTON2_INDICATION", 0x44);
+        reverseIndicatorGetIndicatorId.put("BUTTON3_INDICATION", 0x45);
+        reverseIndicatorGetIndicatorId.put("BUTTON4_INDICATION", 0x46);
+        reverseIndicatorGetIndicatorId.put("BUTTON5_INDICATION", 0x47);
+        reverseIndicatorGetIndicatorId.put("BUTTON6_INDICATION", 0x48);
+        reverseIndicatorGetIndicatorId.put("BUTTON7_INDICATION", 0x49);
+        reverseIndicatorGetIndicatorId.put("BUTTON8_INDICATION", 0x4A);
+        reverseIndicatorGetIndicatorId.put("BUTTON9_INDICATION", 0x4B);
+        reverseIndicatorGetIndicatorId.put("BUTTON10_INDICATION", 0x4C);
+        reverseIndicatorGetIndicatorId.put("BUTTON11_INDICATION", 0x4D);
+        reverseIndicatorGetIndicatorId.put("BUTTON12_INDICATION", 0x4E);
+        reverseIndicatorGetIndicatorId.put("BUZZER", 0xF0);
+
+        // Reverse constants for IndicatorSetIndicator0Value
+        reverseIndicatorSetIndicator0Value.put("OFF_DISABLE", 0x00);
+        reverseIndicatorSetIndicator0Value.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -371,31 +579,45 @@ public class CommandClassIndicatorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorSet(String indicator0Value, Integer indicatorObjectCount) {
+        byte[] outputData = new byte[INDICATOR_SET_LENGTH];
+        getIndicatorSet(ByteBuffer.wrap(outputData), indicator0Value, indicatorObjectCount);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param indicator0Value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param indicatorObjectCount {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorSet(ByteBuffer buffer, String indicator0Value, Integer indicatorObjectCount) {
         logger.debug("Creating command message INDICATOR_SET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_SET);
+        if (buffer.remaining() < INDICATOR_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Indicator 0 Value'
-        boolean foundIndicator0Value = false;
-        for (Integer entry : constantIndicatorSetIndicator0Value.keySet()) {
-            if (constantIndicatorSetIndicator0Value.get(entry).equals(indicator0Value)) {
-                outputData.write(entry);
-                foundIndicator0Value = true;
-                break;
-            }
-        }
-        if (!foundIndicator0Value) {
+        Integer varIndicator0Value = reverseIndicatorSetIndicator0Value.get(indicator0Value);
+        if (varIndicator0Value == null) {
             throw new IllegalArgumentException("Unknown constant value '" + indicator0Value + "' for indicator0Value");
         }
 
-        // Process 'Properties1'
-        outputData.write(indicatorObjectCount & 0x1F);
-
-        // Process 'vg1'
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_SET);
+        buffer.put(varIndicator0Value.byteValue());
+        buffer.put((byte) (indicatorObjectCount & 0x1F));
     }
 
     /**
@@ -508,26 +730,74 @@ public class CommandClassIndicatorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorGet(String indicatorId) {
+        byte[] outputData = new byte[INDICATOR_GET_LENGTH];
+        getIndicatorGet(ByteBuffer.wrap(outputData), indicatorId);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param indicatorId {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NA
+     *            <li>BUTTON2_INDICATION
+     *            <li>ARMED
+     *            <li>BUTTON3_INDICATION
+     *            <li>NOT_ARMED
+     *            <li>BUTTON4_INDICATION
+     *            <li>BUTTON5_INDICATION
+     *            <li>READY
+     *            <li>FAULT
+     *            <li>BUTTON_BACKLIGHT_LETTERS
+     *            <li>BUSY
+     *            <li>BUTTON_BACKLIGHT_DIGITS
+     *            <li>ENTER_ID
+     *            <li>BUTTON_BACKLIGHT_COMMAND
+     *            <li>ENTER_PIN
+     *            <li>BUTTON1_INDICATION
+     *            <li>BUTTON10_INDICATION
+     *            <li>OK
+     *            <li>BUTTON11_INDICATION
+     *            <li>NOT_OK
+     *            <li>BUTTON12_INDICATION
+     *            <li>BUTTON6_INDICATION
+     *            <li>BUTTON7_INDICATION
+     *            <li>BUTTON8_INDICATION
+     *            <li>BUTTON9_INDICATION
+     *            <li>ZONE3_ARMED
+     *            <li>ZONE4_ARMED
+     *            <li>ZONE1_ARMED
+     *            <li>ZONE2_ARMED
+     *            <li>ZONE5_ARMED
+     *            <li>ZONE6_ARMED
+     *            <li>LCD_BACKLIGHT
+     *            <li>BUZZER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorGet(ByteBuffer buffer, String indicatorId) {
         logger.debug("Creating command message INDICATOR_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_GET);
+        if (buffer.remaining() < INDICATOR_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Indicator ID'
-        boolean foundIndicatorId = false;
-        for (Integer entry : constantIndicatorGetIndicatorId.keySet()) {
-            if (constantIndicatorGetIndicatorId.get(entry).equals(indicatorId)) {
-                outputData.write(entry);
-                foundIndicatorId = true;
-                break;
-            }
-        }
-        if (!foundIndicatorId) {
+        Integer varIndicatorId = reverseIndicatorGetIndicatorId.get(indicatorId);
+        if (varIndicatorId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + indicatorId + "' for indicatorId");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_GET);
+        buffer.put(varIndicatorId.byteValue());
     }
 
     /**
@@ -608,31 +878,45 @@ public class CommandClassIndicatorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorReport(String indicator0Value, Integer indicatorObjectCount) {
+        byte[] outputData = new byte[INDICATOR_REPORT_LENGTH];
+        getIndicatorReport(ByteBuffer.wrap(outputData), indicator0Value, indicatorObjectCount);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param indicator0Value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param indicatorObjectCount {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorReport(ByteBuffer buffer, String indicator0Value, Integer indicatorObjectCount) {
         logger.debug("Creating command message INDICATOR_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_REPORT);
+        if (buffer.remaining() < INDICATOR_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Indicator 0 Value'
-        boolean foundIndicator0Value = false;
-        for (Integer entry : constantIndicatorReportIndicator0Value.keySet()) {
-            if (constantIndicatorReportIndicator0Value.get(entry).equals(indicator0Value)) {
-                outputData.write(entry);
-                foundIndicator0Value = true;
-                break;
-            }
-        }
-        if (!foundIndicator0Value) {
+        Integer varIndicator0Value = reverseIndicatorReportIndicator0Value.get(indicator0Value);
+        if (varIndicator0Value == null) {
             throw new IllegalArgumentException("Unknown constant value '" + indicator0Value + "' for indicator0Value");
         }
 
-        // Process 'Properties1'
-        outputData.write(indicatorObjectCount & 0x1F);
-
-        // Process 'vg1'
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_REPORT);
+        buffer.put(varIndicator0Value.byteValue());
+        buffer.put((byte) (indicatorObjectCount & 0x1F));
     }
 
     /**
@@ -745,26 +1029,74 @@ public class CommandClassIndicatorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIndicatorSupportedGet(String indicatorId) {
+        byte[] outputData = new byte[INDICATOR_SUPPORTED_GET_LENGTH];
+        getIndicatorSupportedGet(ByteBuffer.wrap(outputData), indicatorId);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the INDICATOR_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #INDICATOR_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param indicatorId {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NA
+     *            <li>BUTTON2_INDICATION
+     *            <li>ARMED
+     *            <li>BUTTON3_INDICATION
+     *            <li>NOT_ARMED
+     *            <li>BUTTON4_INDICATION
+     *            <li>BUTTON5_INDICATION
+     *            <li>READY
+     *            <li>FAULT
+     *            <li>BUTTON_BACKLIGHT_LETTERS
+     *            <li>BUSY
+     *            <li>BUTTON_BACKLIGHT_DIGITS
+     *            <li>ENTER_ID
+     *            <li>BUTTON_BACKLIGHT_COMMAND
+     *            <li>ENTER_PIN
+     *            <li>BUTTON1_INDICATION
+     *            <li>BUTTON10_INDICATION
+     *            <li>OK
+     *            <li>BUTTON11_INDICATION
+     *            <li>NOT_OK
+     *            <li>BUTTON12_INDICATION
+     *            <li>BUTTON6_INDICATION
+     *            <li>BUTTON7_INDICATION
+     *            <li>BUTTON8_INDICATION
+     *            <li>BUTTON9_INDICATION
+     *            <li>ZONE3_ARMED
+     *            <li>ZONE4_ARMED
+     *            <li>ZONE1_ARMED
+     *            <li>ZONE2_ARMED
+     *            <li>ZONE5_ARMED
+     *            <li>ZONE6_ARMED
+     *            <li>LCD_BACKLIGHT
+     *            <li>BUZZER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #INDICATOR_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIndicatorSupportedGet(ByteBuffer buffer, String indicatorId) {
         logger.debug("Creating command message INDICATOR_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(INDICATOR_SUPPORTED_GET);
+        if (buffer.remaining() < INDICATOR_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Indicator ID'
-        boolean foundIndicatorId = false;
-        for (Integer entry : constantIndicatorSupportedGetIndicatorId.keySet()) {
-            if (constantIndicatorSupportedGetIndicatorId.get(entry).equals(indicatorId)) {
-                outputData.write(entry);
-                foundIndicatorId = true;
-                break;
-            }
-        }
-        if (!foundIndicatorId) {
+        Integer varIndicatorId = reverseIndicatorSupportedGetIndicatorId.get(indicatorId);
+        if (varIndicatorId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + indicatorId + "' for indicatorId");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) INDICATOR_SUPPORTED_GET);
+        buffer.put(varIndicatorId.byteValue());
     }
 
     /**
@@ -931,30 +1263,18 @@ public class CommandClassIndicatorV2 {
         outputData.write(INDICATOR_SUPPORTED_REPORT);
 
         // Process 'Indicator ID'
-        boolean foundIndicatorId = false;
-        for (Integer entry : constantIndicatorSupportedReportIndicatorId.keySet()) {
-            if (constantIndicatorSupportedReportIndicatorId.get(entry).equals(indicatorId)) {
-                outputData.write(entry);
-                foundIndicatorId = true;
-                break;
-            }
-        }
-        if (!foundIndicatorId) {
+        Integer varIndicatorId = reverseIndicatorSupportedReportIndicatorId.get(indicatorId);
+        if (varIndicatorId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + indicatorId + "' for indicatorId");
         }
+        outputData.write(varIndicatorId);
 
         // Process 'Next Indicator ID'
-        boolean foundNextIndicatorId = false;
-        for (Integer entry : constantIndicatorSupportedReportNextIndicatorId.keySet()) {
-            if (constantIndicatorSupportedReportNextIndicatorId.get(entry).equals(nextIndicatorId)) {
-                outputData.write(entry);
-                foundNextIndicatorId = true;
-                break;
-            }
-        }
-        if (!foundNextIndicatorId) {
+        Integer varNextIndicatorId = reverseIndicatorSupportedReportNextIndicatorId.get(nextIndicatorId);
+        if (varNextIndicatorId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + nextIndicatorId + "' for nextIndicatorId");
         }
+        outputData.write(varNextIndicatorId);
 
         // Process 'Properties1'
         outputData.write(0);
@@ -962,17 +1282,11 @@ public class CommandClassIndicatorV2 {
         // Process 'Property Supported Bit Mask'
         int valPropertySupportedBitMask = 0;
         for (String value : propertySupportedBitMask) {
-            boolean foundPropertySupportedBitMask = false;
-            for (Integer entry : constantIndicatorSupportedReportPropertySupportedBitMask.keySet()) {
-                if (constantIndicatorSupportedReportPropertySupportedBitMask.get(entry).equals(value)) {
-                    foundPropertySupportedBitMask = true;
-                    valPropertySupportedBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundPropertySupportedBitMask) {
+            Integer varPropertySupportedBitMask = reverseIndicatorSupportedReportPropertySupportedBitMask.get(value);
+            if (varPropertySupportedBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + propertySupportedBitMask + "' for propertySupportedBitMask");
             }
+            valPropertySupportedBitMask += varPropertySupportedBitMask;
         }
         outputData.write(valPropertySupportedBitMask);
 
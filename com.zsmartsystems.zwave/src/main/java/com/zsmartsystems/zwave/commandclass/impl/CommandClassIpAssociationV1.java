@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -46,6 +48,10 @@ public class CommandClassIpAssociationV1 {
      * IP Association Get Command Constant
      */
     public final static int IP_ASSOCIATION_GET = 0x02;
+    /**
+     * Length of the encoded IP_ASSOCIATION_GET command
+     */
+    public final static int IP_ASSOCIATION_GET_LENGTH = 4;
     /**
      * IP Association Report Command Constant
      */
@@ -141,19 +147,33 @@ public class CommandClassIpAssociationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIpAssociationGet(Integer groupingIdentifier, Integer index) {
-        logger.debug("Creating command message IP_ASSOCIATION_GET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IP_ASSOCIATION_GET);
+        byte[] outputData = new byte[IP_ASSOCIATION_GET_LENGTH];
+        getIpAssociationGet(ByteBuffer.wrap(outputData), groupingIdentifier, index);
+        return outputData;
+    }
 
-        // Process 'Grouping Identifier'
-        outputData.write(groupingIdentifier);
+    /**
+     * Writes a new message with the IP_ASSOCIATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IP_ASSOCIATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupingIdentifier {@link Integer}
+     * @param index {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IP_ASSOCIATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIpAssociationGet(ByteBuffer buffer, Integer groupingIdentifier, Integer index) {
+        logger.debug("Creating command message IP_ASSOCIATION_GET version 1");
 
-        // Process 'Index'
-        outputData.write(index);
+        if (buffer.remaining() < IP_ASSOCIATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IP_ASSOCIATION_GET);
+        buffer.put(groupingIdentifier.byteValue());
+        buffer.put(index.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassIpConfigurationV1 {
      * Ip Configuration Get Command Constant
      */
     public final static int IP_CONFIGURATION_GET = 0x02;
+    /**
+     * Length of the encoded IP_CONFIGURATION_GET command
+     */
+    public final static int IP_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Ip Configuration Report Command Constant
      */
@@ -52,10 +58,18 @@ public class CommandClassIpConfigurationV1 {
      * Ip Configuration Release Command Constant
      */
     public final static int IP_CONFIGURATION_RELEASE = 0x04;
+    /**
+     * Length of the encoded IP_CONFIGURATION_RELEASE command
+     */
+    public final static int IP_CONFIGURATION_RELEASE_LENGTH = 2;
     /**
      * Ip Configuration Renew Command Constant
      */
     public final static int IP_CONFIGURATION_RENEW = 0x05;
+    /**
+     * Length of the encoded IP_CONFIGURATION_RENEW command
+     */
+    public final static int IP_CONFIGURATION_RENEW_LENGTH = 2;
 
     /**
      * Map holding constants for IpConfigurationSetProperties1
@@ -193,13 +207,29 @@ public class CommandClassIpConfigurationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIpConfigurationGet() {
+        byte[] outputData = new byte[IP_CONFIGURATION_GET_LENGTH];
+        getIpConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the IP_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IP_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #IP_CONFIGURATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getIpConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message IP_CONFIGURATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IP_CONFIGURATION_GET);
+        if (buffer.remaining() < IP_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IP_CONFIGURATION_GET);
     }
 
     /**
@@ -345,13 +375,29 @@ public class CommandClassIpConfigurationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIpConfigurationRelease() {
+        byte[] outputData = new byte[IP_CONFIGURATION_RELEASE_LENGTH];
+        getIpConfigurationRelease(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the IP_CONFIGURATION_RELEASE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IP_CONFIGURATION_RELEASE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #IP_CONFIGURATION_RELEASE_LENGTH} bytes remain in the buffer
+     */
+    static public void getIpConfigurationRelease(ByteBuffer buffer) {
         logger.debug("Creating command message IP_CONFIGURATION_RELEASE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IP_CONFIGURATION_RELEASE);
+        if (buffer.remaining() < IP_CONFIGURATION_RELEASE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IP_CONFIGURATION_RELEASE);
     }
 
     /**
@@ -378,13 +424,29 @@ public class CommandClassIpConfigurationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIpConfigurationRenew() {
+        byte[] outputData = new byte[IP_CONFIGURATION_RENEW_LENGTH];
+        getIpConfigurationRenew(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the IP_CONFIGURATION_RENEW command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IP_CONFIGURATION_RENEW_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #IP_CONFIGURATION_RENEW_LENGTH} bytes remain in the buffer
+     */
+    static public void getIpConfigurationRenew(ByteBuffer buffer) {
         logger.debug("Creating command message IP_CONFIGURATION_RENEW version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IP_CONFIGURATION_RENEW);
+        if (buffer.remaining() < IP_CONFIGURATION_RENEW_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IP_CONFIGURATION_RENEW);
     }
 
     /**
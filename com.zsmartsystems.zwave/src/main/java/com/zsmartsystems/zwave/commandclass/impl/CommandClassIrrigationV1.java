@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassIrrigationV1 {
      * Irrigation System Info Get Command Constant
      */
     public final static int IRRIGATION_SYSTEM_INFO_GET = 0x01;
+    /**
+     * Length of the encoded IRRIGATION_SYSTEM_INFO_GET command
+     */
+    public final static int IRRIGATION_SYSTEM_INFO_GET_LENGTH = 2;
     /**
      * Irrigation System Info Report Command Constant
      */
@@ -51,6 +57,10 @@ public class CommandClassIrrigationV1 {
      * Irrigation System Status Get Command Constant
      */
     public final static int IRRIGATION_SYSTEM_STATUS_GET = 0x03;
+    /**
+     * Length of the encoded IRRIGATION_SYSTEM_STATUS_GET command
+     */
+    public final static int IRRIGATION_SYSTEM_STATUS_GET_LENGTH = 2;
     /**
      * Irrigation System Status Report Command Constant
      */
@@ -63,6 +73,10 @@ public class CommandClassIrrigationV1 {
      * Irrigation System Config Get Command Constant
      */
     public final static int IRRIGATION_SYSTEM_CONFIG_GET = 0x06;
+    /**
+     * Length of the encoded IRRIGATION_SYSTEM_CONFIG_GET command
+     */
+    public final static int IRRIGATION_SYSTEM_CONFIG_GET_LENGTH = 2;
     /**
      * Irrigation System Config Report Command Constant
      */
@@ -71,6 +85,10 @@ public class CommandClassIrrigationV1 {
      * Irrigation Valve Info Get Command Constant
      */
     public final static int IRRIGATION_VALVE_INFO_GET = 0x08;
+    /**
+     * Length of the encoded IRRIGATION_VALVE_INFO_GET command
+     */
+    public final static int IRRIGATION_VALVE_INFO_GET_LENGTH = 4;
     /**
      * Irrigation Valve Info Report Command Constant
      */
@@ -83,6 +101,10 @@ public class CommandClassIrrigationV1 {
      * Irrigation Valve Config Get Command Constant
      */
     public final static int IRRIGATION_VALVE_CONFIG_GET = 0x0B;
+    /**
+     * Length of the encoded IRRIGATION_VALVE_CONFIG_GET command
+     */
+    public final static int IRRIGATION_VALVE_CONFIG_GET_LENGTH = 4;
     /**
      * Irrigation Valve Config Report Command Constant
      */
@@ -91,18 +113,34 @@ public class CommandClassIrrigationV1 {
      * Irrigation Valve Run Command Constant
      */
     public final static int IRRIGATION_VALVE_RUN = 0x0D;
+    /**
+     * Length of the encoded IRRIGATION_VALVE_RUN command
+     */
+    public final static int IRRIGATION_VALVE_RUN_LENGTH = 6;
     /**
      * Irrigation Valve Table Set Command Constant
      */
     public final static int IRRIGATION_VALVE_TABLE_SET = 0x0E;
+    /**
+     * Length of the encoded IRRIGATION_VALVE_TABLE_SET command
+     */
+    public final static int IRRIGATION_VALVE_TABLE_SET_LENGTH = 3;
     /**
      * Irrigation Valve Table Get Command Constant
      */
     public final static int IRRIGATION_VALVE_TABLE_GET = 0x0F;
+    /**
+     * Length of the encoded IRRIGATION_VALVE_TABLE_GET command
+     */
+    public final static int IRRIGATION_VALVE_TABLE_GET_LENGTH = 3;
     /**
      * Irrigation Valve Table Report Command Constant
      */
     public final static int IRRIGATION_VALVE_TABLE_REPORT = 0x10;
+    /**
+     * Length of the encoded IRRIGATION_VALVE_TABLE_REPORT command
+     */
+    public final static int IRRIGATION_VALVE_TABLE_REPORT_LENGTH = 3;
     /**
      * Irrigation Valve Table Run Command Constant
      */
@@ -111,6 +149,10 @@ public class CommandClassIrrigationV1 {
      * Irrigation System Shutoff Command Constant
      */
     public final static int IRRIGATION_SYSTEM_SHUTOFF = 0x12;
+    /**
+     * Length of the encoded IRRIGATION_SYSTEM_SHUTOFF command
+     */
+    public final static int IRRIGATION_SYSTEM_SHUTOFF_LENGTH = 3;
 
     /**
      * Map holding constants for IrrigationValveRunProperties1
@@ -132,6 +174,11 @@ public class CommandClassIrrigationV1 {
      */
     private static Map<Integer, String> constantIrrigationSystemConfigSetSensorPolarity = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationSystemConfigSetSensorPolarity, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationSystemConfigSetSensorPolarity = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IrrigationValveConfigReportProperties1
      */
@@ -152,16 +199,31 @@ public class CommandClassIrrigationV1 {
      */
     private static Map<Integer, String> constantIrrigationValveConfigSetSensorUsage = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationValveConfigSetSensorUsage, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationValveConfigSetSensorUsage = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IrrigationSystemStatusReportSystemErrorStatus
      */
     private static Map<Integer, String> constantIrrigationSystemStatusReportSystemErrorStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationSystemStatusReportSystemErrorStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationSystemStatusReportSystemErrorStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IrrigationValveInfoReportValveErrorStatus
      */
     private static Map<Integer, String> constantIrrigationValveInfoReportValveErrorStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationValveInfoReportValveErrorStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationValveInfoReportValveErrorStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IrrigationSystemStatusReportProperties3
      */
@@ -172,6 +234,11 @@ public class CommandClassIrrigationV1 {
      */
     private static Map<Integer, String> constantIrrigationSystemStatusReportSensorStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationSystemStatusReportSensorStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationSystemStatusReportSensorStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IrrigationValveConfigSetProperties1
      */
@@ -182,11 +249,21 @@ public class CommandClassIrrigationV1 {
      */
     private static Map<Integer, String> constantIrrigationValveConfigReportSensorUsage = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationValveConfigReportSensorUsage, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationValveConfigReportSensorUsage = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for IrrigationSystemConfigReportSensorPolarity
      */
     private static Map<Integer, String> constantIrrigationSystemConfigReportSensorPolarity = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for IrrigationSystemConfigReportSensorPolarity, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseIrrigationSystemConfigReportSensorPolarity = new HashMap<String, Integer>();
+
     static {
         // Constants for IrrigationValveRunProperties1
         constantIrrigationValveRunProperties1.put(0x01, "MASTER_VALVE");
@@ -251,6 +328,45 @@ public class CommandClassIrrigationV1 {
         constantIrrigationSystemConfigReportSensorPolarity.put(0x00, "RAIN_SENSOR_POLARITY");
         constantIrrigationSystemConfigReportSensorPolarity.put(0x01, "MOISTURE_SENSOR_POLARITY");
         constantIrrigationSystemConfigReportSensorPolarity.put(0x07, "VALID");
+
+        // Reverse constants for IrrigationSystemConfigSetSensorPolarity
+        reverseIrrigationSystemConfigSetSensorPolarity.put("RAIN_SENSOR_POLARITY", 0x00);
+        reverseIrrigationSystemConfigSetSensorPolarity.put("MOISTURE_SENSOR_POLARITY", 0x01);
+        reverseIrrigationSystemConfigSetSensorPolarity.put("VALID", 0x07);
+
+        // Reverse constants for IrrigationValveConfigSetSensorUsage
+        reverseIrrigationValveConfigSetSensorUsage.put("USE_RAIN_SENSOR", 0x00);
+        reverseIrrigationValveConfigSetSensorUsage.put("USE_MOISTURE_SENSOR", 0x01);
+
+        // Reverse constants for IrrigationSystemStatusReportSystemErrorStatus
+        reverseIrrigationSystemStatusReportSystemErrorStatus.put("NOT_PROGRAMMED", 0x00);
+        reverseIrrigationSystemStatusReportSystemErrorStatus.put("EMERGENCY_SHUTDOWN", 0x01);
+        reverseIrrigationSystemStatusReportSystemErrorStatus.put("HIGH_THRESHOLD_TRIGGERED", 0x02);
+        reverseIrrigationSystemStatusReportSystemErrorStatus.put("LOW_THRESHOLD_TRIGGERED", 0x03);
+        reverseIrrigationSystemStatusReportSystemErrorStatus.put("VALVE_ERRORS", 0x04);
+
+        // Reverse constants for IrrigationValveInfoReportValveErrorStatus
+        reverseIrrigationValveInfoReportValveErrorStatus.put("SHORT_CIRCUIT", 0x00);
+        reverseIrrigationValveInfoReportValveErrorStatus.put("CURRENT_HIGH_THRESHOLD", 0x01);
+        reverseIrrigationValveInfoReportValveErrorStatus.put("CURRENT_LOW_THRESHOLD", 0x02);
+        reverseIrrigationValveInfoReportValveErrorStatus.put("MAXIMUM_FLOW", 0x03);
+        reverseIrrigationValveInfoReportValveErrorStatus.put("FLOW_HIGH_THRESHOLD", 0x04);
+        reverseIrrigationValveInfoReportValveErrorStatus.put("FLOW_LOW_THRESHOLD", 0x05);
+
+        // Reverse constants for IrrigationSystemStatusReportSensorStatus
+        reverseIrrigationSystemStatusReportSensorStatus.put("FLOW_SENSOR_DETECTED", 0x00);
+        reverseIrrigationSystemStatusReportSensorStatus.put("PRESSURE_SENSOR_DETECTED", 0x01);
+        reverseIrrigationSystemStatusReportSensorStatus.put("RAIN_SENSOR_DETECTED", 0x02);
+        reverseIrrigationSystemStatusReportSensorStatus.put("MOISTURE_SENSOR_DETECTED", 0x03);
+
+        // Reverse constants for IrrigationValveConfigReportSensorUsage
+        reverseIrrigationValveConfigReportSensorUsage.put("USE_RAIN_SENSOR", 0x00);
+        reverseIrrigationValveConfigReportSensorUsage.put("USE_MOISTURE_SENSOR", 0x01);
+
+        // Reverse constants for IrrigationSystemConfigReportSensorPolarity
+        reverseIrrigationSystemConfigReportSensorPolarity.put("RAIN_SENSOR_POLARITY", 0x00);
+        reverseIrrigationSystemConfigReportSensorPolarity.put("MOISTURE_SENSOR_POLARITY", 0x01);
+        reverseIrrigationSystemConfigReportSensorPolarity.put("VALID", 0x07);
     }
 
     /**
@@ -261,13 +377,30 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationSystemInfoGet() {
+        byte[] outputData = new byte[IRRIGATION_SYSTEM_INFO_GET_LENGTH];
+        getIrrigationSystemInfoGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the IRRIGATION_SYSTEM_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_SYSTEM_INFO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_SYSTEM_INFO_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationSystemInfoGet(ByteBuffer buffer) {
         logger.debug("Creating command message IRRIGATION_SYSTEM_INFO_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_SYSTEM_INFO_GET);
+        if (buffer.remaining() < IRRIGATION_SYSTEM_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_SYSTEM_INFO_GET);
     }
 
     /**
@@ -365,13 +498,30 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationSystemStatusGet() {
+        byte[] outputData = new byte[IRRIGATION_SYSTEM_STATUS_GET_LENGTH];
+        getIrrigationSystemStatusGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the IRRIGATION_SYSTEM_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_SYSTEM_STATUS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_SYSTEM_STATUS_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationSystemStatusGet(ByteBuffer buffer) {
         logger.debug("Creating command message IRRIGATION_SYSTEM_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_SYSTEM_STATUS_GET);
+        if (buffer.remaining() < IRRIGATION_SYSTEM_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_SYSTEM_STATUS_GET);
     }
 
     /**
@@ -435,17 +585,11 @@ public class CommandClassIrrigationV1 {
         outputData.write(systemVoltage);
 
         // Process 'Sensor Status'
-        boolean foundSensorStatus = false;
-        for (Integer entry : constantIrrigationSystemStatusReportSensorStatus.keySet()) {
-            if (constantIrrigationSystemStatusReportSensorStatus.get(entry).equals(sensorStatus)) {
-                outputData.write(entry);
-                foundSensorStatus = true;
-                break;
-            }
-        }
-        if (!foundSensorStatus) {
+        Integer varSensorStatus = reverseIrrigationSystemStatusReportSensorStatus.get(sensorStatus);
+        if (varSensorStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorStatus + "' for sensorStatus");
         }
+        outputData.write(varSensorStatus);
 
         // Process 'Properties1'
         // Flow Size is used by 'Flow Value'
@@ -487,17 +631,11 @@ public class CommandClassIrrigationV1 {
         // Process 'System Error Status'
         int valSystemErrorStatus = 0;
         for (String value : systemErrorStatus) {
-            boolean foundSystemErrorStatus = false;
-            for (Integer entry : constantIrrigationSystemStatusReportSystemErrorStatus.keySet()) {
-                if (constantIrrigationSystemStatusReportSystemErrorStatus.get(entry).equals(value)) {
-                    foundSystemErrorStatus = true;
-                    valSystemErrorStatus += entry;
-                    break;
-                }
-            }
-            if (!foundSystemErrorStatus) {
+            Integer varSystemErrorStatus = reverseIrrigationSystemStatusReportSystemErrorStatus.get(value);
+            if (varSystemErrorStatus == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + systemErrorStatus + "' for systemErrorStatus");
             }
+            valSystemErrorStatus += varSystemErrorStatus;
         }
         outputData.write(valSystemErrorStatus);
 
@@ -687,17 +825,11 @@ public class CommandClassIrrigationV1 {
         // Process 'Sensor Polarity'
         int valSensorPolarity = 0;
         for (String value : sensorPolarity) {
-            boolean foundSensorPolarity = false;
-            for (Integer entry : constantIrrigationSystemConfigSetSensorPolarity.keySet()) {
-                if (constantIrrigationSystemConfigSetSensorPolarity.get(entry).equals(value)) {
-                    foundSensorPolarity = true;
-                    valSensorPolarity += entry;
-                    break;
-                }
-            }
-            if (!foundSensorPolarity) {
+            Integer varSensorPolarity = reverseIrrigationSystemConfigSetSensorPolarity.get(value);
+            if (varSensorPolarity == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + sensorPolarity + "' for sensorPolarity");
             }
+            valSensorPolarity += varSensorPolarity;
         }
         outputData.write(valSensorPolarity);
 
@@ -793,13 +925,30 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationSystemConfigGet() {
+        byte[] outputData = new byte[IRRIGATION_SYSTEM_CONFIG_GET_LENGTH];
+        getIrrigationSystemConfigGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the IRRIGATION_SYSTEM_CONFIG_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_SYSTEM_CONFIG_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_SYSTEM_CONFIG_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationSystemConfigGet(ByteBuffer buffer) {
         logger.debug("Creating command message IRRIGATION_SYSTEM_CONFIG_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_SYSTEM_CONFIG_GET);
+        if (buffer.remaining() < IRRIGATION_SYSTEM_CONFIG_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_SYSTEM_CONFIG_GET);
     }
 
     /**
@@ -884,17 +1033,11 @@ public class CommandClassIrrigationV1 {
         // Process 'Sensor Polarity'
         int valSensorPolarity = 0;
         for (String value : sensorPolarity) {
-            boolean foundSensorPolarity = false;
-            for (Integer entry : constantIrrigationSystemConfigReportSensorPolarity.keySet()) {
-                if (constantIrrigationSystemConfigReportSensorPolarity.get(entry).equals(value)) {
-                    foundSensorPolarity = true;
-                    valSensorPolarity += entry;
-                    break;
-                }
-            }
-            if (!foundSensorPolarity) {
+            Integer varSensorPolarity = reverseIrrigationSystemConfigReportSensorPolarity.get(value);
+            if (varSensorPolarity == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + sensorPolarity + "' for sensorPolarity");
             }
+            valSensorPolarity += varSensorPolarity;
         }
         outputData.write(valSensorPolarity);
 
@@ -992,19 +1135,34 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationValveInfoGet(Boolean masterValve, Integer valveId) {
-        logger.debug("Creating command message IRRIGATION_VALVE_INFO_GET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_VALVE_INFO_GET);
+        byte[] outputData = new byte[IRRIGATION_VALVE_INFO_GET_LENGTH];
+        getIrrigationValveInfoGet(ByteBuffer.wrap(outputData), masterValve, valveId);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(masterValve ? 0x01 : 0);
+    /**
+     * Writes a new message with the IRRIGATION_VALVE_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_VALVE_INFO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param masterValve {@link Boolean}
+     * @param valveId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_VALVE_INFO_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationValveInfoGet(ByteBuffer buffer, Boolean masterValve, Integer valveId) {
+        logger.debug("Creating command message IRRIGATION_VALVE_INFO_GET version 1");
 
-        // Process 'Valve ID'
-        outputData.write(valveId);
+        if (buffer.remaining() < IRRIGATION_VALVE_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_VALVE_INFO_GET);
+        buffer.put((byte) (masterValve ? 0x01 : 0));
+        buffer.put(valveId.byteValue());
     }
 
     /**
@@ -1081,17 +1239,11 @@ public class CommandClassIrrigationV1 {
         // Process 'Valve Error Status'
         int valValveErrorStatus = 0;
         for (String value : valveErrorStatus) {
-            boolean foundValveErrorStatus = false;
-            for (Integer entry : constantIrrigationValveInfoReportValveErrorStatus.keySet()) {
-                if (constantIrrigationValveInfoReportValveErrorStatus.get(entry).equals(value)) {
-                    foundValveErrorStatus = true;
-                    valValveErrorStatus += entry;
-                    break;
-                }
-            }
-            if (!foundValveErrorStatus) {
+            Integer varValveErrorStatus = reverseIrrigationValveInfoReportValveErrorStatus.get(value);
+            if (varValveErrorStatus == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + valveErrorStatus + "' for valveErrorStatus");
             }
+            valValveErrorStatus += varValveErrorStatus;
         }
         outputData.write(valValveErrorStatus);
 
@@ -1251,17 +1403,11 @@ public class CommandClassIrrigationV1 {
         // Process 'Sensor Usage'
         int valSensorUsage = 0;
         for (String value : sensorUsage) {
-            boolean foundSensorUsage = false;
-            for (Integer entry : constantIrrigationValveConfigSetSensorUsage.keySet()) {
-                if (constantIrrigationValveConfigSetSensorUsage.get(entry).equals(value)) {
-                    foundSensorUsage = true;
-                    valSensorUsage += entry;
-                    break;
-                }
-            }
-            if (!foundSensorUsage) {
+            Integer varSensorUsage = reverseIrrigationValveConfigSetSensorUsage.get(value);
+            if (varSensorUsage == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + sensorUsage + "' for sensorUsage");
             }
+            valSensorUsage += varSensorUsage;
         }
         outputData.write(valSensorUsage);
 
@@ -1389,19 +1535,34 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationValveConfigGet(Boolean masterValve, Integer valveId) {
-        logger.debug("Creating command message IRRIGATION_VALVE_CONFIG_GET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_VALVE_CONFIG_GET);
+        byte[] outputData = new byte[IRRIGATION_VALVE_CONFIG_GET_LENGTH];
+        getIrrigationValveConfigGet(ByteBuffer.wrap(outputData), masterValve, valveId);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(masterValve ? 0x01 : 0);
+    /**
+     * Writes a new message with the IRRIGATION_VALVE_CONFIG_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_VALVE_CONFIG_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param masterValve {@link Boolean}
+     * @param valveId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_VALVE_CONFIG_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationValveConfigGet(ByteBuffer buffer, Boolean masterValve, Integer valveId) {
+        logger.debug("Creating command message IRRIGATION_VALVE_CONFIG_GET version 1");
 
-        // Process 'Valve ID'
-        outputData.write(valveId);
+        if (buffer.remaining() < IRRIGATION_VALVE_CONFIG_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_VALVE_CONFIG_GET);
+        buffer.put((byte) (masterValve ? 0x01 : 0));
+        buffer.put(valveId.byteValue());
     }
 
     /**
@@ -1529,17 +1690,11 @@ public class CommandClassIrrigationV1 {
         // Process 'Sensor Usage'
         int valSensorUsage = 0;
         for (String value : sensorUsage) {
-            boolean foundSensorUsage = false;
-            for (Integer entry : constantIrrigationValveConfigReportSensorUsage.keySet()) {
-                if (constantIrrigationValveConfigReportSensorUsage.get(entry).equals(value)) {
-                    foundSensorUsage = true;
-                    valSensorUsage += entry;
-                    break;
-                }
-            }
-            if (!foundSensorUsage) {
+            Integer varSensorUsage = reverseIrrigationValveConfigReportSensorUsage.get(value);
+            if (varSensorUsage == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + sensorUsage + "' for sensorUsage");
             }
+            valSensorUsage += varSensorUsage;
         }
         outputData.write(valSensorUsage);
 
@@ -1668,23 +1823,37 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationValveRun(Boolean masterValve, Integer valveId, Integer duration) {
-        logger.debug("Creating command message IRRIGATION_VALVE_RUN version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_VALVE_RUN);
-
-        // Process 'Properties1'
-        outputData.write(masterValve ? 0x01 : 0);
+        byte[] outputData = new byte[IRRIGATION_VALVE_RUN_LENGTH];
+        getIrrigationValveRun(ByteBuffer.wrap(outputData), masterValve, valveId, duration);
+        return outputData;
+    }
 
-        // Process 'Valve ID'
-        outputData.write(valveId);
+    /**
+     * Writes a new message with the IRRIGATION_VALVE_RUN command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_VALVE_RUN_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param masterValve {@link Boolean}
+     * @param valveId {@link Integer}
+     * @param duration {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_VALVE_RUN_LENGTH} bytes remain in the buffer
+     */
+    static public void getIrrigationValveRun(ByteBuffer buffer, Boolean masterValve, Integer valveId,
+            Integer duration) {
+        logger.debug("Creating command message IRRIGATION_VALVE_RUN version 1");
 
-        // Process 'Duration'
-        outputData.write((duration >> 8) & 0xff);
-        outputData.write(duration & 0xff);
+        if (buffer.remaining() < IRRIGATION_VALVE_RUN_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_VALVE_RUN);
+        buffer.put((byte) (masterValve ? 0x01 : 0));
+        buffer.put(valveId.byteValue());
+        buffer.put((byte) ((duration >> 8) & 0xff));
+        buffer.put((byte) (duration & 0xff));
     }
 
     /**
@@ -1729,18 +1898,32 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationValveTableSet(Integer valveTableId) {
-        logger.debug("Creating command message IRRIGATION_VALVE_TABLE_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_VALVE_TABLE_SET);
+        byte[] outputData = new byte[IRRIGATION_VALVE_TABLE_SET_LENGTH];
+        getIrrigationValveTableSet(ByteBuffer.wrap(outputData), valveTableId);
+        return outputData;
+    }
 
-        // Process 'Valve Table ID'
-        outputData.write(valveTableId);
+    /**
+     * Writes a new message with the IRRIGATION_VALVE_TABLE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_VALVE_TABLE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param valveTableId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_VALVE_TABLE_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationValveTableSet(ByteBuffer buffer, Integer valveTableId) {
+        logger.debug("Creating command message IRRIGATION_VALVE_TABLE_SET version 1");
 
-        // Process 'vg1'
+        if (buffer.remaining() < IRRIGATION_VALVE_TABLE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_VALVE_TABLE_SET);
+        buffer.put(valveTableId.byteValue());
     }
 
     /**
@@ -1798,16 +1981,32 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationValveTableGet(Integer valveTableId) {
-        logger.debug("Creating command message IRRIGATION_VALVE_TABLE_GET version 1");
+        byte[] outputData = new byte[IRRIGATION_VALVE_TABLE_GET_LENGTH];
+        getIrrigationValveTableGet(ByteBuffer.wrap(outputData), valveTableId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_VALVE_TABLE_GET);
+    /**
+     * Writes a new message with the IRRIGATION_VALVE_TABLE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_VALVE_TABLE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param valveTableId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_VALVE_TABLE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationValveTableGet(ByteBuffer buffer, Integer valveTableId) {
+        logger.debug("Creating command message IRRIGATION_VALVE_TABLE_GET version 1");
 
-        // Process 'Valve Table ID'
-        outputData.write(valveTableId);
+        if (buffer.remaining() < IRRIGATION_VALVE_TABLE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_VALVE_TABLE_GET);
+        buffer.put(valveTableId.byteValue());
     }
 
     /**
@@ -1844,18 +2043,32 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationValveTableReport(Integer valveTableId) {
-        logger.debug("Creating command message IRRIGATION_VALVE_TABLE_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_VALVE_TABLE_REPORT);
+        byte[] outputData = new byte[IRRIGATION_VALVE_TABLE_REPORT_LENGTH];
+        getIrrigationValveTableReport(ByteBuffer.wrap(outputData), valveTableId);
+        return outputData;
+    }
 
-        // Process 'Valve Table ID'
-        outputData.write(valveTableId);
+    /**
+     * Writes a new message with the IRRIGATION_VALVE_TABLE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_VALVE_TABLE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param valveTableId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_VALVE_TABLE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationValveTableReport(ByteBuffer buffer, Integer valveTableId) {
+        logger.debug("Creating command message IRRIGATION_VALVE_TABLE_REPORT version 1");
 
-        // Process 'vg1'
+        if (buffer.remaining() < IRRIGATION_VALVE_TABLE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_VALVE_TABLE_REPORT);
+        buffer.put(valveTableId.byteValue());
     }
 
     /**
@@ -1972,16 +2185,32 @@ public class CommandClassIrrigationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getIrrigationSystemShutoff(Integer duration) {
-        logger.debug("Creating command message IRRIGATION_SYSTEM_SHUTOFF version 1");
+        byte[] outputData = new byte[IRRIGATION_SYSTEM_SHUTOFF_LENGTH];
+        getIrrigationSystemShutoff(ByteBuffer.wrap(outputData), duration);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(IRRIGATION_SYSTEM_SHUTOFF);
+    /**
+     * Writes a new message with the IRRIGATION_SYSTEM_SHUTOFF command into the supplied buffer.
+     * <p>
+     * Exactly {@link #IRRIGATION_SYSTEM_SHUTOFF_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param duration {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #IRRIGATION_SYSTEM_SHUTOFF_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getIrrigationSystemShutoff(ByteBuffer buffer, Integer duration) {
+        logger.debug("Creating command message IRRIGATION_SYSTEM_SHUTOFF version 1");
 
-        // Process 'Duration'
-        outputData.write(duration);
+        if (buffer.remaining() < IRRIGATION_SYSTEM_SHUTOFF_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) IRRIGATION_SYSTEM_SHUTOFF);
+        buffer.put(duration.byteValue());
     }
 
     /**
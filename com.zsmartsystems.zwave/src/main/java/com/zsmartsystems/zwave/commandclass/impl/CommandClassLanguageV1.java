@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +41,26 @@ public class CommandClassLanguageV1 {
      * Language Set Command Constant
      */
     public final static int LANGUAGE_SET = 0x01;
+    /**
+     * Length of the encoded LANGUAGE_SET command
+     */
+    public final static int LANGUAGE_SET_LENGTH = 4;
     /**
      * Language Get Command Constant
      */
     public final static int LANGUAGE_GET = 0x02;
+    /**
+     * Length of the encoded LANGUAGE_GET command
+     */
+    public final static int LANGUAGE_GET_LENGTH = 2;
     /**
      * Language Report Command Constant
      */
     public final static int LANGUAGE_REPORT = 0x03;
+    /**
+     * Length of the encoded LANGUAGE_REPORT command
+     */
+    public final static int LANGUAGE_REPORT_LENGTH = 4;
 
 
     /**
@@ -59,19 +72,32 @@ public class CommandClassLanguageV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLanguageSet(Integer country) {
-        logger.debug("Creating command message LANGUAGE_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LANGUAGE_SET);
+        byte[] outputData = new byte[LANGUAGE_SET_LENGTH];
+        getLanguageSet(ByteBuffer.wrap(outputData), country);
+        return outputData;
+    }
 
-        // Process 'Language'
+    /**
+     * Writes a new message with the LANGUAGE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LANGUAGE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param country {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #LANGUAGE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getLanguageSet(ByteBuffer buffer, Integer country) {
+        logger.debug("Creating command message LANGUAGE_SET version 1");
 
-        // Process 'Country'
-        outputData.write((country >> 8) & 0xff);
-        outputData.write(country & 0xff);
+        if (buffer.remaining() < LANGUAGE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LANGUAGE_SET);
+        buffer.put((byte) ((country >> 8) & 0xff));
+        buffer.put((byte) (country & 0xff));
     }
 
     /**
@@ -109,13 +135,29 @@ public class CommandClassLanguageV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLanguageGet() {
+        byte[] outputData = new byte[LANGUAGE_GET_LENGTH];
+        getLanguageGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the LANGUAGE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LANGUAGE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #LANGUAGE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getLanguageGet(ByteBuffer buffer) {
         logger.debug("Creating command message LANGUAGE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LANGUAGE_GET);
+        if (buffer.remaining() < LANGUAGE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LANGUAGE_GET);
     }
 
     /**
@@ -143,19 +185,32 @@ public class CommandClassLanguageV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLanguageReport(Integer country) {
-        logger.debug("Creating command message LANGUAGE_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LANGUAGE_REPORT);
+        byte[] outputData = new byte[LANGUAGE_REPORT_LENGTH];
+        getLanguageReport(ByteBuffer.wrap(outputData), country);
+        return outputData;
+    }
 
-        // Process 'Language'
+    /**
+     * Writes a new message with the LANGUAGE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LANGUAGE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param country {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #LANGUAGE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getLanguageReport(ByteBuffer buffer, Integer country) {
+        logger.debug("Creating command message LANGUAGE_REPORT version 1");
 
-        // Process 'Country'
-        outputData.write((country >> 8) & 0xff);
-        outputData.write(country & 0xff);
+        if (buffer.remaining() < LANGUAGE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LANGUAGE_REPORT);
+        buffer.put((byte) ((country >> 8) & 0xff));
+        buffer.put((byte) (country & 0xff));
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,25 +41,47 @@ public class CommandClassLockV1 {
      * Lock Set Command Constant
      */
     public final static int LOCK_SET = 0x01;
+    /**
+     * Length of the encoded LOCK_SET command
+     */
+    public final static int LOCK_SET_LENGTH = 3;
     /**
      * Lock Get Command Constant
      */
     public final static int LOCK_GET = 0x02;
+    /**
+     * Length of the encoded LOCK_GET command
+     */
+    public final static int LOCK_GET_LENGTH = 2;
     /**
      * Lock Report Command Constant
      */
     public final static int LOCK_REPORT = 0x03;
+    /**
+     * Length of the encoded LOCK_REPORT command
+     */
+    public final static int LOCK_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for LockReportLockState
      */
     private static Map<Integer, String> constantLockReportLockState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for LockReportLockState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseLockReportLockState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for LockSetLockState
      */
     private static Map<Integer, String> constantLockSetLockState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for LockSetLockState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseLockSetLockState = new HashMap<String, Integer>();
+
     static {
         // Constants for LockReportLockState
         constantLockReportLockState.put(0x00, "UNLOCKED");
@@ -67,6 +90,14 @@ public class CommandClassLockV1 {
         // Constants for LockSetLockState
         constantLockSetLockState.put(0x00, "UNLOCKED");
         constantLockSetLockState.put(0x01, "LOCKED");
+
+        // Reverse constants for LockReportLockState
+        reverseLockReportLockState.put("UNLOCKED", 0x00);
+        reverseLockReportLockState.put("LOCKED", 0x01);
+
+        // Reverse constants for LockSetLockState
+        reverseLockSetLockState.put("UNLOCKED", 0x00);
+        reverseLockSetLockState.put("LOCKED", 0x01);
     }
 
     /**
@@ -84,26 +115,43 @@ public class CommandClassLockV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLockSet(String lockState) {
+        byte[] outputData = new byte[LOCK_SET_LENGTH];
+        getLockSet(ByteBuffer.wrap(outputData), lockState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the LOCK_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LOCK_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param lockState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNLOCKED
+     *            <li>LOCKED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #LOCK_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getLockSet(ByteBuffer buffer, String lockState) {
         logger.debug("Creating command message LOCK_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LOCK_SET);
+        if (buffer.remaining() < LOCK_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Lock State'
-        boolean foundLockState = false;
-        for (Integer entry : constantLockSetLockState.keySet()) {
-            if (constantLockSetLockState.get(entry).equals(lockState)) {
-                outputData.write(entry);
-                foundLockState = true;
-                break;
-            }
-        }
-        if (!foundLockState) {
+        Integer varLockState = reverseLockSetLockState.get(lockState);
+        if (varLockState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + lockState + "' for lockState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LOCK_SET);
+        buffer.put(varLockState.byteValue());
     }
 
     /**
@@ -145,13 +193,29 @@ public class CommandClassLockV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLockGet() {
+        byte[] outputData = new byte[LOCK_GET_LENGTH];
+        getLockGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the LOCK_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LOCK_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #LOCK_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getLockGet(ByteBuffer buffer) {
         logger.debug("Creating command message LOCK_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LOCK_GET);
+        if (buffer.remaining() < LOCK_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LOCK_GET);
     }
 
     /**
@@ -185,26 +249,43 @@ public class CommandClassLockV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLockReport(String lockState) {
+        byte[] outputData = new byte[LOCK_REPORT_LENGTH];
+        getLockReport(ByteBuffer.wrap(outputData), lockState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the LOCK_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LOCK_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param lockState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNLOCKED
+     *            <li>LOCKED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #LOCK_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getLockReport(ByteBuffer buffer, String lockState) {
         logger.debug("Creating command message LOCK_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LOCK_REPORT);
+        if (buffer.remaining() < LOCK_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Lock State'
-        boolean foundLockState = false;
-        for (Integer entry : constantLockReportLockState.keySet()) {
-            if (constantLockReportLockState.get(entry).equals(lockState)) {
-                outputData.write(entry);
-                foundLockState = true;
-                break;
-            }
-        }
-        if (!foundLockState) {
+        Integer varLockState = reverseLockReportLockState.get(lockState);
+        if (varLockState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + lockState + "' for lockState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LOCK_REPORT);
+        buffer.put(varLockState.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -42,6 +44,10 @@ public class CommandClassMailboxV1 {
      * Mailbox Configuration Get Command Constant
      */
     public final static int MAILBOX_CONFIGURATION_GET = 0x01;
+    /**
+     * Length of the encoded MAILBOX_CONFIGURATION_GET command
+     */
+    public final static int MAILBOX_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Mailbox Configuration Set Command Constant
      */
@@ -58,26 +64,49 @@ public class CommandClassMailboxV1 {
      * Mailbox Wakeup Notification Command Constant
      */
     public final static int MAILBOX_WAKEUP_NOTIFICATION = 0x05;
+    /**
+     * Length of the encoded MAILBOX_WAKEUP_NOTIFICATION command
+     */
+    public final static int MAILBOX_WAKEUP_NOTIFICATION_LENGTH = 3;
     /**
      * Mailbox Failing Node Command Constant
      */
     public final static int MAILBOX_NODE_FAILING = 0x06;
+    /**
+     * Length of the encoded MAILBOX_NODE_FAILING command
+     */
+    public final static int MAILBOX_NODE_FAILING_LENGTH = 3;
 
     /**
      * Map holding constants for MailboxQueueMode
      */
     private static Map<Integer, String> constantMailboxQueueMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MailboxQueueMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMailboxQueueMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MailboxConfigurationReportMode
      */
     private static Map<Integer, String> constantMailboxConfigurationReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MailboxConfigurationReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMailboxConfigurationReportMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MailboxConfigurationReportSupportedModes
      */
     private static Map<Integer, String> constantMailboxConfigurationReportSupportedModes = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MailboxConfigurationReportSupportedModes, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMailboxConfigurationReportSupportedModes = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MailboxQueueProperties1
      */
@@ -88,6 +117,11 @@ public class CommandClassMailboxV1 {
      */
     private static Map<Integer, String> constantMailboxConfigurationSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MailboxConfigurationSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMailboxConfigurationSetMode = new HashMap<String, Integer>();
+
     static {
         // Constants for MailboxQueueMode
         constantMailboxQueueMode.put(0x00, "PUSH");
@@ -114,6 +148,29 @@ public class CommandClassMailboxV1 {
         constantMailboxConfigurationSetMode.put(0x00, "DISABLE");
         constantMailboxConfigurationSetMode.put(0x01, "ENABLE_MAILBOX_SERVICE");
         constantMailboxConfigurationSetMode.put(0x02, "ENABLE_MAILBOX_PROXY");
+
+        // Reverse constants for MailboxQueueMode
+        reverseMailboxQueueMode.put("PUSH", 0x00);
+        reverseMailboxQueueMode.put("POP", 0x01);
+        reverseMailboxQueueMode.put("WAITING", 0x02);
+        reverseMailboxQueueMode.put("PING", 0x03);
+        reverseMailboxQueueMode.put("ACK", 0x04);
+        reverseMailboxQueueMode.put("NACK", 0x05);
+        reverseMailboxQueueMode.put("QUEUE_FULL", 0x06);
+
+        // Reverse constants for MailboxConfigurationReportMode
+        reverseMailboxConfigurationReportMode.put("DISABLE", 0x00);
+        reverseMailboxConfigurationReportMode.put("ENABLE_MAILBOX_SERVICE", 0x01);
+        reverseMailboxConfigurationReportMode.put("ENABLE_MAILBOX_PROXY", 0x02);
+
+        // Reverse constants for MailboxConfigurationReportSupportedModes
+        reverseMailboxConfigurationReportSupportedModes.put("MAILBOX_SERVICE_SUPPORTED", 0x00);
+        reverseMailboxConfigurationReportSupportedModes.put("MAILBOX_PROXY_SUPPORTED", 0x01);
+
+        // Reverse constants for MailboxConfigurationSetMode
+        reverseMailboxConfigurationSetMode.put("DISABLE", 0x00);
+        reverseMailboxConfigurationSetMode.put("ENABLE_MAILBOX_SERVICE", 0x01);
+        reverseMailboxConfigurationSetMode.put("ENABLE_MAILBOX_PROXY", 0x02);
     }
 
     /**
@@ -124,13 +181,30 @@ public class CommandClassMailboxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMailboxConfigurationGet() {
+        byte[] outputData = new byte[MAILBOX_CONFIGURATION_GET_LENGTH];
+        getMailboxConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MAILBOX_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MAILBOX_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #MAILBOX_CONFIGURATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMailboxConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message MAILBOX_CONFIGURATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MAILBOX_CONFIGURATION_GET);
+        if (buffer.remaining() < MAILBOX_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MAILBOX_CONFIGURATION_GET);
     }
 
     /**
@@ -175,14 +249,8 @@ public class CommandClassMailboxV1 {
         outputData.write(MAILBOX_CONFIGURATION_SET);
 
         // Process 'Properties1'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantMailboxConfigurationSetMode.keySet()) {
-            if (constantMailboxConfigurationSetMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseMailboxConfigurationSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
         outputData.write(varMode & 0x07);
@@ -285,25 +353,13 @@ public class CommandClassMailboxV1 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantMailboxConfigurationReportMode.keySet()) {
-            if (constantMailboxConfigurationReportMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseMailboxConfigurationReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
         valProperties1 |= varMode & 0x07;
-        int varSupportedModes = Integer.MAX_VALUE;
-        for (Integer entry : constantMailboxConfigurationReportSupportedModes.keySet()) {
-            if (constantMailboxConfigurationReportSupportedModes.get(entry).equals(supportedModes)) {
-                varSupportedModes = entry;
-                break;
-            }
-        }
-        if (varSupportedModes == Integer.MAX_VALUE) {
+        Integer varSupportedModes = reverseMailboxConfigurationReportSupportedModes.get(supportedModes);
+        if (varSupportedModes == null) {
             throw new IllegalArgumentException("Unknown constant value '" + supportedModes + "' for supportedModes");
         }
         valProperties1 |= varSupportedModes << 3 & 0x18;
@@ -424,14 +480,8 @@ public class CommandClassMailboxV1 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantMailboxQueueMode.keySet()) {
-            if (constantMailboxQueueMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseMailboxQueueMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
         valProperties1 |= varMode & 0x03;
@@ -522,16 +572,32 @@ public class CommandClassMailboxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMailboxWakeupNotification(Integer queueHandle) {
-        logger.debug("Creating command message MAILBOX_WAKEUP_NOTIFICATION version 1");
+        byte[] outputData = new byte[MAILBOX_WAKEUP_NOTIFICATION_LENGTH];
+        getMailboxWakeupNotification(ByteBuffer.wrap(outputData), queueHandle);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MAILBOX_WAKEUP_NOTIFICATION);
+    /**
+     * Writes a new message with the MAILBOX_WAKEUP_NOTIFICATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MAILBOX_WAKEUP_NOTIFICATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param queueHandle {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MAILBOX_WAKEUP_NOTIFICATION_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMailboxWakeupNotification(ByteBuffer buffer, Integer queueHandle) {
+        logger.debug("Creating command message MAILBOX_WAKEUP_NOTIFICATION version 1");
 
-        // Process 'Queue Handle'
-        outputData.write(queueHandle);
+        if (buffer.remaining() < MAILBOX_WAKEUP_NOTIFICATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MAILBOX_WAKEUP_NOTIFICATION);
+        buffer.put(queueHandle.byteValue());
     }
 
     /**
@@ -568,16 +634,31 @@ public class CommandClassMailboxV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMailboxNodeFailing(Integer queueHandle) {
-        logger.debug("Creating command message MAILBOX_NODE_FAILING version 1");
+        byte[] outputData = new byte[MAILBOX_NODE_FAILING_LENGTH];
+        getMailboxNodeFailing(ByteBuffer.wrap(outputData), queueHandle);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MAILBOX_NODE_FAILING);
+    /**
+     * Writes a new message with the MAILBOX_NODE_FAILING command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MAILBOX_NODE_FAILING_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param queueHandle {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MAILBOX_NODE_FAILING_LENGTH} bytes remain in the buffer
+     */
+    static public void getMailboxNodeFailing(ByteBuffer buffer, Integer queueHandle) {
+        logger.debug("Creating command message MAILBOX_NODE_FAILING version 1");
 
-        // Process 'Queue Handle'
-        outputData.write(queueHandle);
+        if (buffer.remaining() < MAILBOX_NODE_FAILING_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MAILBOX_NODE_FAILING);
+        buffer.put(queueHandle.byteValue());
     }
 
     /**
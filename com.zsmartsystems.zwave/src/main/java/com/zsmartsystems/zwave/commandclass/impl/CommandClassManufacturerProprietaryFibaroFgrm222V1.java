@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,24 +41,45 @@ public class CommandClassManufacturerProprietaryFibaroFgrm222V1 {
      * Set shutter or lamella position Command Constant
      */
     public final static int FGRM222_SET = 0x01;
+    /**
+     * Length of the encoded FGRM222_SET command
+     */
+    public final static int FGRM222_SET_LENGTH = 8;
     /**
      * Get blinds and Lamella position Command Constant
      */
     public final static int FGRM222_GET = 0x02;
+    /**
+     * Length of the encoded FGRM222_GET command
+     */
+    public final static int FGRM222_GET_LENGTH = 2;
     /**
      * Blinds and Lamella position report Command Constant
      */
     public final static int FGRM222_REPORT = 0x03;
+    /**
+     * Length of the encoded FGRM222_REPORT command
+     */
+    public final static int FGRM222_REPORT_LENGTH = 8;
 
     /**
      * Map holding constants for Fgrm222SetCommand
      */
     private static Map<Integer, String> constantFgrm222SetCommand = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for Fgrm222SetCommand, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFgrm222SetCommand = new HashMap<String, Integer>();
+
     static {
         // Constants for Fgrm222SetCommand
         constantFgrm222SetCommand.put(0x01, "LAMELLA_POSITION");
         constantFgrm222SetCommand.put(0x02, "SHUTTER_POSITION");
+
+        // Reverse constants for Fgrm222SetCommand
+        reverseFgrm222SetCommand.put("LAMELLA_POSITION", 0x01);
+        reverseFgrm222SetCommand.put("SHUTTER_POSITION", 0x02);
     }
 
     /**
@@ -77,41 +99,51 @@ public class CommandClassManufacturerProprietaryFibaroFgrm222V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFgrm222Set(String command, Integer shutterPosition, Integer lamellaPosition) {
-        logger.debug("Creating command message FGRM222_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FGRM222_SET);
-
-        // Process 'Constant1'
-        outputData.write(0x0F);
+        byte[] outputData = new byte[FGRM222_SET_LENGTH];
+        getFgrm222Set(ByteBuffer.wrap(outputData), command, shutterPosition, lamellaPosition);
+        return outputData;
+    }
 
-        // Process 'Constant2'
-        outputData.write(0x26);
+    /**
+     * Writes a new message with the FGRM222_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FGRM222_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param command {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>LAMELLA_POSITION
+     *            <li>SHUTTER_POSITION
+     *            </ul>
+     * @param shutterPosition {@link Integer}
+     * @param lamellaPosition {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #FGRM222_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getFgrm222Set(ByteBuffer buffer, String command, Integer shutterPosition,
+            Integer lamellaPosition) {
+        logger.debug("Creating command message FGRM222_SET version 1");
 
-        // Process 'Constant3'
-        outputData.write(0x01);
+        if (buffer.remaining() < FGRM222_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Command'
-        boolean foundCommand = false;
-        for (Integer entry : constantFgrm222SetCommand.keySet()) {
-            if (constantFgrm222SetCommand.get(entry).equals(command)) {
-                outputData.write(entry);
-                foundCommand = true;
-                break;
-            }
-        }
-        if (!foundCommand) {
+        Integer varCommand = reverseFgrm222SetCommand.get(command);
+        if (varCommand == null) {
             throw new IllegalArgumentException("Unknown constant value '" + command + "' for command");
         }
 
-        // Process 'Shutter Position'
-        outputData.write(shutterPosition);
-
-        // Process 'Lamella Position'
-        outputData.write(lamellaPosition);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FGRM222_SET);
+        buffer.put((byte) 0x0F);
+        buffer.put((byte) 0x26);
+        buffer.put((byte) 0x01);
+        buffer.put(varCommand.byteValue());
+        buffer.put(shutterPosition.byteValue());
+        buffer.put(lamellaPosition.byteValue());
     }
 
     /**
@@ -167,13 +199,29 @@ public class CommandClassManufacturerProprietaryFibaroFgrm222V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFgrm222Get() {
+        byte[] outputData = new byte[FGRM222_GET_LENGTH];
+        getFgrm222Get(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the FGRM222_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FGRM222_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #FGRM222_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getFgrm222Get(ByteBuffer buffer) {
         logger.debug("Creating command message FGRM222_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FGRM222_GET);
+        if (buffer.remaining() < FGRM222_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FGRM222_GET);
     }
 
     /**
@@ -202,31 +250,37 @@ public class CommandClassManufacturerProprietaryFibaroFgrm222V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFgrm222Report(Integer shutterPosition, Integer lamellaPosition) {
-        logger.debug("Creating command message FGRM222_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FGRM222_REPORT);
-
-        // Process 'Constant1'
-        outputData.write(0x0F);
-
-        // Process 'Constant2'
-        outputData.write(0x26);
-
-        // Process 'Constant3'
-        outputData.write(0x01);
-
-        // Process 'Reserved4'
-        outputData.write(0);
+        byte[] outputData = new byte[FGRM222_REPORT_LENGTH];
+        getFgrm222Report(ByteBuffer.wrap(outputData), shutterPosition, lamellaPosition);
+        return outputData;
+    }
 
-        // Process 'Shutter Position'
-        outputData.write(shutterPosition);
+    /**
+     * Writes a new message with the FGRM222_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FGRM222_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param shutterPosition {@link Integer}
+     * @param lamellaPosition {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #FGRM222_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getFgrm222Report(ByteBuffer buffer, Integer shutterPosition, Integer lamellaPosition) {
+        logger.debug("Creating command message FGRM222_REPORT version 1");
 
-        // Process 'Lamella Position'
-        outputData.write(lamellaPosition);
+        if (buffer.remaining() < FGRM222_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FGRM222_REPORT);
+        buffer.put((byte) 0x0F);
+        buffer.put((byte) 0x26);
+        buffer.put((byte) 0x01);
+        buffer.put((byte) 0);
+        buffer.put(shutterPosition.byteValue());
+        buffer.put(lamellaPosition.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +41,18 @@ public class CommandClassManufacturerSpecificV1 {
      * Manufacturer Specific Get Command Constant
      */
     public final static int MANUFACTURER_SPECIFIC_GET = 0x04;
+    /**
+     * Length of the encoded MANUFACTURER_SPECIFIC_GET command
+     */
+    public final static int MANUFACTURER_SPECIFIC_GET_LENGTH = 2;
     /**
      * Manufacturer Specific Report Command Constant
      */
     public final static int MANUFACTURER_SPECIFIC_REPORT = 0x05;
+    /**
+     * Length of the encoded MANUFACTURER_SPECIFIC_REPORT command
+     */
+    public final static int MANUFACTURER_SPECIFIC_REPORT_LENGTH = 8;
 
 
     /**
@@ -54,13 +63,30 @@ public class CommandClassManufacturerSpecificV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getManufacturerSpecificGet() {
+        byte[] outputData = new byte[MANUFACTURER_SPECIFIC_GET_LENGTH];
+        getManufacturerSpecificGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MANUFACTURER_SPECIFIC_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MANUFACTURER_SPECIFIC_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #MANUFACTURER_SPECIFIC_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getManufacturerSpecificGet(ByteBuffer buffer) {
         logger.debug("Creating command message MANUFACTURER_SPECIFIC_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MANUFACTURER_SPECIFIC_GET);
+        if (buffer.remaining() < MANUFACTURER_SPECIFIC_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MANUFACTURER_SPECIFIC_GET);
     }
 
     /**
@@ -90,25 +116,40 @@ public class CommandClassManufacturerSpecificV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getManufacturerSpecificReport(Integer manufacturerId, Integer productTypeId, Integer productId) {
-        logger.debug("Creating command message MANUFACTURER_SPECIFIC_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MANUFACTURER_SPECIFIC_REPORT);
-
-        // Process 'Manufacturer ID'
-        outputData.write((manufacturerId >> 8) & 0xff);
-        outputData.write(manufacturerId & 0xff);
-
-        // Process 'Product Type ID'
-        outputData.write((productTypeId >> 8) & 0xff);
-        outputData.write(productTypeId & 0xff);
+        byte[] outputData = new byte[MANUFACTURER_SPECIFIC_REPORT_LENGTH];
+        getManufacturerSpecificReport(ByteBuffer.wrap(outputData), manufacturerId, productTypeId, productId);
+        return outputData;
+    }
 
-        // Process 'Product ID'
-        outputData.write((productId >> 8) & 0xff);
-        outputData.write(productId & 0xff);
+    /**
+     * Writes a new message with the MANUFACTURER_SPECIFIC_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MANUFACTURER_SPECIFIC_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param manufacturerId {@link Integer}
+     * @param productTypeId {@link Integer}
+     * @param productId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MANUFACTURER_SPECIFIC_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getManufacturerSpecificReport(ByteBuffer buffer, Integer manufacturerId, Integer productTypeId,
+            Integer productId) {
+        logger.debug("Creating command message MANUFACTURER_SPECIFIC_REPORT version 1");
 
-        return outputData.toByteArray();
+        if (buffer.remaining() < MANUFACTURER_SPECIFIC_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
+
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MANUFACTURER_SPECIFIC_REPORT);
+        buffer.put((byte) ((manufacturerId >> 8) & 0xff));
+        buffer.put((byte) (manufacturerId & 0xff));
+        buffer.put((byte) ((productTypeId >> 8) & 0xff));
+        buffer.put((byte) (productTypeId & 0xff));
+        buffer.put((byte) ((productId >> 8) & 0xff));
+        buffer.put((byte) (productId & 0xff));
     }
 
     /**
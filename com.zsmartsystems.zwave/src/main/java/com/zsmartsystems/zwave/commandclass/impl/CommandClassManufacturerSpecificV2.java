@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,14 +43,26 @@ public class CommandClassManufacturerSpecificV2 {
      * Manufacturer Specific Get Command Constant
      */
     public final static int MANUFACTURER_SPECIFIC_GET = 0x04;
+    /**
+     * Length of the encoded MANUFACTURER_SPECIFIC_GET command
+     */
+    public final static int MANUFACTURER_SPECIFIC_GET_LENGTH = 2;
     /**
      * Manufacturer Specific Report Command Constant
      */
     public final static int MANUFACTURER_SPECIFIC_REPORT = 0x05;
+    /**
+     * Length of the encoded MANUFACTURER_SPECIFIC_REPORT command
+     */
+    public final static int MANUFACTURER_SPECIFIC_REPORT_LENGTH = 8;
     /**
      * Device Specific Get Command Constant
      */
     public final static int DEVICE_SPECIFIC_GET = 0x06;
+    /**
+     * Length of the encoded DEVICE_SPECIFIC_GET command
+     */
+    public final static int DEVICE_SPECIFIC_GET_LENGTH = 3;
     /**
      * Device Specific Report Command Constant
      */
@@ -59,16 +73,31 @@ public class CommandClassManufacturerSpecificV2 {
      */
     private static Map<Integer, String> constantDeviceSpecificReportDeviceIdDataFormat = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DeviceSpecificReportDeviceIdDataFormat, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDeviceSpecificReportDeviceIdDataFormat = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DeviceSpecificGetDeviceIdType
      */
     private static Map<Integer, String> constantDeviceSpecificGetDeviceIdType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DeviceSpecificGetDeviceIdType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDeviceSpecificGetDeviceIdType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for DeviceSpecificReportDeviceIdType
      */
     private static Map<Integer, String> constantDeviceSpecificReportDeviceIdType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DeviceSpecificReportDeviceIdType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDeviceSpecificReportDeviceIdType = new HashMap<String, Integer>();
+
     static {
         // Constants for DeviceSpecificReportDeviceIdDataFormat
         constantDeviceSpecificReportDeviceIdDataFormat.put(0x00, "BINARY");
@@ -78,6 +107,15 @@ public class CommandClassManufacturerSpecificV2 {
 
         // Constants for DeviceSpecificReportDeviceIdType
         constantDeviceSpecificReportDeviceIdType.put(0x00, "SERIAL_NUMBER");
+
+        // Reverse constants for DeviceSpecificReportDeviceIdDataFormat
+        reverseDeviceSpecificReportDeviceIdDataFormat.put("BINARY", 0x00);
+
+        // Reverse constants for DeviceSpecificGetDeviceIdType
+        reverseDeviceSpecificGetDeviceIdType.put("SERIAL_NUMBER", 0x00);
+
+        // Reverse constants for DeviceSpecificReportDeviceIdType
+        reverseDeviceSpecificReportDeviceIdType.put("SERIAL_NUMBER", 0x00);
     }
 
     /**
@@ -88,13 +126,30 @@ public class CommandClassManufacturerSpecificV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getManufacturerSpecificGet() {
+        byte[] outputData = new byte[MANUFACTURER_SPECIFIC_GET_LENGTH];
+        getManufacturerSpecificGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MANUFACTURER_SPECIFIC_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MANUFACTURER_SPECIFIC_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #MANUFACTURER_SPECIFIC_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getManufacturerSpecificGet(ByteBuffer buffer) {
         logger.debug("Creating command message MANUFACTURER_SPECIFIC_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MANUFACTURER_SPECIFIC_GET);
+        if (buffer.remaining() < MANUFACTURER_SPECIFIC_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MANUFACTURER_SPECIFIC_GET);
     }
 
     /**
@@ -124,25 +179,40 @@ public class CommandClassManufacturerSpecificV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getManufacturerSpecificReport(Integer manufacturerId, Integer productTypeId, Integer productId) {
-        logger.debug("Creating command message MANUFACTURER_SPECIFIC_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MANUFACTURER_SPECIFIC_REPORT);
-
-        // Process 'Manufacturer ID'
-        outputData.write((manufacturerId >> 8) & 0xff);
-        outputData.write(manufacturerId & 0xff);
+        byte[] outputData = new byte[MANUFACTURER_SPECIFIC_REPORT_LENGTH];
+        getManufacturerSpecificReport(ByteBuffer.wrap(outputData), manufacturerId, productTypeId, productId);
+        return outputData;
+    }
 
-        // Process 'Product Type ID'
-        outputData.write((productTypeId >> 8) & 0xff);
-        outputData.write(productTypeId & 0xff);
+    /**
+     * Writes a new message with the MANUFACTURER_SPECIFIC_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MANUFACTURER_SPECIFIC_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param manufacturerId {@link Integer}
+     * @param productTypeId {@link Integer}
+     * @param productId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MANUFACTURER_SPECIFIC_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getManufacturerSpecificReport(ByteBuffer buffer, Integer manufacturerId, Integer productTypeId,
+            Integer productId) {
+        logger.debug("Creating command message MANUFACTURER_SPECIFIC_REPORT version 2");
 
-        // Process 'Product ID'
-        outputData.write((productId >> 8) & 0xff);
-        outputData.write(productId & 0xff);
+        if (buffer.remaining() < MANUFACTURER_SPECIFIC_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MANUFACTURER_SPECIFIC_REPORT);
+        buffer.put((byte) ((manufacturerId >> 8) & 0xff));
+        buffer.put((byte) (manufacturerId & 0xff));
+        buffer.put((byte) ((productTypeId >> 8) & 0xff));
+        buffer.put((byte) (productTypeId & 0xff));
+        buffer.put((byte) ((productId >> 8) & 0xff));
+        buffer.put((byte) (productId & 0xff));
     }
 
     /**
@@ -192,26 +262,42 @@ public class CommandClassManufacturerSpecificV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDeviceSpecificGet(String deviceIdType) {
+        byte[] outputData = new byte[DEVICE_SPECIFIC_GET_LENGTH];
+        getDeviceSpecificGet(ByteBuffer.wrap(outputData), deviceIdType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DEVICE_SPECIFIC_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DEVICE_SPECIFIC_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param deviceIdType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SERIAL_NUMBER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #DEVICE_SPECIFIC_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDeviceSpecificGet(ByteBuffer buffer, String deviceIdType) {
         logger.debug("Creating command message DEVICE_SPECIFIC_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DEVICE_SPECIFIC_GET);
+        if (buffer.remaining() < DEVICE_SPECIFIC_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varDeviceIdType = Integer.MAX_VALUE;
-        for (Integer entry : constantDeviceSpecificGetDeviceIdType.keySet()) {
-            if (constantDeviceSpecificGetDeviceIdType.get(entry).equals(deviceIdType)) {
-                varDeviceIdType = entry;
-                break;
-            }
-        }
-        if (varDeviceIdType == Integer.MAX_VALUE) {
+        Integer varDeviceIdType = reverseDeviceSpecificGetDeviceIdType.get(deviceIdType);
+        if (varDeviceIdType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + deviceIdType + "' for deviceIdType");
         }
-        outputData.write(varDeviceIdType & 0x07);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DEVICE_SPECIFIC_GET);
+        buffer.put((byte) (varDeviceIdType & 0x07));
     }
 
     /**
@@ -272,14 +358,8 @@ public class CommandClassManufacturerSpecificV2 {
         outputData.write(DEVICE_SPECIFIC_REPORT);
 
         // Process 'Properties1'
-        int varDeviceIdType = Integer.MAX_VALUE;
-        for (Integer entry : constantDeviceSpecificReportDeviceIdType.keySet()) {
-            if (constantDeviceSpecificReportDeviceIdType.get(entry).equals(deviceIdType)) {
-                varDeviceIdType = entry;
-                break;
-            }
-        }
-        if (varDeviceIdType == Integer.MAX_VALUE) {
+        Integer varDeviceIdType = reverseDeviceSpecificReportDeviceIdType.get(deviceIdType);
+        if (varDeviceIdType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + deviceIdType + "' for deviceIdType");
         }
         outputData.write(varDeviceIdType & 0x07);
@@ -289,14 +369,8 @@ public class CommandClassManufacturerSpecificV2 {
         int deviceIdDataLengthIndicator = deviceIdData.length;
         int valProperties2 = 0;
         valProperties2 |= deviceIdDataLengthIndicator & 0x1F;
-        int varDeviceIdDataFormat = Integer.MAX_VALUE;
-        for (Integer entry : constantDeviceSpecificReportDeviceIdDataFormat.keySet()) {
-            if (constantDeviceSpecificReportDeviceIdDataFormat.get(entry).equals(deviceIdDataFormat)) {
-                varDeviceIdDataFormat = entry;
-                break;
-            }
-        }
-        if (varDeviceIdDataFormat == Integer.MAX_VALUE) {
+        Integer varDeviceIdDataFormat = reverseDeviceSpecificReportDeviceIdDataFormat.get(deviceIdDataFormat);
+        if (varDeviceIdDataFormat == null) {
             throw new IllegalArgumentException("Unknown constant value '" + deviceIdDataFormat + "' for deviceIdDataFormat");
         }
         valProperties2 |= varDeviceIdDataFormat << 5 & 0xE0;
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +41,18 @@ public class CommandClassMeterPulseV1 {
      * Meter Pulse Get Command Constant
      */
     public final static int METER_PULSE_GET = 0x04;
+    /**
+     * Length of the encoded METER_PULSE_GET command
+     */
+    public final static int METER_PULSE_GET_LENGTH = 2;
     /**
      * Meter Pulse Report Command Constant
      */
     public final static int METER_PULSE_REPORT = 0x05;
+    /**
+     * Length of the encoded METER_PULSE_REPORT command
+     */
+    public final static int METER_PULSE_REPORT_LENGTH = 6;
 
 
     /**
@@ -54,13 +63,29 @@ public class CommandClassMeterPulseV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterPulseGet() {
+        byte[] outputData = new byte[METER_PULSE_GET_LENGTH];
+        getMeterPulseGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_PULSE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_PULSE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_PULSE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterPulseGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_PULSE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_PULSE_GET);
+        if (buffer.remaining() < METER_PULSE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_PULSE_GET);
     }
 
     /**
@@ -88,19 +113,34 @@ public class CommandClassMeterPulseV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterPulseReport(Long pulseCount) {
-        logger.debug("Creating command message METER_PULSE_REPORT version 1");
+        byte[] outputData = new byte[METER_PULSE_REPORT_LENGTH];
+        getMeterPulseReport(ByteBuffer.wrap(outputData), pulseCount);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_PULSE_REPORT);
+    /**
+     * Writes a new message with the METER_PULSE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_PULSE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param pulseCount {@link Long}
+     * @throws BufferOverflowException if fewer than {@link #METER_PULSE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterPulseReport(ByteBuffer buffer, Long pulseCount) {
+        logger.debug("Creating command message METER_PULSE_REPORT version 1");
 
-        // Process 'Pulse Count'
-        outputData.write((byte) ((pulseCount >> 24) & 0xff));
-        outputData.write((byte) ((pulseCount >> 16) & 0xff));
-        outputData.write((byte) ((pulseCount >> 8) & 0xff));
-        outputData.write((byte) (pulseCount & 0xff));
+        if (buffer.remaining() < METER_PULSE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_PULSE_REPORT);
+        buffer.put((byte) ((pulseCount >> 24) & 0xff));
+        buffer.put((byte) ((pulseCount >> 16) & 0xff));
+        buffer.put((byte) ((pulseCount >> 8) & 0xff));
+        buffer.put((byte) (pulseCount & 0xff));
     }
 
     /**
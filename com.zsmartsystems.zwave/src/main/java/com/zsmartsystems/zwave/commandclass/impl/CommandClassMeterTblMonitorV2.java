@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassMeterTblMonitorV2 {
      * Meter Tbl Table Point Adm No Get Command Constant
      */
     public final static int METER_TBL_TABLE_POINT_ADM_NO_GET = 0x01;
+    /**
+     * Length of the encoded METER_TBL_TABLE_POINT_ADM_NO_GET command
+     */
+    public final static int METER_TBL_TABLE_POINT_ADM_NO_GET_LENGTH = 2;
     /**
      * Meter Tbl Table Point Adm No Report Command Constant
      */
@@ -51,6 +57,10 @@ public class CommandClassMeterTblMonitorV2 {
      * Meter Tbl Table Id Get Command Constant
      */
     public final static int METER_TBL_TABLE_ID_GET = 0x03;
+    /**
+     * Length of the encoded METER_TBL_TABLE_ID_GET command
+     */
+    public final static int METER_TBL_TABLE_ID_GET_LENGTH = 2;
     /**
      * Meter Tbl Table Id Report Command Constant
      */
@@ -59,6 +69,10 @@ public class CommandClassMeterTblMonitorV2 {
      * Meter Tbl Table Capability Get Command Constant
      */
     public final static int METER_TBL_TABLE_CAPABILITY_GET = 0x05;
+    /**
+     * Length of the encoded METER_TBL_TABLE_CAPABILITY_GET command
+     */
+    public final static int METER_TBL_TABLE_CAPABILITY_GET_LENGTH = 2;
     /**
      * Meter Tbl Report Command Constant
      */
@@ -67,14 +81,26 @@ public class CommandClassMeterTblMonitorV2 {
      * Meter Tbl Status Supported Get Command Constant
      */
     public final static int METER_TBL_STATUS_SUPPORTED_GET = 0x07;
+    /**
+     * Length of the encoded METER_TBL_STATUS_SUPPORTED_GET command
+     */
+    public final static int METER_TBL_STATUS_SUPPORTED_GET_LENGTH = 2;
     /**
      * Meter Tbl Status Supported Report Command Constant
      */
     public final static int METER_TBL_STATUS_SUPPORTED_REPORT = 0x08;
+    /**
+     * Length of the encoded METER_TBL_STATUS_SUPPORTED_REPORT command
+     */
+    public final static int METER_TBL_STATUS_SUPPORTED_REPORT_LENGTH = 3;
     /**
      * Meter Tbl Status Depth Get Command Constant
      */
     public final static int METER_TBL_STATUS_DEPTH_GET = 0x09;
+    /**
+     * Length of the encoded METER_TBL_STATUS_DEPTH_GET command
+     */
+    public final static int METER_TBL_STATUS_DEPTH_GET_LENGTH = 3;
     /**
      * Meter Tbl Status Date Get Command Constant
      */
@@ -83,10 +109,18 @@ public class CommandClassMeterTblMonitorV2 {
      * Meter Tbl Status Report Command Constant
      */
     public final static int METER_TBL_STATUS_REPORT = 0x0B;
+    /**
+     * Length of the encoded METER_TBL_STATUS_REPORT command
+     */
+    public final static int METER_TBL_STATUS_REPORT_LENGTH = 3;
     /**
      * Meter Tbl Current Data Get Command Constant
      */
     public final static int METER_TBL_CURRENT_DATA_GET = 0x0C;
+    /**
+     * Length of the encoded METER_TBL_CURRENT_DATA_GET command
+     */
+    public final static int METER_TBL_CURRENT_DATA_GET_LENGTH = 2;
     /**
      * Meter Tbl Current Data Report Command Constant
      */
@@ -120,6 +154,11 @@ public class CommandClassMeterTblMonitorV2 {
      */
     private static Map<Integer, String> constantMeterTblReportPayMeter = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterTblReportPayMeter, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterTblReportPayMeter = new HashMap<String, Integer>();
+
     static {
         // Constants for MeterTblStatusReportProperties1
         constantMeterTblStatusReportProperties1.put(0x80, "TYPE");
@@ -134,6 +173,11 @@ public class CommandClassMeterTblMonitorV2 {
         constantMeterTblReportPayMeter.put(0x00, "CREDITMETER");
         constantMeterTblReportPayMeter.put(0x01, "PREPAYMENT_METER");
         constantMeterTblReportPayMeter.put(0x02, "PREPAYMENT_METER_DEBT");
+
+        // Reverse constants for MeterTblReportPayMeter
+        reverseMeterTblReportPayMeter.put("CREDITMETER", 0x00);
+        reverseMeterTblReportPayMeter.put("PREPAYMENT_METER", 0x01);
+        reverseMeterTblReportPayMeter.put("PREPAYMENT_METER_DEBT", 0x02);
     }
 
     /**
@@ -144,13 +188,30 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblTablePointAdmNoGet() {
+        byte[] outputData = new byte[METER_TBL_TABLE_POINT_ADM_NO_GET_LENGTH];
+        getMeterTblTablePointAdmNoGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_TBL_TABLE_POINT_ADM_NO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_TABLE_POINT_ADM_NO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_TABLE_POINT_ADM_NO_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getMeterTblTablePointAdmNoGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_TBL_TABLE_POINT_ADM_NO_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_TABLE_POINT_ADM_NO_GET);
+        if (buffer.remaining() < METER_TBL_TABLE_POINT_ADM_NO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_TABLE_POINT_ADM_NO_GET);
     }
 
     /**
@@ -242,13 +303,29 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblTableIdGet() {
+        byte[] outputData = new byte[METER_TBL_TABLE_ID_GET_LENGTH];
+        getMeterTblTableIdGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_TBL_TABLE_ID_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_TABLE_ID_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_TABLE_ID_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterTblTableIdGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_TBL_TABLE_ID_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_TABLE_ID_GET);
+        if (buffer.remaining() < METER_TBL_TABLE_ID_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_TABLE_ID_GET);
     }
 
     /**
@@ -340,13 +417,30 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblTableCapabilityGet() {
+        byte[] outputData = new byte[METER_TBL_TABLE_CAPABILITY_GET_LENGTH];
+        getMeterTblTableCapabilityGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_TBL_TABLE_CAPABILITY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_TABLE_CAPABILITY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_TABLE_CAPABILITY_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMeterTblTableCapabilityGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_TBL_TABLE_CAPABILITY_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_TABLE_CAPABILITY_GET);
+        if (buffer.remaining() < METER_TBL_TABLE_CAPABILITY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_TABLE_CAPABILITY_GET);
     }
 
     /**
@@ -396,14 +490,8 @@ public class CommandClassMeterTblMonitorV2 {
         outputData.write(valProperties1);
 
         // Process 'Properties2'
-        int varPayMeter = Integer.MAX_VALUE;
-        for (Integer entry : constantMeterTblReportPayMeter.keySet()) {
-            if (constantMeterTblReportPayMeter.get(entry).equals(payMeter)) {
-                varPayMeter = entry;
-                break;
-            }
-        }
-        if (varPayMeter == Integer.MAX_VALUE) {
+        Integer varPayMeter = reverseMeterTblReportPayMeter.get(payMeter);
+        if (varPayMeter == null) {
             throw new IllegalArgumentException("Unknown constant value '" + payMeter + "' for payMeter");
         }
         outputData.write(varPayMeter & 0x0F);
@@ -469,13 +557,30 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblStatusSupportedGet() {
+        byte[] outputData = new byte[METER_TBL_STATUS_SUPPORTED_GET_LENGTH];
+        getMeterTblStatusSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_TBL_STATUS_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_STATUS_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_STATUS_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMeterTblStatusSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_TBL_STATUS_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_STATUS_SUPPORTED_GET);
+        if (buffer.remaining() < METER_TBL_STATUS_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_STATUS_SUPPORTED_GET);
     }
 
     /**
@@ -503,18 +608,33 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblStatusSupportedReport(Integer statusEventLogDepth) {
-        logger.debug("Creating command message METER_TBL_STATUS_SUPPORTED_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_STATUS_SUPPORTED_REPORT);
+        byte[] outputData = new byte[METER_TBL_STATUS_SUPPORTED_REPORT_LENGTH];
+        getMeterTblStatusSupportedReport(ByteBuffer.wrap(outputData), statusEventLogDepth);
+        return outputData;
+    }
 
-        // Process 'Supported Operating Status'
+    /**
+     * Writes a new message with the METER_TBL_STATUS_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_STATUS_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param statusEventLogDepth {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_STATUS_SUPPORTED_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getMeterTblStatusSupportedReport(ByteBuffer buffer, Integer statusEventLogDepth) {
+        logger.debug("Creating command message METER_TBL_STATUS_SUPPORTED_REPORT version 2");
 
-        // Process 'Status Event Log Depth'
-        outputData.write(statusEventLogDepth);
+        if (buffer.remaining() < METER_TBL_STATUS_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_STATUS_SUPPORTED_REPORT);
+        buffer.put(statusEventLogDepth.byteValue());
     }
 
     /**
@@ -553,16 +673,32 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblStatusDepthGet(Integer statusEventLogDepth) {
-        logger.debug("Creating command message METER_TBL_STATUS_DEPTH_GET version 2");
+        byte[] outputData = new byte[METER_TBL_STATUS_DEPTH_GET_LENGTH];
+        getMeterTblStatusDepthGet(ByteBuffer.wrap(outputData), statusEventLogDepth);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_STATUS_DEPTH_GET);
+    /**
+     * Writes a new message with the METER_TBL_STATUS_DEPTH_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_STATUS_DEPTH_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param statusEventLogDepth {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_STATUS_DEPTH_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMeterTblStatusDepthGet(ByteBuffer buffer, Integer statusEventLogDepth) {
+        logger.debug("Creating command message METER_TBL_STATUS_DEPTH_GET version 2");
 
-        // Process 'Status Event Log Depth'
-        outputData.write(statusEventLogDepth);
+        if (buffer.remaining() < METER_TBL_STATUS_DEPTH_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_STATUS_DEPTH_GET);
+        buffer.put(statusEventLogDepth.byteValue());
     }
 
     /**
@@ -746,20 +882,31 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblStatusReport(Integer reportsToFollow) {
-        logger.debug("Creating command message METER_TBL_STATUS_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_STATUS_REPORT);
-
-        // Process 'Reports to follow'
-        outputData.write(reportsToFollow);
+        byte[] outputData = new byte[METER_TBL_STATUS_REPORT_LENGTH];
+        getMeterTblStatusReport(ByteBuffer.wrap(outputData), reportsToFollow);
+        return outputData;
+    }
 
-        // Process 'Current Operating Status'
+    /**
+     * Writes a new message with the METER_TBL_STATUS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_STATUS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param reportsToFollow {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_STATUS_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterTblStatusReport(ByteBuffer buffer, Integer reportsToFollow) {
+        logger.debug("Creating command message METER_TBL_STATUS_REPORT version 2");
 
-        // Process 'vg'
+        if (buffer.remaining() < METER_TBL_STATUS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_STATUS_REPORT);
+        buffer.put(reportsToFollow.byteValue());
     }
 
     /**
@@ -839,15 +986,30 @@ public class CommandClassMeterTblMonitorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblCurrentDataGet() {
-        logger.debug("Creating command message METER_TBL_CURRENT_DATA_GET version 2");
+        byte[] outputData = new byte[METER_TBL_CURRENT_DATA_GET_LENGTH];
+        getMeterTblCurrentDataGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_CURRENT_DATA_GET);
+    /**
+     * Writes a new message with the METER_TBL_CURRENT_DATA_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_CURRENT_DATA_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_CURRENT_DATA_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMeterTblCurrentDataGet(ByteBuffer buffer) {
+        logger.debug("Creating command message METER_TBL_CURRENT_DATA_GET version 2");
 
-        // Process 'Dataset Requested'
+        if (buffer.remaining() < METER_TBL_CURRENT_DATA_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_CURRENT_DATA_GET);
     }
 
     /**
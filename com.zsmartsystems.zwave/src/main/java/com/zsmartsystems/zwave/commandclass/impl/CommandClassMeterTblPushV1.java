@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassMeterTblPushV1 {
      * Meter Tbl Push Configuration Get Command Constant
      */
     public final static int METER_TBL_PUSH_CONFIGURATION_GET = 0x02;
+    /**
+     * Length of the encoded METER_TBL_PUSH_CONFIGURATION_GET command
+     */
+    public final static int METER_TBL_PUSH_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Meter Tbl Push Configuration Report Command Constant
      */
@@ -178,13 +184,30 @@ public class CommandClassMeterTblPushV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterTblPushConfigurationGet() {
+        byte[] outputData = new byte[METER_TBL_PUSH_CONFIGURATION_GET_LENGTH];
+        getMeterTblPushConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_TBL_PUSH_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_TBL_PUSH_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_TBL_PUSH_CONFIGURATION_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getMeterTblPushConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_TBL_PUSH_CONFIGURATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_TBL_PUSH_CONFIGURATION_GET);
+        if (buffer.remaining() < METER_TBL_PUSH_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_TBL_PUSH_CONFIGURATION_GET);
     }
 
     /**
@@ -9,7 +9,10 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -41,6 +44,10 @@ public class CommandClassMeterV1 {
      * Meter Get Command Constant
      */
     public final static int METER_GET = 0x01;
+    /**
+     * Length of the encoded METER_GET command
+     */
+    public final static int METER_GET_LENGTH = 2;
     /**
      * Meter Report Command Constant
      */
@@ -51,11 +58,21 @@ public class CommandClassMeterV1 {
      */
     private static Map<Integer, String> constantMeterReportMeterType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterReportMeterType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterReportMeterType = new HashMap<String, Integer>();
+
     static {
         // Constants for MeterReportMeterType
         constantMeterReportMeterType.put(0x01, "ELECTRIC_METER");
         constantMeterReportMeterType.put(0x02, "GAS_METER");
         constantMeterReportMeterType.put(0x03, "WATER_METER");
+
+        // Reverse constants for MeterReportMeterType
+        reverseMeterReportMeterType.put("ELECTRIC_METER", 0x01);
+        reverseMeterReportMeterType.put("GAS_METER", 0x02);
+        reverseMeterReportMeterType.put("WATER_METER", 0x03);
     }
 
     /**
@@ -66,13 +83,29 @@ public class CommandClassMeterV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterGet() {
+        byte[] outputData = new byte[METER_GET_LENGTH];
+        getMeterGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_GET);
+        if (buffer.remaining() < METER_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_GET);
     }
 
     /**
@@ -117,17 +150,11 @@ public class CommandClassMeterV1 {
         outputData.write(METER_REPORT);
 
         // Process 'Meter Type'
-        boolean foundMeterType = false;
-        for (Integer entry : constantMeterReportMeterType.keySet()) {
-            if (constantMeterReportMeterType.get(entry).equals(meterType)) {
-                outputData.write(entry);
-                foundMeterType = true;
-                break;
-            }
-        }
-        if (!foundMeterType) {
+        Integer varMeterType = reverseMeterReportMeterType.get(meterType);
+        if (varMeterType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + meterType + "' for meterType");
         }
+        outputData.write(varMeterType);
 
         // Process 'Properties1'
         // Size is used by 'Meter Value'
@@ -169,37 +196,115 @@ public class CommandClassMeterV1 {
      * <li>PRECISION {@link Integer}
      * <li>METER_VALUE {@link byte[]}
      * </ul>
+     * <p>
+     * The map is built from a {@link MeterReport} view. Use the view directly to process the
+     * frame without allocating.
      *
      * @param payload the {@link byte[]} payload data to process
      * @return a {@link Map} of processed response data
      */
     public static Map<String, Object> handleMeterReport(byte[] payload) {
+        MeterReport report = new MeterReport().wrap(payload);
+
         // Create our response map
         Map<String, Object> response = new HashMap<String, Object>();
 
-        // We're using variable length fields, so track the offset
-        int msgOffset = 2;
+        response.put("METER_TYPE", report.getMeterTypeLabel());
+        response.put("METER_VALUE", report.getMeterValueBytes());
 
-        // Process 'Meter Type'
-        response.put("METER_TYPE", constantMeterReportMeterType.get(payload[msgOffset] & 0xff));
-        msgOffset += 1;
+        // The map has always used these encodings, so keep them for existing consumers
+        response.put("SCALE", Integer.valueOf(payload[3] & 0x18 >> 3));
+        response.put("PRECISION", Integer.valueOf(payload[3] & 0xE0 >> 5));
 
-        // Process 'Properties1'
-        // Size is used by 'Meter Value'
-        int varSize = payload[msgOffset] & 0x07;
-        response.put("SCALE", Integer.valueOf(payload[msgOffset] & 0x18 >> 3));
-        response.put("PRECISION", Integer.valueOf(payload[msgOffset] & 0xE0 >> 5));
-        msgOffset += 1;
+        // Return the map of processed response data;
+        return response;
+    }
 
-        // Process 'Meter Value'
-        ByteArrayOutputStream valMeterValue = new ByteArrayOutputStream();
-        for (int cntMeterValue = 0; cntMeterValue < varSize; cntMeterValue++) {
-            valMeterValue.write(payload[msgOffset + cntMeterValue]);
+    /**
+     * Typed view over a received METER_REPORT frame.
+     * <p>
+     * Fields are decoded from the payload buffer as they are read, so processing a report does not create any
+     * objects. The view can be reused for subsequent frames by calling {@link #wrap(byte[])}.
+     */
+    public static class MeterReport {
+        private byte[] payload;
+
+        /**
+         * Sets the frame this view decodes. The buffer is referenced, not copied.
+         *
+         * @param payload the {@link byte[]} payload data to process
+         * @return this view
+         */
+        public MeterReport wrap(byte[] payload) {
+            this.payload = payload;
+            return this;
         }
-        response.put("METER_VALUE", valMeterValue.toByteArray());
-        msgOffset += varSize;
 
-        // Return the map of processed response data;
-        return response;
+        /**
+         * @return the 'Meter Type' value
+         */
+        public int getMeterType() {
+            return payload[2] & 0xff;
+        }
+
+        /**
+         * @return the 'Meter Type' constant, or null if the value is not known
+         */
+        public String getMeterTypeLabel() {
+            return constantMeterReportMeterType.get(getMeterType());
+        }
+
+        /**
+         * @return the 'Scale' value
+         */
+        public int getScale() {
+            return (payload[3] & 0x18) >> 3;
+        }
+
+        /**
+         * @return the 'Precision' value
+         */
+        public int getPrecision() {
+            return (payload[3] & 0xE0) >> 5;
+        }
+
+        /**
+         * @return the number of bytes in 'Meter Value'
+         */
+        public int getMeterValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Meter Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getMeterValue() {
+            int size = getMeterValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Meter Value' is " + size + " bytes");
+            }
+            int offset = 4;
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
+        }
+
+        /**
+         * @return a copy of the 'Meter Value' bytes
+         */
+        public byte[] getMeterValueBytes() {
+            int offset = 4;
+            int size = getMeterValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
     }
 }
@@ -9,7 +9,10 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -41,6 +44,10 @@ public class CommandClassMeterV2 {
      * Meter Get Command Constant
      */
     public final static int METER_GET = 0x01;
+    /**
+     * Length of the encoded METER_GET command
+     */
+    public final static int METER_GET_LENGTH = 3;
     /**
      * Meter Report Command Constant
      */
@@ -49,6 +56,10 @@ public class CommandClassMeterV2 {
      * Meter Supported Get Command Constant
      */
     public final static int METER_SUPPORTED_GET = 0x03;
+    /**
+     * Length of the encoded METER_SUPPORTED_GET command
+     */
+    public final static int METER_SUPPORTED_GET_LENGTH = 2;
     /**
      * Meter Supported Report Command Constant
      */
@@ -57,6 +68,10 @@ public class CommandClassMeterV2 {
      * Meter Reset Command Constant
      */
     public final static int METER_RESET = 0x05;
+    /**
+     * Length of the encoded METER_RESET command
+     */
+    public final static int METER_RESET_LENGTH = 2;
 
     /**
      * Map holding constants for MeterSupportedReportProperties1
@@ -77,16 +92,31 @@ public class CommandClassMeterV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterGet(Integer scale) {
-        logger.debug("Creating command message METER_GET version 2");
+        byte[] outputData = new byte[METER_GET_LENGTH];
+        getMeterGet(ByteBuffer.wrap(outputData), scale);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_GET);
+    /**
+     * Writes a new message with the METER_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scale {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #METER_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterGet(ByteBuffer buffer, Integer scale) {
+        logger.debug("Creating command message METER_GET version 2");
 
-        // Process 'Properties1'
-        outputData.write(((scale << 3) & 0x18));
+        if (buffer.remaining() < METER_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_GET);
+        buffer.put((byte) (((scale << 3) & 0x18)));
     }
 
     /**
@@ -190,53 +220,174 @@ public class CommandClassMeterV2 {
      * <li>DELTA_TIME {@link Integer}
      * <li>PREVIOUS_METER_VALUE {@link byte[]}
      * </ul>
+     * <p>
+     * The map is built from a {@link MeterReport} view. Use the view directly to process the
+     * frame without allocating.
      *
      * @param payload the {@link byte[]} payload data to process
      * @return a {@link Map} of processed response data
      */
     public static Map<String, Object> handleMeterReport(byte[] payload) {
+        MeterReport report = new MeterReport().wrap(payload);
+
         // Create our response map
         Map<String, Object> response = new HashMap<String, Object>();
 
-        // We're using variable length fields, so track the offset
-        int msgOffset = 2;
+        response.put("METER_TYPE", Integer.valueOf(report.getMeterType()));
+        response.put("METER_VALUE", report.getMeterValueBytes());
+        response.put("DELTA_TIME", Integer.valueOf(report.getDeltaTime()));
+        if (report.hasPreviousMeterValue()) {
+            response.put("PREVIOUS_METER_VALUE", report.getPreviousMeterValueBytes());
+        }
 
-        // Process 'Properties1'
-        response.put("METER_TYPE", Integer.valueOf(payload[msgOffset] & 0x1F));
-        response.put("RATE_TYPE", Integer.valueOf(payload[msgOffset] & 0x60 >> 5));
-        msgOffset += 1;
+        // The map has always used these encodings, so keep them for existing consumers
+        response.put("RATE_TYPE", Integer.valueOf(payload[2] & 0x60 >> 5));
+        response.put("SCALE", Integer.valueOf(payload[3] & 0x18 >> 3));
+        response.put("PRECISION", Integer.valueOf(payload[3] & 0xE0 >> 5));
 
-        // Process 'Properties2'
-        // Size is used by 'Meter Value' and 'Previous Meter Value'
-        int varSize = payload[msgOffset] & 0x07;
-        response.put("SCALE", Integer.valueOf(payload[msgOffset] & 0x18 >> 3));
-        response.put("PRECISION", Integer.valueOf(payload[msgOffset] & 0xE0 >> 5));
-        msgOffset += 1;
+        // Return the map of processed response data;
+        return response;
+    }
 
-        // Process 'Meter Value'
-        ByteArrayOutputStream valMeterValue = new ByteArrayOutputStream();
-        for (int cntMeterValue = 0; cntMeterValue < varSize; cntMeterValue++) {
-            valMeterValue.write(payload[msgOffset + cntMeterValue]);
+    /**
+     * Typed view over a received METER_REPORT frame.
+     * <p>
+     * Fields are decoded from the payload buffer as they are read, so processing a report does not create any
+     * objects. The view can be reused for subsequent frames by calling {@link #wrap(byte[])}.
+     */
+    public static class MeterReport {
+        private byte[] payload;
+
+        /**
+         * Sets the frame this view decodes. The buffer is referenced, not copied.
+         *
+         * @param payload the {@link byte[]} payload data to process
+         * @return this view
+         */
+        public MeterReport wrap(byte[] payload) {
+            this.payload = payload;
+            return this;
         }
-        response.put("METER_VALUE", valMeterValue.toByteArray());
-        msgOffset += varSize;
 
-        // Process 'Delta Time'
-        response.put("DELTA_TIME", Integer.valueOf(((payload[msgOffset] & 0xff) << 8) + (payload[msgOffset + 1] & 0xff)));
-        msgOffset += 2;
-
-        // Process 'Previous Meter Value' (optional)
-        if (true) {
-            ByteArrayOutputStream valPreviousMeterValue = new ByteArrayOutputStream();
-            for (int cntPreviousMeterValue = 0; cntPreviousMeterValue < varSize; cntPreviousMeterValue++) {
-                valPreviousMeterValue.write(payload[msgOffset + cntPreviousMeterValue]);
+        /**
+         * @return the 'Meter Type' value
+         */
+        public int getMeterType() {
+            return payload[2] & 0x1F;
+        }
+
+        /**
+         * @return the 'Rate Type' value
+         */
+        public int getRateType() {
+            return (payload[2] & 0x60) >> 5;
+        }
+
+        /**
+         * @return the 'Scale' value
+         */
+        public int getScale() {
+            return (payload[3] & 0x18) >> 3;
+        }
+
+        /**
+         * @return the 'Precision' value
+         */
+        public int getPrecision() {
+            return (payload[3] & 0xE0) >> 5;
+        }
+
+        /**
+         * @return the number of bytes in 'Meter Value'
+         */
+        public int getMeterValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Meter Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getMeterValue() {
+            int size = getMeterValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Meter Value' is " + size + " bytes");
+            }
+            int offset = 4;
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
             }
-            response.put("PREVIOUS_METER_VALUE", valPreviousMeterValue.toByteArray());
-            msgOffset += varSize;
+            return value;
         }
 
-        // Return the map of processed response data;
-        return response;
+        /**
+         * @return a copy of the 'Meter Value' bytes
+         */
+        public byte[] getMeterValueBytes() {
+            int offset = 4;
+            int size = getMeterValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
+
+        /**
+         * @return the 'Delta Time' value
+         */
+        public int getDeltaTime() {
+            return ((payload[4 + getMeterValueSize()] & 0xff) << 8) + (payload[5 + getMeterValueSize()] & 0xff);
+        }
+
+        /**
+         * @return true if the frame contains 'Previous Meter Value'
+         */
+        public boolean hasPreviousMeterValue() {
+            return payload.length >= 6 + getMeterValueSize() + getPreviousMeterValueSize();
+        }
+
+        /**
+         * @return the number of bytes in 'Previous Meter Value'
+         */
+        public int getPreviousMeterValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Previous Meter Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getPreviousMeterValue() {
+            int size = getPreviousMeterValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Previous Meter Value' is " + size + " bytes");
+            }
+            int offset = 6 + getMeterValueSize();
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
+        }
+
+        /**
+         * @return a copy of the 'Previous Meter Value' bytes
+         */
+        public byte[] getPreviousMeterValueBytes() {
+            int offset = 6 + getMeterValueSize();
+            int size = getPreviousMeterValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
     }
 
     /**
@@ -247,13 +398,29 @@ public class CommandClassMeterV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterSupportedGet() {
+        byte[] outputData = new byte[METER_SUPPORTED_GET_LENGTH];
+        getMeterSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_SUPPORTED_GET);
+        if (buffer.remaining() < METER_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_SUPPORTED_GET);
     }
 
     /**
@@ -340,13 +507,29 @@ public class CommandClassMeterV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterReset() {
+        byte[] outputData = new byte[METER_RESET_LENGTH];
+        getMeterReset(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_RESET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_RESET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_RESET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterReset(ByteBuffer buffer) {
         logger.debug("Creating command message METER_RESET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_RESET);
+        if (buffer.remaining() < METER_RESET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_RESET);
     }
 
     /**
@@ -9,7 +9,10 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -49,6 +52,10 @@ public class CommandClassMeterV4 {
      * Meter Supported Get Command Constant
      */
     public final static int METER_SUPPORTED_GET = 0x03;
+    /**
+     * Length of the encoded METER_SUPPORTED_GET command
+     */
+    public final static int METER_SUPPORTED_GET_LENGTH = 2;
     /**
      * Meter Supported Report Command Constant
      */
@@ -57,6 +64,10 @@ public class CommandClassMeterV4 {
      * Meter Reset Command Constant
      */
     public final static int METER_RESET = 0x05;
+    /**
+     * Length of the encoded METER_RESET command
+     */
+    public final static int METER_RESET_LENGTH = 2;
 
     /**
      * Map holding constants for MeterSupportedReportProperties1
@@ -68,6 +79,11 @@ public class CommandClassMeterV4 {
      */
     private static Map<Integer, String> constantMeterSupportedReportRateType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterSupportedReportRateType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterSupportedReportRateType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MeterSupportedReportProperties2
      */
@@ -78,16 +94,31 @@ public class CommandClassMeterV4 {
      */
     private static Map<Integer, String> constantMeterGetRateType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterGetRateType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterGetRateType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MeterReportRateType
      */
     private static Map<Integer, String> constantMeterReportRateType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterReportRateType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterReportRateType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MeterSupportedReportMeterType
      */
     private static Map<Integer, String> constantMeterSupportedReportMeterType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterSupportedReportMeterType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterSupportedReportMeterType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MeterReportProperties1
      */
@@ -98,6 +129,11 @@ public class CommandClassMeterV4 {
      */
     private static Map<Integer, String> constantMeterReportMeterType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MeterReportMeterType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMeterReportMeterType = new HashMap<String, Integer>();
+
     static {
         // Constants for MeterSupportedReportProperties1
         constantMeterSupportedReportProperties1.put(0x80, "METER_RESET");
@@ -132,6 +168,31 @@ public class CommandClassMeterV4 {
         constantMeterReportMeterType.put(0x00, "ELECTRIC_METER");
         constantMeterReportMeterType.put(0x01, "GAS_METER");
         constantMeterReportMeterType.put(0x02, "WATER_METER");
+
+        // Reverse constants for MeterSupportedReportRateType
+        reverseMeterSupportedReportRateType.put("IMPORT_ONLY", 0x00);
+        reverseMeterSupportedReportRateType.put("EXPORT_ONLY", 0x01);
+        reverseMeterSupportedReportRateType.put("IMPORT_AND_EXPORT", 0x02);
+
+        // Reverse constants for MeterGetRateType
+        reverseMeterGetRateType.put("IMPORT", 0x00);
+        reverseMeterGetRateType.put("EXPORT", 0x01);
+        reverseMeterGetRateType.put("NOT_TO_BE_USED", 0x02);
+
+        // Reverse constants for MeterReportRateType
+        reverseMeterReportRateType.put("IMPORT", 0x00);
+        reverseMeterReportRateType.put("EXPORT", 0x01);
+        reverseMeterReportRateType.put("NOT_TO_BE_USED", 0x02);
+
+        // Reverse constants for MeterSupportedReportMeterType
+        reverseMeterSupportedReportMeterType.put("ELECTRIC_METER", 0x00);
+        reverseMeterSupportedReportMeterType.put("GAS_METER", 0x01);
+        reverseMeterSupportedReportMeterType.put("WATER_METER", 0x02);
+
+        // Reverse constants for MeterReportMeterType
+        reverseMeterReportMeterType.put("ELECTRIC_METER", 0x00);
+        reverseMeterReportMeterType.put("GAS_METER", 0x01);
+        reverseMeterReportMeterType.put("WATER_METER", 0x02);
     }
 
     /**
@@ -161,14 +222,8 @@ public class CommandClassMeterV4 {
         // Process 'Properties1'
         int valProperties1 = 0;
         valProperties1 |= ((scale << 3) & 0x38);
-        int varRateType = Integer.MAX_VALUE;
-        for (Integer entry : constantMeterGetRateType.keySet()) {
-            if (constantMeterGetRateType.get(entry).equals(rateType)) {
-                varRateType = entry;
-                break;
-            }
-        }
-        if (varRateType == Integer.MAX_VALUE) {
+        Integer varRateType = reverseMeterGetRateType.get(rateType);
+        if (varRateType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + rateType + "' for rateType");
         }
         valProperties1 |= varRateType << 6 & 0xC0;
@@ -258,25 +313,13 @@ public class CommandClassMeterV4 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varMeterType = Integer.MAX_VALUE;
-        for (Integer entry : constantMeterReportMeterType.keySet()) {
-            if (constantMeterReportMeterType.get(entry).equals(meterType)) {
-                varMeterType = entry;
-                break;
-            }
-        }
-        if (varMeterType == Integer.MAX_VALUE) {
+        Integer varMeterType = reverseMeterReportMeterType.get(meterType);
+        if (varMeterType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + meterType + "' for meterType");
         }
         valProperties1 |= varMeterType & 0x1F;
-        int varRateType = Integer.MAX_VALUE;
-        for (Integer entry : constantMeterReportRateType.keySet()) {
-            if (constantMeterReportRateType.get(entry).equals(rateType)) {
-                varRateType = entry;
-                break;
-            }
-        }
-        if (varRateType == Integer.MAX_VALUE) {
+        Integer varRateType = reverseMeterReportRateType.get(rateType);
+        if (varRateType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + rateType + "' for rateType");
         }
         valProperties1 |= varRateType << 5 & 0x60;
@@ -350,58 +393,213 @@ public class CommandClassMeterV4 {
      * <li>PREVIOUS_METER_VALUE {@link byte[]}
      * <li>SCALE_2 {@link Integer}
      * </ul>
+     * <p>
+     * The map is built from a {@link MeterReport} view. Use the view directly to process the
+     * frame without allocating.
      *
      * @param payload the {@link byte[]} payload data to process
      * @return a {@link Map} of processed response data
      */
     public static Map<String, Object> handleMeterReport(byte[] payload) {
+        MeterReport report = new MeterReport().wrap(payload);
+
         // Create our response map
         Map<String, Object> response = new HashMap<String, Object>();
 
-        // We're using variable length fields, so track the offset
-        int msgOffset = 2;
+        response.put("METER_TYPE", report.getMeterTypeLabel());
+        response.put("RATE_TYPE", report.getRateTypeLabel());
+        response.put("SCALE_BIT_2", Boolean.valueOf(report.isScaleBit2()));
+        response.put("METER_VALUE", report.getMeterValueBytes());
+        response.put("DELTA_TIME", Integer.valueOf(report.getDeltaTime()));
+        if (report.hasPreviousMeterValue()) {
+            response.put("PREVIOUS_METER_VALUE", report.getPreviousMeterValueBytes());
+        }
 
-        // Process 'Properties1'
-        response.put("METER_TYPE", constantMeterReportMeterType.get(payload[msgOffset] & 0x1F));
-        response.put("RATE_TYPE", constantMeterReportRateType.get((payload[msgOffset] & 0x60) >> 5));
-        response.put("SCALE_BIT_2", Boolean.valueOf((payload[msgOffset] & 0x80) != 0));
-        msgOffset += 1;
+        // The map has always used these encodings, so keep them for existing consumers
+        response.put("SCALE_BITS_10", Integer.valueOf(payload[3] & 0x18 >> 3));
+        response.put("PRECISION", Integer.valueOf(payload[3] & 0xE0 >> 5));
+        if (report.hasScale2()) {
+            response.put("SCALE_2", Integer.valueOf(payload[6 + 2 * report.getMeterValueSize()]));
+        }
 
-        // Process 'Properties2'
-        // Size is used by 'Meter Value' and 'Previous Meter Value'
-        int varSize = payload[msgOffset] & 0x07;
-        response.put("SCALE_BITS_10", Integer.valueOf(payload[msgOffset] & 0x18 >> 3));
-        response.put("PRECISION", Integer.valueOf(payload[msgOffset] & 0xE0 >> 5));
-        msgOffset += 1;
+        // Return the map of processed response data;
+        return response;
+    }
 
-        // Process 'Meter Value'
-        ByteArrayOutputStream valMeterValue = new ByteArrayOutputStream();
-        for (int cntMeterValue = 0; cntMeterValue < varSize; cntMeterValue++) {
-            valMeterValue.write(payload[msgOffset + cntMeterValue]);
+    /**
+     * Typed view over a received METER_REPORT frame.
+     * <p>
+     * Fields are decoded from the payload buffer as they are read, so processing a report does not create any
+     * objects. The view can be reused for subsequent frames by calling {@link #wrap(byte[])}.
+     */
+    public static class MeterReport {
+        private byte[] payload;
+
+        /**
+         * Sets the frame this view decodes. The buffer is referenced, not copied.
+         *
+         * @param payload the {@link byte[]} payload data to process
+         * @return this view
+         */
+        public MeterReport wrap(byte[] payload) {
+            this.payload = payload;
+            return this;
         }
-        response.put("METER_VALUE", valMeterValue.toByteArray());
-        msgOffset += varSize;
 
-        // Process 'Delta Time'
-        response.put("DELTA_TIME", Integer.valueOf(((payload[msgOffset] & 0xff) << 8) + (payload[msgOffset + 1] & 0xff)));
-        msgOffset += 2;
-
-        // Process 'Previous Meter Value' (optional)
-        if (true) {
-            ByteArrayOutputStream valPreviousMeterValue = new ByteArrayOutputStream();
-            for (int cntPreviousMeterValue = 0; cntPreviousMeterValue < varSize; cntPreviousMeterValue++) {
-                valPreviousMeterValue.write(payload[msgOffset + cntPreviousMeterValue]);
+        /**
+         * @return the 'Meter Type' value
+         */
+        public int getMeterType() {
+            return payload[2] & 0x1F;
+        }
+
+        /**
+         * @return the 'Meter Type' constant, or null if the value is not known
+         */
+        public String getMeterTypeLabel() {
+            return constantMeterReportMeterType.get(getMeterType());
+        }
+
+        /**
+         * @return the 'Rate Type' value
+         */
+        public int getRateType() {
+            return (payload[2] & 0x60) >> 5;
+        }
+
+        /**
+         * @return the 'Rate Type' constant, or null if the value is not known
+         */
+        public String getRateTypeLabel() {
+            return constantMeterReportRateType.get(getRateType());
+        }
+
+        /**
+         * @return the 'Scale Bit 2' flag
+         */
+        public boolean isScaleBit2() {
+            return (payload[2] & 0x80) != 0;
+        }
+
+        /**
+         * @return the 'Scale Bits 10' value
+         */
+        public int getScaleBits10() {
+            return (payload[3] & 0x18) >> 3;
+        }
+
+        /**
+         * @return the 'Precision' value
+         */
+        public int getPrecision() {
+            return (payload[3] & 0xE0) >> 5;
+        }
+
+        /**
+         * @return the number of bytes in 'Meter Value'
+         */
+        public int getMeterValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Meter Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getMeterValue() {
+            int size = getMeterValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Meter Value' is " + size + " bytes");
             }
-            response.put("PREVIOUS_METER_VALUE", valPreviousMeterValue.toByteArray());
-            msgOffset += varSize;
+            int offset = 4;
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
         }
 
-        // Process 'Scale 2'
-        response.put("SCALE_2", Integer.valueOf(payload[msgOffset]));
-        msgOffset += 1;
+        /**
+         * @return a copy of the 'Meter Value' bytes
+         */
+        public byte[] getMeterValueBytes() {
+            int offset = 4;
+            int size = getMeterValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
 
-        // Return the map of processed response data;
-        return response;
+        /**
+         * @return the 'Delta Time' value
+         */
+        public int getDeltaTime() {
+            return ((payload[4 + getMeterValueSize()] & 0xff) << 8) + (payload[5 + getMeterValueSize()] & 0xff);
+        }
+
+        /**
+         * @return true if the frame contains 'Previous Meter Value'
+         */
+        public boolean hasPreviousMeterValue() {
+            return payload.length >= 6 + getMeterValueSize() + getPreviousMeterValueSize();
+        }
+
+        /**
+         * @return the number of bytes in 'Previous Meter Value'
+         */
+        public int getPreviousMeterValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Previous Meter Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getPreviousMeterValue() {
+            int size = getPreviousMeterValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Previous Meter Value' is " + size + " bytes");
+            }
+            int offset = 6 + getMeterValueSize();
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
+        }
+
+        /**
+         * @return a copy of the 'Previous Meter Value' bytes
+         */
+        public byte[] getPreviousMeterValueBytes() {
+            int offset = 6 + getMeterValueSize();
+            int size = getPreviousMeterValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
+
+        /**
+         * @return true if the frame contains 'Scale 2'
+         */
+        public boolean hasScale2() {
+            return payload.length > 6 + 2 * getMeterValueSize();
+        }
+
+        /**
+         * @return the 'Scale 2' value
+         */
+        public int getScale2() {
+            return payload[6 + 2 * getMeterValueSize()] & 0xff;
+        }
     }
 
     /**
@@ -412,13 +610,29 @@ public class CommandClassMeterV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterSupportedGet() {
+        byte[] outputData = new byte[METER_SUPPORTED_GET_LENGTH];
+        getMeterSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message METER_SUPPORTED_GET version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_SUPPORTED_GET);
+        if (buffer.remaining() < METER_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_SUPPORTED_GET);
     }
 
     /**
@@ -475,25 +689,13 @@ public class CommandClassMeterV4 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varMeterType = Integer.MAX_VALUE;
-        for (Integer entry : constantMeterSupportedReportMeterType.keySet()) {
-            if (constantMeterSupportedReportMeterType.get(entry).equals(meterType)) {
-                varMeterType = entry;
-                break;
-            }
-        }
-        if (varMeterType == Integer.MAX_VALUE) {
+        Integer varMeterType = reverseMeterSupportedReportMeterType.get(meterType);
+        if (varMeterType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + meterType + "' for meterType");
         }
         valProperties1 |= varMeterType & 0x1F;
-        int varRateType = Integer.MAX_VALUE;
-        for (Integer entry : constantMeterSupportedReportRateType.keySet()) {
-            if (constantMeterSupportedReportRateType.get(entry).equals(rateType)) {
-                varRateType = entry;
-                break;
-            }
-        }
-        if (varRateType == Integer.MAX_VALUE) {
+        Integer varRateType = reverseMeterSupportedReportRateType.get(rateType);
+        if (varRateType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + rateType + "' for rateType");
         }
         valProperties1 |= varRateType << 5 & 0x60;
@@ -597,13 +799,29 @@ public class CommandClassMeterV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMeterReset() {
+        byte[] outputData = new byte[METER_RESET_LENGTH];
+        getMeterReset(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the METER_RESET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #METER_RESET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #METER_RESET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMeterReset(ByteBuffer buffer) {
         logger.debug("Creating command message METER_RESET version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(METER_RESET);
+        if (buffer.remaining() < METER_RESET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) METER_RESET);
     }
 
     /**
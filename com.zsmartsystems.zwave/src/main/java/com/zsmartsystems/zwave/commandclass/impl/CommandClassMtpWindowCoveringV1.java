@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,25 +41,47 @@ public class CommandClassMtpWindowCoveringV1 {
      * Move To Position Set Command Constant
      */
     public final static int MOVE_TO_POSITION_SET = 0x01;
+    /**
+     * Length of the encoded MOVE_TO_POSITION_SET command
+     */
+    public final static int MOVE_TO_POSITION_SET_LENGTH = 3;
     /**
      * Move To Position Get Command Constant
      */
     public final static int MOVE_TO_POSITION_GET = 0x02;
+    /**
+     * Length of the encoded MOVE_TO_POSITION_GET command
+     */
+    public final static int MOVE_TO_POSITION_GET_LENGTH = 2;
     /**
      * Move To Position Report Command Constant
      */
     public final static int MOVE_TO_POSITION_REPORT = 0x03;
+    /**
+     * Length of the encoded MOVE_TO_POSITION_REPORT command
+     */
+    public final static int MOVE_TO_POSITION_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for MoveToPositionSetValue
      */
     private static Map<Integer, String> constantMoveToPositionSetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MoveToPositionSetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMoveToPositionSetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for MoveToPositionReportValue
      */
     private static Map<Integer, String> constantMoveToPositionReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for MoveToPositionReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseMoveToPositionReportValue = new HashMap<String, Integer>();
+
     static {
         // Constants for MoveToPositionSetValue
         constantMoveToPositionSetValue.put(0x00, "CLOSE");
@@ -67,6 +90,14 @@ public class CommandClassMtpWindowCoveringV1 {
         // Constants for MoveToPositionReportValue
         constantMoveToPositionReportValue.put(0x00, "CLOSE");
         constantMoveToPositionReportValue.put(0xFF, "OPEN");
+
+        // Reverse constants for MoveToPositionSetValue
+        reverseMoveToPositionSetValue.put("CLOSE", 0x00);
+        reverseMoveToPositionSetValue.put("OPEN", 0xFF);
+
+        // Reverse constants for MoveToPositionReportValue
+        reverseMoveToPositionReportValue.put("CLOSE", 0x00);
+        reverseMoveToPositionReportValue.put("OPEN", 0xFF);
     }
 
     /**
@@ -84,26 +115,43 @@ public class CommandClassMtpWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMoveToPositionSet(String value) {
+        byte[] outputData = new byte[MOVE_TO_POSITION_SET_LENGTH];
+        getMoveToPositionSet(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MOVE_TO_POSITION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MOVE_TO_POSITION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>CLOSE
+     *            <li>OPEN
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #MOVE_TO_POSITION_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMoveToPositionSet(ByteBuffer buffer, String value) {
         logger.debug("Creating command message MOVE_TO_POSITION_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MOVE_TO_POSITION_SET);
+        if (buffer.remaining() < MOVE_TO_POSITION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantMoveToPositionSetValue.keySet()) {
-            if (constantMoveToPositionSetValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseMoveToPositionSetValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MOVE_TO_POSITION_SET);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -145,13 +193,29 @@ public class CommandClassMtpWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMoveToPositionGet() {
+        byte[] outputData = new byte[MOVE_TO_POSITION_GET_LENGTH];
+        getMoveToPositionGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MOVE_TO_POSITION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MOVE_TO_POSITION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #MOVE_TO_POSITION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMoveToPositionGet(ByteBuffer buffer) {
         logger.debug("Creating command message MOVE_TO_POSITION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MOVE_TO_POSITION_GET);
+        if (buffer.remaining() < MOVE_TO_POSITION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MOVE_TO_POSITION_GET);
     }
 
     /**
@@ -185,26 +249,43 @@ public class CommandClassMtpWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMoveToPositionReport(String value) {
+        byte[] outputData = new byte[MOVE_TO_POSITION_REPORT_LENGTH];
+        getMoveToPositionReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MOVE_TO_POSITION_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MOVE_TO_POSITION_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>CLOSE
+     *            <li>OPEN
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #MOVE_TO_POSITION_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getMoveToPositionReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message MOVE_TO_POSITION_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MOVE_TO_POSITION_REPORT);
+        if (buffer.remaining() < MOVE_TO_POSITION_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantMoveToPositionReportValue.keySet()) {
-            if (constantMoveToPositionReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseMoveToPositionReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MOVE_TO_POSITION_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
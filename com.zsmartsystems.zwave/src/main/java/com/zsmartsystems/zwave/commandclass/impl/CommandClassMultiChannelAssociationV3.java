@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +49,10 @@ public class CommandClassMultiChannelAssociationV3 {
      * Multi Channel Association Get Command Constant
      */
     public final static int MULTI_CHANNEL_ASSOCIATION_GET = 0x02;
+    /**
+     * Length of the encoded MULTI_CHANNEL_ASSOCIATION_GET command
+     */
+    public final static int MULTI_CHANNEL_ASSOCIATION_GET_LENGTH = 3;
     /**
      * Multi Channel Association Report Command Constant
      */
@@ -59,10 +65,18 @@ public class CommandClassMultiChannelAssociationV3 {
      * Multi Channel Association Groupings Get Command Constant
      */
     public final static int MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET = 0x05;
+    /**
+     * Length of the encoded MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET command
+     */
+    public final static int MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET_LENGTH = 2;
     /**
      * Multi Channel Association Groupings Report Command Constant
      */
     public final static int MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT = 0x06;
+    /**
+     * Length of the encoded MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT command
+     */
+    public final static int MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for MultiChannelAssociationRemoveProperties1
@@ -229,16 +243,32 @@ public class CommandClassMultiChannelAssociationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiChannelAssociationGet(Integer groupingIdentifier) {
-        logger.debug("Creating command message MULTI_CHANNEL_ASSOCIATION_GET version 3");
+        byte[] outputData = new byte[MULTI_CHANNEL_ASSOCIATION_GET_LENGTH];
+        getMultiChannelAssociationGet(ByteBuffer.wrap(outputData), groupingIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_CHANNEL_ASSOCIATION_GET);
+    /**
+     * Writes a new message with the MULTI_CHANNEL_ASSOCIATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_CHANNEL_ASSOCIATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_CHANNEL_ASSOCIATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMultiChannelAssociationGet(ByteBuffer buffer, Integer groupingIdentifier) {
+        logger.debug("Creating command message MULTI_CHANNEL_ASSOCIATION_GET version 3");
 
-        // Process 'Grouping Identifier'
-        outputData.write(groupingIdentifier);
+        if (buffer.remaining() < MULTI_CHANNEL_ASSOCIATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_CHANNEL_ASSOCIATION_GET);
+        buffer.put(groupingIdentifier.byteValue());
     }
 
     /**
@@ -505,13 +535,31 @@ public class CommandClassMultiChannelAssociationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiChannelAssociationGroupingsGet() {
+        byte[] outputData = new byte[MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET_LENGTH];
+        getMultiChannelAssociationGroupingsGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getMultiChannelAssociationGroupingsGet(ByteBuffer buffer) {
         logger.debug("Creating command message MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET);
+        if (buffer.remaining() < MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_CHANNEL_ASSOCIATION_GROUPINGS_GET);
     }
 
     /**
@@ -539,16 +587,33 @@ public class CommandClassMultiChannelAssociationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiChannelAssociationGroupingsReport(Integer supportedGroupings) {
-        logger.debug("Creating command message MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT version 3");
+        byte[] outputData = new byte[MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT_LENGTH];
+        getMultiChannelAssociationGroupingsReport(ByteBuffer.wrap(outputData), supportedGroupings);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT);
+    /**
+     * Writes a new message with the MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT_LENGTH} bytes are written at the current position of
+     * the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedGroupings {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getMultiChannelAssociationGroupingsReport(ByteBuffer buffer, Integer supportedGroupings) {
+        logger.debug("Creating command message MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT version 3");
 
-        // Process 'Supported Groupings'
-        outputData.write(supportedGroupings);
+        if (buffer.remaining() < MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_CHANNEL_ASSOCIATION_GROUPINGS_REPORT);
+        buffer.put(supportedGroupings.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassMultiChannelV4 {
      * Multi Instance Get Command Constant
      */
     public final static int MULTI_INSTANCE_GET = 0x04;
+    /**
+     * Length of the encoded MULTI_INSTANCE_GET command
+     */
+    public final static int MULTI_INSTANCE_GET_LENGTH = 3;
     /**
      * Multi Instance Report Command Constant
      */
@@ -55,6 +61,10 @@ public class CommandClassMultiChannelV4 {
      * Multi Channel End Point Get Command Constant
      */
     public final static int MULTI_CHANNEL_END_POINT_GET = 0x07;
+    /**
+     * Length of the encoded MULTI_CHANNEL_END_POINT_GET command
+     */
+    public final static int MULTI_CHANNEL_END_POINT_GET_LENGTH = 2;
     /**
      * Multi Channel End Point Report Command Constant
      */
@@ -71,6 +81,10 @@ public class CommandClassMultiChannelV4 {
      * Multi Channel End Point Find Command Constant
      */
     public final static int MULTI_CHANNEL_END_POINT_FIND = 0x0B;
+    /**
+     * Length of the encoded MULTI_CHANNEL_END_POINT_FIND command
+     */
+    public final static int MULTI_CHANNEL_END_POINT_FIND_LENGTH = 4;
     /**
      * Multi Channel End Point Find Report Command Constant
      */
@@ -196,16 +210,31 @@ public class CommandClassMultiChannelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiInstanceGet(Integer commandClass) {
-        logger.debug("Creating command message MULTI_INSTANCE_GET version 4");
+        byte[] outputData = new byte[MULTI_INSTANCE_GET_LENGTH];
+        getMultiInstanceGet(ByteBuffer.wrap(outputData), commandClass);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_INSTANCE_GET);
+    /**
+     * Writes a new message with the MULTI_INSTANCE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_INSTANCE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param commandClass {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_INSTANCE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMultiInstanceGet(ByteBuffer buffer, Integer commandClass) {
+        logger.debug("Creating command message MULTI_INSTANCE_GET version 4");
 
-        // Process 'Command Class'
-        outputData.write(commandClass);
+        if (buffer.remaining() < MULTI_INSTANCE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_INSTANCE_GET);
+        buffer.put(commandClass.byteValue());
     }
 
     /**
@@ -391,13 +420,30 @@ public class CommandClassMultiChannelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiChannelEndPointGet() {
+        byte[] outputData = new byte[MULTI_CHANNEL_END_POINT_GET_LENGTH];
+        getMultiChannelEndPointGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the MULTI_CHANNEL_END_POINT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_CHANNEL_END_POINT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #MULTI_CHANNEL_END_POINT_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMultiChannelEndPointGet(ByteBuffer buffer) {
         logger.debug("Creating command message MULTI_CHANNEL_END_POINT_GET version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_CHANNEL_END_POINT_GET);
+        if (buffer.remaining() < MULTI_CHANNEL_END_POINT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_CHANNEL_END_POINT_GET);
     }
 
     /**
@@ -653,19 +699,35 @@ public class CommandClassMultiChannelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiChannelEndPointFind(Integer genericDeviceClass, Integer specificDeviceClass) {
-        logger.debug("Creating command message MULTI_CHANNEL_END_POINT_FIND version 4");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_CHANNEL_END_POINT_FIND);
+        byte[] outputData = new byte[MULTI_CHANNEL_END_POINT_FIND_LENGTH];
+        getMultiChannelEndPointFind(ByteBuffer.wrap(outputData), genericDeviceClass, specificDeviceClass);
+        return outputData;
+    }
 
-        // Process 'Generic Device Class'
-        outputData.write(genericDeviceClass);
+    /**
+     * Writes a new message with the MULTI_CHANNEL_END_POINT_FIND command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_CHANNEL_END_POINT_FIND_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param genericDeviceClass {@link Integer}
+     * @param specificDeviceClass {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_CHANNEL_END_POINT_FIND_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getMultiChannelEndPointFind(ByteBuffer buffer, Integer genericDeviceClass,
+            Integer specificDeviceClass) {
+        logger.debug("Creating command message MULTI_CHANNEL_END_POINT_FIND version 4");
 
-        // Process 'Specific Device Class'
-        outputData.write(specificDeviceClass);
+        if (buffer.remaining() < MULTI_CHANNEL_END_POINT_FIND_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_CHANNEL_END_POINT_FIND);
+        buffer.put(genericDeviceClass.byteValue());
+        buffer.put(specificDeviceClass.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +43,10 @@ public class CommandClassMultiCmdV1 {
      * Multi Cmd Encap Command Constant
      */
     public final static int MULTI_CMD_ENCAP = 0x01;
+    /**
+     * Length of the encoded MULTI_CMD_ENCAP command
+     */
+    public final static int MULTI_CMD_ENCAP_LENGTH = 3;
 
 
     /**
@@ -53,18 +58,31 @@ public class CommandClassMultiCmdV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiCmdEncap(Integer numberOfCommands) {
-        logger.debug("Creating command message MULTI_CMD_ENCAP version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_CMD_ENCAP);
+        byte[] outputData = new byte[MULTI_CMD_ENCAP_LENGTH];
+        getMultiCmdEncap(ByteBuffer.wrap(outputData), numberOfCommands);
+        return outputData;
+    }
 
-        // Process 'Number of Commands'
-        outputData.write(numberOfCommands);
+    /**
+     * Writes a new message with the MULTI_CMD_ENCAP command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_CMD_ENCAP_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param numberOfCommands {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_CMD_ENCAP_LENGTH} bytes remain in the buffer
+     */
+    static public void getMultiCmdEncap(ByteBuffer buffer, Integer numberOfCommands) {
+        logger.debug("Creating command message MULTI_CMD_ENCAP version 1");
 
-        // Process 'Encapsulated_Command'
+        if (buffer.remaining() < MULTI_CMD_ENCAP_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_CMD_ENCAP);
+        buffer.put(numberOfCommands.byteValue());
     }
 
     /**
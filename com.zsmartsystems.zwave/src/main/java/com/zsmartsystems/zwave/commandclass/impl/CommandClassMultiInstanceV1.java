@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +42,18 @@ public class CommandClassMultiInstanceV1 {
      * Multi Instance Get Command Constant
      */
     public final static int MULTI_INSTANCE_GET = 0x04;
+    /**
+     * Length of the encoded MULTI_INSTANCE_GET command
+     */
+    public final static int MULTI_INSTANCE_GET_LENGTH = 3;
     /**
      * Multi Instance Report Command Constant
      */
     public final static int MULTI_INSTANCE_REPORT = 0x05;
+    /**
+     * Length of the encoded MULTI_INSTANCE_REPORT command
+     */
+    public final static int MULTI_INSTANCE_REPORT_LENGTH = 4;
     /**
      * Multi Instance Cmd Encap Command Constant
      */
@@ -59,16 +69,31 @@ public class CommandClassMultiInstanceV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiInstanceGet(Integer commandClass) {
-        logger.debug("Creating command message MULTI_INSTANCE_GET version 1");
+        byte[] outputData = new byte[MULTI_INSTANCE_GET_LENGTH];
+        getMultiInstanceGet(ByteBuffer.wrap(outputData), commandClass);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_INSTANCE_GET);
+    /**
+     * Writes a new message with the MULTI_INSTANCE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_INSTANCE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param commandClass {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_INSTANCE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getMultiInstanceGet(ByteBuffer buffer, Integer commandClass) {
+        logger.debug("Creating command message MULTI_INSTANCE_GET version 1");
 
-        // Process 'Command Class'
-        outputData.write(commandClass);
+        if (buffer.remaining() < MULTI_INSTANCE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_INSTANCE_GET);
+        buffer.put(commandClass.byteValue());
     }
 
     /**
@@ -106,19 +131,33 @@ public class CommandClassMultiInstanceV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getMultiInstanceReport(Integer commandClass, Integer instances) {
-        logger.debug("Creating command message MULTI_INSTANCE_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(MULTI_INSTANCE_REPORT);
+        byte[] outputData = new byte[MULTI_INSTANCE_REPORT_LENGTH];
+        getMultiInstanceReport(ByteBuffer.wrap(outputData), commandClass, instances);
+        return outputData;
+    }
 
-        // Process 'Command Class'
-        outputData.write(commandClass);
+    /**
+     * Writes a new message with the MULTI_INSTANCE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #MULTI_INSTANCE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param commandClass {@link Integer}
+     * @param instances {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #MULTI_INSTANCE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getMultiInstanceReport(ByteBuffer buffer, Integer commandClass, Integer instances) {
+        logger.debug("Creating command message MULTI_INSTANCE_REPORT version 1");
 
-        // Process 'Instances'
-        outputData.write(instances);
+        if (buffer.remaining() < MULTI_INSTANCE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) MULTI_INSTANCE_REPORT);
+        buffer.put(commandClass.byteValue());
+        buffer.put(instances.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassNetworkManagementBasicV1 {
      * Learn Mode Set Command Constant
      */
     public final static int LEARN_MODE_SET = 0x01;
+    /**
+     * Length of the encoded LEARN_MODE_SET command
+     */
+    public final static int LEARN_MODE_SET_LENGTH = 5;
     /**
      * Learn Mode Set Status Command Constant
      */
@@ -50,10 +56,18 @@ public class CommandClassNetworkManagementBasicV1 {
      * Network Update Request Command Constant
      */
     public final static int NETWORK_UPDATE_REQUEST = 0x03;
+    /**
+     * Length of the encoded NETWORK_UPDATE_REQUEST command
+     */
+    public final static int NETWORK_UPDATE_REQUEST_LENGTH = 3;
     /**
      * Network Update Request Status Command Constant
      */
     public final static int NETWORK_UPDATE_REQUEST_STATUS = 0x04;
+    /**
+     * Length of the encoded NETWORK_UPDATE_REQUEST_STATUS command
+     */
+    public final static int NETWORK_UPDATE_REQUEST_STATUS_LENGTH = 4;
     /**
      * Node Information Send Command Constant
      */
@@ -62,36 +76,69 @@ public class CommandClassNetworkManagementBasicV1 {
      * Default Set Command Constant
      */
     public final static int DEFAULT_SET = 0x06;
+    /**
+     * Length of the encoded DEFAULT_SET command
+     */
+    public final static int DEFAULT_SET_LENGTH = 3;
     /**
      * Default Set Complete Command Constant
      */
     public final static int DEFAULT_SET_COMPLETE = 0x07;
+    /**
+     * Length of the encoded DEFAULT_SET_COMPLETE command
+     */
+    public final static int DEFAULT_SET_COMPLETE_LENGTH = 4;
 
     /**
      * Map holding constants for DefaultSetCompleteStatus
      */
     private static Map<Integer, String> constantDefaultSetCompleteStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for DefaultSetCompleteStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseDefaultSetCompleteStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NetworkUpdateRequestStatusStatus
      */
     private static Map<Integer, String> constantNetworkUpdateRequestStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NetworkUpdateRequestStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNetworkUpdateRequestStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for LearnModeSetStatusStatus
      */
     private static Map<Integer, String> constantLearnModeSetStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for LearnModeSetStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseLearnModeSetStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeInformationSendTxOptions
      */
     private static Map<Integer, String> constantNodeInformationSendTxOptions = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeInformationSendTxOptions, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeInformationSendTxOptions = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for LearnModeSetMode
      */
     private static Map<Integer, String> constantLearnModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for LearnModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseLearnModeSetMode = new HashMap<String, Integer>();
+
     static {
         // Constants for DefaultSetCompleteStatus
         constantDefaultSetCompleteStatus.put(0x06, "DEFAULT_SET_DONE");
@@ -123,6 +170,37 @@ public class CommandClassNetworkManagementBasicV1 {
         constantLearnModeSetMode.put(0x00, "LEARN_MODE_SET_DISABLE");
         constantLearnModeSetMode.put(0x01, "LEARN_MODE_SET_CLASSIC");
         constantLearnModeSetMode.put(0x02, "LEARN_MODE_SET_NWI");
+
+        // Reverse constants for DefaultSetCompleteStatus
+        reverseDefaultSetCompleteStatus.put("DEFAULT_SET_DONE", 0x06);
+        reverseDefaultSetCompleteStatus.put("DEFAULT_SET_BUSY", 0x07);
+
+        // Reverse constants for NetworkUpdateRequestStatusStatus
+        reverseNetworkUpdateRequestStatusStatus.put("SUC_UPDATE_DONE", 0x00);
+        reverseNetworkUpdateRequestStatusStatus.put("SUC_UPDATE_ABORT", 0x01);
+        reverseNetworkUpdateRequestStatusStatus.put("SUC_UPDATE_WAIT", 0x02);
+        reverseNetworkUpdateRequestStatusStatus.put("SUC_UPDATE_DISABLED", 0x03);
+        reverseNetworkUpdateRequestStatusStatus.put("SUC_UPDATE_OVERFLOW", 0x04);
+
+        // Reverse constants for LearnModeSetStatusStatus
+        reverseLearnModeSetStatusStatus.put("LEARN_MODE_FAILED_TIMEOUT", 0x01);
+        reverseLearnModeSetStatusStatus.put("LEARN_MODE_DONE", 0x06);
+        reverseLearnModeSetStatusStatus.put("LEARN_MODE_FAILED", 0x07);
+        reverseLearnModeSetStatusStatus.put("LEARN_MODE_SECURITY_FAILED", 0x09);
+
+        // Reverse constants for NodeInformationSendTxOptions
+        reverseNodeInformationSendTxOptions.put("ACK", 0x01);
+        reverseNodeInformationSendTxOptions.put("LOW_POWER", 0x02);
+        reverseNodeInformationSendTxOptions.put("AUTO_ROUTE", 0x04);
+        reverseNodeInformationSendTxOptions.put("NO_ROUTE", 0x10);
+        reverseNodeInformationSendTxOptions.put("EXPLORE", 0x20);
+        reverseNodeInformationSendTxOptions.put("NO_RETRANSMISSION", 0x40);
+        reverseNodeInformationSendTxOptions.put("HIGH_POWER", 0x80);
+
+        // Reverse constants for LearnModeSetMode
+        reverseLearnModeSetMode.put("LEARN_MODE_SET_DISABLE", 0x00);
+        reverseLearnModeSetMode.put("LEARN_MODE_SET_CLASSIC", 0x01);
+        reverseLearnModeSetMode.put("LEARN_MODE_SET_NWI", 0x02);
     }
 
     /**
@@ -142,32 +220,47 @@ public class CommandClassNetworkManagementBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLearnModeSet(Integer seqNo, String mode) {
-        logger.debug("Creating command message LEARN_MODE_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LEARN_MODE_SET);
+        byte[] outputData = new byte[LEARN_MODE_SET_LENGTH];
+        getLearnModeSet(ByteBuffer.wrap(outputData), seqNo, mode);
+        return outputData;
+    }
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+    /**
+     * Writes a new message with the LEARN_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LEARN_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>LEARN_MODE_SET_DISABLE
+     *            <li>LEARN_MODE_SET_CLASSIC
+     *            <li>LEARN_MODE_SET_NWI
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #LEARN_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getLearnModeSet(ByteBuffer buffer, Integer seqNo, String mode) {
+        logger.debug("Creating command message LEARN_MODE_SET version 1");
 
-        // Process 'Reserved'
-        outputData.write(0);
+        if (buffer.remaining() < LEARN_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantLearnModeSetMode.keySet()) {
-            if (constantLearnModeSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseLearnModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LEARN_MODE_SET);
+        buffer.put(seqNo.byteValue());
+        buffer.put((byte) 0);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -235,17 +328,11 @@ public class CommandClassNetworkManagementBasicV1 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantLearnModeSetStatusStatus.keySet()) {
-            if (constantLearnModeSetStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseLearnModeSetStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Reserved'
         outputData.write(0);
@@ -311,16 +398,31 @@ public class CommandClassNetworkManagementBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNetworkUpdateRequest(Integer seqNo) {
-        logger.debug("Creating command message NETWORK_UPDATE_REQUEST version 1");
+        byte[] outputData = new byte[NETWORK_UPDATE_REQUEST_LENGTH];
+        getNetworkUpdateRequest(ByteBuffer.wrap(outputData), seqNo);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NETWORK_UPDATE_REQUEST);
+    /**
+     * Writes a new message with the NETWORK_UPDATE_REQUEST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NETWORK_UPDATE_REQUEST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #NETWORK_UPDATE_REQUEST_LENGTH} bytes remain in the buffer
+     */
+    static public void getNetworkUpdateRequest(ByteBuffer buffer, Integer seqNo) {
+        logger.debug("Creating command message NETWORK_UPDATE_REQUEST version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < NETWORK_UPDATE_REQUEST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NETWORK_UPDATE_REQUEST);
+        buffer.put(seqNo.byteValue());
     }
 
     /**
@@ -367,29 +469,49 @@ public class CommandClassNetworkManagementBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNetworkUpdateRequestStatus(Integer seqNo, String status) {
-        logger.debug("Creating command message NETWORK_UPDATE_REQUEST_STATUS version 1");
+        byte[] outputData = new byte[NETWORK_UPDATE_REQUEST_STATUS_LENGTH];
+        getNetworkUpdateRequestStatus(ByteBuffer.wrap(outputData), seqNo, status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NETWORK_UPDATE_REQUEST_STATUS);
+    /**
+     * Writes a new message with the NETWORK_UPDATE_REQUEST_STATUS command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NETWORK_UPDATE_REQUEST_STATUS_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SUC_UPDATE_DONE
+     *            <li>SUC_UPDATE_ABORT
+     *            <li>SUC_UPDATE_WAIT
+     *            <li>SUC_UPDATE_DISABLED
+     *            <li>SUC_UPDATE_OVERFLOW
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #NETWORK_UPDATE_REQUEST_STATUS_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getNetworkUpdateRequestStatus(ByteBuffer buffer, Integer seqNo, String status) {
+        logger.debug("Creating command message NETWORK_UPDATE_REQUEST_STATUS version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < NETWORK_UPDATE_REQUEST_STATUS_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantNetworkUpdateRequestStatusStatus.keySet()) {
-            if (constantNetworkUpdateRequestStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseNetworkUpdateRequestStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NETWORK_UPDATE_REQUEST_STATUS);
+        buffer.put(seqNo.byteValue());
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -475,17 +597,11 @@ public class CommandClassNetworkManagementBasicV1 {
         // Process 'tx Options'
         int valTxOptions = 0;
         for (String value : txOptions) {
-            boolean foundTxOptions = false;
-            for (Integer entry : constantNodeInformationSendTxOptions.keySet()) {
-                if (constantNodeInformationSendTxOptions.get(entry).equals(value)) {
-                    foundTxOptions = true;
-                    valTxOptions += entry;
-                    break;
-                }
-            }
-            if (!foundTxOptions) {
+            Integer varTxOptions = reverseNodeInformationSendTxOptions.get(value);
+            if (varTxOptions == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + txOptions + "' for txOptions");
             }
+            valTxOptions += varTxOptions;
         }
         outputData.write(valTxOptions);
 
@@ -553,16 +669,31 @@ public class CommandClassNetworkManagementBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDefaultSet(Integer seqNo) {
-        logger.debug("Creating command message DEFAULT_SET version 1");
+        byte[] outputData = new byte[DEFAULT_SET_LENGTH];
+        getDefaultSet(ByteBuffer.wrap(outputData), seqNo);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DEFAULT_SET);
+    /**
+     * Writes a new message with the DEFAULT_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DEFAULT_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DEFAULT_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDefaultSet(ByteBuffer buffer, Integer seqNo) {
+        logger.debug("Creating command message DEFAULT_SET version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < DEFAULT_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DEFAULT_SET);
+        buffer.put(seqNo.byteValue());
     }
 
     /**
@@ -606,29 +737,45 @@ public class CommandClassNetworkManagementBasicV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDefaultSetComplete(Integer seqNo, String status) {
-        logger.debug("Creating command message DEFAULT_SET_COMPLETE version 1");
+        byte[] outputData = new byte[DEFAULT_SET_COMPLETE_LENGTH];
+        getDefaultSetComplete(ByteBuffer.wrap(outputData), seqNo, status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DEFAULT_SET_COMPLETE);
+    /**
+     * Writes a new message with the DEFAULT_SET_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DEFAULT_SET_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>DEFAULT_SET_DONE
+     *            <li>DEFAULT_SET_BUSY
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #DEFAULT_SET_COMPLETE_LENGTH} bytes remain in the buffer
+     */
+    static public void getDefaultSetComplete(ByteBuffer buffer, Integer seqNo, String status) {
+        logger.debug("Creating command message DEFAULT_SET_COMPLETE version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < DEFAULT_SET_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantDefaultSetCompleteStatus.keySet()) {
-            if (constantDefaultSetCompleteStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseDefaultSetCompleteStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DEFAULT_SET_COMPLETE);
+        buffer.put(seqNo.byteValue());
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -51,6 +53,10 @@ public class CommandClassNetworkManagementInclusionV1 {
      * Node Remove Command Constant
      */
     public final static int NODE_REMOVE = 0x03;
+    /**
+     * Length of the encoded NODE_REMOVE command
+     */
+    public final static int NODE_REMOVE_LENGTH = 5;
     /**
      * Node Remove Status Command Constant
      */
@@ -79,6 +85,10 @@ public class CommandClassNetworkManagementInclusionV1 {
      * Node Neighbor Update Status Command Constant
      */
     public final static int NODE_NEIGHBOR_UPDATE_STATUS = 0x0C;
+    /**
+     * Length of the encoded NODE_NEIGHBOR_UPDATE_STATUS command
+     */
+    public final static int NODE_NEIGHBOR_UPDATE_STATUS_LENGTH = 4;
     /**
      * Return Route Assign Command Constant
      */
@@ -87,6 +97,10 @@ public class CommandClassNetworkManagementInclusionV1 {
      * Return Route Assign Complete Command Constant
      */
     public final static int RETURN_ROUTE_ASSIGN_COMPLETE = 0x0E;
+    /**
+     * Length of the encoded RETURN_ROUTE_ASSIGN_COMPLETE command
+     */
+    public final static int RETURN_ROUTE_ASSIGN_COMPLETE_LENGTH = 4;
     /**
      * Return Route Delete Command Constant
      */
@@ -95,6 +109,10 @@ public class CommandClassNetworkManagementInclusionV1 {
      * Return Route Delete Complete Command Constant
      */
     public final static int RETURN_ROUTE_DELETE_COMPLETE = 0x10;
+    /**
+     * Length of the encoded RETURN_ROUTE_DELETE_COMPLETE command
+     */
+    public final static int RETURN_ROUTE_DELETE_COMPLETE_LENGTH = 4;
 
     /**
      * Map holding constants for NodeAddStatusProperties1
@@ -106,6 +124,11 @@ public class CommandClassNetworkManagementInclusionV1 {
      */
     private static Map<Integer, String> constantFailedNodeReplaceStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FailedNodeReplaceStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFailedNodeReplaceStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeAddStatusProperties2
      */
@@ -116,51 +139,101 @@ public class CommandClassNetworkManagementInclusionV1 {
      */
     private static Map<Integer, String> constantReturnRouteAssignCompleteStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ReturnRouteAssignCompleteStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseReturnRouteAssignCompleteStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ReturnRouteDeleteCompleteStatus
      */
     private static Map<Integer, String> constantReturnRouteDeleteCompleteStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ReturnRouteDeleteCompleteStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseReturnRouteDeleteCompleteStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for FailedNodeReplaceTxOptions
      */
     private static Map<Integer, String> constantFailedNodeReplaceTxOptions = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FailedNodeReplaceTxOptions, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFailedNodeReplaceTxOptions = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeAddTxOptions
      */
     private static Map<Integer, String> constantNodeAddTxOptions = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeAddTxOptions, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeAddTxOptions = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeRemoveMode
      */
     private static Map<Integer, String> constantNodeRemoveMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeRemoveMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeRemoveMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for FailedNodeRemoveStatusStatus
      */
     private static Map<Integer, String> constantFailedNodeRemoveStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for FailedNodeRemoveStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseFailedNodeRemoveStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeNeighborUpdateStatusStatus
      */
     private static Map<Integer, String> constantNodeNeighborUpdateStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeNeighborUpdateStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeNeighborUpdateStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeAddMode
      */
     private static Map<Integer, String> constantNodeAddMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeAddMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeAddMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeRemoveStatusStatus
      */
     private static Map<Integer, String> constantNodeRemoveStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeRemoveStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeRemoveStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeAddStatusStatus
      */
     private static Map<Integer, String> constantNodeAddStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeAddStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeAddStatusStatus = new HashMap<String, Integer>();
+
     static {
         // Constants for NodeAddStatusProperties1
         constantNodeAddStatusProperties1.put(0x80, "LISTENING");
@@ -232,6 +305,71 @@ public class CommandClassNetworkManagementInclusionV1 {
         constantNodeAddStatusStatus.put(0x06, "NODE_ADD_STATUS_DONE");
         constantNodeAddStatusStatus.put(0x07, "NODE_ADD_STATUS_FAILED");
         constantNodeAddStatusStatus.put(0x09, "NODE_ADD_STATUS_SECURITY_FAILED");
+
+        // Reverse constants for FailedNodeReplaceStatusStatus
+        reverseFailedNodeReplaceStatusStatus.put("DONE", 0x04);
+        reverseFailedNodeReplaceStatusStatus.put("FAILED_NODE_REPLACE_FAIL", 0x05);
+        reverseFailedNodeReplaceStatusStatus.put("FAILED_NODE_REPLACE_SECURITY_FAILED", 0x09);
+
+        // Reverse constants for ReturnRouteAssignCompleteStatus
+        reverseReturnRouteAssignCompleteStatus.put("TRANSMIT_COMPLETE_OK", 0x00);
+        reverseReturnRouteAssignCompleteStatus.put("TRANSMIT_COMPLETE_NO_ACK", 0x01);
+        reverseReturnRouteAssignCompleteStatus.put("TRANSMIT_COMPLETE_FAIL", 0x02);
+
+        // Reverse constants for ReturnRouteDeleteCompleteStatus
+        reverseReturnRouteDeleteCompleteStatus.put("TRANSMIT_COMPLETE_OK", 0x00);
+        reverseReturnRouteDeleteCompleteStatus.put("TRANSMIT_COMPLETE_NO_ACK", 0x01);
+        reverseReturnRouteDeleteCompleteStatus.put("TRANSMIT_COMPLETE_FAIL", 0x02);
+
+        // Reverse constants for FailedNodeReplaceTxOptions
+        reverseFailedNodeReplaceTxOptions.put("ACK", 0x01);
+        reverseFailedNodeReplaceTxOptions.put("LOW_POWER", 0x02);
+        reverseFailedNodeReplaceTxOptions.put("AUTO_ROUTE", 0x04);
+        reverseFailedNodeReplaceTxOptions.put("NO_ROUTE", 0x10);
+        reverseFailedNodeReplaceTxOptions.put("EXPLORE", 0x20);
+        reverseFailedNodeReplaceTxOptions.put("NO_RETRANSMISSION", 0x40);
+        reverseFailedNodeReplaceTxOptions.put("HIGH_POWER", 0x80);
+
+        // Reverse constants for NodeAddTxOptions
+        reverseNodeAddTxOptions.put("ACK", 0x01);
+        reverseNodeAddTxOptions.put("LOW_POWER", 0x02);
+        reverseNodeAddTxOptions.put("AUTO_ROUTE", 0x04);
+        reverseNodeAddTxOptions.put("NO_ROUTE", 0x10);
+        reverseNodeAddTxOptions.put("EXPLORE", 0x20);
+        reverseNodeAddTxOptions.put("NO_RETRANSMISSION", 0x40);
+        reverseNodeAddTxOptions.put("HIGH_POWER", 0x80);
+
+        // Reverse constants for NodeRemoveMode
+        reverseNodeRemoveMode.put("NODE_REMOVE_ANY", 0x01);
+        reverseNodeRemoveMode.put("NODE_REMOVE_CONTROLLER", 0x02);
+        reverseNodeRemoveMode.put("NODE_REMOVE_SLAVE", 0x03);
+        reverseNodeRemoveMode.put("NODE_REMOVE_STOP", 0x05);
+
+        // Reverse constants for FailedNodeRemoveStatusStatus
+        reverseFailedNodeRemoveStatusStatus.put("FAILED_NODE_NOT_FOUND", 0x00);
+        reverseFailedNodeRemoveStatusStatus.put("DONE", 0x01);
+        reverseFailedNodeRemoveStatusStatus.put("FAILED_NODE_REMOVE_FAIL", 0x02);
+
+        // Reverse constants for NodeNeighborUpdateStatusStatus
+        reverseNodeNeighborUpdateStatusStatus.put("NEIGHBOR_UPDATE_STATUS_DONE", 0x22);
+        reverseNodeNeighborUpdateStatusStatus.put("NEIGHBOR_UPDATE_STATUS_FAIL", 0x23);
+
+        // Reverse constants for NodeAddMode
+        reverseNodeAddMode.put("NODE_ADD_ANY", 0x01);
+        reverseNodeAddMode.put("NODE_ADD_CONTROLLER", 0x02);
+        reverseNodeAddMode.put("NODE_ADD_SLAVE", 0x03);
+        reverseNodeAddMode.put("NODE_ADD_EXISTING", 0x04);
+        reverseNodeAddMode.put("NODE_ADD_STOP", 0x05);
+        reverseNodeAddMode.put("NODE_ADD_STOP_FAILED", 0x06);
+
+        // Reverse constants for NodeRemoveStatusStatus
+        reverseNodeRemoveStatusStatus.put("NODE_REMOVE_STATUS_DONE", 0x06);
+        reverseNodeRemoveStatusStatus.put("NODE_REMOVE_STATUS_FAILED", 0x07);
+
+        // Reverse constants for NodeAddStatusStatus
+        reverseNodeAddStatusStatus.put("NODE_ADD_STATUS_DONE", 0x06);
+        reverseNodeAddStatusStatus.put("NODE_ADD_STATUS_FAILED", 0x07);
+        reverseNodeAddStatusStatus.put("NODE_ADD_STATUS_SECURITY_FAILED", 0x09);
     }
 
     /**
@@ -279,32 +417,20 @@ public class CommandClassNetworkManagementInclusionV1 {
         outputData.write(0);
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantNodeAddMode.keySet()) {
-            if (constantNodeAddMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseNodeAddMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
+        outputData.write(varMode);
 
         // Process 'tx Options'
         int valTxOptions = 0;
         for (String value : txOptions) {
-            boolean foundTxOptions = false;
-            for (Integer entry : constantNodeAddTxOptions.keySet()) {
-                if (constantNodeAddTxOptions.get(entry).equals(value)) {
-                    foundTxOptions = true;
-                    valTxOptions += entry;
-                    break;
-                }
-            }
-            if (!foundTxOptions) {
+            Integer varTxOptions = reverseNodeAddTxOptions.get(value);
+            if (varTxOptions == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + txOptions + "' for txOptions");
             }
+            valTxOptions += varTxOptions;
         }
         outputData.write(valTxOptions);
 
@@ -412,17 +538,11 @@ public class CommandClassNetworkManagementInclusionV1 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantNodeAddStatusStatus.keySet()) {
-            if (constantNodeAddStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseNodeAddStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Reserved'
         outputData.write(0);
@@ -579,32 +699,48 @@ public class CommandClassNetworkManagementInclusionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNodeRemove(Integer seqNo, String mode) {
-        logger.debug("Creating command message NODE_REMOVE version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NODE_REMOVE);
+        byte[] outputData = new byte[NODE_REMOVE_LENGTH];
+        getNodeRemove(ByteBuffer.wrap(outputData), seqNo, mode);
+        return outputData;
+    }
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+    /**
+     * Writes a new message with the NODE_REMOVE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NODE_REMOVE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NODE_REMOVE_ANY
+     *            <li>NODE_REMOVE_CONTROLLER
+     *            <li>NODE_REMOVE_SLAVE
+     *            <li>NODE_REMOVE_STOP
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #NODE_REMOVE_LENGTH} bytes remain in the buffer
+     */
+    static public void getNodeRemove(ByteBuffer buffer, Integer seqNo, String mode) {
+        logger.debug("Creating command message NODE_REMOVE version 1");
 
-        // Process 'Reserved'
-        outputData.write(0);
+        if (buffer.remaining() < NODE_REMOVE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantNodeRemoveMode.keySet()) {
-            if (constantNodeRemoveMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseNodeRemoveMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NODE_REMOVE);
+        buffer.put(seqNo.byteValue());
+        buffer.put((byte) 0);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -671,17 +807,11 @@ public class CommandClassNetworkManagementInclusionV1 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantNodeRemoveStatusStatus.keySet()) {
-            if (constantNodeRemoveStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseNodeRemoveStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'NodeID'
         // Check the node number boundary
@@ -820,17 +950,11 @@ public class CommandClassNetworkManagementInclusionV1 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantFailedNodeRemoveStatusStatus.keySet()) {
-            if (constantFailedNodeRemoveStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseFailedNodeRemoveStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Node ID'
         // Check the node number boundary
@@ -926,17 +1050,11 @@ public class CommandClassNetworkManagementInclusionV1 {
         // Process 'tx Options'
         int valTxOptions = 0;
         for (String value : txOptions) {
-            boolean foundTxOptions = false;
-            for (Integer entry : constantFailedNodeReplaceTxOptions.keySet()) {
-                if (constantFailedNodeReplaceTxOptions.get(entry).equals(value)) {
-                    foundTxOptions = true;
-                    valTxOptions += entry;
-                    break;
-                }
-            }
-            if (!foundTxOptions) {
+            Integer varTxOptions = reverseFailedNodeReplaceTxOptions.get(value);
+            if (varTxOptions == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + txOptions + "' for txOptions");
             }
+            valTxOptions += varTxOptions;
         }
         outputData.write(valTxOptions);
 
@@ -1030,17 +1148,11 @@ public class CommandClassNetworkManagementInclusionV1 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantFailedNodeReplaceStatusStatus.keySet()) {
-            if (constantFailedNodeReplaceStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseFailedNodeReplaceStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Node ID'
         // Check the node number boundary
@@ -1168,29 +1280,46 @@ public class CommandClassNetworkManagementInclusionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNodeNeighborUpdateStatus(Integer seqNo, String status) {
-        logger.debug("Creating command message NODE_NEIGHBOR_UPDATE_STATUS version 1");
+        byte[] outputData = new byte[NODE_NEIGHBOR_UPDATE_STATUS_LENGTH];
+        getNodeNeighborUpdateStatus(ByteBuffer.wrap(outputData), seqNo, status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NODE_NEIGHBOR_UPDATE_STATUS);
+    /**
+     * Writes a new message with the NODE_NEIGHBOR_UPDATE_STATUS command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NODE_NEIGHBOR_UPDATE_STATUS_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NEIGHBOR_UPDATE_STATUS_DONE
+     *            <li>NEIGHBOR_UPDATE_STATUS_FAIL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #NODE_NEIGHBOR_UPDATE_STATUS_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getNodeNeighborUpdateStatus(ByteBuffer buffer, Integer seqNo, String status) {
+        logger.debug("Creating command message NODE_NEIGHBOR_UPDATE_STATUS version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < NODE_NEIGHBOR_UPDATE_STATUS_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantNodeNeighborUpdateStatusStatus.keySet()) {
-            if (constantNodeNeighborUpdateStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseNodeNeighborUpdateStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NODE_NEIGHBOR_UPDATE_STATUS);
+        buffer.put(seqNo.byteValue());
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -1317,29 +1446,47 @@ public class CommandClassNetworkManagementInclusionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getReturnRouteAssignComplete(Integer seqNo, String status) {
-        logger.debug("Creating command message RETURN_ROUTE_ASSIGN_COMPLETE version 1");
+        byte[] outputData = new byte[RETURN_ROUTE_ASSIGN_COMPLETE_LENGTH];
+        getReturnRouteAssignComplete(ByteBuffer.wrap(outputData), seqNo, status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RETURN_ROUTE_ASSIGN_COMPLETE);
+    /**
+     * Writes a new message with the RETURN_ROUTE_ASSIGN_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RETURN_ROUTE_ASSIGN_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>TRANSMIT_COMPLETE_OK
+     *            <li>TRANSMIT_COMPLETE_NO_ACK
+     *            <li>TRANSMIT_COMPLETE_FAIL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #RETURN_ROUTE_ASSIGN_COMPLETE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getReturnRouteAssignComplete(ByteBuffer buffer, Integer seqNo, String status) {
+        logger.debug("Creating command message RETURN_ROUTE_ASSIGN_COMPLETE version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < RETURN_ROUTE_ASSIGN_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantReturnRouteAssignCompleteStatus.keySet()) {
-            if (constantReturnRouteAssignCompleteStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseReturnRouteAssignCompleteStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RETURN_ROUTE_ASSIGN_COMPLETE);
+        buffer.put(seqNo.byteValue());
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -1454,29 +1601,47 @@ public class CommandClassNetworkManagementInclusionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getReturnRouteDeleteComplete(Integer seqNo, String status) {
-        logger.debug("Creating command message RETURN_ROUTE_DELETE_COMPLETE version 1");
+        byte[] outputData = new byte[RETURN_ROUTE_DELETE_COMPLETE_LENGTH];
+        getReturnRouteDeleteComplete(ByteBuffer.wrap(outputData), seqNo, status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RETURN_ROUTE_DELETE_COMPLETE);
+    /**
+     * Writes a new message with the RETURN_ROUTE_DELETE_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RETURN_ROUTE_DELETE_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>TRANSMIT_COMPLETE_OK
+     *            <li>TRANSMIT_COMPLETE_NO_ACK
+     *            <li>TRANSMIT_COMPLETE_FAIL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #RETURN_ROUTE_DELETE_COMPLETE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getReturnRouteDeleteComplete(ByteBuffer buffer, Integer seqNo, String status) {
+        logger.debug("Creating command message RETURN_ROUTE_DELETE_COMPLETE version 1");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < RETURN_ROUTE_DELETE_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantReturnRouteDeleteCompleteStatus.keySet()) {
-            if (constantReturnRouteDeleteCompleteStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseReturnRouteDeleteCompleteStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RETURN_ROUTE_DELETE_COMPLETE);
+        buffer.put(seqNo.byteValue());
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -62,12 +64,21 @@ public class CommandClassNetworkManagementInstallationMaintenanceV1 {
      * Statistics Clear Command Constant
      */
     public final static int STATISTICS_CLEAR = 0x06;
+    /**
+     * Length of the encoded STATISTICS_CLEAR command
+     */
+    public final static int STATISTICS_CLEAR_LENGTH = 2;
 
     /**
      * Map holding constants for LastWorkingRouteSetSpeed
      */
     private static Map<Integer, String> constantLastWorkingRouteSetSpeed = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for LastWorkingRouteSetSpeed, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseLastWorkingRouteSetSpeed = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for StatisticsReportType
      */
@@ -78,6 +89,11 @@ public class CommandClassNetworkManagementInstallationMaintenanceV1 {
      */
     private static Map<Integer, String> constantLastWorkingRouteReportSpeed = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for LastWorkingRouteReportSpeed, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseLastWorkingRouteReportSpeed = new HashMap<String, Integer>();
+
     static {
         // Constants for LastWorkingRouteSetSpeed
         constantLastWorkingRouteSetSpeed.put(0x01, "9_6_KBIT_SEC");
@@ -96,6 +112,16 @@ public class CommandClassNetworkManagementInstallationMaintenanceV1 {
         constantLastWorkingRouteReportSpeed.put(0x01, "9_6_KBIT_SEC");
         constantLastWorkingRouteReportSpeed.put(0x02, "40_KBIT_SEC");
         constantLastWorkingRouteReportSpeed.put(0x03, "100_KBIT_SEC");
+
+        // Reverse constants for LastWorkingRouteSetSpeed
+        reverseLastWorkingRouteSetSpeed.put("9_6_KBIT_SEC", 0x01);
+        reverseLastWorkingRouteSetSpeed.put("40_KBIT_SEC", 0x02);
+        reverseLastWorkingRouteSetSpeed.put("100_KBIT_SEC", 0x03);
+
+        // Reverse constants for LastWorkingRouteReportSpeed
+        reverseLastWorkingRouteReportSpeed.put("9_6_KBIT_SEC", 0x01);
+        reverseLastWorkingRouteReportSpeed.put("40_KBIT_SEC", 0x02);
+        reverseLastWorkingRouteReportSpeed.put("100_KBIT_SEC", 0x03);
     }
 
     /**
@@ -167,17 +193,11 @@ public class CommandClassNetworkManagementInstallationMaintenanceV1 {
         outputData.write(repeater4);
 
         // Process 'Speed'
-        boolean foundSpeed = false;
-        for (Integer entry : constantLastWorkingRouteSetSpeed.keySet()) {
-            if (constantLastWorkingRouteSetSpeed.get(entry).equals(speed)) {
-                outputData.write(entry);
-                foundSpeed = true;
-                break;
-            }
-        }
-        if (!foundSpeed) {
+        Integer varSpeed = reverseLastWorkingRouteSetSpeed.get(speed);
+        if (varSpeed == null) {
             throw new IllegalArgumentException("Unknown constant value '" + speed + "' for speed");
         }
+        outputData.write(varSpeed);
 
         return outputData.toByteArray();
     }
@@ -354,17 +374,11 @@ public class CommandClassNetworkManagementInstallationMaintenanceV1 {
         outputData.write(repeater4);
 
         // Process 'Speed'
-        boolean foundSpeed = false;
-        for (Integer entry : constantLastWorkingRouteReportSpeed.keySet()) {
-            if (constantLastWorkingRouteReportSpeed.get(entry).equals(speed)) {
-                outputData.write(entry);
-                foundSpeed = true;
-                break;
-            }
-        }
-        if (!foundSpeed) {
+        Integer varSpeed = reverseLastWorkingRouteReportSpeed.get(speed);
+        if (varSpeed == null) {
             throw new IllegalArgumentException("Unknown constant value '" + speed + "' for speed");
         }
+        outputData.write(varSpeed);
 
         return outputData.toByteArray();
     }
@@ -569,13 +583,29 @@ public class CommandClassNetworkManagementInstallationMaintenanceV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getStatisticsClear() {
+        byte[] outputData = new byte[STATISTICS_CLEAR_LENGTH];
+        getStatisticsClear(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the STATISTICS_CLEAR command into the supplied buffer.
+     * <p>
+     * Exactly {@link #STATISTICS_CLEAR_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #STATISTICS_CLEAR_LENGTH} bytes remain in the buffer
+     */
+    static public void getStatisticsClear(ByteBuffer buffer) {
         logger.debug("Creating command message STATISTICS_CLEAR version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(STATISTICS_CLEAR);
+        if (buffer.remaining() < STATISTICS_CLEAR_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) STATISTICS_CLEAR);
     }
 
     /**
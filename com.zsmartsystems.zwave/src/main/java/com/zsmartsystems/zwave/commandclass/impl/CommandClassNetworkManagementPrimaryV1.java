@@ -53,16 +53,31 @@ public class CommandClassNetworkManagementPrimaryV1 {
      */
     private static Map<Integer, String> constantControllerChangeTxOptions = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ControllerChangeTxOptions, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseControllerChangeTxOptions = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ControllerChangeMode
      */
     private static Map<Integer, String> constantControllerChangeMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ControllerChangeMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseControllerChangeMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ControllerChangeStatusStatus
      */
     private static Map<Integer, String> constantControllerChangeStatusStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ControllerChangeStatusStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseControllerChangeStatusStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ControllerChangeStatusProperties2
      */
@@ -97,6 +112,24 @@ public class CommandClassNetworkManagementPrimaryV1 {
 
         // Constants for ControllerChangeStatusProperties1
         constantControllerChangeStatusProperties1.put(0x80, "LISTENING");
+
+        // Reverse constants for ControllerChangeTxOptions
+        reverseControllerChangeTxOptions.put("ACK", 0x01);
+        reverseControllerChangeTxOptions.put("LOW_POWER", 0x02);
+        reverseControllerChangeTxOptions.put("AUTO_ROUTE", 0x04);
+        reverseControllerChangeTxOptions.put("NO_ROUTE", 0x10);
+        reverseControllerChangeTxOptions.put("EXPLORE", 0x20);
+        reverseControllerChangeTxOptions.put("NO_RETRANSMISSION", 0x40);
+        reverseControllerChangeTxOptions.put("HIGH_POWER", 0x80);
+
+        // Reverse constants for ControllerChangeMode
+        reverseControllerChangeMode.put("CONTROLLER_CHANGE_START", 0x02);
+        reverseControllerChangeMode.put("CONTROLLER_CHANGE_STOP", 0x05);
+
+        // Reverse constants for ControllerChangeStatusStatus
+        reverseControllerChangeStatusStatus.put("NODE_ADD_STATUS_DONE", 0x06);
+        reverseControllerChangeStatusStatus.put("NODE_ADD_STATUS_FAILED", 0x07);
+        reverseControllerChangeStatusStatus.put("NODE_ADD_STATUS_SECURITY_FAILED", 0x09);
     }
 
     /**
@@ -140,32 +173,20 @@ public class CommandClassNetworkManagementPrimaryV1 {
         outputData.write(0);
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantControllerChangeMode.keySet()) {
-            if (constantControllerChangeMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseControllerChangeMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
+        outputData.write(varMode);
 
         // Process 'tx Options'
         int valTxOptions = 0;
         for (String value : txOptions) {
-            boolean foundTxOptions = false;
-            for (Integer entry : constantControllerChangeTxOptions.keySet()) {
-                if (constantControllerChangeTxOptions.get(entry).equals(value)) {
-                    foundTxOptions = true;
-                    valTxOptions += entry;
-                    break;
-                }
-            }
-            if (!foundTxOptions) {
+            Integer varTxOptions = reverseControllerChangeTxOptions.get(value);
+            if (varTxOptions == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + txOptions + "' for txOptions");
             }
+            valTxOptions += varTxOptions;
         }
         outputData.write(valTxOptions);
 
@@ -269,17 +290,11 @@ public class CommandClassNetworkManagementPrimaryV1 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantControllerChangeStatusStatus.keySet()) {
-            if (constantControllerChangeStatusStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseControllerChangeStatusStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Reserved'
         outputData.write(0);
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -44,6 +46,10 @@ public class CommandClassNetworkManagementProxyV2 {
      * Node List Get Command Constant
      */
     public final static int NODE_LIST_GET = 0x01;
+    /**
+     * Length of the encoded NODE_LIST_GET command
+     */
+    public final static int NODE_LIST_GET_LENGTH = 3;
     /**
      * Node List Report Command Constant
      */
@@ -62,11 +68,21 @@ public class CommandClassNetworkManagementProxyV2 {
      */
     private static Map<Integer, String> constantNodeInfoCachedReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeInfoCachedReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeInfoCachedReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeListReportStatus
      */
     private static Map<Integer, String> constantNodeListReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeListReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeListReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeInfoCachedReportProperties3
      */
@@ -101,6 +117,15 @@ public class CommandClassNetworkManagementProxyV2 {
         // Constants for NodeInfoCachedReportSecurityMark
         constantNodeInfoCachedReportSecurityMark.put(0x00, "SECURITY_MARK");
         constantNodeInfoCachedReportSecurityMark.put(0xF1, "SECURITY_MARK");
+
+        // Reverse constants for NodeInfoCachedReportStatus
+        reverseNodeInfoCachedReportStatus.put("STATUS_OK", 0x00);
+        reverseNodeInfoCachedReportStatus.put("STATUS_NOT_RESPONDING", 0x01);
+        reverseNodeInfoCachedReportStatus.put("STATUS_UNKNOWN", 0x02);
+
+        // Reverse constants for NodeListReportStatus
+        reverseNodeListReportStatus.put("LATEST", 0x00);
+        reverseNodeListReportStatus.put("MAY_NOT_BE_THE_LATEST", 0x01);
     }
 
     /**
@@ -112,16 +137,31 @@ public class CommandClassNetworkManagementProxyV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNodeListGet(Integer seqNo) {
-        logger.debug("Creating command message NODE_LIST_GET version 2");
+        byte[] outputData = new byte[NODE_LIST_GET_LENGTH];
+        getNodeListGet(ByteBuffer.wrap(outputData), seqNo);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NODE_LIST_GET);
+    /**
+     * Writes a new message with the NODE_LIST_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NODE_LIST_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param seqNo {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #NODE_LIST_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getNodeListGet(ByteBuffer buffer, Integer seqNo) {
+        logger.debug("Creating command message NODE_LIST_GET version 2");
 
-        // Process 'Seq. No'
-        outputData.write(seqNo);
+        if (buffer.remaining() < NODE_LIST_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NODE_LIST_GET);
+        buffer.put(seqNo.byteValue());
     }
 
     /**
@@ -181,17 +221,11 @@ public class CommandClassNetworkManagementProxyV2 {
         outputData.write(seqNo);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantNodeListReportStatus.keySet()) {
-            if (constantNodeListReportStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseNodeListReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Node List Controller ID'
         outputData.write(nodeListControllerId);
@@ -370,14 +404,8 @@ public class CommandClassNetworkManagementProxyV2 {
         // Process 'Properties1'
         int valProperties1 = 0;
         valProperties1 |= age & 0x0F;
-        int varStatus = Integer.MAX_VALUE;
-        for (Integer entry : constantNodeInfoCachedReportStatus.keySet()) {
-            if (constantNodeInfoCachedReportStatus.get(entry).equals(status)) {
-                varStatus = entry;
-                break;
-            }
-        }
-        if (varStatus == Integer.MAX_VALUE) {
+        Integer varStatus = reverseNodeInfoCachedReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
         valProperties1 |= varStatus << 4 & 0xF0;
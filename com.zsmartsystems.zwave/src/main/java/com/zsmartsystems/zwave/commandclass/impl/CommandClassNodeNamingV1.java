@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -46,6 +48,10 @@ public class CommandClassNodeNamingV1 {
      * Node Naming Node Name Get Command Constant
      */
     public final static int NODE_NAMING_NODE_NAME_GET = 0x02;
+    /**
+     * Length of the encoded NODE_NAMING_NODE_NAME_GET command
+     */
+    public final static int NODE_NAMING_NODE_NAME_GET_LENGTH = 2;
     /**
      * Node Naming Node Name Report Command Constant
      */
@@ -58,6 +64,10 @@ public class CommandClassNodeNamingV1 {
      * Node Naming Node Location Get Command Constant
      */
     public final static int NODE_NAMING_NODE_LOCATION_GET = 0x05;
+    /**
+     * Length of the encoded NODE_NAMING_NODE_LOCATION_GET command
+     */
+    public final static int NODE_NAMING_NODE_LOCATION_GET_LENGTH = 2;
     /**
      * Node Naming Node Location Report Command Constant
      */
@@ -139,13 +149,30 @@ public class CommandClassNodeNamingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNodeNamingNodeNameGet() {
+        byte[] outputData = new byte[NODE_NAMING_NODE_NAME_GET_LENGTH];
+        getNodeNamingNodeNameGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NODE_NAMING_NODE_NAME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NODE_NAMING_NODE_NAME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NODE_NAMING_NODE_NAME_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getNodeNamingNodeNameGet(ByteBuffer buffer) {
         logger.debug("Creating command message NODE_NAMING_NODE_NAME_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NODE_NAMING_NODE_NAME_GET);
+        if (buffer.remaining() < NODE_NAMING_NODE_NAME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NODE_NAMING_NODE_NAME_GET);
     }
 
     /**
@@ -306,13 +333,30 @@ public class CommandClassNodeNamingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNodeNamingNodeLocationGet() {
+        byte[] outputData = new byte[NODE_NAMING_NODE_LOCATION_GET_LENGTH];
+        getNodeNamingNodeLocationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NODE_NAMING_NODE_LOCATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NODE_NAMING_NODE_LOCATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NODE_NAMING_NODE_LOCATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getNodeNamingNodeLocationGet(ByteBuffer buffer) {
         logger.debug("Creating command message NODE_NAMING_NODE_LOCATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NODE_NAMING_NODE_LOCATION_GET);
+        if (buffer.remaining() < NODE_NAMING_NODE_LOCATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NODE_NAMING_NODE_LOCATION_GET);
     }
 
     /**
@@ -9,8 +9,11 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +47,10 @@ public class CommandClassNotificationV3 {
      * Event Supported Get Command Constant
      */
     public final static int EVENT_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded EVENT_SUPPORTED_GET command
+     */
+    public final static int EVENT_SUPPORTED_GET_LENGTH = 3;
     /**
      * Event Supported Report Command Constant
      */
@@ -52,6 +59,10 @@ public class CommandClassNotificationV3 {
      * Notification Get Command Constant
      */
     public final static int NOTIFICATION_GET = 0x04;
+    /**
+     * Length of the encoded NOTIFICATION_GET command
+     */
+    public final static int NOTIFICATION_GET_LENGTH = 5;
     /**
      * Notification Report Command Constant
      */
@@ -60,10 +71,18 @@ public class CommandClassNotificationV3 {
      * Notification Set Command Constant
      */
     public final static int NOTIFICATION_SET = 0x06;
+    /**
+     * Length of the encoded NOTIFICATION_SET command
+     */
+    public final static int NOTIFICATION_SET_LENGTH = 4;
     /**
      * Notification Supported Get Command Constant
      */
     public final static int NOTIFICATION_SUPPORTED_GET = 0x07;
+    /**
+     * Length of the encoded NOTIFICATION_SUPPORTED_GET command
+     */
+    public final static int NOTIFICATION_SUPPORTED_GET_LENGTH = 2;
     /**
      * Notification Supported Report Command Constant
      */
@@ -74,26 +93,51 @@ public class CommandClassNotificationV3 {
      */
     private static Map<Integer, String> constantNotificationReportNotificationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NotificationReportNotificationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNotificationReportNotificationType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NotificationReportNotificationStatus
      */
     private static Map<Integer, String> constantNotificationReportNotificationStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NotificationReportNotificationStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNotificationReportNotificationStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NotificationGetNotificationType
      */
     private static Map<Integer, String> constantNotificationGetNotificationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NotificationGetNotificationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNotificationGetNotificationType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NotificationSupportedReportBitMask
      */
     private static Map<Integer, String> constantNotificationSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NotificationSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNotificationSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NotificationSetNotificationStatus
      */
     private static Map<Integer, String> constantNotificationSetNotificationStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NotificationSetNotificationStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNotificationSetNotificationStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NotificationSupportedReportProperties1
      */
@@ -109,16 +153,31 @@ public class CommandClassNotificationV3 {
      */
     private static Map<Integer, String> constantEventSupportedGetNotificationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EventSupportedGetNotificationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEventSupportedGetNotificationType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NotificationSetNotificationType
      */
     private static Map<Integer, String> constantNotificationSetNotificationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NotificationSetNotificationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNotificationSetNotificationType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for EventSupportedReportNotificationType
      */
     private static Map<Integer, String> constantEventSupportedReportNotificationType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for EventSupportedReportNotificationType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseEventSupportedReportNotificationType = new HashMap<String, Integer>();
+
     static {
         // Constants for NotificationReportNotificationType
         constantNotificationReportNotificationType.put(0x01, "SMOKE");
@@ -211,6 +270,92 @@ public class CommandClassNotificationV3 {
         constantEventSupportedReportNotificationType.put(0x09, "SYSTEM");
         constantEventSupportedReportNotificationType.put(0x0A, "EMERGENCY");
         constantEventSupportedReportNotificationType.put(0x0B, "CLOCK");
+
+        // Reverse constants for NotificationReportNotificationType
+        reverseNotificationReportNotificationType.put("SMOKE", 0x01);
+        reverseNotificationReportNotificationType.put("CO", 0x02);
+        reverseNotificationReportNotificationType.put("CO2", 0x03);
+        reverseNotificationReportNotificationType.put("HEAT", 0x04);
+        reverseNotificationReportNotificationType.put("WATER", 0x05);
+        reverseNotificationReportNotificationType.put("ACCESS_CONTROL", 0x06);
+        reverseNotificationReportNotificationType.put("BURGLAR", 0x07);
+        reverseNotificationReportNotificationType.put("POWER_MANAGEMENT", 0x08);
+        reverseNotificationReportNotificationType.put("SYSTEM", 0x09);
+        reverseNotificationReportNotificationType.put("EMERGENCY", 0x0A);
+        reverseNotificationReportNotificationType.put("CLOCK", 0x0B);
+
+        // Reverse constants for NotificationReportNotificationStatus
+        reverseNotificationReportNotificationStatus.put("OFF", 0x00);
+        reverseNotificationReportNotificationStatus.put("ON", 0xFF);
+
+        // Reverse constants for NotificationGetNotificationType
+        reverseNotificationGetNotificationType.put("SMOKE", 0x01);
+        reverseNotificationGetNotificationType.put("CO", 0x02);
+        reverseNotificationGetNotificationType.put("CO2", 0x03);
+        reverseNotificationGetNotificationType.put("HEAT", 0x04);
+        reverseNotificationGetNotificationType.put("WATER", 0x05);
+        reverseNotificationGetNotificationType.put("ACCESS_CONTROL", 0x06);
+        reverseNotificationGetNotificationType.put("BURGLAR", 0x07);
+        reverseNotificationGetNotificationType.put("POWER_MANAGEMENT", 0x08);
+        reverseNotificationGetNotificationType.put("SYSTEM", 0x09);
+        reverseNotificationGetNotificationType.put("EMERGENCY", 0x0A);
+        reverseNotificationGetNotificationType.put("CLOCK", 0x0B);
+
+        // Reverse constants for NotificationSupportedReportBitMask
+        reverseNotificationSupportedReportBitMask.put("SMOKE", 0x01);
+        reverseNotificationSupportedReportBitMask.put("CO", 0x02);
+        reverseNotificationSupportedReportBitMask.put("CO2", 0x03);
+        reverseNotificationSupportedReportBitMask.put("HEAT", 0x04);
+        reverseNotificationSupportedReportBitMask.put("WATER", 0x05);
+        reverseNotificationSupportedReportBitMask.put("ACCESS_CONTROL", 0x06);
+        reverseNotificationSupportedReportBitMask.put("BURGLAR", 0x07);
+        reverseNotificationSupportedReportBitMask.put("POWER_MANAGEMENT", 0x08);
+        reverseNotificationSupportedReportBitMask.put("SYSTEM", 0x09);
+        reverseNotificationSupportedReportBitMask.put("EMERGENCY", 0x0A);
+        reverseNotificationSupportedReportBitMask.put("CLOCK", 0x0B);
+
+        // Reverse constants for NotificationSetNotificationStatus
+        reverseNotificationSetNotificationStatus.put("OFF", 0x00);
+        reverseNotificationSetNotificationStatus.put("ON", 0xFF);
+
+        // Reverse constants for EventSupportedGetNotificationType
+        reverseEventSupportedGetNotificationType.put("SMOKE", 0x01);
+        reverseEventSupportedGetNotificationType.put("CO", 0x02);
+        reverseEventSupportedGetNotificationType.put("CO2", 0x03);
+        reverseEventSupportedGetNotificationType.put("HEAT", 0x04);
+        reverseEventSupportedGetNotificationType.put("WATER", 0x05);
+        reverseEventSupportedGetNotificationType.put("ACCESS_CONTROL", 0x06);
+        reverseEventSupportedGetNotificationType.put("BURGLAR", 0x07);
+        reverseEventSupportedGetNotificationType.put("POWER_MANAGEMENT", 0x08);
+        reverseEventSupportedGetNotificationType.put("SYSTEM", 0x09);
+        reverseEventSupportedGetNotificationType.put("EMERGENCY", 0x0A);
+        reverseEventSupportedGetNotificationType.put("CLOCK", 0x0B);
+
+        // Reverse constants for NotificationSetNotificationType
+        reverseNotificationSetNotificationType.put("SMOKE", 0x01);
+        reverseNotificationSetNotificationType.put("CO", 0x02);
+        reverseNotificationSetNotificationType.put("CO2", 0x03);
+        reverseNotificationSetNotificationType.put("HEAT", 0x04);
+        reverseNotificationSetNotificationType.put("WATER", 0x05);
+        reverseNotificationSetNotificationType.put("ACCESS_CONTROL", 0x06);
+        reverseNotificationSetNotificationType.put("BURGLAR", 0x07);
+        reverseNotificationSetNotificationType.put("POWER_MANAGEMENT", 0x08);
+        reverseNotificationSetNotificationType.put("SYSTEM", 0x09);
+        reverseNotificationSetNotificationType.put("EMERGENCY", 0x0A);
+        reverseNotificationSetNotificationType.put("CLOCK", 0x0B);
+
+        // Reverse constants for EventSupportedReportNotificationType
+        reverseEventSupportedReportNotificationType.put("SMOKE", 0x01);
+        reverseEventSupportedReportNotificationType.put("CO", 0x02);
+        reverseEventSupportedReportNotificationType.put("CO2", 0x03);
+        reverseEventSupportedReportNotificationType.put("HEAT", 0x04);
+        reverseEventSupportedReportNotificationType.put("WATER", 0x05);
+        reverseEventSupportedReportNotificationType.put("ACCESS_CONTROL", 0x06);
+        reverseEventSupportedReportNotificationType.put("BURGLAR", 0x07);
+        reverseEventSupportedReportNotificationType.put("POWER_MANAGEMENT", 0x08);
+        reverseEventSupportedReportNotificationType.put("SYSTEM", 0x09);
+        reverseEventSupportedReportNotificationType.put("EMERGENCY", 0x0A);
+        reverseEventSupportedReportNotificationType.put("CLOCK", 0x0B);
     }
 
     /**
@@ -237,26 +382,52 @@ public class CommandClassNotificationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getEventSupportedGet(String notificationType) {
+        byte[] outputData = new byte[EVENT_SUPPORTED_GET_LENGTH];
+        getEventSupportedGet(ByteBuffer.wrap(outputData), notificationType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the EVENT_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #EVENT_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param notificationType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>ACCESS_CONTROL
+     *            <li>BURGLAR
+     *            <li>POWER_MANAGEMENT
+     *            <li>SYSTEM
+     *            <li>EMERGENCY
+     *            <li>CLOCK
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #EVENT_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getEventSupportedGet(ByteBuffer buffer, String notificationType) {
         logger.debug("Creating command message EVENT_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(EVENT_SUPPORTED_GET);
+        if (buffer.remaining() < EVENT_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Notification Type'
-        boolean foundNotificationType = false;
-        for (Integer entry : constantEventSupportedGetNotificationType.keySet()) {
-            if (constantEventSupportedGetNotificationType.get(entry).equals(notificationType)) {
-                outputData.write(entry);
-                foundNotificationType = true;
-                break;
-            }
-        }
-        if (!foundNotificationType) {
+        Integer varNotificationType = reverseEventSupportedGetNotificationType.get(notificationType);
+        if (varNotificationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationType + "' for notificationType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) EVENT_SUPPORTED_GET);
+        buffer.put(varNotificationType.byteValue());
     }
 
     /**
@@ -334,17 +505,11 @@ public class CommandClassNotificationV3 {
         outputData.write(EVENT_SUPPORTED_REPORT);
 
         // Process 'Notification Type'
-        boolean foundNotificationType = false;
-        for (Integer entry : constantEventSupportedReportNotificationType.keySet()) {
-            if (constantEventSupportedReportNotificationType.get(entry).equals(notificationType)) {
-                outputData.write(entry);
-                foundNotificationType = true;
-                break;
-            }
-        }
-        if (!foundNotificationType) {
+        Integer varNotificationType = reverseEventSupportedReportNotificationType.get(notificationType);
+        if (varNotificationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationType + "' for notificationType");
         }
+        outputData.write(varNotificationType);
 
         // Process 'Properties1'
         outputData.write(lenBitMask);
@@ -443,32 +608,57 @@ public class CommandClassNotificationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNotificationGet(Integer v1AlarmType, String notificationType, Integer event) {
-        logger.debug("Creating command message NOTIFICATION_GET version 3");
+        byte[] outputData = new byte[NOTIFICATION_GET_LENGTH];
+        getNotificationGet(ByteBuffer.wrap(outputData), v1AlarmType, notificationType, event);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NOTIFICATION_GET);
+    /**
+     * Writes a new message with the NOTIFICATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NOTIFICATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param v1AlarmType {@link Integer}
+     * @param notificationType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>ACCESS_CONTROL
+     *            <li>BURGLAR
+     *            <li>POWER_MANAGEMENT
+     *            <li>SYSTEM
+     *            <li>EMERGENCY
+     *            <li>CLOCK
+     *            </ul>
+     * @param event {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #NOTIFICATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getNotificationGet(ByteBuffer buffer, Integer v1AlarmType, String notificationType,
+            Integer event) {
+        logger.debug("Creating command message NOTIFICATION_GET version 3");
 
-        // Process 'V1 Alarm Type'
-        outputData.write(v1AlarmType);
+        if (buffer.remaining() < NOTIFICATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Notification Type'
-        boolean foundNotificationType = false;
-        for (Integer entry : constantNotificationGetNotificationType.keySet()) {
-            if (constantNotificationGetNotificationType.get(entry).equals(notificationType)) {
-                outputData.write(entry);
-                foundNotificationType = true;
-                break;
-            }
-        }
-        if (!foundNotificationType) {
+        Integer varNotificationType = reverseNotificationGetNotificationType.get(notificationType);
+        if (varNotificationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationType + "' for notificationType");
         }
 
-        // Process 'Event'
-        outputData.write(event);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NOTIFICATION_GET);
+        buffer.put(v1AlarmType.byteValue());
+        buffer.put(varNotificationType.byteValue());
+        buffer.put(event.byteValue());
     }
 
     /**
@@ -573,30 +763,18 @@ public class CommandClassNotificationV3 {
         outputData.write(0);
 
         // Process 'Notification Status'
-        boolean foundNotificationStatus = false;
-        for (Integer entry : constantNotificationReportNotificationStatus.keySet()) {
-            if (constantNotificationReportNotificationStatus.get(entry).equals(notificationStatus)) {
-                outputData.write(entry);
-                foundNotificationStatus = true;
-                break;
-            }
-        }
-        if (!foundNotificationStatus) {
+        Integer varNotificationStatus = reverseNotificationReportNotificationStatus.get(notificationStatus);
+        if (varNotificationStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationStatus + "' for notificationStatus");
         }
+        outputData.write(varNotificationStatus);
 
         // Process 'Notification Type'
-        boolean foundNotificationType = false;
-        for (Integer entry : constantNotificationReportNotificationType.keySet()) {
-            if (constantNotificationReportNotificationType.get(entry).equals(notificationType)) {
-                outputData.write(entry);
-                foundNotificationType = true;
-                break;
-            }
-        }
-        if (!foundNotificationType) {
+        Integer varNotificationType = reverseNotificationReportNotificationType.get(notificationType);
+        if (varNotificationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationType + "' for notificationType");
         }
+        outputData.write(varNotificationType);
 
         // Process 'Event'
         outputData.write(event);
@@ -661,59 +839,164 @@ public class CommandClassNotificationV3 {
      * <li>EVENT_PARAMETER {@link byte[]}
      * <li>SEQUENCE_NUMBER {@link Integer}
      * </ul>
+     * <p>
+     * The map is built from a {@link NotificationReport} view. Use the view directly to process the
+     * frame without allocating.
      *
      * @param payload the {@link byte[]} payload data to process
      * @return a {@link Map} of processed response data
      */
     public static Map<String, Object> handleNotificationReport(byte[] payload) {
+        NotificationReport report = new NotificationReport().wrap(payload);
+
         // Create our response map
         Map<String, Object> response = new HashMap<String, Object>();
 
-        // We're using variable length fields, so track the offset
-        int msgOffset = 2;
+        response.put("NOTIFICATION_STATUS", report.getNotificationStatusLabel());
+        response.put("NOTIFICATION_TYPE", report.getNotificationTypeLabel());
+        response.put("SEQUENCE", Boolean.valueOf(report.isSequence()));
+        response.put("EVENT_PARAMETER", report.getEventParameterBytes());
 
-        // Process 'V1 Alarm Type'
-        response.put("V1_ALARM_TYPE", Integer.valueOf(payload[msgOffset]));
-        msgOffset += 1;
+        // The map has always used these encodings, so keep them for existing consumers
+        response.put("V1_ALARM_TYPE", Integer.valueOf(payload[2]));
+        response.put("V1_ALARM_LEVEL", Integer.valueOf(payload[3]));
+        response.put("EVENT", Integer.valueOf(payload[7]));
+        if (report.hasSequenceNumber()) {
+            response.put("SEQUENCE_NUMBER", Integer.valueOf(payload[9 + report.getEventParameterSize()]));
+        }
 
-        // Process 'V1 Alarm Level'
-        response.put("V1_ALARM_LEVEL", Integer.valueOf(payload[msgOffset]));
-        msgOffset += 1;
+        // Return the map of processed response data;
+        return response;
+    }
 
-        msgOffset += 1;
+    /**
+     * Typed view over a received NOTIFICATION_REPORT frame.
+     * <p>
+     * Fields are decoded from the payload buffer as they are read, so processing a report does not create any
+     * objects. The view can be reused for subsequent frames by calling {@link #wrap(byte[])}.
+     */
+    public static class NotificationReport {
+        private byte[] payload;
+
+        /**
+         * Sets the frame this view decodes. The buffer is referenced, not copied.
+         *
+         * @param payload the {@link byte[]} payload data to process
+         * @return this view
+         */
+        public NotificationReport wrap(byte[] payload) {
+            this.payload = payload;
+            return this;
+        }
 
-        // Process 'Notification Status'
-        response.put("NOTIFICATION_STATUS", constantNotificationReportNotificationStatus.get(payload[msgOffset] & 0xff));
-        msgOffset += 1;
+        /**
+         * @return the 'V1 Alarm Type' value
+         */
+        public int getV1AlarmType() {
+            return payload[2] & 0xff;
+        }
 
-        // Process 'Notification Type'
-        response.put("NOTIFICATION_TYPE", constantNotificationReportNotificationType.get(payload[msgOffset] & 0xff));
-        msgOffset += 1;
+        /**
+         * @return the 'V1 Alarm Level' value
+         */
+        public int getV1AlarmLevel() {
+            return payload[3] & 0xff;
+        }
 
-        // Process 'Event'
-        response.put("EVENT", Integer.valueOf(payload[msgOffset]));
-        msgOffset += 1;
+        /**
+         * @return the 'Notification Status' value
+         */
+        public int getNotificationStatus() {
+            return payload[5] & 0xff;
+        }
 
-        // Process 'Properties1'
-        // Event Parameters Length is used by 'Event Parameter'
-        int varEventParametersLength = payload[msgOffset] & 0x1F;
-        response.put("SEQUENCE", Boolean.valueOf((payload[msgOffset] & 0x80) != 0));
-        msgOffset += 1;
+        /**
+         * @return the 'Notification Status' constant, or null if the value is not known
+         */
+        public String getNotificationStatusLabel() {
+            return constantNotificationReportNotificationStatus.get(getNotificationStatus());
+        }
 
-        // Process 'Event Parameter'
-        ByteArrayOutputStream valEventParameter = new ByteArrayOutputStream();
-        for (int cntEventParameter = 0; cntEventParameter < varEventParametersLength; cntEventParameter++) {
-            valEventParameter.write(payload[msgOffset + cntEventParameter]);
+        /**
+         * @return the 'Notification Type' value
+         */
+        public int getNotificationType() {
+            return payload[6] & 0xff;
         }
-        response.put("EVENT_PARAMETER", valEventParameter.toByteArray());
-        msgOffset += varEventParametersLength;
 
-        // Process 'Sequence Number'
-        response.put("SEQUENCE_NUMBER", Integer.valueOf(payload[msgOffset]));
-        msgOffset += 1;
+        /**
+         * @return the 'Notification Type' constant, or null if the value is not known
+         */
+        public String getNotificationTypeLabel() {
+            return constantNotificationReportNotificationType.get(getNotificationType());
+        }
 
-        // Return the map of processed response data;
-        return response;
+        /**
+         * @return the 'Event' value
+         */
+        public int getEvent() {
+            return payload[7] & 0xff;
+        }
+
+        /**
+         * @return the 'Sequence' flag
+         */
+        public boolean isSequence() {
+            return (payload[8] & 0x80) != 0;
+        }
+
+        /**
+         * @return the number of bytes in 'Event Parameter'
+         */
+        public int getEventParameterSize() {
+            return payload[8] & 0x1F;
+        }
+
+        /**
+         * @return 'Event Parameter' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getEventParameter() {
+            int size = getEventParameterSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Event Parameter' is " + size + " bytes");
+            }
+            int offset = 9;
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
+        }
+
+        /**
+         * @return a copy of the 'Event Parameter' bytes
+         */
+        public byte[] getEventParameterBytes() {
+            int offset = 9;
+            int size = getEventParameterSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
+
+        /**
+         * @return true if the frame contains 'Sequence Number'
+         */
+        public boolean hasSequenceNumber() {
+            return payload.length > 9 + getEventParameterSize();
+        }
+
+        /**
+         * @return the 'Sequence Number' value
+         */
+        public int getSequenceNumber() {
+            return payload[9 + getEventParameterSize()] & 0xff;
+        }
     }
 
     /**
@@ -747,39 +1030,66 @@ public class CommandClassNotificationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNotificationSet(String notificationType, String notificationStatus) {
+        byte[] outputData = new byte[NOTIFICATION_SET_LENGTH];
+        getNotificationSet(ByteBuffer.wrap(outputData), notificationType, notificationStatus);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NOTIFICATION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NOTIFICATION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param notificationType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>ACCESS_CONTROL
+     *            <li>BURGLAR
+     *            <li>POWER_MANAGEMENT
+     *            <li>SYSTEM
+     *            <li>EMERGENCY
+     *            <li>CLOCK
+     *            </ul>
+     * @param notificationStatus {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #NOTIFICATION_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getNotificationSet(ByteBuffer buffer, String notificationType, String notificationStatus) {
         logger.debug("Creating command message NOTIFICATION_SET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NOTIFICATION_SET);
+        if (buffer.remaining() < NOTIFICATION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Notification Type'
-        boolean foundNotificationType = false;
-        for (Integer entry : constantNotificationSetNotificationType.keySet()) {
-            if (constantNotificationSetNotificationType.get(entry).equals(notificationType)) {
-                outputData.write(entry);
-                foundNotificationType = true;
-                break;
-            }
-        }
-        if (!foundNotificationType) {
+        Integer varNotificationType = reverseNotificationSetNotificationType.get(notificationType);
+        if (varNotificationType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationType + "' for notificationType");
         }
 
         // Process 'Notification Status'
-        boolean foundNotificationStatus = false;
-        for (Integer entry : constantNotificationSetNotificationStatus.keySet()) {
-            if (constantNotificationSetNotificationStatus.get(entry).equals(notificationStatus)) {
-                outputData.write(entry);
-                foundNotificationStatus = true;
-                break;
-            }
-        }
-        if (!foundNotificationStatus) {
+        Integer varNotificationStatus = reverseNotificationSetNotificationStatus.get(notificationStatus);
+        if (varNotificationStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + notificationStatus + "' for notificationStatus");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NOTIFICATION_SET);
+        buffer.put(varNotificationType.byteValue());
+        buffer.put(varNotificationStatus.byteValue());
     }
 
     /**
@@ -840,13 +1150,30 @@ public class CommandClassNotificationV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNotificationSupportedGet() {
+        byte[] outputData = new byte[NOTIFICATION_SUPPORTED_GET_LENGTH];
+        getNotificationSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NOTIFICATION_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NOTIFICATION_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NOTIFICATION_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getNotificationSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message NOTIFICATION_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NOTIFICATION_SUPPORTED_GET);
+        if (buffer.remaining() < NOTIFICATION_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NOTIFICATION_SUPPORTED_GET);
     }
 
     /**
@@ -905,17 +1232,11 @@ public class CommandClassNotificationV3 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantNotificationSupportedReportBitMask.keySet()) {
-                if (constantNotificationSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseNotificationSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +42,26 @@ public class CommandClassPowerlevelV1 {
      * Powerlevel Set Command Constant
      */
     public final static int POWERLEVEL_SET = 0x01;
+    /**
+     * Length of the encoded POWERLEVEL_SET command
+     */
+    public final static int POWERLEVEL_SET_LENGTH = 4;
     /**
      * Powerlevel Get Command Constant
      */
     public final static int POWERLEVEL_GET = 0x02;
+    /**
+     * Length of the encoded POWERLEVEL_GET command
+     */
+    public final static int POWERLEVEL_GET_LENGTH = 2;
     /**
      * Powerlevel Report Command Constant
      */
     public final static int POWERLEVEL_REPORT = 0x03;
+    /**
+     * Length of the encoded POWERLEVEL_REPORT command
+     */
+    public final static int POWERLEVEL_REPORT_LENGTH = 4;
     /**
      * Powerlevel Test Node Set Command Constant
      */
@@ -56,36 +70,69 @@ public class CommandClassPowerlevelV1 {
      * Powerlevel Test Node Get Command Constant
      */
     public final static int POWERLEVEL_TEST_NODE_GET = 0x05;
+    /**
+     * Length of the encoded POWERLEVEL_TEST_NODE_GET command
+     */
+    public final static int POWERLEVEL_TEST_NODE_GET_LENGTH = 2;
     /**
      * Powerlevel Test Node Report Command Constant
      */
     public final static int POWERLEVEL_TEST_NODE_REPORT = 0x06;
+    /**
+     * Length of the encoded POWERLEVEL_TEST_NODE_REPORT command
+     */
+    public final static int POWERLEVEL_TEST_NODE_REPORT_LENGTH = 6;
 
     /**
      * Map holding constants for PowerlevelTestNodeReportStatusOfOperation
      */
     private static Map<Integer, String> constantPowerlevelTestNodeReportStatusOfOperation = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for PowerlevelTestNodeReportStatusOfOperation, used to encode a constant name
+     */
+    private static Map<String, Integer> reversePowerlevelTestNodeReportStatusOfOperation = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for PowerlevelTestNodeSetPowerLevel
      */
     private static Map<Integer, String> constantPowerlevelTestNodeSetPowerLevel = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for PowerlevelTestNodeSetPowerLevel, used to encode a constant name
+     */
+    private static Map<String, Integer> reversePowerlevelTestNodeSetPowerLevel = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for PowerlevelTestNodeReportTestNodeid
      */
     private static Map<Integer, String> constantPowerlevelTestNodeReportTestNodeid = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for PowerlevelTestNodeReportTestNodeid, used to encode a constant name
+     */
+    private static Map<String, Integer> reversePowerlevelTestNodeReportTestNodeid = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for PowerlevelReportPowerLevel
      */
     private static Map<Integer, String> constantPowerlevelReportPowerLevel = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for PowerlevelReportPowerLevel, used to encode a constant name
+     */
+    private static Map<String, Integer> reversePowerlevelReportPowerLevel = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for PowerlevelSetPowerLevel
      */
     private static Map<Integer, String> constantPowerlevelSetPowerLevel = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for PowerlevelSetPowerLevel, used to encode a constant name
+     */
+    private static Map<String, Integer> reversePowerlevelSetPowerLevel = new HashMap<String, Integer>();
+
     static {
         // Constants for PowerlevelTestNodeReportStatusOfOperation
         constantPowerlevelTestNodeReportStatusOfOperation.put(0x00, "ZW_TEST_FAILED");
@@ -130,6 +177,50 @@ public class CommandClassPowerlevelV1 {
         constantPowerlevelSetPowerLevel.put(0x07, "MINUS7DBM");
         constantPowerlevelSetPowerLevel.put(0x08, "MINUS8DBM");
         constantPowerlevelSetPowerLevel.put(0x09, "MINUS9DBM");
+
+        // Reverse constants for PowerlevelTestNodeReportStatusOfOperation
+        reversePowerlevelTestNodeReportStatusOfOperation.put("ZW_TEST_FAILED", 0x00);
+        reversePowerlevelTestNodeReportStatusOfOperation.put("ZW_TEST_SUCCES", 0x01);
+        reversePowerlevelTestNodeReportStatusOfOperation.put("ZW_TEST_INPROGRESS", 0x02);
+
+        // Reverse constants for PowerlevelTestNodeSetPowerLevel
+        reversePowerlevelTestNodeSetPowerLevel.put("NORMALPOWER", 0x00);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS1DBM", 0x01);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS2DBM", 0x02);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS3DBM", 0x03);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS4DBM", 0x04);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS5DBM", 0x05);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS6DBM", 0x06);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS7DBM", 0x07);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS8DBM", 0x08);
+        reversePowerlevelTestNodeSetPowerLevel.put("MINUS9DBM", 0x09);
+
+        // Reverse constants for PowerlevelTestNodeReportTestNodeid
+        reversePowerlevelTestNodeReportTestNodeid.put("ZW_TEST_NOT_A_NODEID", 0x00);
+
+        // Reverse constants for PowerlevelReportPowerLevel
+        reversePowerlevelReportPowerLevel.put("NORMALPOWER", 0x00);
+        reversePowerlevelReportPowerLevel.put("MINUS1DBM", 0x01);
+        reversePowerlevelReportPowerLevel.put("MINUS2DBM", 0x02);
+        reversePowerlevelReportPowerLevel.put("MINUS3DBM", 0x03);
+        reversePowerlevelReportPowerLevel.put("MINUS4DBM", 0x04);
+        reversePowerlevelReportPowerLevel.put("MINUS5DBM", 0x05);
+        reversePowerlevelReportPowerLevel.put("MINUS6DBM", 0x06);
+        reversePowerlevelReportPowerLevel.put("MINUS7DBM", 0x07);
+        reversePowerlevelReportPowerLevel.put("MINUS8DBM", 0x08);
+        reversePowerlevelReportPowerLevel.put("MINUS9DBM", 0x09);
+
+        // Reverse constants for PowerlevelSetPowerLevel
+        reversePowerlevelSetPowerLevel.put("NORMALPOWER", 0x00);
+        reversePowerlevelSetPowerLevel.put("MINUS1DBM", 0x01);
+        reversePowerlevelSetPowerLevel.put("MINUS2DBM", 0x02);
+        reversePowerlevelSetPowerLevel.put("MINUS3DBM", 0x03);
+        reversePowerlevelSetPowerLevel.put("MINUS4DBM", 0x04);
+        reversePowerlevelSetPowerLevel.put("MINUS5DBM", 0x05);
+        reversePowerlevelSetPowerLevel.put("MINUS6DBM", 0x06);
+        reversePowerlevelSetPowerLevel.put("MINUS7DBM", 0x07);
+        reversePowerlevelSetPowerLevel.put("MINUS8DBM", 0x08);
+        reversePowerlevelSetPowerLevel.put("MINUS9DBM", 0x09);
     }
 
     /**
@@ -156,29 +247,53 @@ public class CommandClassPowerlevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPowerlevelSet(String powerLevel, Integer timeout) {
+        byte[] outputData = new byte[POWERLEVEL_SET_LENGTH];
+        getPowerlevelSet(ByteBuffer.wrap(outputData), powerLevel, timeout);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the POWERLEVEL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #POWERLEVEL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param powerLevel {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NORMALPOWER
+     *            <li>MINUS1DBM
+     *            <li>MINUS2DBM
+     *            <li>MINUS3DBM
+     *            <li>MINUS4DBM
+     *            <li>MINUS5DBM
+     *            <li>MINUS6DBM
+     *            <li>MINUS7DBM
+     *            <li>MINUS8DBM
+     *            <li>MINUS9DBM
+     *            </ul>
+     * @param timeout {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #POWERLEVEL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getPowerlevelSet(ByteBuffer buffer, String powerLevel, Integer timeout) {
         logger.debug("Creating command message POWERLEVEL_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(POWERLEVEL_SET);
+        if (buffer.remaining() < POWERLEVEL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Power level'
-        boolean foundPowerLevel = false;
-        for (Integer entry : constantPowerlevelSetPowerLevel.keySet()) {
-            if (constantPowerlevelSetPowerLevel.get(entry).equals(powerLevel)) {
-                outputData.write(entry);
-                foundPowerLevel = true;
-                break;
-            }
-        }
-        if (!foundPowerLevel) {
+        Integer varPowerLevel = reversePowerlevelSetPowerLevel.get(powerLevel);
+        if (varPowerLevel == null) {
             throw new IllegalArgumentException("Unknown constant value '" + powerLevel + "' for powerLevel");
         }
 
-        // Process 'Timeout'
-        outputData.write(timeout);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) POWERLEVEL_SET);
+        buffer.put(varPowerLevel.byteValue());
+        buffer.put(timeout.byteValue());
     }
 
     /**
@@ -232,13 +347,29 @@ public class CommandClassPowerlevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPowerlevelGet() {
+        byte[] outputData = new byte[POWERLEVEL_GET_LENGTH];
+        getPowerlevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the POWERLEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #POWERLEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #POWERLEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getPowerlevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message POWERLEVEL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(POWERLEVEL_GET);
+        if (buffer.remaining() < POWERLEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) POWERLEVEL_GET);
     }
 
     /**
@@ -281,29 +412,53 @@ public class CommandClassPowerlevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPowerlevelReport(String powerLevel, Integer timeout) {
+        byte[] outputData = new byte[POWERLEVEL_REPORT_LENGTH];
+        getPowerlevelReport(ByteBuffer.wrap(outputData), powerLevel, timeout);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the POWERLEVEL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #POWERLEVEL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param powerLevel {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NORMALPOWER
+     *            <li>MINUS1DBM
+     *            <li>MINUS2DBM
+     *            <li>MINUS3DBM
+     *            <li>MINUS4DBM
+     *            <li>MINUS5DBM
+     *            <li>MINUS6DBM
+     *            <li>MINUS7DBM
+     *            <li>MINUS8DBM
+     *            <li>MINUS9DBM
+     *            </ul>
+     * @param timeout {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #POWERLEVEL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getPowerlevelReport(ByteBuffer buffer, String powerLevel, Integer timeout) {
         logger.debug("Creating command message POWERLEVEL_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(POWERLEVEL_REPORT);
+        if (buffer.remaining() < POWERLEVEL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Power level'
-        boolean foundPowerLevel = false;
-        for (Integer entry : constantPowerlevelReportPowerLevel.keySet()) {
-            if (constantPowerlevelReportPowerLevel.get(entry).equals(powerLevel)) {
-                outputData.write(entry);
-                foundPowerLevel = true;
-                break;
-            }
-        }
-        if (!foundPowerLevel) {
+        Integer varPowerLevel = reversePowerlevelReportPowerLevel.get(powerLevel);
+        if (varPowerLevel == null) {
             throw new IllegalArgumentException("Unknown constant value '" + powerLevel + "' for powerLevel");
         }
 
-        // Process 'Timeout'
-        outputData.write(timeout);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) POWERLEVEL_REPORT);
+        buffer.put(varPowerLevel.byteValue());
+        buffer.put(timeout.byteValue());
     }
 
     /**
@@ -389,17 +544,11 @@ public class CommandClassPowerlevelV1 {
         outputData.write(testNodeid);
 
         // Process 'Power level'
-        boolean foundPowerLevel = false;
-        for (Integer entry : constantPowerlevelTestNodeSetPowerLevel.keySet()) {
-            if (constantPowerlevelTestNodeSetPowerLevel.get(entry).equals(powerLevel)) {
-                outputData.write(entry);
-                foundPowerLevel = true;
-                break;
-            }
-        }
-        if (!foundPowerLevel) {
+        Integer varPowerLevel = reversePowerlevelTestNodeSetPowerLevel.get(powerLevel);
+        if (varPowerLevel == null) {
             throw new IllegalArgumentException("Unknown constant value '" + powerLevel + "' for powerLevel");
         }
+        outputData.write(varPowerLevel);
 
         // Process 'Test frame count'
         outputData.write((testFrameCount >> 8) & 0xff);
@@ -463,13 +612,29 @@ public class CommandClassPowerlevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPowerlevelTestNodeGet() {
+        byte[] outputData = new byte[POWERLEVEL_TEST_NODE_GET_LENGTH];
+        getPowerlevelTestNodeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the POWERLEVEL_TEST_NODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #POWERLEVEL_TEST_NODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #POWERLEVEL_TEST_NODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getPowerlevelTestNodeGet(ByteBuffer buffer) {
         logger.debug("Creating command message POWERLEVEL_TEST_NODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(POWERLEVEL_TEST_NODE_GET);
+        if (buffer.remaining() < POWERLEVEL_TEST_NODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) POWERLEVEL_TEST_NODE_GET);
     }
 
     /**
@@ -511,43 +676,62 @@ public class CommandClassPowerlevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPowerlevelTestNodeReport(String testNodeid, String statusOfOperation, Integer testFrameCount) {
+        byte[] outputData = new byte[POWERLEVEL_TEST_NODE_REPORT_LENGTH];
+        getPowerlevelTestNodeReport(ByteBuffer.wrap(outputData), testNodeid, statusOfOperation, testFrameCount);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the POWERLEVEL_TEST_NODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #POWERLEVEL_TEST_NODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param testNodeid {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>ZW_TEST_NOT_A_NODEID
+     *            </ul>
+     * @param statusOfOperation {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>ZW_TEST_FAILED
+     *            <li>ZW_TEST_SUCCES
+     *            <li>ZW_TEST_INPROGRESS
+     *            </ul>
+     * @param testFrameCount {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #POWERLEVEL_TEST_NODE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getPowerlevelTestNodeReport(ByteBuffer buffer, String testNodeid, String statusOfOperation,
+            Integer testFrameCount) {
         logger.debug("Creating command message POWERLEVEL_TEST_NODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(POWERLEVEL_TEST_NODE_REPORT);
+        if (buffer.remaining() < POWERLEVEL_TEST_NODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Test NodeID'
-        boolean foundTestNodeid = false;
-        for (Integer entry : constantPowerlevelTestNodeReportTestNodeid.keySet()) {
-            if (constantPowerlevelTestNodeReportTestNodeid.get(entry).equals(testNodeid)) {
-                outputData.write(entry);
-                foundTestNodeid = true;
-                break;
-            }
-        }
-        if (!foundTestNodeid) {
+        Integer varTestNodeid = reversePowerlevelTestNodeReportTestNodeid.get(testNodeid);
+        if (varTestNodeid == null) {
             throw new IllegalArgumentException("Unknown constant value '" + testNodeid + "' for testNodeid");
         }
 
         // Process 'Status of operation'
-        boolean foundStatusOfOperation = false;
-        for (Integer entry : constantPowerlevelTestNodeReportStatusOfOperation.keySet()) {
-            if (constantPowerlevelTestNodeReportStatusOfOperation.get(entry).equals(statusOfOperation)) {
-                outputData.write(entry);
-                foundStatusOfOperation = true;
-                break;
-            }
-        }
-        if (!foundStatusOfOperation) {
+        Integer varStatusOfOperation = reversePowerlevelTestNodeReportStatusOfOperation.get(statusOfOperation);
+        if (varStatusOfOperation == null) {
             throw new IllegalArgumentException("Unknown constant value '" + statusOfOperation + "' for statusOfOperation");
         }
 
-        // Process 'Test Frame Count'
-        outputData.write((testFrameCount >> 8) & 0xff);
-        outputData.write(testFrameCount & 0xff);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) POWERLEVEL_TEST_NODE_REPORT);
+        buffer.put(varTestNodeid.byteValue());
+        buffer.put(varStatusOfOperation.byteValue());
+        buffer.put((byte) ((testFrameCount >> 8) & 0xff));
+        buffer.put((byte) (testFrameCount & 0xff));
     }
 
     /**
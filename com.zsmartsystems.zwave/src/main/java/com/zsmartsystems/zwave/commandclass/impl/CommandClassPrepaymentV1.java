@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassPrepaymentV1 {
      * Prepayment Balance Get Command Constant
      */
     public final static int PREPAYMENT_BALANCE_GET = 0x01;
+    /**
+     * Length of the encoded PREPAYMENT_BALANCE_GET command
+     */
+    public final static int PREPAYMENT_BALANCE_GET_LENGTH = 3;
     /**
      * Prepayment Balance Report Command Constant
      */
@@ -48,20 +54,37 @@ public class CommandClassPrepaymentV1 {
      * Prepayment Supported Get Command Constant
      */
     public final static int PREPAYMENT_SUPPORTED_GET = 0x03;
+    /**
+     * Length of the encoded PREPAYMENT_SUPPORTED_GET command
+     */
+    public final static int PREPAYMENT_SUPPORTED_GET_LENGTH = 2;
     /**
      * Prepayment Supported Report Command Constant
      */
     public final static int PREPAYMENT_SUPPORTED_REPORT = 0x04;
+    /**
+     * Length of the encoded PREPAYMENT_SUPPORTED_REPORT command
+     */
+    public final static int PREPAYMENT_SUPPORTED_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for PrepaymentBalanceGetBalanceType
      */
     private static Map<Integer, String> constantPrepaymentBalanceGetBalanceType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for PrepaymentBalanceGetBalanceType, used to encode a constant name
+     */
+    private static Map<String, Integer> reversePrepaymentBalanceGetBalanceType = new HashMap<String, Integer>();
+
     static {
         // Constants for PrepaymentBalanceGetBalanceType
         constantPrepaymentBalanceGetBalanceType.put(0x00, "UTILITY");
         constantPrepaymentBalanceGetBalanceType.put(0x01, "MONETARY");
+
+        // Reverse constants for PrepaymentBalanceGetBalanceType
+        reversePrepaymentBalanceGetBalanceType.put("UTILITY", 0x00);
+        reversePrepaymentBalanceGetBalanceType.put("MONETARY", 0x01);
     }
 
     /**
@@ -79,26 +102,43 @@ public class CommandClassPrepaymentV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPrepaymentBalanceGet(String balanceType) {
+        byte[] outputData = new byte[PREPAYMENT_BALANCE_GET_LENGTH];
+        getPrepaymentBalanceGet(ByteBuffer.wrap(outputData), balanceType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PREPAYMENT_BALANCE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PREPAYMENT_BALANCE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param balanceType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UTILITY
+     *            <li>MONETARY
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #PREPAYMENT_BALANCE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getPrepaymentBalanceGet(ByteBuffer buffer, String balanceType) {
         logger.debug("Creating command message PREPAYMENT_BALANCE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PREPAYMENT_BALANCE_GET);
+        if (buffer.remaining() < PREPAYMENT_BALANCE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varBalanceType = Integer.MAX_VALUE;
-        for (Integer entry : constantPrepaymentBalanceGetBalanceType.keySet()) {
-            if (constantPrepaymentBalanceGetBalanceType.get(entry).equals(balanceType)) {
-                varBalanceType = entry;
-                break;
-            }
-        }
-        if (varBalanceType == Integer.MAX_VALUE) {
+        Integer varBalanceType = reversePrepaymentBalanceGetBalanceType.get(balanceType);
+        if (varBalanceType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + balanceType + "' for balanceType");
         }
-        outputData.write(varBalanceType << 6 & 0xC0);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PREPAYMENT_BALANCE_GET);
+        buffer.put((byte) (varBalanceType << 6 & 0xC0));
     }
 
     /**
@@ -269,13 +309,29 @@ public class CommandClassPrepaymentV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPrepaymentSupportedGet() {
+        byte[] outputData = new byte[PREPAYMENT_SUPPORTED_GET_LENGTH];
+        getPrepaymentSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PREPAYMENT_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PREPAYMENT_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #PREPAYMENT_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getPrepaymentSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message PREPAYMENT_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PREPAYMENT_SUPPORTED_GET);
+        if (buffer.remaining() < PREPAYMENT_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PREPAYMENT_SUPPORTED_GET);
     }
 
     /**
@@ -303,16 +359,32 @@ public class CommandClassPrepaymentV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getPrepaymentSupportedReport(Integer typesSupported) {
-        logger.debug("Creating command message PREPAYMENT_SUPPORTED_REPORT version 1");
+        byte[] outputData = new byte[PREPAYMENT_SUPPORTED_REPORT_LENGTH];
+        getPrepaymentSupportedReport(ByteBuffer.wrap(outputData), typesSupported);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PREPAYMENT_SUPPORTED_REPORT);
+    /**
+     * Writes a new message with the PREPAYMENT_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PREPAYMENT_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param typesSupported {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #PREPAYMENT_SUPPORTED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getPrepaymentSupportedReport(ByteBuffer buffer, Integer typesSupported) {
+        logger.debug("Creating command message PREPAYMENT_SUPPORTED_REPORT version 1");
 
-        // Process 'Properties1'
-        outputData.write(typesSupported & 0x0F);
+        if (buffer.remaining() < PREPAYMENT_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PREPAYMENT_SUPPORTED_REPORT);
+        buffer.put((byte) (typesSupported & 0x0F));
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,25 +41,47 @@ public class CommandClassProtectionV1 {
      * Protection Set Command Constant
      */
     public final static int PROTECTION_SET = 0x01;
+    /**
+     * Length of the encoded PROTECTION_SET command
+     */
+    public final static int PROTECTION_SET_LENGTH = 3;
     /**
      * Protection Get Command Constant
      */
     public final static int PROTECTION_GET = 0x02;
+    /**
+     * Length of the encoded PROTECTION_GET command
+     */
+    public final static int PROTECTION_GET_LENGTH = 2;
     /**
      * Protection Report Command Constant
      */
     public final static int PROTECTION_REPORT = 0x03;
+    /**
+     * Length of the encoded PROTECTION_REPORT command
+     */
+    public final static int PROTECTION_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for ProtectionReportProtectionState
      */
     private static Map<Integer, String> constantProtectionReportProtectionState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ProtectionReportProtectionState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseProtectionReportProtectionState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ProtectionSetProtectionState
      */
     private static Map<Integer, String> constantProtectionSetProtectionState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ProtectionSetProtectionState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseProtectionSetProtectionState = new HashMap<String, Integer>();
+
     static {
         // Constants for ProtectionReportProtectionState
         constantProtectionReportProtectionState.put(0x00, "UNPROTECTED");
@@ -69,6 +92,16 @@ public class CommandClassProtectionV1 {
         constantProtectionSetProtectionState.put(0x00, "UNPROTECTED");
         constantProtectionSetProtectionState.put(0x01, "PROTECTION_BY_SEQUENCE");
         constantProtectionSetProtectionState.put(0x02, "NO_OPERATION_POSSIBLE");
+
+        // Reverse constants for ProtectionReportProtectionState
+        reverseProtectionReportProtectionState.put("UNPROTECTED", 0x00);
+        reverseProtectionReportProtectionState.put("PROTECTION_BY_SEQUENCE", 0x01);
+        reverseProtectionReportProtectionState.put("NO_OPERATION_POSSIBLE", 0x02);
+
+        // Reverse constants for ProtectionSetProtectionState
+        reverseProtectionSetProtectionState.put("UNPROTECTED", 0x00);
+        reverseProtectionSetProtectionState.put("PROTECTION_BY_SEQUENCE", 0x01);
+        reverseProtectionSetProtectionState.put("NO_OPERATION_POSSIBLE", 0x02);
     }
 
     /**
@@ -87,26 +120,44 @@ public class CommandClassProtectionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionSet(String protectionState) {
+        byte[] outputData = new byte[PROTECTION_SET_LENGTH];
+        getProtectionSet(ByteBuffer.wrap(outputData), protectionState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param protectionState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNPROTECTED
+     *            <li>PROTECTION_BY_SEQUENCE
+     *            <li>NO_OPERATION_POSSIBLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionSet(ByteBuffer buffer, String protectionState) {
         logger.debug("Creating command message PROTECTION_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_SET);
+        if (buffer.remaining() < PROTECTION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Protection State'
-        boolean foundProtectionState = false;
-        for (Integer entry : constantProtectionSetProtectionState.keySet()) {
-            if (constantProtectionSetProtectionState.get(entry).equals(protectionState)) {
-                outputData.write(entry);
-                foundProtectionState = true;
-                break;
-            }
-        }
-        if (!foundProtectionState) {
+        Integer varProtectionState = reverseProtectionSetProtectionState.get(protectionState);
+        if (varProtectionState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + protectionState + "' for protectionState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_SET);
+        buffer.put(varProtectionState.byteValue());
     }
 
     /**
@@ -149,13 +200,29 @@ public class CommandClassProtectionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionGet() {
+        byte[] outputData = new byte[PROTECTION_GET_LENGTH];
+        getProtectionGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionGet(ByteBuffer buffer) {
         logger.debug("Creating command message PROTECTION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_GET);
+        if (buffer.remaining() < PROTECTION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_GET);
     }
 
     /**
@@ -190,26 +257,44 @@ public class CommandClassProtectionV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionReport(String protectionState) {
+        byte[] outputData = new byte[PROTECTION_REPORT_LENGTH];
+        getProtectionReport(ByteBuffer.wrap(outputData), protectionState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param protectionState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNPROTECTED
+     *            <li>PROTECTION_BY_SEQUENCE
+     *            <li>NO_OPERATION_POSSIBLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionReport(ByteBuffer buffer, String protectionState) {
         logger.debug("Creating command message PROTECTION_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_REPORT);
+        if (buffer.remaining() < PROTECTION_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Protection State'
-        boolean foundProtectionState = false;
-        for (Integer entry : constantProtectionReportProtectionState.keySet()) {
-            if (constantProtectionReportProtectionState.get(entry).equals(protectionState)) {
-                outputData.write(entry);
-                foundProtectionState = true;
-                break;
-            }
-        }
-        if (!foundProtectionState) {
+        Integer varProtectionState = reverseProtectionReportProtectionState.get(protectionState);
+        if (varProtectionState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + protectionState + "' for protectionState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_REPORT);
+        buffer.put(varProtectionState.byteValue());
     }
 
     /**
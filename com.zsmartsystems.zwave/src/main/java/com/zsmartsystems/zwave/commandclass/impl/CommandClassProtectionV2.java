@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,18 +42,34 @@ public class CommandClassProtectionV2 {
      * Protection Set Command Constant
      */
     public final static int PROTECTION_SET = 0x01;
+    /**
+     * Length of the encoded PROTECTION_SET command
+     */
+    public final static int PROTECTION_SET_LENGTH = 4;
     /**
      * Protection Get Command Constant
      */
     public final static int PROTECTION_GET = 0x02;
+    /**
+     * Length of the encoded PROTECTION_GET command
+     */
+    public final static int PROTECTION_GET_LENGTH = 2;
     /**
      * Protection Report Command Constant
      */
     public final static int PROTECTION_REPORT = 0x03;
+    /**
+     * Length of the encoded PROTECTION_REPORT command
+     */
+    public final static int PROTECTION_REPORT_LENGTH = 4;
     /**
      * Protection Supported Get Command Constant
      */
     public final static int PROTECTION_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded PROTECTION_SUPPORTED_GET command
+     */
+    public final static int PROTECTION_SUPPORTED_GET_LENGTH = 2;
     /**
      * Protection Supported Report Command Constant
      */
@@ -64,6 +82,10 @@ public class CommandClassProtectionV2 {
      * Protection Ec Get Command Constant
      */
     public final static int PROTECTION_EC_GET = 0x07;
+    /**
+     * Length of the encoded PROTECTION_EC_GET command
+     */
+    public final static int PROTECTION_EC_GET_LENGTH = 2;
     /**
      * Protection Ec Report Command Constant
      */
@@ -72,25 +94,47 @@ public class CommandClassProtectionV2 {
      * Protection Timeout Set Command Constant
      */
     public final static int PROTECTION_TIMEOUT_SET = 0x09;
+    /**
+     * Length of the encoded PROTECTION_TIMEOUT_SET command
+     */
+    public final static int PROTECTION_TIMEOUT_SET_LENGTH = 3;
     /**
      * Protection Timeout Get Command Constant
      */
     public final static int PROTECTION_TIMEOUT_GET = 0x0A;
+    /**
+     * Length of the encoded PROTECTION_TIMEOUT_GET command
+     */
+    public final static int PROTECTION_TIMEOUT_GET_LENGTH = 2;
     /**
      * Protection Timeout Report Command Constant
      */
     public final static int PROTECTION_TIMEOUT_REPORT = 0x0B;
+    /**
+     * Length of the encoded PROTECTION_TIMEOUT_REPORT command
+     */
+    public final static int PROTECTION_TIMEOUT_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for ProtectionTimeoutSetTimeout
      */
     private static Map<Integer, String> constantProtectionTimeoutSetTimeout = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ProtectionTimeoutSetTimeout, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseProtectionTimeoutSetTimeout = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ProtectionTimeoutReportTimeout
      */
     private static Map<Integer, String> constantProtectionTimeoutReportTimeout = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ProtectionTimeoutReportTimeout, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseProtectionTimeoutReportTimeout = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ProtectionSupportedReportLevel
      */
@@ -108,6 +152,14 @@ public class CommandClassProtectionV2 {
         // Constants for ProtectionSupportedReportLevel
         constantProtectionSupportedReportLevel.put(0x01, "TIMEOUT");
         constantProtectionSupportedReportLevel.put(0x02, "EXCLUSIVE_CONTROL");
+
+        // Reverse constants for ProtectionTimeoutSetTimeout
+        reverseProtectionTimeoutSetTimeout.put("NO_TIMER_IS_SET", 0x00);
+        reverseProtectionTimeoutSetTimeout.put("NO_TIMEOUT", 0xFF);
+
+        // Reverse constants for ProtectionTimeoutReportTimeout
+        reverseProtectionTimeoutReportTimeout.put("NO_TIMER_IS_SET", 0x00);
+        reverseProtectionTimeoutReportTimeout.put("NO_TIMEOUT_IS_SET", 0xFF);
     }
 
     /**
@@ -120,19 +172,33 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionSet(Integer localProtectionState, Integer rfProtectionState) {
-        logger.debug("Creating command message PROTECTION_SET version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_SET);
+        byte[] outputData = new byte[PROTECTION_SET_LENGTH];
+        getProtectionSet(ByteBuffer.wrap(outputData), localProtectionState, rfProtectionState);
+        return outputData;
+    }
 
-        // Process 'Level'
-        outputData.write(localProtectionState & 0x0F);
+    /**
+     * Writes a new message with the PROTECTION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param localProtectionState {@link Integer}
+     * @param rfProtectionState {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionSet(ByteBuffer buffer, Integer localProtectionState, Integer rfProtectionState) {
+        logger.debug("Creating command message PROTECTION_SET version 2");
 
-        // Process 'Level2'
-        outputData.write(rfProtectionState & 0x0F);
+        if (buffer.remaining() < PROTECTION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_SET);
+        buffer.put((byte) (localProtectionState & 0x0F));
+        buffer.put((byte) (rfProtectionState & 0x0F));
     }
 
     /**
@@ -172,13 +238,29 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionGet() {
+        byte[] outputData = new byte[PROTECTION_GET_LENGTH];
+        getProtectionGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionGet(ByteBuffer buffer) {
         logger.debug("Creating command message PROTECTION_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_GET);
+        if (buffer.remaining() < PROTECTION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_GET);
     }
 
     /**
@@ -207,19 +289,33 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionReport(Integer localProtectionState, Integer rfProtectionState) {
-        logger.debug("Creating command message PROTECTION_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_REPORT);
+        byte[] outputData = new byte[PROTECTION_REPORT_LENGTH];
+        getProtectionReport(ByteBuffer.wrap(outputData), localProtectionState, rfProtectionState);
+        return outputData;
+    }
 
-        // Process 'Level'
-        outputData.write(localProtectionState & 0x0F);
+    /**
+     * Writes a new message with the PROTECTION_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param localProtectionState {@link Integer}
+     * @param rfProtectionState {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionReport(ByteBuffer buffer, Integer localProtectionState, Integer rfProtectionState) {
+        logger.debug("Creating command message PROTECTION_REPORT version 2");
 
-        // Process 'Level2'
-        outputData.write(rfProtectionState & 0x0F);
+        if (buffer.remaining() < PROTECTION_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_REPORT);
+        buffer.put((byte) (localProtectionState & 0x0F));
+        buffer.put((byte) (rfProtectionState & 0x0F));
     }
 
     /**
@@ -259,13 +355,29 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionSupportedGet() {
+        byte[] outputData = new byte[PROTECTION_SUPPORTED_GET_LENGTH];
+        getProtectionSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message PROTECTION_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_SUPPORTED_GET);
+        if (buffer.remaining() < PROTECTION_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_SUPPORTED_GET);
     }
 
     /**
@@ -414,13 +526,29 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionEcGet() {
+        byte[] outputData = new byte[PROTECTION_EC_GET_LENGTH];
+        getProtectionEcGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_EC_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_EC_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_EC_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionEcGet(ByteBuffer buffer) {
         logger.debug("Creating command message PROTECTION_EC_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_EC_GET);
+        if (buffer.remaining() < PROTECTION_EC_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_EC_GET);
     }
 
     /**
@@ -505,26 +633,43 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionTimeoutSet(String timeout) {
+        byte[] outputData = new byte[PROTECTION_TIMEOUT_SET_LENGTH];
+        getProtectionTimeoutSet(ByteBuffer.wrap(outputData), timeout);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_TIMEOUT_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_TIMEOUT_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param timeout {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NO_TIMER_IS_SET
+     *            <li>NO_TIMEOUT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_TIMEOUT_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionTimeoutSet(ByteBuffer buffer, String timeout) {
         logger.debug("Creating command message PROTECTION_TIMEOUT_SET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_TIMEOUT_SET);
+        if (buffer.remaining() < PROTECTION_TIMEOUT_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Timeout'
-        boolean foundTimeout = false;
-        for (Integer entry : constantProtectionTimeoutSetTimeout.keySet()) {
-            if (constantProtectionTimeoutSetTimeout.get(entry).equals(timeout)) {
-                outputData.write(entry);
-                foundTimeout = true;
-                break;
-            }
-        }
-        if (!foundTimeout) {
+        Integer varTimeout = reverseProtectionTimeoutSetTimeout.get(timeout);
+        if (varTimeout == null) {
             throw new IllegalArgumentException("Unknown constant value '" + timeout + "' for timeout");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_TIMEOUT_SET);
+        buffer.put(varTimeout.byteValue());
     }
 
     /**
@@ -566,13 +711,29 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionTimeoutGet() {
+        byte[] outputData = new byte[PROTECTION_TIMEOUT_GET_LENGTH];
+        getProtectionTimeoutGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_TIMEOUT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_TIMEOUT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_TIMEOUT_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getProtectionTimeoutGet(ByteBuffer buffer) {
         logger.debug("Creating command message PROTECTION_TIMEOUT_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_TIMEOUT_GET);
+        if (buffer.remaining() < PROTECTION_TIMEOUT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_TIMEOUT_GET);
     }
 
     /**
@@ -606,26 +767,44 @@ public class CommandClassProtectionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getProtectionTimeoutReport(String timeout) {
+        byte[] outputData = new byte[PROTECTION_TIMEOUT_REPORT_LENGTH];
+        getProtectionTimeoutReport(ByteBuffer.wrap(outputData), timeout);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the PROTECTION_TIMEOUT_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #PROTECTION_TIMEOUT_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param timeout {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NO_TIMER_IS_SET
+     *            <li>NO_TIMEOUT_IS_SET
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #PROTECTION_TIMEOUT_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getProtectionTimeoutReport(ByteBuffer buffer, String timeout) {
         logger.debug("Creating command message PROTECTION_TIMEOUT_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(PROTECTION_TIMEOUT_REPORT);
+        if (buffer.remaining() < PROTECTION_TIMEOUT_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Timeout'
-        boolean foundTimeout = false;
-        for (Integer entry : constantProtectionTimeoutReportTimeout.keySet()) {
-            if (constantProtectionTimeoutReportTimeout.get(entry).equals(timeout)) {
-                outputData.write(entry);
-                foundTimeout = true;
-                break;
-            }
-        }
-        if (!foundTimeout) {
+        Integer varTimeout = reverseProtectionTimeoutReportTimeout.get(timeout);
+        if (varTimeout == null) {
             throw new IllegalArgumentException("Unknown constant value '" + timeout + "' for timeout");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) PROTECTION_TIMEOUT_REPORT);
+        buffer.put(varTimeout.byteValue());
     }
 
     /**
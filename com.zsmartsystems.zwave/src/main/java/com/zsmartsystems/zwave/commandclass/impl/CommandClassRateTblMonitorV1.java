@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,14 +45,26 @@ public class CommandClassRateTblMonitorV1 {
      * Rate Tbl Supported Get Command Constant
      */
     public final static int RATE_TBL_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded RATE_TBL_SUPPORTED_GET command
+     */
+    public final static int RATE_TBL_SUPPORTED_GET_LENGTH = 2;
     /**
      * Rate Tbl Supported Report Command Constant
      */
     public final static int RATE_TBL_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded RATE_TBL_SUPPORTED_REPORT command
+     */
+    public final static int RATE_TBL_SUPPORTED_REPORT_LENGTH = 5;
     /**
      * Rate Tbl Get Command Constant
      */
     public final static int RATE_TBL_GET = 0x03;
+    /**
+     * Length of the encoded RATE_TBL_GET command
+     */
+    public final static int RATE_TBL_GET_LENGTH = 3;
     /**
      * Rate Tbl Report Command Constant
      */
@@ -59,14 +73,26 @@ public class CommandClassRateTblMonitorV1 {
      * Rate Tbl Active Rate Get Command Constant
      */
     public final static int RATE_TBL_ACTIVE_RATE_GET = 0x05;
+    /**
+     * Length of the encoded RATE_TBL_ACTIVE_RATE_GET command
+     */
+    public final static int RATE_TBL_ACTIVE_RATE_GET_LENGTH = 2;
     /**
      * Rate Tbl Active Rate Report Command Constant
      */
     public final static int RATE_TBL_ACTIVE_RATE_REPORT = 0x06;
+    /**
+     * Length of the encoded RATE_TBL_ACTIVE_RATE_REPORT command
+     */
+    public final static int RATE_TBL_ACTIVE_RATE_REPORT_LENGTH = 3;
     /**
      * Rate Tbl Current Data Get Command Constant
      */
     public final static int RATE_TBL_CURRENT_DATA_GET = 0x07;
+    /**
+     * Length of the encoded RATE_TBL_CURRENT_DATA_GET command
+     */
+    public final static int RATE_TBL_CURRENT_DATA_GET_LENGTH = 3;
     /**
      * Rate Tbl Current Data Report Command Constant
      */
@@ -89,13 +115,29 @@ public class CommandClassRateTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRateTblSupportedGet() {
+        byte[] outputData = new byte[RATE_TBL_SUPPORTED_GET_LENGTH];
+        getRateTblSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the RATE_TBL_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RATE_TBL_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #RATE_TBL_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getRateTblSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message RATE_TBL_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RATE_TBL_SUPPORTED_GET);
+        if (buffer.remaining() < RATE_TBL_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RATE_TBL_SUPPORTED_GET);
     }
 
     /**
@@ -124,20 +166,36 @@ public class CommandClassRateTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRateTblSupportedReport(Integer ratesSupported, Integer parameterSetSupportedBitMask) {
-        logger.debug("Creating command message RATE_TBL_SUPPORTED_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RATE_TBL_SUPPORTED_REPORT);
+        byte[] outputData = new byte[RATE_TBL_SUPPORTED_REPORT_LENGTH];
+        getRateTblSupportedReport(ByteBuffer.wrap(outputData), ratesSupported, parameterSetSupportedBitMask);
+        return outputData;
+    }
 
-        // Process 'Rates Supported'
-        outputData.write(ratesSupported);
+    /**
+     * Writes a new message with the RATE_TBL_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RATE_TBL_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param ratesSupported {@link Integer}
+     * @param parameterSetSupportedBitMask {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #RATE_TBL_SUPPORTED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getRateTblSupportedReport(ByteBuffer buffer, Integer ratesSupported,
+            Integer parameterSetSupportedBitMask) {
+        logger.debug("Creating command message RATE_TBL_SUPPORTED_REPORT version 1");
 
-        // Process 'Parameter Set Supported Bit Mask'
-        outputData.write((parameterSetSupportedBitMask >> 8) & 0xff);
-        outputData.write(parameterSetSupportedBitMask & 0xff);
+        if (buffer.remaining() < RATE_TBL_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RATE_TBL_SUPPORTED_REPORT);
+        buffer.put(ratesSupported.byteValue());
+        buffer.put((byte) ((parameterSetSupportedBitMask >> 8) & 0xff));
+        buffer.put((byte) (parameterSetSupportedBitMask & 0xff));
     }
 
     /**
@@ -178,16 +236,31 @@ public class CommandClassRateTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRateTblGet(Integer rateParameterSetId) {
-        logger.debug("Creating command message RATE_TBL_GET version 1");
+        byte[] outputData = new byte[RATE_TBL_GET_LENGTH];
+        getRateTblGet(ByteBuffer.wrap(outputData), rateParameterSetId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RATE_TBL_GET);
+    /**
+     * Writes a new message with the RATE_TBL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RATE_TBL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param rateParameterSetId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #RATE_TBL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getRateTblGet(ByteBuffer buffer, Integer rateParameterSetId) {
+        logger.debug("Creating command message RATE_TBL_GET version 1");
 
-        // Process 'Rate Parameter Set ID'
-        outputData.write(rateParameterSetId);
+        if (buffer.remaining() < RATE_TBL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RATE_TBL_GET);
+        buffer.put(rateParameterSetId.byteValue());
     }
 
     /**
@@ -413,13 +486,29 @@ public class CommandClassRateTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRateTblActiveRateGet() {
+        byte[] outputData = new byte[RATE_TBL_ACTIVE_RATE_GET_LENGTH];
+        getRateTblActiveRateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the RATE_TBL_ACTIVE_RATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RATE_TBL_ACTIVE_RATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #RATE_TBL_ACTIVE_RATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getRateTblActiveRateGet(ByteBuffer buffer) {
         logger.debug("Creating command message RATE_TBL_ACTIVE_RATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RATE_TBL_ACTIVE_RATE_GET);
+        if (buffer.remaining() < RATE_TBL_ACTIVE_RATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RATE_TBL_ACTIVE_RATE_GET);
     }
 
     /**
@@ -447,16 +536,32 @@ public class CommandClassRateTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRateTblActiveRateReport(Integer rateParameterSetId) {
-        logger.debug("Creating command message RATE_TBL_ACTIVE_RATE_REPORT version 1");
+        byte[] outputData = new byte[RATE_TBL_ACTIVE_RATE_REPORT_LENGTH];
+        getRateTblActiveRateReport(ByteBuffer.wrap(outputData), rateParameterSetId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RATE_TBL_ACTIVE_RATE_REPORT);
+    /**
+     * Writes a new message with the RATE_TBL_ACTIVE_RATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RATE_TBL_ACTIVE_RATE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param rateParameterSetId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #RATE_TBL_ACTIVE_RATE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getRateTblActiveRateReport(ByteBuffer buffer, Integer rateParameterSetId) {
+        logger.debug("Creating command message RATE_TBL_ACTIVE_RATE_REPORT version 1");
 
-        // Process 'Rate Parameter Set ID'
-        outputData.write(rateParameterSetId);
+        if (buffer.remaining() < RATE_TBL_ACTIVE_RATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RATE_TBL_ACTIVE_RATE_REPORT);
+        buffer.put(rateParameterSetId.byteValue());
     }
 
     /**
@@ -493,18 +598,32 @@ public class CommandClassRateTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRateTblCurrentDataGet(Integer rateParameterSetId) {
-        logger.debug("Creating command message RATE_TBL_CURRENT_DATA_GET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(RATE_TBL_CURRENT_DATA_GET);
+        byte[] outputData = new byte[RATE_TBL_CURRENT_DATA_GET_LENGTH];
+        getRateTblCurrentDataGet(ByteBuffer.wrap(outputData), rateParameterSetId);
+        return outputData;
+    }
 
-        // Process 'Rate Parameter Set ID'
-        outputData.write(rateParameterSetId);
+    /**
+     * Writes a new message with the RATE_TBL_CURRENT_DATA_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #RATE_TBL_CURRENT_DATA_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param rateParameterSetId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #RATE_TBL_CURRENT_DATA_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getRateTblCurrentDataGet(ByteBuffer buffer, Integer rateParameterSetId) {
+        logger.debug("Creating command message RATE_TBL_CURRENT_DATA_GET version 1");
 
-        // Process 'Dataset Requested'
+        if (buffer.remaining() < RATE_TBL_CURRENT_DATA_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) RATE_TBL_CURRENT_DATA_GET);
+        buffer.put(rateParameterSetId.byteValue());
     }
 
     /**
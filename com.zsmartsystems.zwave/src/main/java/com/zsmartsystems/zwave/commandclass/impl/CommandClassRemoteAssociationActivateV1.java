@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +41,10 @@ public class CommandClassRemoteAssociationActivateV1 {
      * Remote Association Activate Command Constant
      */
     public final static int REMOTE_ASSOCIATION_ACTIVATE = 0x01;
+    /**
+     * Length of the encoded REMOTE_ASSOCIATION_ACTIVATE command
+     */
+    public final static int REMOTE_ASSOCIATION_ACTIVATE_LENGTH = 3;
 
 
     /**
@@ -51,16 +56,32 @@ public class CommandClassRemoteAssociationActivateV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRemoteAssociationActivate(Integer groupingIdentifier) {
-        logger.debug("Creating command message REMOTE_ASSOCIATION_ACTIVATE version 1");
+        byte[] outputData = new byte[REMOTE_ASSOCIATION_ACTIVATE_LENGTH];
+        getRemoteAssociationActivate(ByteBuffer.wrap(outputData), groupingIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(REMOTE_ASSOCIATION_ACTIVATE);
+    /**
+     * Writes a new message with the REMOTE_ASSOCIATION_ACTIVATE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #REMOTE_ASSOCIATION_ACTIVATE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #REMOTE_ASSOCIATION_ACTIVATE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getRemoteAssociationActivate(ByteBuffer buffer, Integer groupingIdentifier) {
+        logger.debug("Creating command message REMOTE_ASSOCIATION_ACTIVATE version 1");
 
-        // Process 'Grouping identifier'
-        outputData.write(groupingIdentifier);
+        if (buffer.remaining() < REMOTE_ASSOCIATION_ACTIVATE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) REMOTE_ASSOCIATION_ACTIVATE);
+        buffer.put(groupingIdentifier.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassRemoteAssociationV1 {
      * Remote Association Configuration Get Command Constant
      */
     public final static int REMOTE_ASSOCIATION_CONFIGURATION_GET = 0x02;
+    /**
+     * Length of the encoded REMOTE_ASSOCIATION_CONFIGURATION_GET command
+     */
+    public final static int REMOTE_ASSOCIATION_CONFIGURATION_GET_LENGTH = 3;
     /**
      * Remote Association Configuration Report Command Constant
      */
@@ -54,21 +60,41 @@ public class CommandClassRemoteAssociationV1 {
      */
     private static Map<Integer, String> constantRemoteAssociationConfigurationSetRemoteNodeid = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for RemoteAssociationConfigurationSetRemoteNodeid, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseRemoteAssociationConfigurationSetRemoteNodeid = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for RemoteAssociationConfigurationReportLocalGroupingIdentifier
      */
     private static Map<Integer, String> constantRemoteAssociationConfigurationReportLocalGroupingIdentifier = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for RemoteAssociationConfigurationReportLocalGroupingIdentifier, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseRemoteAssociationConfigurationReportLocalGroupingIdentifier = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for RemoteAssociationConfigurationReportRemoteNodeid
      */
     private static Map<Integer, String> constantRemoteAssociationConfigurationReportRemoteNodeid = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for RemoteAssociationConfigurationReportRemoteNodeid, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseRemoteAssociationConfigurationReportRemoteNodeid = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for RemoteAssociationConfigurationSetLocalGroupingIdentifier
      */
     private static Map<Integer, String> constantRemoteAssociationConfigurationSetLocalGroupingIdentifier = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for RemoteAssociationConfigurationSetLocalGroupingIdentifier, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseRemoteAssociationConfigurationSetLocalGroupingIdentifier = new HashMap<String, Integer>();
+
     static {
         // Constants for RemoteAssociationConfigurationSetRemoteNodeid
         constantRemoteAssociationConfigurationSetRemoteNodeid.put(0x00, "REMOVE_A_LINK");
@@ -81,6 +107,18 @@ public class CommandClassRemoteAssociationV1 {
 
         // Constants for RemoteAssociationConfigurationSetLocalGroupingIdentifier
         constantRemoteAssociationConfigurationSetLocalGroupingIdentifier.put(0x00, "ERASE_ALL_LIN");
+
+        // Reverse constants for RemoteAssociationConfigurationSetRemoteNodeid
+        reverseRemoteAssociationConfigurationSetRemoteNodeid.put("REMOVE_A_LINK", 0x00);
+
+        // Reverse constants for RemoteAssociationConfigurationReportLocalGroupingIdentifier
+        reverseRemoteAssociationConfigurationReportLocalGroupingIdentifier.put("ERASE_ALL_LIN", 0x00);
+
+        // Reverse constants for RemoteAssociationConfigurationReportRemoteNodeid
+        reverseRemoteAssociationConfigurationReportRemoteNodeid.put("REMOVE_A_LINK", 0x00);
+
+        // Reverse constants for RemoteAssociationConfigurationSetLocalGroupingIdentifier
+        reverseRemoteAssociationConfigurationSetLocalGroupingIdentifier.put("ERASE_ALL_LIN", 0x00);
     }
 
     /**
@@ -112,30 +150,18 @@ public class CommandClassRemoteAssociationV1 {
         outputData.write(REMOTE_ASSOCIATION_CONFIGURATION_SET);
 
         // Process 'Local Grouping identifier'
-        boolean foundLocalGroupingIdentifier = false;
-        for (Integer entry : constantRemoteAssociationConfigurationSetLocalGroupingIdentifier.keySet()) {
-            if (constantRemoteAssociationConfigurationSetLocalGroupingIdentifier.get(entry).equals(localGroupingIdentifier)) {
-                outputData.write(entry);
-                foundLocalGroupingIdentifier = true;
-                break;
-            }
-        }
-        if (!foundLocalGroupingIdentifier) {
+        Integer varLocalGroupingIdentifier = reverseRemoteAssociationConfigurationSetLocalGroupingIdentifier.get(localGroupingIdentifier);
+        if (varLocalGroupingIdentifier == null) {
             throw new IllegalArgumentException("Unknown constant value '" + localGroupingIdentifier + "' for localGroupingIdentifier");
         }
+        outputData.write(varLocalGroupingIdentifier);
 
         // Process 'Remote NodeID'
-        boolean foundRemoteNodeid = false;
-        for (Integer entry : constantRemoteAssociationConfigurationSetRemoteNodeid.keySet()) {
-            if (constantRemoteAssociationConfigurationSetRemoteNodeid.get(entry).equals(remoteNodeid)) {
-                outputData.write(entry);
-                foundRemoteNodeid = true;
-                break;
-            }
-        }
-        if (!foundRemoteNodeid) {
+        Integer varRemoteNodeid = reverseRemoteAssociationConfigurationSetRemoteNodeid.get(remoteNodeid);
+        if (varRemoteNodeid == null) {
             throw new IllegalArgumentException("Unknown constant value '" + remoteNodeid + "' for remoteNodeid");
         }
+        outputData.write(varRemoteNodeid);
 
         // Process 'Remote Grouping identifier'
         outputData.write(remoteGroupingIdentifier);
@@ -195,16 +221,33 @@ public class CommandClassRemoteAssociationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRemoteAssociationConfigurationGet(Integer localGroupingIdentifier) {
-        logger.debug("Creating command message REMOTE_ASSOCIATION_CONFIGURATION_GET version 1");
+        byte[] outputData = new byte[REMOTE_ASSOCIATION_CONFIGURATION_GET_LENGTH];
+        getRemoteAssociationConfigurationGet(ByteBuffer.wrap(outputData), localGroupingIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(REMOTE_ASSOCIATION_CONFIGURATION_GET);
+    /**
+     * Writes a new message with the REMOTE_ASSOCIATION_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #REMOTE_ASSOCIATION_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param localGroupingIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #REMOTE_ASSOCIATION_CONFIGURATION_GET_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getRemoteAssociationConfigurationGet(ByteBuffer buffer, Integer localGroupingIdentifier) {
+        logger.debug("Creating command message REMOTE_ASSOCIATION_CONFIGURATION_GET version 1");
 
-        // Process 'Local Grouping identifier'
-        outputData.write(localGroupingIdentifier);
+        if (buffer.remaining() < REMOTE_ASSOCIATION_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) REMOTE_ASSOCIATION_CONFIGURATION_GET);
+        buffer.put(localGroupingIdentifier.byteValue());
     }
 
     /**
@@ -261,30 +304,18 @@ public class CommandClassRemoteAssociationV1 {
         outputData.write(REMOTE_ASSOCIATION_CONFIGURATION_REPORT);
 
         // Process 'Local Grouping identifier'
-        boolean foundLocalGroupingIdentifier = false;
-        for (Integer entry : constantRemoteAssociationConfigurationReportLocalGroupingIdentifier.keySet()) {
-            if (constantRemoteAssociationConfigurationReportLocalGroupingIdentifier.get(entry).equals(localGroupingIdentifier)) {
-                outputData.write(entry);
-                foundLocalGroupingIdentifier = true;
-                break;
-            }
-        }
-        if (!foundLocalGroupingIdentifier) {
+        Integer varLocalGroupingIdentifier = reverseRemoteAssociationConfigurationReportLocalGroupingIdentifier.get(localGroupingIdentifier);
+        if (varLocalGroupingIdentifier == null) {
             throw new IllegalArgumentException("Unknown constant value '" + localGroupingIdentifier + "' for localGroupingIdentifier");
         }
+        outputData.write(varLocalGroupingIdentifier);
 
         // Process 'Remote NodeID'
-        boolean foundRemoteNodeid = false;
-        for (Integer entry : constantRemoteAssociationConfigurationReportRemoteNodeid.keySet()) {
-            if (constantRemoteAssociationConfigurationReportRemoteNodeid.get(entry).equals(remoteNodeid)) {
-                outputData.write(entry);
-                foundRemoteNodeid = true;
-                break;
-            }
-        }
-        if (!foundRemoteNodeid) {
+        Integer varRemoteNodeid = reverseRemoteAssociationConfigurationReportRemoteNodeid.get(remoteNodeid);
+        if (varRemoteNodeid == null) {
             throw new IllegalArgumentException("Unknown constant value '" + remoteNodeid + "' for remoteNodeid");
         }
+        outputData.write(varRemoteNodeid);
 
         // Process 'Remote Grouping identifier'
         outputData.write(remoteGroupingIdentifier);
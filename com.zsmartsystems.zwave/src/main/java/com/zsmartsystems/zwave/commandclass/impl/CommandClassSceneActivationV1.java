@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,16 +41,29 @@ public class CommandClassSceneActivationV1 {
      * Scene Activation Set Command Constant
      */
     public final static int SCENE_ACTIVATION_SET = 0x01;
+    /**
+     * Length of the encoded SCENE_ACTIVATION_SET command
+     */
+    public final static int SCENE_ACTIVATION_SET_LENGTH = 4;
 
     /**
      * Map holding constants for SceneActivationSetDimmingDuration
      */
     private static Map<Integer, String> constantSceneActivationSetDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SceneActivationSetDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSceneActivationSetDimmingDuration = new HashMap<String, Integer>();
+
     static {
         // Constants for SceneActivationSetDimmingDuration
         constantSceneActivationSetDimmingDuration.put(0x00, "INSTANTLY");
         constantSceneActivationSetDimmingDuration.put(0xFF, "CONFIGURED_DIMMING_DURATION");
+
+        // Reverse constants for SceneActivationSetDimmingDuration
+        reverseSceneActivationSetDimmingDuration.put("INSTANTLY", 0x00);
+        reverseSceneActivationSetDimmingDuration.put("CONFIGURED_DIMMING_DURATION", 0xFF);
     }
 
     /**
@@ -68,29 +82,45 @@ public class CommandClassSceneActivationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSceneActivationSet(Integer sceneId, String dimmingDuration) {
-        logger.debug("Creating command message SCENE_ACTIVATION_SET version 1");
+        byte[] outputData = new byte[SCENE_ACTIVATION_SET_LENGTH];
+        getSceneActivationSet(ByteBuffer.wrap(outputData), sceneId, dimmingDuration);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCENE_ACTIVATION_SET);
+    /**
+     * Writes a new message with the SCENE_ACTIVATION_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCENE_ACTIVATION_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sceneId {@link Integer}
+     * @param dimmingDuration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            <li>CONFIGURED_DIMMING_DURATION
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCENE_ACTIVATION_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSceneActivationSet(ByteBuffer buffer, Integer sceneId, String dimmingDuration) {
+        logger.debug("Creating command message SCENE_ACTIVATION_SET version 1");
 
-        // Process 'Scene ID'
-        outputData.write(sceneId);
+        if (buffer.remaining() < SCENE_ACTIVATION_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSceneActivationSetDimmingDuration.keySet()) {
-            if (constantSceneActivationSetDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSceneActivationSetDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCENE_ACTIVATION_SET);
+        buffer.put(sceneId.byteValue());
+        buffer.put(varDimmingDuration.byteValue());
     }
 
     /**
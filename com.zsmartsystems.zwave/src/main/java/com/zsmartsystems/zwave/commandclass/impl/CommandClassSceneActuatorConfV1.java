@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,21 +46,39 @@ public class CommandClassSceneActuatorConfV1 {
      * Scene Actuator Conf Get Command Constant
      */
     public final static int SCENE_ACTUATOR_CONF_GET = 0x02;
+    /**
+     * Length of the encoded SCENE_ACTUATOR_CONF_GET command
+     */
+    public final static int SCENE_ACTUATOR_CONF_GET_LENGTH = 3;
     /**
      * Scene Actuator Conf Report Command Constant
      */
     public final static int SCENE_ACTUATOR_CONF_REPORT = 0x03;
+    /**
+     * Length of the encoded SCENE_ACTUATOR_CONF_REPORT command
+     */
+    public final static int SCENE_ACTUATOR_CONF_REPORT_LENGTH = 5;
 
     /**
      * Map holding constants for SceneActuatorConfReportDimmingDuration
      */
     private static Map<Integer, String> constantSceneActuatorConfReportDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SceneActuatorConfReportDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSceneActuatorConfReportDimmingDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SceneActuatorConfSetDimmingDuration
      */
     private static Map<Integer, String> constantSceneActuatorConfSetDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SceneActuatorConfSetDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSceneActuatorConfSetDimmingDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SceneActuatorConfSetLevel2
      */
@@ -74,6 +94,13 @@ public class CommandClassSceneActuatorConfV1 {
 
         // Constants for SceneActuatorConfSetLevel2
         constantSceneActuatorConfSetLevel2.put(0x80, "OVERRIDE");
+
+        // Reverse constants for SceneActuatorConfReportDimmingDuration
+        reverseSceneActuatorConfReportDimmingDuration.put("INSTANTLY", 0x00);
+
+        // Reverse constants for SceneActuatorConfSetDimmingDuration
+        reverseSceneActuatorConfSetDimmingDuration.put("SPECIFY_INSTANTLY", 0x00);
+        reverseSceneActuatorConfSetDimmingDuration.put("FACTORY_DEFAULT", 0xFF);
     }
 
     /**
@@ -105,17 +132,11 @@ public class CommandClassSceneActuatorConfV1 {
         outputData.write(sceneId);
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSceneActuatorConfSetDimmingDuration.keySet()) {
-            if (constantSceneActuatorConfSetDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSceneActuatorConfSetDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
+        outputData.write(varDimmingDuration);
 
         // Process 'Level2'
         outputData.write(override ? 0x80 : 0);
@@ -178,16 +199,31 @@ public class CommandClassSceneActuatorConfV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSceneActuatorConfGet(Integer sceneId) {
-        logger.debug("Creating command message SCENE_ACTUATOR_CONF_GET version 1");
+        byte[] outputData = new byte[SCENE_ACTUATOR_CONF_GET_LENGTH];
+        getSceneActuatorConfGet(ByteBuffer.wrap(outputData), sceneId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCENE_ACTUATOR_CONF_GET);
+    /**
+     * Writes a new message with the SCENE_ACTUATOR_CONF_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCENE_ACTUATOR_CONF_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sceneId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCENE_ACTUATOR_CONF_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSceneActuatorConfGet(ByteBuffer buffer, Integer sceneId) {
+        logger.debug("Creating command message SCENE_ACTUATOR_CONF_GET version 1");
 
-        // Process 'Scene ID'
-        outputData.write(sceneId);
+        if (buffer.remaining() < SCENE_ACTUATOR_CONF_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCENE_ACTUATOR_CONF_GET);
+        buffer.put(sceneId.byteValue());
     }
 
     /**
@@ -231,32 +267,48 @@ public class CommandClassSceneActuatorConfV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSceneActuatorConfReport(Integer sceneId, Integer level, String dimmingDuration) {
-        logger.debug("Creating command message SCENE_ACTUATOR_CONF_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCENE_ACTUATOR_CONF_REPORT);
+        byte[] outputData = new byte[SCENE_ACTUATOR_CONF_REPORT_LENGTH];
+        getSceneActuatorConfReport(ByteBuffer.wrap(outputData), sceneId, level, dimmingDuration);
+        return outputData;
+    }
 
-        // Process 'Scene ID'
-        outputData.write(sceneId);
+    /**
+     * Writes a new message with the SCENE_ACTUATOR_CONF_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCENE_ACTUATOR_CONF_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sceneId {@link Integer}
+     * @param level {@link Integer}
+     * @param dimmingDuration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCENE_ACTUATOR_CONF_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSceneActuatorConfReport(ByteBuffer buffer, Integer sceneId, Integer level,
+            String dimmingDuration) {
+        logger.debug("Creating command message SCENE_ACTUATOR_CONF_REPORT version 1");
 
-        // Process 'Level'
-        outputData.write(level);
+        if (buffer.remaining() < SCENE_ACTUATOR_CONF_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSceneActuatorConfReportDimmingDuration.keySet()) {
-            if (constantSceneActuatorConfReportDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSceneActuatorConfReportDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCENE_ACTUATOR_CONF_REPORT);
+        buffer.put(sceneId.byteValue());
+        buffer.put(level.byteValue());
+        buffer.put(varDimmingDuration.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,25 +41,47 @@ public class CommandClassSceneControllerConfV1 {
      * Scene Controller Conf Set Command Constant
      */
     public final static int SCENE_CONTROLLER_CONF_SET = 0x01;
+    /**
+     * Length of the encoded SCENE_CONTROLLER_CONF_SET command
+     */
+    public final static int SCENE_CONTROLLER_CONF_SET_LENGTH = 5;
     /**
      * Scene Controller Conf Get Command Constant
      */
     public final static int SCENE_CONTROLLER_CONF_GET = 0x02;
+    /**
+     * Length of the encoded SCENE_CONTROLLER_CONF_GET command
+     */
+    public final static int SCENE_CONTROLLER_CONF_GET_LENGTH = 3;
     /**
      * Scene Controller Conf Report Command Constant
      */
     public final static int SCENE_CONTROLLER_CONF_REPORT = 0x03;
+    /**
+     * Length of the encoded SCENE_CONTROLLER_CONF_REPORT command
+     */
+    public final static int SCENE_CONTROLLER_CONF_REPORT_LENGTH = 5;
 
     /**
      * Map holding constants for SceneControllerConfSetDimmingDuration
      */
     private static Map<Integer, String> constantSceneControllerConfSetDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SceneControllerConfSetDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSceneControllerConfSetDimmingDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SceneControllerConfReportDimmingDuration
      */
     private static Map<Integer, String> constantSceneControllerConfReportDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SceneControllerConfReportDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSceneControllerConfReportDimmingDuration = new HashMap<String, Integer>();
+
     static {
         // Constants for SceneControllerConfSetDimmingDuration
         constantSceneControllerConfSetDimmingDuration.put(0x00, "INSTANTLY");
@@ -66,6 +89,13 @@ public class CommandClassSceneControllerConfV1 {
 
         // Constants for SceneControllerConfReportDimmingDuration
         constantSceneControllerConfReportDimmingDuration.put(0x00, "INSTANTLY");
+
+        // Reverse constants for SceneControllerConfSetDimmingDuration
+        reverseSceneControllerConfSetDimmingDuration.put("INSTANTLY", 0x00);
+        reverseSceneControllerConfSetDimmingDuration.put("FACTORY_DEFAULT", 0xFF);
+
+        // Reverse constants for SceneControllerConfReportDimmingDuration
+        reverseSceneControllerConfReportDimmingDuration.put("INSTANTLY", 0x00);
     }
 
     /**
@@ -85,32 +115,49 @@ public class CommandClassSceneControllerConfV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSceneControllerConfSet(Integer groupId, Integer sceneId, String dimmingDuration) {
-        logger.debug("Creating command message SCENE_CONTROLLER_CONF_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCENE_CONTROLLER_CONF_SET);
+        byte[] outputData = new byte[SCENE_CONTROLLER_CONF_SET_LENGTH];
+        getSceneControllerConfSet(ByteBuffer.wrap(outputData), groupId, sceneId, dimmingDuration);
+        return outputData;
+    }
 
-        // Process 'Group ID'
-        outputData.write(groupId);
+    /**
+     * Writes a new message with the SCENE_CONTROLLER_CONF_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCENE_CONTROLLER_CONF_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupId {@link Integer}
+     * @param sceneId {@link Integer}
+     * @param dimmingDuration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            <li>FACTORY_DEFAULT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCENE_CONTROLLER_CONF_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSceneControllerConfSet(ByteBuffer buffer, Integer groupId, Integer sceneId,
+            String dimmingDuration) {
+        logger.debug("Creating command message SCENE_CONTROLLER_CONF_SET version 1");
 
-        // Process 'Scene ID'
-        outputData.write(sceneId);
+        if (buffer.remaining() < SCENE_CONTROLLER_CONF_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSceneControllerConfSetDimmingDuration.keySet()) {
-            if (constantSceneControllerConfSetDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSceneControllerConfSetDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCENE_CONTROLLER_CONF_SET);
+        buffer.put(groupId.byteValue());
+        buffer.put(sceneId.byteValue());
+        buffer.put(varDimmingDuration.byteValue());
     }
 
     /**
@@ -161,16 +208,32 @@ public class CommandClassSceneControllerConfV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSceneControllerConfGet(Integer groupId) {
-        logger.debug("Creating command message SCENE_CONTROLLER_CONF_GET version 1");
+        byte[] outputData = new byte[SCENE_CONTROLLER_CONF_GET_LENGTH];
+        getSceneControllerConfGet(ByteBuffer.wrap(outputData), groupId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCENE_CONTROLLER_CONF_GET);
+    /**
+     * Writes a new message with the SCENE_CONTROLLER_CONF_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCENE_CONTROLLER_CONF_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCENE_CONTROLLER_CONF_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSceneControllerConfGet(ByteBuffer buffer, Integer groupId) {
+        logger.debug("Creating command message SCENE_CONTROLLER_CONF_GET version 1");
 
-        // Process 'Group ID'
-        outputData.write(groupId);
+        if (buffer.remaining() < SCENE_CONTROLLER_CONF_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCENE_CONTROLLER_CONF_GET);
+        buffer.put(groupId.byteValue());
     }
 
     /**
@@ -214,32 +277,48 @@ public class CommandClassSceneControllerConfV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSceneControllerConfReport(Integer groupId, Integer sceneId, String dimmingDuration) {
-        logger.debug("Creating command message SCENE_CONTROLLER_CONF_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCENE_CONTROLLER_CONF_REPORT);
+        byte[] outputData = new byte[SCENE_CONTROLLER_CONF_REPORT_LENGTH];
+        getSceneControllerConfReport(ByteBuffer.wrap(outputData), groupId, sceneId, dimmingDuration);
+        return outputData;
+    }
 
-        // Process 'Group ID'
-        outputData.write(groupId);
+    /**
+     * Writes a new message with the SCENE_CONTROLLER_CONF_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCENE_CONTROLLER_CONF_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param groupId {@link Integer}
+     * @param sceneId {@link Integer}
+     * @param dimmingDuration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCENE_CONTROLLER_CONF_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSceneControllerConfReport(ByteBuffer buffer, Integer groupId, Integer sceneId,
+            String dimmingDuration) {
+        logger.debug("Creating command message SCENE_CONTROLLER_CONF_REPORT version 1");
 
-        // Process 'Scene ID'
-        outputData.write(sceneId);
+        if (buffer.remaining() < SCENE_CONTROLLER_CONF_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSceneControllerConfReportDimmingDuration.keySet()) {
-            if (constantSceneControllerConfReportDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSceneControllerConfReportDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCENE_CONTROLLER_CONF_REPORT);
+        buffer.put(groupId.byteValue());
+        buffer.put(sceneId.byteValue());
+        buffer.put(varDimmingDuration.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,10 +42,18 @@ public class CommandClassScheduleEntryLockV2 {
      * Schedule Entry Lock Enable Set Command Constant
      */
     public final static int SCHEDULE_ENTRY_LOCK_ENABLE_SET = 0x01;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_LOCK_ENABLE_SET command
+     */
+    public final static int SCHEDULE_ENTRY_LOCK_ENABLE_SET_LENGTH = 4;
     /**
      * Schedule Entry Lock Enable All Set Command Constant
      */
     public final static int SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET = 0x02;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET command
+     */
+    public final static int SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET_LENGTH = 3;
     /**
      * Schedule Entry Lock Week Day Set Command Constant
      */
@@ -52,6 +62,10 @@ public class CommandClassScheduleEntryLockV2 {
      * Schedule Entry Lock Week Day Get Command Constant
      */
     public final static int SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET = 0x04;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET command
+     */
+    public final static int SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET_LENGTH = 4;
     /**
      * Schedule Entry Lock Week Day Report Command Constant
      */
@@ -64,6 +78,10 @@ public class CommandClassScheduleEntryLockV2 {
      * Schedule Entry Lock Year Day Get Command Constant
      */
     public final static int SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET = 0x07;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET command
+     */
+    public final static int SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET_LENGTH = 4;
     /**
      * Schedule Entry Lock Year Day Report Command Constant
      */
@@ -72,14 +90,26 @@ public class CommandClassScheduleEntryLockV2 {
      * Schedule Entry Type Supported Get Command Constant
      */
     public final static int SCHEDULE_ENTRY_TYPE_SUPPORTED_GET = 0x09;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_TYPE_SUPPORTED_GET command
+     */
+    public final static int SCHEDULE_ENTRY_TYPE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Schedule Entry Type Supported Report Command Constant
      */
     public final static int SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT = 0x0A;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT command
+     */
+    public final static int SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT_LENGTH = 4;
     /**
      * Schedule Entry Lock Time Offset Get Command Constant
      */
     public final static int SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET = 0x0B;
+    /**
+     * Length of the encoded SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET command
+     */
+    public final static int SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET_LENGTH = 2;
     /**
      * Schedule Entry Lock Time Offset Report Command Constant
      */
@@ -99,11 +129,21 @@ public class CommandClassScheduleEntryLockV2 {
      */
     private static Map<Integer, String> constantScheduleEntryLockYearDaySetSetAction = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ScheduleEntryLockYearDaySetSetAction, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseScheduleEntryLockYearDaySetSetAction = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ScheduleEntryLockEnableSetEnabled
      */
     private static Map<Integer, String> constantScheduleEntryLockEnableSetEnabled = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ScheduleEntryLockEnableSetEnabled, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseScheduleEntryLockEnableSetEnabled = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ScheduleEntryLockTimeOffsetSetLevel2
      */
@@ -119,6 +159,11 @@ public class CommandClassScheduleEntryLockV2 {
      */
     private static Map<Integer, String> constantScheduleEntryLockWeekDaySetSetAction = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ScheduleEntryLockWeekDaySetSetAction, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseScheduleEntryLockWeekDaySetSetAction = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ScheduleEntryLockTimeOffsetSetLevel
      */
@@ -129,6 +174,11 @@ public class CommandClassScheduleEntryLockV2 {
      */
     private static Map<Integer, String> constantScheduleEntryLockEnableAllSetEnabled = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ScheduleEntryLockEnableAllSetEnabled, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseScheduleEntryLockEnableAllSetEnabled = new HashMap<String, Integer>();
+
     static {
         // Constants for ScheduleEntryLockTimeOffsetReportLevel2
         constantScheduleEntryLockTimeOffsetReportLevel2.put(0x80, "SIGN_OFFSET_DST");
@@ -157,6 +207,22 @@ public class CommandClassScheduleEntryLockV2 {
         // Constants for ScheduleEntryLockEnableAllSetEnabled
         constantScheduleEntryLockEnableAllSetEnabled.put(0x00, "DISABLED");
         constantScheduleEntryLockEnableAllSetEnabled.put(0x01, "ENABLED");
+
+        // Reverse constants for ScheduleEntryLockYearDaySetSetAction
+        reverseScheduleEntryLockYearDaySetSetAction.put("ERASE", 0x00);
+        reverseScheduleEntryLockYearDaySetSetAction.put("MODIFY", 0x01);
+
+        // Reverse constants for ScheduleEntryLockEnableSetEnabled
+        reverseScheduleEntryLockEnableSetEnabled.put("DISABLED", 0x00);
+        reverseScheduleEntryLockEnableSetEnabled.put("ENABLED", 0x01);
+
+        // Reverse constants for ScheduleEntryLockWeekDaySetSetAction
+        reverseScheduleEntryLockWeekDaySetSetAction.put("ERASE", 0x00);
+        reverseScheduleEntryLockWeekDaySetSetAction.put("MODIFY", 0x01);
+
+        // Reverse constants for ScheduleEntryLockEnableAllSetEnabled
+        reverseScheduleEntryLockEnableAllSetEnabled.put("DISABLED", 0x00);
+        reverseScheduleEntryLockEnableAllSetEnabled.put("ENABLED", 0x01);
     }
 
     /**
@@ -175,29 +241,46 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryLockEnableSet(Integer userIdentifier, String enabled) {
-        logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_ENABLE_SET version 2");
+        byte[] outputData = new byte[SCHEDULE_ENTRY_LOCK_ENABLE_SET_LENGTH];
+        getScheduleEntryLockEnableSet(ByteBuffer.wrap(outputData), userIdentifier, enabled);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_LOCK_ENABLE_SET);
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_LOCK_ENABLE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_LOCK_ENABLE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param userIdentifier {@link Integer}
+     * @param enabled {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>DISABLED
+     *            <li>ENABLED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_LOCK_ENABLE_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getScheduleEntryLockEnableSet(ByteBuffer buffer, Integer userIdentifier, String enabled) {
+        logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_ENABLE_SET version 2");
 
-        // Process 'User Identifier'
-        outputData.write(userIdentifier);
+        if (buffer.remaining() < SCHEDULE_ENTRY_LOCK_ENABLE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Enabled'
-        boolean foundEnabled = false;
-        for (Integer entry : constantScheduleEntryLockEnableSetEnabled.keySet()) {
-            if (constantScheduleEntryLockEnableSetEnabled.get(entry).equals(enabled)) {
-                outputData.write(entry);
-                foundEnabled = true;
-                break;
-            }
-        }
-        if (!foundEnabled) {
+        Integer varEnabled = reverseScheduleEntryLockEnableSetEnabled.get(enabled);
+        if (varEnabled == null) {
             throw new IllegalArgumentException("Unknown constant value '" + enabled + "' for enabled");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_LOCK_ENABLE_SET);
+        buffer.put(userIdentifier.byteValue());
+        buffer.put(varEnabled.byteValue());
     }
 
     /**
@@ -250,26 +333,45 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryLockEnableAllSet(String enabled) {
+        byte[] outputData = new byte[SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET_LENGTH];
+        getScheduleEntryLockEnableAllSet(ByteBuffer.wrap(outputData), enabled);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param enabled {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>DISABLED
+     *            <li>ENABLED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getScheduleEntryLockEnableAllSet(ByteBuffer buffer, String enabled) {
         logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET);
+        if (buffer.remaining() < SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Enabled'
-        boolean foundEnabled = false;
-        for (Integer entry : constantScheduleEntryLockEnableAllSetEnabled.keySet()) {
-            if (constantScheduleEntryLockEnableAllSetEnabled.get(entry).equals(enabled)) {
-                outputData.write(entry);
-                foundEnabled = true;
-                break;
-            }
-        }
-        if (!foundEnabled) {
+        Integer varEnabled = reverseScheduleEntryLockEnableAllSetEnabled.get(enabled);
+        if (varEnabled == null) {
             throw new IllegalArgumentException("Unknown constant value '" + enabled + "' for enabled");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_LOCK_ENABLE_ALL_SET);
+        buffer.put(varEnabled.byteValue());
     }
 
     /**
@@ -333,17 +435,11 @@ public class CommandClassScheduleEntryLockV2 {
         outputData.write(SCHEDULE_ENTRY_LOCK_WEEK_DAY_SET);
 
         // Process 'Set Action'
-        boolean foundSetAction = false;
-        for (Integer entry : constantScheduleEntryLockWeekDaySetSetAction.keySet()) {
-            if (constantScheduleEntryLockWeekDaySetSetAction.get(entry).equals(setAction)) {
-                outputData.write(entry);
-                foundSetAction = true;
-                break;
-            }
-        }
-        if (!foundSetAction) {
+        Integer varSetAction = reverseScheduleEntryLockWeekDaySetSetAction.get(setAction);
+        if (varSetAction == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setAction + "' for setAction");
         }
+        outputData.write(varSetAction);
 
         // Process 'User Identifier'
         outputData.write(userIdentifier);
@@ -438,19 +534,35 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryLockWeekDayGet(Integer userIdentifier, Integer scheduleSlotId) {
-        logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET);
+        byte[] outputData = new byte[SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET_LENGTH];
+        getScheduleEntryLockWeekDayGet(ByteBuffer.wrap(outputData), userIdentifier, scheduleSlotId);
+        return outputData;
+    }
 
-        // Process 'User Identifier'
-        outputData.write(userIdentifier);
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param userIdentifier {@link Integer}
+     * @param scheduleSlotId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getScheduleEntryLockWeekDayGet(ByteBuffer buffer, Integer userIdentifier,
+            Integer scheduleSlotId) {
+        logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET version 2");
 
-        // Process 'Schedule Slot ID'
-        outputData.write(scheduleSlotId);
+        if (buffer.remaining() < SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_LOCK_WEEK_DAY_GET);
+        buffer.put(userIdentifier.byteValue());
+        buffer.put(scheduleSlotId.byteValue());
     }
 
     /**
@@ -613,17 +725,11 @@ public class CommandClassScheduleEntryLockV2 {
         outputData.write(SCHEDULE_ENTRY_LOCK_YEAR_DAY_SET);
 
         // Process 'Set Action'
-        boolean foundSetAction = false;
-        for (Integer entry : constantScheduleEntryLockYearDaySetSetAction.keySet()) {
-            if (constantScheduleEntryLockYearDaySetSetAction.get(entry).equals(setAction)) {
-                outputData.write(entry);
-                foundSetAction = true;
-                break;
-            }
-        }
-        if (!foundSetAction) {
+        Integer varSetAction = reverseScheduleEntryLockYearDaySetSetAction.get(setAction);
+        if (varSetAction == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setAction + "' for setAction");
         }
+        outputData.write(varSetAction);
 
         // Process 'User Identifier'
         outputData.write(userIdentifier);
@@ -753,19 +859,35 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryLockYearDayGet(Integer userIdentifier, Integer scheduleSlotId) {
-        logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET);
+        byte[] outputData = new byte[SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET_LENGTH];
+        getScheduleEntryLockYearDayGet(ByteBuffer.wrap(outputData), userIdentifier, scheduleSlotId);
+        return outputData;
+    }
 
-        // Process 'User Identifier'
-        outputData.write(userIdentifier);
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param userIdentifier {@link Integer}
+     * @param scheduleSlotId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getScheduleEntryLockYearDayGet(ByteBuffer buffer, Integer userIdentifier,
+            Integer scheduleSlotId) {
+        logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET version 2");
 
-        // Process 'Schedule Slot ID'
-        outputData.write(scheduleSlotId);
+        if (buffer.remaining() < SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_LOCK_YEAR_DAY_GET);
+        buffer.put(userIdentifier.byteValue());
+        buffer.put(scheduleSlotId.byteValue());
     }
 
     /**
@@ -941,13 +1063,31 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryTypeSupportedGet() {
+        byte[] outputData = new byte[SCHEDULE_ENTRY_TYPE_SUPPORTED_GET_LENGTH];
+        getScheduleEntryTypeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_TYPE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_TYPE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_TYPE_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getScheduleEntryTypeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCHEDULE_ENTRY_TYPE_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_TYPE_SUPPORTED_GET);
+        if (buffer.remaining() < SCHEDULE_ENTRY_TYPE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_TYPE_SUPPORTED_GET);
     }
 
     /**
@@ -976,19 +1116,36 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryTypeSupportedReport(Integer numberOfSlotsWeekDay, Integer numberOfSlotsYearDay) {
-        logger.debug("Creating command message SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT);
+        byte[] outputData = new byte[SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT_LENGTH];
+        getScheduleEntryTypeSupportedReport(ByteBuffer.wrap(outputData), numberOfSlotsWeekDay, numberOfSlotsYearDay);
+        return outputData;
+    }
 
-        // Process 'Number of Slots Week Day'
-        outputData.write(numberOfSlotsWeekDay);
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param numberOfSlotsWeekDay {@link Integer}
+     * @param numberOfSlotsYearDay {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getScheduleEntryTypeSupportedReport(ByteBuffer buffer, Integer numberOfSlotsWeekDay,
+            Integer numberOfSlotsYearDay) {
+        logger.debug("Creating command message SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT version 2");
 
-        // Process 'Number of Slots Year Day'
-        outputData.write(numberOfSlotsYearDay);
+        if (buffer.remaining() < SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_TYPE_SUPPORTED_REPORT);
+        buffer.put(numberOfSlotsWeekDay.byteValue());
+        buffer.put(numberOfSlotsYearDay.byteValue());
     }
 
     /**
@@ -1028,13 +1185,31 @@ public class CommandClassScheduleEntryLockV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleEntryLockTimeOffsetGet() {
+        byte[] outputData = new byte[SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET_LENGTH];
+        getScheduleEntryLockTimeOffsetGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getScheduleEntryLockTimeOffsetGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET);
+        if (buffer.remaining() < SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_ENTRY_LOCK_TIME_OFFSET_GET);
     }
 
     /**
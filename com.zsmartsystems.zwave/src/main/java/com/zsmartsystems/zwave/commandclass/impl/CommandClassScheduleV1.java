@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassScheduleV1 {
      * Schedule Support Get Command Constant
      */
     public final static int SCHEDULE_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded SCHEDULE_SUPPORTED_GET command
+     */
+    public final static int SCHEDULE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Schedule Support Report Command Constant
      */
@@ -54,6 +60,10 @@ public class CommandClassScheduleV1 {
      * Schedule Get Command Constant
      */
     public final static int COMMAND_SCHEDULE_GET = 0x04;
+    /**
+     * Length of the encoded COMMAND_SCHEDULE_GET command
+     */
+    public final static int COMMAND_SCHEDULE_GET_LENGTH = 3;
     /**
      * Schedule Report Command Constant
      */
@@ -62,14 +72,26 @@ public class CommandClassScheduleV1 {
      * Schedule Remove Command Constant
      */
     public final static int SCHEDULE_REMOVE = 0x06;
+    /**
+     * Length of the encoded SCHEDULE_REMOVE command
+     */
+    public final static int SCHEDULE_REMOVE_LENGTH = 3;
     /**
      * Schedule State Set Command Constant
      */
     public final static int SCHEDULE_STATE_SET = 0x07;
+    /**
+     * Length of the encoded SCHEDULE_STATE_SET command
+     */
+    public final static int SCHEDULE_STATE_SET_LENGTH = 4;
     /**
      * Schedule State Get Command Constant
      */
     public final static int SCHEDULE_STATE_GET = 0x08;
+    /**
+     * Length of the encoded SCHEDULE_STATE_GET command
+     */
+    public final static int SCHEDULE_STATE_GET_LENGTH = 2;
     /**
      * Schedule State Report Command Constant
      */
@@ -126,13 +148,29 @@ public class CommandClassScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleSupportedGet() {
+        byte[] outputData = new byte[SCHEDULE_SUPPORTED_GET_LENGTH];
+        getScheduleSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCHEDULE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_SUPPORTED_GET);
+        if (buffer.remaining() < SCHEDULE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_SUPPORTED_GET);
     }
 
     /**
@@ -462,16 +500,31 @@ public class CommandClassScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandScheduleGet(Integer scheduleId) {
-        logger.debug("Creating command message COMMAND_SCHEDULE_GET version 1");
+        byte[] outputData = new byte[COMMAND_SCHEDULE_GET_LENGTH];
+        getCommandScheduleGet(ByteBuffer.wrap(outputData), scheduleId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_SCHEDULE_GET);
+    /**
+     * Writes a new message with the COMMAND_SCHEDULE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_SCHEDULE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_SCHEDULE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getCommandScheduleGet(ByteBuffer buffer, Integer scheduleId) {
+        logger.debug("Creating command message COMMAND_SCHEDULE_GET version 1");
 
-        // Process 'Schedule ID'
-        outputData.write(scheduleId);
+        if (buffer.remaining() < COMMAND_SCHEDULE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_SCHEDULE_GET);
+        buffer.put(scheduleId.byteValue());
     }
 
     /**
@@ -700,16 +753,31 @@ public class CommandClassScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleRemove(Integer scheduleId) {
-        logger.debug("Creating command message SCHEDULE_REMOVE version 1");
+        byte[] outputData = new byte[SCHEDULE_REMOVE_LENGTH];
+        getScheduleRemove(ByteBuffer.wrap(outputData), scheduleId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_REMOVE);
+    /**
+     * Writes a new message with the SCHEDULE_REMOVE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_REMOVE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_REMOVE_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleRemove(ByteBuffer buffer, Integer scheduleId) {
+        logger.debug("Creating command message SCHEDULE_REMOVE version 1");
 
-        // Process 'Schedule ID'
-        outputData.write(scheduleId);
+        if (buffer.remaining() < SCHEDULE_REMOVE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_REMOVE);
+        buffer.put(scheduleId.byteValue());
     }
 
     /**
@@ -747,19 +815,33 @@ public class CommandClassScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleStateSet(Integer scheduleId, Integer scheduleState) {
-        logger.debug("Creating command message SCHEDULE_STATE_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_STATE_SET);
+        byte[] outputData = new byte[SCHEDULE_STATE_SET_LENGTH];
+        getScheduleStateSet(ByteBuffer.wrap(outputData), scheduleId, scheduleState);
+        return outputData;
+    }
 
-        // Process 'Schedule ID'
-        outputData.write(scheduleId);
+    /**
+     * Writes a new message with the SCHEDULE_STATE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_STATE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleId {@link Integer}
+     * @param scheduleState {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_STATE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleStateSet(ByteBuffer buffer, Integer scheduleId, Integer scheduleState) {
+        logger.debug("Creating command message SCHEDULE_STATE_SET version 1");
 
-        // Process 'Schedule State'
-        outputData.write(scheduleState);
+        if (buffer.remaining() < SCHEDULE_STATE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_STATE_SET);
+        buffer.put(scheduleId.byteValue());
+        buffer.put(scheduleState.byteValue());
     }
 
     /**
@@ -799,13 +881,29 @@ public class CommandClassScheduleV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleStateGet() {
+        byte[] outputData = new byte[SCHEDULE_STATE_GET_LENGTH];
+        getScheduleStateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCHEDULE_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_STATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleStateGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCHEDULE_STATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_STATE_GET);
+        if (buffer.remaining() < SCHEDULE_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_STATE_GET);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassScheduleV3 {
      * Schedule Support Get Command Constant
      */
     public final static int SCHEDULE_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded SCHEDULE_SUPPORTED_GET command
+     */
+    public final static int SCHEDULE_SUPPORTED_GET_LENGTH = 3;
     /**
      * Schedule Support Report Command Constant
      */
@@ -54,6 +60,10 @@ public class CommandClassScheduleV3 {
      * Schedule Get Command Constant
      */
     public final static int COMMAND_SCHEDULE_GET = 0x04;
+    /**
+     * Length of the encoded COMMAND_SCHEDULE_GET command
+     */
+    public final static int COMMAND_SCHEDULE_GET_LENGTH = 5;
     /**
      * Schedule Report Command Constant
      */
@@ -62,14 +72,26 @@ public class CommandClassScheduleV3 {
      * Schedule Remove Command Constant
      */
     public final static int SCHEDULE_REMOVE = 0x06;
+    /**
+     * Length of the encoded SCHEDULE_REMOVE command
+     */
+    public final static int SCHEDULE_REMOVE_LENGTH = 4;
     /**
      * Schedule State Set Command Constant
      */
     public final static int SCHEDULE_STATE_SET = 0x07;
+    /**
+     * Length of the encoded SCHEDULE_STATE_SET command
+     */
+    public final static int SCHEDULE_STATE_SET_LENGTH = 5;
     /**
      * Schedule State Get Command Constant
      */
     public final static int SCHEDULE_STATE_GET = 0x08;
+    /**
+     * Length of the encoded SCHEDULE_STATE_GET command
+     */
+    public final static int SCHEDULE_STATE_GET_LENGTH = 3;
     /**
      * Schedule State Report Command Constant
      */
@@ -90,11 +112,21 @@ public class CommandClassScheduleV3 {
      */
     private static Map<Integer, String> constantCommandScheduleSetRecurrenceMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for CommandScheduleSetRecurrenceMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseCommandScheduleSetRecurrenceMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for CommandScheduleReportRecurrenceMode
      */
     private static Map<Integer, String> constantCommandScheduleReportRecurrenceMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for CommandScheduleReportRecurrenceMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseCommandScheduleReportRecurrenceMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for CommandScheduleGetProperties1
      */
@@ -152,6 +184,16 @@ public class CommandClassScheduleV3 {
 
         // Constants for CommandScheduleReportProperties2
         constantCommandScheduleReportProperties2.put(0x80, "AID_RO_CTL");
+
+        // Reverse constants for CommandScheduleSetRecurrenceMode
+        reverseCommandScheduleSetRecurrenceMode.put("REPEAT_EVERY_N_HOURS", 0x00);
+        reverseCommandScheduleSetRecurrenceMode.put("REPEAT_EVERY_N_DAYS", 0x01);
+        reverseCommandScheduleSetRecurrenceMode.put("REPEAT_EVERY_N_WEEKS", 0x02);
+
+        // Reverse constants for CommandScheduleReportRecurrenceMode
+        reverseCommandScheduleReportRecurrenceMode.put("REPEAT_EVERY_N_HOURS", 0x00);
+        reverseCommandScheduleReportRecurrenceMode.put("REPEAT_EVERY_N_DAYS", 0x01);
+        reverseCommandScheduleReportRecurrenceMode.put("REPEAT_EVERY_N_WEEKS", 0x02);
     }
 
     /**
@@ -163,16 +205,31 @@ public class CommandClassScheduleV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleSupportedGet(Integer scheduleIdBlock) {
-        logger.debug("Creating command message SCHEDULE_SUPPORTED_GET version 3");
+        byte[] outputData = new byte[SCHEDULE_SUPPORTED_GET_LENGTH];
+        getScheduleSupportedGet(ByteBuffer.wrap(outputData), scheduleIdBlock);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_SUPPORTED_GET);
+    /**
+     * Writes a new message with the SCHEDULE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleIdBlock {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_SUPPORTED_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleSupportedGet(ByteBuffer buffer, Integer scheduleIdBlock) {
+        logger.debug("Creating command message SCHEDULE_SUPPORTED_GET version 3");
 
-        // Process 'Schedule ID Block'
-        outputData.write(scheduleIdBlock);
+        if (buffer.remaining() < SCHEDULE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_SUPPORTED_GET);
+        buffer.put(scheduleIdBlock.byteValue());
     }
 
     /**
@@ -390,14 +447,8 @@ public class CommandClassScheduleV3 {
         // Process 'Properties2'
         int valProperties2 = 0;
         valProperties2 |= startDayOfMonth & 0x1F;
-        int varRecurrenceMode = Integer.MAX_VALUE;
-        for (Integer entry : constantCommandScheduleSetRecurrenceMode.keySet()) {
-            if (constantCommandScheduleSetRecurrenceMode.get(entry).equals(recurrenceMode)) {
-                varRecurrenceMode = entry;
-                break;
-            }
-        }
-        if (varRecurrenceMode == Integer.MAX_VALUE) {
+        Integer varRecurrenceMode = reverseCommandScheduleSetRecurrenceMode.get(recurrenceMode);
+        if (varRecurrenceMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + recurrenceMode + "' for recurrenceMode");
         }
         valProperties2 |= varRecurrenceMode << 5 & 0x60;
@@ -566,22 +617,36 @@ public class CommandClassScheduleV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandScheduleGet(Integer scheduleId, Integer scheduleIdBlock, Boolean aidRoCtl) {
-        logger.debug("Creating command message COMMAND_SCHEDULE_GET version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_SCHEDULE_GET);
-
-        // Process 'Schedule ID'
-        outputData.write(scheduleId);
+        byte[] outputData = new byte[COMMAND_SCHEDULE_GET_LENGTH];
+        getCommandScheduleGet(ByteBuffer.wrap(outputData), scheduleId, scheduleIdBlock, aidRoCtl);
+        return outputData;
+    }
 
-        // Process 'Schedule ID Block'
-        outputData.write(scheduleIdBlock);
+    /**
+     * Writes a new message with the COMMAND_SCHEDULE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_SCHEDULE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleId {@link Integer}
+     * @param scheduleIdBlock {@link Integer}
+     * @param aidRoCtl {@link Boolean}
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_SCHEDULE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getCommandScheduleGet(ByteBuffer buffer, Integer scheduleId, Integer scheduleIdBlock,
+            Boolean aidRoCtl) {
+        logger.debug("Creating command message COMMAND_SCHEDULE_GET version 3");
 
-        // Process 'Properties1'
-        outputData.write(aidRoCtl ? 0x80 : 0);
+        if (buffer.remaining() < COMMAND_SCHEDULE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_SCHEDULE_GET);
+        buffer.put(scheduleId.byteValue());
+        buffer.put(scheduleIdBlock.byteValue());
+        buffer.put((byte) (aidRoCtl ? 0x80 : 0));
     }
 
     /**
@@ -675,14 +740,8 @@ public class CommandClassScheduleV3 {
         // Process 'Properties2'
         int valProperties2 = 0;
         valProperties2 |= startDayOfMonth & 0x1F;
-        int varRecurrenceMode = Integer.MAX_VALUE;
-        for (Integer entry : constantCommandScheduleReportRecurrenceMode.keySet()) {
-            if (constantCommandScheduleReportRecurrenceMode.get(entry).equals(recurrenceMode)) {
-                varRecurrenceMode = entry;
-                break;
-            }
-        }
-        if (varRecurrenceMode == Integer.MAX_VALUE) {
+        Integer varRecurrenceMode = reverseCommandScheduleReportRecurrenceMode.get(recurrenceMode);
+        if (varRecurrenceMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + recurrenceMode + "' for recurrenceMode");
         }
         valProperties2 |= varRecurrenceMode << 5 & 0x60;
@@ -853,19 +912,33 @@ public class CommandClassScheduleV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleRemove(Integer scheduleId, Integer scheduleIdBlock) {
-        logger.debug("Creating command message SCHEDULE_REMOVE version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_REMOVE);
+        byte[] outputData = new byte[SCHEDULE_REMOVE_LENGTH];
+        getScheduleRemove(ByteBuffer.wrap(outputData), scheduleId, scheduleIdBlock);
+        return outputData;
+    }
 
-        // Process 'Schedule ID'
-        outputData.write(scheduleId);
+    /**
+     * Writes a new message with the SCHEDULE_REMOVE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_REMOVE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleId {@link Integer}
+     * @param scheduleIdBlock {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_REMOVE_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleRemove(ByteBuffer buffer, Integer scheduleId, Integer scheduleIdBlock) {
+        logger.debug("Creating command message SCHEDULE_REMOVE version 3");
 
-        // Process 'Schedule ID Block'
-        outputData.write(scheduleIdBlock);
+        if (buffer.remaining() < SCHEDULE_REMOVE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_REMOVE);
+        buffer.put(scheduleId.byteValue());
+        buffer.put(scheduleIdBlock.byteValue());
     }
 
     /**
@@ -908,22 +981,36 @@ public class CommandClassScheduleV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleStateSet(Integer scheduleId, Integer scheduleState, Integer scheduleIdBlock) {
-        logger.debug("Creating command message SCHEDULE_STATE_SET version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_STATE_SET);
-
-        // Process 'Schedule ID'
-        outputData.write(scheduleId);
+        byte[] outputData = new byte[SCHEDULE_STATE_SET_LENGTH];
+        getScheduleStateSet(ByteBuffer.wrap(outputData), scheduleId, scheduleState, scheduleIdBlock);
+        return outputData;
+    }
 
-        // Process 'Schedule State'
-        outputData.write(scheduleState);
+    /**
+     * Writes a new message with the SCHEDULE_STATE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_STATE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleId {@link Integer}
+     * @param scheduleState {@link Integer}
+     * @param scheduleIdBlock {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_STATE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleStateSet(ByteBuffer buffer, Integer scheduleId, Integer scheduleState,
+            Integer scheduleIdBlock) {
+        logger.debug("Creating command message SCHEDULE_STATE_SET version 3");
 
-        // Process 'Schedule ID Block'
-        outputData.write(scheduleIdBlock);
+        if (buffer.remaining() < SCHEDULE_STATE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_STATE_SET);
+        buffer.put(scheduleId.byteValue());
+        buffer.put(scheduleState.byteValue());
+        buffer.put(scheduleIdBlock.byteValue());
     }
 
     /**
@@ -968,16 +1055,31 @@ public class CommandClassScheduleV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScheduleStateGet(Integer scheduleIdBlock) {
-        logger.debug("Creating command message SCHEDULE_STATE_GET version 3");
+        byte[] outputData = new byte[SCHEDULE_STATE_GET_LENGTH];
+        getScheduleStateGet(ByteBuffer.wrap(outputData), scheduleIdBlock);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCHEDULE_STATE_GET);
+    /**
+     * Writes a new message with the SCHEDULE_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCHEDULE_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param scheduleIdBlock {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SCHEDULE_STATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScheduleStateGet(ByteBuffer buffer, Integer scheduleIdBlock) {
+        logger.debug("Creating command message SCHEDULE_STATE_GET version 3");
 
-        // Process 'Schedule ID Block'
-        outputData.write(scheduleIdBlock);
+        if (buffer.remaining() < SCHEDULE_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCHEDULE_STATE_GET);
+        buffer.put(scheduleIdBlock.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassScreenAttributesV1 {
      * Screen Attributes Get Command Constant
      */
     public final static int SCREEN_ATTRIBUTES_GET = 0x01;
+    /**
+     * Length of the encoded SCREEN_ATTRIBUTES_GET command
+     */
+    public final static int SCREEN_ATTRIBUTES_GET_LENGTH = 2;
     /**
      * Screen Attributes Report Command Constant
      */
@@ -54,13 +60,29 @@ public class CommandClassScreenAttributesV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getScreenAttributesGet() {
+        byte[] outputData = new byte[SCREEN_ATTRIBUTES_GET_LENGTH];
+        getScreenAttributesGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SCREEN_ATTRIBUTES_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SCREEN_ATTRIBUTES_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SCREEN_ATTRIBUTES_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getScreenAttributesGet(ByteBuffer buffer) {
         logger.debug("Creating command message SCREEN_ATTRIBUTES_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SCREEN_ATTRIBUTES_GET);
+        if (buffer.remaining() < SCREEN_ATTRIBUTES_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SCREEN_ATTRIBUTES_GET);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.ArrayList;
@@ -44,6 +46,10 @@ public class CommandClassSecurity2V1 {
      * S2 Nonce Get Command Constant
      */
     public final static int SECURITY_2_NONCE_GET = 0x01;
+    /**
+     * Length of the encoded SECURITY_2_NONCE_GET command
+     */
+    public final static int SECURITY_2_NONCE_GET_LENGTH = 3;
     /**
      * S2 Nonce Report Command Constant
      */
@@ -56,6 +62,10 @@ public class CommandClassSecurity2V1 {
      * KEX Get Command Constant
      */
     public final static int KEX_GET = 0x04;
+    /**
+     * Length of the encoded KEX_GET command
+     */
+    public final static int KEX_GET_LENGTH = 2;
     /**
      * KEX Report Command Constant
      */
@@ -68,6 +78,10 @@ public class CommandClassSecurity2V1 {
      * KEX Fail Command Constant
      */
     public final static int KEX_FAIL = 0x07;
+    /**
+     * Length of the encoded KEX_FAIL command
+     */
+    public final static int KEX_FAIL_LENGTH = 3;
     /**
      * Public Key Report Command Constant
      */
@@ -76,6 +90,10 @@ public class CommandClassSecurity2V1 {
      * S2 Network Key Get Command Constant
      */
     public final static int SECURITY_2_NETWORK_KEY_GET = 0x09;
+    /**
+     * Length of the encoded SECURITY_2_NETWORK_KEY_GET command
+     */
+    public final static int SECURITY_2_NETWORK_KEY_GET_LENGTH = 3;
     /**
      * S2 Network Key Report Command Constant
      */
@@ -84,6 +102,10 @@ public class CommandClassSecurity2V1 {
      * S2 Network Key Verify Command Constant
      */
     public final static int SECURITY_2_NETWORK_KEY_VERIFY = 0x0B;
+    /**
+     * Length of the encoded SECURITY_2_NETWORK_KEY_VERIFY command
+     */
+    public final static int SECURITY_2_NETWORK_KEY_VERIFY_LENGTH = 2;
     /**
      * S2 Transfer End Command Constant
      */
@@ -92,6 +114,10 @@ public class CommandClassSecurity2V1 {
      * S2 Commands Supported Get Command Constant
      */
     public final static int SECURITY_2_COMMANDS_SUPPORTED_GET = 0x0D;
+    /**
+     * Length of the encoded SECURITY_2_COMMANDS_SUPPORTED_GET command
+     */
+    public final static int SECURITY_2_COMMANDS_SUPPORTED_GET_LENGTH = 2;
     /**
      * S2 Commands Supported Report Command Constant
      */
@@ -100,10 +126,18 @@ public class CommandClassSecurity2V1 {
      * S2 Capabilities Get Command Constant
      */
     public final static int SECURITY_2_CAPABILITIES_GET = 0x0F;
+    /**
+     * Length of the encoded SECURITY_2_CAPABILITIES_GET command
+     */
+    public final static int SECURITY_2_CAPABILITIES_GET_LENGTH = 2;
     /**
      * S2 Capabilities Report Command Constant
      */
     public final static int SECURITY_2_CAPABILITIES_REPORT = 0x10;
+    /**
+     * Length of the encoded SECURITY_2_CAPABILITIES_REPORT command
+     */
+    public final static int SECURITY_2_CAPABILITIES_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for Security2TransferEndProperties1
@@ -115,6 +149,11 @@ public class CommandClassSecurity2V1 {
      */
     private static Map<Integer, String> constantKexSetGrantedKeys = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for KexSetGrantedKeys, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseKexSetGrantedKeys = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for PublicKeyReportProperties1
      */
@@ -125,16 +164,31 @@ public class CommandClassSecurity2V1 {
      */
     private static Map<Integer, String> constantKexReportRequestedKeys = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for KexReportRequestedKeys, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseKexReportRequestedKeys = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for Security2NetworkKeyGetRequestedKey
      */
     private static Map<Integer, String> constantSecurity2NetworkKeyGetRequestedKey = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for Security2NetworkKeyGetRequestedKey, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSecurity2NetworkKeyGetRequestedKey = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for Security2NetworkKeyReportGrantedKey
      */
     private static Map<Integer, String> constantSecurity2NetworkKeyReportGrantedKey = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for Security2NetworkKeyReportGrantedKey, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSecurity2NetworkKeyReportGrantedKey = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for KexSetProperties1
      */
@@ -150,6 +204,11 @@ public class CommandClassSecurity2V1 {
      */
     private static Map<Integer, String> constantKexFailKexFailType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for KexFailKexFailType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseKexFailKexFailType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for Security2MessageEncapsulationProperties1
      */
@@ -218,6 +277,41 @@ public class CommandClassSecurity2V1 {
         // Constants for Security2NonceReportProperties1
         constantSecurity2NonceReportProperties1.put(0x01, "SOS");
         constantSecurity2NonceReportProperties1.put(0x02, "MOS");
+
+        // Reverse constants for KexSetGrantedKeys
+        reverseKexSetGrantedKeys.put("UNAUTHENTICATED", 0x00);
+        reverseKexSetGrantedKeys.put("AUTHENTICATED", 0x01);
+        reverseKexSetGrantedKeys.put("ACCESS", 0x02);
+        reverseKexSetGrantedKeys.put("S0", 0x07);
+
+        // Reverse constants for KexReportRequestedKeys
+        reverseKexReportRequestedKeys.put("UNAUTHENTICATED", 0x00);
+        reverseKexReportRequestedKeys.put("AUTHENTICATED", 0x01);
+        reverseKexReportRequestedKeys.put("ACCESS", 0x02);
+        reverseKexReportRequestedKeys.put("S0", 0x07);
+
+        // Reverse constants for Security2NetworkKeyGetRequestedKey
+        reverseSecurity2NetworkKeyGetRequestedKey.put("UNAUTHENTICATED", 0x00);
+        reverseSecurity2NetworkKeyGetRequestedKey.put("AUTHENTICATED", 0x01);
+        reverseSecurity2NetworkKeyGetRequestedKey.put("ACCESS", 0x02);
+        reverseSecurity2NetworkKeyGetRequestedKey.put("S0", 0x07);
+
+        // Reverse constants for Security2NetworkKeyReportGrantedKey
+        reverseSecurity2NetworkKeyReportGrantedKey.put("UNAUTHENTICATED", 0x00);
+        reverseSecurity2NetworkKeyReportGrantedKey.put("AUTHENTICATED", 0x01);
+        reverseSecurity2NetworkKeyReportGrantedKey.put("ACCESS", 0x02);
+        reverseSecurity2NetworkKeyReportGrantedKey.put("S0", 0x07);
+
+        // Reverse constants for KexFailKexFailType
+        reverseKexFailKexFailType.put("KEX_KEY", 0x01);
+        reverseKexFailKexFailType.put("KEX_SCHEME", 0x02);
+        reverseKexFailKexFailType.put("KEX_CURVES", 0x03);
+        reverseKexFailKexFailType.put("DECRYPT", 0x05);
+        reverseKexFailKexFailType.put("CANCEL", 0x06);
+        reverseKexFailKexFailType.put("AUTH", 0x07);
+        reverseKexFailKexFailType.put("KEY_GET", 0x08);
+        reverseKexFailKexFailType.put("KEY_VERIFY", 0x09);
+        reverseKexFailKexFailType.put("KEY_REPORT", 0x0A);
     }
 
     /**
@@ -229,16 +323,31 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurity2NonceGet(Integer sequenceNumber) {
-        logger.debug("Creating command message SECURITY_2_NONCE_GET version 1");
+        byte[] outputData = new byte[SECURITY_2_NONCE_GET_LENGTH];
+        getSecurity2NonceGet(ByteBuffer.wrap(outputData), sequenceNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_2_NONCE_GET);
+    /**
+     * Writes a new message with the SECURITY_2_NONCE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_2_NONCE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sequenceNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_2_NONCE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecurity2NonceGet(ByteBuffer buffer, Integer sequenceNumber) {
+        logger.debug("Creating command message SECURITY_2_NONCE_GET version 1");
 
-        // Process 'Sequence Number'
-        outputData.write(sequenceNumber);
+        if (buffer.remaining() < SECURITY_2_NONCE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_2_NONCE_GET);
+        buffer.put(sequenceNumber.byteValue());
     }
 
     /**
@@ -471,13 +580,29 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getKexGet() {
+        byte[] outputData = new byte[KEX_GET_LENGTH];
+        getKexGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the KEX_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #KEX_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #KEX_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getKexGet(ByteBuffer buffer) {
         logger.debug("Creating command message KEX_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(KEX_GET);
+        if (buffer.remaining() < KEX_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) KEX_GET);
     }
 
     /**
@@ -539,17 +664,11 @@ public class CommandClassSecurity2V1 {
         // Process 'Requested Keys'
         int valRequestedKeys = 0;
         for (String value : requestedKeys) {
-            boolean foundRequestedKeys = false;
-            for (Integer entry : constantKexReportRequestedKeys.keySet()) {
-                if (constantKexReportRequestedKeys.get(entry).equals(value)) {
-                    foundRequestedKeys = true;
-                    valRequestedKeys += entry;
-                    break;
-                }
-            }
-            if (!foundRequestedKeys) {
+            Integer varRequestedKeys = reverseKexReportRequestedKeys.get(value);
+            if (varRequestedKeys == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + requestedKeys + "' for requestedKeys");
             }
+            valRequestedKeys += varRequestedKeys;
         }
         outputData.write(valRequestedKeys);
 
@@ -654,17 +773,11 @@ public class CommandClassSecurity2V1 {
         // Process 'Granted Keys'
         int valGrantedKeys = 0;
         for (String value : grantedKeys) {
-            boolean foundGrantedKeys = false;
-            for (Integer entry : constantKexSetGrantedKeys.keySet()) {
-                if (constantKexSetGrantedKeys.get(entry).equals(value)) {
-                    foundGrantedKeys = true;
-                    valGrantedKeys += entry;
-                    break;
-                }
-            }
-            if (!foundGrantedKeys) {
+            Integer varGrantedKeys = reverseKexSetGrantedKeys.get(value);
+            if (varGrantedKeys == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + grantedKeys + "' for grantedKeys");
             }
+            valGrantedKeys += varGrantedKeys;
         }
         outputData.write(valGrantedKeys);
 
@@ -748,26 +861,50 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getKexFail(String kexFailType) {
+        byte[] outputData = new byte[KEX_FAIL_LENGTH];
+        getKexFail(ByteBuffer.wrap(outputData), kexFailType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the KEX_FAIL command into the supplied buffer.
+     * <p>
+     * Exactly {@link #KEX_FAIL_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param kexFailType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>KEX_KEY
+     *            <li>KEX_SCHEME
+     *            <li>KEX_CURVES
+     *            <li>DECRYPT
+     *            <li>CANCEL
+     *            <li>AUTH
+     *            <li>KEY_GET
+     *            <li>KEY_VERIFY
+     *            <li>KEY_REPORT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #KEX_FAIL_LENGTH} bytes remain in the buffer
+     */
+    static public void getKexFail(ByteBuffer buffer, String kexFailType) {
         logger.debug("Creating command message KEX_FAIL version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(KEX_FAIL);
+        if (buffer.remaining() < KEX_FAIL_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'KEX Fail Type'
-        boolean foundKexFailType = false;
-        for (Integer entry : constantKexFailKexFailType.keySet()) {
-            if (constantKexFailKexFailType.get(entry).equals(kexFailType)) {
-                outputData.write(entry);
-                foundKexFailType = true;
-                break;
-            }
-        }
-        if (!foundKexFailType) {
+        Integer varKexFailType = reverseKexFailKexFailType.get(kexFailType);
+        if (varKexFailType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + kexFailType + "' for kexFailType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) KEX_FAIL);
+        buffer.put(varKexFailType.byteValue());
     }
 
     /**
@@ -893,26 +1030,46 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurity2NetworkKeyGet(String requestedKey) {
+        byte[] outputData = new byte[SECURITY_2_NETWORK_KEY_GET_LENGTH];
+        getSecurity2NetworkKeyGet(ByteBuffer.wrap(outputData), requestedKey);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_2_NETWORK_KEY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_2_NETWORK_KEY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param requestedKey {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNAUTHENTICATED
+     *            <li>AUTHENTICATED
+     *            <li>ACCESS
+     *            <li>S0
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_2_NETWORK_KEY_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurity2NetworkKeyGet(ByteBuffer buffer, String requestedKey) {
         logger.debug("Creating command message SECURITY_2_NETWORK_KEY_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_2_NETWORK_KEY_GET);
+        if (buffer.remaining() < SECURITY_2_NETWORK_KEY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Requested Key'
-        boolean foundRequestedKey = false;
-        for (Integer entry : constantSecurity2NetworkKeyGetRequestedKey.keySet()) {
-            if (constantSecurity2NetworkKeyGetRequestedKey.get(entry).equals(requestedKey)) {
-                outputData.write(entry);
-                foundRequestedKey = true;
-                break;
-            }
-        }
-        if (!foundRequestedKey) {
+        Integer varRequestedKey = reverseSecurity2NetworkKeyGetRequestedKey.get(requestedKey);
+        if (varRequestedKey == null) {
             throw new IllegalArgumentException("Unknown constant value '" + requestedKey + "' for requestedKey");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_2_NETWORK_KEY_GET);
+        buffer.put(varRequestedKey.byteValue());
     }
 
     /**
@@ -973,17 +1130,11 @@ public class CommandClassSecurity2V1 {
         outputData.write(SECURITY_2_NETWORK_KEY_REPORT);
 
         // Process 'Granted Key'
-        boolean foundGrantedKey = false;
-        for (Integer entry : constantSecurity2NetworkKeyReportGrantedKey.keySet()) {
-            if (constantSecurity2NetworkKeyReportGrantedKey.get(entry).equals(grantedKey)) {
-                outputData.write(entry);
-                foundGrantedKey = true;
-                break;
-            }
-        }
-        if (!foundGrantedKey) {
+        Integer varGrantedKey = reverseSecurity2NetworkKeyReportGrantedKey.get(grantedKey);
+        if (varGrantedKey == null) {
             throw new IllegalArgumentException("Unknown constant value '" + grantedKey + "' for grantedKey");
         }
+        outputData.write(varGrantedKey);
 
         // Process 'Network Key'
         if (networkKey != null) {
@@ -1049,13 +1200,30 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurity2NetworkKeyVerify() {
+        byte[] outputData = new byte[SECURITY_2_NETWORK_KEY_VERIFY_LENGTH];
+        getSecurity2NetworkKeyVerify(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_2_NETWORK_KEY_VERIFY command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_2_NETWORK_KEY_VERIFY_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_2_NETWORK_KEY_VERIFY_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurity2NetworkKeyVerify(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_2_NETWORK_KEY_VERIFY version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_2_NETWORK_KEY_VERIFY);
+        if (buffer.remaining() < SECURITY_2_NETWORK_KEY_VERIFY_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_2_NETWORK_KEY_VERIFY);
     }
 
     /**
@@ -1134,13 +1302,31 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurity2CommandsSupportedGet() {
+        byte[] outputData = new byte[SECURITY_2_COMMANDS_SUPPORTED_GET_LENGTH];
+        getSecurity2CommandsSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_2_COMMANDS_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_2_COMMANDS_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_2_COMMANDS_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSecurity2CommandsSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_2_COMMANDS_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_2_COMMANDS_SUPPORTED_GET);
+        if (buffer.remaining() < SECURITY_2_COMMANDS_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_2_COMMANDS_SUPPORTED_GET);
     }
 
     /**
@@ -1223,13 +1409,30 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurity2CapabilitiesGet() {
+        byte[] outputData = new byte[SECURITY_2_CAPABILITIES_GET_LENGTH];
+        getSecurity2CapabilitiesGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_2_CAPABILITIES_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_2_CAPABILITIES_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_2_CAPABILITIES_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurity2CapabilitiesGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_2_CAPABILITIES_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_2_CAPABILITIES_GET);
+        if (buffer.remaining() < SECURITY_2_CAPABILITIES_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_2_CAPABILITIES_GET);
     }
 
     /**
@@ -1258,19 +1461,35 @@ public class CommandClassSecurity2V1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurity2CapabilitiesReport(Integer supportedSpans, Integer supportedMpans) {
-        logger.debug("Creating command message SECURITY_2_CAPABILITIES_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_2_CAPABILITIES_REPORT);
+        byte[] outputData = new byte[SECURITY_2_CAPABILITIES_REPORT_LENGTH];
+        getSecurity2CapabilitiesReport(ByteBuffer.wrap(outputData), supportedSpans, supportedMpans);
+        return outputData;
+    }
 
-        // Process 'Supported SPANs'
-        outputData.write(supportedSpans);
+    /**
+     * Writes a new message with the SECURITY_2_CAPABILITIES_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_2_CAPABILITIES_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedSpans {@link Integer}
+     * @param supportedMpans {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_2_CAPABILITIES_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurity2CapabilitiesReport(ByteBuffer buffer, Integer supportedSpans,
+            Integer supportedMpans) {
+        logger.debug("Creating command message SECURITY_2_CAPABILITIES_REPORT version 1");
 
-        // Process 'Supported MPANs'
-        outputData.write(supportedMpans);
+        if (buffer.remaining() < SECURITY_2_CAPABILITIES_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_2_CAPABILITIES_REPORT);
+        buffer.put(supportedSpans.byteValue());
+        buffer.put(supportedMpans.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,33 +41,63 @@ public class CommandClassSecurityPanelModeV1 {
      * Security Panel Mode Supported Get Command Constant
      */
     public final static int SECURITY_PANEL_MODE_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded SECURITY_PANEL_MODE_SUPPORTED_GET command
+     */
+    public final static int SECURITY_PANEL_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Security Panel Mode Supported Report Command Constant
      */
     public final static int SECURITY_PANEL_MODE_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded SECURITY_PANEL_MODE_SUPPORTED_REPORT command
+     */
+    public final static int SECURITY_PANEL_MODE_SUPPORTED_REPORT_LENGTH = 4;
     /**
      * Security Panel Mode Get Command Constant
      */
     public final static int SECURITY_PANEL_MODE_GET = 0x03;
+    /**
+     * Length of the encoded SECURITY_PANEL_MODE_GET command
+     */
+    public final static int SECURITY_PANEL_MODE_GET_LENGTH = 2;
     /**
      * Security Panel Mode Report Command Constant
      */
     public final static int SECURITY_PANEL_MODE_REPORT = 0x04;
+    /**
+     * Length of the encoded SECURITY_PANEL_MODE_REPORT command
+     */
+    public final static int SECURITY_PANEL_MODE_REPORT_LENGTH = 3;
     /**
      * Security Panel Mode Set Command Constant
      */
     public final static int SECURITY_PANEL_MODE_SET = 0x05;
+    /**
+     * Length of the encoded SECURITY_PANEL_MODE_SET command
+     */
+    public final static int SECURITY_PANEL_MODE_SET_LENGTH = 3;
 
     /**
      * Map holding constants for SecurityPanelModeSetMode
      */
     private static Map<Integer, String> constantSecurityPanelModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SecurityPanelModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSecurityPanelModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SecurityPanelModeReportMode
      */
     private static Map<Integer, String> constantSecurityPanelModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SecurityPanelModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSecurityPanelModeReportMode = new HashMap<String, Integer>();
+
     static {
         // Constants for SecurityPanelModeSetMode
         constantSecurityPanelModeSetMode.put(0x01, "ARM_HOME");
@@ -81,6 +112,20 @@ public class CommandClassSecurityPanelModeV1 {
         constantSecurityPanelModeReportMode.put(0x03, "ARM_AWAY_DELAYED");
         constantSecurityPanelModeReportMode.put(0x04, "DISARM");
         constantSecurityPanelModeReportMode.put(0x05, "ALARM_TRIGGER");
+
+        // Reverse constants for SecurityPanelModeSetMode
+        reverseSecurityPanelModeSetMode.put("ARM_HOME", 0x01);
+        reverseSecurityPanelModeSetMode.put("ARM_AWAY_NO_DELAY", 0x02);
+        reverseSecurityPanelModeSetMode.put("ARM_AWAY_DELAYED", 0x03);
+        reverseSecurityPanelModeSetMode.put("DISARM", 0x04);
+        reverseSecurityPanelModeSetMode.put("ALARM_TRIGGER", 0x05);
+
+        // Reverse constants for SecurityPanelModeReportMode
+        reverseSecurityPanelModeReportMode.put("ARM_HOME", 0x01);
+        reverseSecurityPanelModeReportMode.put("ARM_AWAY_NO_DELAY", 0x02);
+        reverseSecurityPanelModeReportMode.put("ARM_AWAY_DELAYED", 0x03);
+        reverseSecurityPanelModeReportMode.put("DISARM", 0x04);
+        reverseSecurityPanelModeReportMode.put("ALARM_TRIGGER", 0x05);
     }
 
     /**
@@ -91,13 +136,31 @@ public class CommandClassSecurityPanelModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelModeSupportedGet() {
+        byte[] outputData = new byte[SECURITY_PANEL_MODE_SUPPORTED_GET_LENGTH];
+        getSecurityPanelModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_PANEL_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_MODE_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSecurityPanelModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_PANEL_MODE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < SECURITY_PANEL_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -125,17 +188,34 @@ public class CommandClassSecurityPanelModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelModeSupportedReport(Integer supportedModeBitMask) {
-        logger.debug("Creating command message SECURITY_PANEL_MODE_SUPPORTED_REPORT version 1");
+        byte[] outputData = new byte[SECURITY_PANEL_MODE_SUPPORTED_REPORT_LENGTH];
+        getSecurityPanelModeSupportedReport(ByteBuffer.wrap(outputData), supportedModeBitMask);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_MODE_SUPPORTED_REPORT);
+    /**
+     * Writes a new message with the SECURITY_PANEL_MODE_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_MODE_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedModeBitMask {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_MODE_SUPPORTED_REPORT_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getSecurityPanelModeSupportedReport(ByteBuffer buffer, Integer supportedModeBitMask) {
+        logger.debug("Creating command message SECURITY_PANEL_MODE_SUPPORTED_REPORT version 1");
 
-        // Process 'Supported Mode Bit Mask'
-        outputData.write((supportedModeBitMask >> 8) & 0xff);
-        outputData.write(supportedModeBitMask & 0xff);
+        if (buffer.remaining() < SECURITY_PANEL_MODE_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_MODE_SUPPORTED_REPORT);
+        buffer.put((byte) ((supportedModeBitMask >> 8) & 0xff));
+        buffer.put((byte) (supportedModeBitMask & 0xff));
     }
 
     /**
@@ -171,13 +251,29 @@ public class CommandClassSecurityPanelModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelModeGet() {
+        byte[] outputData = new byte[SECURITY_PANEL_MODE_GET_LENGTH];
+        getSecurityPanelModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_PANEL_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecurityPanelModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_PANEL_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_MODE_GET);
+        if (buffer.remaining() < SECURITY_PANEL_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_MODE_GET);
     }
 
     /**
@@ -214,26 +310,47 @@ public class CommandClassSecurityPanelModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelModeReport(String mode) {
+        byte[] outputData = new byte[SECURITY_PANEL_MODE_REPORT_LENGTH];
+        getSecurityPanelModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_PANEL_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>ARM_HOME
+     *            <li>ARM_AWAY_NO_DELAY
+     *            <li>ARM_AWAY_DELAYED
+     *            <li>DISARM
+     *            <li>ALARM_TRIGGER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_MODE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurityPanelModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message SECURITY_PANEL_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_MODE_REPORT);
+        if (buffer.remaining() < SECURITY_PANEL_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'MODE'
-        boolean foundMode = false;
-        for (Integer entry : constantSecurityPanelModeReportMode.keySet()) {
-            if (constantSecurityPanelModeReportMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseSecurityPanelModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_MODE_REPORT);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -288,26 +405,46 @@ public class CommandClassSecurityPanelModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelModeSet(String mode) {
+        byte[] outputData = new byte[SECURITY_PANEL_MODE_SET_LENGTH];
+        getSecurityPanelModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_PANEL_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>ARM_HOME
+     *            <li>ARM_AWAY_NO_DELAY
+     *            <li>ARM_AWAY_DELAYED
+     *            <li>DISARM
+     *            <li>ALARM_TRIGGER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecurityPanelModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message SECURITY_PANEL_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_MODE_SET);
+        if (buffer.remaining() < SECURITY_PANEL_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'MODE'
-        boolean foundMode = false;
-        for (Integer entry : constantSecurityPanelModeSetMode.keySet()) {
-            if (constantSecurityPanelModeSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseSecurityPanelModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_MODE_SET);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassSecurityPanelZoneSensorV1 {
      * Security Panel Zone Sensor Installed Get Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET = 0x01;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET command
+     */
+    public final static int SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET_LENGTH = 3;
     /**
      * Command Class Security Panel Zone Sensor Installed Report Command Constant
      */
@@ -48,6 +54,10 @@ public class CommandClassSecurityPanelZoneSensorV1 {
      * Security Panel Zone Sensor Type Get Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_SENSOR_TYPE_GET = 0x03;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_SENSOR_TYPE_GET command
+     */
+    public final static int SECURITY_PANEL_ZONE_SENSOR_TYPE_GET_LENGTH = 4;
     /**
      * Security Panel Zone Sensor Type Report Command Constant
      */
@@ -56,6 +66,10 @@ public class CommandClassSecurityPanelZoneSensorV1 {
      * Security Panel Zone Sensor State Get Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_SENSOR_STATE_GET = 0x05;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_SENSOR_STATE_GET command
+     */
+    public final static int SECURITY_PANEL_ZONE_SENSOR_STATE_GET_LENGTH = 4;
     /**
      * Security Panel Zone Sensor State Report Command Constant
      */
@@ -71,16 +85,33 @@ public class CommandClassSecurityPanelZoneSensorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneSensorInstalledGet(Integer zoneNumber) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET version 1");
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET_LENGTH];
+        getSecurityPanelZoneSensorInstalledGet(ByteBuffer.wrap(outputData), zoneNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getSecurityPanelZoneSensorInstalledGet(ByteBuffer buffer, Integer zoneNumber) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET version 1");
 
-        // Process 'Zone number'
-        outputData.write(zoneNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_SENSOR_INSTALLED_GET);
+        buffer.put(zoneNumber.byteValue());
     }
 
     /**
@@ -173,19 +204,35 @@ public class CommandClassSecurityPanelZoneSensorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneSensorTypeGet(Integer zoneNumber, Integer sensorNumber) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_SENSOR_TYPE_GET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_SENSOR_TYPE_GET);
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_SENSOR_TYPE_GET_LENGTH];
+        getSecurityPanelZoneSensorTypeGet(ByteBuffer.wrap(outputData), zoneNumber, sensorNumber);
+        return outputData;
+    }
 
-        // Process 'Zone Number'
-        outputData.write(zoneNumber);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_SENSOR_TYPE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_SENSOR_TYPE_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @param sensorNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_SENSOR_TYPE_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSecurityPanelZoneSensorTypeGet(ByteBuffer buffer, Integer zoneNumber, Integer sensorNumber) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_SENSOR_TYPE_GET version 1");
 
-        // Process 'Sensor Number'
-        outputData.write(sensorNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_SENSOR_TYPE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_SENSOR_TYPE_GET);
+        buffer.put(zoneNumber.byteValue());
+        buffer.put(sensorNumber.byteValue());
     }
 
     /**
@@ -290,19 +337,35 @@ public class CommandClassSecurityPanelZoneSensorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneSensorStateGet(Integer zoneNumber, Integer sensorNumber) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_SENSOR_STATE_GET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_SENSOR_STATE_GET);
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_SENSOR_STATE_GET_LENGTH];
+        getSecurityPanelZoneSensorStateGet(ByteBuffer.wrap(outputData), zoneNumber, sensorNumber);
+        return outputData;
+    }
 
-        // Process 'Zone Number'
-        outputData.write(zoneNumber);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_SENSOR_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_SENSOR_STATE_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @param sensorNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_SENSOR_STATE_GET_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getSecurityPanelZoneSensorStateGet(ByteBuffer buffer, Integer zoneNumber, Integer sensorNumber) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_SENSOR_STATE_GET version 1");
 
-        // Process 'Sensor Number'
-        outputData.write(sensorNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_SENSOR_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_SENSOR_STATE_GET);
+        buffer.put(zoneNumber.byteValue());
+        buffer.put(sensorNumber.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassSecurityPanelZoneV1 {
      * Security Panel Zone Number Supported Get Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET command
+     */
+    public final static int SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET_LENGTH = 2;
     /**
      * Security Panel Zone Supported Report Command Constant
      */
@@ -48,29 +54,55 @@ public class CommandClassSecurityPanelZoneV1 {
      * Security Panel Zone Type Get Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_TYPE_GET = 0x03;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_TYPE_GET command
+     */
+    public final static int SECURITY_PANEL_ZONE_TYPE_GET_LENGTH = 3;
     /**
      * Security Panel Zone Type Report Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_TYPE_REPORT = 0x04;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_TYPE_REPORT command
+     */
+    public final static int SECURITY_PANEL_ZONE_TYPE_REPORT_LENGTH = 4;
     /**
      * Security Panel Zone State Get Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_STATE_GET = 0x05;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_STATE_GET command
+     */
+    public final static int SECURITY_PANEL_ZONE_STATE_GET_LENGTH = 3;
     /**
      * Security Panel Zone State Report Command Constant
      */
     public final static int SECURITY_PANEL_ZONE_STATE_REPORT = 0x06;
+    /**
+     * Length of the encoded SECURITY_PANEL_ZONE_STATE_REPORT command
+     */
+    public final static int SECURITY_PANEL_ZONE_STATE_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for SecurityPanelZoneStateReportZoneState
      */
     private static Map<Integer, String> constantSecurityPanelZoneStateReportZoneState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SecurityPanelZoneStateReportZoneState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSecurityPanelZoneStateReportZoneState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SecurityPanelZoneTypeReportZoneType
      */
     private static Map<Integer, String> constantSecurityPanelZoneTypeReportZoneType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SecurityPanelZoneTypeReportZoneType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSecurityPanelZoneTypeReportZoneType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SecurityPanelZoneSupportedReportParameters1
      */
@@ -89,6 +121,16 @@ public class CommandClassSecurityPanelZoneV1 {
 
         // Constants for SecurityPanelZoneSupportedReportParameters1
         constantSecurityPanelZoneSupportedReportParameters1.put(0x80, "ZM");
+
+        // Reverse constants for SecurityPanelZoneStateReportZoneState
+        reverseSecurityPanelZoneStateReportZoneState.put("FAULTED", 0x00);
+        reverseSecurityPanelZoneStateReportZoneState.put("NOT_FAULTED", 0x01);
+        reverseSecurityPanelZoneStateReportZoneState.put("BYPASS_FAULTED", 0x02);
+        reverseSecurityPanelZoneStateReportZoneState.put("BYPASS_NOT_FAULTED", 0x03);
+
+        // Reverse constants for SecurityPanelZoneTypeReportZoneType
+        reverseSecurityPanelZoneTypeReportZoneType.put("ALARM_ZONE", 0x01);
+        reverseSecurityPanelZoneTypeReportZoneType.put("NOTIFICATION_ZONE", 0x02);
     }
 
     /**
@@ -99,13 +141,31 @@ public class CommandClassSecurityPanelZoneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneNumberSupportedGet() {
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET_LENGTH];
+        getSecurityPanelZoneNumberSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getSecurityPanelZoneNumberSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_NUMBER_SUPPORTED_GET);
     }
 
     /**
@@ -185,16 +245,32 @@ public class CommandClassSecurityPanelZoneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneTypeGet(Integer zoneNumber) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_TYPE_GET version 1");
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_TYPE_GET_LENGTH];
+        getSecurityPanelZoneTypeGet(ByteBuffer.wrap(outputData), zoneNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_TYPE_GET);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_TYPE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_TYPE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_TYPE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurityPanelZoneTypeGet(ByteBuffer buffer, Integer zoneNumber) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_TYPE_GET version 1");
 
-        // Process 'Zone Number'
-        outputData.write(zoneNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_TYPE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_TYPE_GET);
+        buffer.put(zoneNumber.byteValue());
     }
 
     /**
@@ -238,29 +314,46 @@ public class CommandClassSecurityPanelZoneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneTypeReport(Integer zoneNumber, String zoneType) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_TYPE_REPORT version 1");
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_TYPE_REPORT_LENGTH];
+        getSecurityPanelZoneTypeReport(ByteBuffer.wrap(outputData), zoneNumber, zoneType);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_TYPE_REPORT);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_TYPE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_TYPE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @param zoneType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>ALARM_ZONE
+     *            <li>NOTIFICATION_ZONE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_TYPE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurityPanelZoneTypeReport(ByteBuffer buffer, Integer zoneNumber, String zoneType) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_TYPE_REPORT version 1");
 
-        // Process 'Zone Number'
-        outputData.write(zoneNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_TYPE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Zone Type'
-        boolean foundZoneType = false;
-        for (Integer entry : constantSecurityPanelZoneTypeReportZoneType.keySet()) {
-            if (constantSecurityPanelZoneTypeReportZoneType.get(entry).equals(zoneType)) {
-                outputData.write(entry);
-                foundZoneType = true;
-                break;
-            }
-        }
-        if (!foundZoneType) {
+        Integer varZoneType = reverseSecurityPanelZoneTypeReportZoneType.get(zoneType);
+        if (varZoneType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zoneType + "' for zoneType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_TYPE_REPORT);
+        buffer.put(zoneNumber.byteValue());
+        buffer.put(varZoneType.byteValue());
     }
 
     /**
@@ -307,16 +400,32 @@ public class CommandClassSecurityPanelZoneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneStateGet(Integer zoneNumber) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_STATE_GET version 1");
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_STATE_GET_LENGTH];
+        getSecurityPanelZoneStateGet(ByteBuffer.wrap(outputData), zoneNumber);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_STATE_GET);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_STATE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurityPanelZoneStateGet(ByteBuffer buffer, Integer zoneNumber) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_STATE_GET version 1");
 
-        // Process 'Zone Number'
-        outputData.write(zoneNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_STATE_GET);
+        buffer.put(zoneNumber.byteValue());
     }
 
     /**
@@ -362,29 +471,48 @@ public class CommandClassSecurityPanelZoneV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityPanelZoneStateReport(Integer zoneNumber, String zoneState) {
-        logger.debug("Creating command message SECURITY_PANEL_ZONE_STATE_REPORT version 1");
+        byte[] outputData = new byte[SECURITY_PANEL_ZONE_STATE_REPORT_LENGTH];
+        getSecurityPanelZoneStateReport(ByteBuffer.wrap(outputData), zoneNumber, zoneState);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_PANEL_ZONE_STATE_REPORT);
+    /**
+     * Writes a new message with the SECURITY_PANEL_ZONE_STATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_PANEL_ZONE_STATE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zoneNumber {@link Integer}
+     * @param zoneState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>FAULTED
+     *            <li>NOT_FAULTED
+     *            <li>BYPASS_FAULTED
+     *            <li>BYPASS_NOT_FAULTED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_PANEL_ZONE_STATE_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSecurityPanelZoneStateReport(ByteBuffer buffer, Integer zoneNumber, String zoneState) {
+        logger.debug("Creating command message SECURITY_PANEL_ZONE_STATE_REPORT version 1");
 
-        // Process 'Zone number'
-        outputData.write(zoneNumber);
+        if (buffer.remaining() < SECURITY_PANEL_ZONE_STATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Zone State'
-        boolean foundZoneState = false;
-        for (Integer entry : constantSecurityPanelZoneStateReportZoneState.keySet()) {
-            if (constantSecurityPanelZoneStateReportZoneState.get(entry).equals(zoneState)) {
-                outputData.write(entry);
-                foundZoneState = true;
-                break;
-            }
-        }
-        if (!foundZoneState) {
+        Integer varZoneState = reverseSecurityPanelZoneStateReportZoneState.get(zoneState);
+        if (varZoneState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + zoneState + "' for zoneState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_PANEL_ZONE_STATE_REPORT);
+        buffer.put(zoneNumber.byteValue());
+        buffer.put(varZoneState.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.ArrayList;
@@ -44,6 +46,10 @@ public class CommandClassSecurityV1 {
      * Security Commands Supported Get Command Constant
      */
     public final static int SECURITY_COMMANDS_SUPPORTED_GET = 0x02;
+    /**
+     * Length of the encoded SECURITY_COMMANDS_SUPPORTED_GET command
+     */
+    public final static int SECURITY_COMMANDS_SUPPORTED_GET_LENGTH = 2;
     /**
      * Security Commands Supported Report Command Constant
      */
@@ -52,10 +58,18 @@ public class CommandClassSecurityV1 {
      * Security Scheme Get Command Constant
      */
     public final static int SECURITY_SCHEME_GET = 0x04;
+    /**
+     * Length of the encoded SECURITY_SCHEME_GET command
+     */
+    public final static int SECURITY_SCHEME_GET_LENGTH = 3;
     /**
      * Security Scheme Report Command Constant
      */
     public final static int SECURITY_SCHEME_REPORT = 0x05;
+    /**
+     * Length of the encoded SECURITY_SCHEME_REPORT command
+     */
+    public final static int SECURITY_SCHEME_REPORT_LENGTH = 3;
     /**
      * Network Key Set Command Constant
      */
@@ -64,14 +78,26 @@ public class CommandClassSecurityV1 {
      * Network Key Verify Command Constant
      */
     public final static int NETWORK_KEY_VERIFY = 0x07;
+    /**
+     * Length of the encoded NETWORK_KEY_VERIFY command
+     */
+    public final static int NETWORK_KEY_VERIFY_LENGTH = 2;
     /**
      * Security Scheme Inherit Command Constant
      */
     public final static int SECURITY_SCHEME_INHERIT = 0x08;
+    /**
+     * Length of the encoded SECURITY_SCHEME_INHERIT command
+     */
+    public final static int SECURITY_SCHEME_INHERIT_LENGTH = 3;
     /**
      * Security Nonce Get Command Constant
      */
     public final static int SECURITY_NONCE_GET = 0x40;
+    /**
+     * Length of the encoded SECURITY_NONCE_GET command
+     */
+    public final static int SECURITY_NONCE_GET_LENGTH = 2;
     /**
      * Security Nonce Report Command Constant
      */
@@ -121,13 +147,30 @@ public class CommandClassSecurityV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityCommandsSupportedGet() {
+        byte[] outputData = new byte[SECURITY_COMMANDS_SUPPORTED_GET_LENGTH];
+        getSecurityCommandsSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_COMMANDS_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_COMMANDS_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_COMMANDS_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSecurityCommandsSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_COMMANDS_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_COMMANDS_SUPPORTED_GET);
+        if (buffer.remaining() < SECURITY_COMMANDS_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_COMMANDS_SUPPORTED_GET);
     }
 
     /**
@@ -247,16 +290,31 @@ public class CommandClassSecurityV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecuritySchemeGet(Integer supportedSecuritySchemes) {
-        logger.debug("Creating command message SECURITY_SCHEME_GET version 1");
+        byte[] outputData = new byte[SECURITY_SCHEME_GET_LENGTH];
+        getSecuritySchemeGet(ByteBuffer.wrap(outputData), supportedSecuritySchemes);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_SCHEME_GET);
+    /**
+     * Writes a new message with the SECURITY_SCHEME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_SCHEME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedSecuritySchemes {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_SCHEME_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecuritySchemeGet(ByteBuffer buffer, Integer supportedSecuritySchemes) {
+        logger.debug("Creating command message SECURITY_SCHEME_GET version 1");
 
-        // Process 'Supported Security Schemes'
-        outputData.write(supportedSecuritySchemes);
+        if (buffer.remaining() < SECURITY_SCHEME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_SCHEME_GET);
+        buffer.put(supportedSecuritySchemes.byteValue());
     }
 
     /**
@@ -293,16 +351,31 @@ public class CommandClassSecurityV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecuritySchemeReport(Integer supportedSecuritySchemes) {
-        logger.debug("Creating command message SECURITY_SCHEME_REPORT version 1");
+        byte[] outputData = new byte[SECURITY_SCHEME_REPORT_LENGTH];
+        getSecuritySchemeReport(ByteBuffer.wrap(outputData), supportedSecuritySchemes);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_SCHEME_REPORT);
+    /**
+     * Writes a new message with the SECURITY_SCHEME_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_SCHEME_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedSecuritySchemes {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_SCHEME_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecuritySchemeReport(ByteBuffer buffer, Integer supportedSecuritySchemes) {
+        logger.debug("Creating command message SECURITY_SCHEME_REPORT version 1");
 
-        // Process 'Supported Security Schemes'
-        outputData.write(supportedSecuritySchemes);
+        if (buffer.remaining() < SECURITY_SCHEME_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_SCHEME_REPORT);
+        buffer.put(supportedSecuritySchemes.byteValue());
     }
 
     /**
@@ -397,13 +470,29 @@ public class CommandClassSecurityV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNetworkKeyVerify() {
+        byte[] outputData = new byte[NETWORK_KEY_VERIFY_LENGTH];
+        getNetworkKeyVerify(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NETWORK_KEY_VERIFY command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NETWORK_KEY_VERIFY_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NETWORK_KEY_VERIFY_LENGTH} bytes remain in the buffer
+     */
+    static public void getNetworkKeyVerify(ByteBuffer buffer) {
         logger.debug("Creating command message NETWORK_KEY_VERIFY version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NETWORK_KEY_VERIFY);
+        if (buffer.remaining() < NETWORK_KEY_VERIFY_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NETWORK_KEY_VERIFY);
     }
 
     /**
@@ -431,16 +520,31 @@ public class CommandClassSecurityV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecuritySchemeInherit(Integer supportedSecuritySchemes) {
-        logger.debug("Creating command message SECURITY_SCHEME_INHERIT version 1");
+        byte[] outputData = new byte[SECURITY_SCHEME_INHERIT_LENGTH];
+        getSecuritySchemeInherit(ByteBuffer.wrap(outputData), supportedSecuritySchemes);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_SCHEME_INHERIT);
+    /**
+     * Writes a new message with the SECURITY_SCHEME_INHERIT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_SCHEME_INHERIT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedSecuritySchemes {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_SCHEME_INHERIT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecuritySchemeInherit(ByteBuffer buffer, Integer supportedSecuritySchemes) {
+        logger.debug("Creating command message SECURITY_SCHEME_INHERIT version 1");
 
-        // Process 'Supported Security Schemes'
-        outputData.write(supportedSecuritySchemes);
+        if (buffer.remaining() < SECURITY_SCHEME_INHERIT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_SCHEME_INHERIT);
+        buffer.put(supportedSecuritySchemes.byteValue());
     }
 
     /**
@@ -476,13 +580,29 @@ public class CommandClassSecurityV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSecurityNonceGet() {
+        byte[] outputData = new byte[SECURITY_NONCE_GET_LENGTH];
+        getSecurityNonceGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SECURITY_NONCE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SECURITY_NONCE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SECURITY_NONCE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSecurityNonceGet(ByteBuffer buffer) {
         logger.debug("Creating command message SECURITY_NONCE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SECURITY_NONCE_GET);
+        if (buffer.remaining() < SECURITY_NONCE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SECURITY_NONCE_GET);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +43,10 @@ public class CommandClassSensorAlarmV1 {
      * Sensor Alarm Get Command Constant
      */
     public final static int SENSOR_ALARM_GET = 0x01;
+    /**
+     * Length of the encoded SENSOR_ALARM_GET command
+     */
+    public final static int SENSOR_ALARM_GET_LENGTH = 3;
     /**
      * Sensor Alarm Report Command Constant
      */
@@ -49,6 +55,10 @@ public class CommandClassSensorAlarmV1 {
      * Sensor Alarm Supported Get Command Constant
      */
     public final static int SENSOR_ALARM_SUPPORTED_GET = 0x03;
+    /**
+     * Length of the encoded SENSOR_ALARM_SUPPORTED_GET command
+     */
+    public final static int SENSOR_ALARM_SUPPORTED_GET_LENGTH = 2;
     /**
      * Sensor Alarm Supported Report Command Constant
      */
@@ -59,16 +69,31 @@ public class CommandClassSensorAlarmV1 {
      */
     private static Map<Integer, String> constantSensorAlarmGetSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorAlarmGetSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorAlarmGetSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorAlarmReportSensorType
      */
     private static Map<Integer, String> constantSensorAlarmReportSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorAlarmReportSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorAlarmReportSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorAlarmReportSensorState
      */
     private static Map<Integer, String> constantSensorAlarmReportSensorState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorAlarmReportSensorState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorAlarmReportSensorState = new HashMap<String, Integer>();
+
     static {
         // Constants for SensorAlarmGetSensorType
         constantSensorAlarmGetSensorType.put(0x00, "GENERAL_PURPOSE_ALARM");
@@ -91,6 +116,28 @@ public class CommandClassSensorAlarmV1 {
         // Constants for SensorAlarmReportSensorState
         constantSensorAlarmReportSensorState.put(0x00, "NO_ALARM");
         constantSensorAlarmReportSensorState.put(0xFF, "ALARM");
+
+        // Reverse constants for SensorAlarmGetSensorType
+        reverseSensorAlarmGetSensorType.put("GENERAL_PURPOSE_ALARM", 0x00);
+        reverseSensorAlarmGetSensorType.put("SMOKE_ALARM", 0x01);
+        reverseSensorAlarmGetSensorType.put("CO_ALARM", 0x02);
+        reverseSensorAlarmGetSensorType.put("CO2_ALARM", 0x03);
+        reverseSensorAlarmGetSensorType.put("HEAT_ALARM", 0x04);
+        reverseSensorAlarmGetSensorType.put("WATER_LEAK_ALARM", 0x05);
+        reverseSensorAlarmGetSensorType.put("RETURN_FIRST_ALARM_ON_SUPPORTED_LIST", 0xFF);
+
+        // Reverse constants for SensorAlarmReportSensorType
+        reverseSensorAlarmReportSensorType.put("GENERAL_PURPOSE_ALARM", 0x00);
+        reverseSensorAlarmReportSensorType.put("SMOKE_ALARM", 0x01);
+        reverseSensorAlarmReportSensorType.put("CO_ALARM", 0x02);
+        reverseSensorAlarmReportSensorType.put("CO2_ALARM", 0x03);
+        reverseSensorAlarmReportSensorType.put("HEAT_ALARM", 0x04);
+        reverseSensorAlarmReportSensorType.put("WATER_LEAK_ALARM", 0x05);
+        reverseSensorAlarmReportSensorType.put("RETURN_FIRST_ALARM_ON_SUPPORTED_LIST", 0xFF);
+
+        // Reverse constants for SensorAlarmReportSensorState
+        reverseSensorAlarmReportSensorState.put("NO_ALARM", 0x00);
+        reverseSensorAlarmReportSensorState.put("ALARM", 0xFF);
     }
 
     /**
@@ -113,26 +160,48 @@ public class CommandClassSensorAlarmV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorAlarmGet(String sensorType) {
+        byte[] outputData = new byte[SENSOR_ALARM_GET_LENGTH];
+        getSensorAlarmGet(ByteBuffer.wrap(outputData), sensorType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_ALARM_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_ALARM_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>GENERAL_PURPOSE_ALARM
+     *            <li>RETURN_FIRST_ALARM_ON_SUPPORTED_LIST
+     *            <li>SMOKE_ALARM
+     *            <li>CO_ALARM
+     *            <li>CO2_ALARM
+     *            <li>HEAT_ALARM
+     *            <li>WATER_LEAK_ALARM
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_ALARM_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorAlarmGet(ByteBuffer buffer, String sensorType) {
         logger.debug("Creating command message SENSOR_ALARM_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_ALARM_GET);
+        if (buffer.remaining() < SENSOR_ALARM_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorAlarmGetSensorType.keySet()) {
-            if (constantSensorAlarmGetSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorAlarmGetSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_ALARM_GET);
+        buffer.put(varSensorType.byteValue());
     }
 
     /**
@@ -216,30 +285,18 @@ public class CommandClassSensorAlarmV1 {
         outputData.write(sourceNodeId);
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorAlarmReportSensorType.keySet()) {
-            if (constantSensorAlarmReportSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorAlarmReportSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
+        outputData.write(varSensorType);
 
         // Process 'Sensor State'
-        boolean foundSensorState = false;
-        for (Integer entry : constantSensorAlarmReportSensorState.keySet()) {
-            if (constantSensorAlarmReportSensorState.get(entry).equals(sensorState)) {
-                outputData.write(entry);
-                foundSensorState = true;
-                break;
-            }
-        }
-        if (!foundSensorState) {
+        Integer varSensorState = reverseSensorAlarmReportSensorState.get(sensorState);
+        if (varSensorState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorState + "' for sensorState");
         }
+        outputData.write(varSensorState);
 
         // Process 'Seconds'
         outputData.write((seconds >> 8) & 0xff);
@@ -310,13 +367,30 @@ public class CommandClassSensorAlarmV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorAlarmSupportedGet() {
+        byte[] outputData = new byte[SENSOR_ALARM_SUPPORTED_GET_LENGTH];
+        getSensorAlarmSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_ALARM_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_ALARM_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_ALARM_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSensorAlarmSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SENSOR_ALARM_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_ALARM_SUPPORTED_GET);
+        if (buffer.remaining() < SENSOR_ALARM_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_ALARM_SUPPORTED_GET);
     }
 
     /**
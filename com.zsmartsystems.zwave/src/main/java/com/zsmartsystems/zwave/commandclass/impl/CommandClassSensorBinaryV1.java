@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,20 +41,37 @@ public class CommandClassSensorBinaryV1 {
      * Sensor Binary Get Command Constant
      */
     public final static int SENSOR_BINARY_GET = 0x02;
+    /**
+     * Length of the encoded SENSOR_BINARY_GET command
+     */
+    public final static int SENSOR_BINARY_GET_LENGTH = 2;
     /**
      * Sensor Binary Report Command Constant
      */
     public final static int SENSOR_BINARY_REPORT = 0x03;
+    /**
+     * Length of the encoded SENSOR_BINARY_REPORT command
+     */
+    public final static int SENSOR_BINARY_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for SensorBinaryReportSensorValue
      */
     private static Map<Integer, String> constantSensorBinaryReportSensorValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorBinaryReportSensorValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorBinaryReportSensorValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SensorBinaryReportSensorValue
         constantSensorBinaryReportSensorValue.put(0x00, "IDLE");
         constantSensorBinaryReportSensorValue.put(0xFF, "DETECTED_AN_EVENT");
+
+        // Reverse constants for SensorBinaryReportSensorValue
+        reverseSensorBinaryReportSensorValue.put("IDLE", 0x00);
+        reverseSensorBinaryReportSensorValue.put("DETECTED_AN_EVENT", 0xFF);
     }
 
     /**
@@ -64,13 +82,29 @@ public class CommandClassSensorBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorBinaryGet() {
+        byte[] outputData = new byte[SENSOR_BINARY_GET_LENGTH];
+        getSensorBinaryGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_BINARY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_BINARY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_BINARY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorBinaryGet(ByteBuffer buffer) {
         logger.debug("Creating command message SENSOR_BINARY_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_BINARY_GET);
+        if (buffer.remaining() < SENSOR_BINARY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_BINARY_GET);
     }
 
     /**
@@ -104,26 +138,43 @@ public class CommandClassSensorBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorBinaryReport(String sensorValue) {
+        byte[] outputData = new byte[SENSOR_BINARY_REPORT_LENGTH];
+        getSensorBinaryReport(ByteBuffer.wrap(outputData), sensorValue);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_BINARY_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_BINARY_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>IDLE
+     *            <li>DETECTED_AN_EVENT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_BINARY_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorBinaryReport(ByteBuffer buffer, String sensorValue) {
         logger.debug("Creating command message SENSOR_BINARY_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_BINARY_REPORT);
+        if (buffer.remaining() < SENSOR_BINARY_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Value'
-        boolean foundSensorValue = false;
-        for (Integer entry : constantSensorBinaryReportSensorValue.keySet()) {
-            if (constantSensorBinaryReportSensorValue.get(entry).equals(sensorValue)) {
-                outputData.write(entry);
-                foundSensorValue = true;
-                break;
-            }
-        }
-        if (!foundSensorValue) {
+        Integer varSensorValue = reverseSensorBinaryReportSensorValue.get(sensorValue);
+        if (varSensorValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorValue + "' for sensorValue");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_BINARY_REPORT);
+        buffer.put(varSensorValue.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,14 +44,26 @@ public class CommandClassSensorBinaryV2 {
      * Sensor Binary Supported Get Sensor Command Constant
      */
     public final static int SENSOR_BINARY_SUPPORTED_GET_SENSOR = 0x01;
+    /**
+     * Length of the encoded SENSOR_BINARY_SUPPORTED_GET_SENSOR command
+     */
+    public final static int SENSOR_BINARY_SUPPORTED_GET_SENSOR_LENGTH = 2;
     /**
      * Sensor Binary Get Command Constant
      */
     public final static int SENSOR_BINARY_GET = 0x02;
+    /**
+     * Length of the encoded SENSOR_BINARY_GET command
+     */
+    public final static int SENSOR_BINARY_GET_LENGTH = 3;
     /**
      * Sensor Binary Report Command Constant
      */
     public final static int SENSOR_BINARY_REPORT = 0x03;
+    /**
+     * Length of the encoded SENSOR_BINARY_REPORT command
+     */
+    public final static int SENSOR_BINARY_REPORT_LENGTH = 4;
     /**
      * Sensor Binary Supported Sensor Report Command Constant
      */
@@ -60,21 +74,41 @@ public class CommandClassSensorBinaryV2 {
      */
     private static Map<Integer, String> constantSensorBinaryReportSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorBinaryReportSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorBinaryReportSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorBinaryGetSensorType
      */
     private static Map<Integer, String> constantSensorBinaryGetSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorBinaryGetSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorBinaryGetSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorBinaryReportSensorValue
      */
     private static Map<Integer, String> constantSensorBinaryReportSensorValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorBinaryReportSensorValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorBinaryReportSensorValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorBinarySupportedSensorReportBitMask
      */
     private static Map<Integer, String> constantSensorBinarySupportedSensorReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorBinarySupportedSensorReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorBinarySupportedSensorReportBitMask = new HashMap<String, Integer>();
+
     static {
         // Constants for SensorBinaryReportSensorType
         constantSensorBinaryReportSensorType.put(0x01, "GENERAL");
@@ -124,6 +158,55 @@ public class CommandClassSensorBinaryV2 {
         constantSensorBinarySupportedSensorReportBitMask.put(0x0B, "TILT");
         constantSensorBinarySupportedSensorReportBitMask.put(0x0C, "MOTION");
         constantSensorBinarySupportedSensorReportBitMask.put(0x0D, "GLASS_BREAK");
+
+        // Reverse constants for SensorBinaryReportSensorType
+        reverseSensorBinaryReportSensorType.put("GENERAL", 0x01);
+        reverseSensorBinaryReportSensorType.put("SMOKE", 0x02);
+        reverseSensorBinaryReportSensorType.put("CO", 0x03);
+        reverseSensorBinaryReportSensorType.put("CO2", 0x04);
+        reverseSensorBinaryReportSensorType.put("HEAT", 0x05);
+        reverseSensorBinaryReportSensorType.put("WATER", 0x06);
+        reverseSensorBinaryReportSensorType.put("FREEZE", 0x07);
+        reverseSensorBinaryReportSensorType.put("TAMPER", 0x08);
+        reverseSensorBinaryReportSensorType.put("AUX", 0x09);
+        reverseSensorBinaryReportSensorType.put("DOOR_WINDOW", 0x0A);
+        reverseSensorBinaryReportSensorType.put("TILT", 0x0B);
+        reverseSensorBinaryReportSensorType.put("MOTION", 0x0C);
+        reverseSensorBinaryReportSensorType.put("GLASS_BREAK", 0x0D);
+
+        // Reverse constants for SensorBinaryGetSensorType
+        reverseSensorBinaryGetSensorType.put("GENERAL", 0x01);
+        reverseSensorBinaryGetSensorType.put("SMOKE", 0x02);
+        reverseSensorBinaryGetSensorType.put("CO", 0x03);
+        reverseSensorBinaryGetSensorType.put("CO2", 0x04);
+        reverseSensorBinaryGetSensorType.put("HEAT", 0x05);
+        reverseSensorBinaryGetSensorType.put("WATER", 0x06);
+        reverseSensorBinaryGetSensorType.put("FREEZE", 0x07);
+        reverseSensorBinaryGetSensorType.put("TAMPER", 0x08);
+        reverseSensorBinaryGetSensorType.put("AUX", 0x09);
+        reverseSensorBinaryGetSensorType.put("DOOR_WINDOW", 0x0A);
+        reverseSensorBinaryGetSensorType.put("TILT", 0x0B);
+        reverseSensorBinaryGetSensorType.put("MOTION", 0x0C);
+        reverseSensorBinaryGetSensorType.put("GLASS_BREAK", 0x0D);
+
+        // Reverse constants for SensorBinaryReportSensorValue
+        reverseSensorBinaryReportSensorValue.put("IDLE", 0x00);
+        reverseSensorBinaryReportSensorValue.put("DETECTED_AN_EVENT", 0xFF);
+
+        // Reverse constants for SensorBinarySupportedSensorReportBitMask
+        reverseSensorBinarySupportedSensorReportBitMask.put("GENERAL", 0x01);
+        reverseSensorBinarySupportedSensorReportBitMask.put("SMOKE", 0x02);
+        reverseSensorBinarySupportedSensorReportBitMask.put("CO", 0x03);
+        reverseSensorBinarySupportedSensorReportBitMask.put("CO2", 0x04);
+        reverseSensorBinarySupportedSensorReportBitMask.put("HEAT", 0x05);
+        reverseSensorBinarySupportedSensorReportBitMask.put("WATER", 0x06);
+        reverseSensorBinarySupportedSensorReportBitMask.put("FREEZE", 0x07);
+        reverseSensorBinarySupportedSensorReportBitMask.put("TAMPER", 0x08);
+        reverseSensorBinarySupportedSensorReportBitMask.put("AUX", 0x09);
+        reverseSensorBinarySupportedSensorReportBitMask.put("DOOR_WINDOW", 0x0A);
+        reverseSensorBinarySupportedSensorReportBitMask.put("TILT", 0x0B);
+        reverseSensorBinarySupportedSensorReportBitMask.put("MOTION", 0x0C);
+        reverseSensorBinarySupportedSensorReportBitMask.put("GLASS_BREAK", 0x0D);
     }
 
     /**
@@ -134,13 +217,31 @@ public class CommandClassSensorBinaryV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorBinarySupportedGetSensor() {
+        byte[] outputData = new byte[SENSOR_BINARY_SUPPORTED_GET_SENSOR_LENGTH];
+        getSensorBinarySupportedGetSensor(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_BINARY_SUPPORTED_GET_SENSOR command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_BINARY_SUPPORTED_GET_SENSOR_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_BINARY_SUPPORTED_GET_SENSOR_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSensorBinarySupportedGetSensor(ByteBuffer buffer) {
         logger.debug("Creating command message SENSOR_BINARY_SUPPORTED_GET_SENSOR version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_BINARY_SUPPORTED_GET_SENSOR);
+        if (buffer.remaining() < SENSOR_BINARY_SUPPORTED_GET_SENSOR_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_BINARY_SUPPORTED_GET_SENSOR);
     }
 
     /**
@@ -185,26 +286,54 @@ public class CommandClassSensorBinaryV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorBinaryGet(String sensorType) {
+        byte[] outputData = new byte[SENSOR_BINARY_GET_LENGTH];
+        getSensorBinaryGet(ByteBuffer.wrap(outputData), sensorType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_BINARY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_BINARY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>GENERAL
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>FREEZE
+     *            <li>TAMPER
+     *            <li>AUX
+     *            <li>DOOR_WINDOW
+     *            <li>TILT
+     *            <li>MOTION
+     *            <li>GLASS_BREAK
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_BINARY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorBinaryGet(ByteBuffer buffer, String sensorType) {
         logger.debug("Creating command message SENSOR_BINARY_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_BINARY_GET);
+        if (buffer.remaining() < SENSOR_BINARY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorBinaryGetSensorType.keySet()) {
-            if (constantSensorBinaryGetSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorBinaryGetSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_BINARY_GET);
+        buffer.put(varSensorType.byteValue());
     }
 
     /**
@@ -282,39 +411,68 @@ public class CommandClassSensorBinaryV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorBinaryReport(String sensorValue, String sensorType) {
+        byte[] outputData = new byte[SENSOR_BINARY_REPORT_LENGTH];
+        getSensorBinaryReport(ByteBuffer.wrap(outputData), sensorValue, sensorType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_BINARY_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_BINARY_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>IDLE
+     *            <li>DETECTED_AN_EVENT
+     *            </ul>
+     * @param sensorType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>GENERAL
+     *            <li>SMOKE
+     *            <li>CO
+     *            <li>CO2
+     *            <li>HEAT
+     *            <li>WATER
+     *            <li>FREEZE
+     *            <li>TAMPER
+     *            <li>AUX
+     *            <li>DOOR_WINDOW
+     *            <li>TILT
+     *            <li>MOTION
+     *            <li>GLASS_BREAK
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_BINARY_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorBinaryReport(ByteBuffer buffer, String sensorValue, String sensorType) {
         logger.debug("Creating command message SENSOR_BINARY_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_BINARY_REPORT);
+        if (buffer.remaining() < SENSOR_BINARY_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Value'
-        boolean foundSensorValue = false;
-        for (Integer entry : constantSensorBinaryReportSensorValue.keySet()) {
-            if (constantSensorBinaryReportSensorValue.get(entry).equals(sensorValue)) {
-                outputData.write(entry);
-                foundSensorValue = true;
-                break;
-            }
-        }
-        if (!foundSensorValue) {
+        Integer varSensorValue = reverseSensorBinaryReportSensorValue.get(sensorValue);
+        if (varSensorValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorValue + "' for sensorValue");
         }
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorBinaryReportSensorType.keySet()) {
-            if (constantSensorBinaryReportSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorBinaryReportSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_BINARY_REPORT);
+        buffer.put(varSensorValue.byteValue());
+        buffer.put(varSensorType.byteValue());
     }
 
     /**
@@ -404,17 +562,11 @@ public class CommandClassSensorBinaryV2 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantSensorBinarySupportedSensorReportBitMask.keySet()) {
-                if (constantSensorBinarySupportedSensorReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseSensorBinarySupportedSensorReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class CommandClassSensorConfigurationV1 {
      * Sensor Trigger Level Get Command Constant
      */
     public final static int SENSOR_TRIGGER_LEVEL_GET = 0x02;
+    /**
+     * Length of the encoded SENSOR_TRIGGER_LEVEL_GET command
+     */
+    public final static int SENSOR_TRIGGER_LEVEL_GET_LENGTH = 2;
     /**
      * Sensor Trigger Level Report Command Constant
      */
@@ -55,11 +61,21 @@ public class CommandClassSensorConfigurationV1 {
      */
     private static Map<Integer, String> constantSensorTriggerLevelSetSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorTriggerLevelSetSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorTriggerLevelSetSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorTriggerLevelReportSensorType
      */
     private static Map<Integer, String> constantSensorTriggerLevelReportSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorTriggerLevelReportSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorTriggerLevelReportSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorTriggerLevelSetProperties1
      */
@@ -99,6 +115,36 @@ public class CommandClassSensorConfigurationV1 {
         // Constants for SensorTriggerLevelSetProperties1
         constantSensorTriggerLevelSetProperties1.put(0x40, "CURRENT");
         constantSensorTriggerLevelSetProperties1.put(0x80, "DEFAULT");
+
+        // Reverse constants for SensorTriggerLevelSetSensorType
+        reverseSensorTriggerLevelSetSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorTriggerLevelSetSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorTriggerLevelSetSensorType.put("LUMINANCE", 0x03);
+        reverseSensorTriggerLevelSetSensorType.put("POWER", 0x04);
+        reverseSensorTriggerLevelSetSensorType.put("RELATIVE_HUMIDITY", 0x05);
+        reverseSensorTriggerLevelSetSensorType.put("VELOCITY", 0x06);
+        reverseSensorTriggerLevelSetSensorType.put("DIRECTION", 0x07);
+        reverseSensorTriggerLevelSetSensorType.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorTriggerLevelSetSensorType.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorTriggerLevelSetSensorType.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorTriggerLevelSetSensorType.put("DEW_POINT", 0x0B);
+        reverseSensorTriggerLevelSetSensorType.put("RAIN_RATE", 0x0C);
+        reverseSensorTriggerLevelSetSensorType.put("TIDE_LEVEL", 0x0D);
+
+        // Reverse constants for SensorTriggerLevelReportSensorType
+        reverseSensorTriggerLevelReportSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorTriggerLevelReportSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorTriggerLevelReportSensorType.put("LUMINANCE", 0x03);
+        reverseSensorTriggerLevelReportSensorType.put("POWER", 0x04);
+        reverseSensorTriggerLevelReportSensorType.put("RELATIVE_HUMIDITY", 0x05);
+        reverseSensorTriggerLevelReportSensorType.put("VELOCITY", 0x06);
+        reverseSensorTriggerLevelReportSensorType.put("DIRECTION", 0x07);
+        reverseSensorTriggerLevelReportSensorType.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorTriggerLevelReportSensorType.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorTriggerLevelReportSensorType.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorTriggerLevelReportSensorType.put("DEW_POINT", 0x0B);
+        reverseSensorTriggerLevelReportSensorType.put("RAIN_RATE", 0x0C);
+        reverseSensorTriggerLevelReportSensorType.put("TIDE_LEVEL", 0x0D);
     }
 
     /**
@@ -146,17 +192,11 @@ public class CommandClassSensorConfigurationV1 {
         outputData.write(valProperties1);
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorTriggerLevelSetSensorType.keySet()) {
-            if (constantSensorTriggerLevelSetSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorTriggerLevelSetSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
+        outputData.write(varSensorType);
 
         // Process 'Properties2'
         // Size is used by 'Trigger Value'
@@ -257,13 +297,29 @@ public class CommandClassSensorConfigurationV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorTriggerLevelGet() {
+        byte[] outputData = new byte[SENSOR_TRIGGER_LEVEL_GET_LENGTH];
+        getSensorTriggerLevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_TRIGGER_LEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_TRIGGER_LEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_TRIGGER_LEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorTriggerLevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message SENSOR_TRIGGER_LEVEL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_TRIGGER_LEVEL_GET);
+        if (buffer.remaining() < SENSOR_TRIGGER_LEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_TRIGGER_LEVEL_GET);
     }
 
     /**
@@ -319,17 +375,11 @@ public class CommandClassSensorConfigurationV1 {
         outputData.write(SENSOR_TRIGGER_LEVEL_REPORT);
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorTriggerLevelReportSensorType.keySet()) {
-            if (constantSensorTriggerLevelReportSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorTriggerLevelReportSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
+        outputData.write(varSensorType);
 
         // Process 'Properties1'
         // Size is used by 'Trigger Value'
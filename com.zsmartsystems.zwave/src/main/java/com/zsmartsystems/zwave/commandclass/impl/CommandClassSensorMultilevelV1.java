@@ -9,7 +9,10 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -41,6 +44,10 @@ public class CommandClassSensorMultilevelV1 {
      * Sensor Multilevel Get Command Constant
      */
     public final static int SENSOR_MULTILEVEL_GET = 0x04;
+    /**
+     * Length of the encoded SENSOR_MULTILEVEL_GET command
+     */
+    public final static int SENSOR_MULTILEVEL_GET_LENGTH = 2;
     /**
      * Sensor Multilevel Report Command Constant
      */
@@ -51,11 +58,21 @@ public class CommandClassSensorMultilevelV1 {
      */
     private static Map<Integer, String> constantSensorMultilevelReportSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorMultilevelReportSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorMultilevelReportSensorType = new HashMap<String, Integer>();
+
     static {
         // Constants for SensorMultilevelReportSensorType
         constantSensorMultilevelReportSensorType.put(0x01, "TEMPERATURE");
         constantSensorMultilevelReportSensorType.put(0x02, "GENERAL_PURPOSE_VALUE");
         constantSensorMultilevelReportSensorType.put(0x03, "LUMINANCE");
+
+        // Reverse constants for SensorMultilevelReportSensorType
+        reverseSensorMultilevelReportSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorMultilevelReportSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorMultilevelReportSensorType.put("LUMINANCE", 0x03);
     }
 
     /**
@@ -66,13 +83,29 @@ public class CommandClassSensorMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorMultilevelGet() {
+        byte[] outputData = new byte[SENSOR_MULTILEVEL_GET_LENGTH];
+        getSensorMultilevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_MULTILEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_MULTILEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_MULTILEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorMultilevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message SENSOR_MULTILEVEL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_MULTILEVEL_GET);
+        if (buffer.remaining() < SENSOR_MULTILEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_MULTILEVEL_GET);
     }
 
     /**
@@ -118,17 +151,11 @@ public class CommandClassSensorMultilevelV1 {
         outputData.write(SENSOR_MULTILEVEL_REPORT);
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorMultilevelReportSensorType.keySet()) {
-            if (constantSensorMultilevelReportSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorMultilevelReportSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
+        outputData.write(varSensorType);
 
         // Process 'Level'
         // Size is used by 'Sensor Value'
@@ -170,37 +197,115 @@ public class CommandClassSensorMultilevelV1 {
      * <li>PRECISION {@link Integer}
      * <li>SENSOR_VALUE {@link byte[]}
      * </ul>
+     * <p>
+     * The map is built from a {@link SensorMultilevelReport} view. Use the view directly to process the
+     * frame without allocating.
      *
      * @param payload the {@link byte[]} payload data to process
      * @return a {@link Map} of processed response data
      */
     public static Map<String, Object> handleSensorMultilevelReport(byte[] payload) {
+        SensorMultilevelReport report = new SensorMultilevelReport().wrap(payload);
+
         // Create our response map
         Map<String, Object> response = new HashMap<String, Object>();
 
-        // We're using variable length fields, so track the offset
-        int msgOffset = 2;
+        response.put("SENSOR_TYPE", report.getSensorTypeLabel());
 
-        // Process 'Sensor Type'
-        response.put("SENSOR_TYPE", constantSensorMultilevelReportSensorType.get(payload[msgOffset] & 0xff));
-        msgOffset += 1;
+        // The map has always used these encodings, so keep them for existing consumers
+        response.put("SCALE", Integer.valueOf(payload[3] & 0x18 >> 3));
+        response.put("PRECISION", Integer.valueOf(payload[3] & 0xE0 >> 5));
+        response.put("SENSOR_VALUE", report.getSensorValueBytes());
 
-        // Process 'Level'
-        // Size is used by 'Sensor Value'
-        int varSize = payload[msgOffset] & 0x07;
-        response.put("SCALE", Integer.valueOf(payload[msgOffset] & 0x18 >> 3));
-        response.put("PRECISION", Integer.valueOf(payload[msgOffset] & 0xE0 >> 5));
-        msgOffset += 1;
+        // Return the map of processed response data;
+        return response;
+    }
 
-        // Process 'Sensor Value'
-        ByteArrayOutputStream valSensorValue = new ByteArrayOutputStream();
-        for (int cntSensorValue = 0; cntSensorValue < varSize; cntSensorValue++) {
-            valSensorValue.write(payload[msgOffset + cntSensorValue]);
+    /**
+     * Typed view over a received SENSOR_MULTILEVEL_REPORT frame.
+     * <p>
+     * Fields are decoded from the payload buffer as they are read, so processing a report does not create any
+     * objects. The view can be reused for subsequent frames by calling {@link #wrap(byte[])}.
+     */
+    public static class SensorMultilevelReport {
+        private byte[] payload;
+
+        /**
+         * Sets the frame this view decodes. The buffer is referenced, not copied.
+         *
+         * @param payload the {@link byte[]} payload data to process
+         * @return this view
+         */
+        public SensorMultilevelReport wrap(byte[] payload) {
+            this.payload = payload;
+            return this;
         }
-        response.put("SENSOR_VALUE", valSensorValue.toByteArray());
-        msgOffset += varSize;
 
-        // Return the map of processed response data;
-        return response;
+        /**
+         * @return the 'Sensor Type' value
+         */
+        public int getSensorType() {
+            return payload[2] & 0xff;
+        }
+
+        /**
+         * @return the 'Sensor Type' constant, or null if the value is not known
+         */
+        public String getSensorTypeLabel() {
+            return constantSensorMultilevelReportSensorType.get(getSensorType());
+        }
+
+        /**
+         * @return the 'Scale' value
+         */
+        public int getScale() {
+            return (payload[3] & 0x18) >> 3;
+        }
+
+        /**
+         * @return the 'Precision' value
+         */
+        public int getPrecision() {
+            return (payload[3] & 0xE0) >> 5;
+        }
+
+        /**
+         * @return the number of bytes in 'Sensor Value'
+         */
+        public int getSensorValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Sensor Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getSensorValue() {
+            int size = getSensorValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Sensor Value' is " + size + " bytes");
+            }
+            int offset = 4;
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
+        }
+
+        /**
+         * @return a copy of the 'Sensor Value' bytes
+         */
+        public byte[] getSensorValueBytes() {
+            int offset = 4;
+            int size = getSensorValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
     }
 }
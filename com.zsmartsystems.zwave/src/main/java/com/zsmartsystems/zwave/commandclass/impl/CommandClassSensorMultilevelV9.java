@@ -9,8 +9,11 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +46,10 @@ public class CommandClassSensorMultilevelV9 {
      * Multilevel Sensor Get Supported Sensor Command Constant
      */
     public final static int SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR = 0x01;
+    /**
+     * Length of the encoded SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR command
+     */
+    public final static int SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR_LENGTH = 2;
     /**
      * Multilevel Sensor Supported Sensor Report Command Constant
      */
@@ -51,10 +58,18 @@ public class CommandClassSensorMultilevelV9 {
      * Multilevel Sensor Get Supported Scale Command Constant
      */
     public final static int SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE = 0x03;
+    /**
+     * Length of the encoded SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE command
+     */
+    public final static int SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE_LENGTH = 3;
     /**
      * Multilevel Sensor Get Command Constant
      */
     public final static int SENSOR_MULTILEVEL_GET = 0x04;
+    /**
+     * Length of the encoded SENSOR_MULTILEVEL_GET command
+     */
+    public final static int SENSOR_MULTILEVEL_GET_LENGTH = 4;
     /**
      * Multilevel Sensor Report Command Constant
      */
@@ -63,32 +78,61 @@ public class CommandClassSensorMultilevelV9 {
      * Multilevel Sensor Supported Scale Report Command Constant
      */
     public final static int SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT = 0x06;
+    /**
+     * Length of the encoded SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT command
+     */
+    public final static int SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for SensorMultilevelReportSensorType
      */
     private static Map<Integer, String> constantSensorMultilevelReportSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorMultilevelReportSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorMultilevelReportSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorMultilevelSupportedSensorReportBitMask
      */
     private static Map<Integer, String> constantSensorMultilevelSupportedSensorReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorMultilevelSupportedSensorReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorMultilevelSupportedSensorReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorMultilevelSupportedScaleReportSensorType
      */
     private static Map<Integer, String> constantSensorMultilevelSupportedScaleReportSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorMultilevelSupportedScaleReportSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorMultilevelSupportedScaleReportSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorMultilevelGetSensorType
      */
     private static Map<Integer, String> constantSensorMultilevelGetSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorMultilevelGetSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorMultilevelGetSensorType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SensorMultilevelSupportedGetScaleSensorType
      */
     private static Map<Integer, String> constantSensorMultilevelSupportedGetScaleSensorType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorMultilevelSupportedGetScaleSensorType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorMultilevelSupportedGetScaleSensorType = new HashMap<String, Integer>();
+
     static {
         // Constants for SensorMultilevelReportSensorType
         constantSensorMultilevelReportSensorType.put(0x01, "TEMPERATURE");
@@ -389,6 +433,306 @@ public class CommandClassSensorMultilevelV9 {
         constantSensorMultilevelSupportedGetScaleSensorType.put(0x3A, "RF_SIGNAL_STRENGTH");
         constantSensorMultilevelSupportedGetScaleSensorType.put(0x39, "WATER_PRESSURE");
         constantSensorMultilevelSupportedGetScaleSensorType.put(0x38, "WATER_FLOW");
+
+        // Reverse constants for SensorMultilevelReportSensorType
+        reverseSensorMultilevelReportSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorMultilevelReportSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorMultilevelReportSensorType.put("LUMINANCE", 0x03);
+        reverseSensorMultilevelReportSensorType.put("POWER", 0x04);
+        reverseSensorMultilevelReportSensorType.put("RELATIVE_HUMIDITY", 0x05);
+        reverseSensorMultilevelReportSensorType.put("VELOCITY", 0x06);
+        reverseSensorMultilevelReportSensorType.put("DIRECTION", 0x07);
+        reverseSensorMultilevelReportSensorType.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorMultilevelReportSensorType.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorMultilevelReportSensorType.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorMultilevelReportSensorType.put("DEW_POINT", 0x0B);
+        reverseSensorMultilevelReportSensorType.put("RAIN_RATE", 0x0C);
+        reverseSensorMultilevelReportSensorType.put("TIDE_LEVEL", 0x0D);
+        reverseSensorMultilevelReportSensorType.put("WEIGHT", 0x0E);
+        reverseSensorMultilevelReportSensorType.put("VOLTAGE", 0x0F);
+        reverseSensorMultilevelReportSensorType.put("CURRENT", 0x10);
+        reverseSensorMultilevelReportSensorType.put("CO2_LEVEL", 0x11);
+        reverseSensorMultilevelReportSensorType.put("AIR_FLOW", 0x12);
+        reverseSensorMultilevelReportSensorType.put("TANK_CAPACITY", 0x13);
+        reverseSensorMultilevelReportSensorType.put("DISTANCE", 0x14);
+        reverseSensorMultilevelReportSensorType.put("ANGLE_POSITION", 0x15);
+        reverseSensorMultilevelReportSensorType.put("ROTATION", 0x16);
+        reverseSensorMultilevelReportSensorType.put("WATER_TEMPERATURE", 0x17);
+        reverseSensorMultilevelReportSensorType.put("SOIL_TEMPERATURE", 0x18);
+        reverseSensorMultilevelReportSensorType.put("SEISMIC_INTENSITY", 0x19);
+        reverseSensorMultilevelReportSensorType.put("SEISMIC_MAGNITUDE", 0x1A);
+        reverseSensorMultilevelReportSensorType.put("ULTRAVIOLET", 0x1B);
+        reverseSensorMultilevelReportSensorType.put("ELECTRICAL_RESISTIVITY", 0x1C);
+        reverseSensorMultilevelReportSensorType.put("ELECTRICAL_CONDUCTIVITY", 0x1D);
+        reverseSensorMultilevelReportSensorType.put("LOUDNESS", 0x1E);
+        reverseSensorMultilevelReportSensorType.put("MOISTURE", 0x1F);
+        reverseSensorMultilevelReportSensorType.put("FREQUENCY", 0x20);
+        reverseSensorMultilevelReportSensorType.put("TIME", 0x21);
+        reverseSensorMultilevelReportSensorType.put("TARGET_TEMPERATURE", 0x22);
+        reverseSensorMultilevelReportSensorType.put("PARTICULATE_MATTER_2_5", 0x23);
+        reverseSensorMultilevelReportSensorType.put("FORMALDEHYDE_CH2O_LEVEL", 0x24);
+        reverseSensorMultilevelReportSensorType.put("RADON_CONCENTRATION", 0x25);
+        reverseSensorMultilevelReportSensorType.put("METHANE_DENSITY_CH4", 0x26);
+        reverseSensorMultilevelReportSensorType.put("VOLATILE_ORGANIC_COMPOUND", 0x27);
+        reverseSensorMultilevelReportSensorType.put("CARBON_MONOXIDE_CO_LEVEL", 0x28);
+        reverseSensorMultilevelReportSensorType.put("SOIL_HUMIDITY", 0x29);
+        reverseSensorMultilevelReportSensorType.put("SOIL_REACTIVITY", 0x2A);
+        reverseSensorMultilevelReportSensorType.put("SOIL_SALINITY", 0x2B);
+        reverseSensorMultilevelReportSensorType.put("HEART_RATE", 0x2C);
+        reverseSensorMultilevelReportSensorType.put("BLOOD_PRESSURE", 0x2D);
+        reverseSensorMultilevelReportSensorType.put("MUSCLE_MASS", 0x2E);
+        reverseSensorMultilevelReportSensorType.put("FAT_MASS", 0x2F);
+        reverseSensorMultilevelReportSensorType.put("BONE_MASS", 0x30);
+        reverseSensorMultilevelReportSensorType.put("TOTAL_BODY_WATER_TBW", 0x31);
+        reverseSensorMultilevelReportSensorType.put("BASIC_METABOLIC_RATE_BMR", 0x32);
+        reverseSensorMultilevelReportSensorType.put("BODY_MASS_INDEX_BMI", 0x33);
+        reverseSensorMultilevelReportSensorType.put("ACCELERATION_X_AXIS", 0x34);
+        reverseSensorMultilevelReportSensorType.put("ACCELERATION_Y_AXIS", 0x35);
+        reverseSensorMultilevelReportSensorType.put("ACCELERATION_Z_AXIS", 0x36);
+        reverseSensorMultilevelReportSensorType.put("SMOKE_DENSITY", 0x37);
+        reverseSensorMultilevelReportSensorType.put("WATER_FLOW", 0x38);
+        reverseSensorMultilevelReportSensorType.put("WATER_PRESSURE", 0x39);
+        reverseSensorMultilevelReportSensorType.put("RF_SIGNAL_STRENGTH", 0x3A);
+
+        // Reverse constants for SensorMultilevelSupportedSensorReportBitMask
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("AIR_TEMPERATURE", 0x01);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("LUMINANCE", 0x03);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("POWER", 0x04);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("HUMIDITY", 0x05);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("VELOCITY", 0x06);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("DIRECTION", 0x07);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("DEW_POINT", 0x0B);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("RAIN_RATE", 0x0C);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("TIDE_LEVEL", 0x0D);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("WEIGHT", 0x0E);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("VOLTAGE", 0x0F);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("CURRENT", 0x10);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("CO2_LEVEL", 0x11);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("AIR_FLOW", 0x12);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("TANK_CAPACITY", 0x13);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("DISTANCE", 0x14);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ANGLE_POSITION", 0x15);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ROTATION", 0x16);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("WATER_TEMPERATURE", 0x17);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SOIL_TEMPERATURE", 0x18);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SEISMIC_INTENSITY", 0x19);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SEISMIC_MAGNITUDE", 0x1A);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ULTRAVIOLET", 0x1B);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ELECTRICAL_RESISTIVITY", 0x1C);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ELECTRICAL_CONDUCTIVITY", 0x1D);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("LOUDNESS", 0x1E);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("MOISTURE", 0x1F);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("FREQUENCY", 0x20);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("TIME", 0x21);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("TARGET_TEMPERATURE", 0x22);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("PARTICULATE_MATTER_2_5", 0x23);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("FORMALDEHYDE_CH2O_LEVEL", 0x24);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("RADON_CONCENTRATION", 0x25);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("METHANE_DENSITY_CH4", 0x26);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("VOLATILE_ORGANIC_COMPOUND", 0x27);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("CARBON_MONOXIDE_CO_LEVEL", 0x28);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SOIL_HUMIDITY", 0x29);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SOIL_REACTIVITY", 0x2A);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SOIL_SALINITY", 0x2B);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("HEART_RATE", 0x2C);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("BLOOD_PRESSURE", 0x2D);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("MUSCLE_MASS", 0x2E);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("FAT_MASS", 0x2F);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("BONE_MASS", 0x30);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("TOTAL_BODY_WATER_TBW", 0x31);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("BASIC_METABOLIC_RATE_BMR", 0x32);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("BODY_MASS_INDEX_BMI", 0x33);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ACCELERATION_X_AXIS", 0x34);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ACCELERATION_Y_AXIS", 0x35);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("ACCELERATION_Z_AXIS", 0x36);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("SMOKE_DENSITY", 0x37);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("WATER_FLOW", 0x38);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("WATER_PRESSURE", 0x39);
+        reverseSensorMultilevelSupportedSensorReportBitMask.put("RF_SIGNAL_STRENGTH", 0x3A);
+
+        // Reverse constants for SensorMultilevelSupportedScaleReportSensorType
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("LUMINANCE", 0x03);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("POWER", 0x04);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("RELATIVE_HUMIDITY", 0x05);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("VELOCITY", 0x06);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("DIRECTION", 0x07);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("DEW_POINT", 0x0B);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("RAIN_RATE", 0x0C);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("TIDE_LEVEL", 0x0D);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("WEIGHT", 0x0E);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("VOLTAGE", 0x0F);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("CURRENT", 0x10);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("CO2_LEVEL", 0x11);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("AIR_FLOW", 0x12);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("TANK_CAPACITY", 0x13);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("DISTANCE", 0x14);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ANGLE_POSITION", 0x15);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ROTATION", 0x16);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("WATER_TEMPERATURE", 0x17);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SOIL_TEMPERATURE", 0x18);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SEISMIC_INTENSITY", 0x19);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SEISMIC_MAGNITUDE", 0x1A);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ULTRAVIOLET", 0x1B);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ELECTRICAL_RESISTIVITY", 0x1C);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ELECTRICAL_CONDUCTIVITY", 0x1D);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("LOUDNESS", 0x1E);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("MOISTURE", 0x1F);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("FREQUENCY", 0x20);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("TIME", 0x21);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("TARGET_TEMPERATURE", 0x22);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("PARTICULATE_MATTER_2_5", 0x23);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("FORMALDEHYDE_CH2O_LEVEL", 0x24);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("RADON_CONCENTRATION", 0x25);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("METHANE_DENSITY_CH4", 0x26);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("VOLATILE_ORGANIC_COMPOUND", 0x27);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("CARBON_MONOXIDE_CO_LEVEL", 0x28);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SOIL_HUMIDITY", 0x29);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SOIL_REACTIVITY", 0x2A);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SOIL_SALINITY", 0x2B);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("HEART_RATE", 0x2C);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("BLOOD_PRESSURE", 0x2D);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("MUSCLE_MASS", 0x2E);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("FAT_MASS", 0x2F);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("BONE_MASS", 0x30);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("TOTAL_BODY_WATER_TBW", 0x31);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("BASIC_METABOLIC_RATE_BMR", 0x32);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("BODY_MASS_INDEX_BMI", 0x33);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ACCELERATION_X_AXIS", 0x34);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ACCELERATION_Y_AXIS", 0x35);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("ACCELERATION_Z_AXIS", 0x36);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("SMOKE_DENSITY", 0x37);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("WATER_FLOW", 0x38);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("WATER_PRESSURE", 0x39);
+        reverseSensorMultilevelSupportedScaleReportSensorType.put("RF_SIGNAL_STRENGTH", 0x3A);
+
+        // Reverse constants for SensorMultilevelGetSensorType
+        reverseSensorMultilevelGetSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorMultilevelGetSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorMultilevelGetSensorType.put("LUMINANCE", 0x03);
+        reverseSensorMultilevelGetSensorType.put("POWER", 0x04);
+        reverseSensorMultilevelGetSensorType.put("RELATIVE_HUMIDITY", 0x05);
+        reverseSensorMultilevelGetSensorType.put("VELOCITY", 0x06);
+        reverseSensorMultilevelGetSensorType.put("DIRECTION", 0x07);
+        reverseSensorMultilevelGetSensorType.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorMultilevelGetSensorType.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorMultilevelGetSensorType.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorMultilevelGetSensorType.put("DEW_POINT", 0x0B);
+        reverseSensorMultilevelGetSensorType.put("RAIN_RATE", 0x0C);
+        reverseSensorMultilevelGetSensorType.put("TIDE_LEVEL", 0x0D);
+        reverseSensorMultilevelGetSensorType.put("WEIGHT", 0x0E);
+        reverseSensorMultilevelGetSensorType.put("VOLTAGE", 0x0F);
+        reverseSensorMultilevelGetSensorType.put("CURRENT", 0x10);
+        reverseSensorMultilevelGetSensorType.put("CO2_LEVEL", 0x11);
+        reverseSensorMultilevelGetSensorType.put("AIR_FLOW", 0x12);
+        reverseSensorMultilevelGetSensorType.put("TANK_CAPACITY", 0x13);
+        reverseSensorMultilevelGetSensorType.put("DISTANCE", 0x14);
+        reverseSensorMultilevelGetSensorType.put("ANGLE_POSITION", 0x15);
+        reverseSensorMultilevelGetSensorType.put("ROTATION", 0x16);
+        reverseSensorMultilevelGetSensorType.put("WATER_TEMPERATURE", 0x17);
+        reverseSensorMultilevelGetSensorType.put("SOIL_TEMPERATURE", 0x18);
+        reverseSensorMultilevelGetSensorType.put("SEISMIC_INTENSITY", 0x19);
+        reverseSensorMultilevelGetSensorType.put("SEISMIC_MAGNITUDE", 0x1A);
+        reverseSensorMultilevelGetSensorType.put("ULTRAVIOLET", 0x1B);
+        reverseSensorMultilevelGetSensorType.put("ELECTRICAL_RESISTIVITY", 0x1C);
+        reverseSensorMultilevelGetSensorType.put("ELECTRICAL_CONDUCTIVITY", 0x1D);
+        reverseSensorMultilevelGetSensorType.put("LOUDNESS", 0x1E);
+        reverseSensorMultilevelGetSensorType.put("MOISTURE", 0x1F);
+        reverseSensorMultilevelGetSensorType.put("FREQUENCY", 0x20);
+        reverseSensorMultilevelGetSensorType.put("TIME", 0x21);
+        reverseSensorMultilevelGetSensorType.put("TARGET_TEMPERATURE", 0x22);
+        reverseSensorMultilevelGetSensorType.put("PARTICULATE_MATTER_2_5", 0x23);
+        reverseSensorMultilevelGetSensorType.put("FORMALDEHYDE_CH2O_LEVEL", 0x24);
+        reverseSensorMultilevelGetSensorType.put("RADON_CONCENTRATION", 0x25);
+        reverseSensorMultilevelGetSensorType.put("METHANE_DENSITY_CH4", 0x26);
+        reverseSensorMultilevelGetSensorType.put("VOLATILE_ORGANIC_COMPOUND", 0x27);
+        reverseSensorMultilevelGetSensorType.put("CARBON_MONOXIDE_CO_LEVEL", 0x28);
+        reverseSensorMultilevelGetSensorType.put("SOIL_HUMIDITY", 0x29);
+        reverseSensorMultilevelGetSensorType.put("SOIL_REACTIVITY", 0x2A);
+        reverseSensorMultilevelGetSensorType.put("SOIL_SALINITY", 0x2B);
+        reverseSensorMultilevelGetSensorType.put("HEART_RATE", 0x2C);
+        reverseSensorMultilevelGetSensorType.put("BLOOD_PRESSURE", 0x2D);
+        reverseSensorMultilevelGetSensorType.put("MUSCLE_MASS", 0x2E);
+        reverseSensorMultilevelGetSensorType.put("FAT_MASS", 0x2F);
+        reverseSensorMultilevelGetSensorType.put("BONE_MASS", 0x30);
+        reverseSensorMultilevelGetSensorType.put("TOTAL_BODY_WATER_TBW", 0x31);
+        reverseSensorMultilevelGetSensorType.put("BASIC_METABOLIC_RATE_BMR", 0x32);
+        reverseSensorMultilevelGetSensorType.put("BODY_MASS_INDEX_BMI", 0x33);
+        reverseSensorMultilevelGetSensorType.put("ACCELERATION_X_AXIS", 0x34);
+        reverseSensorMultilevelGetSensorType.put("ACCELERATION_Y_AXIS", 0x35);
+        reverseSensorMultilevelGetSensorType.put("ACCELERATION_Z_AXIS", 0x36);
+        reverseSensorMultilevelGetSensorType.put("SMOKE_DENSITY", 0x37);
+        reverseSensorMultilevelGetSensorType.put("WATER_FLOW", 0x38);
+        reverseSensorMultilevelGetSensorType.put("WATER_PRESSURE", 0x39);
+        reverseSensorMultilevelGetSensorType.put("RF_SIGNAL_STRENGTH", 0x3A);
+
+        // Reverse constants for SensorMultilevelSupportedGetScaleSensorType
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("TEMPERATURE", 0x01);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("GENERAL_PURPOSE_VALUE", 0x02);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("LUMINANCE", 0x03);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("POWER", 0x04);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("RELATIVE_HUMIDITY", 0x05);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("VELOCITY", 0x06);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("DIRECTION", 0x07);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ATMOSPHERIC_PRESSURE", 0x08);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("BAROMETRIC_PRESSURE", 0x09);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SOLAR_RADIATION", 0x0A);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("DEW_POINT", 0x0B);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("RAIN_RATE", 0x0C);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("TIDE_LEVEL", 0x0D);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("WEIGHT", 0x0E);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("VOLTAGE", 0x0F);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("CURRENT", 0x10);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("CO2_LEVEL", 0x11);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("AIR_FLOW", 0x12);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("TANK_CAPACITY", 0x13);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("DISTANCE", 0x14);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ANGLE_POSITION", 0x15);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ROTATION", 0x16);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("WATER_TEMPERATURE", 0x17);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SOIL_TEMPERATURE", 0x18);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SEISMIC_INTENSITY", 0x19);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SEISMIC_MAGNITUDE", 0x1A);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ULTRAVIOLET", 0x1B);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ELECTRICAL_RESISTIVITY", 0x1C);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ELECTRICAL_CONDUCTIVITY", 0x1D);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("LOUDNESS", 0x1E);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("MOISTURE", 0x1F);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("FREQUENCY", 0x20);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("TIME", 0x21);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("TARGET_TEMPERATURE", 0x22);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("PARTICULATE_MATTER_2_5", 0x23);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("FORMALDEHYDE_CH2O_LEVEL", 0x24);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("RADON_CONCENTRATION", 0x25);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("METHANE_DENSITY_CH4", 0x26);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("VOLATILE_ORGANIC_COMPOUND", 0x27);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("CARBON_MONOXIDE_CO_LEVEL", 0x28);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SOIL_HUMIDITY", 0x29);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SOIL_REACTIVITY", 0x2A);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SOIL_SALINITY", 0x2B);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("HEART_RATE", 0x2C);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("BLOOD_PRESSURE", 0x2D);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("MUSCLE_MASS", 0x2E);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("FAT_MASS", 0x2F);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("BONE_MASS", 0x30);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("TOTAL_BODY_WATER_TBW", 0x31);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("BASIC_METABOLIC_RATE_BMR", 0x32);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("BODY_MASS_INDEX_BMI", 0x33);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ACCELERATION_X_AXIS", 0x34);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ACCELERATION_Y_AXIS", 0x35);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("ACCELERATION_Z_AXIS", 0x36);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("SMOKE_DENSITY", 0x37);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("WATER_FLOW", 0x38);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("WATER_PRESSURE", 0x39);
+        reverseSensorMultilevelSupportedGetScaleSensorType.put("RF_SIGNAL_STRENGTH", 0x3A);
     }
 
     /**
@@ -399,13 +743,31 @@ public class CommandClassSensorMultilevelV9 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorMultilevelSupportedGetSensor() {
+        byte[] outputData = new byte[SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR_LENGTH];
+        getSensorMultilevelSupportedGetSensor(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getSensorMultilevelSupportedGetSensor(ByteBuffer buffer) {
         logger.debug("Creating command message SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR version 9");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR);
+        if (buffer.remaining() < SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_MULTILEVEL_SUPPORTED_GET_SENSOR);
     }
 
     /**
@@ -504,17 +866,11 @@ public class CommandClassSensorMultilevelV9 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantSensorMultilevelSupportedSensorReportBitMask.keySet()) {
-                if (constantSensorMultilevelSupportedSensorReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseSensorMultilevelSupportedSensorReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -686,26 +1042,101 @@ public class CommandClassSensorMultilevelV9 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorMultilevelSupportedGetScale(String sensorType) {
+        byte[] outputData = new byte[SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE_LENGTH];
+        getSensorMultilevelSupportedGetScale(ByteBuffer.wrap(outputData), sensorType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>TEMPERATURE
+     *            <li>GENERAL_PURPOSE_VALUE
+     *            <li>LUMINANCE
+     *            <li>POWER
+     *            <li>RELATIVE_HUMIDITY
+     *            <li>VELOCITY
+     *            <li>DIRECTION
+     *            <li>ATMOSPHERIC_PRESSURE
+     *            <li>BAROMETRIC_PRESSURE
+     *            <li>SOLAR_RADIATION
+     *            <li>DEW_POINT
+     *            <li>RAIN_RATE
+     *            <li>TIDE_LEVEL
+     *            <li>WEIGHT
+     *            <li>VOLTAGE
+     *            <li>CO2_LEVEL
+     *            <li>CURRENT
+     *            <li>TANK_CAPACITY
+     *            <li>AIR_FLOW
+     *            <li>ANGLE_POSITION
+     *            <li>DISTANCE
+     *            <li>WATER_TEMPERATURE
+     *            <li>ROTATION
+     *            <li>SEISMIC_INTENSITY
+     *            <li>SOIL_TEMPERATURE
+     *            <li>ULTRAVIOLET
+     *            <li>SEISMIC_MAGNITUDE
+     *            <li>ELECTRICAL_CONDUCTIVITY
+     *            <li>ELECTRICAL_RESISTIVITY
+     *            <li>MOISTURE
+     *            <li>LOUDNESS
+     *            <li>TARGET_TEMPERATURE
+     *            <li>PARTICULATE_MATTER_2_5
+     *            <li>FREQUENCY
+     *            <li>TIME
+     *            <li>METHANE_DENSITY_CH4
+     *            <li>VOLATILE_ORGANIC_COMPOUND
+     *            <li>FORMALDEHYDE_CH2O_LEVEL
+     *            <li>RADON_CONCENTRATION
+     *            <li>SOIL_REACTIVITY
+     *            <li>SOIL_SALINITY
+     *            <li>CARBON_MONOXIDE_CO_LEVEL
+     *            <li>SOIL_HUMIDITY
+     *            <li>MUSCLE_MASS
+     *            <li>FAT_MASS
+     *            <li>HEART_RATE
+     *            <li>BLOOD_PRESSURE
+     *            <li>BODY_MASS_INDEX_BMI
+     *            <li>BASIC_METABOLIC_RATE_BMR
+     *            <li>TOTAL_BODY_WATER_TBW
+     *            <li>BONE_MASS
+     *            <li>SMOKE_DENSITY
+     *            <li>ACCELERATION_Z_AXIS
+     *            <li>ACCELERATION_Y_AXIS
+     *            <li>ACCELERATION_X_AXIS
+     *            <li>RF_SIGNAL_STRENGTH
+     *            <li>WATER_PRESSURE
+     *            <li>WATER_FLOW
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getSensorMultilevelSupportedGetScale(ByteBuffer buffer, String sensorType) {
         logger.debug("Creating command message SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE version 9");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE);
+        if (buffer.remaining() < SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorMultilevelSupportedGetScaleSensorType.keySet()) {
-            if (constantSensorMultilevelSupportedGetScaleSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorMultilevelSupportedGetScaleSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_MULTILEVEL_SUPPORTED_GET_SCALE);
+        buffer.put(varSensorType.byteValue());
     }
 
     /**
@@ -867,29 +1298,101 @@ public class CommandClassSensorMultilevelV9 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorMultilevelGet(String sensorType, Integer scale) {
+        byte[] outputData = new byte[SENSOR_MULTILEVEL_GET_LENGTH];
+        getSensorMultilevelGet(ByteBuffer.wrap(outputData), sensorType, scale);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_MULTILEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_MULTILEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>TEMPERATURE
+     *            <li>GENERAL_PURPOSE_VALUE
+     *            <li>LUMINANCE
+     *            <li>POWER
+     *            <li>RELATIVE_HUMIDITY
+     *            <li>VELOCITY
+     *            <li>DIRECTION
+     *            <li>ATMOSPHERIC_PRESSURE
+     *            <li>BAROMETRIC_PRESSURE
+     *            <li>SOLAR_RADIATION
+     *            <li>DEW_POINT
+     *            <li>RAIN_RATE
+     *            <li>TIDE_LEVEL
+     *            <li>WEIGHT
+     *            <li>VOLTAGE
+     *            <li>CO2_LEVEL
+     *            <li>CURRENT
+     *            <li>TANK_CAPACITY
+     *            <li>AIR_FLOW
+     *            <li>ANGLE_POSITION
+     *            <li>DISTANCE
+     *            <li>WATER_TEMPERATURE
+     *            <li>ROTATION
+     *            <li>SEISMIC_INTENSITY
+     *            <li>SOIL_TEMPERATURE
+     *            <li>ULTRAVIOLET
+     *            <li>SEISMIC_MAGNITUDE
+     *            <li>ELECTRICAL_CONDUCTIVITY
+     *            <li>ELECTRICAL_RESISTIVITY
+     *            <li>MOISTURE
+     *            <li>LOUDNESS
+     *            <li>TARGET_TEMPERATURE
+     *            <li>PARTICULATE_MATTER_2_5
+     *            <li>FREQUENCY
+     *            <li>TIME
+     *            <li>METHANE_DENSITY_CH4
+     *            <li>VOLATILE_ORGANIC_COMPOUND
+     *            <li>FORMALDEHYDE_CH2O_LEVEL
+     *            <li>RADON_CONCENTRATION
+     *            <li>SOIL_REACTIVITY
+     *            <li>SOIL_SALINITY
+     *            <li>CARBON_MONOXIDE_CO_LEVEL
+     *            <li>SOIL_HUMIDITY
+     *            <li>MUSCLE_MASS
+     *            <li>FAT_MASS
+     *            <li>HEART_RATE
+     *            <li>BLOOD_PRESSURE
+     *            <li>BODY_MASS_INDEX_BMI
+     *            <li>BASIC_METABOLIC_RATE_BMR
+     *            <li>TOTAL_BODY_WATER_TBW
+     *            <li>BONE_MASS
+     *            <li>SMOKE_DENSITY
+     *            <li>ACCELERATION_Z_AXIS
+     *            <li>ACCELERATION_Y_AXIS
+     *            <li>ACCELERATION_X_AXIS
+     *            <li>RF_SIGNAL_STRENGTH
+     *            <li>WATER_PRESSURE
+     *            <li>WATER_FLOW
+     *            </ul>
+     * @param scale {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_MULTILEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSensorMultilevelGet(ByteBuffer buffer, String sensorType, Integer scale) {
         logger.debug("Creating command message SENSOR_MULTILEVEL_GET version 9");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_MULTILEVEL_GET);
+        if (buffer.remaining() < SENSOR_MULTILEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorMultilevelGetSensorType.keySet()) {
-            if (constantSensorMultilevelGetSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorMultilevelGetSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
 
-        // Process 'Properties1'
-        outputData.write(((scale << 3) & 0x18));
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_MULTILEVEL_GET);
+        buffer.put(varSensorType.byteValue());
+        buffer.put((byte) (((scale << 3) & 0x18)));
     }
 
     /**
@@ -1065,17 +1568,11 @@ public class CommandClassSensorMultilevelV9 {
         outputData.write(SENSOR_MULTILEVEL_REPORT);
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorMultilevelReportSensorType.keySet()) {
-            if (constantSensorMultilevelReportSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorMultilevelReportSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
+        outputData.write(varSensorType);
 
         // Process 'Level'
         // Size is used by 'Sensor Value'
@@ -1172,38 +1669,116 @@ public class CommandClassSensorMultilevelV9 {
      * <li>PRECISION {@link Integer}
      * <li>SENSOR_VALUE {@link byte[]}
      * </ul>
+     * <p>
+     * The map is built from a {@link SensorMultilevelReport} view. Use the view directly to process the
+     * frame without allocating.
      *
      * @param payload the {@link byte[]} payload data to process
      * @return a {@link Map} of processed response data
      */
     public static Map<String, Object> handleSensorMultilevelReport(byte[] payload) {
+        SensorMultilevelReport report = new SensorMultilevelReport().wrap(payload);
+
         // Create our response map
         Map<String, Object> response = new HashMap<String, Object>();
 
-        // We're using variable length fields, so track the offset
-        int msgOffset = 2;
+        response.put("SENSOR_TYPE", report.getSensorTypeLabel());
 
-        // Process 'Sensor Type'
-        response.put("SENSOR_TYPE", constantSensorMultilevelReportSensorType.get(payload[msgOffset] & 0xff));
-        msgOffset += 1;
+        // The map has always used these encodings, so keep them for existing consumers
+        response.put("SCALE", Integer.valueOf(payload[3] & 0x18 >> 3));
+        response.put("PRECISION", Integer.valueOf(payload[3] & 0xE0 >> 5));
+        response.put("SENSOR_VALUE", report.getSensorValueBytes());
 
-        // Process 'Level'
-        // Size is used by 'Sensor Value'
-        int varSize = payload[msgOffset] & 0x07;
-        response.put("SCALE", Integer.valueOf(payload[msgOffset] & 0x18 >> 3));
-        response.put("PRECISION", Integer.valueOf(payload[msgOffset] & 0xE0 >> 5));
-        msgOffset += 1;
+        // Return the map of processed response data;
+        return response;
+    }
 
-        // Process 'Sensor Value'
-        ByteArrayOutputStream valSensorValue = new ByteArrayOutputStream();
-        for (int cntSensorValue = 0; cntSensorValue < varSize; cntSensorValue++) {
-            valSensorValue.write(payload[msgOffset + cntSensorValue]);
+    /**
+     * Typed view over a received SENSOR_MULTILEVEL_REPORT frame.
+     * <p>
+     * Fields are decoded from the payload buffer as they are read, so processing a report does not create any
+     * objects. The view can be reused for subsequent frames by calling {@link #wrap(byte[])}.
+     */
+    public static class SensorMultilevelReport {
+        private byte[] payload;
+
+        /**
+         * Sets the frame this view decodes. The buffer is referenced, not copied.
+         *
+         * @param payload the {@link byte[]} payload data to process
+         * @return this view
+         */
+        public SensorMultilevelReport wrap(byte[] payload) {
+            this.payload = payload;
+            return this;
         }
-        response.put("SENSOR_VALUE", valSensorValue.toByteArray());
-        msgOffset += varSize;
 
-        // Return the map of processed response data;
-        return response;
+        /**
+         * @return the 'Sensor Type' value
+         */
+        public int getSensorType() {
+            return payload[2] & 0xff;
+        }
+
+        /**
+         * @return the 'Sensor Type' constant, or null if the value is not known
+         */
+        public String getSensorTypeLabel() {
+            return constantSensorMultilevelReportSensorType.get(getSensorType());
+        }
+
+        /**
+         * @return the 'Scale' value
+         */
+        public int getScale() {
+            return (payload[3] & 0x18) >> 3;
+        }
+
+        /**
+         * @return the 'Precision' value
+         */
+        public int getPrecision() {
+            return (payload[3] & 0xE0) >> 5;
+        }
+
+        /**
+         * @return the number of bytes in 'Sensor Value'
+         */
+        public int getSensorValueSize() {
+            return payload[3] & 0x07;
+        }
+
+        /**
+         * @return 'Sensor Value' as a signed big endian integer
+         * @throws IllegalStateException if the value is more than 4 bytes, so does not fit in an int
+         */
+        public int getSensorValue() {
+            int size = getSensorValueSize();
+            if (size == 0) {
+                return 0;
+            }
+            if (size > 4) {
+                throw new IllegalStateException("'Sensor Value' is " + size + " bytes");
+            }
+            int offset = 4;
+            int value = payload[offset];
+            for (int cnt = 1; cnt < size; cnt++) {
+                value = (value << 8) | (payload[offset + cnt] & 0xff);
+            }
+            return value;
+        }
+
+        /**
+         * @return a copy of the 'Sensor Value' bytes
+         */
+        public byte[] getSensorValueBytes() {
+            int offset = 4;
+            int size = getSensorValueSize();
+            if (offset + size > payload.length) {
+                throw new ArrayIndexOutOfBoundsException(offset + size - 1);
+            }
+            return Arrays.copyOfRange(payload, offset, offset + size);
+        }
     }
 
     /**
@@ -1278,29 +1853,104 @@ public class CommandClassSensorMultilevelV9 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSensorMultilevelSupportedScaleReport(String sensorType, Integer scaleBitMask) {
+        byte[] outputData = new byte[SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT_LENGTH];
+        getSensorMultilevelSupportedScaleReport(ByteBuffer.wrap(outputData), sensorType, scaleBitMask);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sensorType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>TEMPERATURE
+     *            <li>GENERAL_PURPOSE_VALUE
+     *            <li>LUMINANCE
+     *            <li>POWER
+     *            <li>RELATIVE_HUMIDITY
+     *            <li>VELOCITY
+     *            <li>DIRECTION
+     *            <li>ATMOSPHERIC_PRESSURE
+     *            <li>BAROMETRIC_PRESSURE
+     *            <li>SOLAR_RADIATION
+     *            <li>DEW_POINT
+     *            <li>RAIN_RATE
+     *            <li>TIDE_LEVEL
+     *            <li>WEIGHT
+     *            <li>VOLTAGE
+     *            <li>CO2_LEVEL
+     *            <li>CURRENT
+     *            <li>TANK_CAPACITY
+     *            <li>AIR_FLOW
+     *            <li>ANGLE_POSITION
+     *            <li>DISTANCE
+     *            <li>WATER_TEMPERATURE
+     *            <li>ROTATION
+     *            <li>SEISMIC_INTENSITY
+     *            <li>SOIL_TEMPERATURE
+     *            <li>ULTRAVIOLET
+     *            <li>SEISMIC_MAGNITUDE
+     *            <li>ELECTRICAL_CONDUCTIVITY
+     *            <li>ELECTRICAL_RESISTIVITY
+     *            <li>MOISTURE
+     *            <li>LOUDNESS
+     *            <li>TARGET_TEMPERATURE
+     *            <li>PARTICULATE_MATTER_2_5
+     *            <li>FREQUENCY
+     *            <li>TIME
+     *            <li>METHANE_DENSITY_CH4
+     *            <li>VOLATILE_ORGANIC_COMPOUND
+     *            <li>FORMALDEHYDE_CH2O_LEVEL
+     *            <li>RADON_CONCENTRATION
+     *            <li>SOIL_REACTIVITY
+     *            <li>SOIL_SALINITY
+     *            <li>CARBON_MONOXIDE_CO_LEVEL
+     *            <li>SOIL_HUMIDITY
+     *            <li>MUSCLE_MASS
+     *            <li>FAT_MASS
+     *            <li>HEART_RATE
+     *            <li>BLOOD_PRESSURE
+     *            <li>BODY_MASS_INDEX_BMI
+     *            <li>BASIC_METABOLIC_RATE_BMR
+     *            <li>TOTAL_BODY_WATER_TBW
+     *            <li>BONE_MASS
+     *            <li>SMOKE_DENSITY
+     *            <li>ACCELERATION_Z_AXIS
+     *            <li>ACCELERATION_Y_AXIS
+     *            <li>ACCELERATION_X_AXIS
+     *            <li>RF_SIGNAL_STRENGTH
+     *            <li>WATER_PRESSURE
+     *            <li>WATER_FLOW
+     *            </ul>
+     * @param scaleBitMask {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getSensorMultilevelSupportedScaleReport(ByteBuffer buffer, String sensorType,
+            Integer scaleBitMask) {
         logger.debug("Creating command message SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT version 9");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT);
+        if (buffer.remaining() < SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Sensor Type'
-        boolean foundSensorType = false;
-        for (Integer entry : constantSensorMultilevelSupportedScaleReportSensorType.keySet()) {
-            if (constantSensorMultilevelSupportedScaleReportSensorType.get(entry).equals(sensorType)) {
-                outputData.write(entry);
-                foundSensorType = true;
-                break;
-            }
-        }
-        if (!foundSensorType) {
+        Integer varSensorType = reverseSensorMultilevelSupportedScaleReportSensorType.get(sensorType);
+        if (varSensorType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + sensorType + "' for sensorType");
         }
 
-        // Process 'Properties1'
-        outputData.write(scaleBitMask & 0x0F);
-
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SENSOR_MULTILEVEL_SUPPORTED_SCALE_REPORT);
+        buffer.put(varSensorType.byteValue());
+        buffer.put((byte) (scaleBitMask & 0x0F));
     }
 
     /**
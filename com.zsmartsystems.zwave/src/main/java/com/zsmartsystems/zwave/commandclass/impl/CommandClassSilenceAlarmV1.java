@@ -47,12 +47,23 @@ public class CommandClassSilenceAlarmV1 {
      */
     private static Map<Integer, String> constantSensorAlarmSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SensorAlarmSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSensorAlarmSetMode = new HashMap<String, Integer>();
+
     static {
         // Constants for SensorAlarmSetMode
         constantSensorAlarmSetMode.put(0x00, "DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS");
         constantSensorAlarmSetMode.put(0x01, "DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS_INDEPENDENT_OF_BIT_MASK_WHICH_HAVE_RECEIVED_THE_ALARM");
         constantSensorAlarmSetMode.put(0x02, "DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS_ACCORDING_TO_BIT_MASK");
         constantSensorAlarmSetMode.put(0x03, "DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS_ACCORDING_TO_BIT_MASK_WHICH_HAVE_RECEIVED_THE_ALARM");
+
+        // Reverse constants for SensorAlarmSetMode
+        reverseSensorAlarmSetMode.put("DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS", 0x00);
+        reverseSensorAlarmSetMode.put("DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS_INDEPENDENT_OF_BIT_MASK_WHICH_HAVE_RECEIVED_THE_ALARM", 0x01);
+        reverseSensorAlarmSetMode.put("DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS_ACCORDING_TO_BIT_MASK", 0x02);
+        reverseSensorAlarmSetMode.put("DISABLE_SOUNDING_OF_ALL_SENSOR_ALARMS_ACCORDING_TO_BIT_MASK_WHICH_HAVE_RECEIVED_THE_ALARM", 0x03);
     }
 
     /**
@@ -82,17 +93,11 @@ public class CommandClassSilenceAlarmV1 {
         outputData.write(SENSOR_ALARM_SET);
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantSensorAlarmSetMode.keySet()) {
-            if (constantSensorAlarmSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseSensorAlarmSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
+        outputData.write(varMode);
 
         // Process 'Seconds'
         outputData.write((seconds >> 8) & 0xff);
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,18 +45,34 @@ public class CommandClassSimpleAvControlV1 {
      * Simple Av Control Set Command Constant
      */
     public final static int SIMPLE_AV_CONTROL_SET = 0x01;
+    /**
+     * Length of the encoded SIMPLE_AV_CONTROL_SET command
+     */
+    public final static int SIMPLE_AV_CONTROL_SET_LENGTH = 6;
     /**
      * Simple Av Control Get Command Constant
      */
     public final static int SIMPLE_AV_CONTROL_GET = 0x02;
+    /**
+     * Length of the encoded SIMPLE_AV_CONTROL_GET command
+     */
+    public final static int SIMPLE_AV_CONTROL_GET_LENGTH = 2;
     /**
      * Simple Av Control Report Command Constant
      */
     public final static int SIMPLE_AV_CONTROL_REPORT = 0x03;
+    /**
+     * Length of the encoded SIMPLE_AV_CONTROL_REPORT command
+     */
+    public final static int SIMPLE_AV_CONTROL_REPORT_LENGTH = 3;
     /**
      * Simple Av Control Supported Get Command Constant
      */
     public final static int SIMPLE_AV_CONTROL_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded SIMPLE_AV_CONTROL_SUPPORTED_GET command
+     */
+    public final static int SIMPLE_AV_CONTROL_SUPPORTED_GET_LENGTH = 3;
     /**
      * Simple Av Control Supported Report Command Constant
      */
@@ -72,25 +90,37 @@ public class CommandClassSimpleAvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSimpleAvControlSet(Integer sequenceNumber, Integer keyAttributes, Integer itemId) {
-        logger.debug("Creating command message SIMPLE_AV_CONTROL_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SIMPLE_AV_CONTROL_SET);
-
-        // Process 'Sequence Number'
-        outputData.write(sequenceNumber);
-
-        // Process 'Properties1'
-        outputData.write(keyAttributes & 0x07);
+        byte[] outputData = new byte[SIMPLE_AV_CONTROL_SET_LENGTH];
+        getSimpleAvControlSet(ByteBuffer.wrap(outputData), sequenceNumber, keyAttributes, itemId);
+        return outputData;
+    }
 
-        // Process 'Item ID'
-        outputData.write((itemId >> 8) & 0xff);
-        outputData.write(itemId & 0xff);
+    /**
+     * Writes a new message with the SIMPLE_AV_CONTROL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SIMPLE_AV_CONTROL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sequenceNumber {@link Integer}
+     * @param keyAttributes {@link Integer}
+     * @param itemId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SIMPLE_AV_CONTROL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSimpleAvControlSet(ByteBuffer buffer, Integer sequenceNumber, Integer keyAttributes,
+            Integer itemId) {
+        logger.debug("Creating command message SIMPLE_AV_CONTROL_SET version 1");
 
-        // Process 'vg'
+        if (buffer.remaining() < SIMPLE_AV_CONTROL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SIMPLE_AV_CONTROL_SET);
+        buffer.put(sequenceNumber.byteValue());
+        buffer.put((byte) (keyAttributes & 0x07));
+        buffer.put((byte) ((itemId >> 8) & 0xff));
+        buffer.put((byte) (itemId & 0xff));
     }
 
     /**
@@ -152,13 +182,29 @@ public class CommandClassSimpleAvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSimpleAvControlGet() {
+        byte[] outputData = new byte[SIMPLE_AV_CONTROL_GET_LENGTH];
+        getSimpleAvControlGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SIMPLE_AV_CONTROL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SIMPLE_AV_CONTROL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SIMPLE_AV_CONTROL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSimpleAvControlGet(ByteBuffer buffer) {
         logger.debug("Creating command message SIMPLE_AV_CONTROL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SIMPLE_AV_CONTROL_GET);
+        if (buffer.remaining() < SIMPLE_AV_CONTROL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SIMPLE_AV_CONTROL_GET);
     }
 
     /**
@@ -186,16 +232,31 @@ public class CommandClassSimpleAvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSimpleAvControlReport(Integer numberOfReports) {
-        logger.debug("Creating command message SIMPLE_AV_CONTROL_REPORT version 1");
+        byte[] outputData = new byte[SIMPLE_AV_CONTROL_REPORT_LENGTH];
+        getSimpleAvControlReport(ByteBuffer.wrap(outputData), numberOfReports);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SIMPLE_AV_CONTROL_REPORT);
+    /**
+     * Writes a new message with the SIMPLE_AV_CONTROL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SIMPLE_AV_CONTROL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param numberOfReports {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SIMPLE_AV_CONTROL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSimpleAvControlReport(ByteBuffer buffer, Integer numberOfReports) {
+        logger.debug("Creating command message SIMPLE_AV_CONTROL_REPORT version 1");
 
-        // Process 'Number of reports'
-        outputData.write(numberOfReports);
+        if (buffer.remaining() < SIMPLE_AV_CONTROL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SIMPLE_AV_CONTROL_REPORT);
+        buffer.put(numberOfReports.byteValue());
     }
 
     /**
@@ -232,16 +293,32 @@ public class CommandClassSimpleAvControlV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSimpleAvControlSupportedGet(Integer reportNo) {
-        logger.debug("Creating command message SIMPLE_AV_CONTROL_SUPPORTED_GET version 1");
+        byte[] outputData = new byte[SIMPLE_AV_CONTROL_SUPPORTED_GET_LENGTH];
+        getSimpleAvControlSupportedGet(ByteBuffer.wrap(outputData), reportNo);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SIMPLE_AV_CONTROL_SUPPORTED_GET);
+    /**
+     * Writes a new message with the SIMPLE_AV_CONTROL_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SIMPLE_AV_CONTROL_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param reportNo {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SIMPLE_AV_CONTROL_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSimpleAvControlSupportedGet(ByteBuffer buffer, Integer reportNo) {
+        logger.debug("Creating command message SIMPLE_AV_CONTROL_SUPPORTED_GET version 1");
 
-        // Process 'Report No'
-        outputData.write(reportNo);
+        if (buffer.remaining() < SIMPLE_AV_CONTROL_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SIMPLE_AV_CONTROL_SUPPORTED_GET);
+        buffer.put(reportNo.byteValue());
     }
 
     /**
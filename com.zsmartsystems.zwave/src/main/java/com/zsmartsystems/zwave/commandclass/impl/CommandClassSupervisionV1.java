@@ -51,6 +51,11 @@ public class CommandClassSupervisionV1 {
      */
     private static Map<Integer, String> constantSupervisionReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SupervisionReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSupervisionReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SupervisionReportProperties1
      */
@@ -74,6 +79,13 @@ public class CommandClassSupervisionV1 {
 
         // Constants for SupervisionGetProperties1
         constantSupervisionGetProperties1.put(0x80, "STATUS_UPDATES");
+
+        // Reverse constants for SupervisionReportStatus
+        reverseSupervisionReportStatus.put("NO_SUPPORT", 0x00);
+        reverseSupervisionReportStatus.put("WORKING", 0x01);
+        reverseSupervisionReportStatus.put("FAIL", 0x02);
+        reverseSupervisionReportStatus.put("BUSY", 0x03);
+        reverseSupervisionReportStatus.put("SUCCESS", 0xFF);
     }
 
     /**
@@ -196,17 +208,11 @@ public class CommandClassSupervisionV1 {
         outputData.write(valProperties1);
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantSupervisionReportStatus.keySet()) {
-            if (constantSupervisionReportStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseSupervisionReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
+        outputData.write(varStatus);
 
         // Process 'Duration'
         outputData.write(duration);
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,33 +41,63 @@ public class CommandClassSwitchAllV1 {
      * Switch All Set Command Constant
      */
     public final static int SWITCH_ALL_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_ALL_SET command
+     */
+    public final static int SWITCH_ALL_SET_LENGTH = 3;
     /**
      * Switch All Get Command Constant
      */
     public final static int SWITCH_ALL_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_ALL_GET command
+     */
+    public final static int SWITCH_ALL_GET_LENGTH = 2;
     /**
      * Switch All Report Command Constant
      */
     public final static int SWITCH_ALL_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_ALL_REPORT command
+     */
+    public final static int SWITCH_ALL_REPORT_LENGTH = 3;
     /**
      * Switch All On Command Constant
      */
     public final static int SWITCH_ALL_ON = 0x04;
+    /**
+     * Length of the encoded SWITCH_ALL_ON command
+     */
+    public final static int SWITCH_ALL_ON_LENGTH = 2;
     /**
      * Switch All Off Command Constant
      */
     public final static int SWITCH_ALL_OFF = 0x05;
+    /**
+     * Length of the encoded SWITCH_ALL_OFF command
+     */
+    public final static int SWITCH_ALL_OFF_LENGTH = 2;
 
     /**
      * Map holding constants for SwitchAllReportMode
      */
     private static Map<Integer, String> constantSwitchAllReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchAllReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchAllReportMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchAllSetMode
      */
     private static Map<Integer, String> constantSwitchAllSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchAllSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchAllSetMode = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchAllReportMode
         constantSwitchAllReportMode.put(0x00, "EXCLUDED_FROM_THE_ALL_ON_ALL_OFF_FUNCTIONALITY");
@@ -79,6 +110,18 @@ public class CommandClassSwitchAllV1 {
         constantSwitchAllSetMode.put(0xFF, "INCLUDED_IN_THE_ALL_ON_ALL_OFF_FUNCTIONALITY");
         constantSwitchAllSetMode.put(0x01, "EXCLUDED_FROM_THE_ALL_ON_FUNCTIONALITY_BUT_NOT_ALL_OFF");
         constantSwitchAllSetMode.put(0x02, "EXCLUDED_FROM_THE_ALL_OFF_FUNCTIONALITY_BUT_NOT_ALL_ON");
+
+        // Reverse constants for SwitchAllReportMode
+        reverseSwitchAllReportMode.put("EXCLUDED_FROM_THE_ALL_ON_ALL_OFF_FUNCTIONALITY", 0x00);
+        reverseSwitchAllReportMode.put("EXCLUDED_FROM_THE_ALL_ON_FUNCTIONALITY_BUT_NOT_ALL_OFF", 0x01);
+        reverseSwitchAllReportMode.put("EXCLUDED_FROM_THE_ALL_OFF_FUNCTIONALITY_BUT_NOT_ALL_ON", 0x02);
+        reverseSwitchAllReportMode.put("INCLUDED_IN_THE_ALL_ON_ALL_OFF_FUNCTIONALITY", 0xFF);
+
+        // Reverse constants for SwitchAllSetMode
+        reverseSwitchAllSetMode.put("EXCLUDED_FROM_THE_ALL_ON_ALL_OFF_FUNCTIONALITY", 0x00);
+        reverseSwitchAllSetMode.put("EXCLUDED_FROM_THE_ALL_ON_FUNCTIONALITY_BUT_NOT_ALL_OFF", 0x01);
+        reverseSwitchAllSetMode.put("EXCLUDED_FROM_THE_ALL_OFF_FUNCTIONALITY_BUT_NOT_ALL_ON", 0x02);
+        reverseSwitchAllSetMode.put("INCLUDED_IN_THE_ALL_ON_ALL_OFF_FUNCTIONALITY", 0xFF);
     }
 
     /**
@@ -98,26 +141,45 @@ public class CommandClassSwitchAllV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchAllSet(String mode) {
+        byte[] outputData = new byte[SWITCH_ALL_SET_LENGTH];
+        getSwitchAllSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_ALL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_ALL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>EXCLUDED_FROM_THE_ALL_ON_ALL_OFF_FUNCTIONALITY
+     *            <li>INCLUDED_IN_THE_ALL_ON_ALL_OFF_FUNCTIONALITY
+     *            <li>EXCLUDED_FROM_THE_ALL_ON_FUNCTIONALITY_BUT_NOT_ALL_OFF
+     *            <li>EXCLUDED_FROM_THE_ALL_OFF_FUNCTIONALITY_BUT_NOT_ALL_ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_ALL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchAllSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message SWITCH_ALL_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_ALL_SET);
+        if (buffer.remaining() < SWITCH_ALL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantSwitchAllSetMode.keySet()) {
-            if (constantSwitchAllSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseSwitchAllSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_ALL_SET);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -161,13 +223,29 @@ public class CommandClassSwitchAllV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchAllGet() {
+        byte[] outputData = new byte[SWITCH_ALL_GET_LENGTH];
+        getSwitchAllGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_ALL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_ALL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_ALL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchAllGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_ALL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_ALL_GET);
+        if (buffer.remaining() < SWITCH_ALL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_ALL_GET);
     }
 
     /**
@@ -203,26 +281,45 @@ public class CommandClassSwitchAllV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchAllReport(String mode) {
+        byte[] outputData = new byte[SWITCH_ALL_REPORT_LENGTH];
+        getSwitchAllReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_ALL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_ALL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>EXCLUDED_FROM_THE_ALL_ON_ALL_OFF_FUNCTIONALITY
+     *            <li>INCLUDED_IN_THE_ALL_ON_ALL_OFF_FUNCTIONALITY
+     *            <li>EXCLUDED_FROM_THE_ALL_ON_FUNCTIONALITY_BUT_NOT_ALL_OFF
+     *            <li>EXCLUDED_FROM_THE_ALL_OFF_FUNCTIONALITY_BUT_NOT_ALL_ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_ALL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchAllReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message SWITCH_ALL_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_ALL_REPORT);
+        if (buffer.remaining() < SWITCH_ALL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantSwitchAllReportMode.keySet()) {
-            if (constantSwitchAllReportMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseSwitchAllReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_ALL_REPORT);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -266,13 +363,29 @@ public class CommandClassSwitchAllV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchAllOn() {
+        byte[] outputData = new byte[SWITCH_ALL_ON_LENGTH];
+        getSwitchAllOn(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_ALL_ON command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_ALL_ON_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_ALL_ON_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchAllOn(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_ALL_ON version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_ALL_ON);
+        if (buffer.remaining() < SWITCH_ALL_ON_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_ALL_ON);
     }
 
     /**
@@ -299,13 +412,29 @@ public class CommandClassSwitchAllV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchAllOff() {
+        byte[] outputData = new byte[SWITCH_ALL_OFF_LENGTH];
+        getSwitchAllOff(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_ALL_OFF command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_ALL_OFF_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_ALL_OFF_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchAllOff(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_ALL_OFF version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_ALL_OFF);
+        if (buffer.remaining() < SWITCH_ALL_OFF_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_ALL_OFF);
     }
 
     /**
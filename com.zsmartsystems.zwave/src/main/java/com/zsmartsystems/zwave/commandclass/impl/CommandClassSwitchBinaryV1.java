@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,25 +41,47 @@ public class CommandClassSwitchBinaryV1 {
      * Switch Binary Set Command Constant
      */
     public final static int SWITCH_BINARY_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_BINARY_SET command
+     */
+    public final static int SWITCH_BINARY_SET_LENGTH = 3;
     /**
      * Switch Binary Get Command Constant
      */
     public final static int SWITCH_BINARY_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_BINARY_GET command
+     */
+    public final static int SWITCH_BINARY_GET_LENGTH = 2;
     /**
      * Switch Binary Report Command Constant
      */
     public final static int SWITCH_BINARY_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_BINARY_REPORT command
+     */
+    public final static int SWITCH_BINARY_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for SwitchBinaryReportValue
      */
     private static Map<Integer, String> constantSwitchBinaryReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinaryReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinaryReportValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchBinarySetSwitchValue
      */
     private static Map<Integer, String> constantSwitchBinarySetSwitchValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinarySetSwitchValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinarySetSwitchValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchBinaryReportValue
         constantSwitchBinaryReportValue.put(0x00, "OFF_DISABLE");
@@ -67,6 +90,14 @@ public class CommandClassSwitchBinaryV1 {
         // Constants for SwitchBinarySetSwitchValue
         constantSwitchBinarySetSwitchValue.put(0x00, "OFF_DISABLE");
         constantSwitchBinarySetSwitchValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for SwitchBinaryReportValue
+        reverseSwitchBinaryReportValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchBinaryReportValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for SwitchBinarySetSwitchValue
+        reverseSwitchBinarySetSwitchValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchBinarySetSwitchValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -84,26 +115,43 @@ public class CommandClassSwitchBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchBinarySet(String switchValue) {
+        byte[] outputData = new byte[SWITCH_BINARY_SET_LENGTH];
+        getSwitchBinarySet(ByteBuffer.wrap(outputData), switchValue);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_BINARY_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_BINARY_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param switchValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_BINARY_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchBinarySet(ByteBuffer buffer, String switchValue) {
         logger.debug("Creating command message SWITCH_BINARY_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_BINARY_SET);
+        if (buffer.remaining() < SWITCH_BINARY_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Switch Value'
-        boolean foundSwitchValue = false;
-        for (Integer entry : constantSwitchBinarySetSwitchValue.keySet()) {
-            if (constantSwitchBinarySetSwitchValue.get(entry).equals(switchValue)) {
-                outputData.write(entry);
-                foundSwitchValue = true;
-                break;
-            }
-        }
-        if (!foundSwitchValue) {
+        Integer varSwitchValue = reverseSwitchBinarySetSwitchValue.get(switchValue);
+        if (varSwitchValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + switchValue + "' for switchValue");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_BINARY_SET);
+        buffer.put(varSwitchValue.byteValue());
     }
 
     /**
@@ -145,13 +193,29 @@ public class CommandClassSwitchBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchBinaryGet() {
+        byte[] outputData = new byte[SWITCH_BINARY_GET_LENGTH];
+        getSwitchBinaryGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_BINARY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_BINARY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_BINARY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchBinaryGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_BINARY_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_BINARY_GET);
+        if (buffer.remaining() < SWITCH_BINARY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_BINARY_GET);
     }
 
     /**
@@ -185,26 +249,43 @@ public class CommandClassSwitchBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchBinaryReport(String value) {
+        byte[] outputData = new byte[SWITCH_BINARY_REPORT_LENGTH];
+        getSwitchBinaryReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_BINARY_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_BINARY_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_BINARY_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchBinaryReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message SWITCH_BINARY_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_BINARY_REPORT);
+        if (buffer.remaining() < SWITCH_BINARY_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchBinaryReportValue.keySet()) {
-            if (constantSwitchBinaryReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchBinaryReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_BINARY_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,40 +41,77 @@ public class CommandClassSwitchBinaryV2 {
      * Switch Binary Set Command Constant
      */
     public final static int SWITCH_BINARY_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_BINARY_SET command
+     */
+    public final static int SWITCH_BINARY_SET_LENGTH = 4;
     /**
      * Switch Binary Get Command Constant
      */
     public final static int SWITCH_BINARY_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_BINARY_GET command
+     */
+    public final static int SWITCH_BINARY_GET_LENGTH = 2;
     /**
      * Switch Binary Report Command Constant
      */
     public final static int SWITCH_BINARY_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_BINARY_REPORT command
+     */
+    public final static int SWITCH_BINARY_REPORT_LENGTH = 5;
 
     /**
      * Map holding constants for SwitchBinaryReportDuration
      */
     private static Map<Integer, String> constantSwitchBinaryReportDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinaryReportDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinaryReportDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchBinarySetDuration
      */
     private static Map<Integer, String> constantSwitchBinarySetDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinarySetDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinarySetDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchBinaryReportTargetValue
      */
     private static Map<Integer, String> constantSwitchBinaryReportTargetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinaryReportTargetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinaryReportTargetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchBinarySetTargetValue
      */
     private static Map<Integer, String> constantSwitchBinarySetTargetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinarySetTargetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinarySetTargetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchBinaryReportCurrentValue
      */
     private static Map<Integer, String> constantSwitchBinaryReportCurrentValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchBinaryReportCurrentValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchBinaryReportCurrentValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchBinaryReportDuration
         constantSwitchBinaryReportDuration.put(0xFE, "UNKNOWN_DURATION");
@@ -94,6 +132,26 @@ public class CommandClassSwitchBinaryV2 {
         // Constants for SwitchBinaryReportCurrentValue
         constantSwitchBinaryReportCurrentValue.put(0x00, "OFF_DISABLE");
         constantSwitchBinaryReportCurrentValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for SwitchBinaryReportDuration
+        reverseSwitchBinaryReportDuration.put("ALREADY_AT_THE_TARGET_VALUE", 0x00);
+        reverseSwitchBinaryReportDuration.put("UNKNOWN_DURATION", 0xFE);
+
+        // Reverse constants for SwitchBinarySetDuration
+        reverseSwitchBinarySetDuration.put("INSTANTLY", 0x00);
+        reverseSwitchBinarySetDuration.put("DEFAULT", 0xFF);
+
+        // Reverse constants for SwitchBinaryReportTargetValue
+        reverseSwitchBinaryReportTargetValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchBinaryReportTargetValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for SwitchBinarySetTargetValue
+        reverseSwitchBinarySetTargetValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchBinarySetTargetValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for SwitchBinaryReportCurrentValue
+        reverseSwitchBinaryReportCurrentValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchBinaryReportCurrentValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -118,39 +176,57 @@ public class CommandClassSwitchBinaryV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchBinarySet(String targetValue, String duration) {
+        byte[] outputData = new byte[SWITCH_BINARY_SET_LENGTH];
+        getSwitchBinarySet(ByteBuffer.wrap(outputData), targetValue, duration);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_BINARY_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_BINARY_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param targetValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param duration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            <li>DEFAULT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_BINARY_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchBinarySet(ByteBuffer buffer, String targetValue, String duration) {
         logger.debug("Creating command message SWITCH_BINARY_SET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_BINARY_SET);
+        if (buffer.remaining() < SWITCH_BINARY_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Target Value'
-        boolean foundTargetValue = false;
-        for (Integer entry : constantSwitchBinarySetTargetValue.keySet()) {
-            if (constantSwitchBinarySetTargetValue.get(entry).equals(targetValue)) {
-                outputData.write(entry);
-                foundTargetValue = true;
-                break;
-            }
-        }
-        if (!foundTargetValue) {
+        Integer varTargetValue = reverseSwitchBinarySetTargetValue.get(targetValue);
+        if (varTargetValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + targetValue + "' for targetValue");
         }
 
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantSwitchBinarySetDuration.keySet()) {
-            if (constantSwitchBinarySetDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseSwitchBinarySetDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_BINARY_SET);
+        buffer.put(varTargetValue.byteValue());
+        buffer.put(varDuration.byteValue());
     }
 
     /**
@@ -202,13 +278,29 @@ public class CommandClassSwitchBinaryV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchBinaryGet() {
+        byte[] outputData = new byte[SWITCH_BINARY_GET_LENGTH];
+        getSwitchBinaryGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_BINARY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_BINARY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_BINARY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchBinaryGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_BINARY_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_BINARY_GET);
+        if (buffer.remaining() < SWITCH_BINARY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_BINARY_GET);
     }
 
     /**
@@ -256,52 +348,72 @@ public class CommandClassSwitchBinaryV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchBinaryReport(String currentValue, String targetValue, String duration) {
+        byte[] outputData = new byte[SWITCH_BINARY_REPORT_LENGTH];
+        getSwitchBinaryReport(ByteBuffer.wrap(outputData), currentValue, targetValue, duration);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_BINARY_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_BINARY_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param currentValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param targetValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param duration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNKNOWN_DURATION
+     *            <li>ALREADY_AT_THE_TARGET_VALUE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_BINARY_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchBinaryReport(ByteBuffer buffer, String currentValue, String targetValue,
+            String duration) {
         logger.debug("Creating command message SWITCH_BINARY_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_BINARY_REPORT);
+        if (buffer.remaining() < SWITCH_BINARY_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Current Value'
-        boolean foundCurrentValue = false;
-        for (Integer entry : constantSwitchBinaryReportCurrentValue.keySet()) {
-            if (constantSwitchBinaryReportCurrentValue.get(entry).equals(currentValue)) {
-                outputData.write(entry);
-                foundCurrentValue = true;
-                break;
-            }
-        }
-        if (!foundCurrentValue) {
+        Integer varCurrentValue = reverseSwitchBinaryReportCurrentValue.get(currentValue);
+        if (varCurrentValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + currentValue + "' for currentValue");
         }
 
         // Process 'Target Value'
-        boolean foundTargetValue = false;
-        for (Integer entry : constantSwitchBinaryReportTargetValue.keySet()) {
-            if (constantSwitchBinaryReportTargetValue.get(entry).equals(targetValue)) {
-                outputData.write(entry);
-                foundTargetValue = true;
-                break;
-            }
-        }
-        if (!foundTargetValue) {
+        Integer varTargetValue = reverseSwitchBinaryReportTargetValue.get(targetValue);
+        if (varTargetValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + targetValue + "' for targetValue");
         }
 
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantSwitchBinaryReportDuration.keySet()) {
-            if (constantSwitchBinaryReportDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseSwitchBinaryReportDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_BINARY_REPORT);
+        buffer.put(varCurrentValue.byteValue());
+        buffer.put(varTargetValue.byteValue());
+        buffer.put(varDuration.byteValue());
     }
 
     /**
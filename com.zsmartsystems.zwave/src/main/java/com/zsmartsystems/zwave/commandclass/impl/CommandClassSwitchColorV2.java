@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,22 +44,42 @@ public class CommandClassSwitchColorV2 {
      * Color Switch Supported Get Command Constant
      */
     public final static int SWITCH_COLOR_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded SWITCH_COLOR_SUPPORTED_GET command
+     */
+    public final static int SWITCH_COLOR_SUPPORTED_GET_LENGTH = 2;
     /**
      * Color Switch Supported Report Command Constant
      */
     public final static int SWITCH_COLOR_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded SWITCH_COLOR_SUPPORTED_REPORT command
+     */
+    public final static int SWITCH_COLOR_SUPPORTED_REPORT_LENGTH = 4;
     /**
      * Color Switch Get Command Constant
      */
     public final static int SWITCH_COLOR_GET = 0x03;
+    /**
+     * Length of the encoded SWITCH_COLOR_GET command
+     */
+    public final static int SWITCH_COLOR_GET_LENGTH = 3;
     /**
      * Color Switch Report Command Constant
      */
     public final static int SWITCH_COLOR_REPORT = 0x04;
+    /**
+     * Length of the encoded SWITCH_COLOR_REPORT command
+     */
+    public final static int SWITCH_COLOR_REPORT_LENGTH = 4;
     /**
      * Color Switch Set Command Constant
      */
     public final static int SWITCH_COLOR_SET = 0x05;
+    /**
+     * Length of the encoded SWITCH_COLOR_SET command
+     */
+    public final static int SWITCH_COLOR_SET_LENGTH = 4;
     /**
      * Color Switch Start Level Change Command Constant
      */
@@ -66,6 +88,10 @@ public class CommandClassSwitchColorV2 {
      * Color Switch Stop Level Change Command Constant
      */
     public final static int SWITCH_COLOR_STOP_LEVEL_CHANGE = 0x07;
+    /**
+     * Length of the encoded SWITCH_COLOR_STOP_LEVEL_CHANGE command
+     */
+    public final static int SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH = 3;
 
     /**
      * Map holding constants for SwitchColorStartLevelChangeProperties1
@@ -87,13 +113,30 @@ public class CommandClassSwitchColorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorSupportedGet() {
+        byte[] outputData = new byte[SWITCH_COLOR_SUPPORTED_GET_LENGTH];
+        getSwitchColorSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_COLOR_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchColorSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_COLOR_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_SUPPORTED_GET);
+        if (buffer.remaining() < SWITCH_COLOR_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_SUPPORTED_GET);
     }
 
     /**
@@ -121,17 +164,33 @@ public class CommandClassSwitchColorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorSupportedReport(Integer colorComponentMask) {
-        logger.debug("Creating command message SWITCH_COLOR_SUPPORTED_REPORT version 2");
+        byte[] outputData = new byte[SWITCH_COLOR_SUPPORTED_REPORT_LENGTH];
+        getSwitchColorSupportedReport(ByteBuffer.wrap(outputData), colorComponentMask);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_SUPPORTED_REPORT);
+    /**
+     * Writes a new message with the SWITCH_COLOR_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentMask {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_SUPPORTED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchColorSupportedReport(ByteBuffer buffer, Integer colorComponentMask) {
+        logger.debug("Creating command message SWITCH_COLOR_SUPPORTED_REPORT version 2");
 
-        // Process 'Color Component mask'
-        outputData.write((colorComponentMask >> 8) & 0xff);
-        outputData.write(colorComponentMask & 0xff);
+        if (buffer.remaining() < SWITCH_COLOR_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_SUPPORTED_REPORT);
+        buffer.put((byte) ((colorComponentMask >> 8) & 0xff));
+        buffer.put((byte) (colorComponentMask & 0xff));
     }
 
     /**
@@ -168,16 +227,31 @@ public class CommandClassSwitchColorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorGet(Integer colorComponentId) {
-        logger.debug("Creating command message SWITCH_COLOR_GET version 2");
+        byte[] outputData = new byte[SWITCH_COLOR_GET_LENGTH];
+        getSwitchColorGet(ByteBuffer.wrap(outputData), colorComponentId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_GET);
+    /**
+     * Writes a new message with the SWITCH_COLOR_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchColorGet(ByteBuffer buffer, Integer colorComponentId) {
+        logger.debug("Creating command message SWITCH_COLOR_GET version 2");
 
-        // Process 'Color Component ID'
-        outputData.write(colorComponentId);
+        if (buffer.remaining() < SWITCH_COLOR_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_GET);
+        buffer.put(colorComponentId.byteValue());
     }
 
     /**
@@ -215,19 +289,33 @@ public class CommandClassSwitchColorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorReport(Integer colorComponentId, Integer value) {
-        logger.debug("Creating command message SWITCH_COLOR_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_REPORT);
+        byte[] outputData = new byte[SWITCH_COLOR_REPORT_LENGTH];
+        getSwitchColorReport(ByteBuffer.wrap(outputData), colorComponentId, value);
+        return outputData;
+    }
 
-        // Process 'Color Component ID'
-        outputData.write(colorComponentId);
+    /**
+     * Writes a new message with the SWITCH_COLOR_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentId {@link Integer}
+     * @param value {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchColorReport(ByteBuffer buffer, Integer colorComponentId, Integer value) {
+        logger.debug("Creating command message SWITCH_COLOR_REPORT version 2");
 
-        // Process 'Value'
-        outputData.write(value);
+        if (buffer.remaining() < SWITCH_COLOR_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_REPORT);
+        buffer.put(colorComponentId.byteValue());
+        buffer.put(value.byteValue());
     }
 
     /**
@@ -269,21 +357,33 @@ public class CommandClassSwitchColorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorSet(Integer colorComponentCount, Integer duration) {
-        logger.debug("Creating command message SWITCH_COLOR_SET version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_SET);
-
-        // Process 'Properties1'
-        outputData.write(colorComponentCount & 0x1F);
+        byte[] outputData = new byte[SWITCH_COLOR_SET_LENGTH];
+        getSwitchColorSet(ByteBuffer.wrap(outputData), colorComponentCount, duration);
+        return outputData;
+    }
 
-        // Process 'vg1'
+    /**
+     * Writes a new message with the SWITCH_COLOR_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentCount {@link Integer}
+     * @param duration {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchColorSet(ByteBuffer buffer, Integer colorComponentCount, Integer duration) {
+        logger.debug("Creating command message SWITCH_COLOR_SET version 2");
 
-        // Process 'Duration'
-        outputData.write(duration);
+        if (buffer.remaining() < SWITCH_COLOR_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_SET);
+        buffer.put((byte) (colorComponentCount & 0x1F));
+        buffer.put(duration.byteValue());
     }
 
     /**
@@ -427,16 +527,32 @@ public class CommandClassSwitchColorV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorStopLevelChange(Integer colorComponentId) {
-        logger.debug("Creating command message SWITCH_COLOR_STOP_LEVEL_CHANGE version 2");
+        byte[] outputData = new byte[SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH];
+        getSwitchColorStopLevelChange(ByteBuffer.wrap(outputData), colorComponentId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_STOP_LEVEL_CHANGE);
+    /**
+     * Writes a new message with the SWITCH_COLOR_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchColorStopLevelChange(ByteBuffer buffer, Integer colorComponentId) {
+        logger.debug("Creating command message SWITCH_COLOR_STOP_LEVEL_CHANGE version 2");
 
-        // Process 'Color Component ID'
-        outputData.write(colorComponentId);
+        if (buffer.remaining() < SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_STOP_LEVEL_CHANGE);
+        buffer.put(colorComponentId.byteValue());
     }
 
     /**
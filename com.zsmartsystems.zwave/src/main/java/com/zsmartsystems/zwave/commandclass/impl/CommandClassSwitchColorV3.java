@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,14 +44,26 @@ public class CommandClassSwitchColorV3 {
      * Color Switch Supported Get Command Constant
      */
     public final static int SWITCH_COLOR_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded SWITCH_COLOR_SUPPORTED_GET command
+     */
+    public final static int SWITCH_COLOR_SUPPORTED_GET_LENGTH = 2;
     /**
      * Color Switch Supported Report Command Constant
      */
     public final static int SWITCH_COLOR_SUPPORTED_REPORT = 0x02;
+    /**
+     * Length of the encoded SWITCH_COLOR_SUPPORTED_REPORT command
+     */
+    public final static int SWITCH_COLOR_SUPPORTED_REPORT_LENGTH = 4;
     /**
      * Color Switch Get Command Constant
      */
     public final static int SWITCH_COLOR_GET = 0x03;
+    /**
+     * Length of the encoded SWITCH_COLOR_GET command
+     */
+    public final static int SWITCH_COLOR_GET_LENGTH = 3;
     /**
      * Color Switch Report Command Constant
      */
@@ -58,6 +72,10 @@ public class CommandClassSwitchColorV3 {
      * Color Switch Set Command Constant
      */
     public final static int SWITCH_COLOR_SET = 0x05;
+    /**
+     * Length of the encoded SWITCH_COLOR_SET command
+     */
+    public final static int SWITCH_COLOR_SET_LENGTH = 4;
     /**
      * Color Switch Start Level Change Command Constant
      */
@@ -66,12 +84,21 @@ public class CommandClassSwitchColorV3 {
      * Color Switch Stop Level Change Command Constant
      */
     public final static int SWITCH_COLOR_STOP_LEVEL_CHANGE = 0x07;
+    /**
+     * Length of the encoded SWITCH_COLOR_STOP_LEVEL_CHANGE command
+     */
+    public final static int SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH = 3;
 
     /**
      * Map holding constants for SwitchColorSetDuration
      */
     private static Map<Integer, String> constantSwitchColorSetDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchColorSetDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchColorSetDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchColorStartLevelChangeProperties1
      */
@@ -82,11 +109,21 @@ public class CommandClassSwitchColorV3 {
      */
     private static Map<Integer, String> constantSwitchColorStartLevelChangeDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchColorStartLevelChangeDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchColorStartLevelChangeDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchColorReportDuration
      */
     private static Map<Integer, String> constantSwitchColorReportDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchColorReportDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchColorReportDuration = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchColorSetDuration
         constantSwitchColorSetDuration.put(0x00, "INSTANTLY");
@@ -104,6 +141,18 @@ public class CommandClassSwitchColorV3 {
         // Constants for SwitchColorReportDuration
         constantSwitchColorReportDuration.put(0xFE, "UNKNOWN_DURATION");
         constantSwitchColorReportDuration.put(0x00, "ALREADY_AT_THE_TARGET_VALUE");
+
+        // Reverse constants for SwitchColorSetDuration
+        reverseSwitchColorSetDuration.put("INSTANTLY", 0x00);
+        reverseSwitchColorSetDuration.put("DEFAULT", 0xFF);
+
+        // Reverse constants for SwitchColorStartLevelChangeDuration
+        reverseSwitchColorStartLevelChangeDuration.put("INSTANTLY", 0x00);
+        reverseSwitchColorStartLevelChangeDuration.put("DEFAULT", 0xFF);
+
+        // Reverse constants for SwitchColorReportDuration
+        reverseSwitchColorReportDuration.put("ALREADY_AT_THE_TARGET_VALUE", 0x00);
+        reverseSwitchColorReportDuration.put("UNKNOWN_DURATION", 0xFE);
     }
 
     /**
@@ -114,13 +163,30 @@ public class CommandClassSwitchColorV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorSupportedGet() {
+        byte[] outputData = new byte[SWITCH_COLOR_SUPPORTED_GET_LENGTH];
+        getSwitchColorSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_COLOR_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchColorSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_COLOR_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_SUPPORTED_GET);
+        if (buffer.remaining() < SWITCH_COLOR_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_SUPPORTED_GET);
     }
 
     /**
@@ -148,17 +214,33 @@ public class CommandClassSwitchColorV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorSupportedReport(Integer colorComponentMask) {
-        logger.debug("Creating command message SWITCH_COLOR_SUPPORTED_REPORT version 3");
+        byte[] outputData = new byte[SWITCH_COLOR_SUPPORTED_REPORT_LENGTH];
+        getSwitchColorSupportedReport(ByteBuffer.wrap(outputData), colorComponentMask);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_SUPPORTED_REPORT);
+    /**
+     * Writes a new message with the SWITCH_COLOR_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentMask {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_SUPPORTED_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchColorSupportedReport(ByteBuffer buffer, Integer colorComponentMask) {
+        logger.debug("Creating command message SWITCH_COLOR_SUPPORTED_REPORT version 3");
 
-        // Process 'Color Component mask'
-        outputData.write((colorComponentMask >> 8) & 0xff);
-        outputData.write(colorComponentMask & 0xff);
+        if (buffer.remaining() < SWITCH_COLOR_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_SUPPORTED_REPORT);
+        buffer.put((byte) ((colorComponentMask >> 8) & 0xff));
+        buffer.put((byte) (colorComponentMask & 0xff));
     }
 
     /**
@@ -195,16 +277,31 @@ public class CommandClassSwitchColorV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorGet(Integer colorComponentId) {
-        logger.debug("Creating command message SWITCH_COLOR_GET version 3");
+        byte[] outputData = new byte[SWITCH_COLOR_GET_LENGTH];
+        getSwitchColorGet(ByteBuffer.wrap(outputData), colorComponentId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_GET);
+    /**
+     * Writes a new message with the SWITCH_COLOR_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchColorGet(ByteBuffer buffer, Integer colorComponentId) {
+        logger.debug("Creating command message SWITCH_COLOR_GET version 3");
 
-        // Process 'Color Component ID'
-        outputData.write(colorComponentId);
+        if (buffer.remaining() < SWITCH_COLOR_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_GET);
+        buffer.put(colorComponentId.byteValue());
     }
 
     /**
@@ -267,17 +364,11 @@ public class CommandClassSwitchColorV3 {
         outputData.write(targetValue);
 
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantSwitchColorReportDuration.keySet()) {
-            if (constantSwitchColorReportDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseSwitchColorReportDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
+        outputData.write(varDuration);
 
         return outputData.toByteArray();
     }
@@ -341,31 +432,45 @@ public class CommandClassSwitchColorV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorSet(Integer colorComponentCount, String duration) {
-        logger.debug("Creating command message SWITCH_COLOR_SET version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_SET);
+        byte[] outputData = new byte[SWITCH_COLOR_SET_LENGTH];
+        getSwitchColorSet(ByteBuffer.wrap(outputData), colorComponentCount, duration);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(colorComponentCount & 0x1F);
+    /**
+     * Writes a new message with the SWITCH_COLOR_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentCount {@link Integer}
+     * @param duration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            <li>DEFAULT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchColorSet(ByteBuffer buffer, Integer colorComponentCount, String duration) {
+        logger.debug("Creating command message SWITCH_COLOR_SET version 3");
 
-        // Process 'vg1'
+        if (buffer.remaining() < SWITCH_COLOR_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantSwitchColorSetDuration.keySet()) {
-            if (constantSwitchColorSetDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseSwitchColorSetDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_SET);
+        buffer.put((byte) (colorComponentCount & 0x1F));
+        buffer.put(varDuration.byteValue());
     }
 
     /**
@@ -472,17 +577,11 @@ public class CommandClassSwitchColorV3 {
         outputData.write(startLevel);
 
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantSwitchColorStartLevelChangeDuration.keySet()) {
-            if (constantSwitchColorStartLevelChangeDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseSwitchColorStartLevelChangeDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
+        outputData.write(varDuration);
 
         return outputData.toByteArray();
     }
@@ -545,16 +644,32 @@ public class CommandClassSwitchColorV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchColorStopLevelChange(Integer colorComponentId) {
-        logger.debug("Creating command message SWITCH_COLOR_STOP_LEVEL_CHANGE version 3");
+        byte[] outputData = new byte[SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH];
+        getSwitchColorStopLevelChange(ByteBuffer.wrap(outputData), colorComponentId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_COLOR_STOP_LEVEL_CHANGE);
+    /**
+     * Writes a new message with the SWITCH_COLOR_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param colorComponentId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchColorStopLevelChange(ByteBuffer buffer, Integer colorComponentId) {
+        logger.debug("Creating command message SWITCH_COLOR_STOP_LEVEL_CHANGE version 3");
 
-        // Process 'Color Component ID'
-        outputData.write(colorComponentId);
+        if (buffer.remaining() < SWITCH_COLOR_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_COLOR_STOP_LEVEL_CHANGE);
+        buffer.put(colorComponentId.byteValue());
     }
 
     /**
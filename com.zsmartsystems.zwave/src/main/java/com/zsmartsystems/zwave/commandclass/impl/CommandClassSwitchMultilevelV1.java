@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +42,26 @@ public class CommandClassSwitchMultilevelV1 {
      * Switch Multilevel Set Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SET command
+     */
+    public final static int SWITCH_MULTILEVEL_SET_LENGTH = 3;
     /**
      * Switch Multilevel Get Command Constant
      */
     public final static int SWITCH_MULTILEVEL_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_GET command
+     */
+    public final static int SWITCH_MULTILEVEL_GET_LENGTH = 2;
     /**
      * Switch Multilevel Report Command Constant
      */
     public final static int SWITCH_MULTILEVEL_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_REPORT command
+     */
+    public final static int SWITCH_MULTILEVEL_REPORT_LENGTH = 3;
     /**
      * Switch Multilevel Start Level Change Command Constant
      */
@@ -56,6 +70,10 @@ public class CommandClassSwitchMultilevelV1 {
      * Switch Multilevel Stop Level Change Command Constant
      */
     public final static int SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE = 0x05;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE command
+     */
+    public final static int SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH = 2;
 
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeLevel
@@ -67,11 +85,21 @@ public class CommandClassSwitchMultilevelV1 {
      */
     private static Map<Integer, String> constantSwitchMultilevelSetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelSetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelSetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelReportValue
      */
     private static Map<Integer, String> constantSwitchMultilevelReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelReportValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchMultilevelStartLevelChangeLevel
         constantSwitchMultilevelStartLevelChangeLevel.put(0x20, "IGNORE_START_LEVEL");
@@ -84,6 +112,14 @@ public class CommandClassSwitchMultilevelV1 {
         // Constants for SwitchMultilevelReportValue
         constantSwitchMultilevelReportValue.put(0x00, "OFF_DISABLE");
         constantSwitchMultilevelReportValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for SwitchMultilevelSetValue
+        reverseSwitchMultilevelSetValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchMultilevelSetValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for SwitchMultilevelReportValue
+        reverseSwitchMultilevelReportValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchMultilevelReportValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -101,26 +137,43 @@ public class CommandClassSwitchMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSet(String value) {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SET_LENGTH];
+        getSwitchMultilevelSet(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelSet(ByteBuffer buffer, String value) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchMultilevelSetValue.keySet()) {
-            if (constantSwitchMultilevelSetValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchMultilevelSetValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SET);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -162,13 +215,29 @@ public class CommandClassSwitchMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelGet() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_GET_LENGTH];
+        getSwitchMultilevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_GET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_GET);
     }
 
     /**
@@ -202,26 +271,43 @@ public class CommandClassSwitchMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelReport(String value) {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_REPORT_LENGTH];
+        getSwitchMultilevelReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_REPORT);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchMultilevelReportValue.keySet()) {
-            if (constantSwitchMultilevelReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchMultilevelReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -324,13 +410,31 @@ public class CommandClassSwitchMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelStopLevelChange() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH];
+        getSwitchMultilevelStopLevelChange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSwitchMultilevelStopLevelChange(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +42,26 @@ public class CommandClassSwitchMultilevelV3 {
      * Switch Multilevel Set Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SET command
+     */
+    public final static int SWITCH_MULTILEVEL_SET_LENGTH = 4;
     /**
      * Switch Multilevel Get Command Constant
      */
     public final static int SWITCH_MULTILEVEL_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_GET command
+     */
+    public final static int SWITCH_MULTILEVEL_GET_LENGTH = 2;
     /**
      * Switch Multilevel Report Command Constant
      */
     public final static int SWITCH_MULTILEVEL_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_REPORT command
+     */
+    public final static int SWITCH_MULTILEVEL_REPORT_LENGTH = 3;
     /**
      * Switch Multilevel Start Level Change Command Constant
      */
@@ -56,14 +70,26 @@ public class CommandClassSwitchMultilevelV3 {
      * Switch Multilevel Stop Level Change Command Constant
      */
     public final static int SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE = 0x05;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE command
+     */
+    public final static int SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH = 2;
     /**
      * Switch Multilevel Supported Get Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SUPPORTED_GET = 0x06;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SUPPORTED_GET command
+     */
+    public final static int SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH = 2;
     /**
      * Switch Multilevel Supported Report Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SUPPORTED_REPORT = 0x07;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SUPPORTED_REPORT command
+     */
+    public final static int SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeProperties1
@@ -75,26 +101,51 @@ public class CommandClassSwitchMultilevelV3 {
      */
     private static Map<Integer, String> constantSwitchMultilevelSetDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelSetDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelSetDimmingDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeUpDown
      */
     private static Map<Integer, String> constantSwitchMultilevelStartLevelChangeUpDown = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelStartLevelChangeUpDown, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelStartLevelChangeUpDown = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelSetValue
      */
     private static Map<Integer, String> constantSwitchMultilevelSetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelSetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelSetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeIncDec
      */
     private static Map<Integer, String> constantSwitchMultilevelStartLevelChangeIncDec = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelStartLevelChangeIncDec, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelStartLevelChangeIncDec = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelReportValue
      */
     private static Map<Integer, String> constantSwitchMultilevelReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelReportValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchMultilevelStartLevelChangeProperties1
         constantSwitchMultilevelStartLevelChangeProperties1.put(0x20, "IGNORE_START_LEVEL");
@@ -120,6 +171,28 @@ public class CommandClassSwitchMultilevelV3 {
         // Constants for SwitchMultilevelReportValue
         constantSwitchMultilevelReportValue.put(0x00, "OFF_DISABLE");
         constantSwitchMultilevelReportValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for SwitchMultilevelSetDimmingDuration
+        reverseSwitchMultilevelSetDimmingDuration.put("INSTANTLY", 0x00);
+        reverseSwitchMultilevelSetDimmingDuration.put("FACTORY_DEFAULT", 0xFF);
+
+        // Reverse constants for SwitchMultilevelStartLevelChangeUpDown
+        reverseSwitchMultilevelStartLevelChangeUpDown.put("UP", 0x00);
+        reverseSwitchMultilevelStartLevelChangeUpDown.put("DOWN", 0x01);
+        reverseSwitchMultilevelStartLevelChangeUpDown.put("NONE", 0x02);
+
+        // Reverse constants for SwitchMultilevelSetValue
+        reverseSwitchMultilevelSetValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchMultilevelSetValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for SwitchMultilevelStartLevelChangeIncDec
+        reverseSwitchMultilevelStartLevelChangeIncDec.put("INCREMENT", 0x00);
+        reverseSwitchMultilevelStartLevelChangeIncDec.put("DECREMENT", 0x01);
+        reverseSwitchMultilevelStartLevelChangeIncDec.put("NONE", 0x02);
+
+        // Reverse constants for SwitchMultilevelReportValue
+        reverseSwitchMultilevelReportValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchMultilevelReportValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -144,39 +217,57 @@ public class CommandClassSwitchMultilevelV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSet(String value, String dimmingDuration) {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SET_LENGTH];
+        getSwitchMultilevelSet(ByteBuffer.wrap(outputData), value, dimmingDuration);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param dimmingDuration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            <li>FACTORY_DEFAULT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelSet(ByteBuffer buffer, String value, String dimmingDuration) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_SET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchMultilevelSetValue.keySet()) {
-            if (constantSwitchMultilevelSetValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchMultilevelSetValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSwitchMultilevelSetDimmingDuration.keySet()) {
-            if (constantSwitchMultilevelSetDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSwitchMultilevelSetDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SET);
+        buffer.put(varValue.byteValue());
+        buffer.put(varDimmingDuration.byteValue());
     }
 
     /**
@@ -228,13 +319,29 @@ public class CommandClassSwitchMultilevelV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelGet() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_GET_LENGTH];
+        getSwitchMultilevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_GET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_GET);
     }
 
     /**
@@ -268,26 +375,43 @@ public class CommandClassSwitchMultilevelV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelReport(String value) {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_REPORT_LENGTH];
+        getSwitchMultilevelReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_REPORT version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_REPORT);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchMultilevelReportValue.keySet()) {
-            if (constantSwitchMultilevelReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchMultilevelReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -358,26 +482,14 @@ public class CommandClassSwitchMultilevelV3 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varIncDec = Integer.MAX_VALUE;
-        for (Integer entry : constantSwitchMultilevelStartLevelChangeIncDec.keySet()) {
-            if (constantSwitchMultilevelStartLevelChangeIncDec.get(entry).equals(incDec)) {
-                varIncDec = entry;
-                break;
-            }
-        }
-        if (varIncDec == Integer.MAX_VALUE) {
+        Integer varIncDec = reverseSwitchMultilevelStartLevelChangeIncDec.get(incDec);
+        if (varIncDec == null) {
             throw new IllegalArgumentException("Unknown constant value '" + incDec + "' for incDec");
         }
         valProperties1 |= varIncDec << 3 & 0x18;
         valProperties1 |= ignoreStartLevel ? 0x20 : 0;
-        int varUpDown = Integer.MAX_VALUE;
-        for (Integer entry : constantSwitchMultilevelStartLevelChangeUpDown.keySet()) {
-            if (constantSwitchMultilevelStartLevelChangeUpDown.get(entry).equals(upDown)) {
-                varUpDown = entry;
-                break;
-            }
-        }
-        if (varUpDown == Integer.MAX_VALUE) {
+        Integer varUpDown = reverseSwitchMultilevelStartLevelChangeUpDown.get(upDown);
+        if (varUpDown == null) {
             throw new IllegalArgumentException("Unknown constant value '" + upDown + "' for upDown");
         }
         valProperties1 |= varUpDown << 6 & 0xC0;
@@ -458,13 +570,31 @@ public class CommandClassSwitchMultilevelV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelStopLevelChange() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH];
+        getSwitchMultilevelStopLevelChange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSwitchMultilevelStopLevelChange(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE);
     }
 
     /**
@@ -491,13 +621,30 @@ public class CommandClassSwitchMultilevelV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSupportedGet() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH];
+        getSwitchMultilevelSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchMultilevelSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SUPPORTED_GET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SUPPORTED_GET);
     }
 
     /**
@@ -526,19 +673,36 @@ public class CommandClassSwitchMultilevelV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSupportedReport(Integer primarySwitchType, Integer secondarySwitchType) {
-        logger.debug("Creating command message SWITCH_MULTILEVEL_SUPPORTED_REPORT version 3");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SUPPORTED_REPORT);
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH];
+        getSwitchMultilevelSupportedReport(ByteBuffer.wrap(outputData), primarySwitchType, secondarySwitchType);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(primarySwitchType & 0x1F);
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param primarySwitchType {@link Integer}
+     * @param secondarySwitchType {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSwitchMultilevelSupportedReport(ByteBuffer buffer, Integer primarySwitchType,
+            Integer secondarySwitchType) {
+        logger.debug("Creating command message SWITCH_MULTILEVEL_SUPPORTED_REPORT version 3");
 
-        // Process 'Properties2'
-        outputData.write(secondarySwitchType & 0x1F);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SUPPORTED_REPORT);
+        buffer.put((byte) (primarySwitchType & 0x1F));
+        buffer.put((byte) (secondarySwitchType & 0x1F));
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +42,26 @@ public class CommandClassSwitchMultilevelV4 {
      * Switch Multilevel Set Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SET command
+     */
+    public final static int SWITCH_MULTILEVEL_SET_LENGTH = 4;
     /**
      * Switch Multilevel Get Command Constant
      */
     public final static int SWITCH_MULTILEVEL_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_GET command
+     */
+    public final static int SWITCH_MULTILEVEL_GET_LENGTH = 2;
     /**
      * Switch Multilevel Report Command Constant
      */
     public final static int SWITCH_MULTILEVEL_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_REPORT command
+     */
+    public final static int SWITCH_MULTILEVEL_REPORT_LENGTH = 5;
     /**
      * Switch Multilevel Start Level Change Command Constant
      */
@@ -56,14 +70,26 @@ public class CommandClassSwitchMultilevelV4 {
      * Switch Multilevel Stop Level Change Command Constant
      */
     public final static int SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE = 0x05;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE command
+     */
+    public final static int SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH = 2;
     /**
      * Switch Multilevel Supported Get Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SUPPORTED_GET = 0x06;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SUPPORTED_GET command
+     */
+    public final static int SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH = 2;
     /**
      * Switch Multilevel Supported Report Command Constant
      */
     public final static int SWITCH_MULTILEVEL_SUPPORTED_REPORT = 0x07;
+    /**
+     * Length of the encoded SWITCH_MULTILEVEL_SUPPORTED_REPORT command
+     */
+    public final static int SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeProperties1
@@ -75,31 +101,61 @@ public class CommandClassSwitchMultilevelV4 {
      */
     private static Map<Integer, String> constantSwitchMultilevelSetDimmingDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelSetDimmingDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelSetDimmingDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeUpDown
      */
     private static Map<Integer, String> constantSwitchMultilevelStartLevelChangeUpDown = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelStartLevelChangeUpDown, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelStartLevelChangeUpDown = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelSetValue
      */
     private static Map<Integer, String> constantSwitchMultilevelSetValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelSetValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelSetValue = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelReportDuration
      */
     private static Map<Integer, String> constantSwitchMultilevelReportDuration = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelReportDuration, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelReportDuration = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelStartLevelChangeIncDec
      */
     private static Map<Integer, String> constantSwitchMultilevelStartLevelChangeIncDec = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelStartLevelChangeIncDec, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelStartLevelChangeIncDec = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for SwitchMultilevelReportCurrentValue
      */
     private static Map<Integer, String> constantSwitchMultilevelReportCurrentValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchMultilevelReportCurrentValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchMultilevelReportCurrentValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchMultilevelStartLevelChangeProperties1
         constantSwitchMultilevelStartLevelChangeProperties1.put(0x20, "IGNORE_START_LEVEL");
@@ -129,6 +185,32 @@ public class CommandClassSwitchMultilevelV4 {
         // Constants for SwitchMultilevelReportCurrentValue
         constantSwitchMultilevelReportCurrentValue.put(0x00, "OFF_DISABLE");
         constantSwitchMultilevelReportCurrentValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for SwitchMultilevelSetDimmingDuration
+        reverseSwitchMultilevelSetDimmingDuration.put("INSTANTLY", 0x00);
+        reverseSwitchMultilevelSetDimmingDuration.put("DEFAULT", 0xFF);
+
+        // Reverse constants for SwitchMultilevelStartLevelChangeUpDown
+        reverseSwitchMultilevelStartLevelChangeUpDown.put("UP", 0x00);
+        reverseSwitchMultilevelStartLevelChangeUpDown.put("DOWN", 0x01);
+        reverseSwitchMultilevelStartLevelChangeUpDown.put("NONE", 0x02);
+
+        // Reverse constants for SwitchMultilevelSetValue
+        reverseSwitchMultilevelSetValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchMultilevelSetValue.put("ON_ENABLE", 0xFF);
+
+        // Reverse constants for SwitchMultilevelReportDuration
+        reverseSwitchMultilevelReportDuration.put("ALREADY_AT_THE_TARGET_VALUE", 0x00);
+        reverseSwitchMultilevelReportDuration.put("UNKNOWN_DURATION", 0xFE);
+
+        // Reverse constants for SwitchMultilevelStartLevelChangeIncDec
+        reverseSwitchMultilevelStartLevelChangeIncDec.put("INCREMENT", 0x00);
+        reverseSwitchMultilevelStartLevelChangeIncDec.put("DECREMENT", 0x01);
+        reverseSwitchMultilevelStartLevelChangeIncDec.put("NONE", 0x02);
+
+        // Reverse constants for SwitchMultilevelReportCurrentValue
+        reverseSwitchMultilevelReportCurrentValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchMultilevelReportCurrentValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -153,39 +235,57 @@ public class CommandClassSwitchMultilevelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSet(String value, String dimmingDuration) {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SET_LENGTH];
+        getSwitchMultilevelSet(ByteBuffer.wrap(outputData), value, dimmingDuration);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param dimmingDuration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>INSTANTLY
+     *            <li>DEFAULT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelSet(ByteBuffer buffer, String value, String dimmingDuration) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_SET version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchMultilevelSetValue.keySet()) {
-            if (constantSwitchMultilevelSetValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchMultilevelSetValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
         // Process 'Dimming Duration'
-        boolean foundDimmingDuration = false;
-        for (Integer entry : constantSwitchMultilevelSetDimmingDuration.keySet()) {
-            if (constantSwitchMultilevelSetDimmingDuration.get(entry).equals(dimmingDuration)) {
-                outputData.write(entry);
-                foundDimmingDuration = true;
-                break;
-            }
-        }
-        if (!foundDimmingDuration) {
+        Integer varDimmingDuration = reverseSwitchMultilevelSetDimmingDuration.get(dimmingDuration);
+        if (varDimmingDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + dimmingDuration + "' for dimmingDuration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SET);
+        buffer.put(varValue.byteValue());
+        buffer.put(varDimmingDuration.byteValue());
     }
 
     /**
@@ -237,13 +337,29 @@ public class CommandClassSwitchMultilevelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelGet() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_GET_LENGTH];
+        getSwitchMultilevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_GET version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_GET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_GET);
     }
 
     /**
@@ -285,42 +401,60 @@ public class CommandClassSwitchMultilevelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelReport(String currentValue, Integer targetValue, String duration) {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_REPORT_LENGTH];
+        getSwitchMultilevelReport(ByteBuffer.wrap(outputData), currentValue, targetValue, duration);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param currentValue {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @param targetValue {@link Integer}
+     * @param duration {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNKNOWN_DURATION
+     *            <li>ALREADY_AT_THE_TARGET_VALUE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchMultilevelReport(ByteBuffer buffer, String currentValue, Integer targetValue,
+            String duration) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_REPORT version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_REPORT);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Current Value'
-        boolean foundCurrentValue = false;
-        for (Integer entry : constantSwitchMultilevelReportCurrentValue.keySet()) {
-            if (constantSwitchMultilevelReportCurrentValue.get(entry).equals(currentValue)) {
-                outputData.write(entry);
-                foundCurrentValue = true;
-                break;
-            }
-        }
-        if (!foundCurrentValue) {
+        Integer varCurrentValue = reverseSwitchMultilevelReportCurrentValue.get(currentValue);
+        if (varCurrentValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + currentValue + "' for currentValue");
         }
 
-        // Process 'Target Value'
-        outputData.write(targetValue);
-
         // Process 'Duration'
-        boolean foundDuration = false;
-        for (Integer entry : constantSwitchMultilevelReportDuration.keySet()) {
-            if (constantSwitchMultilevelReportDuration.get(entry).equals(duration)) {
-                outputData.write(entry);
-                foundDuration = true;
-                break;
-            }
-        }
-        if (!foundDuration) {
+        Integer varDuration = reverseSwitchMultilevelReportDuration.get(duration);
+        if (varDuration == null) {
             throw new IllegalArgumentException("Unknown constant value '" + duration + "' for duration");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_REPORT);
+        buffer.put(varCurrentValue.byteValue());
+        buffer.put(targetValue.byteValue());
+        buffer.put(varDuration.byteValue());
     }
 
     /**
@@ -405,26 +539,14 @@ public class CommandClassSwitchMultilevelV4 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varIncDec = Integer.MAX_VALUE;
-        for (Integer entry : constantSwitchMultilevelStartLevelChangeIncDec.keySet()) {
-            if (constantSwitchMultilevelStartLevelChangeIncDec.get(entry).equals(incDec)) {
-                varIncDec = entry;
-                break;
-            }
-        }
-        if (varIncDec == Integer.MAX_VALUE) {
+        Integer varIncDec = reverseSwitchMultilevelStartLevelChangeIncDec.get(incDec);
+        if (varIncDec == null) {
             throw new IllegalArgumentException("Unknown constant value '" + incDec + "' for incDec");
         }
         valProperties1 |= varIncDec << 3 & 0x18;
         valProperties1 |= ignoreStartLevel ? 0x20 : 0;
-        int varUpDown = Integer.MAX_VALUE;
-        for (Integer entry : constantSwitchMultilevelStartLevelChangeUpDown.keySet()) {
-            if (constantSwitchMultilevelStartLevelChangeUpDown.get(entry).equals(upDown)) {
-                varUpDown = entry;
-                break;
-            }
-        }
-        if (varUpDown == Integer.MAX_VALUE) {
+        Integer varUpDown = reverseSwitchMultilevelStartLevelChangeUpDown.get(upDown);
+        if (varUpDown == null) {
             throw new IllegalArgumentException("Unknown constant value '" + upDown + "' for upDown");
         }
         valProperties1 |= varUpDown << 6 & 0xC0;
@@ -505,13 +627,31 @@ public class CommandClassSwitchMultilevelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelStopLevelChange() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH];
+        getSwitchMultilevelStopLevelChange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSwitchMultilevelStopLevelChange(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_STOP_LEVEL_CHANGE);
     }
 
     /**
@@ -538,13 +678,30 @@ public class CommandClassSwitchMultilevelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSupportedGet() {
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH];
+        getSwitchMultilevelSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchMultilevelSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_MULTILEVEL_SUPPORTED_GET version 4");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SUPPORTED_GET);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SUPPORTED_GET);
     }
 
     /**
@@ -573,19 +730,36 @@ public class CommandClassSwitchMultilevelV4 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchMultilevelSupportedReport(Integer primarySwitchType, Integer secondarySwitchType) {
-        logger.debug("Creating command message SWITCH_MULTILEVEL_SUPPORTED_REPORT version 4");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_MULTILEVEL_SUPPORTED_REPORT);
+        byte[] outputData = new byte[SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH];
+        getSwitchMultilevelSupportedReport(ByteBuffer.wrap(outputData), primarySwitchType, secondarySwitchType);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(primarySwitchType & 0x1F);
+    /**
+     * Writes a new message with the SWITCH_MULTILEVEL_SUPPORTED_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param primarySwitchType {@link Integer}
+     * @param secondarySwitchType {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getSwitchMultilevelSupportedReport(ByteBuffer buffer, Integer primarySwitchType,
+            Integer secondarySwitchType) {
+        logger.debug("Creating command message SWITCH_MULTILEVEL_SUPPORTED_REPORT version 4");
 
-        // Process 'Properties2'
-        outputData.write(secondarySwitchType & 0x1F);
+        if (buffer.remaining() < SWITCH_MULTILEVEL_SUPPORTED_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_MULTILEVEL_SUPPORTED_REPORT);
+        buffer.put((byte) (primarySwitchType & 0x1F));
+        buffer.put((byte) (secondarySwitchType & 0x1F));
     }
 
     /**
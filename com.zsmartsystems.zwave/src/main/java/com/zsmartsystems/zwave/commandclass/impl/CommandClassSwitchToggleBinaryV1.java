@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -41,24 +42,45 @@ public class CommandClassSwitchToggleBinaryV1 {
      * SWITCH_TOGGLE_BINARY_SET
      */
     public final static int SWITCH_TOGGLE_BINARY_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_BINARY_SET command
+     */
+    public final static int SWITCH_TOGGLE_BINARY_SET_LENGTH = 2;
     /**
      * Switch Toggle Binary Get Command Constant
      */
     public final static int SWITCH_TOGGLE_BINARY_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_BINARY_GET command
+     */
+    public final static int SWITCH_TOGGLE_BINARY_GET_LENGTH = 2;
     /**
      * Switch Toggle Binary Report Command Constant
      */
     public final static int SWITCH_TOGGLE_BINARY_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_BINARY_REPORT command
+     */
+    public final static int SWITCH_TOGGLE_BINARY_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for SwitchToggleBinaryReportValue
      */
     private static Map<Integer, String> constantSwitchToggleBinaryReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchToggleBinaryReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchToggleBinaryReportValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchToggleBinaryReportValue
         constantSwitchToggleBinaryReportValue.put(0x00, "OFF");
         constantSwitchToggleBinaryReportValue.put(0xFF, "ON");
+
+        // Reverse constants for SwitchToggleBinaryReportValue
+        reverseSwitchToggleBinaryReportValue.put("OFF", 0x00);
+        reverseSwitchToggleBinaryReportValue.put("ON", 0xFF);
     }
 
     /**
@@ -71,13 +93,29 @@ public class CommandClassSwitchToggleBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleBinarySet() {
+        byte[] outputData = new byte[SWITCH_TOGGLE_BINARY_SET_LENGTH];
+        getSwitchToggleBinarySet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_BINARY_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_BINARY_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_BINARY_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchToggleBinarySet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_TOGGLE_BINARY_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_BINARY_SET);
+        if (buffer.remaining() < SWITCH_TOGGLE_BINARY_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_BINARY_SET);
     }
 
     /**
@@ -106,13 +144,29 @@ public class CommandClassSwitchToggleBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleBinaryGet() {
+        byte[] outputData = new byte[SWITCH_TOGGLE_BINARY_GET_LENGTH];
+        getSwitchToggleBinaryGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_BINARY_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_BINARY_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_BINARY_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getSwitchToggleBinaryGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_TOGGLE_BINARY_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_BINARY_GET);
+        if (buffer.remaining() < SWITCH_TOGGLE_BINARY_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_BINARY_GET);
     }
 
     /**
@@ -146,26 +200,44 @@ public class CommandClassSwitchToggleBinaryV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleBinaryReport(String value) {
+        byte[] outputData = new byte[SWITCH_TOGGLE_BINARY_REPORT_LENGTH];
+        getSwitchToggleBinaryReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_BINARY_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_BINARY_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_BINARY_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchToggleBinaryReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message SWITCH_TOGGLE_BINARY_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_BINARY_REPORT);
+        if (buffer.remaining() < SWITCH_TOGGLE_BINARY_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchToggleBinaryReportValue.keySet()) {
-            if (constantSwitchToggleBinaryReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchToggleBinaryReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_BINARY_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
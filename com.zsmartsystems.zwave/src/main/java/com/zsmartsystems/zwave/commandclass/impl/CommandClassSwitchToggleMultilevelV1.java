@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -41,14 +43,26 @@ public class CommandClassSwitchToggleMultilevelV1 {
      * SWITCH_TOGGLE_MULTILEVEL_SET
      */
     public final static int SWITCH_TOGGLE_MULTILEVEL_SET = 0x01;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_MULTILEVEL_SET command
+     */
+    public final static int SWITCH_TOGGLE_MULTILEVEL_SET_LENGTH = 2;
     /**
      * Switch Toggle Multilevel Get Command Constant
      */
     public final static int SWITCH_TOGGLE_MULTILEVEL_GET = 0x02;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_MULTILEVEL_GET command
+     */
+    public final static int SWITCH_TOGGLE_MULTILEVEL_GET_LENGTH = 2;
     /**
      * Switch Toggle Multilevel Report Command Constant
      */
     public final static int SWITCH_TOGGLE_MULTILEVEL_REPORT = 0x03;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_MULTILEVEL_REPORT command
+     */
+    public final static int SWITCH_TOGGLE_MULTILEVEL_REPORT_LENGTH = 3;
     /**
      * Switch Toggle Multilevel Start Level Change Command Constant
      */
@@ -57,6 +71,10 @@ public class CommandClassSwitchToggleMultilevelV1 {
      * Switch Toggle Multilevel Stop Level Change Command Constant
      */
     public final static int SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE = 0x05;
+    /**
+     * Length of the encoded SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE command
+     */
+    public final static int SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH = 2;
 
     /**
      * Map holding constants for SwitchToggleMultilevelStartLevelChangeLevel
@@ -68,6 +86,11 @@ public class CommandClassSwitchToggleMultilevelV1 {
      */
     private static Map<Integer, String> constantSwitchToggleMultilevelReportValue = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for SwitchToggleMultilevelReportValue, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseSwitchToggleMultilevelReportValue = new HashMap<String, Integer>();
+
     static {
         // Constants for SwitchToggleMultilevelStartLevelChangeLevel
         constantSwitchToggleMultilevelStartLevelChangeLevel.put(0x20, "IGNORE_START_LEVEL");
@@ -76,6 +99,10 @@ public class CommandClassSwitchToggleMultilevelV1 {
         // Constants for SwitchToggleMultilevelReportValue
         constantSwitchToggleMultilevelReportValue.put(0x00, "OFF_DISABLE");
         constantSwitchToggleMultilevelReportValue.put(0xFF, "ON_ENABLE");
+
+        // Reverse constants for SwitchToggleMultilevelReportValue
+        reverseSwitchToggleMultilevelReportValue.put("OFF_DISABLE", 0x00);
+        reverseSwitchToggleMultilevelReportValue.put("ON_ENABLE", 0xFF);
     }
 
     /**
@@ -88,13 +115,30 @@ public class CommandClassSwitchToggleMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleMultilevelSet() {
+        byte[] outputData = new byte[SWITCH_TOGGLE_MULTILEVEL_SET_LENGTH];
+        getSwitchToggleMultilevelSet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_MULTILEVEL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_MULTILEVEL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_MULTILEVEL_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchToggleMultilevelSet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_TOGGLE_MULTILEVEL_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_MULTILEVEL_SET);
+        if (buffer.remaining() < SWITCH_TOGGLE_MULTILEVEL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_MULTILEVEL_SET);
     }
 
     /**
@@ -123,13 +167,30 @@ public class CommandClassSwitchToggleMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleMultilevelGet() {
+        byte[] outputData = new byte[SWITCH_TOGGLE_MULTILEVEL_GET_LENGTH];
+        getSwitchToggleMultilevelGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_MULTILEVEL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_MULTILEVEL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_MULTILEVEL_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchToggleMultilevelGet(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_TOGGLE_MULTILEVEL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_MULTILEVEL_GET);
+        if (buffer.remaining() < SWITCH_TOGGLE_MULTILEVEL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_MULTILEVEL_GET);
     }
 
     /**
@@ -163,26 +224,44 @@ public class CommandClassSwitchToggleMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleMultilevelReport(String value) {
+        byte[] outputData = new byte[SWITCH_TOGGLE_MULTILEVEL_REPORT_LENGTH];
+        getSwitchToggleMultilevelReport(ByteBuffer.wrap(outputData), value);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_MULTILEVEL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_MULTILEVEL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param value {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF_DISABLE
+     *            <li>ON_ENABLE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_MULTILEVEL_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getSwitchToggleMultilevelReport(ByteBuffer buffer, String value) {
         logger.debug("Creating command message SWITCH_TOGGLE_MULTILEVEL_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_MULTILEVEL_REPORT);
+        if (buffer.remaining() < SWITCH_TOGGLE_MULTILEVEL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Value'
-        boolean foundValue = false;
-        for (Integer entry : constantSwitchToggleMultilevelReportValue.keySet()) {
-            if (constantSwitchToggleMultilevelReportValue.get(entry).equals(value)) {
-                outputData.write(entry);
-                foundValue = true;
-                break;
-            }
-        }
-        if (!foundValue) {
+        Integer varValue = reverseSwitchToggleMultilevelReportValue.get(value);
+        if (varValue == null) {
             throw new IllegalArgumentException("Unknown constant value '" + value + "' for value");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_MULTILEVEL_REPORT);
+        buffer.put(varValue.byteValue());
     }
 
     /**
@@ -285,13 +364,31 @@ public class CommandClassSwitchToggleMultilevelV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getSwitchToggleMultilevelStopLevelChange() {
+        byte[] outputData = new byte[SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH];
+        getSwitchToggleMultilevelStopLevelChange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of
+     * the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getSwitchToggleMultilevelStopLevelChange(ByteBuffer buffer) {
         logger.debug("Creating command message SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE);
+        if (buffer.remaining() < SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) SWITCH_TOGGLE_MULTILEVEL_STOP_LEVEL_CHANGE);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class CommandClassTariffConfigV1 {
      * Tariff Tbl Set Command Constant
      */
     public final static int TARIFF_TBL_SET = 0x02;
+    /**
+     * Length of the encoded TARIFF_TBL_SET command
+     */
+    public final static int TARIFF_TBL_SET_LENGTH = 8;
     /**
      * Tariff Tbl Remove Command Constant
      */
@@ -220,25 +226,39 @@ public class CommandClassTariffConfigV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTariffTblSet(Integer rateParameterSetId, Integer tariffPrecision, Long tariffValue) {
-        logger.debug("Creating command message TARIFF_TBL_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TARIFF_TBL_SET);
-
-        // Process 'Rate Parameter Set ID'
-        outputData.write(rateParameterSetId);
+        byte[] outputData = new byte[TARIFF_TBL_SET_LENGTH];
+        getTariffTblSet(ByteBuffer.wrap(outputData), rateParameterSetId, tariffPrecision, tariffValue);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(((tariffPrecision << 5) & 0xE0));
+    /**
+     * Writes a new message with the TARIFF_TBL_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TARIFF_TBL_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param rateParameterSetId {@link Integer}
+     * @param tariffPrecision {@link Integer}
+     * @param tariffValue {@link Long}
+     * @throws BufferOverflowException if fewer than {@link #TARIFF_TBL_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTariffTblSet(ByteBuffer buffer, Integer rateParameterSetId, Integer tariffPrecision,
+            Long tariffValue) {
+        logger.debug("Creating command message TARIFF_TBL_SET version 1");
 
-        // Process 'Tariff Value'
-        outputData.write((byte) ((tariffValue >> 24) & 0xff));
-        outputData.write((byte) ((tariffValue >> 16) & 0xff));
-        outputData.write((byte) ((tariffValue >> 8) & 0xff));
-        outputData.write((byte) (tariffValue & 0xff));
+        if (buffer.remaining() < TARIFF_TBL_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TARIFF_TBL_SET);
+        buffer.put(rateParameterSetId.byteValue());
+        buffer.put((byte) (((tariffPrecision << 5) & 0xE0)));
+        buffer.put((byte) ((tariffValue >> 24) & 0xff));
+        buffer.put((byte) ((tariffValue >> 16) & 0xff));
+        buffer.put((byte) ((tariffValue >> 8) & 0xff));
+        buffer.put((byte) (tariffValue & 0xff));
     }
 
     /**
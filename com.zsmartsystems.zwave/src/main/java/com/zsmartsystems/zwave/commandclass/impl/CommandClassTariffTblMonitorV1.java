@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,6 +43,10 @@ public class CommandClassTariffTblMonitorV1 {
      * Tariff Tbl Supplier Get Command Constant
      */
     public final static int TARIFF_TBL_SUPPLIER_GET = 0x01;
+    /**
+     * Length of the encoded TARIFF_TBL_SUPPLIER_GET command
+     */
+    public final static int TARIFF_TBL_SUPPLIER_GET_LENGTH = 2;
     /**
      * Tariff Tbl Supplier Report Command Constant
      */
@@ -49,10 +55,18 @@ public class CommandClassTariffTblMonitorV1 {
      * Tariff Tbl Get Command Constant
      */
     public final static int TARIFF_TBL_GET = 0x03;
+    /**
+     * Length of the encoded TARIFF_TBL_GET command
+     */
+    public final static int TARIFF_TBL_GET_LENGTH = 3;
     /**
      * Tariff Tbl Report Command Constant
      */
     public final static int TARIFF_TBL_REPORT = 0x04;
+    /**
+     * Length of the encoded TARIFF_TBL_REPORT command
+     */
+    public final static int TARIFF_TBL_REPORT_LENGTH = 8;
     /**
      * Tariff Tbl Cost Get Command Constant
      */
@@ -71,13 +85,29 @@ public class CommandClassTariffTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTariffTblSupplierGet() {
+        byte[] outputData = new byte[TARIFF_TBL_SUPPLIER_GET_LENGTH];
+        getTariffTblSupplierGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TARIFF_TBL_SUPPLIER_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TARIFF_TBL_SUPPLIER_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TARIFF_TBL_SUPPLIER_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTariffTblSupplierGet(ByteBuffer buffer) {
         logger.debug("Creating command message TARIFF_TBL_SUPPLIER_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TARIFF_TBL_SUPPLIER_GET);
+        if (buffer.remaining() < TARIFF_TBL_SUPPLIER_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TARIFF_TBL_SUPPLIER_GET);
     }
 
     /**
@@ -263,16 +293,31 @@ public class CommandClassTariffTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTariffTblGet(Integer rateParameterSetId) {
-        logger.debug("Creating command message TARIFF_TBL_GET version 1");
+        byte[] outputData = new byte[TARIFF_TBL_GET_LENGTH];
+        getTariffTblGet(ByteBuffer.wrap(outputData), rateParameterSetId);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TARIFF_TBL_GET);
+    /**
+     * Writes a new message with the TARIFF_TBL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TARIFF_TBL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param rateParameterSetId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #TARIFF_TBL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTariffTblGet(ByteBuffer buffer, Integer rateParameterSetId) {
+        logger.debug("Creating command message TARIFF_TBL_GET version 1");
 
-        // Process 'Rate Parameter Set ID'
-        outputData.write(rateParameterSetId);
+        if (buffer.remaining() < TARIFF_TBL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TARIFF_TBL_GET);
+        buffer.put(rateParameterSetId.byteValue());
     }
 
     /**
@@ -311,25 +356,39 @@ public class CommandClassTariffTblMonitorV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTariffTblReport(Integer rateParameterSetId, Integer tariffPrecision, Long tariffValue) {
-        logger.debug("Creating command message TARIFF_TBL_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TARIFF_TBL_REPORT);
-
-        // Process 'Rate Parameter Set ID'
-        outputData.write(rateParameterSetId);
+        byte[] outputData = new byte[TARIFF_TBL_REPORT_LENGTH];
+        getTariffTblReport(ByteBuffer.wrap(outputData), rateParameterSetId, tariffPrecision, tariffValue);
+        return outputData;
+    }
 
-        // Process 'Properties1'
-        outputData.write(((tariffPrecision << 5) & 0xE0));
+    /**
+     * Writes a new message with the TARIFF_TBL_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TARIFF_TBL_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param rateParameterSetId {@link Integer}
+     * @param tariffPrecision {@link Integer}
+     * @param tariffValue {@link Long}
+     * @throws BufferOverflowException if fewer than {@link #TARIFF_TBL_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getTariffTblReport(ByteBuffer buffer, Integer rateParameterSetId, Integer tariffPrecision,
+            Long tariffValue) {
+        logger.debug("Creating command message TARIFF_TBL_REPORT version 1");
 
-        // Process 'Tariff Value'
-        outputData.write((byte) ((tariffValue >> 24) & 0xff));
-        outputData.write((byte) ((tariffValue >> 16) & 0xff));
-        outputData.write((byte) ((tariffValue >> 8) & 0xff));
-        outputData.write((byte) (tariffValue & 0xff));
+        if (buffer.remaining() < TARIFF_TBL_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TARIFF_TBL_REPORT);
+        buffer.put(rateParameterSetId.byteValue());
+        buffer.put((byte) (((tariffPrecision << 5) & 0xE0)));
+        buffer.put((byte) ((tariffValue >> 24) & 0xff));
+        buffer.put((byte) ((tariffValue >> 16) & 0xff));
+        buffer.put((byte) ((tariffValue >> 8) & 0xff));
+        buffer.put((byte) (tariffValue & 0xff));
     }
 
     /**
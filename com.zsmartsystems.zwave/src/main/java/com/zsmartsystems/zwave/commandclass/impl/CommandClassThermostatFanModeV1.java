@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,18 +44,34 @@ public class CommandClassThermostatFanModeV1 {
      * Thermostat Fan Mode Set Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_SET = 0x01;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_SET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_SET_LENGTH = 3;
     /**
      * Thermostat Fan Mode Get Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_GET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_GET_LENGTH = 2;
     /**
      * Thermostat Fan Mode Report Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_REPORT command
+     */
+    public final static int THERMOSTAT_FAN_MODE_REPORT_LENGTH = 3;
     /**
      * Thermostat Fan Mode Supported Get Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Fan Mode Supported Report Command Constant
      */
@@ -64,16 +82,31 @@ public class CommandClassThermostatFanModeV1 {
      */
     private static Map<Integer, String> constantThermostatFanModeSetFanMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeSetFanMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeSetFanMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatFanModeSupportedReportBitMask
      */
     private static Map<Integer, String> constantThermostatFanModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatFanModeReportFanMode
      */
     private static Map<Integer, String> constantThermostatFanModeReportFanMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeReportFanMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeReportFanMode = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatFanModeSetFanMode
         constantThermostatFanModeSetFanMode.put(0x00, "AUTO_LOW");
@@ -92,6 +125,24 @@ public class CommandClassThermostatFanModeV1 {
         constantThermostatFanModeReportFanMode.put(0x01, "LOW");
         constantThermostatFanModeReportFanMode.put(0x02, "AUTO_HIGH");
         constantThermostatFanModeReportFanMode.put(0x03, "HIGH");
+
+        // Reverse constants for ThermostatFanModeSetFanMode
+        reverseThermostatFanModeSetFanMode.put("AUTO_LOW", 0x00);
+        reverseThermostatFanModeSetFanMode.put("LOW", 0x01);
+        reverseThermostatFanModeSetFanMode.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeSetFanMode.put("HIGH", 0x03);
+
+        // Reverse constants for ThermostatFanModeSupportedReportBitMask
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO", 0x00);
+        reverseThermostatFanModeSupportedReportBitMask.put("ON", 0x01);
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeSupportedReportBitMask.put("ON_HIGH", 0x03);
+
+        // Reverse constants for ThermostatFanModeReportFanMode
+        reverseThermostatFanModeReportFanMode.put("AUTO_LOW", 0x00);
+        reverseThermostatFanModeReportFanMode.put("LOW", 0x01);
+        reverseThermostatFanModeReportFanMode.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeReportFanMode.put("HIGH", 0x03);
     }
 
     /**
@@ -111,26 +162,45 @@ public class CommandClassThermostatFanModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeSet(String fanMode) {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_SET_LENGTH];
+        getThermostatFanModeSet(ByteBuffer.wrap(outputData), fanMode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param fanMode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>AUTO_LOW
+     *            <li>LOW
+     *            <li>AUTO_HIGH
+     *            <li>HIGH
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatFanModeSet(ByteBuffer buffer, String fanMode) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_SET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varFanMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanModeSetFanMode.keySet()) {
-            if (constantThermostatFanModeSetFanMode.get(entry).equals(fanMode)) {
-                varFanMode = entry;
-                break;
-            }
-        }
-        if (varFanMode == Integer.MAX_VALUE) {
+        Integer varFanMode = reverseThermostatFanModeSetFanMode.get(fanMode);
+        if (varFanMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanMode + "' for fanMode");
         }
-        outputData.write(varFanMode & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_SET);
+        buffer.put((byte) (varFanMode & 0x0F));
     }
 
     /**
@@ -174,13 +244,29 @@ public class CommandClassThermostatFanModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_GET_LENGTH];
+        getThermostatFanModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatFanModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_GET);
     }
 
     /**
@@ -216,26 +302,46 @@ public class CommandClassThermostatFanModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeReport(String fanMode) {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_REPORT_LENGTH];
+        getThermostatFanModeReport(ByteBuffer.wrap(outputData), fanMode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param fanMode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>AUTO_LOW
+     *            <li>LOW
+     *            <li>AUTO_HIGH
+     *            <li>HIGH
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatFanModeReport(ByteBuffer buffer, String fanMode) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varFanMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanModeReportFanMode.keySet()) {
-            if (constantThermostatFanModeReportFanMode.get(entry).equals(fanMode)) {
-                varFanMode = entry;
-                break;
-            }
-        }
-        if (varFanMode == Integer.MAX_VALUE) {
+        Integer varFanMode = reverseThermostatFanModeReportFanMode.get(fanMode);
+        if (varFanMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanMode + "' for fanMode");
         }
-        outputData.write(varFanMode & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_REPORT);
+        buffer.put((byte) (varFanMode & 0x0F));
     }
 
     /**
@@ -279,13 +385,31 @@ public class CommandClassThermostatFanModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH];
+        getThermostatFanModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatFanModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -330,17 +454,11 @@ public class CommandClassThermostatFanModeV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatFanModeSupportedReportBitMask.keySet()) {
-                if (constantThermostatFanModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatFanModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
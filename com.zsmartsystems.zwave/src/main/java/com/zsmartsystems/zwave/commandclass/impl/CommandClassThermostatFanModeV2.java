@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -46,14 +48,26 @@ public class CommandClassThermostatFanModeV2 {
      * Thermostat Fan Mode Get Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_GET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_GET_LENGTH = 2;
     /**
      * Thermostat Fan Mode Report Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_REPORT command
+     */
+    public final static int THERMOSTAT_FAN_MODE_REPORT_LENGTH = 3;
     /**
      * Thermostat Fan Mode Supported Get Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Fan Mode Supported Report Command Constant
      */
@@ -64,6 +78,11 @@ public class CommandClassThermostatFanModeV2 {
      */
     private static Map<Integer, String> constantThermostatFanModeSetFanMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeSetFanMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeSetFanMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatFanModeSetLevel
      */
@@ -74,11 +93,21 @@ public class CommandClassThermostatFanModeV2 {
      */
     private static Map<Integer, String> constantThermostatFanModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatFanModeReportFanMode
      */
     private static Map<Integer, String> constantThermostatFanModeReportFanMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeReportFanMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeReportFanMode = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatFanModeSetFanMode
         constantThermostatFanModeSetFanMode.put(0x00, "AUTO_LOW");
@@ -106,6 +135,30 @@ public class CommandClassThermostatFanModeV2 {
         constantThermostatFanModeReportFanMode.put(0x03, "HIGH");
         constantThermostatFanModeReportFanMode.put(0x04, "AUTO_MEDIUM");
         constantThermostatFanModeReportFanMode.put(0x05, "MEDIUM");
+
+        // Reverse constants for ThermostatFanModeSetFanMode
+        reverseThermostatFanModeSetFanMode.put("AUTO_LOW", 0x00);
+        reverseThermostatFanModeSetFanMode.put("LOW", 0x01);
+        reverseThermostatFanModeSetFanMode.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeSetFanMode.put("HIGH", 0x03);
+        reverseThermostatFanModeSetFanMode.put("AUTO_MEDIUM", 0x04);
+        reverseThermostatFanModeSetFanMode.put("MEDIUM", 0x05);
+
+        // Reverse constants for ThermostatFanModeSupportedReportBitMask
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO", 0x00);
+        reverseThermostatFanModeSupportedReportBitMask.put("LOW", 0x01);
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeSupportedReportBitMask.put("HIGH", 0x03);
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO_MEDIUM", 0x04);
+        reverseThermostatFanModeSupportedReportBitMask.put("MEDIUM", 0x05);
+
+        // Reverse constants for ThermostatFanModeReportFanMode
+        reverseThermostatFanModeReportFanMode.put("AUTO_LOW", 0x00);
+        reverseThermostatFanModeReportFanMode.put("LOW", 0x01);
+        reverseThermostatFanModeReportFanMode.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeReportFanMode.put("HIGH", 0x03);
+        reverseThermostatFanModeReportFanMode.put("AUTO_MEDIUM", 0x04);
+        reverseThermostatFanModeReportFanMode.put("MEDIUM", 0x05);
     }
 
     /**
@@ -136,14 +189,8 @@ public class CommandClassThermostatFanModeV2 {
 
         // Process 'Level'
         int valLevel = 0;
-        int varFanMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanModeSetFanMode.keySet()) {
-            if (constantThermostatFanModeSetFanMode.get(entry).equals(fanMode)) {
-                varFanMode = entry;
-                break;
-            }
-        }
-        if (varFanMode == Integer.MAX_VALUE) {
+        Integer varFanMode = reverseThermostatFanModeSetFanMode.get(fanMode);
+        if (varFanMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanMode + "' for fanMode");
         }
         valLevel |= varFanMode & 0x0F;
@@ -198,13 +245,29 @@ public class CommandClassThermostatFanModeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_GET_LENGTH];
+        getThermostatFanModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatFanModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_GET);
     }
 
     /**
@@ -242,26 +305,48 @@ public class CommandClassThermostatFanModeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeReport(String fanMode) {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_REPORT_LENGTH];
+        getThermostatFanModeReport(ByteBuffer.wrap(outputData), fanMode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param fanMode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>AUTO_LOW
+     *            <li>LOW
+     *            <li>AUTO_HIGH
+     *            <li>HIGH
+     *            <li>AUTO_MEDIUM
+     *            <li>MEDIUM
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatFanModeReport(ByteBuffer buffer, String fanMode) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varFanMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanModeReportFanMode.keySet()) {
-            if (constantThermostatFanModeReportFanMode.get(entry).equals(fanMode)) {
-                varFanMode = entry;
-                break;
-            }
-        }
-        if (varFanMode == Integer.MAX_VALUE) {
+        Integer varFanMode = reverseThermostatFanModeReportFanMode.get(fanMode);
+        if (varFanMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanMode + "' for fanMode");
         }
-        outputData.write(varFanMode & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_REPORT);
+        buffer.put((byte) (varFanMode & 0x0F));
     }
 
     /**
@@ -307,13 +392,31 @@ public class CommandClassThermostatFanModeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH];
+        getThermostatFanModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatFanModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -360,17 +463,11 @@ public class CommandClassThermostatFanModeV2 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatFanModeSupportedReportBitMask.keySet()) {
-                if (constantThermostatFanModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatFanModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +48,10 @@ public class CommandClassThermostatFanModeV3 {
      * Thermostat Fan Mode Get Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_GET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_GET_LENGTH = 2;
     /**
      * Thermostat Fan Mode Report Command Constant
      */
@@ -54,6 +60,10 @@ public class CommandClassThermostatFanModeV3 {
      * Thermostat Fan Mode Supported Get Command Constant
      */
     public final static int THERMOSTAT_FAN_MODE_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_MODE_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Fan Mode Supported Report Command Constant
      */
@@ -64,6 +74,11 @@ public class CommandClassThermostatFanModeV3 {
      */
     private static Map<Integer, String> constantThermostatFanModeSetFanMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeSetFanMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeSetFanMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatFanModeReportProperties1
      */
@@ -74,6 +89,11 @@ public class CommandClassThermostatFanModeV3 {
      */
     private static Map<Integer, String> constantThermostatFanModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatFanModeSetProperties1
      */
@@ -84,6 +104,11 @@ public class CommandClassThermostatFanModeV3 {
      */
     private static Map<Integer, String> constantThermostatFanModeReportFanMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanModeReportFanMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanModeReportFanMode = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatFanModeSetFanMode
         constantThermostatFanModeSetFanMode.put(0x00, "AUTO_LOW");
@@ -120,6 +145,36 @@ public class CommandClassThermostatFanModeV3 {
         constantThermostatFanModeReportFanMode.put(0x05, "MEDIUM");
         constantThermostatFanModeReportFanMode.put(0x06, "CIRCULATION");
         constantThermostatFanModeReportFanMode.put(0x07, "HUMIDITY");
+
+        // Reverse constants for ThermostatFanModeSetFanMode
+        reverseThermostatFanModeSetFanMode.put("AUTO_LOW", 0x00);
+        reverseThermostatFanModeSetFanMode.put("LOW", 0x01);
+        reverseThermostatFanModeSetFanMode.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeSetFanMode.put("HIGH", 0x03);
+        reverseThermostatFanModeSetFanMode.put("AUTO_MEDIUM", 0x04);
+        reverseThermostatFanModeSetFanMode.put("MEDIUM", 0x05);
+        reverseThermostatFanModeSetFanMode.put("CIRCULATION", 0x06);
+        reverseThermostatFanModeSetFanMode.put("HUMIDITY", 0x07);
+
+        // Reverse constants for ThermostatFanModeSupportedReportBitMask
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO", 0x00);
+        reverseThermostatFanModeSupportedReportBitMask.put("LOW", 0x01);
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeSupportedReportBitMask.put("HIGH", 0x03);
+        reverseThermostatFanModeSupportedReportBitMask.put("AUTO_MEDIUM", 0x04);
+        reverseThermostatFanModeSupportedReportBitMask.put("MEDIUM", 0x05);
+        reverseThermostatFanModeSupportedReportBitMask.put("CIRCULATION", 0x06);
+        reverseThermostatFanModeSupportedReportBitMask.put("HUMIDITY_CIRCULATION", 0x07);
+
+        // Reverse constants for ThermostatFanModeReportFanMode
+        reverseThermostatFanModeReportFanMode.put("AUTO_LOW", 0x00);
+        reverseThermostatFanModeReportFanMode.put("LOW", 0x01);
+        reverseThermostatFanModeReportFanMode.put("AUTO_HIGH", 0x02);
+        reverseThermostatFanModeReportFanMode.put("HIGH", 0x03);
+        reverseThermostatFanModeReportFanMode.put("AUTO_MEDIUM", 0x04);
+        reverseThermostatFanModeReportFanMode.put("MEDIUM", 0x05);
+        reverseThermostatFanModeReportFanMode.put("CIRCULATION", 0x06);
+        reverseThermostatFanModeReportFanMode.put("HUMIDITY", 0x07);
     }
 
     /**
@@ -152,14 +207,8 @@ public class CommandClassThermostatFanModeV3 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varFanMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanModeSetFanMode.keySet()) {
-            if (constantThermostatFanModeSetFanMode.get(entry).equals(fanMode)) {
-                varFanMode = entry;
-                break;
-            }
-        }
-        if (varFanMode == Integer.MAX_VALUE) {
+        Integer varFanMode = reverseThermostatFanModeSetFanMode.get(fanMode);
+        if (varFanMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanMode + "' for fanMode");
         }
         valProperties1 |= varFanMode & 0x0F;
@@ -216,13 +265,29 @@ public class CommandClassThermostatFanModeV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_GET_LENGTH];
+        getThermostatFanModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatFanModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_GET);
     }
 
     /**
@@ -271,14 +336,8 @@ public class CommandClassThermostatFanModeV3 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varFanMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanModeReportFanMode.keySet()) {
-            if (constantThermostatFanModeReportFanMode.get(entry).equals(fanMode)) {
-                varFanMode = entry;
-                break;
-            }
-        }
-        if (varFanMode == Integer.MAX_VALUE) {
+        Integer varFanMode = reverseThermostatFanModeReportFanMode.get(fanMode);
+        if (varFanMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanMode + "' for fanMode");
         }
         valProperties1 |= varFanMode & 0x0F;
@@ -335,13 +394,31 @@ public class CommandClassThermostatFanModeV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanModeSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH];
+        getThermostatFanModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatFanModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_MODE_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -390,17 +467,11 @@ public class CommandClassThermostatFanModeV3 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatFanModeSupportedReportBitMask.keySet()) {
-                if (constantThermostatFanModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatFanModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,16 +41,29 @@ public class CommandClassThermostatFanStateV2 {
      * Thermostat Fan State Get Command Constant
      */
     public final static int THERMOSTAT_FAN_STATE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_STATE_GET command
+     */
+    public final static int THERMOSTAT_FAN_STATE_GET_LENGTH = 2;
     /**
      * Thermostat Fan State Report Command Constant
      */
     public final static int THERMOSTAT_FAN_STATE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_FAN_STATE_REPORT command
+     */
+    public final static int THERMOSTAT_FAN_STATE_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for ThermostatFanStateReportFanOperatingState
      */
     private static Map<Integer, String> constantThermostatFanStateReportFanOperatingState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatFanStateReportFanOperatingState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatFanStateReportFanOperatingState = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatFanStateReportFanOperatingState
         constantThermostatFanStateReportFanOperatingState.put(0x00, "IDLE");
@@ -61,6 +75,17 @@ public class CommandClassThermostatFanStateV2 {
         constantThermostatFanStateReportFanOperatingState.put(0x06, "RIGHT_LEFT_CIRCULATION");
         constantThermostatFanStateReportFanOperatingState.put(0x07, "UP_DOWN_CIRCULATION");
         constantThermostatFanStateReportFanOperatingState.put(0x08, "QUIET_CIRCULATION");
+
+        // Reverse constants for ThermostatFanStateReportFanOperatingState
+        reverseThermostatFanStateReportFanOperatingState.put("IDLE", 0x00);
+        reverseThermostatFanStateReportFanOperatingState.put("RUNNING", 0x01);
+        reverseThermostatFanStateReportFanOperatingState.put("RUNNING_HIGH", 0x02);
+        reverseThermostatFanStateReportFanOperatingState.put("RUNNING_MEDIUM", 0x03);
+        reverseThermostatFanStateReportFanOperatingState.put("CIRCULATION", 0x04);
+        reverseThermostatFanStateReportFanOperatingState.put("HUMIDITY_CIRCULATION", 0x05);
+        reverseThermostatFanStateReportFanOperatingState.put("RIGHT_LEFT_CIRCULATION", 0x06);
+        reverseThermostatFanStateReportFanOperatingState.put("UP_DOWN_CIRCULATION", 0x07);
+        reverseThermostatFanStateReportFanOperatingState.put("QUIET_CIRCULATION", 0x08);
     }
 
     /**
@@ -71,13 +96,29 @@ public class CommandClassThermostatFanStateV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanStateGet() {
+        byte[] outputData = new byte[THERMOSTAT_FAN_STATE_GET_LENGTH];
+        getThermostatFanStateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_STATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatFanStateGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_FAN_STATE_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_STATE_GET);
+        if (buffer.remaining() < THERMOSTAT_FAN_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_STATE_GET);
     }
 
     /**
@@ -118,26 +159,51 @@ public class CommandClassThermostatFanStateV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatFanStateReport(String fanOperatingState) {
+        byte[] outputData = new byte[THERMOSTAT_FAN_STATE_REPORT_LENGTH];
+        getThermostatFanStateReport(ByteBuffer.wrap(outputData), fanOperatingState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_FAN_STATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_FAN_STATE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param fanOperatingState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>IDLE
+     *            <li>RUNNING
+     *            <li>RUNNING_HIGH
+     *            <li>RUNNING_MEDIUM
+     *            <li>CIRCULATION
+     *            <li>HUMIDITY_CIRCULATION
+     *            <li>RIGHT_LEFT_CIRCULATION
+     *            <li>UP_DOWN_CIRCULATION
+     *            <li>QUIET_CIRCULATION
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_FAN_STATE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatFanStateReport(ByteBuffer buffer, String fanOperatingState) {
         logger.debug("Creating command message THERMOSTAT_FAN_STATE_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_FAN_STATE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_FAN_STATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varFanOperatingState = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatFanStateReportFanOperatingState.keySet()) {
-            if (constantThermostatFanStateReportFanOperatingState.get(entry).equals(fanOperatingState)) {
-                varFanOperatingState = entry;
-                break;
-            }
-        }
-        if (varFanOperatingState == Integer.MAX_VALUE) {
+        Integer varFanOperatingState = reverseThermostatFanStateReportFanOperatingState.get(fanOperatingState);
+        if (varFanOperatingState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + fanOperatingState + "' for fanOperatingState");
         }
-        outputData.write(varFanOperatingState & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_FAN_STATE_REPORT);
+        buffer.put((byte) (varFanOperatingState & 0x0F));
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,14 +43,26 @@ public class CommandClassThermostatHeatingV1 {
      * Thermostat Heating Mode Set Command Constant
      */
     public final static int THERMOSTAT_HEATING_MODE_SET = 0x01;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_MODE_SET command
+     */
+    public final static int THERMOSTAT_HEATING_MODE_SET_LENGTH = 3;
     /**
      * Thermostat Heating Mode Get Command Constant
      */
     public final static int THERMOSTAT_HEATING_MODE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_MODE_GET command
+     */
+    public final static int THERMOSTAT_HEATING_MODE_GET_LENGTH = 2;
     /**
      * Thermostat Heating Mode Report Command Constant
      */
     public final static int THERMOSTAT_HEATING_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_MODE_REPORT command
+     */
+    public final static int THERMOSTAT_HEATING_MODE_REPORT_LENGTH = 3;
     /**
      * Thermostat Heating Setpoint Set Command Constant
      */
@@ -57,6 +71,10 @@ public class CommandClassThermostatHeatingV1 {
      * Thermostat Heating Setpoint Get Command Constant
      */
     public final static int THERMOSTAT_HEATING_SETPOINT_GET = 0x05;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_SETPOINT_GET command
+     */
+    public final static int THERMOSTAT_HEATING_SETPOINT_GET_LENGTH = 3;
     /**
      * Thermostat Heating Setpoint Report Command Constant
      */
@@ -65,52 +83,101 @@ public class CommandClassThermostatHeatingV1 {
      * Thermostat Heating Relay Status Get Command Constant
      */
     public final static int THERMOSTAT_HEATING_RELAY_STATUS_GET = 0x09;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_RELAY_STATUS_GET command
+     */
+    public final static int THERMOSTAT_HEATING_RELAY_STATUS_GET_LENGTH = 2;
     /**
      * Thermostat Heating Relay Status Report Command Constant
      */
     public final static int THERMOSTAT_HEATING_RELAY_STATUS_REPORT = 0x0A;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_RELAY_STATUS_REPORT command
+     */
+    public final static int THERMOSTAT_HEATING_RELAY_STATUS_REPORT_LENGTH = 3;
     /**
      * Thermostat Heating Status Set Command Constant
      */
     public final static int THERMOSTAT_HEATING_STATUS_SET = 0x0B;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_STATUS_SET command
+     */
+    public final static int THERMOSTAT_HEATING_STATUS_SET_LENGTH = 3;
     /**
      * Thermostat Heating Status Get Command Constant
      */
     public final static int THERMOSTAT_HEATING_STATUS_GET = 0x0C;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_STATUS_GET command
+     */
+    public final static int THERMOSTAT_HEATING_STATUS_GET_LENGTH = 2;
     /**
      * Thermostat Heating Heating Status Report Command Constant
      */
     public final static int THERMOSTAT_HEATING_STATUS_REPORT = 0x0D;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_STATUS_REPORT command
+     */
+    public final static int THERMOSTAT_HEATING_STATUS_REPORT_LENGTH = 3;
     /**
      * Thermostat Heating Timed Off Set Command Constant
      */
     public final static int THERMOSTAT_HEATING_TIMED_OFF_SET = 0x11;
+    /**
+     * Length of the encoded THERMOSTAT_HEATING_TIMED_OFF_SET command
+     */
+    public final static int THERMOSTAT_HEATING_TIMED_OFF_SET_LENGTH = 4;
 
     /**
      * Map holding constants for ThermostatHeatingStatusReportStatus
      */
     private static Map<Integer, String> constantThermostatHeatingStatusReportStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatHeatingStatusReportStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatHeatingStatusReportStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatHeatingModeSetMode
      */
     private static Map<Integer, String> constantThermostatHeatingModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatHeatingModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatHeatingModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatHeatingRelayStatusReportRelayStatus
      */
     private static Map<Integer, String> constantThermostatHeatingRelayStatusReportRelayStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatHeatingRelayStatusReportRelayStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatHeatingRelayStatusReportRelayStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatHeatingModeReportMode
      */
     private static Map<Integer, String> constantThermostatHeatingModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatHeatingModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatHeatingModeReportMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatHeatingStatusSetStatus
      */
     private static Map<Integer, String> constantThermostatHeatingStatusSetStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatHeatingStatusSetStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatHeatingStatusSetStatus = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatHeatingStatusReportStatus
         constantThermostatHeatingStatusReportStatus.put(0x00, "HEATING");
@@ -143,6 +210,38 @@ public class CommandClassThermostatHeatingV1 {
         // Constants for ThermostatHeatingStatusSetStatus
         constantThermostatHeatingStatusSetStatus.put(0x00, "HEATING");
         constantThermostatHeatingStatusSetStatus.put(0x01, "COOLING");
+
+        // Reverse constants for ThermostatHeatingStatusReportStatus
+        reverseThermostatHeatingStatusReportStatus.put("HEATING", 0x00);
+        reverseThermostatHeatingStatusReportStatus.put("COOLING", 0x01);
+
+        // Reverse constants for ThermostatHeatingModeSetMode
+        reverseThermostatHeatingModeSetMode.put("OFF", 0x00);
+        reverseThermostatHeatingModeSetMode.put("OFF_TIMED", 0x01);
+        reverseThermostatHeatingModeSetMode.put("OFF_3_HOURS", 0x02);
+        reverseThermostatHeatingModeSetMode.put("ANTI_FREEZE", 0x03);
+        reverseThermostatHeatingModeSetMode.put("MANUAL", 0x04);
+        reverseThermostatHeatingModeSetMode.put("TEMPORARY_MANUAL", 0x05);
+        reverseThermostatHeatingModeSetMode.put("AUTOMATIC", 0x06);
+        reverseThermostatHeatingModeSetMode.put("MANUAL_TIMED", 0x07);
+
+        // Reverse constants for ThermostatHeatingRelayStatusReportRelayStatus
+        reverseThermostatHeatingRelayStatusReportRelayStatus.put("OFF", 0x00);
+        reverseThermostatHeatingRelayStatusReportRelayStatus.put("ON", 0x01);
+
+        // Reverse constants for ThermostatHeatingModeReportMode
+        reverseThermostatHeatingModeReportMode.put("OFF", 0x00);
+        reverseThermostatHeatingModeReportMode.put("OFF_TIMED", 0x01);
+        reverseThermostatHeatingModeReportMode.put("OFF_3_HOURS", 0x02);
+        reverseThermostatHeatingModeReportMode.put("ANTI_FREEZE", 0x03);
+        reverseThermostatHeatingModeReportMode.put("MANUAL", 0x04);
+        reverseThermostatHeatingModeReportMode.put("TEMPORARY_MANUAL", 0x05);
+        reverseThermostatHeatingModeReportMode.put("AUTOMATIC", 0x06);
+        reverseThermostatHeatingModeReportMode.put("MANUAL_TIMED", 0x07);
+
+        // Reverse constants for ThermostatHeatingStatusSetStatus
+        reverseThermostatHeatingStatusSetStatus.put("HEATING", 0x00);
+        reverseThermostatHeatingStatusSetStatus.put("COOLING", 0x01);
     }
 
     /**
@@ -166,26 +265,50 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingModeSet(String mode) {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_MODE_SET_LENGTH];
+        getThermostatHeatingModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>OFF_TIMED
+     *            <li>OFF_3_HOURS
+     *            <li>ANTI_FREEZE
+     *            <li>MANUAL
+     *            <li>TEMPORARY_MANUAL
+     *            <li>AUTOMATIC
+     *            <li>MANUAL_TIMED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_MODE_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatHeatingModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message THERMOSTAT_HEATING_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_MODE_SET);
+        if (buffer.remaining() < THERMOSTAT_HEATING_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantThermostatHeatingModeSetMode.keySet()) {
-            if (constantThermostatHeatingModeSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseThermostatHeatingModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_MODE_SET);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -233,13 +356,30 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingModeGet() {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_MODE_GET_LENGTH];
+        getThermostatHeatingModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_MODE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatHeatingModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_HEATING_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_MODE_GET);
+        if (buffer.remaining() < THERMOSTAT_HEATING_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_MODE_GET);
     }
 
     /**
@@ -279,26 +419,50 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingModeReport(String mode) {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_MODE_REPORT_LENGTH];
+        getThermostatHeatingModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>OFF_TIMED
+     *            <li>OFF_3_HOURS
+     *            <li>ANTI_FREEZE
+     *            <li>MANUAL
+     *            <li>TEMPORARY_MANUAL
+     *            <li>AUTOMATIC
+     *            <li>MANUAL_TIMED
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_MODE_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatHeatingModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message THERMOSTAT_HEATING_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_MODE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_HEATING_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantThermostatHeatingModeReportMode.keySet()) {
-            if (constantThermostatHeatingModeReportMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseThermostatHeatingModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_MODE_REPORT);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -436,16 +600,32 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingSetpointGet(Integer setpointNr) {
-        logger.debug("Creating command message THERMOSTAT_HEATING_SETPOINT_GET version 1");
+        byte[] outputData = new byte[THERMOSTAT_HEATING_SETPOINT_GET_LENGTH];
+        getThermostatHeatingSetpointGet(ByteBuffer.wrap(outputData), setpointNr);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_SETPOINT_GET);
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_SETPOINT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_SETPOINT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointNr {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_SETPOINT_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatHeatingSetpointGet(ByteBuffer buffer, Integer setpointNr) {
+        logger.debug("Creating command message THERMOSTAT_HEATING_SETPOINT_GET version 1");
 
-        // Process 'Setpoint Nr'
-        outputData.write(setpointNr);
+        if (buffer.remaining() < THERMOSTAT_HEATING_SETPOINT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_SETPOINT_GET);
+        buffer.put(setpointNr.byteValue());
     }
 
     /**
@@ -570,13 +750,31 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingRelayStatusGet() {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_RELAY_STATUS_GET_LENGTH];
+        getThermostatHeatingRelayStatusGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_RELAY_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_RELAY_STATUS_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_RELAY_STATUS_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatHeatingRelayStatusGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_HEATING_RELAY_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_RELAY_STATUS_GET);
+        if (buffer.remaining() < THERMOSTAT_HEATING_RELAY_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_RELAY_STATUS_GET);
     }
 
     /**
@@ -610,26 +808,45 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingRelayStatusReport(String relayStatus) {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_RELAY_STATUS_REPORT_LENGTH];
+        getThermostatHeatingRelayStatusReport(ByteBuffer.wrap(outputData), relayStatus);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_RELAY_STATUS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_RELAY_STATUS_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param relayStatus {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>ON
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_RELAY_STATUS_REPORT_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getThermostatHeatingRelayStatusReport(ByteBuffer buffer, String relayStatus) {
         logger.debug("Creating command message THERMOSTAT_HEATING_RELAY_STATUS_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_RELAY_STATUS_REPORT);
+        if (buffer.remaining() < THERMOSTAT_HEATING_RELAY_STATUS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Relay Status'
-        boolean foundRelayStatus = false;
-        for (Integer entry : constantThermostatHeatingRelayStatusReportRelayStatus.keySet()) {
-            if (constantThermostatHeatingRelayStatusReportRelayStatus.get(entry).equals(relayStatus)) {
-                outputData.write(entry);
-                foundRelayStatus = true;
-                break;
-            }
-        }
-        if (!foundRelayStatus) {
+        Integer varRelayStatus = reverseThermostatHeatingRelayStatusReportRelayStatus.get(relayStatus);
+        if (varRelayStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + relayStatus + "' for relayStatus");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_RELAY_STATUS_REPORT);
+        buffer.put(varRelayStatus.byteValue());
     }
 
     /**
@@ -678,26 +895,44 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingStatusSet(String status) {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_STATUS_SET_LENGTH];
+        getThermostatHeatingStatusSet(ByteBuffer.wrap(outputData), status);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_STATUS_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_STATUS_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>HEATING
+     *            <li>COOLING
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_STATUS_SET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatHeatingStatusSet(ByteBuffer buffer, String status) {
         logger.debug("Creating command message THERMOSTAT_HEATING_STATUS_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_STATUS_SET);
+        if (buffer.remaining() < THERMOSTAT_HEATING_STATUS_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantThermostatHeatingStatusSetStatus.keySet()) {
-            if (constantThermostatHeatingStatusSetStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseThermostatHeatingStatusSetStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_STATUS_SET);
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -739,13 +974,30 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingStatusGet() {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_STATUS_GET_LENGTH];
+        getThermostatHeatingStatusGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_STATUS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_STATUS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_STATUS_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatHeatingStatusGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_HEATING_STATUS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_STATUS_GET);
+        if (buffer.remaining() < THERMOSTAT_HEATING_STATUS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_STATUS_GET);
     }
 
     /**
@@ -779,26 +1031,44 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingStatusReport(String status) {
+        byte[] outputData = new byte[THERMOSTAT_HEATING_STATUS_REPORT_LENGTH];
+        getThermostatHeatingStatusReport(ByteBuffer.wrap(outputData), status);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_STATUS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_STATUS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>HEATING
+     *            <li>COOLING
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_STATUS_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatHeatingStatusReport(ByteBuffer buffer, String status) {
         logger.debug("Creating command message THERMOSTAT_HEATING_STATUS_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_STATUS_REPORT);
+        if (buffer.remaining() < THERMOSTAT_HEATING_STATUS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Status'
-        boolean foundStatus = false;
-        for (Integer entry : constantThermostatHeatingStatusReportStatus.keySet()) {
-            if (constantThermostatHeatingStatusReportStatus.get(entry).equals(status)) {
-                outputData.write(entry);
-                foundStatus = true;
-                break;
-            }
-        }
-        if (!foundStatus) {
+        Integer varStatus = reverseThermostatHeatingStatusReportStatus.get(status);
+        if (varStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + status + "' for status");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_STATUS_REPORT);
+        buffer.put(varStatus.byteValue());
     }
 
     /**
@@ -842,19 +1112,34 @@ public class CommandClassThermostatHeatingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatHeatingTimedOffSet(Integer minutes, Integer hours) {
-        logger.debug("Creating command message THERMOSTAT_HEATING_TIMED_OFF_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_HEATING_TIMED_OFF_SET);
+        byte[] outputData = new byte[THERMOSTAT_HEATING_TIMED_OFF_SET_LENGTH];
+        getThermostatHeatingTimedOffSet(ByteBuffer.wrap(outputData), minutes, hours);
+        return outputData;
+    }
 
-        // Process 'Minutes'
-        outputData.write(minutes);
+    /**
+     * Writes a new message with the THERMOSTAT_HEATING_TIMED_OFF_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_HEATING_TIMED_OFF_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param minutes {@link Integer}
+     * @param hours {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_HEATING_TIMED_OFF_SET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatHeatingTimedOffSet(ByteBuffer buffer, Integer minutes, Integer hours) {
+        logger.debug("Creating command message THERMOSTAT_HEATING_TIMED_OFF_SET version 1");
 
-        // Process 'Hours'
-        outputData.write(hours);
+        if (buffer.remaining() < THERMOSTAT_HEATING_TIMED_OFF_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_HEATING_TIMED_OFF_SET);
+        buffer.put(minutes.byteValue());
+        buffer.put(hours.byteValue());
     }
 
     /**
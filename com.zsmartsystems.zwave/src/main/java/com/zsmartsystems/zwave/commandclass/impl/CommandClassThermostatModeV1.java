@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,18 +44,34 @@ public class CommandClassThermostatModeV1 {
      * Thermostat Mode Set Command Constant
      */
     public final static int THERMOSTAT_MODE_SET = 0x01;
+    /**
+     * Length of the encoded THERMOSTAT_MODE_SET command
+     */
+    public final static int THERMOSTAT_MODE_SET_LENGTH = 3;
     /**
      * Thermostat Mode Get Command Constant
      */
     public final static int THERMOSTAT_MODE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_MODE_GET command
+     */
+    public final static int THERMOSTAT_MODE_GET_LENGTH = 2;
     /**
      * Thermostat Mode Report Command Constant
      */
     public final static int THERMOSTAT_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_MODE_REPORT command
+     */
+    public final static int THERMOSTAT_MODE_REPORT_LENGTH = 3;
     /**
      * Thermostat Mode Supported Get Command Constant
      */
     public final static int THERMOSTAT_MODE_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_MODE_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Mode Supported Report Command Constant
      */
@@ -64,16 +82,31 @@ public class CommandClassThermostatModeV1 {
      */
     private static Map<Integer, String> constantThermostatModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatModeSetMode
      */
     private static Map<Integer, String> constantThermostatModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatModeReportMode
      */
     private static Map<Integer, String> constantThermostatModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatModeReportMode = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatModeSupportedReportBitMask
         constantThermostatModeSupportedReportBitMask.put(0x00, "OFF");
@@ -113,6 +146,45 @@ public class CommandClassThermostatModeV1 {
         constantThermostatModeReportMode.put(0x08, "DRY_AIR");
         constantThermostatModeReportMode.put(0x09, "MOIST_AIR");
         constantThermostatModeReportMode.put(0x0A, "AUTO_CHANGEOVER");
+
+        // Reverse constants for ThermostatModeSupportedReportBitMask
+        reverseThermostatModeSupportedReportBitMask.put("OFF", 0x00);
+        reverseThermostatModeSupportedReportBitMask.put("HEAT", 0x01);
+        reverseThermostatModeSupportedReportBitMask.put("COOL", 0x02);
+        reverseThermostatModeSupportedReportBitMask.put("AUTO", 0x03);
+        reverseThermostatModeSupportedReportBitMask.put("AUXILIARY_EMERGENCY_HEAT", 0x04);
+        reverseThermostatModeSupportedReportBitMask.put("RESUME", 0x05);
+        reverseThermostatModeSupportedReportBitMask.put("FAN_ONLY", 0x06);
+        reverseThermostatModeSupportedReportBitMask.put("FURNACE", 0x07);
+        reverseThermostatModeSupportedReportBitMask.put("DRY_AIR", 0x08);
+        reverseThermostatModeSupportedReportBitMask.put("MOIST_AIR", 0x09);
+        reverseThermostatModeSupportedReportBitMask.put("AUTO_CHANGEOVER", 0x0A);
+
+        // Reverse constants for ThermostatModeSetMode
+        reverseThermostatModeSetMode.put("OFF", 0x00);
+        reverseThermostatModeSetMode.put("HEAT", 0x01);
+        reverseThermostatModeSetMode.put("COOL", 0x02);
+        reverseThermostatModeSetMode.put("AUTO", 0x03);
+        reverseThermostatModeSetMode.put("AUXILIARY_HEAT", 0x04);
+        reverseThermostatModeSetMode.put("RESUME", 0x05);
+        reverseThermostatModeSetMode.put("FAN_ONLY", 0x06);
+        reverseThermostatModeSetMode.put("FURNACE", 0x07);
+        reverseThermostatModeSetMode.put("DRY_AIR", 0x08);
+        reverseThermostatModeSetMode.put("MOIST_AIR", 0x09);
+        reverseThermostatModeSetMode.put("AUTO_CHANGEOVER", 0x0A);
+
+        // Reverse constants for ThermostatModeReportMode
+        reverseThermostatModeReportMode.put("OFF", 0x00);
+        reverseThermostatModeReportMode.put("HEAT", 0x01);
+        reverseThermostatModeReportMode.put("COOL", 0x02);
+        reverseThermostatModeReportMode.put("AUTO", 0x03);
+        reverseThermostatModeReportMode.put("AUXILIARY_HEAT", 0x04);
+        reverseThermostatModeReportMode.put("RESUME", 0x05);
+        reverseThermostatModeReportMode.put("FAN_ONLY", 0x06);
+        reverseThermostatModeReportMode.put("FURNACE", 0x07);
+        reverseThermostatModeReportMode.put("DRY_AIR", 0x08);
+        reverseThermostatModeReportMode.put("MOIST_AIR", 0x09);
+        reverseThermostatModeReportMode.put("AUTO_CHANGEOVER", 0x0A);
     }
 
     /**
@@ -139,26 +211,52 @@ public class CommandClassThermostatModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatModeSet(String mode) {
+        byte[] outputData = new byte[THERMOSTAT_MODE_SET_LENGTH];
+        getThermostatModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>HEAT
+     *            <li>COOL
+     *            <li>AUTO
+     *            <li>AUXILIARY_HEAT
+     *            <li>RESUME
+     *            <li>FAN_ONLY
+     *            <li>FURNACE
+     *            <li>DRY_AIR
+     *            <li>MOIST_AIR
+     *            <li>AUTO_CHANGEOVER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message THERMOSTAT_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_MODE_SET);
+        if (buffer.remaining() < THERMOSTAT_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatModeSetMode.keySet()) {
-            if (constantThermostatModeSetMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseThermostatModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
-        outputData.write(varMode & 0x1F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_MODE_SET);
+        buffer.put((byte) (varMode & 0x1F));
     }
 
     /**
@@ -209,13 +307,29 @@ public class CommandClassThermostatModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatModeGet() {
+        byte[] outputData = new byte[THERMOSTAT_MODE_GET_LENGTH];
+        getThermostatModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_MODE_GET);
+        if (buffer.remaining() < THERMOSTAT_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_MODE_GET);
     }
 
     /**
@@ -258,26 +372,52 @@ public class CommandClassThermostatModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatModeReport(String mode) {
+        byte[] outputData = new byte[THERMOSTAT_MODE_REPORT_LENGTH];
+        getThermostatModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OFF
+     *            <li>HEAT
+     *            <li>COOL
+     *            <li>AUTO
+     *            <li>AUXILIARY_HEAT
+     *            <li>RESUME
+     *            <li>FAN_ONLY
+     *            <li>FURNACE
+     *            <li>DRY_AIR
+     *            <li>MOIST_AIR
+     *            <li>AUTO_CHANGEOVER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_MODE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message THERMOSTAT_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_MODE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatModeReportMode.keySet()) {
-            if (constantThermostatModeReportMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseThermostatModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
-        outputData.write(varMode & 0x1F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_MODE_REPORT);
+        buffer.put((byte) (varMode & 0x1F));
     }
 
     /**
@@ -328,13 +468,30 @@ public class CommandClassThermostatModeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatModeSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_MODE_SUPPORTED_GET_LENGTH];
+        getThermostatModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_MODE_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_MODE_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -386,17 +543,11 @@ public class CommandClassThermostatModeV1 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatModeSupportedReportBitMask.keySet()) {
-                if (constantThermostatModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +49,10 @@ public class CommandClassThermostatModeV3 {
      * Thermostat Mode Get Command Constant
      */
     public final static int THERMOSTAT_MODE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_MODE_GET command
+     */
+    public final static int THERMOSTAT_MODE_GET_LENGTH = 2;
     /**
      * Thermostat Mode Report Command Constant
      */
@@ -55,6 +61,10 @@ public class CommandClassThermostatModeV3 {
      * Thermostat Mode Supported Get Command Constant
      */
     public final static int THERMOSTAT_MODE_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_MODE_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_MODE_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Mode Supported Report Command Constant
      */
@@ -65,16 +75,31 @@ public class CommandClassThermostatModeV3 {
      */
     private static Map<Integer, String> constantThermostatModeSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatModeSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatModeSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatModeSetMode
      */
     private static Map<Integer, String> constantThermostatModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatModeReportMode
      */
     private static Map<Integer, String> constantThermostatModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatModeReportMode = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatModeSupportedReportBitMask
         constantThermostatModeSupportedReportBitMask.put(0x00, "OFF");
@@ -129,6 +154,60 @@ public class CommandClassThermostatModeV3 {
         constantThermostatModeReportMode.put(0x0D, "AWAY");
         constantThermostatModeReportMode.put(0x0E, "FULL_POWER");
         constantThermostatModeReportMode.put(0x0F, "MANUFACTURER_SPECIFC");
+
+        // Reverse constants for ThermostatModeSupportedReportBitMask
+        reverseThermostatModeSupportedReportBitMask.put("OFF", 0x00);
+        reverseThermostatModeSupportedReportBitMask.put("HEAT", 0x01);
+        reverseThermostatModeSupportedReportBitMask.put("COOL", 0x02);
+        reverseThermostatModeSupportedReportBitMask.put("AUTO", 0x03);
+        reverseThermostatModeSupportedReportBitMask.put("AUXILIARY_EMERGENCY_HEAT", 0x04);
+        reverseThermostatModeSupportedReportBitMask.put("RESUME", 0x05);
+        reverseThermostatModeSupportedReportBitMask.put("FAN_ONLY", 0x06);
+        reverseThermostatModeSupportedReportBitMask.put("FURNACE", 0x07);
+        reverseThermostatModeSupportedReportBitMask.put("DRY_AIR", 0x08);
+        reverseThermostatModeSupportedReportBitMask.put("MOIST_AIR", 0x09);
+        reverseThermostatModeSupportedReportBitMask.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatModeSupportedReportBitMask.put("ENERGY_SAVE_HEAT", 0x0B);
+        reverseThermostatModeSupportedReportBitMask.put("ENERGY_SAVE_COOL", 0x0C);
+        reverseThermostatModeSupportedReportBitMask.put("AWAY", 0x0D);
+        reverseThermostatModeSupportedReportBitMask.put("FULL_POWER", 0x0F);
+        reverseThermostatModeSupportedReportBitMask.put("MANUFACTURER_SPECIFC", 0x1F);
+
+        // Reverse constants for ThermostatModeSetMode
+        reverseThermostatModeSetMode.put("OFF", 0x00);
+        reverseThermostatModeSetMode.put("HEAT", 0x01);
+        reverseThermostatModeSetMode.put("COOL", 0x02);
+        reverseThermostatModeSetMode.put("AUTO", 0x03);
+        reverseThermostatModeSetMode.put("AUXILIARY_HEAT", 0x04);
+        reverseThermostatModeSetMode.put("RESUME", 0x05);
+        reverseThermostatModeSetMode.put("FAN_ONLY", 0x06);
+        reverseThermostatModeSetMode.put("FURNACE", 0x07);
+        reverseThermostatModeSetMode.put("DRY_AIR", 0x08);
+        reverseThermostatModeSetMode.put("MOIST_AIR", 0x09);
+        reverseThermostatModeSetMode.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatModeSetMode.put("ENERGY_SAVE_HEAT", 0x0B);
+        reverseThermostatModeSetMode.put("ENERGY_SAVE_COOL", 0x0C);
+        reverseThermostatModeSetMode.put("AWAY", 0x0D);
+        reverseThermostatModeSetMode.put("FULL_POWER", 0x0E);
+        reverseThermostatModeSetMode.put("MANUFACTURER_SPECIFC", 0x0F);
+
+        // Reverse constants for ThermostatModeReportMode
+        reverseThermostatModeReportMode.put("OFF", 0x00);
+        reverseThermostatModeReportMode.put("HEAT", 0x01);
+        reverseThermostatModeReportMode.put("COOL", 0x02);
+        reverseThermostatModeReportMode.put("AUTO", 0x03);
+        reverseThermostatModeReportMode.put("AUXILIARY_HEAT", 0x04);
+        reverseThermostatModeReportMode.put("RESUME", 0x05);
+        reverseThermostatModeReportMode.put("FAN_ONLY", 0x06);
+        reverseThermostatModeReportMode.put("FURNACE", 0x07);
+        reverseThermostatModeReportMode.put("DRY_AIR", 0x08);
+        reverseThermostatModeReportMode.put("MOIST_AIR", 0x09);
+        reverseThermostatModeReportMode.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatModeReportMode.put("ENERGY_SAVE_HEAT", 0x0B);
+        reverseThermostatModeReportMode.put("ENERGY_SAVE_COOL", 0x0C);
+        reverseThermostatModeReportMode.put("AWAY", 0x0D);
+        reverseThermostatModeReportMode.put("FULL_POWER", 0x0E);
+        reverseThermostatModeReportMode.put("MANUFACTURER_SPECIFC", 0x0F);
     }
 
     /**
@@ -170,14 +249,8 @@ public class CommandClassThermostatModeV3 {
 
         // Process 'Level'
         int valLevel = 0;
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatModeSetMode.keySet()) {
-            if (constantThermostatModeSetMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseThermostatModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
         valLevel |= varMode & 0x1F;
@@ -259,13 +332,29 @@ public class CommandClassThermostatModeV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatModeGet() {
+        byte[] outputData = new byte[THERMOSTAT_MODE_GET_LENGTH];
+        getThermostatModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_MODE_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_MODE_GET);
+        if (buffer.remaining() < THERMOSTAT_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_MODE_GET);
     }
 
     /**
@@ -324,14 +413,8 @@ public class CommandClassThermostatModeV3 {
 
         // Process 'Level'
         int valLevel = 0;
-        int varMode = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatModeReportMode.keySet()) {
-            if (constantThermostatModeReportMode.get(entry).equals(mode)) {
-                varMode = entry;
-                break;
-            }
-        }
-        if (varMode == Integer.MAX_VALUE) {
+        Integer varMode = reverseThermostatModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
         valLevel |= varMode & 0x1F;
@@ -413,13 +496,30 @@ public class CommandClassThermostatModeV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatModeSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_MODE_SUPPORTED_GET_LENGTH];
+        getThermostatModeSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_MODE_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_MODE_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_MODE_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatModeSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_MODE_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_MODE_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_MODE_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_MODE_SUPPORTED_GET);
     }
 
     /**
@@ -476,17 +576,11 @@ public class CommandClassThermostatModeV3 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatModeSupportedReportBitMask.keySet()) {
-                if (constantThermostatModeSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatModeSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
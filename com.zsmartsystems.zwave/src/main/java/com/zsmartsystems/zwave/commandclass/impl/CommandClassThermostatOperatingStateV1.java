@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,16 +41,29 @@ public class CommandClassThermostatOperatingStateV1 {
      * Thermostat Operating State Get Command Constant
      */
     public final static int THERMOSTAT_OPERATING_STATE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_OPERATING_STATE_GET command
+     */
+    public final static int THERMOSTAT_OPERATING_STATE_GET_LENGTH = 2;
     /**
      * Thermostat Operating State Report Command Constant
      */
     public final static int THERMOSTAT_OPERATING_STATE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_OPERATING_STATE_REPORT command
+     */
+    public final static int THERMOSTAT_OPERATING_STATE_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for ThermostatOperatingStateReportOperatingState
      */
     private static Map<Integer, String> constantThermostatOperatingStateReportOperatingState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatOperatingStateReportOperatingState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatOperatingStateReportOperatingState = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatOperatingStateReportOperatingState
         constantThermostatOperatingStateReportOperatingState.put(0x00, "IDLE");
@@ -59,6 +73,15 @@ public class CommandClassThermostatOperatingStateV1 {
         constantThermostatOperatingStateReportOperatingState.put(0x04, "PENDING_HEAT");
         constantThermostatOperatingStateReportOperatingState.put(0x05, "PENDING_COOL");
         constantThermostatOperatingStateReportOperatingState.put(0x06, "VENT_ECONOMIZER");
+
+        // Reverse constants for ThermostatOperatingStateReportOperatingState
+        reverseThermostatOperatingStateReportOperatingState.put("IDLE", 0x00);
+        reverseThermostatOperatingStateReportOperatingState.put("HEATING", 0x01);
+        reverseThermostatOperatingStateReportOperatingState.put("COOLING", 0x02);
+        reverseThermostatOperatingStateReportOperatingState.put("FAN_ONLY", 0x03);
+        reverseThermostatOperatingStateReportOperatingState.put("PENDING_HEAT", 0x04);
+        reverseThermostatOperatingStateReportOperatingState.put("PENDING_COOL", 0x05);
+        reverseThermostatOperatingStateReportOperatingState.put("VENT_ECONOMIZER", 0x06);
     }
 
     /**
@@ -69,13 +92,30 @@ public class CommandClassThermostatOperatingStateV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatOperatingStateGet() {
+        byte[] outputData = new byte[THERMOSTAT_OPERATING_STATE_GET_LENGTH];
+        getThermostatOperatingStateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_OPERATING_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_OPERATING_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_OPERATING_STATE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatOperatingStateGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_OPERATING_STATE_GET);
+        if (buffer.remaining() < THERMOSTAT_OPERATING_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_OPERATING_STATE_GET);
     }
 
     /**
@@ -114,26 +154,50 @@ public class CommandClassThermostatOperatingStateV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatOperatingStateReport(String operatingState) {
+        byte[] outputData = new byte[THERMOSTAT_OPERATING_STATE_REPORT_LENGTH];
+        getThermostatOperatingStateReport(ByteBuffer.wrap(outputData), operatingState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_OPERATING_STATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_OPERATING_STATE_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param operatingState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>IDLE
+     *            <li>HEATING
+     *            <li>COOLING
+     *            <li>FAN_ONLY
+     *            <li>PENDING_HEAT
+     *            <li>PENDING_COOL
+     *            <li>VENT_ECONOMIZER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_OPERATING_STATE_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatOperatingStateReport(ByteBuffer buffer, String operatingState) {
         logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_OPERATING_STATE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_OPERATING_STATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varOperatingState = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatOperatingStateReportOperatingState.keySet()) {
-            if (constantThermostatOperatingStateReportOperatingState.get(entry).equals(operatingState)) {
-                varOperatingState = entry;
-                break;
-            }
-        }
-        if (varOperatingState == Integer.MAX_VALUE) {
+        Integer varOperatingState = reverseThermostatOperatingStateReportOperatingState.get(operatingState);
+        if (varOperatingState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + operatingState + "' for operatingState");
         }
-        outputData.write(varOperatingState & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_OPERATING_STATE_REPORT);
+        buffer.put((byte) (varOperatingState & 0x0F));
     }
 
     /**
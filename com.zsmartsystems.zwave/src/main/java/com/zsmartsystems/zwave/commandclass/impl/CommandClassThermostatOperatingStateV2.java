@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,14 +44,26 @@ public class CommandClassThermostatOperatingStateV2 {
      * Thermostat Operating State Logging Supported Get Command Constant
      */
     public final static int THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Operating State Get Command Constant
      */
     public final static int THERMOSTAT_OPERATING_STATE_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_OPERATING_STATE_GET command
+     */
+    public final static int THERMOSTAT_OPERATING_STATE_GET_LENGTH = 2;
     /**
      * Thermostat Operating State Report Command Constant
      */
     public final static int THERMOSTAT_OPERATING_STATE_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_OPERATING_STATE_REPORT command
+     */
+    public final static int THERMOSTAT_OPERATING_STATE_REPORT_LENGTH = 3;
     /**
      * Thermostat Operating State Logging Supported Report Command Constant
      */
@@ -62,22 +76,41 @@ public class CommandClassThermostatOperatingStateV2 {
      * Thermostat Operating State Logging Report Command Constant
      */
     public final static int THERMOSTAT_OPERATING_STATE_LOGGING_REPORT = 0x06;
+    /**
+     * Length of the encoded THERMOSTAT_OPERATING_STATE_LOGGING_REPORT command
+     */
+    public final static int THERMOSTAT_OPERATING_STATE_LOGGING_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for ThermostatOperatingStateReportOperatingState
      */
     private static Map<Integer, String> constantThermostatOperatingStateReportOperatingState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatOperatingStateReportOperatingState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatOperatingStateReportOperatingState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatOperatingStateLoggingGetBitMask
      */
     private static Map<Integer, String> constantThermostatOperatingStateLoggingGetBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatOperatingStateLoggingGetBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatOperatingStateLoggingGetBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatOperatingLoggingSupportedReportBitMask
      */
     private static Map<Integer, String> constantThermostatOperatingLoggingSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatOperatingLoggingSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatOperatingLoggingSupportedReportBitMask = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatOperatingStateReportOperatingState
         constantThermostatOperatingStateReportOperatingState.put(0x00, "IDLE");
@@ -120,6 +153,48 @@ public class CommandClassThermostatOperatingStateV2 {
         constantThermostatOperatingLoggingSupportedReportBitMask.put(0x09, "2ND_STAGE_COOLING");
         constantThermostatOperatingLoggingSupportedReportBitMask.put(0x0A, "2ND_STAGE_AUX_HEAT");
         constantThermostatOperatingLoggingSupportedReportBitMask.put(0x0B, "3RD_STAGE_AUX_HEAT");
+
+        // Reverse constants for ThermostatOperatingStateReportOperatingState
+        reverseThermostatOperatingStateReportOperatingState.put("IDLE", 0x00);
+        reverseThermostatOperatingStateReportOperatingState.put("HEATING", 0x01);
+        reverseThermostatOperatingStateReportOperatingState.put("COOLING", 0x02);
+        reverseThermostatOperatingStateReportOperatingState.put("FAN_ONLY", 0x03);
+        reverseThermostatOperatingStateReportOperatingState.put("PENDING_HEAT", 0x04);
+        reverseThermostatOperatingStateReportOperatingState.put("PENDING_COOL", 0x05);
+        reverseThermostatOperatingStateReportOperatingState.put("VENT_ECONOMIZER", 0x06);
+        reverseThermostatOperatingStateReportOperatingState.put("AUX_HEATING", 0x07);
+        reverseThermostatOperatingStateReportOperatingState.put("2ND_STAGE_HEATING", 0x08);
+        reverseThermostatOperatingStateReportOperatingState.put("2ND_STAGE_COOLING", 0x09);
+        reverseThermostatOperatingStateReportOperatingState.put("2ND_STAGE_AUX_HEAT", 0x0A);
+        reverseThermostatOperatingStateReportOperatingState.put("3RD_STAGE_AUX_HEAT", 0x0B);
+
+        // Reverse constants for ThermostatOperatingStateLoggingGetBitMask
+        reverseThermostatOperatingStateLoggingGetBitMask.put("IDLE", 0x00);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("HEATING", 0x01);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("COOLING", 0x02);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("FAN_ONLY", 0x03);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("PENDING_HEAT", 0x04);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("PENDING_COOL", 0x05);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("VENT_ECONOMIZER", 0x06);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("AUX_HEATING", 0x07);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("2ND_STAGE_HEATING", 0x08);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("2ND_STAGE_COOLING", 0x09);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("2ND_STAGE_AUX_HEAT", 0x0A);
+        reverseThermostatOperatingStateLoggingGetBitMask.put("3RD_STAGE_AUX_HEAT", 0x0B);
+
+        // Reverse constants for ThermostatOperatingLoggingSupportedReportBitMask
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("IDLE", 0x00);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("HEATING", 0x01);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("COOLING", 0x02);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("FAN_ONLY", 0x03);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("PENDING_HEAT", 0x04);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("PENDING_COOL", 0x05);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("VENT_ECONOMIZER", 0x06);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("AUX_HEATING", 0x07);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("2ND_STAGE_HEATING", 0x08);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("2ND_STAGE_COOLING", 0x09);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("2ND_STAGE_AUX_HEAT", 0x0A);
+        reverseThermostatOperatingLoggingSupportedReportBitMask.put("3RD_STAGE_AUX_HEAT", 0x0B);
     }
 
     /**
@@ -130,13 +205,31 @@ public class CommandClassThermostatOperatingStateV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatOperatingStateLoggingSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET_LENGTH];
+        getThermostatOperatingStateLoggingSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET_LENGTH} bytes are written at the current
+     * position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET_LENGTH}
+     *            bytes remain in the buffer
+     */
+    static public void getThermostatOperatingStateLoggingSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_OPERATING_STATE_LOGGING_SUPPORTED_GET);
     }
 
     /**
@@ -163,13 +256,30 @@ public class CommandClassThermostatOperatingStateV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatOperatingStateGet() {
+        byte[] outputData = new byte[THERMOSTAT_OPERATING_STATE_GET_LENGTH];
+        getThermostatOperatingStateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_OPERATING_STATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_OPERATING_STATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_OPERATING_STATE_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatOperatingStateGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_OPERATING_STATE_GET);
+        if (buffer.remaining() < THERMOSTAT_OPERATING_STATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_OPERATING_STATE_GET);
     }
 
     /**
@@ -213,26 +323,55 @@ public class CommandClassThermostatOperatingStateV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatOperatingStateReport(String operatingState) {
+        byte[] outputData = new byte[THERMOSTAT_OPERATING_STATE_REPORT_LENGTH];
+        getThermostatOperatingStateReport(ByteBuffer.wrap(outputData), operatingState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_OPERATING_STATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_OPERATING_STATE_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param operatingState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>IDLE
+     *            <li>HEATING
+     *            <li>COOLING
+     *            <li>FAN_ONLY
+     *            <li>PENDING_HEAT
+     *            <li>PENDING_COOL
+     *            <li>VENT_ECONOMIZER
+     *            <li>AUX_HEATING
+     *            <li>2ND_STAGE_HEATING
+     *            <li>2ND_STAGE_COOLING
+     *            <li>2ND_STAGE_AUX_HEAT
+     *            <li>3RD_STAGE_AUX_HEAT
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_OPERATING_STATE_REPORT_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatOperatingStateReport(ByteBuffer buffer, String operatingState) {
         logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_REPORT version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_OPERATING_STATE_REPORT);
+        if (buffer.remaining() < THERMOSTAT_OPERATING_STATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varOperatingState = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatOperatingStateReportOperatingState.keySet()) {
-            if (constantThermostatOperatingStateReportOperatingState.get(entry).equals(operatingState)) {
-                varOperatingState = entry;
-                break;
-            }
-        }
-        if (varOperatingState == Integer.MAX_VALUE) {
+        Integer varOperatingState = reverseThermostatOperatingStateReportOperatingState.get(operatingState);
+        if (varOperatingState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + operatingState + "' for operatingState");
         }
-        outputData.write(varOperatingState & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_OPERATING_STATE_REPORT);
+        buffer.put((byte) (varOperatingState & 0x0F));
     }
 
     /**
@@ -310,17 +449,11 @@ public class CommandClassThermostatOperatingStateV2 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatOperatingLoggingSupportedReportBitMask.keySet()) {
-                if (constantThermostatOperatingLoggingSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatOperatingLoggingSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -409,17 +542,11 @@ public class CommandClassThermostatOperatingStateV2 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatOperatingStateLoggingGetBitMask.keySet()) {
-                if (constantThermostatOperatingStateLoggingGetBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatOperatingStateLoggingGetBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -483,18 +610,33 @@ public class CommandClassThermostatOperatingStateV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatOperatingStateLoggingReport(Integer reportsToFollow) {
-        logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_LOGGING_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_OPERATING_STATE_LOGGING_REPORT);
+        byte[] outputData = new byte[THERMOSTAT_OPERATING_STATE_LOGGING_REPORT_LENGTH];
+        getThermostatOperatingStateLoggingReport(ByteBuffer.wrap(outputData), reportsToFollow);
+        return outputData;
+    }
 
-        // Process 'Reports to Follow'
-        outputData.write(reportsToFollow);
+    /**
+     * Writes a new message with the THERMOSTAT_OPERATING_STATE_LOGGING_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_OPERATING_STATE_LOGGING_REPORT_LENGTH} bytes are written at the current position of
+     * the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param reportsToFollow {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_OPERATING_STATE_LOGGING_REPORT_LENGTH} bytes
+     *            remain in the buffer
+     */
+    static public void getThermostatOperatingStateLoggingReport(ByteBuffer buffer, Integer reportsToFollow) {
+        logger.debug("Creating command message THERMOSTAT_OPERATING_STATE_LOGGING_REPORT version 2");
 
-        // Process 'vg1'
+        if (buffer.remaining() < THERMOSTAT_OPERATING_STATE_LOGGING_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_OPERATING_STATE_LOGGING_REPORT);
+        buffer.put(reportsToFollow.byteValue());
     }
 
     /**
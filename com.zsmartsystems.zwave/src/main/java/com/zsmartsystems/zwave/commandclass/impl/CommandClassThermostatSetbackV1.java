@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,35 +41,67 @@ public class CommandClassThermostatSetbackV1 {
      * Thermostat Setback Set Command Constant
      */
     public final static int THERMOSTAT_SETBACK_SET = 0x01;
+    /**
+     * Length of the encoded THERMOSTAT_SETBACK_SET command
+     */
+    public final static int THERMOSTAT_SETBACK_SET_LENGTH = 4;
     /**
      * Thermostat Setback Get Command Constant
      */
     public final static int THERMOSTAT_SETBACK_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_SETBACK_GET command
+     */
+    public final static int THERMOSTAT_SETBACK_GET_LENGTH = 2;
     /**
      * Thermostat Setback Report Command Constant
      */
     public final static int THERMOSTAT_SETBACK_REPORT = 0x03;
+    /**
+     * Length of the encoded THERMOSTAT_SETBACK_REPORT command
+     */
+    public final static int THERMOSTAT_SETBACK_REPORT_LENGTH = 4;
 
     /**
      * Map holding constants for ThermostatSetbackReportSetbackType
      */
     private static Map<Integer, String> constantThermostatSetbackReportSetbackType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetbackReportSetbackType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetbackReportSetbackType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetbackSetSetbackState
      */
     private static Map<Integer, String> constantThermostatSetbackSetSetbackState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetbackSetSetbackState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetbackSetSetbackState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetbackReportSetbackState
      */
     private static Map<Integer, String> constantThermostatSetbackReportSetbackState = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetbackReportSetbackState, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetbackReportSetbackState = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetbackSetSetbackType
      */
     private static Map<Integer, String> constantThermostatSetbackSetSetbackType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetbackSetSetbackType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetbackSetSetbackType = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatSetbackReportSetbackType
         constantThermostatSetbackReportSetbackType.put(0x00, "NO_OVERRIDE");
@@ -89,6 +122,26 @@ public class CommandClassThermostatSetbackV1 {
         constantThermostatSetbackSetSetbackType.put(0x00, "NO_OVERRIDE");
         constantThermostatSetbackSetSetbackType.put(0x01, "TEMPORARY_OVERRIDE");
         constantThermostatSetbackSetSetbackType.put(0x02, "PERMANENT_OVERRIDE");
+
+        // Reverse constants for ThermostatSetbackReportSetbackType
+        reverseThermostatSetbackReportSetbackType.put("NO_OVERRIDE", 0x00);
+        reverseThermostatSetbackReportSetbackType.put("TEMPORARY_OVERRIDE", 0x01);
+        reverseThermostatSetbackReportSetbackType.put("PERMANENT_OVERRIDE", 0x02);
+
+        // Reverse constants for ThermostatSetbackSetSetbackState
+        reverseThermostatSetbackSetSetbackState.put("FROST_PROTECTION", 0x79);
+        reverseThermostatSetbackSetSetbackState.put("ENERGY_SAVING_MODE", 0x7A);
+        reverseThermostatSetbackSetSetbackState.put("UNUSED_STATE", 0x7F);
+
+        // Reverse constants for ThermostatSetbackReportSetbackState
+        reverseThermostatSetbackReportSetbackState.put("FROST_PROTECTION", 0x79);
+        reverseThermostatSetbackReportSetbackState.put("ENERGY_SAVING_MODE", 0x7A);
+        reverseThermostatSetbackReportSetbackState.put("UNUSED_STATE", 0x7F);
+
+        // Reverse constants for ThermostatSetbackSetSetbackType
+        reverseThermostatSetbackSetSetbackType.put("NO_OVERRIDE", 0x00);
+        reverseThermostatSetbackSetSetbackType.put("TEMPORARY_OVERRIDE", 0x01);
+        reverseThermostatSetbackSetSetbackType.put("PERMANENT_OVERRIDE", 0x02);
     }
 
     /**
@@ -115,39 +168,59 @@ public class CommandClassThermostatSetbackV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetbackSet(String setbackType, String setbackState) {
+        byte[] outputData = new byte[THERMOSTAT_SETBACK_SET_LENGTH];
+        getThermostatSetbackSet(ByteBuffer.wrap(outputData), setbackType, setbackState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETBACK_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETBACK_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setbackType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NO_OVERRIDE
+     *            <li>TEMPORARY_OVERRIDE
+     *            <li>PERMANENT_OVERRIDE
+     *            </ul>
+     * @param setbackState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNUSED_STATE
+     *            <li>ENERGY_SAVING_MODE
+     *            <li>FROST_PROTECTION
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETBACK_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatSetbackSet(ByteBuffer buffer, String setbackType, String setbackState) {
         logger.debug("Creating command message THERMOSTAT_SETBACK_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETBACK_SET);
+        if (buffer.remaining() < THERMOSTAT_SETBACK_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varSetbackType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetbackSetSetbackType.keySet()) {
-            if (constantThermostatSetbackSetSetbackType.get(entry).equals(setbackType)) {
-                varSetbackType = entry;
-                break;
-            }
-        }
-        if (varSetbackType == Integer.MAX_VALUE) {
+        Integer varSetbackType = reverseThermostatSetbackSetSetbackType.get(setbackType);
+        if (varSetbackType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setbackType + "' for setbackType");
         }
-        outputData.write(varSetbackType & 0x03);
 
         // Process 'Setback State'
-        boolean foundSetbackState = false;
-        for (Integer entry : constantThermostatSetbackSetSetbackState.keySet()) {
-            if (constantThermostatSetbackSetSetbackState.get(entry).equals(setbackState)) {
-                outputData.write(entry);
-                foundSetbackState = true;
-                break;
-            }
-        }
-        if (!foundSetbackState) {
+        Integer varSetbackState = reverseThermostatSetbackSetSetbackState.get(setbackState);
+        if (varSetbackState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setbackState + "' for setbackState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETBACK_SET);
+        buffer.put((byte) (varSetbackType & 0x03));
+        buffer.put(varSetbackState.byteValue());
     }
 
     /**
@@ -201,13 +274,29 @@ public class CommandClassThermostatSetbackV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetbackGet() {
+        byte[] outputData = new byte[THERMOSTAT_SETBACK_GET_LENGTH];
+        getThermostatSetbackGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETBACK_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETBACK_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETBACK_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatSetbackGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_SETBACK_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETBACK_GET);
+        if (buffer.remaining() < THERMOSTAT_SETBACK_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETBACK_GET);
     }
 
     /**
@@ -250,39 +339,60 @@ public class CommandClassThermostatSetbackV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetbackReport(String setbackType, String setbackState) {
+        byte[] outputData = new byte[THERMOSTAT_SETBACK_REPORT_LENGTH];
+        getThermostatSetbackReport(ByteBuffer.wrap(outputData), setbackType, setbackState);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETBACK_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETBACK_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setbackType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NO_OVERRIDE
+     *            <li>TEMPORARY_OVERRIDE
+     *            <li>PERMANENT_OVERRIDE
+     *            </ul>
+     * @param setbackState {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>UNUSED_STATE
+     *            <li>ENERGY_SAVING_MODE
+     *            <li>FROST_PROTECTION
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETBACK_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getThermostatSetbackReport(ByteBuffer buffer, String setbackType, String setbackState) {
         logger.debug("Creating command message THERMOSTAT_SETBACK_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETBACK_REPORT);
+        if (buffer.remaining() < THERMOSTAT_SETBACK_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varSetbackType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetbackReportSetbackType.keySet()) {
-            if (constantThermostatSetbackReportSetbackType.get(entry).equals(setbackType)) {
-                varSetbackType = entry;
-                break;
-            }
-        }
-        if (varSetbackType == Integer.MAX_VALUE) {
+        Integer varSetbackType = reverseThermostatSetbackReportSetbackType.get(setbackType);
+        if (varSetbackType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setbackType + "' for setbackType");
         }
-        outputData.write(varSetbackType & 0x03);
 
         // Process 'Setback State'
-        boolean foundSetbackState = false;
-        for (Integer entry : constantThermostatSetbackReportSetbackState.keySet()) {
-            if (constantThermostatSetbackReportSetbackState.get(entry).equals(setbackState)) {
-                outputData.write(entry);
-                foundSetbackState = true;
-                break;
-            }
-        }
-        if (!foundSetbackState) {
+        Integer varSetbackState = reverseThermostatSetbackReportSetbackState.get(setbackState);
+        if (varSetbackState == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setbackState + "' for setbackState");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETBACK_REPORT);
+        buffer.put((byte) (varSetbackType & 0x03));
+        buffer.put(varSetbackState.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +49,10 @@ public class CommandClassThermostatSetpointV2 {
      * Thermostat Setpoint Get Command Constant
      */
     public final static int THERMOSTAT_SETPOINT_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_SETPOINT_GET command
+     */
+    public final static int THERMOSTAT_SETPOINT_GET_LENGTH = 3;
     /**
      * Thermostat Setpoint Report Command Constant
      */
@@ -55,6 +61,10 @@ public class CommandClassThermostatSetpointV2 {
      * Thermostat Setpoint Supported Get Command Constant
      */
     public final static int THERMOSTAT_SETPOINT_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_SETPOINT_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Setpoint Supported Report Command Constant
      */
@@ -65,21 +75,41 @@ public class CommandClassThermostatSetpointV2 {
      */
     private static Map<Integer, String> constantThermostatSetpointSetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointSetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointSetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointSupportedReportBitMask
      */
     private static Map<Integer, String> constantThermostatSetpointSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointReportSetpointType
      */
     private static Map<Integer, String> constantThermostatSetpointReportSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointReportSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointReportSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointGetSetpointType
      */
     private static Map<Integer, String> constantThermostatSetpointGetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointGetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointGetSetpointType = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatSetpointSetSetpointType
         constantThermostatSetpointSetSetpointType.put(0x00, "NOT_SUPPORTED");
@@ -140,6 +170,66 @@ public class CommandClassThermostatSetpointV2 {
         constantThermostatSetpointGetSetpointType.put(0x0B, "ENERGY_SAVE_HEATING");
         constantThermostatSetpointGetSetpointType.put(0x0C, "ENERGY_SAVE_COOLING");
         constantThermostatSetpointGetSetpointType.put(0x0D, "AWAY_HEATING");
+
+        // Reverse constants for ThermostatSetpointSetSetpointType
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointSetSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointSetSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointSetSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointSetSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointSetSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointSetSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointSetSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointSetSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointSetSetpointType.put("AWAY_HEATING", 0x0D);
+
+        // Reverse constants for ThermostatSetpointSupportedReportBitMask
+        reverseThermostatSetpointSupportedReportBitMask.put("NONE", 0x00);
+        reverseThermostatSetpointSupportedReportBitMask.put("HEATING", 0x01);
+        reverseThermostatSetpointSupportedReportBitMask.put("COOLING", 0x02);
+        reverseThermostatSetpointSupportedReportBitMask.put("FURNACE", 0x07);
+        reverseThermostatSetpointSupportedReportBitMask.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointSupportedReportBitMask.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointSupportedReportBitMask.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointSupportedReportBitMask.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointSupportedReportBitMask.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointSupportedReportBitMask.put("AWAY_HEATING", 0x0D);
+
+        // Reverse constants for ThermostatSetpointReportSetpointType
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointReportSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointReportSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointReportSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointReportSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointReportSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointReportSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointReportSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointReportSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointReportSetpointType.put("AWAY_HEATING", 0x0D);
+
+        // Reverse constants for ThermostatSetpointGetSetpointType
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointGetSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointGetSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointGetSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointGetSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointGetSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointGetSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointGetSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointGetSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointGetSetpointType.put("AWAY_HEATING", 0x0D);
     }
 
     /**
@@ -179,14 +269,8 @@ public class CommandClassThermostatSetpointV2 {
         outputData.write(THERMOSTAT_SETPOINT_SET);
 
         // Process 'Level'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointSetSetpointType.keySet()) {
-            if (constantThermostatSetpointSetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointSetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -303,26 +387,55 @@ public class CommandClassThermostatSetpointV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetpointGet(String setpointType) {
+        byte[] outputData = new byte[THERMOSTAT_SETPOINT_GET_LENGTH];
+        getThermostatSetpointGet(ByteBuffer.wrap(outputData), setpointType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETPOINT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETPOINT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NOT_SUPPORTED
+     *            <li>HEATING_1
+     *            <li>COOLING_1
+     *            <li>NOT_SUPPORTED1
+     *            <li>NOT_SUPPORTED2
+     *            <li>NOT_SUPPORTED3
+     *            <li>NOT_SUPPORTED4
+     *            <li>FURNACE
+     *            <li>DRY_AIR
+     *            <li>MOIST_AIR
+     *            <li>AUTO_CHANGEOVER
+     *            <li>ENERGY_SAVE_HEATING
+     *            <li>ENERGY_SAVE_COOLING
+     *            <li>AWAY_HEATING
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETPOINT_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatSetpointGet(ByteBuffer buffer, String setpointType) {
         logger.debug("Creating command message THERMOSTAT_SETPOINT_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETPOINT_GET);
+        if (buffer.remaining() < THERMOSTAT_SETPOINT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointGetSetpointType.keySet()) {
-            if (constantThermostatSetpointGetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointGetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
-        outputData.write(varSetpointType & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETPOINT_GET);
+        buffer.put((byte) (varSetpointType & 0x0F));
     }
 
     /**
@@ -405,14 +518,8 @@ public class CommandClassThermostatSetpointV2 {
         outputData.write(THERMOSTAT_SETPOINT_REPORT);
 
         // Process 'Level'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointReportSetpointType.keySet()) {
-            if (constantThermostatSetpointReportSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointReportSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -510,13 +617,31 @@ public class CommandClassThermostatSetpointV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetpointSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH];
+        getThermostatSetpointSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETPOINT_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatSetpointSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_SETPOINT_SUPPORTED_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETPOINT_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETPOINT_SUPPORTED_GET);
     }
 
     /**
@@ -567,17 +692,11 @@ public class CommandClassThermostatSetpointV2 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatSetpointSupportedReportBitMask.keySet()) {
-                if (constantThermostatSetpointSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatSetpointSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +49,10 @@ public class CommandClassThermostatSetpointV3 {
      * Thermostat Setpoint Get Command Constant
      */
     public final static int THERMOSTAT_SETPOINT_GET = 0x02;
+    /**
+     * Length of the encoded THERMOSTAT_SETPOINT_GET command
+     */
+    public final static int THERMOSTAT_SETPOINT_GET_LENGTH = 3;
     /**
      * Thermostat Setpoint Report Command Constant
      */
@@ -55,6 +61,10 @@ public class CommandClassThermostatSetpointV3 {
      * Thermostat Setpoint Supported Get Command Constant
      */
     public final static int THERMOSTAT_SETPOINT_SUPPORTED_GET = 0x04;
+    /**
+     * Length of the encoded THERMOSTAT_SETPOINT_SUPPORTED_GET command
+     */
+    public final static int THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH = 2;
     /**
      * Thermostat Setpoint Supported Report Command Constant
      */
@@ -63,6 +73,10 @@ public class CommandClassThermostatSetpointV3 {
      * Thermostat Setpoint Capabilities Get Command Constant
      */
     public final static int THERMOSTAT_SETPOINT_CAPABILITIES_GET = 0x09;
+    /**
+     * Length of the encoded THERMOSTAT_SETPOINT_CAPABILITIES_GET command
+     */
+    public final static int THERMOSTAT_SETPOINT_CAPABILITIES_GET_LENGTH = 3;
     /**
      * Thermostat Setpoint Capabilities Report Command Constant
      */
@@ -73,31 +87,61 @@ public class CommandClassThermostatSetpointV3 {
      */
     private static Map<Integer, String> constantThermostatSetpointSetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointSetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointSetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointCapabilitiesReportSetpointType
      */
     private static Map<Integer, String> constantThermostatSetpointCapabilitiesReportSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointCapabilitiesReportSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointCapabilitiesReportSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointSupportedReportBitMask
      */
     private static Map<Integer, String> constantThermostatSetpointSupportedReportBitMask = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointSupportedReportBitMask, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointSupportedReportBitMask = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointReportSetpointType
      */
     private static Map<Integer, String> constantThermostatSetpointReportSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointReportSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointReportSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointGetSetpointType
      */
     private static Map<Integer, String> constantThermostatSetpointGetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointGetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointGetSetpointType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ThermostatSetpointCapabilitiesGetSetpointType
      */
     private static Map<Integer, String> constantThermostatSetpointCapabilitiesGetSetpointType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ThermostatSetpointCapabilitiesGetSetpointType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseThermostatSetpointCapabilitiesGetSetpointType = new HashMap<String, Integer>();
+
     static {
         // Constants for ThermostatSetpointSetSetpointType
         constantThermostatSetpointSetSetpointType.put(0x00, "NOT_SUPPORTED");
@@ -202,6 +246,110 @@ public class CommandClassThermostatSetpointV3 {
         constantThermostatSetpointCapabilitiesGetSetpointType.put(0x0D, "AWAY_HEATING");
         constantThermostatSetpointCapabilitiesGetSetpointType.put(0x0E, "AWAY_COOLING");
         constantThermostatSetpointCapabilitiesGetSetpointType.put(0x0F, "FULL_POWER");
+
+        // Reverse constants for ThermostatSetpointSetSetpointType
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointSetSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointSetSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointSetSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointSetSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointSetSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointSetSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointSetSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointSetSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointSetSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointSetSetpointType.put("AWAY_HEATING", 0x0D);
+        reverseThermostatSetpointSetSetpointType.put("AWAY_COOLING", 0x0E);
+        reverseThermostatSetpointSetSetpointType.put("FULL_POWER", 0x0F);
+
+        // Reverse constants for ThermostatSetpointCapabilitiesReportSetpointType
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("AWAY_HEATING", 0x0D);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("AWAY_COOLING", 0x0E);
+        reverseThermostatSetpointCapabilitiesReportSetpointType.put("FULL_POWER", 0x0F);
+
+        // Reverse constants for ThermostatSetpointSupportedReportBitMask
+        reverseThermostatSetpointSupportedReportBitMask.put("NONE", 0x00);
+        reverseThermostatSetpointSupportedReportBitMask.put("HEATING", 0x01);
+        reverseThermostatSetpointSupportedReportBitMask.put("COOLING", 0x02);
+        reverseThermostatSetpointSupportedReportBitMask.put("FURNACE", 0x07);
+        reverseThermostatSetpointSupportedReportBitMask.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointSupportedReportBitMask.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointSupportedReportBitMask.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointSupportedReportBitMask.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointSupportedReportBitMask.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointSupportedReportBitMask.put("AWAY_HEATING", 0x0D);
+        reverseThermostatSetpointSupportedReportBitMask.put("AWAY_COOLING", 0x0E);
+        reverseThermostatSetpointSupportedReportBitMask.put("FULL_POWER", 0x0F);
+
+        // Reverse constants for ThermostatSetpointReportSetpointType
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointReportSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointReportSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointReportSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointReportSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointReportSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointReportSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointReportSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointReportSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointReportSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointReportSetpointType.put("AWAY_HEATING", 0x0D);
+        reverseThermostatSetpointReportSetpointType.put("AWAY_COOLING", 0x0E);
+        reverseThermostatSetpointReportSetpointType.put("FULL_POWER", 0x0F);
+
+        // Reverse constants for ThermostatSetpointGetSetpointType
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointGetSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointGetSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointGetSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointGetSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointGetSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointGetSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointGetSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointGetSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointGetSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointGetSetpointType.put("AWAY_HEATING", 0x0D);
+        reverseThermostatSetpointGetSetpointType.put("AWAY_COOLING", 0x0E);
+        reverseThermostatSetpointGetSetpointType.put("FULL_POWER", 0x0F);
+
+        // Reverse constants for ThermostatSetpointCapabilitiesGetSetpointType
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("NOT_SUPPORTED", 0x00);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("HEATING_1", 0x01);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("COOLING_1", 0x02);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("NOT_SUPPORTED1", 0x03);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("NOT_SUPPORTED2", 0x04);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("NOT_SUPPORTED3", 0x05);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("NOT_SUPPORTED4", 0x06);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("FURNACE", 0x07);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("DRY_AIR", 0x08);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("MOIST_AIR", 0x09);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("AUTO_CHANGEOVER", 0x0A);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("ENERGY_SAVE_HEATING", 0x0B);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("ENERGY_SAVE_COOLING", 0x0C);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("AWAY_HEATING", 0x0D);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("AWAY_COOLING", 0x0E);
+        reverseThermostatSetpointCapabilitiesGetSetpointType.put("FULL_POWER", 0x0F);
     }
 
     /**
@@ -243,14 +391,8 @@ public class CommandClassThermostatSetpointV3 {
         outputData.write(THERMOSTAT_SETPOINT_SET);
 
         // Process 'Level'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointSetSetpointType.keySet()) {
-            if (constantThermostatSetpointSetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointSetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -371,26 +513,57 @@ public class CommandClassThermostatSetpointV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetpointGet(String setpointType) {
+        byte[] outputData = new byte[THERMOSTAT_SETPOINT_GET_LENGTH];
+        getThermostatSetpointGet(ByteBuffer.wrap(outputData), setpointType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETPOINT_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETPOINT_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NOT_SUPPORTED
+     *            <li>HEATING_1
+     *            <li>COOLING_1
+     *            <li>NOT_SUPPORTED1
+     *            <li>NOT_SUPPORTED2
+     *            <li>NOT_SUPPORTED3
+     *            <li>NOT_SUPPORTED4
+     *            <li>FURNACE
+     *            <li>DRY_AIR
+     *            <li>MOIST_AIR
+     *            <li>AUTO_CHANGEOVER
+     *            <li>ENERGY_SAVE_HEATING
+     *            <li>ENERGY_SAVE_COOLING
+     *            <li>AWAY_HEATING
+     *            <li>AWAY_COOLING
+     *            <li>FULL_POWER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETPOINT_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getThermostatSetpointGet(ByteBuffer buffer, String setpointType) {
         logger.debug("Creating command message THERMOSTAT_SETPOINT_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETPOINT_GET);
+        if (buffer.remaining() < THERMOSTAT_SETPOINT_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Level'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointGetSetpointType.keySet()) {
-            if (constantThermostatSetpointGetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointGetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
-        outputData.write(varSetpointType & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETPOINT_GET);
+        buffer.put((byte) (varSetpointType & 0x0F));
     }
 
     /**
@@ -477,14 +650,8 @@ public class CommandClassThermostatSetpointV3 {
         outputData.write(THERMOSTAT_SETPOINT_REPORT);
 
         // Process 'Level'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointReportSetpointType.keySet()) {
-            if (constantThermostatSetpointReportSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointReportSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
@@ -584,13 +751,31 @@ public class CommandClassThermostatSetpointV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetpointSupportedGet() {
+        byte[] outputData = new byte[THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH];
+        getThermostatSetpointSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETPOINT_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getThermostatSetpointSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message THERMOSTAT_SETPOINT_SUPPORTED_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETPOINT_SUPPORTED_GET);
+        if (buffer.remaining() < THERMOSTAT_SETPOINT_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETPOINT_SUPPORTED_GET);
     }
 
     /**
@@ -643,17 +828,11 @@ public class CommandClassThermostatSetpointV3 {
         // Process 'Bit Mask'
         int valBitMask = 0;
         for (String value : bitMask) {
-            boolean foundBitMask = false;
-            for (Integer entry : constantThermostatSetpointSupportedReportBitMask.keySet()) {
-                if (constantThermostatSetpointSupportedReportBitMask.get(entry).equals(value)) {
-                    foundBitMask = true;
-                    valBitMask += entry;
-                    break;
-                }
-            }
-            if (!foundBitMask) {
+            Integer varBitMask = reverseThermostatSetpointSupportedReportBitMask.get(value);
+            if (varBitMask == null) {
                 throw new IllegalArgumentException("Unknown constant value '" + bitMask + "' for bitMask");
             }
+            valBitMask += varBitMask;
         }
         outputData.write(valBitMask);
 
@@ -737,26 +916,59 @@ public class CommandClassThermostatSetpointV3 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getThermostatSetpointCapabilitiesGet(String setpointType) {
+        byte[] outputData = new byte[THERMOSTAT_SETPOINT_CAPABILITIES_GET_LENGTH];
+        getThermostatSetpointCapabilitiesGet(ByteBuffer.wrap(outputData), setpointType);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the THERMOSTAT_SETPOINT_CAPABILITIES_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #THERMOSTAT_SETPOINT_CAPABILITIES_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param setpointType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NOT_SUPPORTED
+     *            <li>HEATING_1
+     *            <li>COOLING_1
+     *            <li>NOT_SUPPORTED1
+     *            <li>NOT_SUPPORTED2
+     *            <li>NOT_SUPPORTED3
+     *            <li>NOT_SUPPORTED4
+     *            <li>FURNACE
+     *            <li>DRY_AIR
+     *            <li>MOIST_AIR
+     *            <li>AUTO_CHANGEOVER
+     *            <li>ENERGY_SAVE_HEATING
+     *            <li>ENERGY_SAVE_COOLING
+     *            <li>AWAY_HEATING
+     *            <li>AWAY_COOLING
+     *            <li>FULL_POWER
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #THERMOSTAT_SETPOINT_CAPABILITIES_GET_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getThermostatSetpointCapabilitiesGet(ByteBuffer buffer, String setpointType) {
         logger.debug("Creating command message THERMOSTAT_SETPOINT_CAPABILITIES_GET version 3");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(THERMOSTAT_SETPOINT_CAPABILITIES_GET);
+        if (buffer.remaining() < THERMOSTAT_SETPOINT_CAPABILITIES_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointCapabilitiesGetSetpointType.keySet()) {
-            if (constantThermostatSetpointCapabilitiesGetSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointCapabilitiesGetSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
-        outputData.write(varSetpointType & 0x0F);
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) THERMOSTAT_SETPOINT_CAPABILITIES_GET);
+        buffer.put((byte) (varSetpointType & 0x0F));
     }
 
     /**
@@ -847,14 +1059,8 @@ public class CommandClassThermostatSetpointV3 {
         outputData.write(THERMOSTAT_SETPOINT_CAPABILITIES_REPORT);
 
         // Process 'Properties1'
-        int varSetpointType = Integer.MAX_VALUE;
-        for (Integer entry : constantThermostatSetpointCapabilitiesReportSetpointType.keySet()) {
-            if (constantThermostatSetpointCapabilitiesReportSetpointType.get(entry).equals(setpointType)) {
-                varSetpointType = entry;
-                break;
-            }
-        }
-        if (varSetpointType == Integer.MAX_VALUE) {
+        Integer varSetpointType = reverseThermostatSetpointCapabilitiesReportSetpointType.get(setpointType);
+        if (varSetpointType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + setpointType + "' for setpointType");
         }
         outputData.write(varSetpointType & 0x0F);
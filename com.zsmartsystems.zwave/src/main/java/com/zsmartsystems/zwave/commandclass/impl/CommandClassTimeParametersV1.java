@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassTimeParametersV1 {
      * Time Parameters Get Command Constant
      */
     public final static int TIME_PARAMETERS_GET = 0x02;
+    /**
+     * Length of the encoded TIME_PARAMETERS_GET command
+     */
+    public final static int TIME_PARAMETERS_GET_LENGTH = 2;
     /**
      * Time Parameters Report Command Constant
      */
@@ -146,13 +152,29 @@ public class CommandClassTimeParametersV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTimeParametersGet() {
+        byte[] outputData = new byte[TIME_PARAMETERS_GET_LENGTH];
+        getTimeParametersGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TIME_PARAMETERS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TIME_PARAMETERS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TIME_PARAMETERS_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTimeParametersGet(ByteBuffer buffer) {
         logger.debug("Creating command message TIME_PARAMETERS_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TIME_PARAMETERS_GET);
+        if (buffer.remaining() < TIME_PARAMETERS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TIME_PARAMETERS_GET);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassTimeV1 {
      * Time Get Command Constant
      */
     public final static int TIME_GET = 0x01;
+    /**
+     * Length of the encoded TIME_GET command
+     */
+    public final static int TIME_GET_LENGTH = 2;
     /**
      * Time Report Command Constant
      */
@@ -48,10 +54,18 @@ public class CommandClassTimeV1 {
      * Date Get Command Constant
      */
     public final static int DATE_GET = 0x03;
+    /**
+     * Length of the encoded DATE_GET command
+     */
+    public final static int DATE_GET_LENGTH = 2;
     /**
      * Date Report Command Constant
      */
     public final static int DATE_REPORT = 0x04;
+    /**
+     * Length of the encoded DATE_REPORT command
+     */
+    public final static int DATE_REPORT_LENGTH = 6;
 
     /**
      * Map holding constants for TimeReportHourLocalTime
@@ -71,13 +85,29 @@ public class CommandClassTimeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTimeGet() {
+        byte[] outputData = new byte[TIME_GET_LENGTH];
+        getTimeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TIME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TIME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TIME_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTimeGet(ByteBuffer buffer) {
         logger.debug("Creating command message TIME_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TIME_GET);
+        if (buffer.remaining() < TIME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TIME_GET);
     }
 
     /**
@@ -183,13 +213,29 @@ public class CommandClassTimeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDateGet() {
+        byte[] outputData = new byte[DATE_GET_LENGTH];
+        getDateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDateGet(ByteBuffer buffer) {
         logger.debug("Creating command message DATE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DATE_GET);
+        if (buffer.remaining() < DATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DATE_GET);
     }
 
     /**
@@ -219,23 +265,36 @@ public class CommandClassTimeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDateReport(Integer year, Integer month, Integer day) {
-        logger.debug("Creating command message DATE_REPORT version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DATE_REPORT);
-
-        // Process 'Year'
-        outputData.write((year >> 8) & 0xff);
-        outputData.write(year & 0xff);
+        byte[] outputData = new byte[DATE_REPORT_LENGTH];
+        getDateReport(ByteBuffer.wrap(outputData), year, month, day);
+        return outputData;
+    }
 
-        // Process 'Month'
-        outputData.write(month);
+    /**
+     * Writes a new message with the DATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DATE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param year {@link Integer}
+     * @param month {@link Integer}
+     * @param day {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DATE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getDateReport(ByteBuffer buffer, Integer year, Integer month, Integer day) {
+        logger.debug("Creating command message DATE_REPORT version 1");
 
-        // Process 'Day'
-        outputData.write(day);
+        if (buffer.remaining() < DATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DATE_REPORT);
+        buffer.put((byte) ((year >> 8) & 0xff));
+        buffer.put((byte) (year & 0xff));
+        buffer.put(month.byteValue());
+        buffer.put(day.byteValue());
     }
 
     /**
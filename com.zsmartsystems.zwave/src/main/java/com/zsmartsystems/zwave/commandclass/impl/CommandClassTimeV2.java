@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassTimeV2 {
      * Time Get Command Constant
      */
     public final static int TIME_GET = 0x01;
+    /**
+     * Length of the encoded TIME_GET command
+     */
+    public final static int TIME_GET_LENGTH = 2;
     /**
      * Time Report Command Constant
      */
@@ -48,10 +54,18 @@ public class CommandClassTimeV2 {
      * Date Get Command Constant
      */
     public final static int DATE_GET = 0x03;
+    /**
+     * Length of the encoded DATE_GET command
+     */
+    public final static int DATE_GET_LENGTH = 2;
     /**
      * Date Report Command Constant
      */
     public final static int DATE_REPORT = 0x04;
+    /**
+     * Length of the encoded DATE_REPORT command
+     */
+    public final static int DATE_REPORT_LENGTH = 6;
     /**
      * Time Offset Set Command Constant
      */
@@ -60,6 +74,10 @@ public class CommandClassTimeV2 {
      * Time Offset Get Command Constant
      */
     public final static int TIME_OFFSET_GET = 0x06;
+    /**
+     * Length of the encoded TIME_OFFSET_GET command
+     */
+    public final static int TIME_OFFSET_GET_LENGTH = 2;
     /**
      * Time Offset Report Command Constant
      */
@@ -115,13 +133,29 @@ public class CommandClassTimeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTimeGet() {
+        byte[] outputData = new byte[TIME_GET_LENGTH];
+        getTimeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TIME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TIME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TIME_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTimeGet(ByteBuffer buffer) {
         logger.debug("Creating command message TIME_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TIME_GET);
+        if (buffer.remaining() < TIME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TIME_GET);
     }
 
     /**
@@ -227,13 +261,29 @@ public class CommandClassTimeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDateGet() {
+        byte[] outputData = new byte[DATE_GET_LENGTH];
+        getDateGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the DATE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DATE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #DATE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getDateGet(ByteBuffer buffer) {
         logger.debug("Creating command message DATE_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DATE_GET);
+        if (buffer.remaining() < DATE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DATE_GET);
     }
 
     /**
@@ -263,23 +313,36 @@ public class CommandClassTimeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getDateReport(Integer year, Integer month, Integer day) {
-        logger.debug("Creating command message DATE_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(DATE_REPORT);
-
-        // Process 'Year'
-        outputData.write((year >> 8) & 0xff);
-        outputData.write(year & 0xff);
+        byte[] outputData = new byte[DATE_REPORT_LENGTH];
+        getDateReport(ByteBuffer.wrap(outputData), year, month, day);
+        return outputData;
+    }
 
-        // Process 'Month'
-        outputData.write(month);
+    /**
+     * Writes a new message with the DATE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #DATE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param year {@link Integer}
+     * @param month {@link Integer}
+     * @param day {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #DATE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getDateReport(ByteBuffer buffer, Integer year, Integer month, Integer day) {
+        logger.debug("Creating command message DATE_REPORT version 2");
 
-        // Process 'Day'
-        outputData.write(day);
+        if (buffer.remaining() < DATE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) DATE_REPORT);
+        buffer.put((byte) ((year >> 8) & 0xff));
+        buffer.put((byte) (year & 0xff));
+        buffer.put(month.byteValue());
+        buffer.put(day.byteValue());
     }
 
     /**
@@ -447,13 +510,29 @@ public class CommandClassTimeV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTimeOffsetGet() {
+        byte[] outputData = new byte[TIME_OFFSET_GET_LENGTH];
+        getTimeOffsetGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TIME_OFFSET_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TIME_OFFSET_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TIME_OFFSET_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getTimeOffsetGet(ByteBuffer buffer) {
         logger.debug("Creating command message TIME_OFFSET_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TIME_OFFSET_GET);
+        if (buffer.remaining() < TIME_OFFSET_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TIME_OFFSET_GET);
     }
 
     /**
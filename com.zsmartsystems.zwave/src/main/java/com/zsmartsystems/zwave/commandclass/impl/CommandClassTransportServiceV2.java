@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -53,10 +55,18 @@ public class CommandClassTransportServiceV2 {
      * Segment Complete Command Constant
      */
     public final static int COMMAND_SEGMENT_COMPLETE = 0xE8;
+    /**
+     * Length of the encoded COMMAND_SEGMENT_COMPLETE command
+     */
+    public final static int COMMAND_SEGMENT_COMPLETE_LENGTH = 3;
     /**
      * Segment Wait Command Constant
      */
     public final static int COMMAND_SEGMENT_WAIT = 0xF0;
+    /**
+     * Length of the encoded COMMAND_SEGMENT_WAIT command
+     */
+    public final static int COMMAND_SEGMENT_WAIT_LENGTH = 3;
 
     /**
      * Map holding constants for CommandSubsequentSegmentProperties2
@@ -434,18 +444,31 @@ public class CommandClassTransportServiceV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandSegmentComplete(Integer sessionId) {
-        logger.debug("Creating command message COMMAND_SEGMENT_COMPLETE version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_SEGMENT_COMPLETE);
+        byte[] outputData = new byte[COMMAND_SEGMENT_COMPLETE_LENGTH];
+        getCommandSegmentComplete(ByteBuffer.wrap(outputData), sessionId);
+        return outputData;
+    }
 
-        // Process 'Properties1'
+    /**
+     * Writes a new message with the COMMAND_SEGMENT_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_SEGMENT_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param sessionId {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_SEGMENT_COMPLETE_LENGTH} bytes remain in the buffer
+     */
+    static public void getCommandSegmentComplete(ByteBuffer buffer, Integer sessionId) {
+        logger.debug("Creating command message COMMAND_SEGMENT_COMPLETE version 2");
 
-        // Process 'Properties2'
-        outputData.write(((sessionId << 4) & 0xF0));
+        if (buffer.remaining() < COMMAND_SEGMENT_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_SEGMENT_COMPLETE);
+        buffer.put((byte) (((sessionId << 4) & 0xF0)));
     }
 
     /**
@@ -484,18 +507,31 @@ public class CommandClassTransportServiceV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandSegmentWait(Integer pendingFragments) {
-        logger.debug("Creating command message COMMAND_SEGMENT_WAIT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_SEGMENT_WAIT);
+        byte[] outputData = new byte[COMMAND_SEGMENT_WAIT_LENGTH];
+        getCommandSegmentWait(ByteBuffer.wrap(outputData), pendingFragments);
+        return outputData;
+    }
 
-        // Process 'Properties1'
+    /**
+     * Writes a new message with the COMMAND_SEGMENT_WAIT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_SEGMENT_WAIT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param pendingFragments {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_SEGMENT_WAIT_LENGTH} bytes remain in the buffer
+     */
+    static public void getCommandSegmentWait(ByteBuffer buffer, Integer pendingFragments) {
+        logger.debug("Creating command message COMMAND_SEGMENT_WAIT version 2");
 
-        // Process 'pending_fragments'
-        outputData.write(pendingFragments);
+        if (buffer.remaining() < COMMAND_SEGMENT_WAIT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_SEGMENT_WAIT);
+        buffer.put(pendingFragments.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -46,6 +48,10 @@ public class CommandClassUserCodeV1 {
      * User Code Get Command Constant
      */
     public final static int USER_CODE_GET = 0x02;
+    /**
+     * Length of the encoded USER_CODE_GET command
+     */
+    public final static int USER_CODE_GET_LENGTH = 3;
     /**
      * User Code Report Command Constant
      */
@@ -54,21 +60,39 @@ public class CommandClassUserCodeV1 {
      * Users Number Get Command Constant
      */
     public final static int USERS_NUMBER_GET = 0x04;
+    /**
+     * Length of the encoded USERS_NUMBER_GET command
+     */
+    public final static int USERS_NUMBER_GET_LENGTH = 2;
     /**
      * Users Number Report Command Constant
      */
     public final static int USERS_NUMBER_REPORT = 0x05;
+    /**
+     * Length of the encoded USERS_NUMBER_REPORT command
+     */
+    public final static int USERS_NUMBER_REPORT_LENGTH = 3;
 
     /**
      * Map holding constants for UserCodeReportUserIdStatus
      */
     private static Map<Integer, String> constantUserCodeReportUserIdStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for UserCodeReportUserIdStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseUserCodeReportUserIdStatus = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for UserCodeSetUserIdStatus
      */
     private static Map<Integer, String> constantUserCodeSetUserIdStatus = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for UserCodeSetUserIdStatus, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseUserCodeSetUserIdStatus = new HashMap<String, Integer>();
+
     static {
         // Constants for UserCodeReportUserIdStatus
         constantUserCodeReportUserIdStatus.put(0xFE, "STATUS_NOT_AVAILABLE");
@@ -79,6 +103,16 @@ public class CommandClassUserCodeV1 {
         constantUserCodeSetUserIdStatus.put(0xFE, "STATUS_NOT_AVAILABLE");
         constantUserCodeSetUserIdStatus.put(0x00, "AVAILABLE");
         constantUserCodeSetUserIdStatus.put(0x01, "OCCUPIED");
+
+        // Reverse constants for UserCodeReportUserIdStatus
+        reverseUserCodeReportUserIdStatus.put("AVAILABLE", 0x00);
+        reverseUserCodeReportUserIdStatus.put("OCCUPIED", 0x01);
+        reverseUserCodeReportUserIdStatus.put("STATUS_NOT_AVAILABLE", 0xFE);
+
+        // Reverse constants for UserCodeSetUserIdStatus
+        reverseUserCodeSetUserIdStatus.put("AVAILABLE", 0x00);
+        reverseUserCodeSetUserIdStatus.put("OCCUPIED", 0x01);
+        reverseUserCodeSetUserIdStatus.put("STATUS_NOT_AVAILABLE", 0xFE);
     }
 
     /**
@@ -109,17 +143,11 @@ public class CommandClassUserCodeV1 {
         outputData.write(userIdentifier);
 
         // Process 'User ID Status'
-        boolean foundUserIdStatus = false;
-        for (Integer entry : constantUserCodeSetUserIdStatus.keySet()) {
-            if (constantUserCodeSetUserIdStatus.get(entry).equals(userIdStatus)) {
-                outputData.write(entry);
-                foundUserIdStatus = true;
-                break;
-            }
-        }
-        if (!foundUserIdStatus) {
+        Integer varUserIdStatus = reverseUserCodeSetUserIdStatus.get(userIdStatus);
+        if (varUserIdStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + userIdStatus + "' for userIdStatus");
         }
+        outputData.write(varUserIdStatus);
 
         // Process 'USER_CODE'
         if (userCode != null) {
@@ -189,16 +217,31 @@ public class CommandClassUserCodeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getUserCodeGet(Integer userIdentifier) {
-        logger.debug("Creating command message USER_CODE_GET version 1");
+        byte[] outputData = new byte[USER_CODE_GET_LENGTH];
+        getUserCodeGet(ByteBuffer.wrap(outputData), userIdentifier);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(USER_CODE_GET);
+    /**
+     * Writes a new message with the USER_CODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #USER_CODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param userIdentifier {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #USER_CODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getUserCodeGet(ByteBuffer buffer, Integer userIdentifier) {
+        logger.debug("Creating command message USER_CODE_GET version 1");
 
-        // Process 'User Identifier'
-        outputData.write(userIdentifier);
+        if (buffer.remaining() < USER_CODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) USER_CODE_GET);
+        buffer.put(userIdentifier.byteValue());
     }
 
     /**
@@ -254,17 +297,11 @@ public class CommandClassUserCodeV1 {
         outputData.write(userIdentifier);
 
         // Process 'User ID Status'
-        boolean foundUserIdStatus = false;
-        for (Integer entry : constantUserCodeReportUserIdStatus.keySet()) {
-            if (constantUserCodeReportUserIdStatus.get(entry).equals(userIdStatus)) {
-                outputData.write(entry);
-                foundUserIdStatus = true;
-                break;
-            }
-        }
-        if (!foundUserIdStatus) {
+        Integer varUserIdStatus = reverseUserCodeReportUserIdStatus.get(userIdStatus);
+        if (varUserIdStatus == null) {
             throw new IllegalArgumentException("Unknown constant value '" + userIdStatus + "' for userIdStatus");
         }
+        outputData.write(varUserIdStatus);
 
         // Process 'USER_CODE'
         if (userCode != null) {
@@ -333,13 +370,29 @@ public class CommandClassUserCodeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getUsersNumberGet() {
+        byte[] outputData = new byte[USERS_NUMBER_GET_LENGTH];
+        getUsersNumberGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the USERS_NUMBER_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #USERS_NUMBER_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #USERS_NUMBER_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getUsersNumberGet(ByteBuffer buffer) {
         logger.debug("Creating command message USERS_NUMBER_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(USERS_NUMBER_GET);
+        if (buffer.remaining() < USERS_NUMBER_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) USERS_NUMBER_GET);
     }
 
     /**
@@ -367,16 +420,31 @@ public class CommandClassUserCodeV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getUsersNumberReport(Integer supportedUsers) {
-        logger.debug("Creating command message USERS_NUMBER_REPORT version 1");
+        byte[] outputData = new byte[USERS_NUMBER_REPORT_LENGTH];
+        getUsersNumberReport(ByteBuffer.wrap(outputData), supportedUsers);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(USERS_NUMBER_REPORT);
+    /**
+     * Writes a new message with the USERS_NUMBER_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #USERS_NUMBER_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param supportedUsers {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #USERS_NUMBER_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getUsersNumberReport(ByteBuffer buffer, Integer supportedUsers) {
+        logger.debug("Creating command message USERS_NUMBER_REPORT version 1");
 
-        // Process 'Supported Users'
-        outputData.write(supportedUsers);
+        if (buffer.remaining() < USERS_NUMBER_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) USERS_NUMBER_REPORT);
+        buffer.put(supportedUsers.byteValue());
     }
 
     /**
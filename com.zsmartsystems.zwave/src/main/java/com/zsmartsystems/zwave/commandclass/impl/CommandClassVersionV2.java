@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +44,10 @@ public class CommandClassVersionV2 {
      * Version Get Command Constant
      */
     public final static int VERSION_GET = 0x11;
+    /**
+     * Length of the encoded VERSION_GET command
+     */
+    public final static int VERSION_GET_LENGTH = 2;
     /**
      * Version Report Command Constant
      */
@@ -50,10 +56,18 @@ public class CommandClassVersionV2 {
      * Version Command Class Get Command Constant
      */
     public final static int VERSION_COMMAND_CLASS_GET = 0x13;
+    /**
+     * Length of the encoded VERSION_COMMAND_CLASS_GET command
+     */
+    public final static int VERSION_COMMAND_CLASS_GET_LENGTH = 3;
     /**
      * Version Command Class Report Command Constant
      */
     public final static int VERSION_COMMAND_CLASS_REPORT = 0x14;
+    /**
+     * Length of the encoded VERSION_COMMAND_CLASS_REPORT command
+     */
+    public final static int VERSION_COMMAND_CLASS_REPORT_LENGTH = 4;
 
 
     /**
@@ -64,13 +78,29 @@ public class CommandClassVersionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getVersionGet() {
+        byte[] outputData = new byte[VERSION_GET_LENGTH];
+        getVersionGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the VERSION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #VERSION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #VERSION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getVersionGet(ByteBuffer buffer) {
         logger.debug("Creating command message VERSION_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(VERSION_GET);
+        if (buffer.remaining() < VERSION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) VERSION_GET);
     }
 
     /**
@@ -222,16 +252,32 @@ public class CommandClassVersionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getVersionCommandClassGet(Integer requestedCommandClass) {
-        logger.debug("Creating command message VERSION_COMMAND_CLASS_GET version 2");
+        byte[] outputData = new byte[VERSION_COMMAND_CLASS_GET_LENGTH];
+        getVersionCommandClassGet(ByteBuffer.wrap(outputData), requestedCommandClass);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(VERSION_COMMAND_CLASS_GET);
+    /**
+     * Writes a new message with the VERSION_COMMAND_CLASS_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #VERSION_COMMAND_CLASS_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param requestedCommandClass {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #VERSION_COMMAND_CLASS_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getVersionCommandClassGet(ByteBuffer buffer, Integer requestedCommandClass) {
+        logger.debug("Creating command message VERSION_COMMAND_CLASS_GET version 2");
 
-        // Process 'Requested Command Class'
-        outputData.write(requestedCommandClass);
+        if (buffer.remaining() < VERSION_COMMAND_CLASS_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) VERSION_COMMAND_CLASS_GET);
+        buffer.put(requestedCommandClass.byteValue());
     }
 
     /**
@@ -269,19 +315,35 @@ public class CommandClassVersionV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getVersionCommandClassReport(Integer requestedCommandClass, Integer commandClassVersion) {
-        logger.debug("Creating command message VERSION_COMMAND_CLASS_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(VERSION_COMMAND_CLASS_REPORT);
+        byte[] outputData = new byte[VERSION_COMMAND_CLASS_REPORT_LENGTH];
+        getVersionCommandClassReport(ByteBuffer.wrap(outputData), requestedCommandClass, commandClassVersion);
+        return outputData;
+    }
 
-        // Process 'Requested Command Class'
-        outputData.write(requestedCommandClass);
+    /**
+     * Writes a new message with the VERSION_COMMAND_CLASS_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #VERSION_COMMAND_CLASS_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param requestedCommandClass {@link Integer}
+     * @param commandClassVersion {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #VERSION_COMMAND_CLASS_REPORT_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getVersionCommandClassReport(ByteBuffer buffer, Integer requestedCommandClass,
+            Integer commandClassVersion) {
+        logger.debug("Creating command message VERSION_COMMAND_CLASS_REPORT version 2");
 
-        // Process 'Command Class Version'
-        outputData.write(commandClassVersion);
+        if (buffer.remaining() < VERSION_COMMAND_CLASS_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) VERSION_COMMAND_CLASS_REPORT);
+        buffer.put(requestedCommandClass.byteValue());
+        buffer.put(commandClassVersion.byteValue());
     }
 
     /**
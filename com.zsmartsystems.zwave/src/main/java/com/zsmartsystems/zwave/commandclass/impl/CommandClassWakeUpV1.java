@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassWakeUpV1 {
      * Wake Up Interval Get Command Constant
      */
     public final static int WAKE_UP_INTERVAL_GET = 0x05;
+    /**
+     * Length of the encoded WAKE_UP_INTERVAL_GET command
+     */
+    public final static int WAKE_UP_INTERVAL_GET_LENGTH = 2;
     /**
      * Wake Up Interval Report Command Constant
      */
@@ -52,10 +58,18 @@ public class CommandClassWakeUpV1 {
      * Wake Up Notification Command Constant
      */
     public final static int WAKE_UP_NOTIFICATION = 0x07;
+    /**
+     * Length of the encoded WAKE_UP_NOTIFICATION command
+     */
+    public final static int WAKE_UP_NOTIFICATION_LENGTH = 2;
     /**
      * Wake Up No More Information Command Constant
      */
     public final static int WAKE_UP_NO_MORE_INFORMATION = 0x08;
+    /**
+     * Length of the encoded WAKE_UP_NO_MORE_INFORMATION command
+     */
+    public final static int WAKE_UP_NO_MORE_INFORMATION_LENGTH = 2;
 
 
     /**
@@ -121,13 +135,29 @@ public class CommandClassWakeUpV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpIntervalGet() {
+        byte[] outputData = new byte[WAKE_UP_INTERVAL_GET_LENGTH];
+        getWakeUpIntervalGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_INTERVAL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_INTERVAL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_INTERVAL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getWakeUpIntervalGet(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_INTERVAL_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_INTERVAL_GET);
+        if (buffer.remaining() < WAKE_UP_INTERVAL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_INTERVAL_GET);
     }
 
     /**
@@ -209,13 +239,29 @@ public class CommandClassWakeUpV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpNotification() {
+        byte[] outputData = new byte[WAKE_UP_NOTIFICATION_LENGTH];
+        getWakeUpNotification(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_NOTIFICATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_NOTIFICATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_NOTIFICATION_LENGTH} bytes remain in the buffer
+     */
+    static public void getWakeUpNotification(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_NOTIFICATION version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_NOTIFICATION);
+        if (buffer.remaining() < WAKE_UP_NOTIFICATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_NOTIFICATION);
     }
 
     /**
@@ -242,13 +288,30 @@ public class CommandClassWakeUpV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpNoMoreInformation() {
+        byte[] outputData = new byte[WAKE_UP_NO_MORE_INFORMATION_LENGTH];
+        getWakeUpNoMoreInformation(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_NO_MORE_INFORMATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_NO_MORE_INFORMATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_NO_MORE_INFORMATION_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getWakeUpNoMoreInformation(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_NO_MORE_INFORMATION version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_NO_MORE_INFORMATION);
+        if (buffer.remaining() < WAKE_UP_NO_MORE_INFORMATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_NO_MORE_INFORMATION);
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -44,6 +46,10 @@ public class CommandClassWakeUpV2 {
      * Wake Up Interval Get Command Constant
      */
     public final static int WAKE_UP_INTERVAL_GET = 0x05;
+    /**
+     * Length of the encoded WAKE_UP_INTERVAL_GET command
+     */
+    public final static int WAKE_UP_INTERVAL_GET_LENGTH = 2;
     /**
      * Wake Up Interval Report Command Constant
      */
@@ -52,18 +58,34 @@ public class CommandClassWakeUpV2 {
      * Wake Up Notification Command Constant
      */
     public final static int WAKE_UP_NOTIFICATION = 0x07;
+    /**
+     * Length of the encoded WAKE_UP_NOTIFICATION command
+     */
+    public final static int WAKE_UP_NOTIFICATION_LENGTH = 2;
     /**
      * Wake Up No More Information Command Constant
      */
     public final static int WAKE_UP_NO_MORE_INFORMATION = 0x08;
+    /**
+     * Length of the encoded WAKE_UP_NO_MORE_INFORMATION command
+     */
+    public final static int WAKE_UP_NO_MORE_INFORMATION_LENGTH = 2;
     /**
      * Wake Up Interval Capabilities Get Command Constant
      */
     public final static int WAKE_UP_INTERVAL_CAPABILITIES_GET = 0x09;
+    /**
+     * Length of the encoded WAKE_UP_INTERVAL_CAPABILITIES_GET command
+     */
+    public final static int WAKE_UP_INTERVAL_CAPABILITIES_GET_LENGTH = 2;
     /**
      * Wake Up Interval Capabilities Report Command Constant
      */
     public final static int WAKE_UP_INTERVAL_CAPABILITIES_REPORT = 0x0A;
+    /**
+     * Length of the encoded WAKE_UP_INTERVAL_CAPABILITIES_REPORT command
+     */
+    public final static int WAKE_UP_INTERVAL_CAPABILITIES_REPORT_LENGTH = 2;
 
 
     /**
@@ -129,13 +151,29 @@ public class CommandClassWakeUpV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpIntervalGet() {
+        byte[] outputData = new byte[WAKE_UP_INTERVAL_GET_LENGTH];
+        getWakeUpIntervalGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_INTERVAL_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_INTERVAL_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_INTERVAL_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getWakeUpIntervalGet(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_INTERVAL_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_INTERVAL_GET);
+        if (buffer.remaining() < WAKE_UP_INTERVAL_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_INTERVAL_GET);
     }
 
     /**
@@ -217,13 +255,29 @@ public class CommandClassWakeUpV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpNotification() {
+        byte[] outputData = new byte[WAKE_UP_NOTIFICATION_LENGTH];
+        getWakeUpNotification(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_NOTIFICATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_NOTIFICATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_NOTIFICATION_LENGTH} bytes remain in the buffer
+     */
+    static public void getWakeUpNotification(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_NOTIFICATION version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_NOTIFICATION);
+        if (buffer.remaining() < WAKE_UP_NOTIFICATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_NOTIFICATION);
     }
 
     /**
@@ -250,13 +304,30 @@ public class CommandClassWakeUpV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpNoMoreInformation() {
+        byte[] outputData = new byte[WAKE_UP_NO_MORE_INFORMATION_LENGTH];
+        getWakeUpNoMoreInformation(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_NO_MORE_INFORMATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_NO_MORE_INFORMATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_NO_MORE_INFORMATION_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getWakeUpNoMoreInformation(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_NO_MORE_INFORMATION version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_NO_MORE_INFORMATION);
+        if (buffer.remaining() < WAKE_UP_NO_MORE_INFORMATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_NO_MORE_INFORMATION);
     }
 
     /**
@@ -283,13 +354,31 @@ public class CommandClassWakeUpV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpIntervalCapabilitiesGet() {
+        byte[] outputData = new byte[WAKE_UP_INTERVAL_CAPABILITIES_GET_LENGTH];
+        getWakeUpIntervalCapabilitiesGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WAKE_UP_INTERVAL_CAPABILITIES_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_INTERVAL_CAPABILITIES_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_INTERVAL_CAPABILITIES_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getWakeUpIntervalCapabilitiesGet(ByteBuffer buffer) {
         logger.debug("Creating command message WAKE_UP_INTERVAL_CAPABILITIES_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_INTERVAL_CAPABILITIES_GET);
+        if (buffer.remaining() < WAKE_UP_INTERVAL_CAPABILITIES_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_INTERVAL_CAPABILITIES_GET);
     }
 
     /**
@@ -316,21 +405,31 @@ public class CommandClassWakeUpV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWakeUpIntervalCapabilitiesReport() {
-        logger.debug("Creating command message WAKE_UP_INTERVAL_CAPABILITIES_REPORT version 2");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WAKE_UP_INTERVAL_CAPABILITIES_REPORT);
-
-        // Process 'Minimum Wake Up Interval Seconds'
-
-        // Process 'Maximum Wake Up Interval Seconds'
+        byte[] outputData = new byte[WAKE_UP_INTERVAL_CAPABILITIES_REPORT_LENGTH];
+        getWakeUpIntervalCapabilitiesReport(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
 
-        // Process 'Default Wake Up Interval Seconds'
+    /**
+     * Writes a new message with the WAKE_UP_INTERVAL_CAPABILITIES_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WAKE_UP_INTERVAL_CAPABILITIES_REPORT_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WAKE_UP_INTERVAL_CAPABILITIES_REPORT_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getWakeUpIntervalCapabilitiesReport(ByteBuffer buffer) {
+        logger.debug("Creating command message WAKE_UP_INTERVAL_CAPABILITIES_REPORT version 2");
 
-        // Process 'Wake Up Interval Step Seconds'
+        if (buffer.remaining() < WAKE_UP_INTERVAL_CAPABILITIES_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WAKE_UP_INTERVAL_CAPABILITIES_REPORT);
     }
 
     /**
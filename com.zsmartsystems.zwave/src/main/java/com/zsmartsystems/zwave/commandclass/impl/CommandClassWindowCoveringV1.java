@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,6 +45,10 @@ public class CommandClassWindowCoveringV1 {
      * Window Covering Supported Get Command Constant
      */
     public final static int WINDOW_COVERING_SUPPORTED_GET = 0x01;
+    /**
+     * Length of the encoded WINDOW_COVERING_SUPPORTED_GET command
+     */
+    public final static int WINDOW_COVERING_SUPPORTED_GET_LENGTH = 2;
     /**
      * Window Covering Supported Report Command Constant
      */
@@ -51,6 +57,10 @@ public class CommandClassWindowCoveringV1 {
      * Window Covering Get Command Constant
      */
     public final static int WINDOW_COVERING_GET = 0x03;
+    /**
+     * Length of the encoded WINDOW_COVERING_GET command
+     */
+    public final static int WINDOW_COVERING_GET_LENGTH = 3;
     /**
      * Window Covering Report Command Constant
      */
@@ -59,6 +69,10 @@ public class CommandClassWindowCoveringV1 {
      * Window Covering Set Command Constant
      */
     public final static int WINDOW_COVERING_SET = 0x05;
+    /**
+     * Length of the encoded WINDOW_COVERING_SET command
+     */
+    public final static int WINDOW_COVERING_SET_LENGTH = 4;
     /**
      * Window Covering Start Level Change Command Constant
      */
@@ -67,12 +81,21 @@ public class CommandClassWindowCoveringV1 {
      * Window Covering Stop Level Change Command Constant
      */
     public final static int WINDOW_COVERING_STOP_LEVEL_CHANGE = 0x07;
+    /**
+     * Length of the encoded WINDOW_COVERING_STOP_LEVEL_CHANGE command
+     */
+    public final static int WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH = 3;
 
     /**
      * Map holding constants for WindowCoveringStopLevelChangeParameterId
      */
     private static Map<Integer, String> constantWindowCoveringStopLevelChangeParameterId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for WindowCoveringStopLevelChangeParameterId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseWindowCoveringStopLevelChangeParameterId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for WindowCoveringSetParameterId
      */
@@ -88,16 +111,31 @@ public class CommandClassWindowCoveringV1 {
      */
     private static Map<Integer, String> constantWindowCoveringStartLevelChangeParameterId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for WindowCoveringStartLevelChangeParameterId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseWindowCoveringStartLevelChangeParameterId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for WindowCoveringReportParameterId
      */
     private static Map<Integer, String> constantWindowCoveringReportParameterId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for WindowCoveringReportParameterId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseWindowCoveringReportParameterId = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for WindowCoveringGetParameterId
      */
     private static Map<Integer, String> constantWindowCoveringGetParameterId = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for WindowCoveringGetParameterId, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseWindowCoveringGetParameterId = new HashMap<String, Integer>();
+
     static {
         // Constants for WindowCoveringStopLevelChangeParameterId
         constantWindowCoveringStopLevelChangeParameterId.put(0x00, "OUT_LEFT_1");
@@ -227,6 +265,106 @@ public class CommandClassWindowCoveringV1 {
         constantWindowCoveringGetParameterId.put(0x15, "HORIZONTAL_SLATS_ANGLE_1");
         constantWindowCoveringGetParameterId.put(0x14, "IN_TOP_BOTTOM_2");
         constantWindowCoveringGetParameterId.put(0x16, "HORIZONTAL_SLATS_ANGLE_2");
+
+        // Reverse constants for WindowCoveringStopLevelChangeParameterId
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_LEFT_1", 0x00);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_LEFT_2", 0x01);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_RIGHT_1", 0x02);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_RIGHT_2", 0x03);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_LEFT_1", 0x04);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_LEFT_2", 0x05);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_RIGHT_1", 0x06);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_RIGHT_2", 0x07);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_RIGHT_LEFT_1", 0x08);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_RIGHT_LEFT_2", 0x09);
+        reverseWindowCoveringStopLevelChangeParameterId.put("VERTICAL_SLATS_ANGLE_1", 0x0A);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_TOP_1", 0x0B);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_BOTTOM_1", 0x0C);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_BOTTOM_2", 0x0D);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_TOP_1", 0x0E);
+        reverseWindowCoveringStopLevelChangeParameterId.put("OUT_TOP_2", 0x0F);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_BOTTOM_1", 0x10);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_BOTTOM_2", 0x11);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_TOP_2", 0x12);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_TOP_BOTTOM_1", 0x13);
+        reverseWindowCoveringStopLevelChangeParameterId.put("IN_TOP_BOTTOM_2", 0x14);
+        reverseWindowCoveringStopLevelChangeParameterId.put("HORIZONTAL_SLATS_ANGLE_1", 0x15);
+        reverseWindowCoveringStopLevelChangeParameterId.put("HORIZONTAL_SLATS_ANGLE_2", 0x16);
+
+        // Reverse constants for WindowCoveringStartLevelChangeParameterId
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_LEFT_1", 0x00);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_LEFT_2", 0x01);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_RIGHT_1", 0x02);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_RIGHT_2", 0x03);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_LEFT_1", 0x04);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_LEFT_2", 0x05);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_RIGHT_1", 0x06);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_RIGHT_2", 0x07);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_RIGHT_LEFT_1", 0x08);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_RIGHT_LEFT_2", 0x09);
+        reverseWindowCoveringStartLevelChangeParameterId.put("VERTICAL_SLATS_ANGLE_1", 0x0A);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_TOP_1", 0x0B);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_BOTTOM_1", 0x0C);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_BOTTOM_2", 0x0D);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_TOP_1", 0x0E);
+        reverseWindowCoveringStartLevelChangeParameterId.put("OUT_TOP_2", 0x0F);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_BOTTOM_1", 0x10);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_BOTTOM_2", 0x11);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_TOP_2", 0x12);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_TOP_BOTTOM_1", 0x13);
+        reverseWindowCoveringStartLevelChangeParameterId.put("IN_TOP_BOTTOM_2", 0x14);
+        reverseWindowCoveringStartLevelChangeParameterId.put("HORIZONTAL_SLATS_ANGLE_1", 0x15);
+        reverseWindowCoveringStartLevelChangeParameterId.put("HORIZONTAL_SLATS_ANGLE_2", 0x16);
+
+        // Reverse constants for WindowCoveringReportParameterId
+        reverseWindowCoveringReportParameterId.put("OUT_LEFT_1", 0x00);
+        reverseWindowCoveringReportParameterId.put("OUT_LEFT_2", 0x01);
+        reverseWindowCoveringReportParameterId.put("OUT_RIGHT_1", 0x02);
+        reverseWindowCoveringReportParameterId.put("OUT_RIGHT_2", 0x03);
+        reverseWindowCoveringReportParameterId.put("IN_LEFT_1", 0x04);
+        reverseWindowCoveringReportParameterId.put("IN_LEFT_2", 0x05);
+        reverseWindowCoveringReportParameterId.put("IN_RIGHT_1", 0x06);
+        reverseWindowCoveringReportParameterId.put("IN_RIGHT_2", 0x07);
+        reverseWindowCoveringReportParameterId.put("IN_RIGHT_LEFT_1", 0x08);
+        reverseWindowCoveringReportParameterId.put("IN_RIGHT_LEFT_2", 0x09);
+        reverseWindowCoveringReportParameterId.put("VERTICAL_SLATS_ANGLE_1", 0x0A);
+        reverseWindowCoveringReportParameterId.put("IN_TOP_1", 0x0B);
+        reverseWindowCoveringReportParameterId.put("OUT_BOTTOM_1", 0x0C);
+        reverseWindowCoveringReportParameterId.put("OUT_BOTTOM_2", 0x0D);
+        reverseWindowCoveringReportParameterId.put("OUT_TOP_1", 0x0E);
+        reverseWindowCoveringReportParameterId.put("OUT_TOP_2", 0x0F);
+        reverseWindowCoveringReportParameterId.put("IN_BOTTOM_1", 0x10);
+        reverseWindowCoveringReportParameterId.put("IN_BOTTOM_2", 0x11);
+        reverseWindowCoveringReportParameterId.put("IN_TOP_2", 0x12);
+        reverseWindowCoveringReportParameterId.put("IN_TOP_BOTTOM_1", 0x13);
+        reverseWindowCoveringReportParameterId.put("IN_TOP_BOTTOM_2", 0x14);
+        reverseWindowCoveringReportParameterId.put("HORIZONTAL_SLATS_ANGLE_1", 0x15);
+        reverseWindowCoveringReportParameterId.put("HORIZONTAL_SLATS_ANGLE_2", 0x16);
+
+        // Reverse constants for WindowCoveringGetParameterId
+        reverseWindowCoveringGetParameterId.put("OUT_LEFT_1", 0x00);
+        reverseWindowCoveringGetParameterId.put("OUT_LEFT_2", 0x01);
+        reverseWindowCoveringGetParameterId.put("OUT_RIGHT_1", 0x02);
+        reverseWindowCoveringGetParameterId.put("OUT_RIGHT_2", 0x03);
+        reverseWindowCoveringGetParameterId.put("IN_LEFT_1", 0x04);
+        reverseWindowCoveringGetParameterId.put("IN_LEFT_2", 0x05);
+        reverseWindowCoveringGetParameterId.put("IN_RIGHT_1", 0x06);
+        reverseWindowCoveringGetParameterId.put("IN_RIGHT_2", 0x07);
+        reverseWindowCoveringGetParameterId.put("IN_RIGHT_LEFT_1", 0x08);
+        reverseWindowCoveringGetParameterId.put("IN_RIGHT_LEFT_2", 0x09);
+        reverseWindowCoveringGetParameterId.put("VERTICAL_SLATS_ANGLE_1", 0x0A);
+        reverseWindowCoveringGetParameterId.put("IN_TOP_1", 0x0B);
+        reverseWindowCoveringGetParameterId.put("OUT_BOTTOM_1", 0x0C);
+        reverseWindowCoveringGetParameterId.put("OUT_BOTTOM_2", 0x0D);
+        reverseWindowCoveringGetParameterId.put("OUT_TOP_1", 0x0E);
+        reverseWindowCoveringGetParameterId.put("OUT_TOP_2", 0x0F);
+        reverseWindowCoveringGetParameterId.put("IN_BOTTOM_1", 0x10);
+        reverseWindowCoveringGetParameterId.put("IN_BOTTOM_2", 0x11);
+        reverseWindowCoveringGetParameterId.put("IN_TOP_2", 0x12);
+        reverseWindowCoveringGetParameterId.put("IN_TOP_BOTTOM_1", 0x13);
+        reverseWindowCoveringGetParameterId.put("IN_TOP_BOTTOM_2", 0x14);
+        reverseWindowCoveringGetParameterId.put("HORIZONTAL_SLATS_ANGLE_1", 0x15);
+        reverseWindowCoveringGetParameterId.put("HORIZONTAL_SLATS_ANGLE_2", 0x16);
     }
 
     /**
@@ -237,13 +375,30 @@ public class CommandClassWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWindowCoveringSupportedGet() {
+        byte[] outputData = new byte[WINDOW_COVERING_SUPPORTED_GET_LENGTH];
+        getWindowCoveringSupportedGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WINDOW_COVERING_SUPPORTED_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WINDOW_COVERING_SUPPORTED_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #WINDOW_COVERING_SUPPORTED_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getWindowCoveringSupportedGet(ByteBuffer buffer) {
         logger.debug("Creating command message WINDOW_COVERING_SUPPORTED_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WINDOW_COVERING_SUPPORTED_GET);
+        if (buffer.remaining() < WINDOW_COVERING_SUPPORTED_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WINDOW_COVERING_SUPPORTED_GET);
     }
 
     /**
@@ -368,26 +523,64 @@ public class CommandClassWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWindowCoveringGet(String parameterId) {
+        byte[] outputData = new byte[WINDOW_COVERING_GET_LENGTH];
+        getWindowCoveringGet(ByteBuffer.wrap(outputData), parameterId);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WINDOW_COVERING_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WINDOW_COVERING_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterId {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OUT_LEFT_1
+     *            <li>OUT_LEFT_2
+     *            <li>OUT_RIGHT_1
+     *            <li>OUT_RIGHT_2
+     *            <li>IN_LEFT_1
+     *            <li>IN_LEFT_2
+     *            <li>IN_RIGHT_1
+     *            <li>IN_RIGHT_2
+     *            <li>IN_RIGHT_LEFT_1
+     *            <li>IN_RIGHT_LEFT_2
+     *            <li>VERTICAL_SLATS_ANGLE_1
+     *            <li>IN_TOP_1
+     *            <li>OUT_BOTTOM_1
+     *            <li>OUT_BOTTOM_2
+     *            <li>OUT_TOP_1
+     *            <li>OUT_TOP_2
+     *            <li>IN_BOTTOM_2
+     *            <li>IN_BOTTOM_1
+     *            <li>IN_TOP_BOTTOM_1
+     *            <li>IN_TOP_2
+     *            <li>HORIZONTAL_SLATS_ANGLE_1
+     *            <li>IN_TOP_BOTTOM_2
+     *            <li>HORIZONTAL_SLATS_ANGLE_2
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #WINDOW_COVERING_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getWindowCoveringGet(ByteBuffer buffer, String parameterId) {
         logger.debug("Creating command message WINDOW_COVERING_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WINDOW_COVERING_GET);
+        if (buffer.remaining() < WINDOW_COVERING_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Parameter ID'
-        boolean foundParameterId = false;
-        for (Integer entry : constantWindowCoveringGetParameterId.keySet()) {
-            if (constantWindowCoveringGetParameterId.get(entry).equals(parameterId)) {
-                outputData.write(entry);
-                foundParameterId = true;
-                break;
-            }
-        }
-        if (!foundParameterId) {
+        Integer varParameterId = reverseWindowCoveringGetParameterId.get(parameterId);
+        if (varParameterId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + parameterId + "' for parameterId");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WINDOW_COVERING_GET);
+        buffer.put(varParameterId.byteValue());
     }
 
     /**
@@ -489,17 +682,11 @@ public class CommandClassWindowCoveringV1 {
         outputData.write(WINDOW_COVERING_REPORT);
 
         // Process 'Parameter ID'
-        boolean foundParameterId = false;
-        for (Integer entry : constantWindowCoveringReportParameterId.keySet()) {
-            if (constantWindowCoveringReportParameterId.get(entry).equals(parameterId)) {
-                outputData.write(entry);
-                foundParameterId = true;
-                break;
-            }
-        }
-        if (!foundParameterId) {
+        Integer varParameterId = reverseWindowCoveringReportParameterId.get(parameterId);
+        if (varParameterId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + parameterId + "' for parameterId");
         }
+        outputData.write(varParameterId);
 
         // Process 'Current Value'
         outputData.write(currentValue);
@@ -587,21 +774,33 @@ public class CommandClassWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWindowCoveringSet(Integer parameterCount, Integer duration) {
-        logger.debug("Creating command message WINDOW_COVERING_SET version 1");
-
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WINDOW_COVERING_SET);
-
-        // Process 'Properties1'
-        outputData.write(parameterCount & 0x1F);
+        byte[] outputData = new byte[WINDOW_COVERING_SET_LENGTH];
+        getWindowCoveringSet(ByteBuffer.wrap(outputData), parameterCount, duration);
+        return outputData;
+    }
 
-        // Process 'vg1'
+    /**
+     * Writes a new message with the WINDOW_COVERING_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WINDOW_COVERING_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterCount {@link Integer}
+     * @param duration {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #WINDOW_COVERING_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getWindowCoveringSet(ByteBuffer buffer, Integer parameterCount, Integer duration) {
+        logger.debug("Creating command message WINDOW_COVERING_SET version 1");
 
-        // Process 'Duration'
-        outputData.write(duration);
+        if (buffer.remaining() < WINDOW_COVERING_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WINDOW_COVERING_SET);
+        buffer.put((byte) (parameterCount & 0x1F));
+        buffer.put(duration.byteValue());
     }
 
     /**
@@ -714,17 +913,11 @@ public class CommandClassWindowCoveringV1 {
         outputData.write(valProperties1);
 
         // Process 'Parameter ID'
-        boolean foundParameterId = false;
-        for (Integer entry : constantWindowCoveringStartLevelChangeParameterId.keySet()) {
-            if (constantWindowCoveringStartLevelChangeParameterId.get(entry).equals(parameterId)) {
-                outputData.write(entry);
-                foundParameterId = true;
-                break;
-            }
-        }
-        if (!foundParameterId) {
+        Integer varParameterId = reverseWindowCoveringStartLevelChangeParameterId.get(parameterId);
+        if (varParameterId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + parameterId + "' for parameterId");
         }
+        outputData.write(varParameterId);
 
         // Process 'Duration'
         outputData.write(duration);
@@ -832,26 +1025,66 @@ public class CommandClassWindowCoveringV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getWindowCoveringStopLevelChange(String parameterId) {
+        byte[] outputData = new byte[WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH];
+        getWindowCoveringStopLevelChange(ByteBuffer.wrap(outputData), parameterId);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the WINDOW_COVERING_STOP_LEVEL_CHANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param parameterId {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>OUT_LEFT_1
+     *            <li>OUT_LEFT_2
+     *            <li>OUT_RIGHT_1
+     *            <li>OUT_RIGHT_2
+     *            <li>IN_LEFT_1
+     *            <li>IN_LEFT_2
+     *            <li>IN_RIGHT_1
+     *            <li>IN_RIGHT_2
+     *            <li>IN_RIGHT_LEFT_1
+     *            <li>IN_RIGHT_LEFT_2
+     *            <li>VERTICAL_SLATS_ANGLE_1
+     *            <li>IN_TOP_1
+     *            <li>OUT_BOTTOM_1
+     *            <li>OUT_BOTTOM_2
+     *            <li>OUT_TOP_1
+     *            <li>OUT_TOP_2
+     *            <li>IN_BOTTOM_2
+     *            <li>IN_BOTTOM_1
+     *            <li>IN_TOP_BOTTOM_1
+     *            <li>IN_TOP_2
+     *            <li>HORIZONTAL_SLATS_ANGLE_1
+     *            <li>IN_TOP_BOTTOM_2
+     *            <li>HORIZONTAL_SLATS_ANGLE_2
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getWindowCoveringStopLevelChange(ByteBuffer buffer, String parameterId) {
         logger.debug("Creating command message WINDOW_COVERING_STOP_LEVEL_CHANGE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(WINDOW_COVERING_STOP_LEVEL_CHANGE);
+        if (buffer.remaining() < WINDOW_COVERING_STOP_LEVEL_CHANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Parameter ID'
-        boolean foundParameterId = false;
-        for (Integer entry : constantWindowCoveringStopLevelChangeParameterId.keySet()) {
-            if (constantWindowCoveringStopLevelChangeParameterId.get(entry).equals(parameterId)) {
-                outputData.write(entry);
-                foundParameterId = true;
-                break;
-            }
-        }
-        if (!foundParameterId) {
+        Integer varParameterId = reverseWindowCoveringStopLevelChangeParameterId.get(parameterId);
+        if (varParameterId == null) {
             throw new IllegalArgumentException("Unknown constant value '" + parameterId + "' for parameterId");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) WINDOW_COVERING_STOP_LEVEL_CHANGE);
+        buffer.put(varParameterId.byteValue());
     }
 
     /**
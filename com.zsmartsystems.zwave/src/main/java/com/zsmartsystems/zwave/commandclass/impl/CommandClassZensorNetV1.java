@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,14 +41,26 @@ public class CommandClassZensorNetV1 {
      * Bind Request Command Constant
      */
     public final static int BIND_REQUEST = 0x01;
+    /**
+     * Length of the encoded BIND_REQUEST command
+     */
+    public final static int BIND_REQUEST_LENGTH = 2;
     /**
      * Bind Accept Command Constant
      */
     public final static int BIND_ACCEPT = 0x02;
+    /**
+     * Length of the encoded BIND_ACCEPT command
+     */
+    public final static int BIND_ACCEPT_LENGTH = 2;
     /**
      * Bind Complete Command Constant
      */
     public final static int BIND_COMPLETE = 0x03;
+    /**
+     * Length of the encoded BIND_COMPLETE command
+     */
+    public final static int BIND_COMPLETE_LENGTH = 2;
 
 
     /**
@@ -58,13 +71,29 @@ public class CommandClassZensorNetV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBindRequest() {
+        byte[] outputData = new byte[BIND_REQUEST_LENGTH];
+        getBindRequest(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BIND_REQUEST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BIND_REQUEST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BIND_REQUEST_LENGTH} bytes remain in the buffer
+     */
+    static public void getBindRequest(ByteBuffer buffer) {
         logger.debug("Creating command message BIND_REQUEST version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BIND_REQUEST);
+        if (buffer.remaining() < BIND_REQUEST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BIND_REQUEST);
     }
 
     /**
@@ -91,13 +120,29 @@ public class CommandClassZensorNetV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBindAccept() {
+        byte[] outputData = new byte[BIND_ACCEPT_LENGTH];
+        getBindAccept(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BIND_ACCEPT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BIND_ACCEPT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BIND_ACCEPT_LENGTH} bytes remain in the buffer
+     */
+    static public void getBindAccept(ByteBuffer buffer) {
         logger.debug("Creating command message BIND_ACCEPT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BIND_ACCEPT);
+        if (buffer.remaining() < BIND_ACCEPT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BIND_ACCEPT);
     }
 
     /**
@@ -124,13 +169,29 @@ public class CommandClassZensorNetV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getBindComplete() {
+        byte[] outputData = new byte[BIND_COMPLETE_LENGTH];
+        getBindComplete(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the BIND_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #BIND_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #BIND_COMPLETE_LENGTH} bytes remain in the buffer
+     */
+    static public void getBindComplete(ByteBuffer buffer) {
         logger.debug("Creating command message BIND_COMPLETE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(BIND_COMPLETE);
+        if (buffer.remaining() < BIND_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) BIND_COMPLETE);
     }
 
     /**
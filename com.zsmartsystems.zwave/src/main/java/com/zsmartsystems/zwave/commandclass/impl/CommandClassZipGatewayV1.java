@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -42,14 +44,26 @@ public class CommandClassZipGatewayV1 {
      * Gateway Mode Set Command Constant
      */
     public final static int GATEWAY_MODE_SET = 0x01;
+    /**
+     * Length of the encoded GATEWAY_MODE_SET command
+     */
+    public final static int GATEWAY_MODE_SET_LENGTH = 3;
     /**
      * Gateway Mode Get Command Constant
      */
     public final static int GATEWAY_MODE_GET = 0x02;
+    /**
+     * Length of the encoded GATEWAY_MODE_GET command
+     */
+    public final static int GATEWAY_MODE_GET_LENGTH = 2;
     /**
      * Gateway Mode Report Command Constant
      */
     public final static int GATEWAY_MODE_REPORT = 0x03;
+    /**
+     * Length of the encoded GATEWAY_MODE_REPORT command
+     */
+    public final static int GATEWAY_MODE_REPORT_LENGTH = 3;
     /**
      * Gateway Peer Set Command Constant
      */
@@ -58,6 +72,10 @@ public class CommandClassZipGatewayV1 {
      * Gateway Peer Get Command Constant
      */
     public final static int GATEWAY_PEER_GET = 0x05;
+    /**
+     * Length of the encoded GATEWAY_PEER_GET command
+     */
+    public final static int GATEWAY_PEER_GET_LENGTH = 3;
     /**
      * Gateway Peer Report Command Constant
      */
@@ -74,6 +92,10 @@ public class CommandClassZipGatewayV1 {
      * Unsolicited Destination Get Command Constant
      */
     public final static int UNSOLICITED_DESTINATION_GET = 0x09;
+    /**
+     * Length of the encoded UNSOLICITED_DESTINATION_GET command
+     */
+    public final static int UNSOLICITED_DESTINATION_GET_LENGTH = 2;
     /**
      * Unsolicited Destination Report Command Constant
      */
@@ -86,6 +108,10 @@ public class CommandClassZipGatewayV1 {
      * Application Node Info Get Command Constant
      */
     public final static int COMMAND_APPLICATION_NODE_INFO_GET = 0x0C;
+    /**
+     * Length of the encoded COMMAND_APPLICATION_NODE_INFO_GET command
+     */
+    public final static int COMMAND_APPLICATION_NODE_INFO_GET_LENGTH = 2;
     /**
      * Application Node Info Report Command Constant
      */
@@ -101,6 +127,11 @@ public class CommandClassZipGatewayV1 {
      */
     private static Map<Integer, String> constantGatewayModeSetMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for GatewayModeSetMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseGatewayModeSetMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for CommandApplicationNodeInfoSetSecurityScheme0Mark
      */
@@ -111,6 +142,11 @@ public class CommandClassZipGatewayV1 {
      */
     private static Map<Integer, String> constantGatewayModeReportMode = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for GatewayModeReportMode, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseGatewayModeReportMode = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for CommandApplicationNodeInfoReportSecurityScheme0Mark
      */
@@ -136,6 +172,14 @@ public class CommandClassZipGatewayV1 {
         // Constants for CommandApplicationNodeInfoReportSecurityScheme0Mark
         constantCommandApplicationNodeInfoReportSecurityScheme0Mark.put(0x00, "SECURITY_SCHEME_0_MARK");
         constantCommandApplicationNodeInfoReportSecurityScheme0Mark.put(0xF1, "SECURITY_SCHEME_0_MARK");
+
+        // Reverse constants for GatewayModeSetMode
+        reverseGatewayModeSetMode.put("STAND_ALONE", 0x01);
+        reverseGatewayModeSetMode.put("PORTAL", 0x02);
+
+        // Reverse constants for GatewayModeReportMode
+        reverseGatewayModeReportMode.put("STAND_ALONE", 0x01);
+        reverseGatewayModeReportMode.put("PORTAL", 0x02);
     }
 
     /**
@@ -153,26 +197,43 @@ public class CommandClassZipGatewayV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGatewayModeSet(String mode) {
+        byte[] outputData = new byte[GATEWAY_MODE_SET_LENGTH];
+        getGatewayModeSet(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the GATEWAY_MODE_SET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GATEWAY_MODE_SET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>STAND_ALONE
+     *            <li>PORTAL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #GATEWAY_MODE_SET_LENGTH} bytes remain in the buffer
+     */
+    static public void getGatewayModeSet(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message GATEWAY_MODE_SET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GATEWAY_MODE_SET);
+        if (buffer.remaining() < GATEWAY_MODE_SET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantGatewayModeSetMode.keySet()) {
-            if (constantGatewayModeSetMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseGatewayModeSetMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GATEWAY_MODE_SET);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -214,13 +275,29 @@ public class CommandClassZipGatewayV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGatewayModeGet() {
+        byte[] outputData = new byte[GATEWAY_MODE_GET_LENGTH];
+        getGatewayModeGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the GATEWAY_MODE_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GATEWAY_MODE_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #GATEWAY_MODE_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getGatewayModeGet(ByteBuffer buffer) {
         logger.debug("Creating command message GATEWAY_MODE_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GATEWAY_MODE_GET);
+        if (buffer.remaining() < GATEWAY_MODE_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GATEWAY_MODE_GET);
     }
 
     /**
@@ -254,26 +331,43 @@ public class CommandClassZipGatewayV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGatewayModeReport(String mode) {
+        byte[] outputData = new byte[GATEWAY_MODE_REPORT_LENGTH];
+        getGatewayModeReport(ByteBuffer.wrap(outputData), mode);
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the GATEWAY_MODE_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GATEWAY_MODE_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param mode {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>STAND_ALONE
+     *            <li>PORTAL
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #GATEWAY_MODE_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getGatewayModeReport(ByteBuffer buffer, String mode) {
         logger.debug("Creating command message GATEWAY_MODE_REPORT version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GATEWAY_MODE_REPORT);
+        if (buffer.remaining() < GATEWAY_MODE_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Mode'
-        boolean foundMode = false;
-        for (Integer entry : constantGatewayModeReportMode.keySet()) {
-            if (constantGatewayModeReportMode.get(entry).equals(mode)) {
-                outputData.write(entry);
-                foundMode = true;
-                break;
-            }
-        }
-        if (!foundMode) {
+        Integer varMode = reverseGatewayModeReportMode.get(mode);
+        if (varMode == null) {
             throw new IllegalArgumentException("Unknown constant value '" + mode + "' for mode");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GATEWAY_MODE_REPORT);
+        buffer.put(varMode.byteValue());
     }
 
     /**
@@ -426,16 +520,31 @@ public class CommandClassZipGatewayV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGatewayPeerGet(Integer peerProfile) {
-        logger.debug("Creating command message GATEWAY_PEER_GET version 1");
+        byte[] outputData = new byte[GATEWAY_PEER_GET_LENGTH];
+        getGatewayPeerGet(ByteBuffer.wrap(outputData), peerProfile);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GATEWAY_PEER_GET);
+    /**
+     * Writes a new message with the GATEWAY_PEER_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GATEWAY_PEER_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param peerProfile {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #GATEWAY_PEER_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getGatewayPeerGet(ByteBuffer buffer, Integer peerProfile) {
+        logger.debug("Creating command message GATEWAY_PEER_GET version 1");
 
-        // Process 'Peer Profile'
-        outputData.write(peerProfile);
+        if (buffer.remaining() < GATEWAY_PEER_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GATEWAY_PEER_GET);
+        buffer.put(peerProfile.byteValue());
     }
 
     /**
@@ -712,13 +821,30 @@ public class CommandClassZipGatewayV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getUnsolicitedDestinationGet() {
+        byte[] outputData = new byte[UNSOLICITED_DESTINATION_GET_LENGTH];
+        getUnsolicitedDestinationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the UNSOLICITED_DESTINATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #UNSOLICITED_DESTINATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #UNSOLICITED_DESTINATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getUnsolicitedDestinationGet(ByteBuffer buffer) {
         logger.debug("Creating command message UNSOLICITED_DESTINATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(UNSOLICITED_DESTINATION_GET);
+        if (buffer.remaining() < UNSOLICITED_DESTINATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) UNSOLICITED_DESTINATION_GET);
     }
 
     /**
@@ -903,13 +1029,31 @@ public class CommandClassZipGatewayV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandApplicationNodeInfoGet() {
+        byte[] outputData = new byte[COMMAND_APPLICATION_NODE_INFO_GET_LENGTH];
+        getCommandApplicationNodeInfoGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the COMMAND_APPLICATION_NODE_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_APPLICATION_NODE_INFO_GET_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_APPLICATION_NODE_INFO_GET_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getCommandApplicationNodeInfoGet(ByteBuffer buffer) {
         logger.debug("Creating command message COMMAND_APPLICATION_NODE_INFO_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_APPLICATION_NODE_INFO_GET);
+        if (buffer.remaining() < COMMAND_APPLICATION_NODE_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_APPLICATION_NODE_INFO_GET);
     }
 
     /**
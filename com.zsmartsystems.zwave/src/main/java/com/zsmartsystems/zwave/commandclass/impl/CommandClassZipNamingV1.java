@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class CommandClassZipNamingV1 {
      * Z/IP Name Get Command Constant
      */
     public final static int ZIP_NAMING_NAME_GET = 0x02;
+    /**
+     * Length of the encoded ZIP_NAMING_NAME_GET command
+     */
+    public final static int ZIP_NAMING_NAME_GET_LENGTH = 2;
     /**
      * Z/IP Name Report Command Constant
      */
@@ -57,6 +63,10 @@ public class CommandClassZipNamingV1 {
      * Z/IP Location Get Command Constant
      */
     public final static int ZIP_NAMING_LOCATION_GET = 0x05;
+    /**
+     * Length of the encoded ZIP_NAMING_LOCATION_GET command
+     */
+    public final static int ZIP_NAMING_LOCATION_GET_LENGTH = 2;
     /**
      * Z/IP Location Report Command Constant
      */
@@ -130,13 +140,29 @@ public class CommandClassZipNamingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZipNamingNameGet() {
+        byte[] outputData = new byte[ZIP_NAMING_NAME_GET_LENGTH];
+        getZipNamingNameGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ZIP_NAMING_NAME_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZIP_NAMING_NAME_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ZIP_NAMING_NAME_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getZipNamingNameGet(ByteBuffer buffer) {
         logger.debug("Creating command message ZIP_NAMING_NAME_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZIP_NAMING_NAME_GET);
+        if (buffer.remaining() < ZIP_NAMING_NAME_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZIP_NAMING_NAME_GET);
     }
 
     /**
@@ -281,13 +307,29 @@ public class CommandClassZipNamingV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZipNamingLocationGet() {
+        byte[] outputData = new byte[ZIP_NAMING_LOCATION_GET_LENGTH];
+        getZipNamingLocationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ZIP_NAMING_LOCATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZIP_NAMING_LOCATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ZIP_NAMING_LOCATION_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getZipNamingLocationGet(ByteBuffer buffer) {
         logger.debug("Creating command message ZIP_NAMING_LOCATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZIP_NAMING_LOCATION_GET);
+        if (buffer.remaining() < ZIP_NAMING_LOCATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZIP_NAMING_LOCATION_GET);
     }
 
     /**
@@ -61,6 +61,11 @@ public class CommandClassZipNdV1 {
      */
     private static Map<Integer, String> constantZipNodeAdvertisementValidity = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ZipNodeAdvertisementValidity, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseZipNodeAdvertisementValidity = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ZipNodeAdvertisementProperties1
      */
@@ -77,6 +82,11 @@ public class CommandClassZipNdV1 {
 
         // Constants for ZipNodeAdvertisementProperties1
         constantZipNodeAdvertisementProperties1.put(0x04, "LOCAL");
+
+        // Reverse constants for ZipNodeAdvertisementValidity
+        reverseZipNodeAdvertisementValidity.put("INFORMATION_OK", 0x00);
+        reverseZipNodeAdvertisementValidity.put("INFORMATION_OBSOLETE", 0x01);
+        reverseZipNodeAdvertisementValidity.put("INFORMATION_NOT_FOUND", 0x02);
     }
 
     /**
@@ -108,14 +118,8 @@ public class CommandClassZipNdV1 {
 
         // Process 'Properties1'
         int valProperties1 = 0;
-        int varValidity = Integer.MAX_VALUE;
-        for (Integer entry : constantZipNodeAdvertisementValidity.keySet()) {
-            if (constantZipNodeAdvertisementValidity.get(entry).equals(validity)) {
-                varValidity = entry;
-                break;
-            }
-        }
-        if (varValidity == Integer.MAX_VALUE) {
+        Integer varValidity = reverseZipNodeAdvertisementValidity.get(validity);
+        if (varValidity == null) {
             throw new IllegalArgumentException("Unknown constant value '" + validity + "' for validity");
         }
         valProperties1 |= varValidity & 0x03;
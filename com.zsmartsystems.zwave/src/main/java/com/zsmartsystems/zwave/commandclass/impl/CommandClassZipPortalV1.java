@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.io.IOException;
 import java.lang.IllegalArgumentException;
 import java.util.HashMap;
@@ -46,10 +48,18 @@ public class CommandClassZipPortalV1 {
      * Gateway Configuration Status Command Constant
      */
     public final static int GATEWAY_CONFIGURATION_STATUS = 0x02;
+    /**
+     * Length of the encoded GATEWAY_CONFIGURATION_STATUS command
+     */
+    public final static int GATEWAY_CONFIGURATION_STATUS_LENGTH = 3;
     /**
      * Gateway Configuration Get Command Constant
      */
     public final static int GATEWAY_CONFIGURATION_GET = 0x03;
+    /**
+     * Length of the encoded GATEWAY_CONFIGURATION_GET command
+     */
+    public final static int GATEWAY_CONFIGURATION_GET_LENGTH = 2;
     /**
      * Gateway Configuration Report Command Constant
      */
@@ -205,16 +215,32 @@ public class CommandClassZipPortalV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGatewayConfigurationStatus(Integer status) {
-        logger.debug("Creating command message GATEWAY_CONFIGURATION_STATUS version 1");
+        byte[] outputData = new byte[GATEWAY_CONFIGURATION_STATUS_LENGTH];
+        getGatewayConfigurationStatus(ByteBuffer.wrap(outputData), status);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GATEWAY_CONFIGURATION_STATUS);
+    /**
+     * Writes a new message with the GATEWAY_CONFIGURATION_STATUS command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GATEWAY_CONFIGURATION_STATUS_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param status {@link Integer}
+     * @throws BufferOverflowException if fewer than {@link #GATEWAY_CONFIGURATION_STATUS_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getGatewayConfigurationStatus(ByteBuffer buffer, Integer status) {
+        logger.debug("Creating command message GATEWAY_CONFIGURATION_STATUS version 1");
 
-        // Process 'Status'
-        outputData.write(status);
+        if (buffer.remaining() < GATEWAY_CONFIGURATION_STATUS_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GATEWAY_CONFIGURATION_STATUS);
+        buffer.put(status.byteValue());
     }
 
     /**
@@ -250,13 +276,30 @@ public class CommandClassZipPortalV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGatewayConfigurationGet() {
+        byte[] outputData = new byte[GATEWAY_CONFIGURATION_GET_LENGTH];
+        getGatewayConfigurationGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the GATEWAY_CONFIGURATION_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GATEWAY_CONFIGURATION_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #GATEWAY_CONFIGURATION_GET_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getGatewayConfigurationGet(ByteBuffer buffer) {
         logger.debug("Creating command message GATEWAY_CONFIGURATION_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GATEWAY_CONFIGURATION_GET);
+        if (buffer.remaining() < GATEWAY_CONFIGURATION_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GATEWAY_CONFIGURATION_GET);
     }
 
     /**
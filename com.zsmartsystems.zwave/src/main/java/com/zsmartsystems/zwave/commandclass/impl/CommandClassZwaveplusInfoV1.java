@@ -8,7 +8,8 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,21 +41,39 @@ public class CommandClassZwaveplusInfoV1 {
      * Z-Wave+ Info Get Command Constant
      */
     public final static int ZWAVEPLUS_INFO_GET = 0x01;
+    /**
+     * Length of the encoded ZWAVEPLUS_INFO_GET command
+     */
+    public final static int ZWAVEPLUS_INFO_GET_LENGTH = 2;
     /**
      * Z-Wave+ Info Report Command Constant
      */
     public final static int ZWAVEPLUS_INFO_REPORT = 0x02;
+    /**
+     * Length of the encoded ZWAVEPLUS_INFO_REPORT command
+     */
+    public final static int ZWAVEPLUS_INFO_REPORT_LENGTH = 5;
 
     /**
      * Map holding constants for ZwaveplusInfoReportRoleType
      */
     private static Map<Integer, String> constantZwaveplusInfoReportRoleType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ZwaveplusInfoReportRoleType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseZwaveplusInfoReportRoleType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ZwaveplusInfoReportNodeType
      */
     private static Map<Integer, String> constantZwaveplusInfoReportNodeType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ZwaveplusInfoReportNodeType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseZwaveplusInfoReportNodeType = new HashMap<String, Integer>();
+
     static {
         // Constants for ZwaveplusInfoReportRoleType
         constantZwaveplusInfoReportRoleType.put(0x00, "ROLE_TYPE_CONTROLLER_CENTRAL_STATIC");
@@ -72,6 +91,23 @@ public class CommandClassZwaveplusInfoV1 {
         constantZwaveplusInfoReportNodeType.put(0x02, "NODE_TYPE_ZWAVEPLUS_FOR_IP_GATEWAY");
         constantZwaveplusInfoReportNodeType.put(0x03, "NODE_TYPE_ZWAVEPLUS_FOR_IP_CLIENT_IP_NODE");
         constantZwaveplusInfoReportNodeType.put(0x04, "NODE_TYPE_ZWAVEPLUS_FOR_IP_CLIENT_ZWAVE_NODE");
+
+        // Reverse constants for ZwaveplusInfoReportRoleType
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_CENTRAL_STATIC", 0x00);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_SUB_STATIC", 0x01);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_PORTABLE", 0x02);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_PORTABLE_REPORTING", 0x03);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_PORTABLE", 0x04);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_ALWAYS_ON", 0x05);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_SLEEPING_REPORTING", 0x06);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_SLEEPING_LISTENING", 0x07);
+
+        // Reverse constants for ZwaveplusInfoReportNodeType
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_NODE", 0x00);
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_FOR_IP_ROUTER", 0x01);
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_FOR_IP_GATEWAY", 0x02);
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_FOR_IP_CLIENT_IP_NODE", 0x03);
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_FOR_IP_CLIENT_ZWAVE_NODE", 0x04);
     }
 
     /**
@@ -82,13 +118,29 @@ public class CommandClassZwaveplusInfoV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZwaveplusInfoGet() {
+        byte[] outputData = new byte[ZWAVEPLUS_INFO_GET_LENGTH];
+        getZwaveplusInfoGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ZWAVEPLUS_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZWAVEPLUS_INFO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ZWAVEPLUS_INFO_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getZwaveplusInfoGet(ByteBuffer buffer) {
         logger.debug("Creating command message ZWAVEPLUS_INFO_GET version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZWAVEPLUS_INFO_GET);
+        if (buffer.remaining() < ZWAVEPLUS_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZWAVEPLUS_INFO_GET);
     }
 
     /**
@@ -139,42 +191,69 @@ public class CommandClassZwaveplusInfoV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZwaveplusInfoReport(Integer zWavePlusVersion, String roleType, String nodeType) {
-        logger.debug("Creating command message ZWAVEPLUS_INFO_REPORT version 1");
+        byte[] outputData = new byte[ZWAVEPLUS_INFO_REPORT_LENGTH];
+        getZwaveplusInfoReport(ByteBuffer.wrap(outputData), zWavePlusVersion, roleType, nodeType);
+        return outputData;
+    }
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZWAVEPLUS_INFO_REPORT);
+    /**
+     * Writes a new message with the ZWAVEPLUS_INFO_REPORT command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZWAVEPLUS_INFO_REPORT_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @param zWavePlusVersion {@link Integer}
+     * @param roleType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>ROLE_TYPE_CONTROLLER_CENTRAL_STATIC
+     *            <li>ROLE_TYPE_CONTROLLER_SUB_STATIC
+     *            <li>ROLE_TYPE_CONTROLLER_PORTABLE
+     *            <li>ROLE_TYPE_CONTROLLER_PORTABLE_REPORTING
+     *            <li>ROLE_TYPE_SLAVE_PORTABLE
+     *            <li>ROLE_TYPE_SLAVE_ALWAYS_ON
+     *            <li>ROLE_TYPE_SLAVE_SLEEPING_REPORTING
+     *            <li>ROLE_TYPE_SLAVE_SLEEPING_LISTENING
+     *            </ul>
+     * @param nodeType {@link String}
+     *            Can be one of the following -:
+     *            <p>
+     *            <ul>
+     *            <li>NODE_TYPE_ZWAVEPLUS_NODE
+     *            <li>NODE_TYPE_ZWAVEPLUS_FOR_IP_ROUTER
+     *            <li>NODE_TYPE_ZWAVEPLUS_FOR_IP_GATEWAY
+     *            <li>NODE_TYPE_ZWAVEPLUS_FOR_IP_CLIENT_IP_NODE
+     *            <li>NODE_TYPE_ZWAVEPLUS_FOR_IP_CLIENT_ZWAVE_NODE
+     *            </ul>
+     * @throws BufferOverflowException if fewer than {@link #ZWAVEPLUS_INFO_REPORT_LENGTH} bytes remain in the buffer
+     */
+    static public void getZwaveplusInfoReport(ByteBuffer buffer, Integer zWavePlusVersion, String roleType,
+            String nodeType) {
+        logger.debug("Creating command message ZWAVEPLUS_INFO_REPORT version 1");
 
-        // Process 'Z-Wave+ Version'
-        outputData.write(zWavePlusVersion);
+        if (buffer.remaining() < ZWAVEPLUS_INFO_REPORT_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
         // Process 'Role Type'
-        boolean foundRoleType = false;
-        for (Integer entry : constantZwaveplusInfoReportRoleType.keySet()) {
-            if (constantZwaveplusInfoReportRoleType.get(entry).equals(roleType)) {
-                outputData.write(entry);
-                foundRoleType = true;
-                break;
-            }
-        }
-        if (!foundRoleType) {
+        Integer varRoleType = reverseZwaveplusInfoReportRoleType.get(roleType);
+        if (varRoleType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + roleType + "' for roleType");
         }
 
         // Process 'Node Type'
-        boolean foundNodeType = false;
-        for (Integer entry : constantZwaveplusInfoReportNodeType.keySet()) {
-            if (constantZwaveplusInfoReportNodeType.get(entry).equals(nodeType)) {
-                outputData.write(entry);
-                foundNodeType = true;
-                break;
-            }
-        }
-        if (!foundNodeType) {
+        Integer varNodeType = reverseZwaveplusInfoReportNodeType.get(nodeType);
+        if (varNodeType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + nodeType + "' for nodeType");
         }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZWAVEPLUS_INFO_REPORT);
+        buffer.put(zWavePlusVersion.byteValue());
+        buffer.put(varRoleType.byteValue());
+        buffer.put(varNodeType.byteValue());
     }
 
     /**
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class CommandClassZwaveplusInfoV2 {
      * Z-Wave+ Info Get Command Constant
      */
     public final static int ZWAVEPLUS_INFO_GET = 0x01;
+    /**
+     * Length of the encoded ZWAVEPLUS_INFO_GET command
+     */
+    public final static int ZWAVEPLUS_INFO_GET_LENGTH = 2;
     /**
      * Z-Wave+ Info Report Command Constant
      */
@@ -50,11 +56,21 @@ public class CommandClassZwaveplusInfoV2 {
      */
     private static Map<Integer, String> constantZwaveplusInfoReportRoleType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ZwaveplusInfoReportRoleType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseZwaveplusInfoReportRoleType = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for ZwaveplusInfoReportNodeType
      */
     private static Map<Integer, String> constantZwaveplusInfoReportNodeType = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for ZwaveplusInfoReportNodeType, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseZwaveplusInfoReportNodeType = new HashMap<String, Integer>();
+
     static {
         // Constants for ZwaveplusInfoReportRoleType
         constantZwaveplusInfoReportRoleType.put(0x00, "ROLE_TYPE_CONTROLLER_CENTRAL_STATIC");
@@ -69,6 +85,20 @@ public class CommandClassZwaveplusInfoV2 {
         // Constants for ZwaveplusInfoReportNodeType
         constantZwaveplusInfoReportNodeType.put(0x00, "NODE_TYPE_ZWAVEPLUS_NODE");
         constantZwaveplusInfoReportNodeType.put(0x02, "NODE_TYPE_ZWAVEPLUS_FOR_IP_GATEWAY");
+
+        // Reverse constants for ZwaveplusInfoReportRoleType
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_CENTRAL_STATIC", 0x00);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_SUB_STATIC", 0x01);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_PORTABLE", 0x02);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_CONTROLLER_PORTABLE_REPORTING", 0x03);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_PORTABLE", 0x04);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_ALWAYS_ON", 0x05);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_SLEEPING_REPORTING", 0x06);
+        reverseZwaveplusInfoReportRoleType.put("ROLE_TYPE_SLAVE_SLEEPING_LISTENING", 0x07);
+
+        // Reverse constants for ZwaveplusInfoReportNodeType
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_NODE", 0x00);
+        reverseZwaveplusInfoReportNodeType.put("NODE_TYPE_ZWAVEPLUS_FOR_IP_GATEWAY", 0x02);
     }
 
     /**
@@ -79,13 +109,29 @@ public class CommandClassZwaveplusInfoV2 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZwaveplusInfoGet() {
+        byte[] outputData = new byte[ZWAVEPLUS_INFO_GET_LENGTH];
+        getZwaveplusInfoGet(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ZWAVEPLUS_INFO_GET command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZWAVEPLUS_INFO_GET_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ZWAVEPLUS_INFO_GET_LENGTH} bytes remain in the buffer
+     */
+    static public void getZwaveplusInfoGet(ByteBuffer buffer) {
         logger.debug("Creating command message ZWAVEPLUS_INFO_GET version 2");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZWAVEPLUS_INFO_GET);
+        if (buffer.remaining() < ZWAVEPLUS_INFO_GET_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZWAVEPLUS_INFO_GET);
     }
 
     /**
@@ -146,30 +192,18 @@ public class CommandClassZwaveplusInfoV2 {
         outputData.write(zWavePlusVersion);
 
         // Process 'Role Type'
-        boolean foundRoleType = false;
-        for (Integer entry : constantZwaveplusInfoReportRoleType.keySet()) {
-            if (constantZwaveplusInfoReportRoleType.get(entry).equals(roleType)) {
-                outputData.write(entry);
-                foundRoleType = true;
-                break;
-            }
-        }
-        if (!foundRoleType) {
+        Integer varRoleType = reverseZwaveplusInfoReportRoleType.get(roleType);
+        if (varRoleType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + roleType + "' for roleType");
         }
+        outputData.write(varRoleType);
 
         // Process 'Node Type'
-        boolean foundNodeType = false;
-        for (Integer entry : constantZwaveplusInfoReportNodeType.keySet()) {
-            if (constantZwaveplusInfoReportNodeType.get(entry).equals(nodeType)) {
-                outputData.write(entry);
-                foundNodeType = true;
-                break;
-            }
-        }
-        if (!foundNodeType) {
+        Integer varNodeType = reverseZwaveplusInfoReportNodeType.get(nodeType);
+        if (varNodeType == null) {
             throw new IllegalArgumentException("Unknown constant value '" + nodeType + "' for nodeType");
         }
+        outputData.write(varNodeType);
 
         // Process 'Installer Icon Type'
         outputData.write((installerIconType >> 8) & 0xff);
@@ -9,6 +9,8 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ public class ZwaveCmdClassV1 {
      * NOP Command Constant
      */
     public final static int ZWAVE_CMD_NOP = 0x00;
+    /**
+     * Length of the encoded ZWAVE_CMD_NOP command
+     */
+    public final static int ZWAVE_CMD_NOP_LENGTH = 2;
     /**
      * Node Info Command Constant
      * SDS10264-2
@@ -50,148 +56,277 @@ public class ZwaveCmdClassV1 {
      * SDS10264-2
      */
     public final static int REQUEST_NODE_INFO = 0x02;
+    /**
+     * Length of the encoded REQUEST_NODE_INFO command
+     */
+    public final static int REQUEST_NODE_INFO_LENGTH = 2;
     /**
      * Assign Id Command Constant
      * SDS10264-2
      */
     public final static int ASSIGN_ID = 0x03;
+    /**
+     * Length of the encoded ASSIGN_ID command
+     */
+    public final static int ASSIGN_ID_LENGTH = 2;
     /**
      * Find Nodes In Range Command Constant
      * SDS10264-2
      */
     public final static int FIND_NODES_IN_RANGE = 0x04;
+    /**
+     * Length of the encoded FIND_NODES_IN_RANGE command
+     */
+    public final static int FIND_NODES_IN_RANGE_LENGTH = 2;
     /**
      * Get Nodes In Range Command Constant
      * SDS10264-2
      */
     public final static int GET_NODES_IN_RANGE = 0x05;
+    /**
+     * Length of the encoded GET_NODES_IN_RANGE command
+     */
+    public final static int GET_NODES_IN_RANGE_LENGTH = 2;
     /**
      * Node Range Info Command Constant
      * SDS10264-2
      */
     public final static int NODE_RANGE_INFO = 0x06;
+    /**
+     * Length of the encoded NODE_RANGE_INFO command
+     */
+    public final static int NODE_RANGE_INFO_LENGTH = 2;
     /**
      * Command Complete Command Constant
      * SDS10264-2
      */
     public final static int COMMAND_COMPLETE = 0x07;
+    /**
+     * Length of the encoded COMMAND_COMPLETE command
+     */
+    public final static int COMMAND_COMPLETE_LENGTH = 2;
     /**
      * Transfer Presentation Command Constant
      * SDS10264-2
      */
     public final static int TRANSFER_PRESENTATION = 0x08;
+    /**
+     * Length of the encoded TRANSFER_PRESENTATION command
+     */
+    public final static int TRANSFER_PRESENTATION_LENGTH = 2;
     /**
      * Transfer Node Info Command Constant
      * SDS10264-2
      */
     public final static int TRANSFER_NODE_INFO = 0x09;
+    /**
+     * Length of the encoded TRANSFER_NODE_INFO command
+     */
+    public final static int TRANSFER_NODE_INFO_LENGTH = 2;
     /**
      * Transfer Range Info Command Constant
      * SDS10264-2
      */
     public final static int TRANSFER_RANGE_INFO = 0x0A;
+    /**
+     * Length of the encoded TRANSFER_RANGE_INFO command
+     */
+    public final static int TRANSFER_RANGE_INFO_LENGTH = 2;
     /**
      * Transfer End Command Constant
      * SDS10264-2
      */
     public final static int TRANSFER_END = 0x0B;
+    /**
+     * Length of the encoded TRANSFER_END command
+     */
+    public final static int TRANSFER_END_LENGTH = 2;
     /**
      * Assign Return Route Command Constant
      * SDS10264-2
      */
     public final static int ASSIGN_RETURN_ROUTE = 0x0C;
+    /**
+     * Length of the encoded ASSIGN_RETURN_ROUTE command
+     */
+    public final static int ASSIGN_RETURN_ROUTE_LENGTH = 2;
     /**
      * New Node Registered Command Constant
      * SDS10264-2
      */
     public final static int NEW_NODE_REGISTERED = 0x0D;
+    /**
+     * Length of the encoded NEW_NODE_REGISTERED command
+     */
+    public final static int NEW_NODE_REGISTERED_LENGTH = 2;
     /**
      * New Range Registered Command Constant
      * SDS10264-2
      */
     public final static int NEW_RANGE_REGISTERED = 0x0E;
+    /**
+     * Length of the encoded NEW_RANGE_REGISTERED command
+     */
+    public final static int NEW_RANGE_REGISTERED_LENGTH = 2;
     /**
      * Transfer New Primary Complete Command Constant
      * SDS10264-2
      */
     public final static int TRANSFER_NEW_PRIMARY_COMPLETE = 0x0F;
+    /**
+     * Length of the encoded TRANSFER_NEW_PRIMARY_COMPLETE command
+     */
+    public final static int TRANSFER_NEW_PRIMARY_COMPLETE_LENGTH = 2;
     /**
      * Automatic Controller Update Start Command Constant
      */
     public final static int CMD_AUTOMATIC_CONTROLLER_UPDATE_START = 0x10;
+    /**
+     * Length of the encoded CMD_AUTOMATIC_CONTROLLER_UPDATE_START command
+     */
+    public final static int CMD_AUTOMATIC_CONTROLLER_UPDATE_START_LENGTH = 2;
     /**
      * SUC Node ID Command Constant
      */
     public final static int CMD_SUC_NODE_ID = 0x11;
+    /**
+     * Length of the encoded CMD_SUC_NODE_ID command
+     */
+    public final static int CMD_SUC_NODE_ID_LENGTH = 2;
     /**
      * Set SUC Command Constant
      */
     public final static int CMD_SET_SUC = 0x12;
+    /**
+     * Length of the encoded CMD_SET_SUC command
+     */
+    public final static int CMD_SET_SUC_LENGTH = 2;
     /**
      * Set SUC ACK Command Constant
      */
     public final static int CMD_SET_SUC_ACK = 0x13;
+    /**
+     * Length of the encoded CMD_SET_SUC_ACK command
+     */
+    public final static int CMD_SET_SUC_ACK_LENGTH = 2;
     /**
      * Assign SUC Return Route Command Constant
      */
     public final static int CMD_ASSIGN_SUC_RETURN_ROUTE = 0x14;
+    /**
+     * Length of the encoded CMD_ASSIGN_SUC_RETURN_ROUTE command
+     */
+    public final static int CMD_ASSIGN_SUC_RETURN_ROUTE_LENGTH = 2;
     /**
      * Static Route Request Command Constant
      */
     public final static int CMD_STATIC_ROUTE_REQUEST = 0x15;
+    /**
+     * Length of the encoded CMD_STATIC_ROUTE_REQUEST command
+     */
+    public final static int CMD_STATIC_ROUTE_REQUEST_LENGTH = 2;
     /**
      * Lost Command Constant
      * SDS10264-2
      */
     public final static int LOST = 0x16;
+    /**
+     * Length of the encoded LOST command
+     */
+    public final static int LOST_LENGTH = 2;
     /**
      * Accept Lost Command Constant
      * SDS10264-2
      */
     public final static int ACCEPT_LOST = 0x17;
+    /**
+     * Length of the encoded ACCEPT_LOST command
+     */
+    public final static int ACCEPT_LOST_LENGTH = 2;
     /**
      * NOP Power Command Constant
      */
     public final static int CMD_NOP_POWER = 0x18;
+    /**
+     * Length of the encoded CMD_NOP_POWER command
+     */
+    public final static int CMD_NOP_POWER_LENGTH = 2;
     /**
      * Reserve Node ID Command Constant
      */
     public final static int ZWAVE_CMD_RESERVE_NODE_IDS = 0x19;
+    /**
+     * Length of the encoded ZWAVE_CMD_RESERVE_NODE_IDS command
+     */
+    public final static int ZWAVE_CMD_RESERVE_NODE_IDS_LENGTH = 2;
     /**
      * Reserved ID Command Constant
      */
     public final static int CMD_RESERVED_IDS = 0x1A;
+    /**
+     * Length of the encoded CMD_RESERVED_IDS command
+     */
+    public final static int CMD_RESERVED_IDS_LENGTH = 2;
     /**
      * Cmd Nodes Exist Command Constant
      */
     public final static int CMD_NODES_EXIST = 0x1F;
+    /**
+     * Length of the encoded CMD_NODES_EXIST command
+     */
+    public final static int CMD_NODES_EXIST_LENGTH = 2;
     /**
      * Cmd Nodes Exist Reply Command Constant
      */
     public final static int CMD_NODES_EXIST_REPLY = 0x20;
+    /**
+     * Length of the encoded CMD_NODES_EXIST_REPLY command
+     */
+    public final static int CMD_NODES_EXIST_REPLY_LENGTH = 2;
     /**
      * Cmd Set Nwi Mode Command Constant
      */
     public final static int CMD_SET_NWI_MODE = 0x22;
+    /**
+     * Length of the encoded CMD_SET_NWI_MODE command
+     */
+    public final static int CMD_SET_NWI_MODE_LENGTH = 2;
     /**
      * Exclude Request Command Constant
      * INS13044
      */
     public final static int EXCLUDE_REQUEST = 0x23;
+    /**
+     * Length of the encoded EXCLUDE_REQUEST command
+     */
+    public final static int EXCLUDE_REQUEST_LENGTH = 2;
     /**
      * Assign Return Route Priority Command Constant
      */
     public final static int ASSIGN_RETURN_ROUTE_PRIORITY = 0x24;
+    /**
+     * Length of the encoded ASSIGN_RETURN_ROUTE_PRIORITY command
+     */
+    public final static int ASSIGN_RETURN_ROUTE_PRIORITY_LENGTH = 2;
     /**
      * Assign SUC Return Route Priority Command Constant
      */
     public final static int ASSIGN_SUC_RETURN_ROUTE_PRIORITY = 0x25;
+    /**
+     * Length of the encoded ASSIGN_SUC_RETURN_ROUTE_PRIORITY command
+     */
+    public final static int ASSIGN_SUC_RETURN_ROUTE_PRIORITY_LENGTH = 2;
 
     /**
      * Map holding constants for NodeInfoMaxBaudRate
      */
     private static Map<Integer, String> constantNodeInfoMaxBaudRate = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeInfoMaxBaudRate, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeInfoMaxBaudRate = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeInfoCommandClasses
      */
@@ -217,11 +352,21 @@ public class ZwaveCmdClassV1 {
      */
     private static Map<Integer, String> constantNodeInfoProtocolVersion = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeInfoProtocolVersion, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeInfoProtocolVersion = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeInfoSpeedExtension
      */
     private static Map<Integer, String> constantNodeInfoSpeedExtension = new HashMap<Integer, String>();
 
+    /**
+     * Reverse map of the constants for NodeInfoSpeedExtension, used to encode a constant name
+     */
+    private static Map<String, Integer> reverseNodeInfoSpeedExtension = new HashMap<String, Integer>();
+
     /**
      * Map holding constants for NodeInfoGenericDeviceClass
      */
@@ -417,6 +562,19 @@ public class ZwaveCmdClassV1 {
         constantNodeInfoGenericDeviceClass.put(0x17, "GENERIC_TYPE_SECURITY_PANEL");
         constantNodeInfoGenericDeviceClass.put(0x16, "GENERIC_TYPE_VENTILATION");
         constantNodeInfoGenericDeviceClass.put(0x18, "GENERIC_TYPE_WALL_CONTROLLER");
+
+        // Reverse constants for NodeInfoMaxBaudRate
+        reverseNodeInfoMaxBaudRate.put("9_6_KBPS", 0x00);
+        reverseNodeInfoMaxBaudRate.put("40_KBPS", 0x01);
+
+        // Reverse constants for NodeInfoProtocolVersion
+        reverseNodeInfoProtocolVersion.put("Z_WAVE_VERSION_2_0", 0x00);
+        reverseNodeInfoProtocolVersion.put("Z_WAVE_VERSION_ZDK_5_0X_ZDK_4_2X", 0x01);
+        reverseNodeInfoProtocolVersion.put("Z_WAVE_VERSION_ZDK_4_5X_AND_ZDK_6_0X", 0x02);
+
+        // Reverse constants for NodeInfoSpeedExtension
+        reverseNodeInfoSpeedExtension.put("100_KBPS", 0x00);
+        reverseNodeInfoSpeedExtension.put("200_KBPS", 0x01);
     }
 
     /**
@@ -427,13 +585,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZwaveCmdNop() {
+        byte[] outputData = new byte[ZWAVE_CMD_NOP_LENGTH];
+        getZwaveCmdNop(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ZWAVE_CMD_NOP command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZWAVE_CMD_NOP_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ZWAVE_CMD_NOP_LENGTH} bytes remain in the buffer
+     */
+    static public void getZwaveCmdNop(ByteBuffer buffer) {
         logger.debug("Creating command message ZWAVE_CMD_NOP version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZWAVE_CMD_NOP);
+        if (buffer.remaining() < ZWAVE_CMD_NOP_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZWAVE_CMD_NOP);
     }
 
     /**
@@ -516,25 +690,13 @@ public class ZwaveCmdClassV1 {
 
         // Process 'Capability'
         int valCapability = 0;
-        int varProtocolVersion = Integer.MAX_VALUE;
-        for (Integer entry : constantNodeInfoProtocolVersion.keySet()) {
-            if (constantNodeInfoProtocolVersion.get(entry).equals(protocolVersion)) {
-                varProtocolVersion = entry;
-                break;
-            }
-        }
-        if (varProtocolVersion == Integer.MAX_VALUE) {
+        Integer varProtocolVersion = reverseNodeInfoProtocolVersion.get(protocolVersion);
+        if (varProtocolVersion == null) {
             throw new IllegalArgumentException("Unknown constant value '" + protocolVersion + "' for protocolVersion");
         }
         valCapability |= varProtocolVersion & 0x07;
-        int varMaxBaudRate = Integer.MAX_VALUE;
-        for (Integer entry : constantNodeInfoMaxBaudRate.keySet()) {
-            if (constantNodeInfoMaxBaudRate.get(entry).equals(maxBaudRate)) {
-                varMaxBaudRate = entry;
-                break;
-            }
-        }
-        if (varMaxBaudRate == Integer.MAX_VALUE) {
+        Integer varMaxBaudRate = reverseNodeInfoMaxBaudRate.get(maxBaudRate);
+        if (varMaxBaudRate == null) {
             throw new IllegalArgumentException("Unknown constant value '" + maxBaudRate + "' for maxBaudRate");
         }
         valCapability |= varMaxBaudRate << 3 & 0x38;
@@ -555,14 +717,8 @@ public class ZwaveCmdClassV1 {
         outputData.write(valSecurity);
 
         // Process 'Properties1'
-        int varSpeedExtension = Integer.MAX_VALUE;
-        for (Integer entry : constantNodeInfoSpeedExtension.keySet()) {
-            if (constantNodeInfoSpeedExtension.get(entry).equals(speedExtension)) {
-                varSpeedExtension = entry;
-                break;
-            }
-        }
-        if (varSpeedExtension == Integer.MAX_VALUE) {
+        Integer varSpeedExtension = reverseNodeInfoSpeedExtension.get(speedExtension);
+        if (varSpeedExtension == null) {
             throw new IllegalArgumentException("Unknown constant value '" + speedExtension + "' for speedExtension");
         }
         outputData.write(varSpeedExtension & 0x07);
@@ -686,13 +842,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getRequestNodeInfo() {
+        byte[] outputData = new byte[REQUEST_NODE_INFO_LENGTH];
+        getRequestNodeInfo(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the REQUEST_NODE_INFO command into the supplied buffer.
+     * <p>
+     * Exactly {@link #REQUEST_NODE_INFO_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #REQUEST_NODE_INFO_LENGTH} bytes remain in the buffer
+     */
+    static public void getRequestNodeInfo(ByteBuffer buffer) {
         logger.debug("Creating command message REQUEST_NODE_INFO version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(REQUEST_NODE_INFO);
+        if (buffer.remaining() < REQUEST_NODE_INFO_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) REQUEST_NODE_INFO);
     }
 
     /**
@@ -723,13 +895,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssignId() {
+        byte[] outputData = new byte[ASSIGN_ID_LENGTH];
+        getAssignId(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ASSIGN_ID command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSIGN_ID_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ASSIGN_ID_LENGTH} bytes remain in the buffer
+     */
+    static public void getAssignId(ByteBuffer buffer) {
         logger.debug("Creating command message ASSIGN_ID version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSIGN_ID);
+        if (buffer.remaining() < ASSIGN_ID_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSIGN_ID);
     }
 
     /**
@@ -760,13 +948,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getFindNodesInRange() {
+        byte[] outputData = new byte[FIND_NODES_IN_RANGE_LENGTH];
+        getFindNodesInRange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the FIND_NODES_IN_RANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #FIND_NODES_IN_RANGE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #FIND_NODES_IN_RANGE_LENGTH} bytes remain in the buffer
+     */
+    static public void getFindNodesInRange(ByteBuffer buffer) {
         logger.debug("Creating command message FIND_NODES_IN_RANGE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(FIND_NODES_IN_RANGE);
+        if (buffer.remaining() < FIND_NODES_IN_RANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) FIND_NODES_IN_RANGE);
     }
 
     /**
@@ -797,13 +1001,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getGetNodesInRange() {
+        byte[] outputData = new byte[GET_NODES_IN_RANGE_LENGTH];
+        getGetNodesInRange(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the GET_NODES_IN_RANGE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #GET_NODES_IN_RANGE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #GET_NODES_IN_RANGE_LENGTH} bytes remain in the buffer
+     */
+    static public void getGetNodesInRange(ByteBuffer buffer) {
         logger.debug("Creating command message GET_NODES_IN_RANGE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(GET_NODES_IN_RANGE);
+        if (buffer.remaining() < GET_NODES_IN_RANGE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) GET_NODES_IN_RANGE);
     }
 
     /**
@@ -834,13 +1054,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNodeRangeInfo() {
+        byte[] outputData = new byte[NODE_RANGE_INFO_LENGTH];
+        getNodeRangeInfo(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NODE_RANGE_INFO command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NODE_RANGE_INFO_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NODE_RANGE_INFO_LENGTH} bytes remain in the buffer
+     */
+    static public void getNodeRangeInfo(ByteBuffer buffer) {
         logger.debug("Creating command message NODE_RANGE_INFO version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NODE_RANGE_INFO);
+        if (buffer.remaining() < NODE_RANGE_INFO_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NODE_RANGE_INFO);
     }
 
     /**
@@ -871,13 +1107,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCommandComplete() {
+        byte[] outputData = new byte[COMMAND_COMPLETE_LENGTH];
+        getCommandComplete(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the COMMAND_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #COMMAND_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #COMMAND_COMPLETE_LENGTH} bytes remain in the buffer
+     */
+    static public void getCommandComplete(ByteBuffer buffer) {
         logger.debug("Creating command message COMMAND_COMPLETE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(COMMAND_COMPLETE);
+        if (buffer.remaining() < COMMAND_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) COMMAND_COMPLETE);
     }
 
     /**
@@ -908,13 +1160,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTransferPresentation() {
+        byte[] outputData = new byte[TRANSFER_PRESENTATION_LENGTH];
+        getTransferPresentation(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TRANSFER_PRESENTATION command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TRANSFER_PRESENTATION_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TRANSFER_PRESENTATION_LENGTH} bytes remain in the buffer
+     */
+    static public void getTransferPresentation(ByteBuffer buffer) {
         logger.debug("Creating command message TRANSFER_PRESENTATION version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TRANSFER_PRESENTATION);
+        if (buffer.remaining() < TRANSFER_PRESENTATION_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TRANSFER_PRESENTATION);
     }
 
     /**
@@ -945,13 +1213,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTransferNodeInfo() {
+        byte[] outputData = new byte[TRANSFER_NODE_INFO_LENGTH];
+        getTransferNodeInfo(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TRANSFER_NODE_INFO command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TRANSFER_NODE_INFO_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TRANSFER_NODE_INFO_LENGTH} bytes remain in the buffer
+     */
+    static public void getTransferNodeInfo(ByteBuffer buffer) {
         logger.debug("Creating command message TRANSFER_NODE_INFO version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TRANSFER_NODE_INFO);
+        if (buffer.remaining() < TRANSFER_NODE_INFO_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TRANSFER_NODE_INFO);
     }
 
     /**
@@ -982,13 +1266,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTransferRangeInfo() {
+        byte[] outputData = new byte[TRANSFER_RANGE_INFO_LENGTH];
+        getTransferRangeInfo(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TRANSFER_RANGE_INFO command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TRANSFER_RANGE_INFO_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TRANSFER_RANGE_INFO_LENGTH} bytes remain in the buffer
+     */
+    static public void getTransferRangeInfo(ByteBuffer buffer) {
         logger.debug("Creating command message TRANSFER_RANGE_INFO version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TRANSFER_RANGE_INFO);
+        if (buffer.remaining() < TRANSFER_RANGE_INFO_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TRANSFER_RANGE_INFO);
     }
 
     /**
@@ -1019,13 +1319,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTransferEnd() {
+        byte[] outputData = new byte[TRANSFER_END_LENGTH];
+        getTransferEnd(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TRANSFER_END command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TRANSFER_END_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TRANSFER_END_LENGTH} bytes remain in the buffer
+     */
+    static public void getTransferEnd(ByteBuffer buffer) {
         logger.debug("Creating command message TRANSFER_END version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TRANSFER_END);
+        if (buffer.remaining() < TRANSFER_END_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TRANSFER_END);
     }
 
     /**
@@ -1056,13 +1372,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssignReturnRoute() {
+        byte[] outputData = new byte[ASSIGN_RETURN_ROUTE_LENGTH];
+        getAssignReturnRoute(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ASSIGN_RETURN_ROUTE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSIGN_RETURN_ROUTE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ASSIGN_RETURN_ROUTE_LENGTH} bytes remain in the buffer
+     */
+    static public void getAssignReturnRoute(ByteBuffer buffer) {
         logger.debug("Creating command message ASSIGN_RETURN_ROUTE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSIGN_RETURN_ROUTE);
+        if (buffer.remaining() < ASSIGN_RETURN_ROUTE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSIGN_RETURN_ROUTE);
     }
 
     /**
@@ -1093,13 +1425,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNewNodeRegistered() {
+        byte[] outputData = new byte[NEW_NODE_REGISTERED_LENGTH];
+        getNewNodeRegistered(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NEW_NODE_REGISTERED command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NEW_NODE_REGISTERED_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NEW_NODE_REGISTERED_LENGTH} bytes remain in the buffer
+     */
+    static public void getNewNodeRegistered(ByteBuffer buffer) {
         logger.debug("Creating command message NEW_NODE_REGISTERED version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NEW_NODE_REGISTERED);
+        if (buffer.remaining() < NEW_NODE_REGISTERED_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NEW_NODE_REGISTERED);
     }
 
     /**
@@ -1130,13 +1478,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getNewRangeRegistered() {
+        byte[] outputData = new byte[NEW_RANGE_REGISTERED_LENGTH];
+        getNewRangeRegistered(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the NEW_RANGE_REGISTERED command into the supplied buffer.
+     * <p>
+     * Exactly {@link #NEW_RANGE_REGISTERED_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #NEW_RANGE_REGISTERED_LENGTH} bytes remain in the buffer
+     */
+    static public void getNewRangeRegistered(ByteBuffer buffer) {
         logger.debug("Creating command message NEW_RANGE_REGISTERED version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(NEW_RANGE_REGISTERED);
+        if (buffer.remaining() < NEW_RANGE_REGISTERED_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) NEW_RANGE_REGISTERED);
     }
 
     /**
@@ -1167,13 +1531,30 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getTransferNewPrimaryComplete() {
+        byte[] outputData = new byte[TRANSFER_NEW_PRIMARY_COMPLETE_LENGTH];
+        getTransferNewPrimaryComplete(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the TRANSFER_NEW_PRIMARY_COMPLETE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #TRANSFER_NEW_PRIMARY_COMPLETE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #TRANSFER_NEW_PRIMARY_COMPLETE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getTransferNewPrimaryComplete(ByteBuffer buffer) {
         logger.debug("Creating command message TRANSFER_NEW_PRIMARY_COMPLETE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(TRANSFER_NEW_PRIMARY_COMPLETE);
+        if (buffer.remaining() < TRANSFER_NEW_PRIMARY_COMPLETE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) TRANSFER_NEW_PRIMARY_COMPLETE);
     }
 
     /**
@@ -1202,13 +1583,31 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdAutomaticControllerUpdateStart() {
+        byte[] outputData = new byte[CMD_AUTOMATIC_CONTROLLER_UPDATE_START_LENGTH];
+        getCmdAutomaticControllerUpdateStart(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_AUTOMATIC_CONTROLLER_UPDATE_START command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_AUTOMATIC_CONTROLLER_UPDATE_START_LENGTH} bytes are written at the current position of the
+     * buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_AUTOMATIC_CONTROLLER_UPDATE_START_LENGTH} bytes remain
+     *            in the buffer
+     */
+    static public void getCmdAutomaticControllerUpdateStart(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_AUTOMATIC_CONTROLLER_UPDATE_START version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_AUTOMATIC_CONTROLLER_UPDATE_START);
+        if (buffer.remaining() < CMD_AUTOMATIC_CONTROLLER_UPDATE_START_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_AUTOMATIC_CONTROLLER_UPDATE_START);
     }
 
     /**
@@ -1235,13 +1634,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdSucNodeId() {
+        byte[] outputData = new byte[CMD_SUC_NODE_ID_LENGTH];
+        getCmdSucNodeId(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_SUC_NODE_ID command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_SUC_NODE_ID_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_SUC_NODE_ID_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdSucNodeId(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_SUC_NODE_ID version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_SUC_NODE_ID);
+        if (buffer.remaining() < CMD_SUC_NODE_ID_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_SUC_NODE_ID);
     }
 
     /**
@@ -1268,13 +1683,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdSetSuc() {
+        byte[] outputData = new byte[CMD_SET_SUC_LENGTH];
+        getCmdSetSuc(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_SET_SUC command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_SET_SUC_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_SET_SUC_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdSetSuc(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_SET_SUC version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_SET_SUC);
+        if (buffer.remaining() < CMD_SET_SUC_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_SET_SUC);
     }
 
     /**
@@ -1301,13 +1732,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdSetSucAck() {
+        byte[] outputData = new byte[CMD_SET_SUC_ACK_LENGTH];
+        getCmdSetSucAck(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_SET_SUC_ACK command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_SET_SUC_ACK_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_SET_SUC_ACK_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdSetSucAck(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_SET_SUC_ACK version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_SET_SUC_ACK);
+        if (buffer.remaining() < CMD_SET_SUC_ACK_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_SET_SUC_ACK);
     }
 
     /**
@@ -1334,13 +1781,30 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdAssignSucReturnRoute() {
+        byte[] outputData = new byte[CMD_ASSIGN_SUC_RETURN_ROUTE_LENGTH];
+        getCmdAssignSucReturnRoute(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_ASSIGN_SUC_RETURN_ROUTE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_ASSIGN_SUC_RETURN_ROUTE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_ASSIGN_SUC_RETURN_ROUTE_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getCmdAssignSucReturnRoute(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_ASSIGN_SUC_RETURN_ROUTE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_ASSIGN_SUC_RETURN_ROUTE);
+        if (buffer.remaining() < CMD_ASSIGN_SUC_RETURN_ROUTE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_ASSIGN_SUC_RETURN_ROUTE);
     }
 
     /**
@@ -1367,13 +1831,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdStaticRouteRequest() {
+        byte[] outputData = new byte[CMD_STATIC_ROUTE_REQUEST_LENGTH];
+        getCmdStaticRouteRequest(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_STATIC_ROUTE_REQUEST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_STATIC_ROUTE_REQUEST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_STATIC_ROUTE_REQUEST_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdStaticRouteRequest(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_STATIC_ROUTE_REQUEST version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_STATIC_ROUTE_REQUEST);
+        if (buffer.remaining() < CMD_STATIC_ROUTE_REQUEST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_STATIC_ROUTE_REQUEST);
     }
 
     /**
@@ -1402,13 +1882,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getLost() {
+        byte[] outputData = new byte[LOST_LENGTH];
+        getLost(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the LOST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #LOST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #LOST_LENGTH} bytes remain in the buffer
+     */
+    static public void getLost(ByteBuffer buffer) {
         logger.debug("Creating command message LOST version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(LOST);
+        if (buffer.remaining() < LOST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) LOST);
     }
 
     /**
@@ -1439,13 +1935,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAcceptLost() {
+        byte[] outputData = new byte[ACCEPT_LOST_LENGTH];
+        getAcceptLost(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ACCEPT_LOST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ACCEPT_LOST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ACCEPT_LOST_LENGTH} bytes remain in the buffer
+     */
+    static public void getAcceptLost(ByteBuffer buffer) {
         logger.debug("Creating command message ACCEPT_LOST version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ACCEPT_LOST);
+        if (buffer.remaining() < ACCEPT_LOST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ACCEPT_LOST);
     }
 
     /**
@@ -1474,13 +1986,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdNopPower() {
+        byte[] outputData = new byte[CMD_NOP_POWER_LENGTH];
+        getCmdNopPower(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_NOP_POWER command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_NOP_POWER_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_NOP_POWER_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdNopPower(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_NOP_POWER version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_NOP_POWER);
+        if (buffer.remaining() < CMD_NOP_POWER_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_NOP_POWER);
     }
 
     /**
@@ -1507,13 +2035,30 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getZwaveCmdReserveNodeIds() {
+        byte[] outputData = new byte[ZWAVE_CMD_RESERVE_NODE_IDS_LENGTH];
+        getZwaveCmdReserveNodeIds(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ZWAVE_CMD_RESERVE_NODE_IDS command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ZWAVE_CMD_RESERVE_NODE_IDS_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ZWAVE_CMD_RESERVE_NODE_IDS_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getZwaveCmdReserveNodeIds(ByteBuffer buffer) {
         logger.debug("Creating command message ZWAVE_CMD_RESERVE_NODE_IDS version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ZWAVE_CMD_RESERVE_NODE_IDS);
+        if (buffer.remaining() < ZWAVE_CMD_RESERVE_NODE_IDS_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ZWAVE_CMD_RESERVE_NODE_IDS);
     }
 
     /**
@@ -1540,13 +2085,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdReservedIds() {
+        byte[] outputData = new byte[CMD_RESERVED_IDS_LENGTH];
+        getCmdReservedIds(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_RESERVED_IDS command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_RESERVED_IDS_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_RESERVED_IDS_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdReservedIds(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_RESERVED_IDS version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_RESERVED_IDS);
+        if (buffer.remaining() < CMD_RESERVED_IDS_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_RESERVED_IDS);
     }
 
     /**
@@ -1573,13 +2134,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdNodesExist() {
+        byte[] outputData = new byte[CMD_NODES_EXIST_LENGTH];
+        getCmdNodesExist(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_NODES_EXIST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_NODES_EXIST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_NODES_EXIST_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdNodesExist(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_NODES_EXIST version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_NODES_EXIST);
+        if (buffer.remaining() < CMD_NODES_EXIST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_NODES_EXIST);
     }
 
     /**
@@ -1606,13 +2183,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdNodesExistReply() {
+        byte[] outputData = new byte[CMD_NODES_EXIST_REPLY_LENGTH];
+        getCmdNodesExistReply(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_NODES_EXIST_REPLY command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_NODES_EXIST_REPLY_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_NODES_EXIST_REPLY_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdNodesExistReply(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_NODES_EXIST_REPLY version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_NODES_EXIST_REPLY);
+        if (buffer.remaining() < CMD_NODES_EXIST_REPLY_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_NODES_EXIST_REPLY);
     }
 
     /**
@@ -1639,13 +2232,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getCmdSetNwiMode() {
+        byte[] outputData = new byte[CMD_SET_NWI_MODE_LENGTH];
+        getCmdSetNwiMode(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the CMD_SET_NWI_MODE command into the supplied buffer.
+     * <p>
+     * Exactly {@link #CMD_SET_NWI_MODE_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #CMD_SET_NWI_MODE_LENGTH} bytes remain in the buffer
+     */
+    static public void getCmdSetNwiMode(ByteBuffer buffer) {
         logger.debug("Creating command message CMD_SET_NWI_MODE version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(CMD_SET_NWI_MODE);
+        if (buffer.remaining() < CMD_SET_NWI_MODE_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) CMD_SET_NWI_MODE);
     }
 
     /**
@@ -1674,13 +2283,29 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getExcludeRequest() {
+        byte[] outputData = new byte[EXCLUDE_REQUEST_LENGTH];
+        getExcludeRequest(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the EXCLUDE_REQUEST command into the supplied buffer.
+     * <p>
+     * Exactly {@link #EXCLUDE_REQUEST_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #EXCLUDE_REQUEST_LENGTH} bytes remain in the buffer
+     */
+    static public void getExcludeRequest(ByteBuffer buffer) {
         logger.debug("Creating command message EXCLUDE_REQUEST version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(EXCLUDE_REQUEST);
+        if (buffer.remaining() < EXCLUDE_REQUEST_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) EXCLUDE_REQUEST);
     }
 
     /**
@@ -1709,13 +2334,30 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssignReturnRoutePriority() {
+        byte[] outputData = new byte[ASSIGN_RETURN_ROUTE_PRIORITY_LENGTH];
+        getAssignReturnRoutePriority(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ASSIGN_RETURN_ROUTE_PRIORITY command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSIGN_RETURN_ROUTE_PRIORITY_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ASSIGN_RETURN_ROUTE_PRIORITY_LENGTH} bytes remain in the
+     *            buffer
+     */
+    static public void getAssignReturnRoutePriority(ByteBuffer buffer) {
         logger.debug("Creating command message ASSIGN_RETURN_ROUTE_PRIORITY version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSIGN_RETURN_ROUTE_PRIORITY);
+        if (buffer.remaining() < ASSIGN_RETURN_ROUTE_PRIORITY_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSIGN_RETURN_ROUTE_PRIORITY);
     }
 
     /**
@@ -1742,13 +2384,30 @@ public class ZwaveCmdClassV1 {
      * @return the {@link byte[]} array with the command to send
      */
     static public byte[] getAssignSucReturnRoutePriority() {
+        byte[] outputData = new byte[ASSIGN_SUC_RETURN_ROUTE_PRIORITY_LENGTH];
+        getAssignSucReturnRoutePriority(ByteBuffer.wrap(outputData));
+        return outputData;
+    }
+
+    /**
+     * Writes a new message with the ASSIGN_SUC_RETURN_ROUTE_PRIORITY command into the supplied buffer.
+     * <p>
+     * Exactly {@link #ASSIGN_SUC_RETURN_ROUTE_PRIORITY_LENGTH} bytes are written at the current position of the buffer.
+     * Arguments are checked before anything is written, so the buffer is left untouched if an exception is thrown.
+     *
+     * @param buffer the {@link ByteBuffer} to write the command into
+     * @throws BufferOverflowException if fewer than {@link #ASSIGN_SUC_RETURN_ROUTE_PRIORITY_LENGTH} bytes remain in
+     *            the buffer
+     */
+    static public void getAssignSucReturnRoutePriority(ByteBuffer buffer) {
         logger.debug("Creating command message ASSIGN_SUC_RETURN_ROUTE_PRIORITY version 1");
 
-        ByteArrayOutputStream outputData = new ByteArrayOutputStream();
-        outputData.write(COMMAND_CLASS_KEY);
-        outputData.write(ASSIGN_SUC_RETURN_ROUTE_PRIORITY);
+        if (buffer.remaining() < ASSIGN_SUC_RETURN_ROUTE_PRIORITY_LENGTH) {
+            throw new BufferOverflowException();
+        }
 
-        return outputData.toByteArray();
+        buffer.put((byte) COMMAND_CLASS_KEY);
+        buffer.put((byte) ASSIGN_SUC_RETURN_ROUTE_PRIORITY);
     }
 
     /**
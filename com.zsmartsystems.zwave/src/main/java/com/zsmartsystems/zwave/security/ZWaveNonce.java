@@ -1,7 +1,5 @@
 package com.zsmartsystems.zwave.security;
 
-import java.security.GeneralSecurityException;
-import java.security.SecureRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -12,32 +10,20 @@ import java.util.concurrent.TimeUnit;
  *
  */
 public class ZWaveNonce {
-    private final long RESEED_INTERVAL = TimeUnit.HOURS.toMillis(6);
-    private final long timeout = 12000000000L;
+    /**
+     * The time in milliseconds for which a nonce is valid
+     */
+    public static final long TIMEOUT = 12000;
+
+    private final long timeout = TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
     private byte[] nonceBytes;
     private long timer;
 
-    private static SecureRandom secureRandom = null;
-    private static long reseedAt = 0;
-
+    /**
+     * Creates a new random nonce. The random bytes are taken from a pool that is filled in the background.
+     */
     public ZWaveNonce() {
-        if (System.currentTimeMillis() > reseedAt) {
-            try {
-                secureRandom = SecureRandom.getInstance("SHA1PRNG", "SUN");
-            } catch (GeneralSecurityException e) {
-                secureRandom = new SecureRandom();
-            }
-
-            secureRandom.nextBoolean();
-            secureRandom.setSeed(System.nanoTime());
-
-            reseedAt = System.currentTimeMillis() + RESEED_INTERVAL;
-        }
-        nonceBytes = new byte[8];
-        secureRandom.nextBytes(nonceBytes);
-
-        // Start the timer
-        this.timer = System.nanoTime();
+        this(ZWaveNonceGenerator.getInstance().getNonceBytes());
     }
 
     public ZWaveNonce(byte[] nonceBytes) {
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the random bytes used for nonces. A background thread keeps a pool of nonces filled so that a nonce can be
+ * handed out without waiting for the random number generator - a node that sends a NONCE_GET only waits a short time
+ * for the report. If the pool is empty, a nonce is generated directly.
+ * <p>
+ * All access to the {@link SecureRandom}, including reseeding, is synchronized.
+ *
+ * @author Jordan Hayes
+ */
+class ZWaveNonceGenerator {
+    private static final int POOL_SIZE = 32;
+    private static final int NONCE_SIZE = 8;
+    private static final long RESEED_INTERVAL = TimeUnit.HOURS.toMillis(6);
+
+    private static final ZWaveNonceGenerator instance = new ZWaveNonceGenerator();
+
+    private final BlockingQueue<byte[]> pool = new ArrayBlockingQueue<byte[]>(POOL_SIZE);
+    private final Thread generatorThread;
+
+    private SecureRandom secureRandom = null;
+    private long reseedAt = 0;
+    private boolean started = false;
+
+    private ZWaveNonceGenerator() {
+        generatorThread = new Thread("ZWaveNonceGenerator") {
+            @Override
+            public void run() {
+                while (true) {
+                    try {
+                        pool.put(generate());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        };
+        generatorThread.setDaemon(true);
+    }
+
+    /**
+     * Gets the shared generator
+     *
+     * @return the {@link ZWaveNonceGenerator}
+     */
+    static ZWaveNonceGenerator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the bytes for a new nonce. The pool is filled when this is first called.
+     *
+     * @return 8 random bytes
+     */
+    byte[] getNonceBytes() {
+        start();
+
+        byte[] nonceBytes = pool.poll();
+        if (nonceBytes == null) {
+            nonceBytes = generate();
+        }
+        return nonceBytes;
+    }
+
+    private synchronized void start() {
+        if (!started) {
+            started = true;
+            generatorThread.start();
+        }
+    }
+
+    private synchronized byte[] generate() {
+        if (System.currentTimeMillis() > reseedAt) {
+            try {
+                secureRandom = SecureRandom.getInstance("SHA1PRNG", "SUN");
+            } catch (GeneralSecurityException e) {
+                secureRandom = new SecureRandom();
+            }
+
+            secureRandom.nextBoolean();
+            secureRandom.setSeed(System.nanoTime());
+
+            reseedAt = System.currentTimeMillis() + RESEED_INTERVAL;
+        }
+
+        byte[] nonceBytes = new byte[NONCE_SIZE];
+        secureRandom.nextBytes(nonceBytes);
+        return nonceBytes;
+    }
+}
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import com.zsmartsystems.zwave.timer.ZWaveTimer;
+import com.zsmartsystems.zwave.timer.ZWaveTimeout;
+
+/**
+ * Manages the nonces exchanged with a single node for security scheme 0.
+ * <p>
+ * Nonces we issue to the node are held in a table indexed by the nonce identifier (the first byte of the nonce), so the
+ * nonce used for a received message is found directly from the identifier in the message. Each issued nonce is removed
+ * from the table when it expires, using the network {@link ZWaveTimer}. A nonce identifier is not reused while an
+ * earlier nonce with the same identifier is still outstanding.
+ * <p>
+ * Nonces received from the node are cached until they are used or expire, so that a message can be encapsulated
+ * straight away if a valid nonce is already held, without first requesting a new one. A node invalidates its earlier
+ * nonces when it issues a new one, so only the newest is used.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNonceManager {
+    /**
+     * The maximum number of nonces received from the node that are held. Older nonces are discarded.
+     */
+    private static final int MAX_RECEIVED_NONCES = 8;
+
+    private static final int NONCE_IDS = 256;
+
+    private final ZWaveTimer timer;
+
+    private final ZWaveNonce[] issuedNonces = new ZWaveNonce[NONCE_IDS];
+    private final ZWaveTimeout[] issuedTimeouts = new ZWaveTimeout[NONCE_IDS];
+
+    private final Deque<ZWaveNonce> receivedNonces = new ArrayDeque<ZWaveNonce>();
+
+    /**
+     * Creates a nonce manager
+     *
+     * @param timer the {@link ZWaveTimer} used to expire issued nonces. If this is null, nonces are only expired when
+     *            they are next looked up.
+     */
+    public ZWaveNonceManager(ZWaveTimer timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Creates a new nonce to issue to the node, and adds it to the table of issued nonces
+     *
+     * @return the new {@link ZWaveNonce}
+     */
+    public synchronized ZWaveNonce issueNonce() {
+        ZWaveNonce nonce = new ZWaveNonce();
+
+        // Avoid reusing an identifier that is still outstanding. If every identifier is in use, the existing nonce is
+        // replaced.
+        for (int attempt = 0; attempt < NONCE_IDS && getIssuedNonce(nonce.getId() & 0xff) != null; attempt++) {
+            nonce = new ZWaveNonce();
+        }
+
+        final int nonceId = nonce.getId() & 0xff;
+        removeIssuedNonce(nonceId);
+        issuedNonces[nonceId] = nonce;
+
+        if (timer != null) {
+            final ZWaveNonce issuedNonce = nonce;
+            issuedTimeouts[nonceId] = timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    expireIssuedNonce(nonceId, issuedNonce);
+                }
+            }, ZWaveNonce.TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+
+        return nonce;
+    }
+
+    /**
+     * Gets a nonce we issued to the node
+     *
+     * @param nonceId the identifier of the nonce
+     * @return the {@link ZWaveNonce}, or null if there is no valid nonce with this identifier
+     */
+    public synchronized ZWaveNonce getIssuedNonce(int nonceId) {
+        ZWaveNonce nonce = issuedNonces[nonceId & 0xff];
+        if (nonce == null) {
+            return null;
+        }
+        if (!nonce.isValid()) {
+            removeIssuedNonce(nonceId & 0xff);
+            return null;
+        }
+        return nonce;
+    }
+
+    /**
+     * Removes a nonce we issued to the node once it has been used
+     *
+     * @param nonceId the identifier of the nonce
+     */
+    public synchronized void useIssuedNonce(int nonceId) {
+        removeIssuedNonce(nonceId & 0xff);
+    }
+
+    /**
+     * Adds a nonce received from the node
+     *
+     * @param nonce the received {@link ZWaveNonce}
+     */
+    public synchronized void addReceivedNonce(ZWaveNonce nonce) {
+        if (receivedNonces.size() == MAX_RECEIVED_NONCES) {
+            receivedNonces.pollFirst();
+        }
+        receivedNonces.addLast(nonce);
+    }
+
+    /**
+     * Checks if a valid nonce received from the node is available
+     *
+     * @return true if {@link #pollReceivedNonce()} will return a nonce
+     */
+    public synchronized boolean isReceivedNonceAvailable() {
+        removeExpiredReceivedNonces();
+        return !receivedNonces.isEmpty();
+    }
+
+    /**
+     * Takes the newest valid nonce received from the node. The nonce is removed as it may only be used once, and any
+     * older nonces are discarded as the node no longer accepts them.
+     *
+     * @return the {@link ZWaveNonce}, or null if there is no valid nonce
+     */
+    public synchronized ZWaveNonce pollReceivedNonce() {
+        removeExpiredReceivedNonces();
+        ZWaveNonce nonce = receivedNonces.pollLast();
+        receivedNonces.clear();
+        return nonce;
+    }
+
+    /**
+     * Removes all issued and received nonces
+     */
+    public synchronized void clear() {
+        for (int nonceId = 0; nonceId < NONCE_IDS; nonceId++) {
+            removeIssuedNonce(nonceId);
+        }
+        receivedNonces.clear();
+    }
+
+    private synchronized void expireIssuedNonce(int nonceId, ZWaveNonce nonce) {
+        // The nonce may already have been used and the identifier reissued
+        if (issuedNonces[nonceId] == nonce) {
+            issuedNonces[nonceId] = null;
+            issuedTimeouts[nonceId] = null;
+        }
+    }
+
+    private void removeIssuedNonce(int nonceId) {
+        issuedNonces[nonceId] = null;
+        if (issuedTimeouts[nonceId] != null) {
+            issuedTimeouts[nonceId].cancel();
+            issuedTimeouts[nonceId] = null;
+        }
+    }
+
+    private void removeExpiredReceivedNonces() {
+        while (!receivedNonces.isEmpty() && !receivedNonces.peekFirst().isValid()) {
+            receivedNonces.pollFirst();
+        }
+    }
+}
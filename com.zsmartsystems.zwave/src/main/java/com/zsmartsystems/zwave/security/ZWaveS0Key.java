@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security;
+
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The keys used for security scheme 0 (S0) encapsulation, derived from a network key.
+ * <p>
+ * S0 encrypts with AES in OFB mode and authenticates with a CBC-MAC, and both of these only ever use the forward AES
+ * block function. This class therefore initialises one AES/ECB cipher for each of the derived keys when it is created,
+ * and runs OFB and CBC-MAC itself on top of them. The key schedule is expanded once per key rather than once per frame,
+ * no cipher is looked up from the provider per frame, and data is processed in place without intermediate copies.
+ * <p>
+ * Methods are synchronized on the instance as the ciphers and working blocks are shared. Separate instances should be
+ * used for transmit and receive so that the two directions don't contend.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS0Key {
+    private static final String AES = "AES";
+    private static final String AES_ECB = "AES/ECB/NoPadding";
+    private static final int BLOCK_SIZE = 16;
+
+    private static final byte[] DERIVE_ENCRYPT_KEY = { (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA,
+            (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA, (byte) 0xAA,
+            (byte) 0xAA, (byte) 0xAA, (byte) 0xAA };
+    private static final byte[] DERIVE_AUTH_KEY = { 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55, 0x55,
+            0x55, 0x55, 0x55, 0x55, 0x55 };
+
+    private final Cipher encryptionCipher;
+    private final Cipher authenticationCipher;
+
+    // Working blocks - the cipher output is always written to a different block to its input
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private final byte[] nextBlock = new byte[BLOCK_SIZE];
+
+    /**
+     * Derives the encryption and authentication keys from a network key
+     *
+     * @param networkKey the 16 byte network key
+     * @throws GeneralSecurityException if AES is not available or the key is invalid
+     */
+    public ZWaveS0Key(byte[] networkKey) throws GeneralSecurityException {
+        Cipher cipher = getCipher(networkKey);
+        encryptionCipher = getCipher(cipher.doFinal(DERIVE_ENCRYPT_KEY));
+        authenticationCipher = getCipher(cipher.doFinal(DERIVE_AUTH_KEY));
+    }
+
+    /**
+     * Encrypts or decrypts data in place using AES-OFB with the encryption key. OFB is symmetric, so the same
+     * operation is used in both directions.
+     *
+     * @param iv the 16 byte initialisation vector
+     * @param data the buffer holding the data
+     * @param offset the offset of the data in the buffer
+     * @param length the length of the data
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    public synchronized void crypt(byte[] iv, byte[] data, int offset, int length) throws GeneralSecurityException {
+        byte[] keyStream = block;
+        byte[] next = nextBlock;
+        System.arraycopy(iv, 0, keyStream, 0, BLOCK_SIZE);
+
+        for (int position = 0; position < length; position++) {
+            int index = position % BLOCK_SIZE;
+            if (index == 0) {
+                encryptionCipher.update(keyStream, 0, BLOCK_SIZE, next, 0);
+                byte[] swap = keyStream;
+                keyStream = next;
+                next = swap;
+            }
+            data[offset + position] ^= keyStream[index];
+        }
+    }
+
+    /**
+     * Generates the S0 message authentication code with the authentication key. The MAC is the first 8 bytes of the
+     * AES CBC-MAC, with the IV encrypted as the first block, over a 4 byte header followed by the encrypted data,
+     * padded with zeros to a block boundary.
+     *
+     * @param iv the 16 byte initialisation vector
+     * @param command the security command byte
+     * @param sendingNode the id of the node sending the message
+     * @param receivingNode the id of the node receiving the message
+     * @param data the buffer holding the encrypted data
+     * @param offset the offset of the encrypted data in the buffer
+     * @param length the length of the encrypted data
+     * @param mac the buffer to write the 8 byte MAC to
+     * @param macOffset the offset in the mac buffer to write the MAC to
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    public synchronized void mac(byte[] iv, byte command, byte sendingNode, byte receivingNode, byte[] data, int offset,
+            int length, byte[] mac, int macOffset) throws GeneralSecurityException {
+        authenticationCipher.update(iv, 0, BLOCK_SIZE, block, 0);
+
+        // XOR the header and data into the running state, encrypting at each block boundary. Any partial block at the
+        // end is implicitly padded with zeros.
+        int index = 0;
+        for (int position = -4; position < length; position++) {
+            byte value;
+            switch (position) {
+                case -4:
+                    value = command;
+                    break;
+                case -3:
+                    value = sendingNode;
+                    break;
+                case -2:
+                    value = receivingNode;
+                    break;
+                case -1:
+                    value = (byte) length;
+                    break;
+                default:
+                    value = data[offset + position];
+                    break;
+            }
+            block[index++] ^= value;
+
+            if (index == BLOCK_SIZE) {
+                encryptBlock();
+                index = 0;
+            }
+        }
+        if (index > 0) {
+            encryptBlock();
+        }
+
+        System.arraycopy(block, 0, mac, macOffset, 8);
+    }
+
+    private void encryptBlock() throws GeneralSecurityException {
+        authenticationCipher.update(block, 0, BLOCK_SIZE, nextBlock, 0);
+        System.arraycopy(nextBlock, 0, block, 0, BLOCK_SIZE);
+    }
+
+    private static Cipher getCipher(byte[] key) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(AES_ECB);
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, AES));
+        return cipher;
+    }
+}
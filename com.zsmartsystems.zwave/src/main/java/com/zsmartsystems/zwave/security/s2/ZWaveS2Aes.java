@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * AES helpers used by the S2 classes. All S2 cryptography - CCM, CMAC and the CTR_DRBG used for SPAN - only needs the
+ * forward AES block function, so everything is built on AES/ECB.
+ *
+ * @author Jordan Hayes
+ */
+final class ZWaveS2Aes {
+    static final int BLOCK_SIZE = 16;
+
+    private ZWaveS2Aes() {
+    }
+
+    /**
+     * Gets an AES/ECB cipher initialised for encryption with a key
+     *
+     * @param key the 16 byte key
+     * @return the initialised {@link Cipher}
+     * @throws GeneralSecurityException if AES is not available or the key is invalid
+     */
+    static Cipher getCipher(byte[] key) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+        return cipher;
+    }
+
+    /**
+     * Calculates the AES-CMAC (RFC 4493) of a message. This is only used when deriving keys and nonce generators, so
+     * the cipher is not cached.
+     *
+     * @param key the 16 byte key
+     * @param parts the message, which is the concatenation of the parts
+     * @return the 16 byte CMAC
+     * @throws GeneralSecurityException if AES is not available or the key is invalid
+     */
+    static byte[] cmac(byte[] key, byte[]... parts) throws GeneralSecurityException {
+        Cipher cipher = getCipher(key);
+
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] message = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, message, offset, part.length);
+            offset += part.length;
+        }
+
+        // Generate the subkeys
+        byte[] k1 = doubleBlock(cipher.doFinal(new byte[BLOCK_SIZE]));
+        byte[] k2 = doubleBlock(k1);
+
+        int blocks = Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        boolean complete = length != 0 && length % BLOCK_SIZE == 0;
+
+        byte[] state = new byte[BLOCK_SIZE];
+        for (int block = 0; block < blocks - 1; block++) {
+            for (int cnt = 0; cnt < BLOCK_SIZE; cnt++) {
+                state[cnt] ^= message[block * BLOCK_SIZE + cnt];
+            }
+            state = cipher.doFinal(state);
+        }
+
+        // The last block is padded if it is incomplete, and masked with one of the subkeys
+        int last = (blocks - 1) * BLOCK_SIZE;
+        for (int cnt = 0; cnt < BLOCK_SIZE; cnt++) {
+            byte value;
+            if (last + cnt < length) {
+                value = message[last + cnt];
+            } else {
+                value = (byte) (last + cnt == length ? 0x80 : 0);
+            }
+            state[cnt] ^= value ^ (complete ? k1[cnt] : k2[cnt]);
+        }
+        return cipher.doFinal(state);
+    }
+
+    private static byte[] doubleBlock(byte[] block) {
+        byte[] result = new byte[BLOCK_SIZE];
+        for (int cnt = 0; cnt < BLOCK_SIZE; cnt++) {
+            result[cnt] = (byte) (block[cnt] << 1);
+            if (cnt < BLOCK_SIZE - 1) {
+                result[cnt] |= (block[cnt + 1] & 0xff) >>> 7;
+            }
+        }
+        if ((block[0] & 0x80) != 0) {
+            result[BLOCK_SIZE - 1] ^= 0x87;
+        }
+        return result;
+    }
+}
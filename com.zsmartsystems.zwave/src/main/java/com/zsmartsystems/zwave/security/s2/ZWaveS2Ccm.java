@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import javax.crypto.Cipher;
+
+/**
+ * AES-CCM (RFC 3610) as used by S2, with a 13 byte nonce and an 8 byte authentication tag.
+ * <p>
+ * The AES cipher is initialised once with the key when this is created, and reused for every frame, so the key
+ * schedule is not expanded per frame. Methods are synchronized on the instance as the cipher and working blocks are
+ * shared.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2Ccm {
+    /**
+     * The length of the nonce
+     */
+    public static final int NONCE_LENGTH = 13;
+
+    /**
+     * The length of the authentication tag appended to the ciphertext
+     */
+    public static final int TAG_LENGTH = 8;
+
+    private static final int BLOCK_SIZE = ZWaveS2Aes.BLOCK_SIZE;
+
+    // Flags for the first authentication block - Adata, M' = (M - 2) / 2 and L' = L - 1 with a 2 byte length
+    private static final int FLAGS_AUTH = ((TAG_LENGTH - 2) / 2) << 3 | 0x01;
+    private static final int FLAGS_ADATA = 0x40;
+
+    // Flags for the counter blocks - L' = L - 1
+    private static final int FLAGS_COUNTER = 0x01;
+
+    private final Cipher cipher;
+
+    // Working blocks - the cipher output is always written to a different block to its input
+    private final byte[] mac = new byte[BLOCK_SIZE];
+    private final byte[] counter = new byte[BLOCK_SIZE];
+    private final byte[] block = new byte[BLOCK_SIZE];
+
+    private int macIndex;
+
+    /**
+     * Creates a CCM context for a key
+     *
+     * @param key the 16 byte key
+     * @throws GeneralSecurityException if AES is not available or the key is invalid
+     */
+    public ZWaveS2Ccm(byte[] key) throws GeneralSecurityException {
+        cipher = ZWaveS2Aes.getCipher(key);
+    }
+
+    /**
+     * Encrypts and authenticates data
+     *
+     * @param nonce the 13 byte nonce
+     * @param aad the additional authenticated data, which is not encrypted
+     * @param plaintext the buffer holding the data to encrypt
+     * @param offset the offset of the data in the buffer
+     * @param length the length of the data
+     * @return the ciphertext, followed by the authentication tag
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    public synchronized byte[] encrypt(byte[] nonce, byte[] aad, byte[] plaintext, int offset, int length)
+            throws GeneralSecurityException {
+        byte[] output = new byte[length + TAG_LENGTH];
+
+        authenticate(nonce, aad, plaintext, offset, length);
+        crypt(nonce, plaintext, offset, length, output);
+
+        // The tag is the MAC encrypted with the first block of the key stream
+        setCounter(nonce, 0);
+        cipher.update(counter, 0, BLOCK_SIZE, block, 0);
+        for (int cnt = 0; cnt < TAG_LENGTH; cnt++) {
+            output[length + cnt] = (byte) (mac[cnt] ^ block[cnt]);
+        }
+        return output;
+    }
+
+    /**
+     * Decrypts data and checks its authentication tag
+     *
+     * @param nonce the 13 byte nonce
+     * @param aad the additional authenticated data, which is not encrypted
+     * @param ciphertext the buffer holding the ciphertext, followed by the authentication tag
+     * @param offset the offset of the ciphertext in the buffer
+     * @param length the length of the ciphertext, including the tag
+     * @return the plaintext, or null if the data could not be authenticated
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    public synchronized byte[] decrypt(byte[] nonce, byte[] aad, byte[] ciphertext, int offset, int length)
+            throws GeneralSecurityException {
+        if (length < TAG_LENGTH) {
+            return null;
+        }
+        int dataLength = length - TAG_LENGTH;
+        byte[] output = new byte[dataLength];
+
+        crypt(nonce, ciphertext, offset, dataLength, output);
+        authenticate(nonce, aad, output, 0, dataLength);
+
+        setCounter(nonce, 0);
+        cipher.update(counter, 0, BLOCK_SIZE, block, 0);
+        byte[] tag = new byte[TAG_LENGTH];
+        for (int cnt = 0; cnt < TAG_LENGTH; cnt++) {
+            tag[cnt] = (byte) (mac[cnt] ^ block[cnt]);
+        }
+
+        byte[] receivedTag = new byte[TAG_LENGTH];
+        System.arraycopy(ciphertext, offset + dataLength, receivedTag, 0, TAG_LENGTH);
+        if (!MessageDigest.isEqual(tag, receivedTag)) {
+            return null;
+        }
+        return output;
+    }
+
+    /**
+     * Calculates the CBC-MAC over the first block, the encoded additional data and the plaintext into {@link #mac}
+     */
+    private void authenticate(byte[] nonce, byte[] aad, byte[] data, int offset, int length)
+            throws GeneralSecurityException {
+        block[0] = (byte) (FLAGS_AUTH | (aad.length == 0 ? 0 : FLAGS_ADATA));
+        System.arraycopy(nonce, 0, block, 1, NONCE_LENGTH);
+        block[14] = (byte) (length >> 8);
+        block[15] = (byte) length;
+        cipher.update(block, 0, BLOCK_SIZE, mac, 0);
+        macIndex = 0;
+
+        // The additional data is preceded by its 2 byte length, and padded to a block boundary
+        if (aad.length != 0) {
+            absorb((byte) (aad.length >> 8));
+            absorb((byte) aad.length);
+            for (byte value : aad) {
+                absorb(value);
+            }
+            pad();
+        }
+
+        for (int cnt = 0; cnt < length; cnt++) {
+            absorb(data[offset + cnt]);
+        }
+        pad();
+    }
+
+    private void absorb(byte value) throws GeneralSecurityException {
+        mac[macIndex++] ^= value;
+        if (macIndex == BLOCK_SIZE) {
+            encryptMac();
+        }
+    }
+
+    private void pad() throws GeneralSecurityException {
+        if (macIndex != 0) {
+            encryptMac();
+        }
+    }
+
+    private void encryptMac() throws GeneralSecurityException {
+        cipher.update(mac, 0, BLOCK_SIZE, block, 0);
+        System.arraycopy(block, 0, mac, 0, BLOCK_SIZE);
+        macIndex = 0;
+    }
+
+    /**
+     * Encrypts or decrypts in CTR mode, starting from counter 1
+     */
+    private void crypt(byte[] nonce, byte[] input, int offset, int length, byte[] output)
+            throws GeneralSecurityException {
+        for (int position = 0; position < length; position++) {
+            int index = position % BLOCK_SIZE;
+            if (index == 0) {
+                setCounter(nonce, position / BLOCK_SIZE + 1);
+                cipher.update(counter, 0, BLOCK_SIZE, block, 0);
+            }
+            output[position] = (byte) (input[offset + position] ^ block[index]);
+        }
+    }
+
+    private void setCounter(byte[] nonce, int count) {
+        counter[0] = FLAGS_COUNTER;
+        System.arraycopy(nonce, 0, counter, 1, NONCE_LENGTH);
+        counter[14] = (byte) (count >> 8);
+        counter[15] = (byte) count;
+    }
+}
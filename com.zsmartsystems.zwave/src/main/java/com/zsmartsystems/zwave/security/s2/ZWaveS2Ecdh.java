@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+
+import javax.crypto.KeyAgreement;
+
+/**
+ * The X25519 elliptic curve Diffie-Hellman key agreement used to bootstrap S2 inclusion. The two nodes exchange public
+ * keys in the PUBLIC_KEY_REPORT, and each derives the temporary keys used to transfer the network keys.
+ * <p>
+ * This uses the X25519 implementation in the JDK (Java 11 and later). Keys are passed around as the raw 32 byte
+ * values used in the Z-Wave frames, and are converted to and from the standard encodings for the JDK.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2Ecdh {
+    /**
+     * The length of a raw public or private key
+     */
+    public static final int KEY_LENGTH = 32;
+
+    private static final String X25519 = "X25519";
+
+    // DER prefixes of the X.509 and PKCS#8 encodings of an X25519 key (RFC 8410)
+    private static final byte[] PUBLIC_KEY_PREFIX = { 0x30, 0x2a, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65, 0x6e, 0x03, 0x21,
+            0x00 };
+    private static final byte[] PRIVATE_KEY_PREFIX = { 0x30, 0x2e, 0x02, 0x01, 0x00, 0x30, 0x05, 0x06, 0x03, 0x2b, 0x65,
+            0x6e, 0x04, 0x22, 0x04, 0x20 };
+
+    // The u-coordinate of the base point
+    private static final byte[] BASE_POINT = { 9, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0 };
+
+    private final PrivateKey privateKey;
+    private final byte[] publicKey;
+
+    /**
+     * Creates a new random key pair
+     *
+     * @throws GeneralSecurityException if X25519 is not available
+     */
+    public ZWaveS2Ecdh() throws GeneralSecurityException {
+        KeyPair keyPair = KeyPairGenerator.getInstance(X25519).generateKeyPair();
+        privateKey = keyPair.getPrivate();
+        publicKey = getRawKey(keyPair.getPublic().getEncoded());
+    }
+
+    /**
+     * Creates a key pair from a raw private key
+     *
+     * @param privateKey the 32 byte private key
+     * @throws GeneralSecurityException if X25519 is not available or the key is invalid
+     */
+    public ZWaveS2Ecdh(byte[] privateKey) throws GeneralSecurityException {
+        if (privateKey.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Private key must be 32 bytes");
+        }
+        this.privateKey = KeyFactory.getInstance(X25519)
+                .generatePrivate(new PKCS8EncodedKeySpec(concat(PRIVATE_KEY_PREFIX, privateKey)));
+
+        // The public key is the shared secret with the base point
+        publicKey = getSharedSecret(BASE_POINT);
+    }
+
+    /**
+     * Gets the raw public key to send to the other node
+     *
+     * @return the 32 byte public key
+     */
+    public byte[] getPublicKey() {
+        return publicKey.clone();
+    }
+
+    /**
+     * Calculates the shared secret with another node
+     *
+     * @param peerPublicKey the raw 32 byte public key of the other node
+     * @return the 32 byte shared secret
+     * @throws GeneralSecurityException if X25519 is not available or the key is invalid
+     */
+    public byte[] getSharedSecret(byte[] peerPublicKey) throws GeneralSecurityException {
+        if (peerPublicKey.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Public key must be 32 bytes");
+        }
+        PublicKey key = KeyFactory.getInstance(X25519)
+                .generatePublic(new X509EncodedKeySpec(concat(PUBLIC_KEY_PREFIX, peerPublicKey)));
+
+        KeyAgreement keyAgreement = KeyAgreement.getInstance(X25519);
+        keyAgreement.init(privateKey);
+        keyAgreement.doPhase(key, true);
+        return keyAgreement.generateSecret();
+    }
+
+    /**
+     * Derives the temporary keys used to transfer the network keys during inclusion
+     *
+     * @param peerPublicKey the raw 32 byte public key of the other node
+     * @param including true if this is the including node, false if this is the joining node
+     * @return the temporary {@link ZWaveS2Keys}
+     * @throws GeneralSecurityException if X25519 is not available or the key is invalid
+     */
+    public ZWaveS2Keys getTemporaryKeys(byte[] peerPublicKey, boolean including) throws GeneralSecurityException {
+        byte[] sharedSecret = getSharedSecret(peerPublicKey);
+        if (including) {
+            return ZWaveS2Keys.fromSharedSecret(sharedSecret, publicKey, peerPublicKey);
+        }
+        return ZWaveS2Keys.fromSharedSecret(sharedSecret, peerPublicKey, publicKey);
+    }
+
+    private static byte[] getRawKey(byte[] encoded) {
+        return Arrays.copyOfRange(encoded, encoded.length - KEY_LENGTH, encoded.length);
+    }
+
+    private static byte[] concat(byte[] prefix, byte[] key) {
+        byte[] encoded = Arrays.copyOf(prefix, prefix.length + key.length);
+        System.arraycopy(key, 0, encoded, prefix.length, key.length);
+        return encoded;
+    }
+}
@@ -0,0 +1,805 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurity2V1;
+
+/**
+ * Security 2 (S2) singlecast encapsulation for the nodes in a network.
+ * <p>
+ * The engine holds the keys for each {@link ZWaveS2KeyClass}, and the SPAN state for each node it talks to. A
+ * {@link ZWaveS2Span} is established with a node once, using a single NONCE_GET / NONCE_REPORT exchange:
+ * <ul>
+ * <li>The receiver of the first frame sends its entropy in a NONCE_REPORT ({@link #getNonceReport(int)})
+ * <li>The sender of the first frame ({@link #handleNonceReport(int, byte[])}) generates its own entropy, and sends
+ * it in the SPAN extension of the first encapsulated frame
+ * <li>Both nodes now generate the same sequence of nonces, and all further frames in either direction are sent
+ * without any nonce exchange
+ * </ul>
+ * If the nodes lose synchronisation, the receiver drops the frame and a new NONCE_REPORT restarts the exchange.
+ * <p>
+ * A command for a group of nodes is sent as a single multicast frame, encrypted with the {@link ZWaveS2Mpan} of the
+ * multicast group ({@link #encapsulateMulticast(int, byte[])}), followed by a singlecast follow-up to each member
+ * ({@link #encapsulateFollowUp(int, int, byte[])}). The follow-up carries the multicast group (MGRP) extension, and
+ * the MPAN extension for any member that doesn't yet have the group's MPAN. A member that decrypted the multicast
+ * frame ignores the command in the follow-up, while one that missed it executes the command from the follow-up.
+ * <p>
+ * Frames are built and nonces exchanged with the {@link CommandClassSecurity2V1} codecs. This class is thread safe.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2Engine {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveS2Engine.class);
+
+    private static final int MAX_NODES = 256;
+    private static final int MAX_GROUPS = 256;
+
+    // Command class, command, sequence number and flags
+    private static final int HEADER_LENGTH = 4;
+    private static final int FLAG_EXTENSION = 0x01;
+    private static final int FLAG_ENCRYPTED_EXTENSION = 0x02;
+
+    private static final int EXTENSION_TYPE_SPAN = 0x01;
+    private static final int EXTENSION_TYPE_MPAN = 0x02;
+    private static final int EXTENSION_TYPE_MGRP = 0x03;
+    private static final int EXTENSION_TYPE_MASK = 0x3F;
+    private static final int EXTENSION_CRITICAL = 0x40;
+    private static final int EXTENSION_MORE_TO_FOLLOW = 0x80;
+    private static final int EXTENSION_SPAN_LENGTH = 2 + ZWaveS2Span.ENTROPY_LENGTH;
+    private static final int EXTENSION_MPAN_LENGTH = 3 + ZWaveS2Mpan.STATE_LENGTH;
+    private static final int EXTENSION_MGRP_LENGTH = 3;
+
+    /**
+     * The number of nonces the receiver will step through to recover from frames that were lost
+     */
+    private static final int SPAN_WINDOW = 5;
+    private static final int MPAN_WINDOW = 5;
+
+    private enum SpanState {
+        /**
+         * No entropy has been exchanged
+         */
+        NONE,
+        /**
+         * We have sent our entropy in a NONCE_REPORT, and are waiting for the first frame
+         */
+        LOCAL_ENTROPY,
+        /**
+         * We have received the node's entropy in a NONCE_REPORT, and will send ours with the next frame
+         */
+        REMOTE_ENTROPY,
+        /**
+         * The SPAN is established
+         */
+        SYNCHRONIZED
+    }
+
+    private static class Peer {
+        private ZWaveS2KeyClass keyClass = ZWaveS2KeyClass.S2_UNAUTHENTICATED;
+        private SpanState state = SpanState.NONE;
+        private byte[] localEntropy;
+        private byte[] remoteEntropy;
+        private ZWaveS2Span span;
+        private int txSequence;
+        private int rxSequence = -1;
+
+        // The MPANs of the node's multicast groups that we are a member of, indexed by group id
+        private ZWaveS2Mpan[] rxMpans;
+        // The groups for which a multicast frame has been decrypted, and the follow-up is still to come
+        private final BitSet multicastReceived = new BitSet(MAX_GROUPS);
+    }
+
+    private static class MulticastGroup {
+        private final int groupId;
+        private final ZWaveS2KeyClass keyClass;
+        private final int[] nodeIds;
+        private ZWaveS2Mpan mpan;
+        private int sequence;
+        // The members that have been sent the current MPAN
+        private final BitSet synchronizedNodes = new BitSet(MAX_NODES);
+
+        private MulticastGroup(int groupId, ZWaveS2KeyClass keyClass, int[] nodeIds) {
+            this.groupId = groupId;
+            this.keyClass = keyClass;
+            this.nodeIds = nodeIds;
+        }
+    }
+
+    /**
+     * The unencrypted extensions of a received frame
+     */
+    private static class Extensions {
+        private byte[] senderEntropy;
+        private int groupId = -1;
+        private int length;
+    }
+
+    private final int homeId;
+    private final int ownNodeId;
+
+    private final Map<ZWaveS2KeyClass, ZWaveS2Keys> networkKeys = new EnumMap<ZWaveS2KeyClass, ZWaveS2Keys>(
+            ZWaveS2KeyClass.class);
+    private final Peer[] peers = new Peer[MAX_NODES];
+    private final MulticastGroup[] groups = new MulticastGroup[MAX_GROUPS];
+    private int lastGroupId;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Creates an engine
+     *
+     * @param homeId the home id of the network
+     * @param ownNodeId our node id
+     */
+    public ZWaveS2Engine(int homeId, int ownNodeId) {
+        this.homeId = homeId;
+        this.ownNodeId = ownNodeId;
+    }
+
+    /**
+     * Sets the network key for a key class. All SPANs for the key class are reset.
+     *
+     * @param keyClass the {@link ZWaveS2KeyClass}
+     * @param networkKey the 16 byte network key
+     * @throws GeneralSecurityException if AES is not available or the key is invalid
+     */
+    public void setNetworkKey(ZWaveS2KeyClass keyClass, byte[] networkKey) throws GeneralSecurityException {
+        ZWaveS2Keys keys = ZWaveS2Keys.fromNetworkKey(networkKey);
+        synchronized (networkKeys) {
+            networkKeys.put(keyClass, keys);
+        }
+
+        for (int nodeId = 0; nodeId < MAX_NODES; nodeId++) {
+            Peer peer = getPeer(nodeId, false);
+            if (peer == null) {
+                continue;
+            }
+            synchronized (peer) {
+                if (peer.keyClass == keyClass) {
+                    resetSpan(peer);
+                }
+            }
+        }
+
+        synchronized (groups) {
+            for (MulticastGroup group : groups) {
+                if (group == null) {
+                    continue;
+                }
+                synchronized (group) {
+                    if (group.keyClass == keyClass) {
+                        resetMpan(group);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the key class used to communicate with a node. This resets the SPAN with the node.
+     *
+     * @param nodeId the node id
+     * @param keyClass the highest {@link ZWaveS2KeyClass} granted to the node
+     */
+    public void setKeyClass(int nodeId, ZWaveS2KeyClass keyClass) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            peer.keyClass = keyClass;
+            resetSpan(peer);
+        }
+    }
+
+    /**
+     * Gets the key class used to communicate with a node
+     *
+     * @param nodeId the node id
+     * @return the {@link ZWaveS2KeyClass}
+     */
+    public ZWaveS2KeyClass getKeyClass(int nodeId) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            return peer.keyClass;
+        }
+    }
+
+    /**
+     * Checks if a frame can be encapsulated for a node without a nonce exchange
+     *
+     * @param nodeId the node id
+     * @return true if the SPAN is established, or the node's entropy has been received
+     */
+    public boolean isSpanAvailable(int nodeId) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            return peer.state == SpanState.SYNCHRONIZED || peer.state == SpanState.REMOTE_ENTROPY;
+        }
+    }
+
+    /**
+     * Gets a NONCE_GET to request the node's entropy. This is only needed if {@link #isSpanAvailable(int)} is false.
+     *
+     * @param nodeId the node id
+     * @return the NONCE_GET frame
+     */
+    public byte[] getNonceGet(int nodeId) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            return CommandClassSecurity2V1.getSecurity2NonceGet(nextSequence(peer));
+        }
+    }
+
+    /**
+     * Gets a NONCE_REPORT with new entropy, in response to a NONCE_GET from a node or to resynchronise after a frame
+     * could not be decrypted. Any existing SPAN with the node is discarded.
+     *
+     * @param nodeId the node id
+     * @return the NONCE_REPORT frame
+     */
+    public byte[] getNonceReport(int nodeId) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            resetSpan(peer);
+            peer.localEntropy = new byte[ZWaveS2Span.ENTROPY_LENGTH];
+            random.nextBytes(peer.localEntropy);
+            peer.state = SpanState.LOCAL_ENTROPY;
+
+            return CommandClassSecurity2V1.getSecurity2NonceReport(nextSequence(peer), true, false,
+                    peer.localEntropy);
+        }
+    }
+
+    /**
+     * Processes a NONCE_REPORT received from a node
+     *
+     * @param nodeId the node id
+     * @param payload the NONCE_REPORT frame
+     */
+    public void handleNonceReport(int nodeId, byte[] payload) {
+        Map<String, Object> response = CommandClassSecurity2V1.handleSecurity2NonceReport(payload);
+        byte[] entropy = (byte[]) response.get("RECEIVERS_ENTROPY_INPUT");
+        if (!(Boolean) response.get("SOS") || entropy.length != ZWaveS2Span.ENTROPY_LENGTH) {
+            logger.debug("NODE {}: S2 NONCE_REPORT without entropy ignored", nodeId);
+            return;
+        }
+
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            resetSpan(peer);
+            peer.remoteEntropy = entropy;
+            peer.state = SpanState.REMOTE_ENTROPY;
+        }
+    }
+
+    /**
+     * Encapsulates a command for a node
+     *
+     * @param nodeId the node id
+     * @param payload the command to encapsulate
+     * @return the SECURITY_2_MESSAGE_ENCAPSULATION frame, or null if no SPAN is available or there is no key for the
+     *         node's key class
+     */
+    public byte[] encapsulate(int nodeId, byte[] payload) {
+        return encapsulate(nodeId, payload, null);
+    }
+
+    /**
+     * Gets the multicast group for a set of nodes. An existing group with the same members is reused, so that the
+     * members already have its MPAN. All nodes must use the same key class.
+     *
+     * @param nodeIds the ids of the member nodes
+     * @return the group id
+     */
+    public int getMulticastGroup(int... nodeIds) {
+        if (nodeIds.length == 0) {
+            throw new IllegalArgumentException("Multicast group must have at least one member");
+        }
+        ZWaveS2KeyClass keyClass = getKeyClass(nodeIds[0]);
+        for (int nodeId : nodeIds) {
+            if (getKeyClass(nodeId) != keyClass) {
+                throw new IllegalArgumentException("Multicast group members must use the same key class");
+            }
+        }
+        int[] members = nodeIds.clone();
+        Arrays.sort(members);
+
+        synchronized (groups) {
+            for (int groupId = 1; groupId < MAX_GROUPS; groupId++) {
+                MulticastGroup group = groups[groupId];
+                if (group != null && group.keyClass == keyClass && Arrays.equals(group.nodeIds, members)) {
+                    return groupId;
+                }
+            }
+
+            // Allocate the next group id, replacing the oldest group once all are used
+            lastGroupId = lastGroupId % (MAX_GROUPS - 1) + 1;
+            MulticastGroup group = new MulticastGroup(lastGroupId, keyClass, members);
+            group.sequence = random.nextInt(256);
+            groups[lastGroupId] = group;
+            return lastGroupId;
+        }
+    }
+
+    /**
+     * Encapsulates a command to send to all members of a multicast group in a single frame. The frame doesn't need
+     * any nonce exchange, but only members that already have the group's MPAN can decrypt it, so it must be followed
+     * by {@link #encapsulateFollowUp(int, int, byte[])} for each member.
+     *
+     * @param groupId the group id from {@link #getMulticastGroup(int...)}
+     * @param payload the command to encapsulate
+     * @return the SECURITY_2_MESSAGE_ENCAPSULATION frame, or null if the group is unknown or there is no key for the
+     *         group's key class
+     */
+    public byte[] encapsulateMulticast(int groupId, byte[] payload) {
+        MulticastGroup group = getGroup(groupId);
+        if (group == null) {
+            logger.debug("S2 unknown multicast group {}", groupId);
+            return null;
+        }
+
+        synchronized (group) {
+            ZWaveS2Keys keys = getNetworkKeys(group.keyClass);
+            if (keys == null) {
+                logger.debug("S2 no network key for {}", group.keyClass);
+                return null;
+            }
+
+            try {
+                if (group.mpan == null) {
+                    byte[] innerState = new byte[ZWaveS2Mpan.STATE_LENGTH];
+                    random.nextBytes(innerState);
+                    group.mpan = new ZWaveS2Mpan(keys.getMpanKey(), innerState);
+                }
+
+                byte[] extensions = getGroupExtension(groupId);
+                group.sequence = (group.sequence + 1) & 0xff;
+                int frameLength = HEADER_LENGTH + extensions.length + payload.length + ZWaveS2Ccm.TAG_LENGTH;
+                byte[] aad = getAad(ownNodeId, groupId, frameLength, group.sequence, FLAG_EXTENSION, extensions, 0,
+                        extensions.length);
+
+                byte[] ciphertext = keys.getCcm().encrypt(group.mpan.nextNonce(), aad, payload, 0, payload.length);
+
+                byte[] body = Arrays.copyOf(extensions, extensions.length + ciphertext.length);
+                System.arraycopy(ciphertext, 0, body, extensions.length, ciphertext.length);
+                return CommandClassSecurity2V1.getSecurity2MessageEncapsulation(group.sequence, true, false, body);
+            } catch (GeneralSecurityException e) {
+                logger.error("S2 error encrypting multicast message", e);
+                resetMpan(group);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Encapsulates the singlecast follow-up of a multicast frame for a member of the group. This carries the group's
+     * MPAN if the member doesn't have it yet, so that it can decrypt the next multicast frame.
+     *
+     * @param nodeId the node id
+     * @param groupId the group id the multicast frame was sent to
+     * @param payload the command that was sent in the multicast frame
+     * @return the SECURITY_2_MESSAGE_ENCAPSULATION frame, or null if no SPAN is available, the node is not a member
+     *         of the group, or there is no key for the node's key class
+     */
+    public byte[] encapsulateFollowUp(int nodeId, int groupId, byte[] payload) {
+        MulticastGroup group = getGroup(groupId);
+        if (group == null || Arrays.binarySearch(group.nodeIds, nodeId) < 0) {
+            logger.debug("NODE {}: S2 not a member of multicast group {}", nodeId, groupId);
+            return null;
+        }
+        return encapsulate(nodeId, payload, group);
+    }
+
+    private byte[] encapsulate(int nodeId, byte[] payload, MulticastGroup group) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            ZWaveS2Keys keys = getNetworkKeys(peer.keyClass);
+            if (keys == null) {
+                logger.debug("NODE {}: S2 no network key for {}", nodeId, peer.keyClass);
+                return null;
+            }
+
+            try {
+                byte[] extensions = new byte[0];
+                if (peer.state == SpanState.REMOTE_ENTROPY) {
+                    // Establish the SPAN, and send our entropy with this frame
+                    byte[] entropy = new byte[ZWaveS2Span.ENTROPY_LENGTH];
+                    random.nextBytes(entropy);
+                    peer.span = new ZWaveS2Span(entropy, peer.remoteEntropy, keys.getPersonalization());
+                    peer.remoteEntropy = null;
+                    peer.state = SpanState.SYNCHRONIZED;
+
+                    extensions = new byte[EXTENSION_SPAN_LENGTH];
+                    extensions[0] = EXTENSION_SPAN_LENGTH;
+                    extensions[1] = EXTENSION_CRITICAL | EXTENSION_TYPE_SPAN;
+                    System.arraycopy(entropy, 0, extensions, 2, ZWaveS2Span.ENTROPY_LENGTH);
+                } else if (peer.state != SpanState.SYNCHRONIZED) {
+                    logger.debug("NODE {}: S2 no SPAN to encapsulate with", nodeId);
+                    return null;
+                }
+
+                byte[] plaintext = payload;
+                if (group != null) {
+                    byte[] groupExtension = getGroupExtension(group.groupId);
+                    if (extensions.length != 0) {
+                        extensions[1] |= EXTENSION_MORE_TO_FOLLOW;
+                    }
+                    extensions = Arrays.copyOf(extensions, extensions.length + groupExtension.length);
+                    System.arraycopy(groupExtension, 0, extensions, extensions.length - groupExtension.length,
+                            groupExtension.length);
+
+                    plaintext = getMpanExtension(nodeId, group, payload);
+                }
+
+                int sequence = nextSequence(peer);
+                int flags = extensions.length == 0 ? 0 : FLAG_EXTENSION;
+                if (plaintext != payload) {
+                    flags |= FLAG_ENCRYPTED_EXTENSION;
+                }
+                int frameLength = HEADER_LENGTH + extensions.length + plaintext.length + ZWaveS2Ccm.TAG_LENGTH;
+                byte[] aad = getAad(ownNodeId, nodeId, frameLength, sequence, flags, extensions, 0,
+                        extensions.length);
+
+                byte[] ciphertext = keys.getCcm().encrypt(peer.span.nextNonce(), aad, plaintext, 0,
+                        plaintext.length);
+
+                byte[] body = Arrays.copyOf(extensions, extensions.length + ciphertext.length);
+                System.arraycopy(ciphertext, 0, body, extensions.length, ciphertext.length);
+                return CommandClassSecurity2V1.getSecurity2MessageEncapsulation(sequence,
+                        (flags & FLAG_EXTENSION) != 0, (flags & FLAG_ENCRYPTED_EXTENSION) != 0, body);
+            } catch (GeneralSecurityException e) {
+                logger.error("NODE {}: S2 error encrypting message {}", nodeId, e);
+                resetSpan(peer);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Prefixes the command with the MPAN extension if the member doesn't have the group's current MPAN. Must be called
+     * with the peer lock held.
+     */
+    private byte[] getMpanExtension(int nodeId, MulticastGroup group, byte[] payload) {
+        synchronized (group) {
+            if (group.mpan == null || group.synchronizedNodes.get(nodeId & 0xff)) {
+                return payload;
+            }
+            group.synchronizedNodes.set(nodeId & 0xff);
+
+            byte[] plaintext = new byte[EXTENSION_MPAN_LENGTH + payload.length];
+            plaintext[0] = EXTENSION_MPAN_LENGTH;
+            plaintext[1] = EXTENSION_CRITICAL | EXTENSION_TYPE_MPAN;
+            plaintext[2] = (byte) group.groupId;
+            System.arraycopy(group.mpan.getInnerState(), 0, plaintext, 3, ZWaveS2Mpan.STATE_LENGTH);
+            System.arraycopy(payload, 0, plaintext, EXTENSION_MPAN_LENGTH, payload.length);
+            return plaintext;
+        }
+    }
+
+    private byte[] getGroupExtension(int groupId) {
+        return new byte[] { EXTENSION_MGRP_LENGTH, EXTENSION_CRITICAL | EXTENSION_TYPE_MGRP, (byte) groupId };
+    }
+
+    /**
+     * Checks if we have the MPAN for a multicast group of a node, and so can decrypt its multicast frames
+     *
+     * @param nodeId the id of the node sending to the group
+     * @param groupId the group id
+     * @return true if the MPAN for the group has been received
+     */
+    public boolean isMpanAvailable(int nodeId, int groupId) {
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            return peer.rxMpans != null && peer.rxMpans[groupId & 0xff] != null;
+        }
+    }
+
+    /**
+     * Decapsulates a SECURITY_2_MESSAGE_ENCAPSULATION frame received from a node
+     *
+     * @param nodeId the node id
+     * @param frame the SECURITY_2_MESSAGE_ENCAPSULATION frame
+     * @return the decrypted command, or null if the frame could not be decrypted or is a duplicate. If
+     *         {@link #isSpanAvailable(int)} is then false, a NONCE_REPORT should be sent to resynchronise. An empty
+     *         command is returned for the follow-up of a multicast frame that has already been received.
+     */
+    public byte[] decapsulate(int nodeId, byte[] frame) {
+        Extensions extensions = getExtensions(nodeId, frame);
+        if (extensions == null) {
+            return null;
+        }
+        int sequence = frame[2] & 0xff;
+        int flags = frame[3] & 0xff;
+        int offset = HEADER_LENGTH + extensions.length;
+
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            if (sequence == peer.rxSequence) {
+                logger.debug("NODE {}: S2 duplicate frame {} ignored", nodeId, sequence);
+                return null;
+            }
+
+            ZWaveS2Keys keys = getNetworkKeys(peer.keyClass);
+            if (keys == null) {
+                logger.debug("NODE {}: S2 no network key for {}", nodeId, peer.keyClass);
+                return null;
+            }
+
+            byte[] aad = getAad(nodeId, ownNodeId, frame.length, sequence, flags, frame, HEADER_LENGTH,
+                    extensions.length);
+
+            try {
+                byte[] plaintext = null;
+                if (extensions.senderEntropy != null) {
+                    // The first frame after our NONCE_REPORT
+                    if (peer.state != SpanState.LOCAL_ENTROPY) {
+                        logger.debug("NODE {}: S2 SPAN extension received without NONCE_REPORT", nodeId);
+                        return null;
+                    }
+                    ZWaveS2Span span = new ZWaveS2Span(extensions.senderEntropy, peer.localEntropy,
+                            keys.getPersonalization());
+                    plaintext = keys.getCcm().decrypt(span.nextNonce(), aad, frame, offset, frame.length - offset);
+                    if (plaintext != null) {
+                        peer.span = span;
+                        peer.localEntropy = null;
+                        peer.state = SpanState.SYNCHRONIZED;
+                    }
+                } else if (peer.state == SpanState.SYNCHRONIZED) {
+                    // Step forward over any frames that were lost. A copy is used so that a corrupt frame doesn't
+                    // move the SPAN on.
+                    ZWaveS2Span span = new ZWaveS2Span(peer.span);
+                    for (int attempt = 0; attempt < SPAN_WINDOW && plaintext == null; attempt++) {
+                        plaintext = keys.getCcm().decrypt(span.nextNonce(), aad, frame, offset,
+                                frame.length - offset);
+                    }
+                    if (plaintext != null) {
+                        peer.span = span;
+                    }
+                } else {
+                    logger.debug("NODE {}: S2 no SPAN to decapsulate with", nodeId);
+                    return null;
+                }
+
+                if (plaintext == null) {
+                    logger.debug("NODE {}: S2 failed to decrypt frame {}", nodeId, sequence);
+                    return null;
+                }
+                peer.rxSequence = sequence;
+
+                if ((flags & FLAG_ENCRYPTED_EXTENSION) != 0) {
+                    plaintext = processEncryptedExtensions(nodeId, peer, keys, plaintext);
+                }
+                if (plaintext != null && extensions.groupId != -1 && peer.multicastReceived.get(extensions.groupId)) {
+                    // The command was already received in the multicast frame
+                    peer.multicastReceived.clear(extensions.groupId);
+                    return new byte[0];
+                }
+                return plaintext;
+            } catch (GeneralSecurityException e) {
+                logger.error("NODE {}: S2 error decrypting message {}", nodeId, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Decapsulates a SECURITY_2_MESSAGE_ENCAPSULATION frame received from a node as a multicast
+     *
+     * @param nodeId the id of the node sending to the group
+     * @param frame the SECURITY_2_MESSAGE_ENCAPSULATION frame
+     * @return the decrypted command, or null if the frame could not be decrypted. If
+     *         {@link #isMpanAvailable(int, int)} is false for the group, the command will be received in the
+     *         follow-up.
+     */
+    public byte[] decapsulateMulticast(int nodeId, byte[] frame) {
+        Extensions extensions = getExtensions(nodeId, frame);
+        if (extensions == null) {
+            return null;
+        }
+        if (extensions.groupId == -1) {
+            logger.debug("NODE {}: S2 multicast frame without group", nodeId);
+            return null;
+        }
+        int sequence = frame[2] & 0xff;
+        int flags = frame[3] & 0xff;
+        int offset = HEADER_LENGTH + extensions.length;
+
+        Peer peer = getPeer(nodeId, true);
+        synchronized (peer) {
+            ZWaveS2Mpan mpan = peer.rxMpans == null ? null : peer.rxMpans[extensions.groupId];
+            if (mpan == null) {
+                logger.debug("NODE {}: S2 no MPAN for multicast group {}", nodeId, extensions.groupId);
+                return null;
+            }
+
+            ZWaveS2Keys keys = getNetworkKeys(peer.keyClass);
+            if (keys == null) {
+                logger.debug("NODE {}: S2 no network key for {}", nodeId, peer.keyClass);
+                return null;
+            }
+
+            byte[] aad = getAad(nodeId, extensions.groupId, frame.length, sequence, flags, frame, HEADER_LENGTH,
+                    extensions.length);
+
+            try {
+                // As with the SPAN, step forward over any multicast frames that were lost
+                ZWaveS2Mpan nextMpan = new ZWaveS2Mpan(mpan);
+                byte[] plaintext = null;
+                for (int attempt = 0; attempt < MPAN_WINDOW && plaintext == null; attempt++) {
+                    plaintext = keys.getCcm().decrypt(nextMpan.nextNonce(), aad, frame, offset,
+                            frame.length - offset);
+                }
+                if (plaintext == null) {
+                    logger.debug("NODE {}: S2 failed to decrypt multicast frame {}", nodeId, sequence);
+                    return null;
+                }
+                peer.rxMpans[extensions.groupId] = nextMpan;
+                peer.multicastReceived.set(extensions.groupId);
+
+                if ((flags & FLAG_ENCRYPTED_EXTENSION) != 0) {
+                    return processEncryptedExtensions(nodeId, peer, keys, plaintext);
+                }
+                return plaintext;
+            } catch (GeneralSecurityException e) {
+                logger.error("NODE {}: S2 error decrypting multicast message {}", nodeId, e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads the unencrypted extensions of a frame. The generated decoder can't process the extensions, so they are
+     * processed here.
+     */
+    private Extensions getExtensions(int nodeId, byte[] frame) {
+        if (frame.length < HEADER_LENGTH + ZWaveS2Ccm.TAG_LENGTH
+                || (frame[0] & 0xff) != CommandClassSecurity2V1.COMMAND_CLASS_KEY
+                || (frame[1] & 0xff) != CommandClassSecurity2V1.SECURITY_2_MESSAGE_ENCAPSULATION) {
+            logger.debug("NODE {}: S2 invalid encapsulation frame", nodeId);
+            return null;
+        }
+
+        Extensions extensions = new Extensions();
+        if ((frame[3] & FLAG_EXTENSION) == 0) {
+            return extensions;
+        }
+
+        int offset = HEADER_LENGTH;
+        boolean moreToFollow = true;
+        while (moreToFollow) {
+            if (offset + 2 > frame.length) {
+                return null;
+            }
+            int length = frame[offset] & 0xff;
+            int type = frame[offset + 1] & 0xff;
+            if (length < 2 || offset + length > frame.length) {
+                logger.debug("NODE {}: S2 invalid extension length", nodeId);
+                return null;
+            }
+
+            if ((type & EXTENSION_TYPE_MASK) == EXTENSION_TYPE_SPAN && length == EXTENSION_SPAN_LENGTH) {
+                extensions.senderEntropy = Arrays.copyOfRange(frame, offset + 2, offset + length);
+            } else if ((type & EXTENSION_TYPE_MASK) == EXTENSION_TYPE_MGRP && length == EXTENSION_MGRP_LENGTH) {
+                extensions.groupId = frame[offset + 2] & 0xff;
+            } else if ((type & EXTENSION_CRITICAL) != 0) {
+                logger.debug("NODE {}: S2 unsupported critical extension {}", nodeId, type);
+                return null;
+            }
+
+            moreToFollow = (type & EXTENSION_MORE_TO_FOLLOW) != 0;
+            offset += length;
+        }
+        extensions.length = offset - HEADER_LENGTH;
+        return extensions;
+    }
+
+    /**
+     * Processes the encrypted extensions at the start of the decrypted data, and removes them. The frame is dropped if
+     * any unsupported extensions are critical. Must be called with the peer lock held.
+     */
+    private byte[] processEncryptedExtensions(int nodeId, Peer peer, ZWaveS2Keys keys, byte[] plaintext)
+            throws GeneralSecurityException {
+        int offset = 0;
+        boolean moreToFollow = true;
+        while (moreToFollow) {
+            if (offset + 2 > plaintext.length) {
+                return null;
+            }
+            int length = plaintext[offset] & 0xff;
+            int type = plaintext[offset + 1] & 0xff;
+            if (length < 2 || offset + length > plaintext.length) {
+                return null;
+            }
+            if ((type & EXTENSION_TYPE_MASK) == EXTENSION_TYPE_MPAN && length == EXTENSION_MPAN_LENGTH) {
+                int groupId = plaintext[offset + 2] & 0xff;
+                if (peer.rxMpans == null) {
+                    peer.rxMpans = new ZWaveS2Mpan[MAX_GROUPS];
+                }
+                peer.rxMpans[groupId] = new ZWaveS2Mpan(keys.getMpanKey(),
+                        Arrays.copyOfRange(plaintext, offset + 3, offset + length));
+                peer.multicastReceived.clear(groupId);
+            } else if ((type & EXTENSION_CRITICAL) != 0) {
+                logger.debug("NODE {}: S2 unsupported critical encrypted extension {}", nodeId, type);
+                return null;
+            }
+            moreToFollow = (type & EXTENSION_MORE_TO_FOLLOW) != 0;
+            offset += length;
+        }
+        return Arrays.copyOfRange(plaintext, offset, plaintext.length);
+    }
+
+    /**
+     * Builds the additional authenticated data - the sender and receiver, home id, frame length, sequence number,
+     * flags and any unencrypted extensions
+     */
+    private byte[] getAad(int sender, int receiver, int frameLength, int sequence, int flags, byte[] extensions,
+            int offset, int length) {
+        byte[] aad = new byte[10 + length];
+        aad[0] = (byte) sender;
+        aad[1] = (byte) receiver;
+        aad[2] = (byte) (homeId >> 24);
+        aad[3] = (byte) (homeId >> 16);
+        aad[4] = (byte) (homeId >> 8);
+        aad[5] = (byte) homeId;
+        aad[6] = (byte) (frameLength >> 8);
+        aad[7] = (byte) frameLength;
+        aad[8] = (byte) sequence;
+        aad[9] = (byte) flags;
+        System.arraycopy(extensions, offset, aad, 10, length);
+        return aad;
+    }
+
+    private ZWaveS2Keys getNetworkKeys(ZWaveS2KeyClass keyClass) {
+        synchronized (networkKeys) {
+            return networkKeys.get(keyClass);
+        }
+    }
+
+    private MulticastGroup getGroup(int groupId) {
+        synchronized (groups) {
+            return groups[groupId & 0xff];
+        }
+    }
+
+    private Peer getPeer(int nodeId, boolean create) {
+        synchronized (peers) {
+            Peer peer = peers[nodeId & 0xff];
+            if (peer == null && create) {
+                peer = new Peer();
+                peer.txSequence = random.nextInt(256);
+                peers[nodeId & 0xff] = peer;
+            }
+            return peer;
+        }
+    }
+
+    private int nextSequence(Peer peer) {
+        peer.txSequence = (peer.txSequence + 1) & 0xff;
+        return peer.txSequence;
+    }
+
+    private void resetSpan(Peer peer) {
+        peer.state = SpanState.NONE;
+        peer.span = null;
+        peer.localEntropy = null;
+        peer.remoteEntropy = null;
+    }
+
+    private void resetMpan(MulticastGroup group) {
+        group.mpan = null;
+        group.synchronizedNodes.clear();
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+/**
+ * The S2 key classes. Each class has its own network key, and a node is granted one or more classes during inclusion.
+ * The mask is the bit used for the class in the KEX commands.
+ *
+ * @author Jordan Hayes
+ */
+public enum ZWaveS2KeyClass {
+    S2_UNAUTHENTICATED(0x01),
+    S2_AUTHENTICATED(0x02),
+    S2_ACCESS_CONTROL(0x04);
+
+    private final int mask;
+
+    private ZWaveS2KeyClass(int mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Gets the bit used for this key class in the KEX commands
+     *
+     * @return the key class mask
+     */
+    public int getMask() {
+        return mask;
+    }
+}
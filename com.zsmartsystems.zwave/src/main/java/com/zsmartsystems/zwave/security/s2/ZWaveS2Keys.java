@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * The keys derived from an S2 network key, or from the temporary key agreed during inclusion. This holds the
+ * {@link ZWaveS2Ccm} context for the key, so the cipher is initialised once for each key class.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2Keys {
+    private static final int KEY_LENGTH = 16;
+
+    private static final byte CONSTANT_NETWORK_KEY = 0x55;
+    private static final byte CONSTANT_TEMP_EXTRACT = 0x33;
+    private static final byte CONSTANT_TEMP_EXPAND = (byte) 0x88;
+
+    private final ZWaveS2Ccm ccm;
+    private final byte[] personalization;
+    private final byte[] mpanKey;
+
+    private ZWaveS2Keys(byte[] prk, byte constant) throws GeneralSecurityException {
+        // CKDF-Expand
+        byte[] constantBytes = new byte[KEY_LENGTH - 1];
+        Arrays.fill(constantBytes, constant);
+
+        byte[] t1 = ZWaveS2Aes.cmac(prk, constantBytes, new byte[] { 1 });
+        byte[] t2 = ZWaveS2Aes.cmac(prk, t1, constantBytes, new byte[] { 2 });
+        byte[] t3 = ZWaveS2Aes.cmac(prk, t2, constantBytes, new byte[] { 3 });
+        byte[] t4 = ZWaveS2Aes.cmac(prk, t3, constantBytes, new byte[] { 4 });
+
+        ccm = new ZWaveS2Ccm(t1);
+        personalization = Arrays.copyOf(t2, 2 * KEY_LENGTH);
+        System.arraycopy(t3, 0, personalization, KEY_LENGTH, KEY_LENGTH);
+        mpanKey = t4;
+    }
+
+    /**
+     * Derives the keys for a network key
+     *
+     * @param networkKey the 16 byte network key
+     * @return the {@link ZWaveS2Keys}
+     * @throws GeneralSecurityException if AES is not available or the key is invalid
+     */
+    public static ZWaveS2Keys fromNetworkKey(byte[] networkKey) throws GeneralSecurityException {
+        if (networkKey.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Network key must be 16 bytes");
+        }
+        return new ZWaveS2Keys(networkKey, CONSTANT_NETWORK_KEY);
+    }
+
+    /**
+     * Derives the temporary keys used to exchange network keys during inclusion, from the ECDH shared secret
+     *
+     * @param sharedSecret the 32 byte ECDH shared secret
+     * @param publicKeyA the 32 byte public key of the including node
+     * @param publicKeyB the 32 byte public key of the joining node
+     * @return the {@link ZWaveS2Keys}
+     * @throws GeneralSecurityException if AES is not available
+     */
+    public static ZWaveS2Keys fromSharedSecret(byte[] sharedSecret, byte[] publicKeyA, byte[] publicKeyB)
+            throws GeneralSecurityException {
+        // CKDF-TempExtract
+        byte[] constantPrk = new byte[KEY_LENGTH];
+        Arrays.fill(constantPrk, CONSTANT_TEMP_EXTRACT);
+        byte[] prk = ZWaveS2Aes.cmac(constantPrk, sharedSecret, publicKeyA, publicKeyB);
+
+        return new ZWaveS2Keys(prk, CONSTANT_TEMP_EXPAND);
+    }
+
+    /**
+     * Gets the CCM context for the derived CCM key
+     *
+     * @return the {@link ZWaveS2Ccm}
+     */
+    public ZWaveS2Ccm getCcm() {
+        return ccm;
+    }
+
+    /**
+     * Gets the 32 byte personalization string used to instantiate a {@link ZWaveS2Span}
+     *
+     * @return the personalization string
+     */
+    public byte[] getPersonalization() {
+        return personalization;
+    }
+
+    /**
+     * Gets the 16 byte key used for the multicast pre-agreed nonce
+     *
+     * @return the MPAN key
+     */
+    public byte[] getMpanKey() {
+        return mpanKey;
+    }
+}
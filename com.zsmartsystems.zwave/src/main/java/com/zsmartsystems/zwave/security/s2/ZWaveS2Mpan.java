@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+
+/**
+ * The Multicast Pre-Agreed Nonce (MPAN) for a multicast group.
+ * <p>
+ * The sender of the group chooses a random 16 byte inner state, and gives it to each member of the group in the MPAN
+ * extension of a singlecast frame. The nonce for each multicast frame is the inner state encrypted with the MPAN key
+ * of the network key, after which the inner state is incremented. All members then step through the same sequence of
+ * nonces without any nonce exchange.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2Mpan {
+    /**
+     * The length of the inner state
+     */
+    public static final int STATE_LENGTH = ZWaveS2Aes.BLOCK_SIZE;
+
+    private final byte[] mpanKey;
+    private final Cipher cipher;
+    private final byte[] state;
+
+    /**
+     * Creates an MPAN from its inner state
+     *
+     * @param mpanKey the 16 byte MPAN key derived from the network key
+     * @param innerState the 16 byte inner state
+     * @throws GeneralSecurityException if AES is not available
+     */
+    public ZWaveS2Mpan(byte[] mpanKey, byte[] innerState) throws GeneralSecurityException {
+        if (innerState.length != STATE_LENGTH) {
+            throw new IllegalArgumentException("MPAN inner state must be 16 bytes");
+        }
+        this.mpanKey = mpanKey;
+        cipher = ZWaveS2Aes.getCipher(mpanKey);
+        state = innerState.clone();
+    }
+
+    /**
+     * Creates a copy of an MPAN, so that nonces can be tried without changing the original
+     *
+     * @param mpan the {@link ZWaveS2Mpan} to copy
+     * @throws GeneralSecurityException if AES is not available
+     */
+    public ZWaveS2Mpan(ZWaveS2Mpan mpan) throws GeneralSecurityException {
+        this(mpan.mpanKey, mpan.state);
+    }
+
+    /**
+     * Gets the current inner state, to send to a member of the group in the MPAN extension
+     *
+     * @return the 16 byte inner state
+     */
+    public byte[] getInnerState() {
+        return state.clone();
+    }
+
+    /**
+     * Generates the next nonce
+     *
+     * @return the 13 byte nonce
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    public byte[] nextNonce() throws GeneralSecurityException {
+        byte[] output = new byte[STATE_LENGTH];
+        cipher.update(state, 0, STATE_LENGTH, output, 0);
+        for (int cnt = STATE_LENGTH - 1; cnt >= 0; cnt--) {
+            if (++state[cnt] != 0) {
+                break;
+            }
+        }
+
+        return Arrays.copyOf(output, ZWaveS2Ccm.NONCE_LENGTH);
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The Singlecast Pre-Agreed Nonce (SPAN) shared by two nodes.
+ * <p>
+ * Once both nodes have exchanged entropy, each runs the same AES-128 CTR_DRBG (NIST SP 800-90A, without a derivation
+ * function) seeded from the mixed entropy and the personalization string of the network key. Both nodes then step
+ * through the same sequence of nonces, one per frame in either direction, so steady state frames need no nonce
+ * exchange.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2Span {
+    /**
+     * The length of the entropy input from each node
+     */
+    public static final int ENTROPY_LENGTH = 16;
+
+    private static final int BLOCK_SIZE = ZWaveS2Aes.BLOCK_SIZE;
+    private static final int SEED_LENGTH = 2 * BLOCK_SIZE;
+
+    private static final byte CONSTANT_NONCE = 0x26;
+    private static final byte CONSTANT_ENTROPY_INPUT = (byte) 0x88;
+
+    private final Cipher cipher;
+    private final byte[] key = new byte[BLOCK_SIZE];
+    private final byte[] v = new byte[BLOCK_SIZE];
+
+    /**
+     * Instantiates the SPAN from the entropy provided by both nodes
+     *
+     * @param senderEntropy the 16 byte entropy input of the node sending the first frame, from the SPAN extension
+     * @param receiverEntropy the 16 byte entropy input of the node receiving the first frame, from the NONCE_REPORT
+     * @param personalization the 32 byte personalization string derived from the network key
+     * @throws GeneralSecurityException if AES is not available
+     */
+    public ZWaveS2Span(byte[] senderEntropy, byte[] receiverEntropy, byte[] personalization)
+            throws GeneralSecurityException {
+        this(getSeed(senderEntropy, receiverEntropy, personalization));
+    }
+
+    /**
+     * Instantiates the CTR_DRBG directly from its 32 byte seed material - the entropy input XORed with the
+     * personalization string
+     *
+     * @param seed the 32 byte seed material
+     * @throws GeneralSecurityException if AES is not available
+     */
+    ZWaveS2Span(byte[] seed) throws GeneralSecurityException {
+        cipher = ZWaveS2Aes.getCipher(key);
+        update(seed);
+    }
+
+    /**
+     * Creates a copy of a SPAN, so that nonces can be tried without changing the original
+     *
+     * @param span the {@link ZWaveS2Span} to copy
+     * @throws GeneralSecurityException if AES is not available
+     */
+    public ZWaveS2Span(ZWaveS2Span span) throws GeneralSecurityException {
+        System.arraycopy(span.key, 0, key, 0, BLOCK_SIZE);
+        System.arraycopy(span.v, 0, v, 0, BLOCK_SIZE);
+        cipher = ZWaveS2Aes.getCipher(key);
+    }
+
+    /**
+     * Generates the next nonce
+     *
+     * @return the 13 byte nonce
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    public byte[] nextNonce() throws GeneralSecurityException {
+        return Arrays.copyOf(generate(BLOCK_SIZE), ZWaveS2Ccm.NONCE_LENGTH);
+    }
+
+    /**
+     * The CTR_DRBG generate function, without additional input
+     *
+     * @param length the number of bytes to generate
+     * @return the generated bytes
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    byte[] generate(int length) throws GeneralSecurityException {
+        byte[] output = new byte[(length + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE];
+        for (int offset = 0; offset < length; offset += BLOCK_SIZE) {
+            increment();
+            cipher.update(v, 0, BLOCK_SIZE, output, offset);
+        }
+        update(new byte[SEED_LENGTH]);
+
+        return output.length == length ? output : Arrays.copyOf(output, length);
+    }
+
+    private static byte[] getSeed(byte[] senderEntropy, byte[] receiverEntropy, byte[] personalization)
+            throws GeneralSecurityException {
+        byte[] seed = getMixedEntropy(senderEntropy, receiverEntropy);
+        for (int cnt = 0; cnt < SEED_LENGTH; cnt++) {
+            seed[cnt] ^= personalization[cnt];
+        }
+        return seed;
+    }
+
+    /**
+     * CKDF-MEI: mixes the entropy from both nodes into the 32 byte seed
+     */
+    private static byte[] getMixedEntropy(byte[] senderEntropy, byte[] receiverEntropy)
+            throws GeneralSecurityException {
+        byte[] constantNonce = new byte[BLOCK_SIZE];
+        Arrays.fill(constantNonce, CONSTANT_NONCE);
+        byte[] noncePrk = ZWaveS2Aes.cmac(constantNonce, senderEntropy, receiverEntropy);
+
+        byte[] constantEntropy = new byte[BLOCK_SIZE - 1];
+        Arrays.fill(constantEntropy, CONSTANT_ENTROPY_INPUT);
+        byte[] t0 = Arrays.copyOf(constantEntropy, BLOCK_SIZE);
+        byte[] t1 = ZWaveS2Aes.cmac(noncePrk, t0, constantEntropy, new byte[] { 1 });
+        byte[] t2 = ZWaveS2Aes.cmac(noncePrk, t1, constantEntropy, new byte[] { 2 });
+
+        byte[] mixedEntropy = Arrays.copyOf(t1, SEED_LENGTH);
+        System.arraycopy(t2, 0, mixedEntropy, BLOCK_SIZE, BLOCK_SIZE);
+        return mixedEntropy;
+    }
+
+    /**
+     * The CTR_DRBG update function. Without a derivation function or additional input, reseeding is an update with
+     * the new entropy input.
+     *
+     * @param providedData the 32 byte provided data
+     * @throws GeneralSecurityException if the cipher fails
+     */
+    void update(byte[] providedData) throws GeneralSecurityException {
+        byte[] temp = new byte[SEED_LENGTH];
+        for (int offset = 0; offset < SEED_LENGTH; offset += BLOCK_SIZE) {
+            increment();
+            cipher.update(v, 0, BLOCK_SIZE, temp, offset);
+        }
+        for (int cnt = 0; cnt < SEED_LENGTH; cnt++) {
+            temp[cnt] ^= providedData[cnt];
+        }
+
+        System.arraycopy(temp, 0, key, 0, BLOCK_SIZE);
+        System.arraycopy(temp, BLOCK_SIZE, v, 0, BLOCK_SIZE);
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+    }
+
+    private void increment() {
+        for (int cnt = BLOCK_SIZE - 1; cnt >= 0; cnt--) {
+            if (++v[cnt] != 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only journal of changes to nodes, held in a memory-mapped file of fixed size.
+ * <p>
+ * Appending a record is a copy into the mapped file, which the operating system writes out even if the process
+ * crashes - {@link #force()} is only needed to survive a power failure, so it can be called for a batch of records.
+ * Each record holds its length and a CRC32 of its content, and the length is written last, so a record that was
+ * only partly written when the system failed is found when the journal is read, and it and anything after it are
+ * discarded.
+ * <p>
+ * The journal is emptied by {@link #compact(int)} once the changes it holds have been saved elsewhere. The records
+ * that are kept are written to a new file, which is renamed over the journal once it is on the storage device, so a
+ * failure during compaction leaves either the old or the new journal intact.
+ *
+ * @author Jordan Hayes
+ */
+class ZWaveNodeJournal {
+    private final static Logger logger = LoggerFactory.getLogger(ZWaveNodeJournal.class);
+
+    /**
+     * "ZWNJ"
+     */
+    private final static int MAGIC = 0x5A574E4A;
+    private final static int VERSION = 1;
+    private final static int HEADER_LENGTH = 8;
+
+    /**
+     * The length and the CRC before the content of each record
+     */
+    private final static int RECORD_HEADER_LENGTH = 8;
+
+    /**
+     * The time, type and node id at the start of the content of each record
+     */
+    private final static int CONTENT_HEADER_LENGTH = 10;
+
+    /**
+     * A record read from the journal
+     */
+    static class Record {
+        final long time;
+        final int type;
+        final int nodeId;
+        final byte[] payload;
+
+        Record(long time, int type, int nodeId, byte[] payload) {
+            this.time = time;
+            this.type = type;
+            this.nodeId = nodeId;
+            this.payload = payload;
+        }
+    }
+
+    private final File journalFile;
+    private final int capacity;
+
+    /**
+     * The open journal file and its mapping, which are replaced when the journal is compacted. Guarded by this, but
+     * the mapping is volatile so that {@link #force()} doesn't hold up appends.
+     */
+    private RandomAccessFile file;
+    private volatile MappedByteBuffer buffer;
+
+    /**
+     * The offset at which the next record is written. Guarded by this.
+     */
+    private int position;
+
+    /**
+     * Opens a journal, creating it if it doesn't exist
+     *
+     * @param journalFile the journal file
+     * @param capacity the size of the journal in bytes
+     * @throws IOException if the file can't be opened or mapped
+     */
+    ZWaveNodeJournal(File journalFile, int capacity) throws IOException {
+        this.journalFile = journalFile;
+        this.capacity = capacity;
+        map();
+
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION) {
+            position = findEnd();
+            // Remove any partly written record, so it can't be mistaken for part of a later record
+            clear(position, capacity);
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            position = HEADER_LENGTH;
+            clear(position, capacity);
+        }
+    }
+
+    private void map() throws IOException {
+        file = new RandomAccessFile(journalFile, "rw");
+        buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Finds the end of the valid records
+     */
+    private int findEnd() {
+        int offset = HEADER_LENGTH;
+        while (true) {
+            int length = getRecordLength(offset);
+            if (length == 0) {
+                return offset;
+            }
+            offset += RECORD_HEADER_LENGTH + length;
+        }
+    }
+
+    /**
+     * Gets the length of the content of the record at an offset
+     *
+     * @return the length, or 0 if there is no valid record at the offset
+     */
+    private int getRecordLength(int offset) {
+        if (offset + RECORD_HEADER_LENGTH + CONTENT_HEADER_LENGTH > capacity) {
+            return 0;
+        }
+        int length = buffer.getInt(offset);
+        if (length < CONTENT_HEADER_LENGTH || offset + RECORD_HEADER_LENGTH + length > capacity) {
+            return 0;
+        }
+
+        CRC32 crc = new CRC32();
+        for (int cnt = 0; cnt < length; cnt++) {
+            crc.update(buffer.get(offset + RECORD_HEADER_LENGTH + cnt));
+        }
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            logger.warn("Node journal record at {} is corrupt - discarding the rest of the journal", offset);
+            return 0;
+        }
+        return length;
+    }
+
+    /**
+     * Reads all the records in the journal
+     *
+     * @return {@link List} of {@link Record}s in the order they were written
+     */
+    synchronized List<Record> read() {
+        List<Record> records = new ArrayList<Record>();
+        int offset = HEADER_LENGTH;
+        while (offset < position) {
+            int length = buffer.getInt(offset);
+            int content = offset + RECORD_HEADER_LENGTH;
+            byte[] payload = new byte[length - CONTENT_HEADER_LENGTH];
+            for (int cnt = 0; cnt < payload.length; cnt++) {
+                payload[cnt] = buffer.get(content + CONTENT_HEADER_LENGTH + cnt);
+            }
+            records.add(new Record(buffer.getLong(content), buffer.get(content + 8) & 0xFF,
+                    buffer.get(content + 9) & 0xFF, payload));
+            offset = content + length;
+        }
+        return records;
+    }
+
+    /**
+     * Appends a record to the journal
+     *
+     * @param time the time of the change in milliseconds since the epoch
+     * @param type the type of record
+     * @param nodeId the node id
+     * @param payload the content of the record
+     * @return true if the record was added, or false if the journal is full
+     */
+    synchronized boolean append(long time, int type, int nodeId, byte[] payload) {
+        int length = CONTENT_HEADER_LENGTH + payload.length;
+        if (position + RECORD_HEADER_LENGTH + length > capacity) {
+            return false;
+        }
+
+        int content = position + RECORD_HEADER_LENGTH;
+        buffer.putLong(content, time);
+        buffer.put(content + 8, (byte) type);
+        buffer.put(content + 9, (byte) nodeId);
+        for (int cnt = 0; cnt < payload.length; cnt++) {
+            buffer.put(content + CONTENT_HEADER_LENGTH + cnt, payload[cnt]);
+        }
+
+        CRC32 crc = new CRC32();
+        for (int cnt = 0; cnt < length; cnt++) {
+            crc.update(buffer.get(content + cnt));
+        }
+        buffer.putInt(position + 4, (int) crc.getValue());
+
+        // The length is written last, so the record isn't valid until it is complete
+        buffer.putInt(position, length);
+        position = content + length;
+        return true;
+    }
+
+    /**
+     * Gets the number of bytes used in the journal. Records written before this position can later be removed with
+     * {@link #compact(int)}.
+     *
+     * @return the position after the last record
+     */
+    synchronized int getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the size of the journal
+     *
+     * @return the size in bytes
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes the records written before a position, keeping any written since. The new journal is on the storage
+     * device when this returns.
+     *
+     * @param end the position returned by {@link #getPosition()} when the records were saved
+     * @throws IOException if the new journal can't be written, in which case the journal is unchanged
+     */
+    synchronized void compact(int end) throws IOException {
+        byte[] records = new byte[position - end];
+        ByteBuffer tail = buffer.duplicate();
+        tail.position(end);
+        tail.get(records);
+
+        File temporary = new File(journalFile.getPath() + ".tmp");
+        try (RandomAccessFile output = new RandomAccessFile(temporary, "rw")) {
+            output.setLength(0);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.write(records);
+            // The rest of the file reads as zeros, which is not a valid record
+            output.setLength(capacity);
+            output.getFD().sync();
+        }
+
+        try {
+            Files.move(temporary.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        file.close();
+        map();
+        position = HEADER_LENGTH + records.length;
+    }
+
+    /**
+     * Writes the journal to the storage device
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Closes the journal file
+     */
+    synchronized void close() {
+        force();
+        try {
+            file.close();
+        } catch (IOException e) {
+            logger.debug("Error closing node journal: {}", e.getMessage());
+        }
+    }
+
+    private void clear(int start, int end) {
+        for (int cnt = start; cnt < end; cnt++) {
+            buffer.put(cnt, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zsmartsystems.zwave.ZWaveAssociation;
+import com.zsmartsystems.zwave.ZWaveAssociationGroup;
+import com.zsmartsystems.zwave.ZWaveDeviceClass;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Basic;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Generic;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Specific;
+import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveManufacturerId;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClass;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
+
+/**
+ * Converts a {@link ZWaveNode} to and from the compact binary form saved by the {@link ZWaveNodeStore}.
+ * <p>
+ * A snapshot starts with a magic number and the format version, and ends with a CRC32 of the preceding bytes, so a
+ * partly written or corrupt snapshot is detected. Command classes are saved by their ID, and device classes by their
+ * code, so the snapshot doesn't depend on the order of the enumerations. When the format changes the version is
+ * incremented, and older versions continue to be read.
+ *
+ * @author Jordan Hayes
+ */
+final class ZWaveNodeSnapshot {
+    private final static Logger logger = LoggerFactory.getLogger(ZWaveNodeSnapshot.class);
+
+    /**
+     * "ZWNS"
+     */
+    private final static int MAGIC = 0x5A574E53;
+
+    /**
+     * The current format version. Version 2 added the wake up interval.
+     */
+    final static int VERSION = 2;
+
+    private final static int FLAG_LISTENING = 0x01;
+    private final static int FLAG_FREQUENTLY_LISTENING = 0x02;
+    private final static int FLAG_ROUTING = 0x04;
+
+    private final static int NONE = -1;
+
+    private ZWaveNodeSnapshot() {
+    }
+
+    /**
+     * Writes a node to a snapshot
+     *
+     * @param node the {@link ZWaveNode} to save
+     * @param updated the time the node information last changed, in milliseconds since the epoch
+     * @return the snapshot
+     */
+    static byte[] encode(ZWaveNode node, long updated) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream output = new DataOutputStream(buffer);
+        try {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            output.writeLong(updated);
+            output.writeByte(node.getNodeId());
+
+            int flags = 0;
+            if (node.isListening()) {
+                flags |= FLAG_LISTENING;
+            }
+            if (node.isFrequentlyListening()) {
+                flags |= FLAG_FREQUENTLY_LISTENING;
+            }
+            if (node.isRouting()) {
+                flags |= FLAG_ROUTING;
+            }
+            output.writeByte(flags);
+            output.writeInt(node.getWakeUpInterval());
+
+            ZWaveManufacturerId manufacturerId = node.getManufacturerId();
+            output.writeBoolean(manufacturerId != null);
+            if (manufacturerId != null) {
+                output.writeShort(manufacturerId.getManufacturerId());
+                output.writeShort(manufacturerId.getDeviceType());
+                output.writeShort(manufacturerId.getDeviceId());
+            }
+            writeString(output, node.getSerialNumber());
+
+            writeCommandClasses(output, node.getNifClasses());
+
+            List<Integer> neighbors = node.getNeighbors();
+            output.writeShort(neighbors.size());
+            for (Integer neighbor : neighbors) {
+                output.writeByte(neighbor);
+            }
+
+            Collection<ZWaveEndpoint> endpoints = node.getEndpoints();
+            output.writeShort(endpoints.size());
+            for (ZWaveEndpoint endpoint : endpoints) {
+                writeEndpoint(output, endpoint);
+            }
+
+            Collection<ZWaveAssociationGroup> groups = node.getAssociationGroups();
+            output.writeShort(groups.size());
+            for (ZWaveAssociationGroup group : groups) {
+                writeAssociationGroup(output, group);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.toByteArray());
+            output.writeInt((int) crc.getValue());
+        } catch (IOException e) {
+            // Not possible when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Gets the time the node information in a snapshot last changed
+     *
+     * @param snapshot the snapshot
+     * @return the time in milliseconds since the epoch
+     */
+    static long getUpdated(byte[] snapshot) {
+        return ((long) getInt(snapshot, 5) << 32) | (getInt(snapshot, 9) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Reads a node from a snapshot
+     *
+     * @param network the {@link ZWaveNetwork} the node belongs to
+     * @param snapshot the snapshot
+     * @return the {@link ZWaveNode}, or null if the snapshot is not valid
+     */
+    static ZWaveNode decode(ZWaveNetwork network, byte[] snapshot) {
+        if (snapshot.length < 18 || getInt(snapshot, 0) != MAGIC) {
+            logger.warn("Node snapshot is not valid");
+            return null;
+        }
+        int version = snapshot[4];
+        if (version < 1 || version > VERSION) {
+            logger.warn("Node snapshot version {} is not supported", version);
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(snapshot, 0, snapshot.length - 4);
+        if ((int) crc.getValue() != getInt(snapshot, snapshot.length - 4)) {
+            logger.warn("Node snapshot is corrupt");
+            return null;
+        }
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(snapshot, 13, snapshot.length - 17));
+        try {
+            ZWaveNode node = new ZWaveNode(network, input.readUnsignedByte());
+
+            int flags = input.readUnsignedByte();
+            node.setListening((flags & FLAG_LISTENING) != 0);
+            node.setFrequentlyListening((flags & FLAG_FREQUENTLY_LISTENING) != 0);
+            node.setRouting((flags & FLAG_ROUTING) != 0);
+            if (version >= 2) {
+                node.setWakeUpInterval(input.readInt());
+            }
+
+            if (input.readBoolean()) {
+                int manufacturer = input.readUnsignedShort();
+                int deviceType = input.readUnsignedShort();
+                int deviceId = input.readUnsignedShort();
+                node.setManufacturerId(new ZWaveManufacturerId(manufacturer, deviceId, deviceType));
+            }
+            node.setSerialNumber(readString(input));
+
+            node.setNifClasses(readCommandClasses(input));
+
+            int neighbors = input.readUnsignedShort();
+            for (int cnt = 0; cnt < neighbors; cnt++) {
+                node.addNeighbor(input.readUnsignedByte());
+            }
+
+            int endpoints = input.readUnsignedShort();
+            for (int cnt = 0; cnt < endpoints; cnt++) {
+                readEndpoint(input, node);
+            }
+
+            int groups = input.readUnsignedShort();
+            for (int cnt = 0; cnt < groups; cnt++) {
+                node.setAssociationGroup(readAssociationGroup(input));
+            }
+
+            return node;
+        } catch (IOException e) {
+            logger.warn("Node snapshot is truncated");
+            return null;
+        }
+    }
+
+    private static void writeEndpoint(DataOutputStream output, ZWaveEndpoint endpoint) throws IOException {
+        output.writeByte(endpoint.getEndpointId());
+
+        ZWaveDeviceClass deviceClass = endpoint.getDeviceClass();
+        output.writeBoolean(deviceClass != null);
+        if (deviceClass != null) {
+            Basic basic = deviceClass.getBasicDeviceClass();
+            Generic generic = deviceClass.getGenericDeviceClass();
+            Specific specific = deviceClass.getSpecificDeviceClass();
+            output.writeInt(basic == null ? NONE : basic.getKey());
+            output.writeInt(generic == null ? NONE : generic.getKey());
+            output.writeInt(specific == null ? NONE : specific.getKey());
+        }
+
+        Collection<ZWaveCommandClass> commandClasses = endpoint.getCommandClasses();
+        output.writeShort(commandClasses.size());
+        for (ZWaveCommandClass commandClass : commandClasses) {
+            output.writeByte(commandClass.getCommandClass().getKey());
+            output.writeByte(commandClass.getVersion());
+            output.writeByte(commandClass.getInstances());
+        }
+
+        writeCommandClasses(output, endpoint.getSecureCommandClasses());
+    }
+
+    private static void readEndpoint(DataInputStream input, ZWaveNode node) throws IOException {
+        int endpointId = input.readUnsignedByte();
+
+        ZWaveDeviceClass deviceClass = null;
+        if (input.readBoolean()) {
+            int basic = input.readInt();
+            int generic = input.readInt();
+            deviceClass = getDeviceClass(basic, generic, input.readInt());
+        }
+        ZWaveEndpoint endpoint = node.addEndpoint(endpointId, deviceClass);
+
+        int commandClasses = input.readUnsignedShort();
+        for (int cnt = 0; cnt < commandClasses; cnt++) {
+            int commandClassId = input.readUnsignedByte();
+            int version = input.readUnsignedByte();
+            int instances = input.readUnsignedByte();
+
+            ZWaveCommandClass commandClass = ZWaveCommandClass.getInstance(commandClassId, endpoint);
+            if (commandClass == null) {
+                continue;
+            }
+            commandClass.setVersion(version);
+            commandClass.setInstances(instances);
+            endpoint.addCommandClass(commandClass);
+        }
+
+        for (ZWaveCommandClassEnum commandClass : readCommandClasses(input)) {
+            endpoint.addSecureCommandClass(commandClass);
+        }
+    }
+
+    /**
+     * Gets a device class from the saved codes
+     *
+     * @param basic the basic device class code, or -1 if not known
+     * @param generic the generic device class code, or -1 if not known
+     * @param specific the specific device class code, or -1 if not known
+     * @return the {@link ZWaveDeviceClass}, or null if none of the codes are known
+     */
+    static ZWaveDeviceClass getDeviceClass(int basic, int generic, int specific) {
+        if (basic == NONE && generic == NONE && specific == NONE) {
+            return null;
+        }
+        Generic genericClass = Generic.getGeneric(generic);
+        return new ZWaveDeviceClass(Basic.getBasic(basic), genericClass,
+                specific == NONE || genericClass == null ? null : Specific.getSpecific(genericClass, specific));
+    }
+
+    private static void writeAssociationGroup(DataOutputStream output, ZWaveAssociationGroup group)
+            throws IOException {
+        output.writeByte(group.getIndex());
+        writeString(output, group.getName());
+        output.writeInt(group.getProfile1() == null ? NONE : group.getProfile1());
+        output.writeInt(group.getProfile2() == null ? NONE : group.getProfile2());
+
+        output.writeBoolean(group.getCommandClasses() != null);
+        if (group.getCommandClasses() != null) {
+            writeCommandClasses(output, group.getCommandClasses());
+        }
+
+        List<ZWaveAssociation> associations = group.getAssociations();
+        output.writeShort(associations.size());
+        for (ZWaveAssociation association : associations) {
+            output.writeByte(association.getNode());
+            output.writeByte(association.getEndpoint());
+        }
+    }
+
+    private static ZWaveAssociationGroup readAssociationGroup(DataInputStream input) throws IOException {
+        ZWaveAssociationGroup group = new ZWaveAssociationGroup(input.readUnsignedByte());
+        group.setName(readString(input));
+
+        int profile = input.readInt();
+        group.setProfile1(profile == NONE ? null : profile);
+        profile = input.readInt();
+        group.setProfile2(profile == NONE ? null : profile);
+
+        if (input.readBoolean()) {
+            group.setCommandClasses(new HashSet<ZWaveCommandClassEnum>(readCommandClasses(input)));
+        }
+
+        int associations = input.readUnsignedShort();
+        for (int cnt = 0; cnt < associations; cnt++) {
+            int node = input.readUnsignedByte();
+            group.addAssociation(node, input.readUnsignedByte());
+        }
+        return group;
+    }
+
+    private static void writeCommandClasses(DataOutputStream output, Collection<ZWaveCommandClassEnum> commandClasses)
+            throws IOException {
+        output.writeShort(commandClasses.size());
+        for (ZWaveCommandClassEnum commandClass : commandClasses) {
+            output.writeByte(commandClass.getKey());
+        }
+    }
+
+    /**
+     * Reads a list of command classes. Classes that are not known to this version of the library are skipped.
+     */
+    private static List<ZWaveCommandClassEnum> readCommandClasses(DataInputStream input) throws IOException {
+        int count = input.readUnsignedShort();
+        List<ZWaveCommandClassEnum> commandClasses = new ArrayList<ZWaveCommandClassEnum>(count);
+        for (int cnt = 0; cnt < count; cnt++) {
+            ZWaveCommandClassEnum commandClass = ZWaveCommandClassEnum.getCommandClass(input.readUnsignedByte());
+            if (commandClass != null) {
+                commandClasses.add(commandClass);
+            }
+        }
+        return commandClasses;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static int getInt(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xFF) << 24 | (buffer[offset + 1] & 0xFF) << 16 | (buffer[offset + 2] & 0xFF) << 8
+                | (buffer[offset + 3] & 0xFF);
+    }
+}
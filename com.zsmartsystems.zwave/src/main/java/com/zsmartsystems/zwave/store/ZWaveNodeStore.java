@@ -0,0 +1,617 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.store;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zsmartsystems.zwave.ZWaveAssociationGroup;
+import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveNodeChange;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClass;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
+
+/**
+ * Saves the information about each node in a {@link ZWaveNetwork}, so that the network can be used straight after a
+ * restart without interviewing the nodes again.
+ * <p>
+ * Each node is saved as a binary snapshot (see {@link ZWaveNodeSnapshot}) in its own file in the store directory.
+ * Changes to a node are not written to its snapshot straight away - each {@link ZWaveNodeChange} is appended to a
+ * memory-mapped journal (see {@link ZWaveNodeJournal}), which is written to the storage device in batches. Changes
+ * without their own record type are journalled as a snapshot of the whole node.
+ * <p>
+ * The journal is compacted in the background a while after a node changes, or sooner if the journal is filling up.
+ * The snapshots of the changed nodes are then written, and the journal records they contain are removed. A snapshot
+ * is only written if its content has changed, and is written to a temporary file that then replaces the old
+ * snapshot, so a crash can't leave a partly written snapshot. When the store is loaded, the snapshots are read and
+ * any records left in the journal are replayed on top of them, so no change is lost if the process crashes.
+ * <p>
+ * The time each node last changed is saved, so that the application can find the nodes whose information is old
+ * enough that it should be checked with {@link #getStaleNodes}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNodeStore {
+    private final static Logger logger = LoggerFactory.getLogger(ZWaveNodeStore.class);
+
+    private final static String FILE_PREFIX = "node";
+    private final static String FILE_EXTENSION = ".zws";
+    private final static String JOURNAL_FILE = "journal.zwj";
+
+    /**
+     * The time to wait after a node changes before the journal is compacted
+     */
+    private final static long DEFAULT_COMPACT_DELAY = 60000;
+
+    private final static int DEFAULT_JOURNAL_SIZE = 1024 * 1024;
+
+    /**
+     * The time to wait after a record is added to the journal before the journal is written to the storage device, so
+     * records are written in batches
+     */
+    private final static long FORCE_DELAY = 100;
+
+    /**
+     * The journal record type for a node that has been removed, which is not a {@link ZWaveNodeChange}
+     */
+    private final static int RECORD_REMOVED = 0xFF;
+
+    private final File directory;
+    private final long compactDelay;
+    private final ScheduledExecutorService writer;
+
+    /**
+     * The journal, or null if it could not be opened, in which case changes are only saved when the nodes are written
+     */
+    private final ZWaveNodeJournal journal;
+
+    /**
+     * Nodes that have changed since they were last written, keyed by node id. Guarded by this.
+     */
+    private final Map<Integer, ZWaveNode> pendingNodes = new LinkedHashMap<Integer, ZWaveNode>();
+
+    /**
+     * The time each node last changed. Guarded by this.
+     */
+    private final Map<Integer, Long> updated = new HashMap<Integer, Long>();
+
+    /**
+     * Set while a compaction or journal write is scheduled. Guarded by this.
+     */
+    private boolean compactScheduled = false;
+    private boolean forceScheduled = false;
+
+    /**
+     * The last snapshot written for each node, to avoid writing unchanged nodes. Only used on the writer thread.
+     */
+    private final Map<Integer, byte[]> written = new HashMap<Integer, byte[]>();
+
+    private final Runnable compactTask = new Runnable() {
+        @Override
+        public void run() {
+            compactJournal();
+        }
+    };
+
+    private final Runnable forceTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (ZWaveNodeStore.this) {
+                forceScheduled = false;
+            }
+            if (journal != null) {
+                journal.force();
+            }
+        }
+    };
+
+    /**
+     * Creates a node store that saves nodes in the given directory
+     *
+     * @param directory the directory for the snapshots. This is created if it doesn't exist.
+     */
+    public ZWaveNodeStore(File directory) {
+        this(directory, DEFAULT_COMPACT_DELAY);
+    }
+
+    /**
+     * Creates a node store that saves nodes in the given directory
+     *
+     * @param directory the directory for the snapshots. This is created if it doesn't exist.
+     * @param compactDelay the time in milliseconds to wait after a node changes before the journal is compacted
+     */
+    public ZWaveNodeStore(File directory, long compactDelay) {
+        this(directory, compactDelay, DEFAULT_JOURNAL_SIZE);
+    }
+
+    /**
+     * Creates a node store that saves nodes in the given directory
+     *
+     * @param directory the directory for the snapshots. This is created if it doesn't exist.
+     * @param compactDelay the time in milliseconds to wait after a node changes before the journal is compacted
+     * @param journalSize the size of the journal in bytes
+     */
+    public ZWaveNodeStore(File directory, long compactDelay, int journalSize) {
+        this.directory = directory;
+        this.compactDelay = compactDelay;
+        writer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "ZWaveNodeStore");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            logger.error("Unable to create node store directory {}", directory);
+        }
+
+        ZWaveNodeJournal nodeJournal = null;
+        try {
+            nodeJournal = new ZWaveNodeJournal(new File(directory, JOURNAL_FILE), journalSize);
+        } catch (IOException e) {
+            logger.error("Unable to open node journal - changes will only be saved periodically: {}",
+                    e.getMessage());
+        }
+        journal = nodeJournal;
+    }
+
+    /**
+     * Reads all the nodes saved in the store. The snapshots are read, and then any changes in the journal are applied.
+     * Snapshots that can't be read are ignored, so those nodes will need to be interviewed again.
+     *
+     * @param network the {@link ZWaveNetwork} the nodes belong to
+     * @return {@link List} of the {@link ZWaveNode}s, in node id order
+     */
+    public List<ZWaveNode> load(ZWaveNetwork network) {
+        Map<Integer, ZWaveNode> nodes = new TreeMap<Integer, ZWaveNode>();
+        File[] files = directory.listFiles();
+        if (files == null) {
+            files = new File[0];
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_EXTENSION)) {
+                continue;
+            }
+
+            byte[] snapshot;
+            try {
+                snapshot = Files.readAllBytes(file.toPath());
+            } catch (IOException e) {
+                logger.warn("Unable to read node snapshot {}: {}", file, e.getMessage());
+                continue;
+            }
+
+            ZWaveNode node = ZWaveNodeSnapshot.decode(network, snapshot);
+            if (node == null) {
+                logger.warn("Ignoring node snapshot {}", file);
+                continue;
+            }
+            if (!file.equals(getFile(node.getNodeId()))) {
+                logger.warn("NODE {}: Ignoring snapshot in {}", node.getNodeId(), file);
+                continue;
+            }
+
+            synchronized (this) {
+                updated.put(node.getNodeId(), ZWaveNodeSnapshot.getUpdated(snapshot));
+            }
+            nodes.put(node.getNodeId(), node);
+        }
+
+        if (journal != null) {
+            replay(network, nodes);
+        }
+
+        return new ArrayList<ZWaveNode>(nodes.values());
+    }
+
+    /**
+     * Applies the changes in the journal to the nodes read from the snapshots. The nodes that are changed are written
+     * at the next compaction.
+     */
+    private void replay(ZWaveNetwork network, Map<Integer, ZWaveNode> nodes) {
+        List<ZWaveNodeJournal.Record> records = journal.read();
+        for (ZWaveNodeJournal.Record record : records) {
+            if (record.type == RECORD_REMOVED) {
+                nodes.remove(record.nodeId);
+                synchronized (this) {
+                    updated.remove(record.nodeId);
+                    pendingNodes.remove(record.nodeId);
+                }
+                continue;
+            }
+
+            ZWaveNode node = nodes.get(record.nodeId);
+            if (record.type == ZWaveNodeChange.Type.NODE.getKey()) {
+                node = ZWaveNodeSnapshot.decode(network, record.payload);
+            } else if (node == null) {
+                node = new ZWaveNode(network, record.nodeId);
+            }
+            if (node == null || !apply(node, record)) {
+                logger.warn("NODE {}: Unable to replay journal record type {}", record.nodeId, record.type);
+                continue;
+            }
+
+            nodes.put(record.nodeId, node);
+            synchronized (this) {
+                updated.put(record.nodeId, record.time);
+                pendingNodes.put(record.nodeId, node);
+            }
+        }
+
+        if (!records.isEmpty()) {
+            logger.debug("Replayed {} node journal records", records.size());
+            scheduleCompaction(compactDelay);
+        }
+    }
+
+    /**
+     * Applies a change from the journal to a node. Changes can be applied more than once without harm, as the journal
+     * may hold changes that are already in the snapshot.
+     *
+     * @return true if the change was applied
+     */
+    private boolean apply(ZWaveNode node, ZWaveNodeJournal.Record record) {
+        ZWaveNodeChange.Type type = ZWaveNodeChange.Type.getType(record.type);
+        if (type == null) {
+            return false;
+        }
+
+        int[] values = getValues(record.payload);
+        switch (type) {
+            case NODE:
+                // The node was replaced by the snapshot in the record
+                return true;
+            case ENDPOINT_ADDED:
+                node.addEndpoint(values[0], ZWaveNodeSnapshot.getDeviceClass(values[1], values[2], values[3]));
+                return true;
+            case COMMAND_CLASS_VERSION:
+                ZWaveEndpoint endpoint = getEndpoint(node, values[0]);
+                ZWaveCommandClassEnum commandClassType = ZWaveCommandClassEnum.getCommandClass(values[1]);
+                if (commandClassType == null) {
+                    return false;
+                }
+                ZWaveCommandClass commandClass = endpoint.getCommandClass(commandClassType);
+                if (commandClass == null) {
+                    commandClass = ZWaveCommandClass.getInstance(commandClassType, endpoint);
+                    if (commandClass == null) {
+                        return false;
+                    }
+                    endpoint.addCommandClass(commandClass);
+                }
+                commandClass.setVersion(values[2]);
+                return true;
+            case SECURE_COMMAND_CLASS:
+                commandClassType = ZWaveCommandClassEnum.getCommandClass(values[1]);
+                if (commandClassType == null) {
+                    return false;
+                }
+                getEndpoint(node, values[0]).addSecureCommandClass(commandClassType);
+                return true;
+            case ASSOCIATION_ADDED:
+                getAssociationGroup(node, values[0]).addAssociation(values[1], values[2]);
+                return true;
+            case ASSOCIATION_REMOVED:
+                getAssociationGroup(node, values[0]).removeAssociation(values[1], values[2]);
+                return true;
+            case NEIGHBORS:
+                node.clearNeighbors();
+                for (int neighbor : values) {
+                    node.addNeighbor(neighbor);
+                }
+                return true;
+            case WAKE_UP_INTERVAL:
+                node.setWakeUpInterval(values[0]);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private ZWaveEndpoint getEndpoint(ZWaveNode node, int endpointId) {
+        ZWaveEndpoint endpoint = node.getEndpoint(endpointId);
+        return endpoint == null ? node.addEndpoint(endpointId) : endpoint;
+    }
+
+    private ZWaveAssociationGroup getAssociationGroup(ZWaveNode node, int index) {
+        ZWaveAssociationGroup group = node.getAssociationGroup(index);
+        if (group == null) {
+            group = new ZWaveAssociationGroup(index);
+            node.setAssociationGroup(group);
+        }
+        return group;
+    }
+
+    /**
+     * Records that a node has changed, and schedules it to be written
+     *
+     * @param node the {@link ZWaveNode} that has changed
+     */
+    public void markChanged(ZWaveNode node) {
+        markChanged(node, ZWaveNodeChange.NODE);
+    }
+
+    /**
+     * Records a change to a node in the journal, and schedules the node to be written
+     *
+     * @param node the {@link ZWaveNode} that has changed
+     * @param change the {@link ZWaveNodeChange}
+     */
+    public void markChanged(ZWaveNode node, ZWaveNodeChange change) {
+        long time = System.currentTimeMillis();
+        synchronized (this) {
+            updated.put(node.getNodeId(), time);
+            pendingNodes.put(node.getNodeId(), node);
+        }
+
+        if (journal == null) {
+            scheduleCompaction(compactDelay);
+            return;
+        }
+
+        byte[] payload;
+        try {
+            payload = change.getType() == ZWaveNodeChange.Type.NODE ? ZWaveNodeSnapshot.encode(node, time)
+                    : getPayload(change.getValues());
+        } catch (ConcurrentModificationException e) {
+            // The node is being changed by another thread - it will be saved at the compaction
+            logger.debug("NODE {}: Node changed while saving it - compacting the journal", node.getNodeId());
+            scheduleCompaction(0);
+            return;
+        }
+
+        if (!journal.append(time, change.getType().getKey(), node.getNodeId(), payload)) {
+            logger.debug("NODE {}: Node journal is full - compacting the journal", node.getNodeId());
+            scheduleCompaction(0);
+            return;
+        }
+
+        if (journal.getPosition() > journal.getCapacity() / 2) {
+            scheduleCompaction(0);
+        } else {
+            scheduleCompaction(compactDelay);
+        }
+        scheduleForce();
+    }
+
+    /**
+     * Removes a node from the store
+     *
+     * @param nodeId the id of the node to remove
+     */
+    public void remove(final int nodeId) {
+        synchronized (this) {
+            pendingNodes.remove(nodeId);
+            updated.remove(nodeId);
+        }
+
+        if (journal != null && journal.append(System.currentTimeMillis(), RECORD_REMOVED, nodeId, new byte[0])) {
+            scheduleForce();
+        }
+
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                written.remove(nodeId);
+                if (getFile(nodeId).exists() && !getFile(nodeId).delete()) {
+                    logger.warn("NODE {}: Unable to delete node snapshot", nodeId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the nodes whose information hasn't changed for longer than the given age
+     *
+     * @param maxAge the maximum age of the information
+     * @param unit the {@link TimeUnit} of the age
+     * @return {@link List} of the node IDs, in order
+     */
+    public List<Integer> getStaleNodes(long maxAge, TimeUnit unit) {
+        long oldest = System.currentTimeMillis() - unit.toMillis(maxAge);
+        List<Integer> nodes = new ArrayList<Integer>();
+        synchronized (this) {
+            for (Map.Entry<Integer, Long> entry : updated.entrySet()) {
+                if (entry.getValue() < oldest) {
+                    nodes.add(entry.getKey());
+                }
+            }
+        }
+        Collections.sort(nodes);
+        return nodes;
+    }
+
+    /**
+     * Writes the journal to the storage device now, and waits until it is written
+     */
+    public void flush() {
+        runNow(forceTask);
+    }
+
+    /**
+     * Writes the changed nodes and compacts the journal now, and waits until it is complete
+     */
+    public void compact() {
+        runNow(compactTask);
+    }
+
+    /**
+     * Writes the changed nodes, and stops the store
+     */
+    public void shutdown() {
+        compact();
+        writer.shutdown();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void runNow(Runnable task) {
+        try {
+            writer.submit(task).get();
+        } catch (Exception e) {
+            logger.warn("Unable to write the node store: {}", e.getMessage());
+        }
+    }
+
+    private void scheduleCompaction(long delay) {
+        synchronized (this) {
+            if (compactScheduled && delay != 0) {
+                return;
+            }
+            compactScheduled = true;
+        }
+        schedule(compactTask, delay);
+    }
+
+    private void scheduleForce() {
+        synchronized (this) {
+            if (forceScheduled) {
+                return;
+            }
+            forceScheduled = true;
+        }
+        schedule(forceTask, FORCE_DELAY);
+    }
+
+    private void schedule(Runnable task, long delay) {
+        try {
+            writer.schedule(task, delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            logger.debug("Node store is shut down");
+        }
+    }
+
+    /**
+     * Writes the snapshots of the changed nodes, and then removes the records from the journal that were written
+     * before the snapshots
+     */
+    private void compactJournal() {
+        List<ZWaveNode> nodes;
+        Map<Integer, Long> times;
+        int journalEnd = journal == null ? 0 : journal.getPosition();
+        synchronized (this) {
+            compactScheduled = false;
+            nodes = new ArrayList<ZWaveNode>(pendingNodes.values());
+            pendingNodes.clear();
+            times = new HashMap<Integer, Long>(updated);
+        }
+
+        boolean complete = true;
+        for (ZWaveNode node : nodes) {
+            Long time = times.get(node.getNodeId());
+            if (time == null) {
+                // Removed since it was changed
+                continue;
+            }
+            complete &= writeNode(node, time);
+        }
+
+        // Only remove the journal records once all the changes they contain are in the snapshots
+        if (journal != null && complete) {
+            try {
+                journal.compact(journalEnd);
+            } catch (IOException e) {
+                logger.error("Unable to compact node journal: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean writeNode(ZWaveNode node, long time) {
+        byte[] snapshot;
+        try {
+            snapshot = ZWaveNodeSnapshot.encode(node, time);
+        } catch (ConcurrentModificationException e) {
+            // The node was being changed - try again shortly
+            synchronized (this) {
+                pendingNodes.put(node.getNodeId(), node);
+            }
+            scheduleCompaction(FORCE_DELAY);
+            return false;
+        }
+
+        byte[] previous = written.get(node.getNodeId());
+        if (previous != null && Arrays.equals(previous, snapshot)) {
+            return true;
+        }
+
+        try {
+            write(node.getNodeId(), snapshot);
+            written.put(node.getNodeId(), snapshot);
+            logger.debug("NODE {}: Saved {} byte snapshot", node.getNodeId(), snapshot.length);
+            return true;
+        } catch (IOException e) {
+            logger.error("NODE {}: Unable to save node snapshot: {}", node.getNodeId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void write(int nodeId, byte[] snapshot) throws IOException {
+        File file = getFile(nodeId);
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temporary)) {
+            output.write(snapshot);
+            output.getFD().sync();
+        }
+
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private File getFile(int nodeId) {
+        return new File(directory, String.format("%s%03d%s", FILE_PREFIX, nodeId, FILE_EXTENSION));
+    }
+
+    private static byte[] getPayload(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    private static int[] getValues(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int[] values = new int[payload.length / 4];
+        for (int cnt = 0; cnt < values.length; cnt++) {
+            values[cnt] = buffer.getInt();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A handle to a task scheduled with a {@link ZWaveTimer}. The handle can be used to cancel the task before it runs.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveTimeout {
+    private final static int STATE_WAITING = 0;
+    private final static int STATE_CANCELLED = 1;
+    private final static int STATE_EXPIRED = 2;
+
+    private final ZWaveTimer timer;
+    private final Runnable task;
+
+    /**
+     * The deadline in nanoseconds, relative to the start time of the timer
+     */
+    final long deadline;
+
+    /**
+     * The number of turns of the wheel remaining before the timeout expires
+     */
+    long remainingRounds;
+
+    /**
+     * The bucket this timeout is linked into, and the neighbouring timeouts in that bucket
+     */
+    ZWaveTimer.Bucket bucket;
+    ZWaveTimeout next;
+    ZWaveTimeout prev;
+
+    private final AtomicInteger state = new AtomicInteger(STATE_WAITING);
+
+    ZWaveTimeout(ZWaveTimer timer, Runnable task, long deadline) {
+        this.timer = timer;
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task. This has no effect if the task has already run.
+     *
+     * @return true if the task was cancelled, false if it has already run or been cancelled
+     */
+    public boolean cancel() {
+        if (!state.compareAndSet(STATE_WAITING, STATE_CANCELLED)) {
+            return false;
+        }
+        timer.cancelled(this);
+        return true;
+    }
+
+    /**
+     * Checks if the task has been cancelled
+     *
+     * @return true if the task was cancelled before it ran
+     */
+    public boolean isCancelled() {
+        return state.get() == STATE_CANCELLED;
+    }
+
+    /**
+     * Checks if the task has run
+     *
+     * @return true if the timeout has expired and the task has been run
+     */
+    public boolean isExpired() {
+        return state.get() == STATE_EXPIRED;
+    }
+
+    /**
+     * Runs the task, unless it has been cancelled
+     */
+    void expire() {
+        if (!state.compareAndSet(STATE_WAITING, STATE_EXPIRED)) {
+            return;
+        }
+        task.run();
+    }
+}
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timer shared by everything in the network that needs a timeout - transaction timeouts, retries and node wake-up
+ * periods. It is implemented as a hashed timing wheel so that scheduling and cancelling a timeout are constant time,
+ * and a single thread serves any number of timeouts.
+ * <p>
+ * The wheel is divided into buckets, each covering one tick. A timeout is placed in the bucket for the tick in which it
+ * expires, along with the number of turns of the wheel remaining before then. On each tick the worker thread moves
+ * through the bucket for that tick, running the timeouts that are due. Timeouts are therefore run up to one tick
+ * late, which is fine for the hundreds of milliseconds used in Z-Wave.
+ * <p>
+ * Tasks are run on the timer thread, so must not block.
+ * <p>
+ * The worker thread is only started when the first timeout is scheduled.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveTimer {
+    private static final Logger logger = LoggerFactory.getLogger(ZWaveTimer.class);
+
+    private final static int STATE_INIT = 0;
+    private final static int STATE_STARTED = 1;
+    private final static int STATE_SHUTDOWN = 2;
+
+    private final static long DEFAULT_TICK_DURATION = 10;
+    private final static int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+
+    /**
+     * Timeouts that have been scheduled but not yet added to the wheel by the worker thread
+     */
+    private final Queue<ZWaveTimeout> pendingTimeouts = new ConcurrentLinkedQueue<ZWaveTimeout>();
+
+    /**
+     * Timeouts that have been cancelled but not yet removed from the wheel by the worker thread
+     */
+    private final Queue<ZWaveTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<ZWaveTimeout>();
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final Thread workerThread;
+    private volatile long startTime;
+
+    /**
+     * The number of ticks processed by the worker thread
+     */
+    private long tick;
+
+    /**
+     * A list of the timeouts expiring in one slot of the wheel
+     */
+    static class Bucket {
+        private ZWaveTimeout head;
+        private ZWaveTimeout tail;
+
+        void add(ZWaveTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        ZWaveTimeout remove(ZWaveTimeout timeout) {
+            ZWaveTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expire() {
+            ZWaveTimeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                    continue;
+                }
+
+                ZWaveTimeout next = remove(timeout);
+                try {
+                    timeout.expire();
+                } catch (Exception e) {
+                    logger.error("Exception running timer task", e);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Creates a timer with a tick of 10ms and a wheel of 512 ticks
+     */
+    public ZWaveTimer() {
+        this(DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+    }
+
+    /**
+     * Creates a timer
+     *
+     * @param tickDuration the duration of each tick of the wheel
+     * @param unit the {@link TimeUnit} of the tickDuration
+     * @param ticksPerWheel the number of ticks in one turn of the wheel. This is rounded up to a power of two.
+     */
+    public ZWaveTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30");
+        }
+
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        wheel = new Bucket[wheelSize];
+        for (int cnt = 0; cnt < wheelSize; cnt++) {
+            wheel[cnt] = new Bucket();
+        }
+        mask = wheelSize - 1;
+        this.tickDuration = unit.toNanos(tickDuration);
+
+        workerThread = new Thread(new Worker(), "ZWaveTimer");
+        workerThread.setDaemon(true);
+    }
+
+    /**
+     * Schedules a task to run once after a delay
+     *
+     * @param task the {@link Runnable} to run
+     * @param delay the delay before the task is run
+     * @param unit the {@link TimeUnit} of the delay
+     * @return a {@link ZWaveTimeout} that can be used to cancel the task
+     */
+    public ZWaveTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new NullPointerException("task");
+        }
+        start();
+
+        ZWaveTimeout timeout = new ZWaveTimeout(this, task, System.nanoTime() + unit.toNanos(delay) - startTime);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stops the timer. Tasks that have not yet run will not be run.
+     */
+    public void shutdown() {
+        if (state.getAndSet(STATE_SHUTDOWN) == STATE_STARTED) {
+            workerThread.interrupt();
+        }
+    }
+
+    private void start() {
+        switch (state.get()) {
+            case STATE_INIT:
+                if (state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+                    // Zero is used to show that the start time isn't set yet
+                    long now = System.nanoTime();
+                    startTime = now == 0 ? 1 : now;
+                    workerThread.start();
+                }
+                break;
+            case STATE_STARTED:
+                break;
+            default:
+                throw new IllegalStateException("Timer has been shut down");
+        }
+
+        // Wait for the start time to be set if another thread is starting the timer
+        while (startTime == 0) {
+            Thread.yield();
+        }
+    }
+
+    void cancelled(ZWaveTimeout timeout) {
+        cancelledTimeouts.add(timeout);
+    }
+
+    private class Worker implements Runnable {
+        @Override
+        public void run() {
+            while (state.get() == STATE_STARTED) {
+                if (!waitForNextTick()) {
+                    continue;
+                }
+
+                removeCancelledTimeouts();
+                addPendingTimeouts();
+                wheel[(int) (tick & mask)].expire();
+                tick++;
+            }
+            logger.debug("ZWaveTimer stopped");
+        }
+
+        private void removeCancelledTimeouts() {
+            ZWaveTimeout timeout;
+            while ((timeout = cancelledTimeouts.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void addPendingTimeouts() {
+            ZWaveTimeout timeout;
+            while ((timeout = pendingTimeouts.poll()) != null) {
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+
+                long expiryTick = timeout.deadline / tickDuration;
+                timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+
+                // Anything that is already due is run on this tick
+                wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+            }
+        }
+
+        /**
+         * Sleeps until the end of the current tick
+         *
+         * @return true if the tick has ended, false if the wait was interrupted
+         */
+        private boolean waitForNextTick() {
+            long deadline = tickDuration * (tick + 1);
+            while (true) {
+                long currentTime = System.nanoTime() - startTime;
+                long sleepTime = (deadline - currentTime + 999999) / 1000000;
+                if (sleepTime <= 0) {
+                    return true;
+                }
+
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+/**
+ * Defines what the {@link ZWaveTransactionManager} does with a received message when its receive queue is full.
+ *
+ * @author Jordan Hayes
+ */
+public enum ReceiveOverflowPolicy {
+    /**
+     * The oldest message in the queue is discarded to make room. Received messages are mostly poll responses and
+     * reports, which are superseded by newer reports from the same node, and a response to a transaction that is
+     * discarded is recovered by the transaction timing out and being retried.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The thread receiving the message waits until there is room in the queue. This only pushes back on a transport
+     * that stops reading while it waits. It doesn't suit the serial API, which has already acknowledged the frame and
+     * handles the responses and callbacks for the frames it sends on the same thread, so
+     * {@code ZWaveSerialController} uses {@link #SPILL}.
+     */
+    BLOCK,
+
+    /**
+     * The message is added to an unbounded overflow list, which is processed in order once the queue has been emptied.
+     * No messages are lost, at the cost of memory during a burst.
+     */
+    SPILL
+}
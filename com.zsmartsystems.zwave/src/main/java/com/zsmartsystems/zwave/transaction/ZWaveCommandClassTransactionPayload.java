@@ -14,6 +14,9 @@ public class ZWaveCommandClassTransactionPayload extends ZWaveCommandClassPayloa
     private final Integer expectedResponseCommandClassCommand;
     private TransactionPriority priority;
     private int maxAttempts = 0;
+    private int timeout = 5000;
+    private int targetLength = 0;
+    private int followUpGroup = -1;
 
     private boolean requiresSecurity = false;
     private boolean requiresResponse = true;
@@ -71,8 +74,52 @@ public class ZWaveCommandClassTransactionPayload extends ZWaveCommandClassPayloa
         return nodeId;
     }
 
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
     public int getTimeout() {
-        return 5000;
+        return timeout;
+    }
+
+    /**
+     * Sets the number of bytes at the start of the payload, including the command class and command, that identify
+     * what a command without a response sets - eg 3 for a CONFIGURATION_SET, whose first parameter is the
+     * configuration parameter number. A queued transaction to the same target is replaced when this one is queued.
+     *
+     * @param targetLength the number of bytes identifying the target, or 0 if transactions are not replaced
+     */
+    public void setTargetLength(int targetLength) {
+        this.targetLength = targetLength;
+    }
+
+    /**
+     * Gets the number of bytes at the start of the payload that identify what the command sets
+     *
+     * @return the number of bytes identifying the target, or 0 if transactions are not replaced
+     */
+    public int getTargetLength() {
+        return targetLength;
+    }
+
+    /**
+     * Marks this as the singlecast follow-up to an S2 multicast frame. The payload is the command that was sent in the
+     * multicast frame, and is encapsulated for the node when the transaction is sent, so each attempt uses the next
+     * nonce from the node's SPAN.
+     *
+     * @param groupId the multicast group the command was sent to
+     */
+    public void setFollowUpGroup(int groupId) {
+        this.followUpGroup = groupId;
+    }
+
+    /**
+     * Gets the S2 multicast group this is the follow-up to
+     *
+     * @return the multicast group id, or -1 if this is not a multicast follow-up
+     */
+    public int getFollowUpGroup() {
+        return followUpGroup;
     }
 
     public boolean requiresData() {
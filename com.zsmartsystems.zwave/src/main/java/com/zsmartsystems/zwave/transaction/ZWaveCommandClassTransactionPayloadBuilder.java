@@ -1,5 +1,8 @@
 package com.zsmartsystems.zwave.transaction;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +22,8 @@ public class ZWaveCommandClassTransactionPayloadBuilder {
     private TransactionPriority priority = TransactionPriority.Get;
     private ZWaveCommandClassEnum expectedResponseCommandClass;
     private int expectedResponseCommandClassCommand;
+    private int targetLength;
+    private int followUpGroup = -1;
     private final boolean payloadBuilt;
 
     private static final Logger logger = LoggerFactory.getLogger(ZWaveCommandClassTransactionPayloadBuilder.class);
@@ -43,6 +48,33 @@ public class ZWaveCommandClassTransactionPayloadBuilder {
         this.payloadBuilt = true;
     }
 
+    /**
+     * Creates a builder from a command that has been encoded into a {@link ByteBuffer}. The bytes between the position
+     * and the limit of the buffer are used as the payload. If the buffer wraps an array of exactly this length (as
+     * with {@link ByteBuffer#wrap(byte[])} on an array sized with the command length constant), the array is used
+     * directly and no copy is made.
+     *
+     * @param nodeId the destination node
+     * @param payload the {@link ByteBuffer} holding the encoded command
+     */
+    public ZWaveCommandClassTransactionPayloadBuilder(final int nodeId, final ByteBuffer payload) {
+        this(nodeId, getPayloadArray(payload));
+    }
+
+    private static byte[] getPayloadArray(final ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.limit() == buffer.array().length) {
+            return buffer.array();
+        }
+        if (buffer.hasArray()) {
+            return Arrays.copyOfRange(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.arrayOffset() + buffer.limit());
+        }
+        byte[] output = new byte[buffer.remaining()];
+        buffer.duplicate().get(output);
+        return output;
+    }
+
     public ZWaveCommandClassTransactionPayloadBuilder withPayloadBuffer(final byte[] payload) {
         this.payload = payload;
         return this;
@@ -74,6 +106,29 @@ public class ZWaveCommandClassTransactionPayloadBuilder {
         return this;
     }
 
+    /**
+     * Allows a later transaction to the same target to replace this one while it is still queued. The target is the
+     * command class, the command, and the given number of bytes from the start of the command parameters.
+     *
+     * @param parameterLength the number of parameter bytes that identify the target
+     * @return this builder
+     */
+    public ZWaveCommandClassTransactionPayloadBuilder withTarget(int parameterLength) {
+        this.targetLength = 2 + parameterLength;
+        return this;
+    }
+
+    /**
+     * Sends the command as the singlecast follow-up to an S2 multicast frame, encapsulated when it is sent
+     *
+     * @param groupId the multicast group the command was sent to
+     * @return this builder
+     */
+    public ZWaveCommandClassTransactionPayloadBuilder withFollowUpGroup(int groupId) {
+        this.followUpGroup = groupId;
+        return this;
+    }
+
     public ZWaveCommandClassTransactionPayload build() {
         byte[] output;
         if (payloadBuilt) {
@@ -87,14 +142,17 @@ public class ZWaveCommandClassTransactionPayloadBuilder {
 
             output[0] = (byte) commandClass.getKey();
             output[1] = (byte) command;
-            for (int i = 2; i < output.length; ++i) {
-                output[i] = payload[i - 2];
+            if (payload != null) {
+                System.arraycopy(payload, 0, output, 2, payload.length);
             }
         }
 
         logger.debug("At build {}", expectedResponseCommandClass);
 
-        return new ZWaveCommandClassTransactionPayload(nodeId, output, priority, expectedResponseCommandClass,
-                expectedResponseCommandClassCommand);
+        ZWaveCommandClassTransactionPayload transactionPayload = new ZWaveCommandClassTransactionPayload(nodeId,
+                output, priority, expectedResponseCommandClass, expectedResponseCommandClassCommand);
+        transactionPayload.setTargetLength(targetLength);
+        transactionPayload.setFollowUpGroup(followUpGroup);
+        return transactionPayload;
     }
 }
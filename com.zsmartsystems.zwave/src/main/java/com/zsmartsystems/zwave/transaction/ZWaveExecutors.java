@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the executors used to run work for the stack. Virtual threads are used when the JDK provides them (JDK 21
+ * and later), so a task that blocks - eg waiting in {@link ZWaveTransactionManager#sendTransaction} - costs a few
+ * kilobytes of heap rather than a platform thread. The library is built for Java 8, so virtual threads are found by
+ * reflection, and callers fall back to platform threads, or to the non-blocking
+ * {@link ZWaveTransactionManager#sendTransactionAsync} API, on older JDKs.
+ *
+ * @author Jordan Hayes
+ */
+public final class ZWaveExecutors {
+    private final static Logger logger = LoggerFactory.getLogger(ZWaveExecutors.class);
+
+    /**
+     * The factory for virtual threads, or null if the JDK doesn't support them
+     */
+    private final static ThreadFactory virtualThreadFactory = getVirtualThreadFactory();
+
+    private ZWaveExecutors() {
+    }
+
+    private static ThreadFactory getVirtualThreadFactory() {
+        try {
+            // Use the public Thread.Builder interface, as the builder implementation isn't accessible
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "ZWaveVirtual-", 1L);
+            Method factory = builderClass.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Not supported, or a preview feature that isn't enabled
+            logger.debug("Virtual threads are not available: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Checks if the JDK supports virtual threads
+     *
+     * @return true if virtual threads are available
+     */
+    public static boolean isVirtualThreadAvailable() {
+        return virtualThreadFactory != null;
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread
+     *
+     * @return the {@link ExecutorService}, or null if virtual threads are not available
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (virtualThreadFactory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, virtualThreadFactory);
+        } catch (ReflectiveOperationException e) {
+            logger.debug("Virtual thread executor is not available: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Creates a fixed pool of daemon platform threads
+     *
+     * @param name the prefix for the thread names
+     * @param threads the number of threads
+     * @return the {@link ExecutorService}
+     */
+    public static ExecutorService newPlatformExecutor(final String name, int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
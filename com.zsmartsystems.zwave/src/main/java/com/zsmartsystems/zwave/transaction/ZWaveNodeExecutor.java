@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs tasks for each node in the order they are submitted, while tasks for different nodes run in parallel on a
+ * shared {@link Executor}.
+ * <p>
+ * Each node has its own queue of tasks, which is run by at most one thread at a time. A node's queue is submitted to
+ * the executor when its first task is added, and runs a limited batch of tasks before it is resubmitted, so a node
+ * with a long backlog shares the threads fairly. A task that blocks holds its node's queue and a thread of the
+ * executor - with virtual threads that only delays the other tasks for the same node, but a fixed pool of platform
+ * threads is shared, so once every thread is blocked the tasks for all the other nodes wait as well.
+ *
+ * @author Jordan Hayes
+ */
+class ZWaveNodeExecutor {
+    private final static Logger logger = LoggerFactory.getLogger(ZWaveNodeExecutor.class);
+
+    /**
+     * The number of tasks a node runs before giving up its thread
+     */
+    private final static int BATCH_SIZE = 16;
+
+    private final static int MAX_NODES = 256;
+
+    private final Executor executor;
+    private final AtomicReferenceArray<NodeTasks> nodes = new AtomicReferenceArray<NodeTasks>(MAX_NODES);
+
+    /**
+     * Set while the thread is running the tasks for a node
+     */
+    private final ThreadLocal<Boolean> runningTask = new ThreadLocal<Boolean>();
+
+    private class NodeTasks implements Runnable {
+        private final int nodeId;
+        private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        NodeTasks(int nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        void add(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    logger.debug("NODE {}: Executor shut down - {} tasks discarded", nodeId, tasks.size());
+                    tasks.clear();
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            runningTask.set(Boolean.TRUE);
+            try {
+                for (int cnt = 0; cnt < BATCH_SIZE; cnt++) {
+                    Runnable task = tasks.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        logger.error("NODE {}: Exception processing command", nodeId, e);
+                    }
+                }
+            } finally {
+                runningTask.remove();
+            }
+
+            scheduled.set(false);
+            // A task may have been added after the last poll, but before it could see that we were still running
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Creates the node executor
+     *
+     * @param executor the {@link Executor} to run the tasks
+     */
+    ZWaveNodeExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs a task after all the tasks previously submitted for the node
+     *
+     * @param nodeId the node id
+     * @param task the task to run
+     */
+    void execute(int nodeId, Runnable task) {
+        int index = nodeId & (MAX_NODES - 1);
+        NodeTasks node = nodes.get(index);
+        if (node == null) {
+            nodes.compareAndSet(index, null, new NodeTasks(index));
+            node = nodes.get(index);
+        }
+        node.add(task);
+    }
+
+    /**
+     * Checks if the calling thread is running a task for a node. A task that waits for something only completed by a
+     * later task for the same node would never finish.
+     *
+     * @return true if called from a task run by this executor
+     */
+    boolean isRunningTask() {
+        return runningTask.get() != null;
+    }
+}
@@ -0,0 +1,321 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The queue of received messages waiting for the receive thread. This is a bounded, lock-free ring buffer for many
+ * producers (the transport threads) and a single consumer (the receive thread). When the ring is full the
+ * {@link ReceiveOverflowPolicy} decides whether the oldest message is dropped, the producer waits, or the message is
+ * spilled to an overflow list. While the overflow list holds messages, new messages are added to it rather than the
+ * ring, whatever the policy, and it is only emptied once the ring has been, so messages are always removed in the
+ * order they were added.
+ * <p>
+ * Each slot of the ring holds a sequence number, which tells producers and consumers whose turn it is to use the slot,
+ * so a message is added or removed with a single compare and set. The producer that drops the oldest message removes
+ * it exactly as the consumer would, so the two never conflict.
+ * <p>
+ * The depth of the queue, its high water mark, and the number of messages dropped and spilled are kept for
+ * monitoring.
+ *
+ * @author Jordan Hayes
+ */
+class ZWaveReceiveQueue<E> {
+    /**
+     * The time a blocked producer waits before checking the ring again
+     */
+    private final static long BLOCK_WAIT = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequence;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final ConcurrentLinkedQueue<E> overflow = new ConcurrentLinkedQueue<E>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+
+    private volatile ReceiveOverflowPolicy policy = ReceiveOverflowPolicy.BLOCK;
+
+    /**
+     * The consumer thread, once it has called {@link #take()}
+     */
+    private volatile Thread consumer;
+
+    /**
+     * The consumer thread while it is parked waiting for a message
+     */
+    private volatile Thread waiter;
+
+    /**
+     * Creates a queue
+     *
+     * @param capacity the capacity of the ring. This is rounded up to a power of 2.
+     */
+    ZWaveReceiveQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        buffer = new AtomicReferenceArray<E>(size);
+        sequence = new AtomicLongArray(size);
+        for (int cnt = 0; cnt < size; cnt++) {
+            sequence.set(cnt, cnt);
+        }
+    }
+
+    void setPolicy(ReceiveOverflowPolicy policy) {
+        this.policy = policy;
+    }
+
+    ReceiveOverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the capacity of the ring, not including the overflow list
+     *
+     * @return the capacity
+     */
+    int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds a message to the queue, applying the {@link ReceiveOverflowPolicy} if the ring is full
+     *
+     * @param element the message to add
+     * @return true if the message was added, or false if it was discarded because the producer was interrupted while
+     *         waiting for room
+     */
+    boolean add(E element) {
+        if (offerInOrder(element)) {
+            signal();
+            return true;
+        }
+
+        ReceiveOverflowPolicy policy = this.policy;
+        if (policy == ReceiveOverflowPolicy.BLOCK && Thread.currentThread() == consumer) {
+            // The consumer would be waiting for itself
+            policy = ReceiveOverflowPolicy.SPILL;
+        }
+
+        switch (policy) {
+            case DROP_OLDEST:
+                while (!offerInOrder(element)) {
+                    if (pollRing() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                break;
+            case BLOCK:
+                while (!offerInOrder(element)) {
+                    signal();
+                    LockSupport.parkNanos(this, BLOCK_WAIT);
+                    if (Thread.interrupted()) {
+                        Thread.currentThread().interrupt();
+                        dropped.incrementAndGet();
+                        return false;
+                    }
+                }
+                break;
+            default:
+                if (!offerInOrder(element)) {
+                    spill(element);
+                }
+                break;
+        }
+        signal();
+        return true;
+    }
+
+    /**
+     * Removes the oldest message from the queue, if there is one
+     *
+     * @return the oldest message, or null if the queue is empty
+     */
+    E poll() {
+        E element = pollRing();
+        if (element == null && overflowSize.get() != 0) {
+            element = overflow.poll();
+            if (element != null) {
+                overflowSize.decrementAndGet();
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Removes the oldest message from the queue, waiting for one if the queue is empty. This must only be called by the
+     * consumer thread.
+     *
+     * @return the oldest message
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    E take() throws InterruptedException {
+        consumer = Thread.currentThread();
+        E element;
+        while ((element = poll()) == null) {
+            waiter = consumer;
+            // A message added before the waiter was set would not have signalled it
+            element = poll();
+            if (element != null) {
+                waiter = null;
+                break;
+            }
+            LockSupport.park(this);
+            waiter = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return element;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Gets the number of messages in the queue, including the overflow list
+     *
+     * @return the number of messages waiting
+     */
+    int size() {
+        return ringSize() + overflowSize.get();
+    }
+
+    /**
+     * Gets the largest number of messages that have been waiting in the queue at once
+     *
+     * @return the high water mark
+     */
+    int getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    /**
+     * Gets the number of messages that have been discarded
+     *
+     * @return the number of messages dropped
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of messages that have been added to the overflow list
+     *
+     * @return the number of messages spilled
+     */
+    long getSpilled() {
+        return spilled.get();
+    }
+
+    private int ringSize() {
+        // Read the head first so that a concurrent poll can't make the size negative
+        long start = head.get();
+        return (int) Math.max(0, Math.min(tail.get() - start, mask + 1));
+    }
+
+    /**
+     * Adds a message to the overflow list if it is in use, otherwise to the ring
+     *
+     * @param element the message to add
+     * @return false if the message was not added because the ring is full
+     */
+    private boolean offerInOrder(E element) {
+        if (overflowSize.get() != 0) {
+            spill(element);
+            return true;
+        }
+        return offer(element);
+    }
+
+    private void spill(E element) {
+        // Counted before it is added, so that other producers stop using the ring straight away
+        updateHighWaterMark(overflowSize.incrementAndGet() + ringSize());
+        overflow.add(element);
+        spilled.incrementAndGet();
+    }
+
+    private boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequence.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, element);
+                    // A full write, so that a parked consumer is always seen by signal()
+                    sequence.set(index, position + 1);
+                    updateHighWaterMark((int) (position + 1 - head.get()));
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the message from the previous lap - the ring is full
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private E pollRing() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequence.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = buffer.get(index);
+                    buffer.lazySet(index, null);
+                    sequence.lazySet(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // The slot hasn't been written since the last lap - the ring is empty
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    private void signal() {
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void updateHighWaterMark(int depth) {
+        int current = highWaterMark.get();
+        while (depth > current && !highWaterMark.compareAndSet(current, depth)) {
+            current = highWaterMark.get();
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.zsmartsystems.zwave.transaction;
 
 import java.util.Arrays;
-import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 
 import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
 import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
+import com.zsmartsystems.zwave.timer.ZWaveTimeout;
 
 /**
  * This class handles transaction tracking for ZWave.
@@ -20,13 +21,24 @@ public class ZWaveTransaction {
     private static final Logger logger = LoggerFactory.getLogger(ZWaveTransaction.class);
 
     private final static AtomicLong sequence = new AtomicLong();
-    private final long transactionId = sequence.getAndIncrement();
+    private final long transactionId = sequence.incrementAndGet();
     private boolean waitForResponse = true;
 
     private int DEFAULT_TIMEOUT = 5000;
 
     private ZWaveCommandClassTransactionPayload payload;
 
+    /**
+     * Completed with the response once the transaction has finished
+     */
+    private final CompletableFuture<ZWaveTransactionResponse> future = new CompletableFuture<>();
+
+    /**
+     * True if a caller is waiting for this transaction while processing a command from a node, so it must be completed
+     * as soon as its response is received rather than after the node has processed the response
+     */
+    private volatile boolean completeOnReceive;
+
     /**
      * Transaction state tracking is handled by working through the different stages of
      * a transaction and handling the transaction stages and completion checking.
@@ -65,7 +77,7 @@ public class ZWaveTransaction {
     private boolean requiresResponse = true;
 
     private long startTime;
-    private Date timeout;
+    private ZWaveTimeout timeout;
 
     public ZWaveTransaction(final ZWaveCommandClassTransactionPayload payload) {
         this.priority = payload.getPriority();
@@ -108,10 +120,20 @@ public class ZWaveTransaction {
         // return;
         // }
 
+        // If we're expecting a response from the node, then wait for the data
+        if (requiresResponse && payload.getExpectedResponseCommandClass() != null) {
+            transactionStateTracker = TransactionState.WAIT_DATA;
+            return;
+        }
+
         // If we get here, we don't require any response, so we're done!
         transactionStateTracker = TransactionState.DONE;
     }
 
+    public ZWaveCommandClassTransactionPayload getPayload() {
+        return payload;
+    }
+
     public byte[] getPayloadBuffer() {
         return payload.getPayloadBuffer();
     }
@@ -144,6 +166,36 @@ public class ZWaveTransaction {
         return null;
     }
 
+    /**
+     * Gets the key used to correlate the expected response with this transaction. See
+     * {@link #getCorrelationKey(int, int, int, int)}. Transactions are currently always addressed to the root
+     * endpoint.
+     *
+     * @return the correlation key, or -1 if no response is expected
+     */
+    public int getCorrelationKey() {
+        ZWaveCommandClassEnum commandClass = getExpectedCommandClass();
+        Integer command = getExpectedCommandClassCommand();
+        if (commandClass == null || command == null) {
+            return -1;
+        }
+        return getCorrelationKey(getNodeId(), 0, commandClass.getKey(), command);
+    }
+
+    /**
+     * Packs the node, endpoint, command class and command of a message into a single key so that received commands
+     * can be matched against outstanding transactions with a single lookup.
+     *
+     * @param nodeId the node id
+     * @param endpointId the endpoint id
+     * @param commandClassId the command class id
+     * @param command the command class command
+     * @return the correlation key
+     */
+    public static int getCorrelationKey(int nodeId, int endpointId, int commandClassId, int command) {
+        return (nodeId & 0xFF) << 24 | (endpointId & 0xFF) << 16 | (commandClassId & 0xFF) << 8 | (command & 0xFF);
+    }
+
     public TransactionState getTransactionState() {
         return transactionStateTracker;
     }
@@ -164,11 +216,11 @@ public class ZWaveTransaction {
         return System.currentTimeMillis() - startTime;
     }
 
-    public void setTimeout(Date timeout) {
+    public void setTimeout(ZWaveTimeout timeout) {
         this.timeout = timeout;
     }
 
-    public Date getTimeout() {
+    public ZWaveTimeout getTimeout() {
         return timeout;
     }
 
@@ -267,6 +319,35 @@ public class ZWaveTransaction {
         return requiresResponse;
     }
 
+    /**
+     * Gets the future that is completed when this transaction finishes
+     *
+     * @return the {@link CompletableFuture} for the {@link ZWaveTransactionResponse}
+     */
+    public CompletableFuture<ZWaveTransactionResponse> getFuture() {
+        return future;
+    }
+
+    /**
+     * Sets that a caller is waiting for this transaction while processing a command from a node, so it is completed on
+     * the receive thread
+     *
+     * @param completeOnReceive true to complete the transaction as soon as its response is received
+     */
+    public void setCompleteOnReceive(boolean completeOnReceive) {
+        this.completeOnReceive = completeOnReceive;
+    }
+
+    /**
+     * Checks if this transaction is completed as soon as its response is received, rather than after the node has
+     * processed the response
+     *
+     * @return true if the transaction is completed on the receive thread
+     */
+    public boolean isCompleteOnReceive() {
+        return completeOnReceive;
+    }
+
     public long getTransactionId() {
         return transactionId;
     }
@@ -315,6 +396,11 @@ public class ZWaveTransaction {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * getNodeId() + Arrays.hashCode(payload.getPayloadBuffer());
+    }
+
     @Override
     public String toString() {
         return "TID:" + transactionId + " [" + transactionStateTracker + "]";
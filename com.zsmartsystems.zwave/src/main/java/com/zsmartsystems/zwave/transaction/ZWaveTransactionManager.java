@@ -1,18 +1,23 @@
 package com.zsmartsystems.zwave.transaction;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +25,13 @@ import org.slf4j.LoggerFactory;
 import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
 import com.zsmartsystems.zwave.ZWaveNetwork;
 import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveTransportTransmit;
 import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
 import com.zsmartsystems.zwave.commandclass.ZWaveSecurityCommandClass;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurity2V1;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2Engine;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2KeyClass;
+import com.zsmartsystems.zwave.timer.ZWaveTimer;
 import com.zsmartsystems.zwave.transaction.ZWaveTransaction.TransactionState;
 import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse.State;
 
@@ -65,7 +75,8 @@ import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse.State;
  * <li>Only a single transaction still awaiting a <i>RES</i>ponse can be outstanding to ANY node.</li>
  * <li>Only a single transaction still awaiting a <i>REQ</i>uest can be outstanding to a specific node.</li>
  * <li>Only a single transaction requiring a <i>DATA</i> response can be released at once to a specific node.</li>
- * <li>A total of MAX_OUTSTANDING_TRANSACTIONS can be outstanding at once.</li>
+ * <li>A total of MAX_OUTSTANDING_TRANSACTIONS can be outstanding at once. This window can be changed with
+ * {@link #setMaxOutstandingTransactions(int)}.</li>
  * </ul>
  * </p>
  * <h2>Transaction Flow</h2>
@@ -94,17 +105,39 @@ import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse.State;
  * Only a single transaction requiring a response can be released at once to any single node. This
  * specifically allows NONCE responses to be sent in the middle of a secure transaction.
  * <p>
+ * A request expecting a response - eg a GET - equal to one that is still queued is not sent twice. It shares the
+ * queued transaction, so all callers receive the same response. A command without a response - eg a SET - that was
+ * built with an explicit target (see {@link ZWaveCommandClassTransactionPayloadBuilder#withTarget(int)}) takes the
+ * place in the queue of a queued command to the same target.
+ * <p>
+ * <h2>RX Message Queue</h2>
+ * <p>
+ * Received messages are passed to the receive thread through a bounded lock-free ring buffer, so the transport threads
+ * never wait for a lock. If a burst of reports (for example when power is restored to the network) fills the queue, the
+ * {@link ReceiveOverflowPolicy} set with {@link #setReceiveOverflowPolicy} decides what happens - by default the
+ * transport waits for room, but the serial controller spills messages rather than stalling its receive thread. The
+ * depth of the queue can be monitored with {@link #getReceiveQueueLength()} and
+ * {@link #getReceiveQueueHighWaterMark()}.
+ * </p>
+ * <p>
+ * The receive thread only correlates received commands with outstanding transactions. The commands are then passed to
+ * the nodes on a pool of worker threads, so that slow command classes or listeners (eg rule engines or persistence)
+ * can't stall the radio. Commands from each node are processed in the order they were received, and different nodes
+ * are processed in parallel.
+ * </p>
  * <h2>Timeouts</h2>
  * <p>
- * A timer thread manages timeouts - different times are used for the different stages of a transaction.
- * Defaults for each timer are as follows -:
+ * Timeouts are scheduled on the {@link ZWaveTimer} shared by the network, with a timeout for each outstanding
+ * transaction that is cancelled when the transaction completes. Different times are used for the different stages of a
+ * transaction. Defaults for each timer are as follows -:
  * <ul>
  * <li><i>RES</i>ponse - should be received within <b>250ms</b> of the <i>REQ</i>uest</li>
  * <li><i>REQ</i>uest - should be received within <b>2500ms</b> of the <i>REQ</i>uest or the controllers <i>RES</i>ponse
  * </li>
  * <li><i>DATA</i> - should be received within <b>2500ms</b> of the <i>REQ</i>uest.</li>
  * </ul>
- * When a timeout occurs - what????
+ * When a timeout occurs the transaction is queued again after a short delay if it has attempts remaining. Otherwise it
+ * is cancelled and the sender is notified of the timeout.
  * </p>
  * <h2>Cancelled Transactions</h2>
  * <p>
@@ -119,10 +152,27 @@ public class ZWaveTransactionManager {
     private Logger logger = LoggerFactory.getLogger(ZWaveTransactionManager.class);
 
     private final int INITIAL_TX_QUEUE_SIZE = 128;
-    // private final int MAX_OUTSTANDING_TRANSACTIONS = 3;
+    private final int MAX_OUTSTANDING_TRANSACTIONS = 32;
+    private final int RECEIVE_QUEUE_SIZE = 256;
+
+    /**
+     * The number of threads processing application commands. Listeners may block, so there are always a few even on a
+     * single processor.
+     */
+    private final int COMMAND_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The maximum number of transactions that can be waiting for data at once
+     */
+    private int maxOutstandingTransactions = MAX_OUTSTANDING_TRANSACTIONS;
 
     private ZWaveNetwork controller;
 
+    /**
+     * The transport used to send frames released by the transaction manager
+     */
+    private final ZWaveTransportTransmit transport;
+
     /**
      * Timeout in which we expect the initial response from the controller
      */
@@ -138,13 +188,35 @@ public class ZWaveTransactionManager {
      */
     private final long timerAbort = 12000;
 
-    private final Timer timer = new Timer();
-    private TimerTask timerTask = null;
+    /**
+     * Delay before a transaction that timed out is queued again
+     */
+    private final long timerRetry = 250;
 
-    private final ArrayBlockingQueue<ZWaveCommandClassPayload> recvQueue;
+    private final ZWaveTimer timer;
 
-    private final PriorityBlockingQueue<ZWaveTransaction> sendQueue = new PriorityBlockingQueue<ZWaveTransaction>(
-            INITIAL_TX_QUEUE_SIZE, new ZWaveTransactionComparator());
+    private final ZWaveReceiveQueue<ZWaveReceivedMessage> recvQueue = new ZWaveReceiveQueue<ZWaveReceivedMessage>(
+            RECEIVE_QUEUE_SIZE);
+
+    private final ZWaveTransactionQueue sendQueue = new ZWaveTransactionQueue() {
+        @Override
+        protected boolean isNodeAvailable(int nodeId) {
+            ZWaveNode node = controller.getNode(nodeId);
+            if (node == null) {
+                logger.debug("NODE {}: Node not found - has this node been removed?!?", nodeId);
+                return false;
+            }
+
+            // Check if the node is awake
+            if (!node.isAwake()) {
+                logger.debug("NODE {}: Node not awake!", nodeId);
+                return false;
+            }
+
+            // Only release a single transaction to each node
+            return !outstandingNodes.containsKey(nodeId);
+        }
+    };
     private final PriorityBlockingQueue<ZWaveTransaction> secureQueue = new PriorityBlockingQueue<ZWaveTransaction>(
             INITIAL_TX_QUEUE_SIZE, new ZWaveTransactionComparator());
     private final PriorityBlockingQueue<ZWaveTransaction> controllerQueue = new PriorityBlockingQueue<ZWaveTransaction>(
@@ -152,50 +224,134 @@ public class ZWaveTransactionManager {
 
     private ZWaveReceiveThread receiveThread;
 
-    private ExecutorService executor = Executors.newCachedThreadPool();
-    private final List<TransactionListener> transactionListeners = new ArrayList<TransactionListener>();
+    /**
+     * The threads that pass received commands to the nodes, and the per node ordering over them
+     */
+    private final ExecutorService commandExecutor;
+    private final ZWaveNodeExecutor nodeExecutor;
+    private final boolean virtualThreadExecutor;
 
-    private final List<ZWaveTransaction> outstandingTransactions = new ArrayList<ZWaveTransaction>();
 
-    private ZWaveTransaction lastTransaction = null;
+    /**
+     * Transactions that have been sent, keyed by their transaction id
+     */
+    private final Map<Long, ZWaveTransaction> outstandingTransactions = new LinkedHashMap<Long, ZWaveTransaction>();
+
+    /**
+     * Transactions waiting for data from a node, keyed by the correlation key of the response they expect. See
+     * {@link ZWaveTransaction#getCorrelationKey(int, int, int, int)}.
+     */
+    private final Map<Integer, Deque<ZWaveTransaction>> responseIndex = new HashMap<Integer, Deque<ZWaveTransaction>>(
+            MAX_OUTSTANDING_TRANSACTIONS * 2);
+
+    /**
+     * The number of outstanding transactions for each node. Only a single transaction is released to each node from
+     * the send queue at once.
+     */
+    private final Map<Integer, Integer> outstandingNodes = new HashMap<Integer, Integer>();
+
+    /**
+     * The number of transactions coalesced with, or superseding, a queued transaction. Guarded by the send queue.
+     */
+    private long coalescedTransactions = 0;
+
+    /**
+     * A received command along with the node it was received from
+     */
+    private static class ZWaveReceivedMessage {
+        private final int nodeId;
+        private final ZWaveCommandClassPayload payload;
+
+        ZWaveReceivedMessage(int nodeId, ZWaveCommandClassPayload payload) {
+            this.nodeId = nodeId;
+            this.payload = payload;
+        }
+    }
 
     public ZWaveTransactionManager(ZWaveNetwork controller) {
-        this.controller = controller;
+        this(controller, null);
+    }
 
-        recvQueue = new ArrayBlockingQueue<ZWaveCommandClassPayload>(INITIAL_TX_QUEUE_SIZE);
+    /**
+     * Creates the transaction manager
+     *
+     * @param controller the {@link ZWaveNetwork}
+     * @param transport the {@link ZWaveTransportTransmit} used to send the frames released by the transaction manager
+     */
+    public ZWaveTransactionManager(ZWaveNetwork controller, ZWaveTransportTransmit transport) {
+        this(controller, transport, false);
+    }
+
+    /**
+     * Creates the transaction manager, optionally processing received commands on virtual threads. With virtual
+     * threads, listeners that block (eg calling {@link #sendTransaction} from a command class) only park a virtual
+     * thread. If the JDK doesn't support virtual threads a fixed pool of platform threads is used, and each blocked
+     * listener holds one of its threads. A transaction sent while processing a command is completed on the receive
+     * thread rather than the worker queue of its node, so a listener can wait for a transaction to its own node.
+     *
+     * @param controller the {@link ZWaveNetwork}
+     * @param transport the {@link ZWaveTransportTransmit} used to send the frames released by the transaction manager
+     * @param virtualThreads true to process received commands on virtual threads if they are available
+     */
+    public ZWaveTransactionManager(ZWaveNetwork controller, ZWaveTransportTransmit transport,
+            boolean virtualThreads) {
+        this.controller = controller;
+        this.transport = transport;
+        this.timer = controller.getTimer();
+
+        ExecutorService executor = null;
+        if (virtualThreads) {
+            executor = ZWaveExecutors.newVirtualThreadExecutor();
+            if (executor == null) {
+                logger.info("Virtual threads are not supported by this JDK - using platform threads");
+            }
+        }
+        virtualThreadExecutor = executor != null;
+        if (executor == null) {
+            executor = ZWaveExecutors.newPlatformExecutor("ZWaveCommand-", COMMAND_THREADS);
+        }
+        commandExecutor = executor;
+        nodeExecutor = new ZWaveNodeExecutor(commandExecutor);
 
         receiveThread = new ZWaveReceiveThread();
         receiveThread.start();
     }
 
-    private void addTransactionListener(TransactionListener listener) {
-        synchronized (transactionListeners) {
-            if (transactionListeners.contains(listener)) {
-                return;
-            }
-
-            transactionListeners.add(listener);
-        }
+    /**
+     * Checks if received commands are processed on virtual threads
+     *
+     * @return true if virtual threads are used
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreadExecutor;
     }
 
-    private void removeTransactionListener(TransactionListener listener) {
-        synchronized (transactionListeners) {
-            transactionListeners.remove(listener);
+    /**
+     * Sets the maximum number of transactions that can be waiting for data from nodes at once. Only a single
+     * transaction is released to each node, so this limits the number of nodes being communicated with in parallel.
+     *
+     * @param maxOutstandingTransactions the maximum number of outstanding transactions. Must be at least 1.
+     */
+    public void setMaxOutstandingTransactions(int maxOutstandingTransactions) {
+        if (maxOutstandingTransactions < 1) {
+            throw new IllegalArgumentException("maxOutstandingTransactions must be at least 1");
         }
+        synchronized (sendQueue) {
+            this.maxOutstandingTransactions = maxOutstandingTransactions;
+        }
+
+        sendNextMessage();
     }
 
+    /**
+     * Completes the future of a transaction that has finished, successfully or not. Dependent actions on the future
+     * are run on this thread, so this must not be called with the sendQueue lock held.
+     *
+     * @param transaction the finished {@link ZWaveTransaction}
+     */
     private void notifyTransactionComplete(final ZWaveTransaction transaction) {
         logger.debug("NODE {}: notifyTransactionResponse {}", transaction.getNodeId(), transaction.getTransactionId());
-        new Thread() {
-            @Override
-            public void run() {
-                synchronized (transactionListeners) {
-                    for (TransactionListener listener : transactionListeners) {
-                        listener.transactionEvent(transaction);
-                    }
-                }
-            }
-        }.start();
+        transaction.getFuture().complete(getTransactionResponse(transaction));
 
         // If this transaction isn't complete, check if it's a secure transaction as we need to
         // abort the original request.
@@ -205,11 +361,8 @@ public class ZWaveTransactionManager {
             logger.debug("NODE {}: processing secure transaction -- {}", transaction.getNodeId(),
                     secureTransaction.getLinkedTransaction().getTransactionId());
 
-            synchronized (transactionListeners) {
-                for (TransactionListener listener : transactionListeners) {
-                    listener.transactionEvent(secureTransaction.getLinkedTransaction());
-                }
-            }
+            ZWaveTransaction linkedTransaction = secureTransaction.getLinkedTransaction();
+            linkedTransaction.getFuture().complete(getTransactionResponse(linkedTransaction));
 
             synchronized (sendQueue) {
                 sendQueue.remove(secureTransaction.getLinkedTransaction());
@@ -235,36 +388,84 @@ public class ZWaveTransactionManager {
         secureQueue.add(transaction);
         logger.debug("NODE {}: Added to secure queue - size {}", transaction.getNodeId(), secureQueue.size());
 
+        sendNextMessage();
         return transaction.getTransactionId();
     }
 
     public long queueTransactionForSend(ZWaveCommandClassTransactionPayload payload) {
+        return queueTransaction(payload).getTransactionId();
+    }
 
+    private ZWaveTransaction queueTransaction(ZWaveCommandClassTransactionPayload payload) {
         // Create a transaction from our payload data
         ZWaveTransaction transaction = new ZWaveTransaction(payload);
         if (payload.getMaxAttempts() != 0) {
             transaction.setAttemptsRemaining(payload.getMaxAttempts());
         }
+        // A command class waiting for the transaction holds up the commands from its node, including the response
+        transaction.setCompleteOnReceive(nodeExecutor.isRunningTask());
         // transaction.getSerialMessageClass();
 
         // Add the transaction to the queue
-        addTransactionToQueue(transaction);
-
-        return transaction.getTransactionId();
+        return addTransactionToQueue(transaction);
     }
 
-    private void addTransactionToQueue(ZWaveTransaction transaction) {
+    /**
+     * Adds a transaction to the send queue, unless an equal transaction is already queued. A transaction expecting a
+     * response shares the queued transaction, while a transaction without a response takes the place of a queued
+     * transaction that it supersedes, and completes the queued transaction's future with its own response.
+     *
+     * @param transaction the {@link ZWaveTransaction} to queue
+     * @return the {@link ZWaveTransaction} that will be sent for the caller
+     */
+    private ZWaveTransaction addTransactionToQueue(final ZWaveTransaction transaction) {
         synchronized (sendQueue) {
-            if (sendQueue.contains(transaction)) {
-                logger.debug("NODE {}: Transaction already in queue - removing original", transaction.getNodeId());
-                sendQueue.remove(transaction);
+            ZWaveTransaction queued = sendQueue.coalesce(transaction);
+            if (queued != null) {
+                logger.debug("NODE {}: Transaction already in queue - sharing {}", transaction.getNodeId(),
+                        queued.getTransactionId());
+                coalescedTransactions++;
+                if (transaction.isCompleteOnReceive()) {
+                    queued.setCompleteOnReceive(true);
+                }
+                return queued;
+            }
+
+            final ZWaveTransaction superseded = sendQueue.replaceSuperseded(transaction);
+            if (superseded != null) {
+                logger.debug("NODE {}: Transaction already in queue - replacing {}", transaction.getNodeId(),
+                        superseded.getTransactionId());
+                coalescedTransactions++;
+                if (superseded.isCompleteOnReceive()) {
+                    transaction.setCompleteOnReceive(true);
+                }
+                transaction.getFuture().thenAccept(new Consumer<ZWaveTransactionResponse>() {
+                    @Override
+                    public void accept(ZWaveTransactionResponse response) {
+                        superseded.getFuture().complete(response);
+                    }
+                });
+            } else {
+                sendQueue.add(transaction);
             }
-            sendQueue.add(transaction);
-            logger.debug("NODE {}: Added to queue - size {}", transaction.getNodeId(), controllerQueue.size());
+            logger.debug("NODE {}: Added to queue - size {}", transaction.getNodeId(),
+                    sendQueue.size(transaction.getNodeId()));
         }
 
         sendNextMessage();
-        startTransactionTimer();
+        return transaction;
+    }
+
+    /**
+     * Gets the number of transactions that were not sent because an equal transaction was already queued, or that
+     * were replaced by a later transaction to the same target before they were sent
+     *
+     * @return the number of transactions coalesced in the send queue
+     */
+    public long getCoalescedTransactions() {
+        synchronized (sendQueue) {
+            return coalescedTransactions;
+        }
     }
 
     /**
@@ -279,18 +480,14 @@ public class ZWaveTransactionManager {
         }
 
         synchronized (sendQueue) {
-            int outstandingCount = 0;
-            for (ZWaveTransaction transaction : secureQueue) {
-                if (transaction.getNodeId() == nodeId) {
-                    outstandingCount++;
-                }
-            }
-            for (ZWaveTransaction transaction : sendQueue) {
-                if (transaction.getNodeId() == nodeId) {
-                    outstandingCount++;
-                }
+            int outstandingCount = sendQueue.size(nodeId);
+            Integer outstanding = outstandingNodes.get(nodeId);
+            if (outstanding != null) {
+                outstandingCount += outstanding;
             }
-            for (ZWaveTransaction transaction : outstandingTransactions) {
+
+            // The secure queue only holds the occasional NONCE report
+            for (ZWaveTransaction transaction : secureQueue) {
                 if (transaction.getNodeId() == nodeId) {
                     outstandingCount++;
                 }
@@ -300,14 +497,34 @@ public class ZWaveTransactionManager {
         }
     }
 
+    /**
+     * Notifies the transaction manager that a node has woken up, so that transactions queued while it was asleep can
+     * be sent.
+     *
+     * @param nodeId the node that is now awake
+     */
+    public void notifyNodeAwake(int nodeId) {
+        synchronized (sendQueue) {
+            sendQueue.resumeNode(nodeId);
+        }
+
+        sendNextMessage();
+    }
+
     /**
      * Clear the send queue
      */
     public void clearSendQueue() {
+        List<ZWaveTransaction> cleared;
         synchronized (sendQueue) {
-            sendQueue.clear();
-            secureQueue.clear();
-            controllerQueue.clear();
+            cleared = sendQueue.clear();
+            secureQueue.drainTo(cleared);
+            controllerQueue.drainTo(cleared);
+        }
+
+        for (ZWaveTransaction transaction : cleared) {
+            transaction.setTransactionCanceled();
+            notifyTransactionComplete(transaction);
         }
     }
 
@@ -318,42 +535,112 @@ public class ZWaveTransactionManager {
      * @param incomingMessage
      */
     public void processReceiveMessage(ZWaveCommandClassPayload incomingMessage) {
-        logger.debug("processReceiveMessage input" + incomingMessage.toString());
+        processReceiveMessage(0, incomingMessage);
+    }
 
-        synchronized (recvQueue) {
-            logger.debug("processReceiveMessage past lock" + incomingMessage.toString());
-            recvQueue.add(incomingMessage);
-            recvQueue.notify();
+    /**
+     * Processes an incoming {@link ZWaveCommandClassPayload} received from a node.
+     * This is called by the receive processing queue.
+     *
+     * @param nodeId the node that sent the message
+     * @param incomingMessage the received {@link ZWaveCommandClassPayload}
+     */
+    public void processReceiveMessage(int nodeId, ZWaveCommandClassPayload incomingMessage) {
+        logger.debug("NODE {}: processReceiveMessage input {}", nodeId, incomingMessage);
+
+        if (!recvQueue.add(new ZWaveReceivedMessage(nodeId, incomingMessage))) {
+            logger.warn("NODE {}: Interrupted waiting for room in the receive queue - message dropped", nodeId);
         }
     }
 
+    /**
+     * Sets what is done with a received message when the receive queue is full. The default is
+     * {@link ReceiveOverflowPolicy#BLOCK}.
+     *
+     * @param policy the {@link ReceiveOverflowPolicy}
+     */
+    public void setReceiveOverflowPolicy(ReceiveOverflowPolicy policy) {
+        recvQueue.setPolicy(policy);
+    }
+
+    /**
+     * Gets what is done with a received message when the receive queue is full
+     *
+     * @return the {@link ReceiveOverflowPolicy}
+     */
+    public ReceiveOverflowPolicy getReceiveOverflowPolicy() {
+        return recvQueue.getPolicy();
+    }
+
+    /**
+     * Gets the number of received messages waiting to be processed
+     *
+     * @return the number of messages in the receive queue
+     */
+    public int getReceiveQueueLength() {
+        return recvQueue.size();
+    }
+
+    /**
+     * Gets the largest number of received messages that have been waiting to be processed at once
+     *
+     * @return the high water mark of the receive queue
+     */
+    public int getReceiveQueueHighWaterMark() {
+        return recvQueue.getHighWaterMark();
+    }
+
+    /**
+     * Gets the number of received messages that have been discarded because the receive queue was full
+     *
+     * @return the number of messages dropped
+     */
+    public long getReceiveQueueDropped() {
+        return recvQueue.getDropped();
+    }
+
+    /**
+     * Gets the number of received messages that have been added to the overflow list because the receive queue was
+     * full
+     *
+     * @return the number of messages spilled
+     */
+    public long getReceiveQueueSpilled() {
+        return recvQueue.getSpilled();
+    }
+
     private class ZWaveReceiveThread extends Thread {
         @Override
         public void run() {
-            ZWaveCommandClassPayload incomingMessage;
+            ZWaveReceivedMessage receivedMessage;
             while (!interrupted()) {
                 if (recvQueue.isEmpty()) {
                     logger.debug("ZWaveReceiveThread queue empty");
 
                     // See if we need to send another message
                     sendNextMessage();
-                    startTransactionTimer();
                 }
 
                 try {
-                    incomingMessage = recvQueue.take();
+                    receivedMessage = recvQueue.take();
                 } catch (InterruptedException e) {
-                    e.printStackTrace();
-                    continue;
+                    break;
                 }
+                ZWaveCommandClassPayload incomingMessage = receivedMessage.payload;
 
                 ZWaveTransaction currentTransaction = null;
                 logger.debug("Received msg " + incomingMessage.toString());
-                logger.debug("lastTransaction " + lastTransaction);
 
-                // TODO: Get the node from somewhere!!!!!!
-                int nodeId = 0;// incomingMessage.getMessagePayloadByte(1);
-                ZWaveNode node = controller.getNode(nodeId);
+                int nodeId = receivedMessage.nodeId;
+
+                // S2 entropy is passed to the engine before the transaction waiting for the NONCE_REPORT completes,
+                // so that the SPAN is available to encapsulate the frame that follows
+                ZWaveS2Engine s2Engine = controller.getS2Engine();
+                if (s2Engine != null && isSecurity2NonceReport(incomingMessage)) {
+                    s2Engine.handleNonceReport(nodeId, incomingMessage.getPayloadBuffer());
+                }
+
+                final ZWaveNode node = controller.getNode(nodeId);
 
                 if (node == null) {
                     logger.warn("NODE {}: Not initialized (ie node unknown), ignoring message.", nodeId);
@@ -362,73 +649,70 @@ public class ZWaveTransactionManager {
                     // node.getNodeState().toString(),
                     // node.getNodeInitStage().toString());
 
-                    List<ZWaveCommandClassPayload> commands = node.processCommand(incomingMessage);
+                    // Transactions are correlated here, so that the next frames can be released straight away
+                    List<ZWaveTransaction> received = new ArrayList<ZWaveTransaction>();
+                    final List<ZWaveTransaction> completed = new ArrayList<ZWaveTransaction>();
+                    List<ZWaveCommandClassPayload> commands = node.getCommands(incomingMessage);
                     if (commands != null) {
-                        logger.debug("NODE {}: Commands processed {}.", nodeId, commands.size());
+                        logger.debug("NODE {}: Commands received {}.", nodeId, commands.size());
 
                         for (ZWaveCommandClassPayload command : commands) {
-                            logger.debug("NODE {}: Checking command {}.", nodeId, command);
                             // Correlate transactions
-                            List<ZWaveTransaction> completed = new ArrayList<ZWaveTransaction>();
+                            int correlationKey = ZWaveTransaction.getCorrelationKey(nodeId, 0,
+                                    command.getCommandClassId(), command.getCommandClassCommand());
 
                             synchronized (sendQueue) {
-                                for (ZWaveTransaction transaction : outstandingTransactions) {
-                                    logger.debug("NODE {}: Checking transaction : state >> {}", nodeId,
-                                            transaction.getTransactionState());
-                                    logger.debug("NODE {}: Checking transaction : node  >> {}", nodeId,
-                                            transaction.getNodeId());
-                                    logger.debug("NODE {}: Checking transaction : class >> {} == {}.", nodeId,
-                                            command.getCommandClassId(), transaction.getExpectedCommandClass() == null
-                                                    ? null : transaction.getExpectedCommandClass().getKey());
-                                    logger.debug("NODE {}: Checking transaction : commd >> {} == {}.", nodeId,
-                                            command.getCommandClassCommand(),
-                                            transaction.getExpectedCommandClassCommand());
-
-                                    if (transaction.getTransactionState() != TransactionState.WAIT_DATA) {
-                                        logger.debug("NODE {}: Ignoring transaction since not waiting for data.",
-                                                nodeId);
-                                        continue;
-                                    }
-
-                                    if (transaction.getExpectedCommandClass() != null
-                                            && command.getCommandClassId() == transaction.getExpectedCommandClass()
-                                                    .getKey()
-                                            && nodeId == transaction.getNodeId()
-                                            && command.getCommandClassCommand() == transaction
-                                                    .getExpectedCommandClassCommand()) {
-                                        logger.debug("NODE {}: Command verified {}.", nodeId, command);
-
-                                        transaction.transactionAdvance(incomingMessage);
-
-                                        // Notify the sender
-                                        notifyTransactionComplete(transaction);
-
-                                        // Remove the transaction from the outstanding transaction list
-                                        if (transaction.equals(lastTransaction)) {
-                                            lastTransaction = null;
-                                        }
-                                        completed.add(transaction);
-
-                                        // Handle secure transactions - these are ones where we have
-                                        // requested a NONCE which we've just received, and we now need
-                                        // to encrypt and send the original message
-                                        if (transaction instanceof ZWaveSecureTransaction) {
-                                            secureQueue
-                                                    .add(((ZWaveSecureTransaction) transaction).getLinkedTransaction());
-                                        }
-                                    } else {
-                                        logger.debug("NODE {}: Command NOT verified {}.", nodeId, command);
-                                    }
+                                ZWaveTransaction transaction = pollOutstandingResponse(correlationKey);
+                                if (transaction == null) {
+                                    logger.debug("NODE {}: No transaction waiting for command {}.", nodeId, command);
+                                    continue;
                                 }
+                                logger.debug("NODE {}: Command verified {}.", nodeId, command);
 
+                                transaction.transactionAdvance(incomingMessage);
+
+                                // Remove the transaction from the outstanding transaction list
+                                removeOutstandingTransaction(transaction);
                                 logger.debug("Transaction completed - outstandingTransactions {}",
                                         outstandingTransactions.size());
-                                outstandingTransactions.removeAll(completed);
-                                logger.debug("Transaction completed - outstandingTransactions {}",
-                                        outstandingTransactions.size());
+
+                                // Handle secure transactions - these are ones where we have
+                                // requested a NONCE which we've just received, and we now need
+                                // to encrypt and send the original message
+                                if (transaction instanceof ZWaveSecureTransaction) {
+                                    secureQueue.add(((ZWaveSecureTransaction) transaction).getLinkedTransaction());
+                                }
+                                if (transaction.isCompleteOnReceive()) {
+                                    received.add(transaction);
+                                } else {
+                                    completed.add(transaction);
+                                }
                             }
                         }
                     }
+
+                    // A command class on a worker is waiting for these, so they are completed before the command is
+                    // processed
+                    for (ZWaveTransaction transaction : received) {
+                        notifyTransactionComplete(transaction);
+                    }
+
+                    // The command classes, and the listeners behind them, may be slow so they are run on the worker
+                    // threads. Commands from each node are still processed in order. Other senders are only notified
+                    // once the command has been processed, so they see the state of the node that it reported.
+                    final ZWaveCommandClassPayload applicationCommand = incomingMessage;
+                    nodeExecutor.execute(nodeId, new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                node.processCommand(applicationCommand);
+                            } finally {
+                                for (ZWaveTransaction transaction : completed) {
+                                    notifyTransactionComplete(transaction);
+                                }
+                            }
+                        }
+                    });
                 }
 
             }
@@ -436,82 +720,149 @@ public class ZWaveTransactionManager {
         }
     }
 
-    private Date getNextTimer(ZWaveTransaction transaction) {
-        long nextTimer = 0;
-        switch (transaction.getTransactionState()) {
-            case CANCELLED:
-            case DONE:
-            case UNINTIALIZED:
-                break;
-            case WAIT_RESPONSE:
-                nextTimer = System.currentTimeMillis() + timer1;
-                break;
-            case WAIT_REQUEST:
-                nextTimer = System.currentTimeMillis() + timer2;
-                break;
-            case WAIT_DATA:
-                nextTimer = System.currentTimeMillis() + transaction.getDataTimeout();
-                break;
-            case ABORTED:
-                nextTimer = System.currentTimeMillis() + timerAbort;
-                break;
-            default:
-                break;
-        }
+    private boolean isSecurity2NonceReport(ZWaveCommandClassPayload payload) {
+        return payload.getCommandClassId() == CommandClassSecurity2V1.COMMAND_CLASS_KEY
+                && payload.getCommandClassCommand() == CommandClassSecurity2V1.SECURITY_2_NONCE_REPORT;
+    }
 
-        if (nextTimer == 0) {
-            return null;
+    /**
+     * Adds a released transaction to the outstanding transactions. If it is waiting for data from the node it is also
+     * indexed by the response it expects. Must be called with the sendQueue lock held.
+     *
+     * @param transaction the {@link ZWaveTransaction} that has been sent
+     */
+    private void addOutstandingTransaction(ZWaveTransaction transaction) {
+        outstandingTransactions.put(transaction.getTransactionId(), transaction);
+        Integer outstanding = outstandingNodes.get(transaction.getNodeId());
+        outstandingNodes.put(transaction.getNodeId(), outstanding == null ? 1 : outstanding + 1);
+        sendQueue.parkNode(transaction.getNodeId());
+
+        int correlationKey = transaction.getCorrelationKey();
+        if (transaction.getTransactionState() != TransactionState.WAIT_DATA || correlationKey == -1) {
+            return;
         }
-
-        return new Date(nextTimer);
+        Deque<ZWaveTransaction> responses = responseIndex.get(correlationKey);
+        if (responses == null) {
+            responses = new ArrayDeque<ZWaveTransaction>(1);
+            responseIndex.put(correlationKey, responses);
+        }
+        responses.add(transaction);
     }
 
-    private ZWaveTransaction getMessageFromQueue(PriorityBlockingQueue<ZWaveTransaction> queue) {
-        for (ZWaveTransaction tmp : queue) {
-            ZWaveNode node = controller.getNode(tmp.getNodeId());
-            if (node == null) {
-                logger.debug("NODE {}: Node not found - has this node been removed?!?", tmp.getNodeId());
-                continue;
-            }
+    /**
+     * Removes a completed transaction from the outstanding transactions, allowing the next transaction to be released
+     * to its node. Must be called with the sendQueue lock held.
+     *
+     * @param transaction the completed {@link ZWaveTransaction}
+     */
+    private void removeOutstandingTransaction(ZWaveTransaction transaction) {
+        if (outstandingTransactions.remove(transaction.getTransactionId()) == null) {
+            return;
+        }
+        if (transaction.getTimeout() != null) {
+            transaction.getTimeout().cancel();
+            transaction.setTimeout(null);
+        }
 
-            // Check if the node is awake
-            if (!node.isAwake()) {
-                logger.debug("NODE {}: Node not awake!", node.getNodeId());
-                continue;
+        // If the transaction didn't receive its response, it's still in the response index
+        int correlationKey = transaction.getCorrelationKey();
+        Deque<ZWaveTransaction> responses = responseIndex.get(correlationKey);
+        if (responses != null) {
+            Iterator<ZWaveTransaction> iterator = responses.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() == transaction) {
+                    iterator.remove();
+                    break;
+                }
+            }
+            if (responses.isEmpty()) {
+                responseIndex.remove(correlationKey);
             }
+        }
 
-            // Node is awake - remove this transaction and return it
-            queue.remove(tmp);
-            return tmp;
+        Integer outstanding = outstandingNodes.get(transaction.getNodeId());
+        if (outstanding == null || outstanding <= 1) {
+            outstandingNodes.remove(transaction.getNodeId());
+            sendQueue.resumeNode(transaction.getNodeId());
+        } else {
+            outstandingNodes.put(transaction.getNodeId(), outstanding - 1);
         }
+    }
 
-        return null;
+    /**
+     * Removes the oldest transaction waiting for the response with the given correlation key. The transaction remains
+     * in the outstanding transactions. Must be called with the sendQueue lock held.
+     *
+     * @param correlationKey the correlation key of the received command
+     * @return the {@link ZWaveTransaction} waiting for the response, or null if there is none
+     */
+    private ZWaveTransaction pollOutstandingResponse(int correlationKey) {
+        Deque<ZWaveTransaction> responses = responseIndex.get(correlationKey);
+        if (responses == null) {
+            return null;
+        }
+        ZWaveTransaction transaction = responses.poll();
+        if (responses.isEmpty()) {
+            responseIndex.remove(correlationKey);
+        }
+        return transaction;
+    }
+
+    /**
+     * Gets the time to wait for the current stage of a transaction to complete
+     *
+     * @param transaction the {@link ZWaveTransaction}
+     * @return the timeout in milliseconds, or 0 if no timeout is required
+     */
+    private long getNextTimer(ZWaveTransaction transaction) {
+        switch (transaction.getTransactionState()) {
+            case WAIT_RESPONSE:
+                return timer1;
+            case WAIT_REQUEST:
+                return timer2;
+            case WAIT_DATA:
+                return transaction.getDataTimeout();
+            case ABORTED:
+                return timerAbort;
+            case CANCELLED:
+            case DONE:
+            case UNINTIALIZED:
+            default:
+                return 0;
+        }
     }
 
     private void sendNextMessage() {
         logger.debug("Transaction SendNextMessage {} out at start", outstandingTransactions.size());
 
+        List<ZWaveTransaction> completed = new ArrayList<ZWaveTransaction>();
         synchronized (sendQueue) {
-            // If we're currently processing the core of a transaction, or there are too many
-            // outstanding transactions, then don't start another right now.
-            if (lastTransaction != null) {
-                logger.debug("Transaction lastTransaction outstanding...", outstandingTransactions.size());
-                return;
-            }
+            releaseTransactions(completed);
+        }
+
+        for (ZWaveTransaction transaction : completed) {
+            notifyTransactionComplete(transaction);
+        }
+    }
 
+    /**
+     * Sends queued transactions until the window is full, or there is nothing that can be sent to a node without an
+     * outstanding transaction. Must be called with the sendQueue lock held.
+     *
+     * @param completed the list to add transactions to that finished, or were dropped, while being released. Their
+     *            senders must be notified once the lock is released.
+     */
+    private void releaseTransactions(List<ZWaveTransaction> completed) {
+        while (true) {
             // If we're sending a NONCE then we want to ignore the sleeping state of the device.
             // We assume that if the device just sent us a NONCE_REQUEST then it must be awake
             ZWaveTransaction transaction = secureQueue.poll();
 
-            if (outstandingTransactions.size() == 0) {
-                // logger.debug("Transaction lastTransaction outstanding {}, {}", outstandingTransactions.size(),
-                // lastTransaction);
-
-                // } else {
+            if (outstandingTransactions.size() < maxOutstandingTransactions) {
                 // Get a message from the different queues
                 // Security first, then standard messages, then controller messages
                 if (transaction == null) {
-                    transaction = getMessageFromQueue(sendQueue);
+                    transaction = sendQueue.poll();
                     if (transaction != null) {
                         logger.debug("Transaction from sendQueue");
                     }
@@ -530,51 +881,51 @@ public class ZWaveTransactionManager {
                 return;
             }
 
-            ZWaveCommandClassPayload serialMessage;
+            ZWaveCommandClassTransactionPayload serialMessage = transaction.getPayload();
+            // An S2 multicast follow-up takes the next nonce from the node's SPAN, so is only encapsulated now
+            if (serialMessage.getFollowUpGroup() != -1) {
+                serialMessage = getFollowUpMessage(transaction);
+                if (serialMessage == null) {
+                    transaction.setTransactionCanceled();
+                    completed.add(transaction);
+                    continue;
+                }
+            }
+
             // If this requires security, then check if we have a NONCE
             if (transaction.getRequiresSecurity()) {
                 logger.debug("NODE {}: Transaction requires security", transaction.getNodeId());
                 ZWaveNode node = controller.getNode(transaction.getNodeId());
-                ZWaveSecurityCommandClass securityCommandClass = (ZWaveSecurityCommandClass) node.getEndpoint(0)
-                        .getCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY);
+                ZWaveSecurityCommandClass securityCommandClass = null;
+                if (node != null && node.getEndpoint(0) != null) {
+                    securityCommandClass = (ZWaveSecurityCommandClass) node.getEndpoint(0)
+                            .getCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY);
+                }
                 if (securityCommandClass == null) {
                     logger.debug("NODE {}: COMMAND_CLASS_SECURITY not found.", transaction.getNodeId());
-                    return;
+                    transaction.setTransactionCanceled();
+                    completed.add(transaction);
+                    continue;
                 }
 
                 if (securityCommandClass.isNonceAvailable()) {
                     // We have a NONCE, so encapsulate and send
                     logger.debug("NODE {}: NONCE available so encap and send.", transaction.getNodeId());
 
-                    ZWaveCommandClassTransactionPayload securePayload = new ZWaveCommandClassTransactionPayload(
-                            transaction.getNodeId(),
+                    serialMessage = new ZWaveCommandClassTransactionPayload(transaction.getNodeId(),
                             securityCommandClass.getSecurityMessageEncapsulation(transaction.getPayloadBuffer()),
                             TransactionPriority.RealTime, transaction.getExpectedCommandClass(),
                             transaction.getExpectedCommandClassCommand());
-
-                    // Get the serial message for the secure message and add it to our transaction so it correlates
-                    // properly
-                    // serialMessage = securePayload.getSerialMessage();
-                    // transaction.setSerialMessage(serialMessage);
                 } else {
                     // Request a nonce - create a temporary transaction
-                    // We keep a reference to the original transaction so that if the nonce transaction fails, then we
-                    // fail the real transaction and let the application deal with retries.
+                    // We keep a reference to the original transaction so that if the nonce transaction fails, then
+                    // we fail the real transaction and let the application deal with retries.
                     // transaction = new ZWaveSecureTransaction(transaction,
                     // securityCommandClass.getSecurityNonceGet());
                     // serialMessage = transaction.getSerialMessage();
                 }
-            } else {
-                logger.debug("getTransactionToSend 6");
-                // serialMessage = transaction.getSerialMessage();
             }
 
-            // Add this message to the outstandingTransactions list
-            // SerialMessage serialMessage = transaction.getSerialMessage();
-            // serialMessage
-            // .setTransmitOptions(TRANSMIT_OPTION_ACK | TRANSMIT_OPTION_AUTO_ROUTE | TRANSMIT_OPTION_EXPLORE);
-            // controller.sendPacket(serialMessage);
-
             transaction.transactionStart();
             logger.debug("Transaction SendNextMessage started: {}", transaction);
 
@@ -583,238 +934,297 @@ public class ZWaveTransactionManager {
             logger.debug("Transaction SendNextMessage started: expected cmd: {}",
                     transaction.getExpectedCommandClassCommand());
 
-            outstandingTransactions.add(transaction);
-            logger.debug("Transaction SendNextMessage Transactions outstanding: {}", outstandingTransactions.size());
-            transaction.setTimeout(getNextTimer(transaction));
-            startTransactionTimer();
-            lastTransaction = transaction;
-            logger.debug("Transaction SendNextMessage lastTransaction: {}", lastTransaction);
-        }
-    }
-
-    private synchronized void startTransactionTimer() {
-        // Stop any existing timer
-        resetTransactionTimer();
-
-        // Find the time till the next timer
-        Date nextTimer = null;
-        for (ZWaveTransaction transaction : outstandingTransactions) {
-            if (nextTimer == null) {
-                nextTimer = transaction.getTimeout();
-                continue;
+            if (transport == null) {
+                logger.debug("NODE {}: No transport to send transaction {}", transaction.getNodeId(),
+                        transaction.getTransactionId());
+            } else {
+                transport.sendMessage(serialMessage);
             }
 
-            Date time = transaction.getTimeout();
-            if (time != null && time.before(nextTimer)) {
-                nextTimer = time;
+            if (transaction.getTransactionState() == TransactionState.DONE) {
+                // Nothing further is expected for this transaction
+                completed.add(transaction);
+                continue;
             }
-        }
-
-        // Start the timer if required
-        if (nextTimer != null) {
-            // Create the timer task
-            timerTask = new ZWaveTransactionTimer();
 
-            logger.debug("Start transaction timer to {} - {}ms", nextTimer,
-                    (nextTimer.getTime() - System.currentTimeMillis()));
-            timer.schedule(timerTask, nextTimer);
+            // Add this message to the outstandingTransactions list
+            addOutstandingTransaction(transaction);
+            logger.debug("Transaction SendNextMessage Transactions outstanding: {}",
+                    outstandingTransactions.size());
+            startTransactionTimer(transaction);
         }
     }
 
-    private synchronized void resetTransactionTimer() {
-        // Stop any existing timer
-        if (timerTask != null) {
-            logger.debug("STOP transaction timer");
-
-            timerTask.cancel();
-            timerTask = null;
+    /**
+     * Encapsulates the singlecast follow-up to an S2 multicast frame for sending
+     *
+     * @param transaction the follow-up {@link ZWaveTransaction}
+     * @return the {@link ZWaveCommandClassTransactionPayload} to send, or null if it could not be encapsulated
+     */
+    private ZWaveCommandClassTransactionPayload getFollowUpMessage(ZWaveTransaction transaction) {
+        ZWaveS2Engine s2Engine = controller.getS2Engine();
+        byte[] followUp = s2Engine == null ? null
+                : s2Engine.encapsulateFollowUp(transaction.getNodeId(), transaction.getPayload().getFollowUpGroup(),
+                        transaction.getPayloadBuffer());
+        if (followUp == null) {
+            logger.debug("NODE {}: S2 multicast follow-up could not be encapsulated", transaction.getNodeId());
+            return null;
         }
+        return new ZWaveCommandClassTransactionPayload(transaction.getNodeId(), followUp, transaction.getPriority(),
+                transaction.getExpectedCommandClass(), transaction.getExpectedCommandClassCommand());
     }
 
-    private class ZWaveTransactionTimer extends TimerTask {
-        private final Logger logger = LoggerFactory.getLogger(ZWaveTransactionTimer.class);
+    /**
+     * Starts the timeout for the current stage of an outstanding transaction. Must be called with the sendQueue lock
+     * held.
+     *
+     * @param transaction the outstanding {@link ZWaveTransaction}
+     */
+    private void startTransactionTimer(final ZWaveTransaction transaction) {
+        long nextTimer = getNextTimer(transaction);
+        if (nextTimer == 0) {
+            return;
+        }
 
-        @Override
-        public void run() {
-            // if (true) {
-            // return;
-            // }
+        logger.debug("NODE {}: Start transaction timer {}ms", transaction.getNodeId(), nextTimer);
+        transaction.setTimeout(timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                transactionTimeout(transaction);
+            }
+        }, nextTimer, TimeUnit.MILLISECONDS));
+    }
 
-            synchronized (sendQueue) {
-                logger.debug("XXXXXXXXX Timeout.......... {} outstanding transactions", outstandingTransactions.size());
-                Date now = new Date();
-                // List<ZWaveTransaction> retries = new ArrayList<ZWaveTransaction>();
-
-                // Loop through all outstanding transactions to see if any have timed out
-                Iterator<ZWaveTransaction> iterator = outstandingTransactions.iterator();
-                while (iterator.hasNext()) {
-                    ZWaveTransaction transaction = iterator.next();
-                    Date timer = transaction.getTimeout();
-                    if (timer != null && !timer.after(now)) {
-                        // Timeout
-                        logger.debug("NODE {}: XXXXXXX Timeout at state {}. {} retries remaining.",
-                                transaction.getNodeId(), transaction.getTransactionState(),
-                                transaction.getAttemptsRemaining());
-                        /*
-                         * // If this is a SendData message, and we're not waiting for DATA
-                         * // Then we need to cancel this request.
-                         * // TODO: Maybe this should be generalised to allow for other commands?
-                         * if (transaction.getSerialMessageClass() == SerialMessageClass.SendData
-                         * && (transaction.getTransactionState() == TransactionState.WAIT_REQUEST
-                         * || transaction.getTransactionState() == TransactionState.WAIT_RESPONSE)) {
-                         * // SendData requests need to be aborted - so we don't cancel the transaction.
-                         * // Once aborted we will get the completion of the transaction which will cancel the
-                         * // transaction.
-                         * logger.debug("Aborting Transaction!");
-                         * transaction.setTransactionAborted();
-                         * transaction.setTimeout(getNextTimer(transaction));
-                         * 
-                         * controller.sendPacket(new ZWaveTransactionMessageBuilder(SerialMessageClass.SendDataAbort)
-                         * .build().getSerialMessage());
-                         * } else {
-                         * // Remove this transaction from the outstanding transactions list
-                         * iterator.remove();
-                         * 
-                         * if (lastTransaction == transaction) {
-                         * // If this is the current transaction, then reset it.
-                         * lastTransaction = null;
-                         * logger.debug("Transaction is current transaction, so clearing!!!!!");
-                         * }
-                         * 
-                         * // Resend if there are still attempts remaining
-                         * // if (transaction.decrementAttemptsRemaining() <= 0) {
-                         * transaction.setTransactionCanceled();
-                         * controller.handleTransactionComplete(transaction, null);
-                         * notifyTransactionComplete(transaction);
-                         * // } else {
-                         * // Resend - add to a separate list so as not to impact iterator
-                         * // transaction.resetTransaction();
-                         * // retries.add(transaction);
-                         * // }
-                         * }
-                         */
+    /**
+     * Handles the timeout of an outstanding transaction. If the transaction has attempts remaining it is queued again
+     * after {@link #timerRetry}, otherwise it is cancelled and the sender notified.
+     *
+     * @param transaction the {@link ZWaveTransaction} that timed out
+     */
+    private void transactionTimeout(final ZWaveTransaction transaction) {
+        boolean cancelled = false;
+        synchronized (sendQueue) {
+            // The response may have been received while the timeout was running
+            if (!outstandingTransactions.containsKey(transaction.getTransactionId())) {
+                return;
+            }
+            logger.debug("NODE {}: Timeout at state {}. {} retries remaining.", transaction.getNodeId(),
+                    transaction.getTransactionState(), transaction.getAttemptsRemaining());
+
+            removeOutstandingTransaction(transaction);
+
+            if (transaction.decrementAttemptsRemaining() > 0) {
+                transaction.resetTransaction();
+                timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        logger.debug("NODE {}: Resending transaction {}", transaction.getNodeId(),
+                                transaction.getTransactionId());
+                        synchronized (sendQueue) {
+                            sendQueue.add(transaction);
+                        }
+                        sendNextMessage();
                     }
-                }
+                }, timerRetry, TimeUnit.MILLISECONDS);
+            } else {
+                transaction.setTransactionCanceled();
+                cancelled = true;
+            }
+        }
+
+        if (cancelled) {
+            notifyTransactionComplete(transaction);
+        }
 
-                // Add retries to the queue
-                // for (ZWaveTransaction transaction : retries) {
-                // logger.debug("Resending... Transaction " + transaction.getTransactionId());
-                // addTransactionToQueue(transaction);
-                // }
+        // The node is free to receive its next transaction
+        sendNextMessage();
+    }
 
-                // If there's no outstanding transaction, try and send one
-                sendNextMessage();
-                startTransactionTimer();
+    /**
+     * Gets the response to return to the sender of a finished transaction
+     *
+     * @param transaction the finished {@link ZWaveTransaction}
+     * @return the {@link ZWaveTransactionResponse}
+     */
+    private ZWaveTransactionResponse getTransactionResponse(ZWaveTransaction transaction) {
+        logger.debug("NODE {}: Transaction {} -- DONE -- {} {}", transaction.getNodeId(),
+                transaction.getTransactionId(), transaction.getTransactionState(),
+                transaction.getTransactionCancelledState());
+
+        ZWaveTransactionResponse.State state = State.COMPLETE;
+        if (transaction.getTransactionState() != TransactionState.DONE) {
+            switch (transaction.getTransactionCancelledState()) {
+                case CANCELLED:
+                    state = State.CANCELLED;
+                    break;
+                case DONE:
+                    break;
+                case UNINTIALIZED:
+                    // Dropped before it was sent
+                    state = State.CANCELLED;
+                    break;
+                case WAIT_DATA:
+                    state = State.TIMEOUT_WAITING_FOR_DATA;
+                    break;
+                case WAIT_RESPONSE:
+                    state = State.TIMEOUT_WAITING_FOR_CONTROLLER;
+                    break;
+                case WAIT_REQUEST:
+                    state = State.TIMEOUT_WAITING_FOR_RESPONSE;
+                    break;
+                default:
+                    break;
             }
         }
+        return new ZWaveTransactionResponse(state);
     }
 
-    public Future<ZWaveTransactionResponse> sendTransactionAsync(
+    /**
+     * Queues a transaction and returns a future that completes when the transaction finishes. The future is completed
+     * by the thread that finishes the transaction - normally a worker once the node has processed the response - so
+     * any dependent actions added to it must not block.
+     *
+     * @param transaction the {@link ZWaveCommandClassTransactionPayload} to send
+     * @return a {@link CompletableFuture} for the {@link ZWaveTransactionResponse}
+     */
+    public CompletableFuture<ZWaveTransactionResponse> sendTransactionAsync(
             final ZWaveCommandClassTransactionPayload transaction) {
-        class TransactionWaiter implements Callable<ZWaveTransactionResponse>, TransactionListener {
-            private ZWaveTransactionResponse response = null;
-            private long transactionId;
+        ZWaveTransaction queued = queueTransaction(transaction);
+        if (queued.getPayload() == transaction) {
+            return queued.getFuture();
+        }
 
+        // Shared with a queued transaction - each caller gets its own future, so that completing or cancelling it
+        // doesn't affect the other callers
+        return queued.getFuture().thenApply(new Function<ZWaveTransactionResponse, ZWaveTransactionResponse>() {
             @Override
-            public ZWaveTransactionResponse call() throws Exception {
-                // Register a listener
-                addTransactionListener(this);
-
-                // Send the transaction
-                transactionId = queueTransactionForSend(transaction);
-                if (transactionId == 0) {
-                    logger.debug(">>>>>>>>> transaction rejected !!");
-
-                    // The transaction failed!
-                    // Remove the listener
-                    removeTransactionListener(this);
+            public ZWaveTransactionResponse apply(ZWaveTransactionResponse response) {
+                return response;
+            }
+        });
+    }
 
-                    return response;
-                }
+    /**
+     * Sends a command to a group of nodes with S2 multicast. The nodes are grouped by their S2 key class, and the
+     * command is sent to each group in a single multicast frame that needs no nonce exchange. Each node is then sent
+     * a singlecast follow-up through the send queue - nodes that decrypted the multicast frame ignore the command in
+     * the follow-up, while any that missed it execute it from there. A NONCE_GET is sent first to any node without a
+     * SPAN.
+     * <p>
+     * The future for each node completes when its follow-up completes, or is {@link State#CANCELLED} if the command
+     * could not be encapsulated for the node.
+     *
+     * @param nodeIds the ids of the nodes to send to
+     * @param command the command to send
+     * @return a {@link CompletableFuture} for the {@link ZWaveTransactionResponse} of each node, keyed by node id
+     */
+    public Map<Integer, CompletableFuture<ZWaveTransactionResponse>> sendSecureMulticast(Collection<Integer> nodeIds,
+            byte[] command) {
+        ZWaveS2Engine s2Engine = controller.getS2Engine();
+        if (s2Engine == null) {
+            throw new IllegalStateException("S2 engine is not set");
+        }
 
-                // Wait for the transaction to complete
-                synchronized (this) {
-                    while (response == null) {
-                        wait();
-                    }
-                }
+        Map<ZWaveS2KeyClass, List<Integer>> keyClasses = new EnumMap<ZWaveS2KeyClass, List<Integer>>(
+                ZWaveS2KeyClass.class);
+        for (Integer nodeId : nodeIds) {
+            ZWaveS2KeyClass keyClass = s2Engine.getKeyClass(nodeId);
+            List<Integer> members = keyClasses.get(keyClass);
+            if (members == null) {
+                members = new ArrayList<Integer>();
+                keyClasses.put(keyClass, members);
+            }
+            members.add(nodeId);
+        }
 
-                // Remove the listener
-                removeTransactionListener(this);
+        Map<Integer, CompletableFuture<ZWaveTransactionResponse>> futures = new LinkedHashMap<>();
+        for (List<Integer> members : keyClasses.values()) {
+            int[] memberIds = new int[members.size()];
+            for (int cnt = 0; cnt < memberIds.length; cnt++) {
+                memberIds[cnt] = members.get(cnt);
+            }
 
-                logger.debug("********* Transaction Response Complete " + transactionId + " -- ");
+            int groupId = s2Engine.getMulticastGroup(memberIds);
+            byte[] frame = s2Engine.encapsulateMulticast(groupId, command);
+            if (frame != null && transport != null) {
+                // The follow-ups are queued once the multicast frame has been sent
+                boolean sent = transport.sendMulticastMessage(memberIds, frame);
+                logger.debug("S2 multicast group {} sent: {}", groupId, sent);
+            }
 
-                return response;
+            for (int nodeId : memberIds) {
+                futures.put(nodeId, sendFollowUp(s2Engine, nodeId, groupId, command));
             }
+        }
+        return futures;
+    }
 
-            @Override
-            public void transactionEvent(ZWaveTransaction transactionEvent) {
-                logger.debug("********* Transaction event listener " + transactionId + " -- "
-                        + transactionEvent.getTransactionId());
+    private CompletableFuture<ZWaveTransactionResponse> sendFollowUp(final ZWaveS2Engine s2Engine, final int nodeId,
+            final int groupId, final byte[] command) {
+        if (s2Engine.isSpanAvailable(nodeId)) {
+            return queueFollowUp(nodeId, groupId, command);
+        }
 
-                // Check if this transaction is ours
-                if (transactionEvent.getTransactionId() != transactionId) {
-                    return;
-                }
-                logger.debug("********* Transaction event listener " + transactionId + " -- DONE -- "
-                        + transactionEvent.getTransactionState() + " "
-                        + transactionEvent.getTransactionCancelledState());
-
-                // Return the response
-                ZWaveTransactionResponse.State state = State.COMPLETE;
-                if (transactionEvent.getTransactionState() != TransactionState.DONE) {
-                    switch (transactionEvent.getTransactionCancelledState()) {
-                        case CANCELLED:
-                            // state = State.CANCELLED;
-                            break;
-                        case DONE:
-                            break;
-                        case UNINTIALIZED:
-                            logger.debug("Completing UNINTIALIZED transaction {}!!! How?!?", transactionId);
-                            break;
-                        case WAIT_DATA:
-                            // state = State.TIMEOUT_WAITING_FOR_DATA;
-                            break;
-                        case WAIT_RESPONSE:
-                            // state = State.TIMEOUT_WAITING_FOR_CONTROLLER;
-                            break;
-                        case WAIT_REQUEST:
-                            // state = State.TIMEOUT_WAITING_FOR_RESPONSE;
-                            break;
-                        default:
-                            break;
+        ZWaveCommandClassTransactionPayload nonceGet = new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                s2Engine.getNonceGet(nodeId)).withPriority(TransactionPriority.Set)
+                        .withExpectedResponseCommand(CommandClassSecurity2V1.SECURITY_2_NONCE_REPORT).build();
+        return sendTransactionAsync(nonceGet).thenCompose(
+                new Function<ZWaveTransactionResponse, CompletionStage<ZWaveTransactionResponse>>() {
+                    @Override
+                    public CompletionStage<ZWaveTransactionResponse> apply(ZWaveTransactionResponse response) {
+                        if (response.getState() != State.COMPLETE) {
+                            return CompletableFuture.completedFuture(response);
+                        }
+                        return queueFollowUp(nodeId, groupId, command);
                     }
-                }
-                response = new ZWaveTransactionResponse(state);
-
-                logger.debug("NODE {}: -- To notify -- {}", transaction.getDestinationNode(), state);
-                synchronized (this) {
-                    notify();
-                }
-            }
-        }
+                });
+    }
 
-        Callable<ZWaveTransactionResponse> worker = new TransactionWaiter();
-        return executor.submit(worker);
+    private CompletableFuture<ZWaveTransactionResponse> queueFollowUp(int nodeId, int groupId, byte[] command) {
+        // The follow-up is encapsulated when it is sent, so that it uses the SPAN as it is then
+        return sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(nodeId, command)
+                .withPriority(TransactionPriority.Set).withFollowUpGroup(groupId).build());
     }
 
+    /**
+     * Sends a transaction and waits for it to finish. The calling thread is blocked for the whole transaction, which
+     * can be seconds for a sleeping or distant node. This is cheap on a virtual thread, but callers with many
+     * transactions in flight on older JDKs should use {@link #sendTransactionAsync} rather than a thread for each.
+     * When called while processing a command, the transaction is completed as soon as its response is received, as the
+     * response can't be processed by the node until the current command has finished.
+     *
+     * @param transaction the {@link ZWaveCommandClassTransactionPayload} to send
+     * @return the {@link ZWaveTransactionResponse}, or null if the thread was interrupted
+     */
     public ZWaveTransactionResponse sendTransaction(ZWaveCommandClassTransactionPayload transaction) {
         logger.debug("NODE {}: sendTransaction {}", transaction.getDestinationNode(), transaction);
 
-        Future<ZWaveTransactionResponse> futureResponse = sendTransactionAsync(transaction);
+        CompletableFuture<ZWaveTransactionResponse> futureResponse = sendTransactionAsync(transaction);
         try {
             ZWaveTransactionResponse response = futureResponse.get();
             return response;
         } catch (InterruptedException e) {
-            e.printStackTrace();
+            logger.debug("NODE {}: sendTransaction interrupted", transaction.getDestinationNode());
+            Thread.currentThread().interrupt();
         } catch (ExecutionException e) {
-            e.printStackTrace();
+            logger.error("NODE {}: sendTransaction failed", transaction.getDestinationNode(), e);
         }
 
         return null;
     }
 
-    interface TransactionListener {
-        void transactionEvent(ZWaveTransaction transaction);
+    /**
+     * Stops the threads used by the transaction manager. Outstanding transactions are not completed.
+     */
+    public void shutdown() {
+        receiveThread.interrupt();
+        commandExecutor.shutdown();
+        synchronized (sendQueue) {
+            for (ZWaveTransaction transaction : outstandingTransactions.values()) {
+                if (transaction.getTimeout() != null) {
+                    transaction.getTimeout().cancel();
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,400 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A send queue holding a separate queue for each node. Transactions are released in {@link TransactionPriority}
+ * order, and within each priority the nodes with transactions waiting are served using deficit round robin, so that a
+ * node with a long backlog can't starve the others.
+ * <p>
+ * Nodes that can't currently receive a transaction (for example because they are asleep, or already have a
+ * transaction outstanding) are parked when they are reached, and are not visited again until
+ * {@link #resumeNode(int)} is called. Transactions queued for a parked node therefore cost nothing until the node
+ * becomes available.
+ * <p>
+ * Redundant transactions can be found with {@link #coalesce(ZWaveTransaction)}, which finds a queued transaction
+ * that will return the same response, and {@link #replaceSuperseded(ZWaveTransaction)}, which puts a new transaction
+ * in place of a queued transaction that it would overwrite.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Jordan Hayes
+ */
+abstract class ZWaveTransactionQueue {
+    /**
+     * The number of payload bytes each node may send each time it is visited in the round robin
+     */
+    private final static int QUANTUM = 64;
+
+    private final static int PRIORITIES = TransactionPriority.values().length;
+
+    /**
+     * The queues for each node
+     */
+    private final Map<Integer, NodeQueue> nodeQueues = new HashMap<Integer, NodeQueue>();
+
+    /**
+     * For each priority, the nodes that have transactions at that priority and are not parked
+     */
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<NodeQueue>[] activeNodes = new ArrayDeque[PRIORITIES];
+
+    private int size = 0;
+
+    private static class NodeQueue {
+        private final int nodeId;
+
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<ZWaveTransaction>[] transactions = new ArrayDeque[PRIORITIES];
+        private final int[] deficit = new int[PRIORITIES];
+        private final boolean[] active = new boolean[PRIORITIES];
+        private final boolean[] visiting = new boolean[PRIORITIES];
+
+        /**
+         * The queued transactions that expect a response, and that a new, equal, transaction can share. This is
+         * cleared when a transaction without a response is queued, as it may change the response.
+         */
+        private final Map<ZWaveTransaction, ZWaveTransaction> responses = new HashMap<>();
+        private boolean parked = false;
+        private int size = 0;
+
+        NodeQueue(int nodeId) {
+            this.nodeId = nodeId;
+            for (int priority = 0; priority < PRIORITIES; priority++) {
+                transactions[priority] = new ArrayDeque<ZWaveTransaction>();
+            }
+        }
+    }
+
+    ZWaveTransactionQueue() {
+        for (int priority = 0; priority < PRIORITIES; priority++) {
+            activeNodes[priority] = new ArrayDeque<NodeQueue>();
+        }
+    }
+
+    /**
+     * Checks if a transaction can be released to a node. If this returns false, the node is parked until
+     * {@link #resumeNode(int)} is called.
+     *
+     * @param nodeId the node id
+     * @return true if a transaction can be sent to the node now
+     */
+    protected abstract boolean isNodeAvailable(int nodeId);
+
+    /**
+     * Adds a transaction to the end of its node's queue for its priority
+     *
+     * @param transaction the {@link ZWaveTransaction} to add
+     */
+    public void add(ZWaveTransaction transaction) {
+        NodeQueue nodeQueue = nodeQueues.get(transaction.getNodeId());
+        if (nodeQueue == null) {
+            nodeQueue = new NodeQueue(transaction.getNodeId());
+            nodeQueues.put(transaction.getNodeId(), nodeQueue);
+        }
+
+        if (transaction.getCorrelationKey() == -1) {
+            nodeQueue.responses.clear();
+        } else if (!nodeQueue.responses.containsKey(transaction)) {
+            nodeQueue.responses.put(transaction, transaction);
+        }
+
+        int priority = transaction.getPriority().ordinal();
+        nodeQueue.transactions[priority].add(transaction);
+        nodeQueue.size++;
+        size++;
+
+        activate(nodeQueue, priority);
+    }
+
+    /**
+     * Finds a queued transaction that expects a response and is {@link ZWaveTransaction#equals(Object) equal} to the
+     * given transaction, so that the caller can share its response rather than sending the same request again. A
+     * transaction is not matched if a transaction without a response - eg a SET - has been queued for the node since,
+     * as the response may then be different. If the new transaction has a higher priority, the queued transaction is
+     * moved to that priority.
+     *
+     * @param transaction the new {@link ZWaveTransaction}
+     * @return the queued {@link ZWaveTransaction}, or null if there is none to share
+     */
+    public ZWaveTransaction coalesce(ZWaveTransaction transaction) {
+        NodeQueue nodeQueue = nodeQueues.get(transaction.getNodeId());
+        if (nodeQueue == null || transaction.getCorrelationKey() == -1) {
+            return null;
+        }
+
+        ZWaveTransaction queued = nodeQueue.responses.get(transaction);
+        if (queued == null) {
+            return null;
+        }
+
+        int priority = transaction.getPriority().ordinal();
+        if (priority < queued.getPriority().ordinal()
+                && nodeQueue.transactions[queued.getPriority().ordinal()].remove(queued)) {
+            queued.setPriority(transaction.getPriority());
+            nodeQueue.transactions[priority].add(queued);
+            activate(nodeQueue, priority);
+        }
+        return queued;
+    }
+
+    /**
+     * Replaces a queued transaction that would be overwritten by the given transaction, which takes its place in the
+     * queue. Both transactions must be for the same node, not expect a response, and start with the same explicit
+     * {@link ZWaveCommandClassTransactionPayload#getTargetLength() target}. If the new transaction has a higher
+     * priority it is added to the end of the queue for its own priority instead.
+     *
+     * @param transaction the new {@link ZWaveTransaction}
+     * @return the {@link ZWaveTransaction} that was replaced, or null if none was superseded
+     */
+    public ZWaveTransaction replaceSuperseded(ZWaveTransaction transaction) {
+        NodeQueue nodeQueue = nodeQueues.get(transaction.getNodeId());
+        if (nodeQueue == null || nodeQueue.size == 0 || transaction.getCorrelationKey() != -1
+                || transaction.getPayload().getTargetLength() == 0) {
+            return null;
+        }
+
+        for (ArrayDeque<ZWaveTransaction> transactions : nodeQueue.transactions) {
+            ZWaveTransaction superseded = null;
+            for (ZWaveTransaction queued : transactions) {
+                if (queued.getCorrelationKey() == -1 && queued.getClass() == transaction.getClass()
+                        && isSameTarget(queued, transaction)) {
+                    superseded = queued;
+                    break;
+                }
+            }
+            if (superseded == null) {
+                continue;
+            }
+
+            if (transaction.getPriority().ordinal() < superseded.getPriority().ordinal()) {
+                transactions.remove(superseded);
+                nodeQueue.size--;
+                size--;
+                add(transaction);
+                return superseded;
+            }
+
+            // Rotate the queue once, putting the new transaction where the superseded one was
+            transaction.setPriority(superseded.getPriority());
+            for (int cnt = transactions.size(); cnt > 0; cnt--) {
+                ZWaveTransaction queued = transactions.pollFirst();
+                transactions.addLast(queued == superseded ? transaction : queued);
+            }
+            return superseded;
+        }
+        return null;
+    }
+
+    private boolean isSameTarget(ZWaveTransaction queued, ZWaveTransaction transaction) {
+        int length = transaction.getPayload().getTargetLength();
+        if (length == 0 || length != queued.getPayload().getTargetLength()) {
+            return false;
+        }
+
+        byte[] queuedBuffer = queued.getPayloadBuffer();
+        byte[] buffer = transaction.getPayloadBuffer();
+        if (queuedBuffer.length < length || buffer.length < length) {
+            return false;
+        }
+        for (int cnt = 0; cnt < length; cnt++) {
+            if (queuedBuffer[cnt] != buffer[cnt]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a transaction that is {@link ZWaveTransaction#equals(Object) equal} to the given transaction. Only the
+     * queue for the transaction's node is searched.
+     *
+     * @param transaction the {@link ZWaveTransaction} to remove
+     * @return true if a transaction was removed
+     */
+    public boolean remove(ZWaveTransaction transaction) {
+        NodeQueue nodeQueue = nodeQueues.get(transaction.getNodeId());
+        if (nodeQueue == null || nodeQueue.size == 0) {
+            return false;
+        }
+
+        for (ArrayDeque<ZWaveTransaction> transactions : nodeQueue.transactions) {
+            Iterator<ZWaveTransaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                ZWaveTransaction queued = iterator.next();
+                if (queued.equals(transaction)) {
+                    iterator.remove();
+                    removeResponse(nodeQueue, queued);
+                    nodeQueue.size--;
+                    size--;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes and returns the next transaction to send. Transactions are taken from the highest priority for which an
+     * available node has transactions waiting.
+     *
+     * @return the next {@link ZWaveTransaction} to send, or null if no transaction can be sent
+     */
+    public ZWaveTransaction poll() {
+        for (int priority = 0; priority < PRIORITIES; priority++) {
+            ArrayDeque<NodeQueue> nodes = activeNodes[priority];
+            while (!nodes.isEmpty()) {
+                NodeQueue nodeQueue = nodes.peekFirst();
+                ArrayDeque<ZWaveTransaction> transactions = nodeQueue.transactions[priority];
+
+                // Drop nodes whose queue has emptied, or that have been parked, since they were added
+                if (transactions.isEmpty() || nodeQueue.parked) {
+                    deactivate(nodes, nodeQueue, priority);
+                    continue;
+                }
+
+                // Start of this node's turn
+                if (!nodeQueue.visiting[priority]) {
+                    if (!isNodeAvailable(nodeQueue.nodeId)) {
+                        park(nodeQueue);
+                        deactivate(nodes, nodeQueue, priority);
+                        continue;
+                    }
+                    nodeQueue.visiting[priority] = true;
+                    nodeQueue.deficit[priority] += QUANTUM;
+                }
+
+                int cost = transactions.peekFirst().getPayloadBuffer().length;
+                if (cost > nodeQueue.deficit[priority]) {
+                    // This node has used its quantum - move to the next node
+                    nodeQueue.visiting[priority] = false;
+                    nodes.addLast(nodes.pollFirst());
+                    continue;
+                }
+
+                nodeQueue.deficit[priority] -= cost;
+                nodeQueue.size--;
+                size--;
+                ZWaveTransaction transaction = transactions.pollFirst();
+                removeResponse(nodeQueue, transaction);
+                if (transactions.isEmpty()) {
+                    deactivate(nodes, nodeQueue, priority);
+                }
+                return transaction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parks a node so that it is not visited until {@link #resumeNode(int)} is called. This is normally done when the
+     * node is reached in the round robin, but can be called when it is known that the node has become unavailable.
+     *
+     * @param nodeId the node id
+     */
+    public void parkNode(int nodeId) {
+        NodeQueue nodeQueue = nodeQueues.get(nodeId);
+        if (nodeQueue != null) {
+            park(nodeQueue);
+        }
+    }
+
+    /**
+     * Resumes a parked node, making its waiting transactions available to {@link #poll()}
+     *
+     * @param nodeId the node id
+     */
+    public void resumeNode(int nodeId) {
+        NodeQueue nodeQueue = nodeQueues.get(nodeId);
+        if (nodeQueue == null || !nodeQueue.parked) {
+            return;
+        }
+
+        nodeQueue.parked = false;
+        for (int priority = 0; priority < PRIORITIES; priority++) {
+            activate(nodeQueue, priority);
+        }
+    }
+
+    /**
+     * Gets the number of transactions queued for a node
+     *
+     * @param nodeId the node id
+     * @return the number of transactions queued for the node
+     */
+    public int size(int nodeId) {
+        NodeQueue nodeQueue = nodeQueues.get(nodeId);
+        return nodeQueue == null ? 0 : nodeQueue.size;
+    }
+
+    /**
+     * Gets the total number of transactions queued
+     *
+     * @return the number of transactions queued for all nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all queued transactions
+     *
+     * @return the {@link ZWaveTransaction}s that were removed
+     */
+    public List<ZWaveTransaction> clear() {
+        List<ZWaveTransaction> removed = new ArrayList<ZWaveTransaction>(size);
+        for (NodeQueue nodeQueue : nodeQueues.values()) {
+            for (ArrayDeque<ZWaveTransaction> transactions : nodeQueue.transactions) {
+                removed.addAll(transactions);
+            }
+        }
+
+        nodeQueues.clear();
+        for (ArrayDeque<NodeQueue> nodes : activeNodes) {
+            nodes.clear();
+        }
+        size = 0;
+        return removed;
+    }
+
+    private void activate(NodeQueue nodeQueue, int priority) {
+        if (nodeQueue.parked || nodeQueue.active[priority] || nodeQueue.transactions[priority].isEmpty()) {
+            return;
+        }
+        nodeQueue.active[priority] = true;
+        activeNodes[priority].addLast(nodeQueue);
+    }
+
+    private void deactivate(ArrayDeque<NodeQueue> nodes, NodeQueue nodeQueue, int priority) {
+        nodes.pollFirst();
+        nodeQueue.active[priority] = false;
+        nodeQueue.visiting[priority] = false;
+        if (nodeQueue.transactions[priority].isEmpty()) {
+            nodeQueue.deficit[priority] = 0;
+        }
+    }
+
+    private void removeResponse(NodeQueue nodeQueue, ZWaveTransaction transaction) {
+        if (nodeQueue.responses.get(transaction) == transaction) {
+            nodeQueue.responses.remove(transaction);
+        }
+    }
+
+    private void park(NodeQueue nodeQueue) {
+        // Nodes are removed from the active lists lazily when they are next reached
+        nodeQueue.parked = true;
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
+import com.zsmartsystems.zwave.commandclass.ZWaveSecurityCommandClass;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurityV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchBinaryV1;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayload;
+import com.zsmartsystems.zwave.transaction.ZWaveCommandClassTransactionPayloadBuilder;
+
+/**
+ * Test cases for {@link ZWaveNode}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNodeTest {
+    @Test
+    public void registerNode() {
+        ZWaveNetwork network = new ZWaveNetwork();
+        ZWaveNode node = new ZWaveNode(network, ZWaveNetwork.MAX_NODE_ID);
+        network.registerNode(node);
+
+        assertSame(node, network.getNode(ZWaveNetwork.MAX_NODE_ID));
+        assertNull(network.getNode(2));
+        assertNull(network.getNode(-1));
+        assertNull(network.getNode(1000));
+        assertEquals(Arrays.asList(node), network.getNodes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void registerIllegalNode() {
+        ZWaveNetwork network = new ZWaveNetwork();
+        network.registerNode(new ZWaveNode(network, ZWaveNetwork.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    public void endpoints() {
+        ZWaveNode node = new ZWaveNode(new ZWaveNetwork(), 2);
+        ZWaveEndpoint endpoint = node.addEndpoint(ZWaveNode.MAX_ENDPOINT_ID);
+
+        assertSame(endpoint, node.addEndpoint(ZWaveNode.MAX_ENDPOINT_ID));
+        assertSame(endpoint, node.getEndpoint(ZWaveNode.MAX_ENDPOINT_ID));
+        assertNull(node.getEndpoint(0));
+        assertNull(node.getEndpoint(ZWaveNode.MAX_ENDPOINT_ID + 1));
+        assertEquals(1, node.getEndpoints().size());
+    }
+
+    @Test
+    public void neighbors() {
+        ZWaveNode node = new ZWaveNode(new ZWaveNetwork(), 2);
+        node.addNeighbor(9);
+        node.addNeighbor(1);
+        node.addNeighbor(9);
+
+        assertEquals(Arrays.asList(1, 9), node.getNeighbors());
+        assertTrue(node.isNeighbor(9));
+        assertFalse(node.isNeighbor(3));
+
+        BitSet neighbors = node.getNeighborSet();
+        neighbors.set(3);
+        assertFalse(node.isNeighbor(3));
+
+        node.clearNeighbors();
+        assertTrue(node.getNeighbors().isEmpty());
+    }
+
+    @Test
+    public void routingList() {
+        ZWaveNode node = new ZWaveNode(new ZWaveNetwork(), 2);
+        ZWaveAssociationGroup lifeline = new ZWaveAssociationGroup(1);
+        lifeline.addAssociation(1);
+        ZWaveAssociationGroup group = new ZWaveAssociationGroup(3);
+        group.addAssociation(5, 1);
+        group.addAssociation(5, 2);
+        node.setAssociationGroup(lifeline);
+        node.setAssociationGroup(group);
+
+        assertTrue(node.getRoutingList().isEmpty());
+
+        node.setRouting(true);
+        BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(5);
+        assertEquals(expected, node.getRoutingList());
+    }
+
+    @Test
+    public void securityEncapsulation() {
+        ZWaveNode node = new ZWaveNode(new ZWaveNetwork(), 2);
+        ZWaveEndpoint root = node.addEndpoint(0);
+        ZWaveEndpoint endpoint = node.addEndpoint(1);
+        endpoint.addSecureCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY);
+        endpoint.addSecureCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_NO_OPERATION);
+        ZWaveCommandClassPayload switchGet = new ZWaveCommandClassPayload(
+                CommandClassSwitchBinaryV1.getSwitchBinaryGet());
+
+        // Nothing is encapsulated until the node supports security
+        assertFalse(node.doesMessageRequireSecurityEncapsulation(1, switchGet));
+
+        root.addCommandClass(new ZWaveSecurityCommandClass(root));
+        assertTrue(node.doesMessageRequireSecurityEncapsulation(1, switchGet));
+        assertFalse(node.doesMessageRequireSecurityEncapsulation(0, switchGet));
+        assertFalse(node.doesMessageRequireSecurityEncapsulation(5, switchGet));
+        assertFalse(node.doesMessageRequireSecurityEncapsulation(1, new ZWaveCommandClassPayload(new byte[] { 0 })));
+
+        // Only some SECURITY commands are encapsulated
+        assertTrue(node.doesMessageRequireSecurityEncapsulation(0,
+                new ZWaveCommandClassPayload(CommandClassSecurityV1.getSecurityCommandsSupportedGet())));
+        assertFalse(node.doesMessageRequireSecurityEncapsulation(0,
+                new ZWaveCommandClassPayload(CommandClassSecurityV1.getSecurityNonceGet())));
+
+        root.removeCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY);
+        assertFalse(node.doesMessageRequireSecurityEncapsulation(1, switchGet));
+    }
+
+    @Test
+    public void wakeUpWithoutTransactionManager() {
+        ZWaveNode node = new ZWaveNode(new ZWaveNetwork(), 2);
+        node.setAwake(true);
+        assertTrue(node.isAwake());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sendWithoutTransactionManager() {
+        new ZWaveNetwork().sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(2,
+                CommandClassSwitchBinaryV1.getSwitchBinaryGet()).build());
+    }
+
+    @Test
+    public void securityNonceGet() {
+        final List<ZWaveCommandClassTransactionPayload> nonces = new ArrayList<ZWaveCommandClassTransactionPayload>();
+        ZWaveNetwork network = new ZWaveNetwork() {
+            @Override
+            public void enqueueNonce(ZWaveCommandClassTransactionPayload transaction) {
+                nonces.add(transaction);
+            }
+        };
+        ZWaveNode node = new ZWaveNode(network, 2);
+        ZWaveEndpoint root = node.addEndpoint(0);
+        ZWaveSecurityCommandClass security = new ZWaveSecurityCommandClass(root);
+        root.addCommandClass(security);
+
+        // The node is sent a new nonce each time it asks for one
+        security.handleApplicationCommandRequest(
+                new ZWaveCommandClassPayload(CommandClassSecurityV1.getSecurityNonceGet()));
+        security.handleApplicationCommandRequest(
+                new ZWaveCommandClassPayload(CommandClassSecurityV1.getSecurityNonceGet()));
+
+        assertEquals(2, nonces.size());
+        for (ZWaveCommandClassTransactionPayload nonce : nonces) {
+            assertEquals(2, nonce.getDestinationNode());
+            assertEquals(CommandClassSecurityV1.SECURITY_NONCE_REPORT, nonce.getPayloadBuffer()[1] & 0xff);
+        }
+        assertFalse(Arrays.equals(nonces.get(0).getPayloadBuffer(), nonces.get(1).getPayloadBuffer()));
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.commandclass;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveNode;
+
+/**
+ * Test cases for the response handler dispatch in {@link ZWaveCommandClass}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveCommandClassDispatchTest {
+    public static class TestCommandClass extends ZWaveCommandClass {
+        int reportCount = 0;
+        int reportEndpoint = -1;
+
+        public TestCommandClass(ZWaveEndpoint endpoint) {
+            super(endpoint, ZWaveCommandClassEnum.COMMAND_CLASS_BASIC);
+        }
+
+        @ZWaveResponseHandler(id = 3, name = "BASIC_REPORT")
+        public void handleBasicReport(ZWaveCommandClassPayload payload, int endpoint) {
+            reportCount++;
+            reportEndpoint = endpoint;
+        }
+    }
+
+    public static class DefaultCommandClass extends TestCommandClass {
+        int defaultCount = 0;
+
+        public DefaultCommandClass(ZWaveEndpoint endpoint) {
+            super(endpoint);
+        }
+
+        @ZWaveResponseHandler(id = 0, name = "DEFAULT")
+        public void handleDefault(ZWaveCommandClassPayload payload, int endpoint) {
+            defaultCount++;
+        }
+    }
+
+    private ZWaveEndpoint getEndpoint() {
+        ZWaveNode node = new ZWaveNode(null, 5);
+        return node.addEndpoint(2);
+    }
+
+    @Test
+    public void dispatchKnownCommand() {
+        TestCommandClass cls = new TestCommandClass(getEndpoint());
+        cls.handleApplicationCommandRequest(new ZWaveCommandClassPayload(new byte[] { 0x20, 0x03, 0x00 }));
+
+        assertEquals(1, cls.reportCount);
+        assertEquals(2, cls.reportEndpoint);
+    }
+
+    @Test
+    public void dispatchUnknownCommand() {
+        TestCommandClass cls = new TestCommandClass(getEndpoint());
+        cls.handleApplicationCommandRequest(new ZWaveCommandClassPayload(new byte[] { 0x20, 0x05 }));
+        cls.handleApplicationCommandRequest(new ZWaveCommandClassPayload(new byte[] { 0x20 }));
+
+        assertEquals(0, cls.reportCount);
+    }
+
+    @Test
+    public void dispatchDefaultCommand() {
+        DefaultCommandClass cls = new DefaultCommandClass(getEndpoint());
+        cls.handleApplicationCommandRequest(new ZWaveCommandClassPayload(new byte[] { 0x20, 0x05 }));
+        cls.handleApplicationCommandRequest(new ZWaveCommandClassPayload(new byte[] { 0x20, 0x03 }));
+
+        assertEquals(1, cls.defaultCount);
+        assertEquals(1, cls.reportCount);
+    }
+}
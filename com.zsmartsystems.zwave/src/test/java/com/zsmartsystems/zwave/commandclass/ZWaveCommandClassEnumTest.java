@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.commandclass;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveCommandClassEnum}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveCommandClassEnumTest {
+    @Test
+    public void getCommandClassById() {
+        for (ZWaveCommandClassEnum commandClass : ZWaveCommandClassEnum.values()) {
+            assertEquals(commandClass, ZWaveCommandClassEnum.getCommandClass(commandClass.getKey()));
+        }
+
+        assertEquals(ZWaveCommandClassEnum.COMMAND_CLASS_NON_INTEROPERABLE,
+                ZWaveCommandClassEnum.getCommandClass(0xF0));
+        assertNull(ZWaveCommandClassEnum.getCommandClass(0xFF));
+        assertNull(ZWaveCommandClassEnum.getCommandClass(-1));
+        assertNull(ZWaveCommandClassEnum.getCommandClass(256));
+    }
+
+    @Test
+    public void getCommandClassByLabel() {
+        assertEquals(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY,
+                ZWaveCommandClassEnum.getCommandClass("COMMAND_CLASS_SECURITY"));
+        assertEquals(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY,
+                ZWaveCommandClassEnum.getCommandClass("command_class_security"));
+        assertEquals(ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY,
+                ZWaveCommandClassEnum.getCommandClass("Command_Class_Security"));
+        assertNull(ZWaveCommandClassEnum.getCommandClass("COMMAND_CLASS_UNKNOWN"));
+    }
+}
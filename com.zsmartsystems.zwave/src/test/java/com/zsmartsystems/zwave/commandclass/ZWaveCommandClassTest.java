@@ -102,11 +102,11 @@ public class ZWaveCommandClassTest {
 
             Field endpointsField = ZWaveNode.class.getDeclaredField("endpoints");
             endpointsField.setAccessible(true);
-            Map<Integer, ZWaveEndpoint> endpoints = (Map<Integer, ZWaveEndpoint>) endpointsField.get(mockedNode);
-            endpoints.put(0, mockedEndpoint0);
-            endpoints.put(1, mockedEndpoint1);
-            endpoints.put(2, mockedEndpoint2);
-            endpoints.put(3, mockedEndpoint3);
+            ZWaveEndpoint[] endpoints = (ZWaveEndpoint[]) endpointsField.get(mockedNode);
+            endpoints[0] = mockedEndpoint0;
+            endpoints[1] = mockedEndpoint1;
+            endpoints[2] = mockedEndpoint2;
+            endpoints[3] = mockedEndpoint3;
 
             Mockito.when(mockedEndpoint0.getEndpointId()).thenReturn(0);
             Mockito.when(mockedEndpoint1.getEndpointId()).thenReturn(1);
@@ -8,8 +8,12 @@
  */
 package com.zsmartsystems.zwave.commandclass.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.junit.Test;
@@ -34,4 +38,27 @@ public class CommandClassBasicV1Test extends ZWaveCommandClassTest {
         byte[] expectedResponse = { 32, 1, 34 };
         assertTrue(Arrays.equals(CommandClassBasicV1.getBasicSet(34), expectedResponse));
     }
+
+    @Test
+    public void getBasicSetBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(CommandClassBasicV1.BASIC_SET_LENGTH * 2);
+        CommandClassBasicV1.getBasicSet(buffer, 34);
+        CommandClassBasicV1.getBasicSet(buffer, 255);
+        assertEquals(0, buffer.remaining());
+
+        byte[] expectedResponse = { 32, 1, 34, 32, 1, -1 };
+        assertTrue(Arrays.equals(buffer.array(), expectedResponse));
+    }
+
+    @Test
+    public void getBasicSetBufferOverflow() {
+        ByteBuffer buffer = ByteBuffer.allocate(CommandClassBasicV1.BASIC_SET_LENGTH - 1);
+        try {
+            CommandClassBasicV1.getBasicSet(buffer, 34);
+        } catch (BufferOverflowException e) {
+            assertEquals(0, buffer.position());
+            return;
+        }
+        fail("Expected BufferOverflowException");
+    }
 }
@@ -1,5 +1,7 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -51,4 +53,41 @@ public class CommandClassMeterV4Test extends ZWaveCommandClassTest {
         }
     }
 
+    @Test
+    public void meterReportView() {
+        CommandClassMeterV4.MeterReport report = new CommandClassMeterV4.MeterReport().wrap(new byte[] { 0x32, 0x02,
+                0x21, 0x74, 0x00, 0x00, 0x01, (byte) 0xB7, 0x00, 0x3C, 0x00, 0x00, 0x01, (byte) 0x90, 0x00 });
+
+        assertEquals(1, report.getMeterType());
+        assertEquals("EXPORT", report.getRateTypeLabel());
+        assertFalse(report.isScaleBit2());
+        assertEquals(2, report.getScaleBits10());
+        assertEquals(3, report.getPrecision());
+        assertEquals(4, report.getMeterValueSize());
+        assertEquals(439, report.getMeterValue());
+        assertEquals(60, report.getDeltaTime());
+        assertTrue(report.hasPreviousMeterValue());
+        assertEquals(400, report.getPreviousMeterValue());
+        assertTrue(report.hasScale2());
+        assertEquals(0, report.getScale2());
+
+        // The view can be reused for the next frame
+        report.wrap(new byte[] { 0x32, 0x02, 0x01, 0x21, (byte) 0xFF, 0x00, 0x00 });
+        assertEquals(-1, report.getMeterValue());
+        assertEquals("GAS_METER", report.getMeterTypeLabel());
+        assertFalse(report.hasPreviousMeterValue());
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void meterReportViewTruncated() {
+        // Meter Value is 4 bytes, but the frame ends after 2 of them
+        new CommandClassMeterV4.MeterReport().wrap(new byte[] { 0x32, 0x02, 0x21, 0x74, 0x00, 0x00 })
+                .getMeterValueBytes();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void meterReportViewOversizedValue() {
+        new CommandClassMeterV4.MeterReport().wrap(new byte[] { 0x32, 0x02, 0x21, 0x75, 0x00, 0x00, 0x01, 0x02, 0x03,
+                0x00, 0x3C }).getMeterValue();
+    }
 }
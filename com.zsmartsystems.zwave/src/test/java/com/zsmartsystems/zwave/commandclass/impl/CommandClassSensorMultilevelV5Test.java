@@ -1,5 +1,6 @@
 package com.zsmartsystems.zwave.commandclass.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -18,4 +19,23 @@ public class CommandClassSensorMultilevelV5Test {
         assertTrue(
                 Arrays.equals(CommandClassSensorMultilevelV5.getSensorMultilevelGet("DIRECTION", 0), expectedResponse));
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getSensorMultilevelGet_Unknown() {
+        CommandClassSensorMultilevelV5.getSensorMultilevelGet("UNKNOWN_SENSOR", 0);
+    }
+
+    @Test
+    public void sensorMultilevelReportView() {
+        CommandClassSensorMultilevelV5.SensorMultilevelReport report = new CommandClassSensorMultilevelV5.SensorMultilevelReport()
+                .wrap(new byte[] { 0x31, 0x05, 0x01, 0x2A, (byte) 0xFF, 0x38 });
+
+        assertEquals(1, report.getSensorType());
+        assertEquals("TEMPERATURE", report.getSensorTypeLabel());
+        assertEquals(1, report.getScale());
+        assertEquals(1, report.getPrecision());
+        assertEquals(2, report.getSensorValueSize());
+        assertEquals(-200, report.getSensorValue());
+        assertTrue(Arrays.equals(new byte[] { (byte) 0xFF, 0x38 }, report.getSensorValueBytes()));
+    }
 }
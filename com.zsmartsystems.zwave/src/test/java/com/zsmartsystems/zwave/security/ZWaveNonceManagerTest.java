@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.timer.ZWaveTimer;
+
+/**
+ * Test cases for {@link ZWaveNonceManager}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNonceManagerTest {
+    private final ZWaveTimer timer = new ZWaveTimer(10, TimeUnit.MILLISECONDS, 64);
+    private final ZWaveNonceManager nonceManager = new ZWaveNonceManager(timer);
+
+    @After
+    public void shutdown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void issueAndUseNonce() {
+        ZWaveNonce nonce = nonceManager.issueNonce();
+        assertEquals(8, nonce.getNonceBytes().length);
+        assertEquals(nonce, nonceManager.getIssuedNonce(nonce.getId()));
+
+        // The nonce can only be used once
+        nonceManager.useIssuedNonce(nonce.getId());
+        assertNull(nonceManager.getIssuedNonce(nonce.getId()));
+    }
+
+    @Test
+    public void issueUniqueIds() {
+        Set<Integer> nonceIds = new HashSet<Integer>();
+        for (int cnt = 0; cnt < 100; cnt++) {
+            assertTrue(nonceIds.add(nonceManager.issueNonce().getId() & 0xff));
+        }
+        for (int nonceId : nonceIds) {
+            assertEquals(nonceId, nonceManager.getIssuedNonce(nonceId).getId() & 0xff);
+        }
+
+        nonceManager.clear();
+        for (int nonceId : nonceIds) {
+            assertNull(nonceManager.getIssuedNonce(nonceId));
+        }
+    }
+
+    @Test
+    public void cacheReceivedNonces() {
+        assertFalse(nonceManager.isReceivedNonceAvailable());
+        assertNull(nonceManager.pollReceivedNonce());
+
+        ZWaveNonce first = new ZWaveNonce(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        ZWaveNonce second = new ZWaveNonce(new byte[] { 2, 3, 4, 5, 6, 7, 8, 9 });
+        nonceManager.addReceivedNonce(first);
+        nonceManager.addReceivedNonce(second);
+
+        // Only the newest nonce is valid on the node
+        assertTrue(nonceManager.isReceivedNonceAvailable());
+        assertEquals(second, nonceManager.pollReceivedNonce());
+        assertFalse(nonceManager.isReceivedNonceAvailable());
+        assertNull(nonceManager.pollReceivedNonce());
+    }
+}
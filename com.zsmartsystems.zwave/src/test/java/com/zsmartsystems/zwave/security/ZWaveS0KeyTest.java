@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveS0Key}. The results are checked against the JCE ciphers.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS0KeyTest {
+    private static final byte[] NETWORK_KEY = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+    private static final byte[] IV = { 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 1 };
+
+    private byte[] deriveKey(int pattern) throws GeneralSecurityException {
+        byte[] derive = new byte[16];
+        Arrays.fill(derive, (byte) pattern);
+        Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(NETWORK_KEY, "AES"));
+        return cipher.doFinal(derive);
+    }
+
+    private byte[] getData(int length) {
+        byte[] data = new byte[length];
+        for (int cnt = 0; cnt < length; cnt++) {
+            data[cnt] = (byte) (cnt * 7);
+        }
+        return data;
+    }
+
+    @Test
+    public void crypt() throws GeneralSecurityException {
+        ZWaveS0Key key = new ZWaveS0Key(NETWORK_KEY);
+        Cipher cipher = Cipher.getInstance("AES/OFB/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(deriveKey(0xAA), "AES"), new IvParameterSpec(IV));
+
+        // Lengths either side of a block boundary, encrypted in the middle of a buffer
+        for (int length : new int[] { 1, 15, 16, 17, 40 }) {
+            byte[] plaintext = getData(length);
+            byte[] buffer = new byte[length + 4];
+            System.arraycopy(plaintext, 0, buffer, 2, length);
+
+            key.crypt(IV, buffer, 2, length);
+            assertArrayEquals(cipher.doFinal(plaintext), Arrays.copyOfRange(buffer, 2, length + 2));
+
+            key.crypt(IV, buffer, 2, length);
+            assertArrayEquals(plaintext, Arrays.copyOfRange(buffer, 2, length + 2));
+        }
+    }
+
+    @Test
+    public void mac() throws GeneralSecurityException {
+        ZWaveS0Key key = new ZWaveS0Key(NETWORK_KEY);
+        Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(deriveKey(0x55), "AES"));
+
+        for (int length : new int[] { 0, 12, 13, 28, 40 }) {
+            byte[] data = getData(length);
+
+            // The header and data, padded with zeros to a block boundary
+            byte[] input = new byte[(length + 4 + 15) / 16 * 16];
+            input[0] = (byte) 0x81;
+            input[1] = 1;
+            input[2] = 2;
+            input[3] = (byte) length;
+            System.arraycopy(data, 0, input, 4, length);
+
+            // CBC-MAC, with the encrypted IV as the first block
+            byte[] state = cipher.doFinal(IV);
+            for (int block = 0; block < input.length; block += 16) {
+                for (int cnt = 0; cnt < 16; cnt++) {
+                    state[cnt] ^= input[block + cnt];
+                }
+                state = cipher.doFinal(state);
+            }
+
+            byte[] mac = new byte[10];
+            key.mac(IV, (byte) 0x81, (byte) 1, (byte) 2, data, 0, length, mac, 2);
+            assertArrayEquals(Arrays.copyOf(state, 8), Arrays.copyOfRange(mac, 2, 10));
+        }
+    }
+}
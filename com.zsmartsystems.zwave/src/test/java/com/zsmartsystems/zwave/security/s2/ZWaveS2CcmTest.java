@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveS2Ccm} and the CMAC in {@link ZWaveS2Aes}, using the RFC 3610 and RFC 4493 test vectors.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2CcmTest {
+    static byte[] hex(String value) {
+        byte[] bytes = new byte[value.length() / 2];
+        for (int cnt = 0; cnt < bytes.length; cnt++) {
+            bytes[cnt] = (byte) Integer.parseInt(value.substring(cnt * 2, cnt * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static byte[] range(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int cnt = 0; cnt < bytes.length; cnt++) {
+            bytes[cnt] = (byte) (start + cnt);
+        }
+        return bytes;
+    }
+
+    @Test
+    public void ccmPacketVector1() throws GeneralSecurityException {
+        ZWaveS2Ccm ccm = new ZWaveS2Ccm(range(0xC0, 0xD0));
+        byte[] nonce = hex("00000003020100A0A1A2A3A4A5");
+        byte[] aad = range(0x00, 0x08);
+        byte[] expected = hex("588C979A61C663D2F066D0C2C0F989806D5F6B61DAC38417E8D12CFDF926E0");
+
+        // Encrypt data in the middle of a larger buffer
+        byte[] buffer = range(0x00, 0x1F);
+        byte[] ciphertext = ccm.encrypt(nonce, aad, buffer, 8, 23);
+        assertArrayEquals(expected, ciphertext);
+
+        assertArrayEquals(range(0x08, 0x1F), ccm.decrypt(nonce, aad, ciphertext, 0, ciphertext.length));
+    }
+
+    @Test
+    public void ccmPacketVectors() throws GeneralSecurityException {
+        // RFC 3610 packet vectors #2 to #6, which use the same 8 byte tag as S2
+        ZWaveS2Ccm ccm = new ZWaveS2Ccm(range(0xC0, 0xD0));
+        String[] expected = { "72C91A36E135F8CF291CA894085C87E3CC15C439C9E43A3BA091D56E10400916",
+                "51B1E5F44A197D1DA46B0F8E2D282AE871E838BB64DA8596574ADAA76FBD9FB0C5",
+                "A28C6865939A9A79FAAA5C4C2A9D4A91CDAC8C96C861B9C9E61EF1",
+                "DCF1FB7B5D9E23FB9D4E131253658AD86EBDCA3E51E83F077D9C2D93",
+                "6FC1B011F006568B5171A42D953D469B2570A4BD87405A0443AC91CB94" };
+        for (int vector = 2; vector <= 6; vector++) {
+            byte[] nonce = hex("000000" + String.format("%02X%02X%02X%02X", vector + 2, vector + 1, vector, vector - 1)
+                    + "A0A1A2A3A4A5");
+            int header = vector <= 3 ? 8 : 12;
+            int end = 0x1F + (vector - 1) % 3;
+            byte[] aad = range(0x00, header);
+
+            byte[] ciphertext = ccm.encrypt(nonce, aad, range(header, end), 0, end - header);
+            assertArrayEquals(hex(expected[vector - 2]), ciphertext);
+            assertArrayEquals(range(header, end), ccm.decrypt(nonce, aad, ciphertext, 0, ciphertext.length));
+        }
+    }
+
+    @Test
+    public void ccmRejectsModifiedData() throws GeneralSecurityException {
+        ZWaveS2Ccm ccm = new ZWaveS2Ccm(range(0xC0, 0xD0));
+        byte[] nonce = hex("00000003020100A0A1A2A3A4A5");
+        byte[] aad = range(0x00, 0x08);
+        byte[] ciphertext = ccm.encrypt(nonce, aad, range(0x08, 0x1F), 0, 23);
+
+        byte[] modified = ciphertext.clone();
+        modified[3] ^= 0x01;
+        assertNull(ccm.decrypt(nonce, aad, modified, 0, modified.length));
+
+        modified = aad.clone();
+        modified[0] ^= 0x01;
+        assertNull(ccm.decrypt(nonce, modified, ciphertext, 0, ciphertext.length));
+
+        assertNull(ccm.decrypt(nonce, aad, ciphertext, 0, 7));
+    }
+
+    @Test
+    public void cmac() throws GeneralSecurityException {
+        byte[] key = hex("2B7E151628AED2A6ABF7158809CF4F3C");
+        byte[] message = hex("6BC1BEE22E409F96E93D7E117393172AAE2D8A571E03AC9C9EB76FAC45AF8E5130C81C46A35CE411"
+                + "E5FBC1191A0A52EFF69F2445DF4F9B17AD2B417BE66C3710");
+
+        assertArrayEquals(hex("BB1D6929E95937287FA37D129B756746"), ZWaveS2Aes.cmac(key));
+        assertArrayEquals(hex("070A16B46B4D4144F79BDD9DD04A287C"), ZWaveS2Aes.cmac(key, Arrays.copyOf(message, 16)));
+        assertArrayEquals(hex("DFA66747DE9AE63030CA32611497C827"), ZWaveS2Aes.cmac(key, Arrays.copyOf(message, 40)));
+        assertArrayEquals(hex("51F0BEBF7E3B9D92FC49741779363CFE"), ZWaveS2Aes.cmac(key, message));
+
+        // The message is the concatenation of the parts
+        assertArrayEquals(hex("DFA66747DE9AE63030CA32611497C827"),
+                ZWaveS2Aes.cmac(key, Arrays.copyOf(message, 5), Arrays.copyOfRange(message, 5, 40)));
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import static com.zsmartsystems.zwave.security.s2.ZWaveS2CcmTest.hex;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveS2Ecdh}, using the RFC 7748 test vectors.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2EcdhTest {
+    private static final byte[] PRIVATE_KEY_A = hex(
+            "77076D0A7318A57D3C16C17251B26645DF4C2F87EBC0992AB177FBA51DB92C2A");
+    private static final byte[] PUBLIC_KEY_A = hex("8520F0098930A754748B7DDCB43EF75A0DBF3A0D26381AF4EBA4A98EAA9B4E6A");
+    private static final byte[] PRIVATE_KEY_B = hex(
+            "5DAB087E624A8A4B79E17F8B83800EE66F3BB1292618B6FD1C2F8B27FF88E0EB");
+    private static final byte[] PUBLIC_KEY_B = hex("DE9EDB7D7B7DC1B4D35B61C2ECE435373F8343C85B78674DADFC7E146F882B4F");
+    private static final byte[] SHARED_SECRET = hex(
+            "4A5D9D5BA4CE2DE1728E3BF480350F25E07E21C947D19E3376F09B3C1E161742");
+
+    @Before
+    public void checkX25519() {
+        // X25519 is only available from Java 11
+        try {
+            KeyPairGenerator.getInstance("X25519");
+        } catch (NoSuchAlgorithmException e) {
+            assumeTrue(false);
+        }
+    }
+
+    @Test
+    public void keyAgreement() throws GeneralSecurityException {
+        ZWaveS2Ecdh nodeA = new ZWaveS2Ecdh(PRIVATE_KEY_A);
+        ZWaveS2Ecdh nodeB = new ZWaveS2Ecdh(PRIVATE_KEY_B);
+
+        assertArrayEquals(PUBLIC_KEY_A, nodeA.getPublicKey());
+        assertArrayEquals(PUBLIC_KEY_B, nodeB.getPublicKey());
+        assertArrayEquals(SHARED_SECRET, nodeA.getSharedSecret(PUBLIC_KEY_B));
+        assertArrayEquals(SHARED_SECRET, nodeB.getSharedSecret(PUBLIC_KEY_A));
+    }
+
+    @Test
+    public void scalarMultiplication() throws GeneralSecurityException {
+        // RFC 7748 section 5.2
+        assertArrayEquals(hex("C3DA55379DE9C6908E94EA4DF28D084F32ECCF03491C71F754B4075577A28552"),
+                new ZWaveS2Ecdh(hex("A546E36BF0527C9D3B16154B82465EDD62144C0AC1FC5A18506A2244BA449AC4"))
+                        .getSharedSecret(hex("E6DB6867583030DB3594C1A424B15F7C726624EC26B3353B10A903A6D0AB1C4C")));
+        assertArrayEquals(hex("95CBDE9476E8907D7AADE45CB4B873F88B595A68799FA152E6F8F7647AAC7957"),
+                new ZWaveS2Ecdh(hex("4B66E9D4D1B4673C5AD22691957D6AF5C11B6421E0EA01D42CA4169E7918BA0D"))
+                        .getSharedSecret(hex("E5210F12786811D3F4B7959D0538AE2C31DBE7106FC03C3EFC4CD549C715A493")));
+    }
+
+    @Test
+    public void iteratedScalarMultiplication() throws GeneralSecurityException {
+        // RFC 7748 section 5.2 - the result is the next scalar, and the previous scalar the next u-coordinate
+        byte[] scalar = hex("0900000000000000000000000000000000000000000000000000000000000000");
+        byte[] u = scalar;
+        for (int iteration = 1; iteration <= 1000; iteration++) {
+            byte[] result = new ZWaveS2Ecdh(scalar).getSharedSecret(u);
+            u = scalar;
+            scalar = result;
+            if (iteration == 1) {
+                assertArrayEquals(hex("422C8E7A6227D7BCA1350B3E2BB7279F7897B87BB6854B783C60E80311AE3079"), scalar);
+            }
+        }
+        assertArrayEquals(hex("684CF59BA83309552800EF566F2F4D3C1C3887C49360E3875F2EB94D99532C51"), scalar);
+    }
+
+    @Test
+    public void temporaryKeys() throws GeneralSecurityException {
+        ZWaveS2Ecdh including = new ZWaveS2Ecdh();
+        ZWaveS2Ecdh joining = new ZWaveS2Ecdh();
+
+        ZWaveS2Keys includingKeys = including.getTemporaryKeys(joining.getPublicKey(), true);
+        ZWaveS2Keys joiningKeys = joining.getTemporaryKeys(including.getPublicKey(), false);
+        assertArrayEquals(includingKeys.getPersonalization(), joiningKeys.getPersonalization());
+
+        // Node A is the including node in the recorded derivation
+        assertArrayEquals(hex("D62E2993BE086F2AD3ABA4D45CEF3418533FE70DF5139984871B5CC2D6D2C6DF"),
+                new ZWaveS2Ecdh(PRIVATE_KEY_A).getTemporaryKeys(PUBLIC_KEY_B, true).getPersonalization());
+    }
+}
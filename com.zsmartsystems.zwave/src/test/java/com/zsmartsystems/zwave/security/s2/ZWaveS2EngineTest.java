@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import static com.zsmartsystems.zwave.security.s2.ZWaveS2CcmTest.hex;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.security.GeneralSecurityException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassBasicV1;
+
+/**
+ * Test cases for {@link ZWaveS2Engine}. A controller (node 1) and a device (node 2) each have an engine, and frames
+ * are passed between them.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2EngineTest {
+    private static final int HOME_ID = 0xC0FFEE01;
+    private static final byte[] NETWORK_KEY = hex("0102030405060708090A0B0C0D0E0F10");
+
+    private final ZWaveS2Engine controller = new ZWaveS2Engine(HOME_ID, 1);
+    private final ZWaveS2Engine device = new ZWaveS2Engine(HOME_ID, 2);
+
+    @Before
+    public void setup() throws GeneralSecurityException {
+        controller.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, NETWORK_KEY);
+        device.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, NETWORK_KEY);
+    }
+
+    private void exchangeNonce() {
+        // The device replies to the controller's NONCE_GET
+        assertEquals(3, controller.getNonceGet(2).length);
+        controller.handleNonceReport(2, device.getNonceReport(1));
+    }
+
+    @Test
+    public void establishSpan() {
+        byte[] command = CommandClassBasicV1.getBasicSet(0xFF);
+        assertFalse(controller.isSpanAvailable(2));
+        assertNull(controller.encapsulate(2, command));
+
+        exchangeNonce();
+        assertTrue(controller.isSpanAvailable(2));
+
+        // The first frame carries the SPAN extension
+        byte[] frame = controller.encapsulate(2, command);
+        assertEquals(0x01, frame[3]);
+        assertArrayEquals(command, device.decapsulate(1, frame));
+        assertTrue(device.isSpanAvailable(1));
+
+        // Further frames in both directions need no nonce exchange
+        for (int value = 0; value < 10; value++) {
+            command = CommandClassBasicV1.getBasicSet(value);
+            frame = controller.encapsulate(2, command);
+            assertEquals(0x00, frame[3]);
+            assertArrayEquals(command, device.decapsulate(1, frame));
+
+            command = CommandClassBasicV1.getBasicReport(value);
+            assertArrayEquals(command, controller.decapsulate(2, device.encapsulate(1, command)));
+        }
+    }
+
+    @Test
+    public void rejectDuplicateAndModifiedFrames() {
+        exchangeNonce();
+        byte[] frame = controller.encapsulate(2, CommandClassBasicV1.getBasicSet(1));
+        assertArrayEquals(CommandClassBasicV1.getBasicSet(1), device.decapsulate(1, frame));
+        assertNull(device.decapsulate(1, frame));
+
+        // A modified frame is dropped without moving the SPAN on
+        frame = controller.encapsulate(2, CommandClassBasicV1.getBasicSet(2));
+        byte[] modified = frame.clone();
+        modified[modified.length - 1] ^= 0x01;
+        assertNull(device.decapsulate(1, modified));
+        assertArrayEquals(CommandClassBasicV1.getBasicSet(2), device.decapsulate(1, frame));
+    }
+
+    @Test
+    public void recoverFromLostFrames() {
+        exchangeNonce();
+        assertArrayEquals(CommandClassBasicV1.getBasicSet(1),
+                device.decapsulate(1, controller.encapsulate(2, CommandClassBasicV1.getBasicSet(1))));
+
+        // Two frames are lost
+        controller.encapsulate(2, CommandClassBasicV1.getBasicSet(2));
+        controller.encapsulate(2, CommandClassBasicV1.getBasicSet(3));
+
+        assertArrayEquals(CommandClassBasicV1.getBasicSet(4),
+                device.decapsulate(1, controller.encapsulate(2, CommandClassBasicV1.getBasicSet(4))));
+    }
+
+    @Test
+    public void resynchronise() {
+        exchangeNonce();
+        device.decapsulate(1, controller.encapsulate(2, CommandClassBasicV1.getBasicSet(1)));
+
+        // The device loses the SPAN, and sends a new NONCE_REPORT
+        controller.handleNonceReport(2, device.getNonceReport(1));
+        assertArrayEquals(CommandClassBasicV1.getBasicSet(2),
+                device.decapsulate(1, controller.encapsulate(2, CommandClassBasicV1.getBasicSet(2))));
+    }
+
+    @Test
+    public void keyClassMismatch() throws GeneralSecurityException {
+        device.setNetworkKey(ZWaveS2KeyClass.S2_AUTHENTICATED, hex("1112131415161718191A1B1C1D1E1F20"));
+        device.setKeyClass(1, ZWaveS2KeyClass.S2_AUTHENTICATED);
+
+        exchangeNonce();
+        assertNull(device.decapsulate(1, controller.encapsulate(2, CommandClassBasicV1.getBasicSet(1))));
+    }
+
+    @Test
+    public void multicastWithFollowUps() throws GeneralSecurityException {
+        ZWaveS2Engine device3 = new ZWaveS2Engine(HOME_ID, 3);
+        device3.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, NETWORK_KEY);
+        exchangeNonce();
+        controller.handleNonceReport(3, device3.getNonceReport(1));
+
+        int groupId = controller.getMulticastGroup(2, 3);
+        assertEquals(groupId, controller.getMulticastGroup(3, 2));
+
+        // The devices don't have the MPAN yet, so get the command and the MPAN from the follow-ups
+        byte[] command = CommandClassBasicV1.getBasicSet(1);
+        byte[] multicast = controller.encapsulateMulticast(groupId, command);
+        assertNull(device.decapsulateMulticast(1, multicast));
+        assertFalse(device.isMpanAvailable(1, groupId));
+        byte[] followUp = controller.encapsulateFollowUp(2, groupId, command);
+        assertEquals(0x03, followUp[3] & 0x03);
+        assertArrayEquals(command, device.decapsulate(1, followUp));
+        assertTrue(device.isMpanAvailable(1, groupId));
+        assertArrayEquals(command, device3.decapsulate(1, controller.encapsulateFollowUp(3, groupId, command)));
+
+        // Now the multicast frame is decrypted, and the command in the follow-up is ignored
+        command = CommandClassBasicV1.getBasicSet(2);
+        multicast = controller.encapsulateMulticast(groupId, command);
+        assertArrayEquals(command, device.decapsulateMulticast(1, multicast));
+        assertArrayEquals(command, device3.decapsulateMulticast(1, multicast));
+        followUp = controller.encapsulateFollowUp(2, groupId, command);
+        assertEquals(0x01, followUp[3]);
+        assertEquals(0, device.decapsulate(1, followUp).length);
+        assertEquals(0, device3.decapsulate(1, controller.encapsulateFollowUp(3, groupId, command)).length);
+
+        // Device 3 misses a multicast frame, so executes the follow-up, and decrypts the next multicast frame
+        command = CommandClassBasicV1.getBasicSet(3);
+        assertArrayEquals(command, device.decapsulateMulticast(1, controller.encapsulateMulticast(groupId, command)));
+        assertEquals(0, device.decapsulate(1, controller.encapsulateFollowUp(2, groupId, command)).length);
+        assertArrayEquals(command, device3.decapsulate(1, controller.encapsulateFollowUp(3, groupId, command)));
+
+        command = CommandClassBasicV1.getBasicSet(4);
+        assertArrayEquals(command, device3.decapsulateMulticast(1, controller.encapsulateMulticast(groupId, command)));
+    }
+
+    @Test
+    public void multicastGroupMembers() throws GeneralSecurityException {
+        controller.setNetworkKey(ZWaveS2KeyClass.S2_AUTHENTICATED, hex("1112131415161718191A1B1C1D1E1F20"));
+        exchangeNonce();
+
+        int groupId = controller.getMulticastGroup(2, 3);
+        assertTrue(groupId != controller.getMulticastGroup(2, 4));
+        assertNull(controller.encapsulateFollowUp(4, groupId, CommandClassBasicV1.getBasicSet(1)));
+
+        controller.setKeyClass(4, ZWaveS2KeyClass.S2_AUTHENTICATED);
+        try {
+            controller.getMulticastGroup(2, 4);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import static com.zsmartsystems.zwave.security.s2.ZWaveS2CcmTest.hex;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveS2Mpan}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2MpanTest {
+    private static final byte[] MPAN_KEY = hex("000102030405060708090A0B0C0D0E0F");
+
+    private byte[] encrypt(byte[] block) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(MPAN_KEY, "AES"));
+        return Arrays.copyOf(cipher.doFinal(block), ZWaveS2Ccm.NONCE_LENGTH);
+    }
+
+    @Test
+    public void nextNonce() throws GeneralSecurityException {
+        ZWaveS2Mpan mpan = new ZWaveS2Mpan(MPAN_KEY, hex("00000000000000000000000000FFFFFF"));
+
+        assertArrayEquals(encrypt(hex("00000000000000000000000000FFFFFF")), mpan.nextNonce());
+        assertArrayEquals(hex("00000000000000000000000001000000"), mpan.getInnerState());
+        assertArrayEquals(encrypt(hex("00000000000000000000000001000000")), mpan.nextNonce());
+    }
+
+    @Test
+    public void copy() throws GeneralSecurityException {
+        ZWaveS2Mpan mpan = new ZWaveS2Mpan(MPAN_KEY, hex("0102030405060708090A0B0C0D0E0F10"));
+        ZWaveS2Mpan copy = new ZWaveS2Mpan(mpan);
+
+        byte[] nonce = copy.nextNonce();
+        assertArrayEquals(hex("0102030405060708090A0B0C0D0E0F10"), mpan.getInnerState());
+        assertArrayEquals(nonce, mpan.nextNonce());
+    }
+}
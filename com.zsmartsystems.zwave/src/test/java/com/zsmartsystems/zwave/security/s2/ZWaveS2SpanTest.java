@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.security.s2;
+
+import static com.zsmartsystems.zwave.security.s2.ZWaveS2CcmTest.hex;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.security.GeneralSecurityException;
+
+import org.junit.Test;
+
+/**
+ * Test cases for the key derivation in {@link ZWaveS2Keys} and the nonce generation in {@link ZWaveS2Span}. The
+ * CTR_DRBG is checked against the NIST CAVP vectors. There are no published vectors for the S2 CKDF functions, which
+ * are built on the CMAC checked in {@link ZWaveS2CcmTest}, so their vectors were recorded from an independent
+ * implementation.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveS2SpanTest {
+    private static final byte[] NETWORK_KEY = hex("0102030405060708090A0B0C0D0E0F10");
+    private static final byte[] SENDER_ENTROPY = hex("101112131415161718191A1B1C1D1E1F");
+    private static final byte[] RECEIVER_ENTROPY = hex("202122232425262728292A2B2C2D2E2F");
+
+    @Test
+    public void ctrDrbgVector() throws GeneralSecurityException {
+        // NIST CAVP CTR_DRBG AES-128 without a derivation function or prediction resistance, COUNT = 0
+        ZWaveS2Span drbg = new ZWaveS2Span(
+                hex("ED1E7F21EF66EA5D8E2A85B9337245445B71D6393A4EECB0E63C193D0F72F9A9"));
+        drbg.update(hex("303FB519F0A4E17D6DF0B6426AA0ECB2A36079BD48BE47AD2A8DBFE48DA3EFAD"));
+        drbg.generate(64);
+
+        assertArrayEquals(hex("F80111D08E874672F32F42997133A5210F7A9375E22CEA70587F9CFAFEBE0F6A"
+                + "6AA2EB68E7DD9164536D53FA020FCAB20F54CADDFAB7D6D91E5FFEC1DFD8DEAA"), drbg.generate(64));
+    }
+
+    @Test
+    public void networkKeyExpand() throws GeneralSecurityException {
+        ZWaveS2Keys keys = ZWaveS2Keys.fromNetworkKey(NETWORK_KEY);
+        assertArrayEquals(hex("8B042EC063812F3753F418C494697EEC013D6CAA637014CE95F0E786E894DD64"),
+                keys.getPersonalization());
+        assertArrayEquals(hex("C2509E96B44A80405F3E7628A45EB362"), keys.getMpanKey());
+    }
+
+    @Test
+    public void temporaryKeyExtract() throws GeneralSecurityException {
+        // The RFC 7748 key agreement
+        ZWaveS2Keys keys = ZWaveS2Keys.fromSharedSecret(
+                hex("4A5D9D5BA4CE2DE1728E3BF480350F25E07E21C947D19E3376F09B3C1E161742"),
+                hex("8520F0098930A754748B7DDCB43EF75A0DBF3A0D26381AF4EBA4A98EAA9B4E6A"),
+                hex("DE9EDB7D7B7DC1B4D35B61C2ECE435373F8343C85B78674DADFC7E146F882B4F"));
+        assertArrayEquals(hex("D62E2993BE086F2AD3ABA4D45CEF3418533FE70DF5139984871B5CC2D6D2C6DF"),
+                keys.getPersonalization());
+    }
+
+    @Test
+    public void nonceSequence() throws GeneralSecurityException {
+        ZWaveS2Keys keys = ZWaveS2Keys.fromNetworkKey(NETWORK_KEY);
+        ZWaveS2Span span = new ZWaveS2Span(SENDER_ENTROPY, RECEIVER_ENTROPY, keys.getPersonalization());
+
+        assertArrayEquals(hex("130C82DEFB67C9BB08386AF505"), span.nextNonce());
+
+        // A copy continues from the same point without moving the original on
+        ZWaveS2Span copy = new ZWaveS2Span(span);
+        byte[] nonce = hex("1276AA89BCCC12A49D70DB09D5");
+        assertArrayEquals(nonce, copy.nextNonce());
+        assertArrayEquals(nonce, span.nextNonce());
+
+        // Encrypt a BASIC_SET from node 1 to node 2 with the derived CCM key
+        byte[] aad = hex("0102C0FFEE01000F2200");
+        assertArrayEquals(hex("9E9B8DB66552EF59709910"),
+                keys.getCcm().encrypt(nonce, aad, new byte[] { 0x25, 0x01, (byte) 0xFF }, 0, 3));
+    }
+}
@@ -0,0 +1,251 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.zsmartsystems.zwave.ZWaveAssociationGroup;
+import com.zsmartsystems.zwave.ZWaveDeviceClass;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Basic;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Generic;
+import com.zsmartsystems.zwave.ZWaveDeviceClass.Specific;
+import com.zsmartsystems.zwave.ZWaveEndpoint;
+import com.zsmartsystems.zwave.ZWaveManufacturerId;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.commandclass.ZWaveCommandClassEnum;
+
+/**
+ * Test cases for {@link ZWaveNodeStore}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNodeStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ZWaveNode addNode(ZWaveNetwork network, int nodeId) {
+        ZWaveNode node = new ZWaveNode(network, nodeId);
+        network.registerNode(node);
+
+        node.setRouting(true);
+        node.setManufacturerId(new ZWaveManufacturerId(0x010F, 0x1000, 0x0600));
+        node.setSerialNumber("SN" + nodeId);
+        node.setNifClasses(Arrays.asList(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY,
+                ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY));
+        node.addNeighbor(1);
+        node.addNeighbor(nodeId + 1);
+
+        node.addEndpoint(0, new ZWaveDeviceClass(Basic.BASIC_TYPE_ROUTING_SLAVE, Generic.GENERIC_TYPE_SWITCH_BINARY,
+                Specific.SPECIFIC_TYPE_POWER_SWITCH_BINARY));
+        ZWaveEndpoint endpoint = node.addEndpoint(1);
+        endpoint.addSecureCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY);
+
+        ZWaveAssociationGroup group = new ZWaveAssociationGroup(1);
+        group.setName("Lifeline");
+        group.setProfile1(0);
+        group.setCommandClasses(Collections.singleton(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY));
+        group.addAssociation(1);
+        group.addAssociation(7, 2);
+        node.setAssociationGroup(group);
+        return node;
+    }
+
+    @Test
+    public void saveAndLoad() throws Exception {
+        ZWaveNodeStore store = new ZWaveNodeStore(folder.getRoot(), 10);
+        ZWaveNetwork network = new ZWaveNetwork();
+        assertEquals(0, network.setNodeStore(store));
+        addNode(network, 2);
+        addNode(network, 3);
+        store.shutdown();
+
+        ZWaveNetwork restored = new ZWaveNetwork();
+        assertEquals(2, restored.setNodeStore(new ZWaveNodeStore(folder.getRoot())));
+        ZWaveNode node = restored.getNode(3);
+        assertNotNull(node);
+        assertTrue(node.isRouting());
+        assertFalse(node.isListening());
+        assertEquals(0x010F, node.getManufacturerId().getManufacturerId());
+        assertEquals(0x1000, node.getManufacturerId().getDeviceId());
+        assertEquals(0x0600, node.getManufacturerId().getDeviceType());
+        assertEquals("SN3", node.getSerialNumber());
+        assertEquals(Arrays.asList(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY,
+                ZWaveCommandClassEnum.COMMAND_CLASS_SECURITY), node.getNifClasses());
+        assertEquals(Arrays.asList(1, 4), node.getNeighbors());
+
+        assertEquals(2, node.getEndpoints().size());
+        assertEquals(Specific.SPECIFIC_TYPE_POWER_SWITCH_BINARY,
+                node.getEndpoint(0).getDeviceClass().getSpecificDeviceClass());
+        assertNull(node.getEndpoint(1).getDeviceClass());
+        assertTrue(node.getEndpoint(1).supportsSecureCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY));
+
+        ZWaveAssociationGroup group = node.getAssociationGroup(1);
+        assertEquals("Lifeline", group.getName());
+        assertEquals(Integer.valueOf(0), group.getProfile1());
+        assertNull(group.getProfile2());
+        assertEquals(Collections.singleton(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY),
+                group.getCommandClasses());
+        assertTrue(group.isAssociated(1));
+        assertTrue(group.isAssociated(7, 2));
+    }
+
+    @Test
+    public void corruptSnapshot() throws Exception {
+        ZWaveNodeStore store = new ZWaveNodeStore(folder.getRoot(), 10);
+        ZWaveNetwork network = new ZWaveNetwork();
+        network.setNodeStore(store);
+        addNode(network, 2);
+        addNode(network, 3);
+        store.shutdown();
+
+        // A damaged node is ignored, so only that node needs to be interviewed again
+        File file = new File(folder.getRoot(), "node002.zws");
+        try (RandomAccessFile snapshot = new RandomAccessFile(file, "rw")) {
+            snapshot.seek(20);
+            snapshot.write(0x55);
+        }
+
+        ZWaveNetwork restored = new ZWaveNetwork();
+        assertEquals(1, restored.setNodeStore(new ZWaveNodeStore(folder.getRoot())));
+        assertNull(restored.getNode(2));
+        assertNotNull(restored.getNode(3));
+    }
+
+    @Test
+    public void staleNodes() throws Exception {
+        ZWaveNodeStore store = new ZWaveNodeStore(folder.getRoot(), 10);
+        ZWaveNetwork network = new ZWaveNetwork();
+        network.setNodeStore(store);
+        addNode(network, 2);
+        Thread.sleep(200);
+        addNode(network, 3);
+
+        assertEquals(Arrays.asList(2), network.getStaleNodes(100, TimeUnit.MILLISECONDS));
+        Thread.sleep(5);
+        assertEquals(Arrays.asList(2, 3), network.getStaleNodes(0, TimeUnit.MILLISECONDS));
+
+        // Changing a node makes it current again
+        network.getNode(2).setListening(true);
+        assertTrue(network.getStaleNodes(100, TimeUnit.MILLISECONDS).isEmpty());
+
+        store.remove(2);
+        store.shutdown();
+        assertFalse(new File(folder.getRoot(), "node002.zws").exists());
+        assertTrue(new File(folder.getRoot(), "node003.zws").exists());
+    }
+
+    @Test
+    public void replayJournal() throws Exception {
+        // Nothing is compacted, so the changes are only in the journal
+        ZWaveNodeStore store = new ZWaveNodeStore(folder.getRoot(), 60000);
+        ZWaveNetwork network = new ZWaveNetwork();
+        network.setNodeStore(store);
+        ZWaveNode node = addNode(network, 2);
+        node.setWakeUpInterval(3600);
+        node.getAssociationGroup(1).removeAssociation(1);
+        node.getAssociationGroup(1).addAssociation(5);
+        node.clearNeighbors();
+        node.addNeighbor(9);
+        store.flush();
+        assertFalse(new File(folder.getRoot(), "node002.zws").exists());
+
+        ZWaveNetwork restored = new ZWaveNetwork();
+        ZWaveNodeStore restoredStore = new ZWaveNodeStore(folder.getRoot(), 60000);
+        assertEquals(1, restored.setNodeStore(restoredStore));
+        node = restored.getNode(2);
+        assertNotNull(node);
+        assertEquals(3600, node.getWakeUpInterval());
+        assertEquals("SN2", node.getSerialNumber());
+        assertEquals(Arrays.asList(9), node.getNeighbors());
+        assertFalse(node.getAssociationGroup(1).isAssociated(1));
+        assertTrue(node.getAssociationGroup(1).isAssociated(5));
+        assertTrue(node.getAssociationGroup(1).isAssociated(7, 2));
+        assertTrue(node.getEndpoint(1).supportsSecureCommandClass(ZWaveCommandClassEnum.COMMAND_CLASS_SWITCH_BINARY));
+
+        // The replayed nodes are written when the journal is compacted
+        restoredStore.compact();
+        assertTrue(new File(folder.getRoot(), "node002.zws").exists());
+        restoredStore.shutdown();
+        store.shutdown();
+    }
+
+    @Test
+    public void tornJournalRecord() throws Exception {
+        ZWaveNodeStore store = new ZWaveNodeStore(folder.getRoot(), 60000);
+        ZWaveNetwork network = new ZWaveNetwork();
+        network.setNodeStore(store);
+        addNode(network, 2).setWakeUpInterval(3600);
+        store.flush();
+
+        // Damage the last record, as if the system failed while it was being written
+        try (RandomAccessFile journal = new RandomAccessFile(new File(folder.getRoot(), "journal.zwj"), "rw")) {
+            long last = 0;
+            journal.seek(8);
+            for (int length = journal.readInt(); length != 0; length = journal.readInt()) {
+                last = journal.getFilePointer() - 4;
+                journal.seek(last + 8 + length);
+            }
+            journal.seek(last + 12);
+            journal.write(0x55);
+        }
+
+        ZWaveNetwork restored = new ZWaveNetwork();
+        ZWaveNodeStore restoredStore = new ZWaveNodeStore(folder.getRoot(), 60000);
+        assertEquals(1, restored.setNodeStore(restoredStore));
+        assertEquals(0, restored.getNode(2).getWakeUpInterval());
+        assertEquals("SN2", restored.getNode(2).getSerialNumber());
+        restoredStore.shutdown();
+        store.shutdown();
+    }
+
+    @Test
+    public void compactFullJournal() throws Exception {
+        ZWaveNodeStore store = new ZWaveNodeStore(folder.getRoot(), 60000, 4096);
+        ZWaveNetwork network = new ZWaveNetwork();
+        network.setNodeStore(store);
+        ZWaveNode node = addNode(network, 2);
+        for (int interval = 1; interval <= 500; interval++) {
+            node.setWakeUpInterval(interval);
+        }
+        store.flush();
+        store.compact();
+        assertTrue(new File(folder.getRoot(), "node002.zws").exists());
+
+        // The compacted journal replaced the old one, and holds no records
+        File journalFile = new File(folder.getRoot(), "journal.zwj");
+        assertFalse(new File(folder.getRoot(), "journal.zwj.tmp").exists());
+        assertEquals(4096, journalFile.length());
+        try (RandomAccessFile journal = new RandomAccessFile(journalFile, "r")) {
+            journal.seek(8);
+            assertEquals(0, journal.readInt());
+        }
+
+        ZWaveNetwork restored = new ZWaveNetwork();
+        ZWaveNodeStore restoredStore = new ZWaveNodeStore(folder.getRoot(), 60000, 4096);
+        assertEquals(1, restored.setNodeStore(restoredStore));
+        assertEquals(500, restored.getNode(2).getWakeUpInterval());
+        restoredStore.shutdown();
+        store.shutdown();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveTimer}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveTimerTest {
+    // A small wheel so that timeouts wrap around it
+    private final ZWaveTimer timer = new ZWaveTimer(5, TimeUnit.MILLISECONDS, 8);
+
+    @After
+    public void shutdown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void runAfterDelay() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        ZWaveTimeout timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void runInDeadlineOrder() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(3);
+        final StringBuffer order = new StringBuffer();
+        for (final int delay : new int[] { 90, 10, 50 }) {
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    order.append(delay).append(' ');
+                    latch.countDown();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals("10 50 90 ", order.toString());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        final AtomicInteger count = new AtomicInteger();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                count.incrementAndGet();
+            }
+        };
+
+        ZWaveTimeout cancelled = timer.schedule(task, 20, TimeUnit.MILLISECONDS);
+        ZWaveTimeout expired = timer.schedule(task, 40, TimeUnit.MILLISECONDS);
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        Thread.sleep(200);
+        assertEquals(1, count.get());
+        assertTrue(cancelled.isCancelled());
+        assertTrue(expired.isExpired());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void scheduleAfterShutdown() {
+        timer.shutdown();
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+    }
+}
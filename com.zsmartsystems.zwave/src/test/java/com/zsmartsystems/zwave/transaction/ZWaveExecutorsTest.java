@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.ZWaveNetwork;
+
+/**
+ * Test cases for {@link ZWaveExecutors}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveExecutorsTest {
+    private final Callable<Thread> currentThread = new Callable<Thread>() {
+        @Override
+        public Thread call() {
+            return Thread.currentThread();
+        }
+    };
+
+    @Test
+    public void platformExecutor() throws Exception {
+        ExecutorService executor = ZWaveExecutors.newPlatformExecutor("Test-", 2);
+        Thread thread = executor.submit(currentThread).get(1, TimeUnit.SECONDS);
+        assertTrue(thread.isDaemon());
+        assertEquals("Test-1", thread.getName());
+        executor.shutdown();
+    }
+
+    @Test
+    public void virtualThreadExecutor() throws Exception {
+        ExecutorService executor = ZWaveExecutors.newVirtualThreadExecutor();
+        assertEquals(ZWaveExecutors.isVirtualThreadAvailable(), executor != null);
+        if (executor != null) {
+            Thread thread = executor.submit(currentThread).get(1, TimeUnit.SECONDS);
+            assertTrue(thread.getName().startsWith("ZWaveVirtual-"));
+            executor.shutdown();
+        }
+
+        // The transaction manager falls back to platform threads if virtual threads are not available
+        ZWaveTransactionManager transactionManager = new ZWaveTransactionManager(new ZWaveNetwork(), null, true);
+        assertEquals(ZWaveExecutors.isVirtualThreadAvailable(), transactionManager.isUsingVirtualThreads());
+        transactionManager.shutdown();
+    }
+}
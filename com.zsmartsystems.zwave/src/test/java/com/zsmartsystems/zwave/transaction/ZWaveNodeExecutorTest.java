@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveNodeExecutor}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveNodeExecutorTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ZWaveNodeExecutor nodeExecutor = new ZWaveNodeExecutor(executor);
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void orderedPerNode() throws Exception {
+        final int nodes = 20;
+        final int count = 500;
+        final List<List<Integer>> received = new ArrayList<List<Integer>>();
+        final CountDownLatch done = new CountDownLatch(nodes * count);
+        for (int nodeId = 0; nodeId < nodes; nodeId++) {
+            received.add(new ArrayList<Integer>());
+        }
+
+        // Tasks for all the nodes are interleaved, and each node sees its own in order
+        for (int cnt = 0; cnt < count; cnt++) {
+            for (int nodeId = 0; nodeId < nodes; nodeId++) {
+                final List<Integer> list = received.get(nodeId);
+                final int value = cnt;
+                nodeExecutor.execute(nodeId, new Runnable() {
+                    @Override
+                    public void run() {
+                        list.add(value);
+                        done.countDown();
+                    }
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> list : received) {
+            assertEquals(count, list.size());
+            for (int cnt = 0; cnt < count; cnt++) {
+                assertEquals(cnt, list.get(cnt).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void blockedNode() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+
+        // A task that blocks (or throws) only holds up its own node
+        nodeExecutor.execute(2, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        nodeExecutor.execute(2, new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        nodeExecutor.execute(3, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException();
+            }
+        });
+        nodeExecutor.execute(3, new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+
+        assertFalse(done.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, done.getCount());
+        release.countDown();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+}
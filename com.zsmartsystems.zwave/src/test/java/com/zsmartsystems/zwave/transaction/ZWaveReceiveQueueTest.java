@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ZWaveReceiveQueue}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveReceiveQueueTest {
+    private ZWaveReceiveQueue<Integer> fill(ReceiveOverflowPolicy policy, int count) {
+        ZWaveReceiveQueue<Integer> queue = new ZWaveReceiveQueue<Integer>(4);
+        queue.setPolicy(policy);
+        for (int cnt = 0; cnt < count; cnt++) {
+            assertTrue(queue.add(cnt));
+        }
+        return queue;
+    }
+
+    @Test
+    public void addAndPoll() {
+        ZWaveReceiveQueue<Integer> queue = new ZWaveReceiveQueue<Integer>(3);
+        assertEquals(4, queue.getCapacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        // The ring is reused as messages are removed
+        for (int cnt = 0; cnt < 10; cnt++) {
+            queue.add(cnt);
+            queue.add(cnt + 100);
+            assertEquals(2, queue.size());
+            assertEquals(Integer.valueOf(cnt), queue.poll());
+            assertEquals(Integer.valueOf(cnt + 100), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(2, queue.getHighWaterMark());
+    }
+
+    @Test
+    public void dropOldest() {
+        ZWaveReceiveQueue<Integer> queue = fill(ReceiveOverflowPolicy.DROP_OLDEST, 6);
+        assertEquals(4, queue.size());
+        assertEquals(2, queue.getDropped());
+        for (int cnt = 2; cnt < 6; cnt++) {
+            assertEquals(Integer.valueOf(cnt), queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void spill() {
+        ZWaveReceiveQueue<Integer> queue = fill(ReceiveOverflowPolicy.SPILL, 6);
+        assertEquals(6, queue.size());
+        assertEquals(2, queue.getSpilled());
+        assertEquals(6, queue.getHighWaterMark());
+
+        // Once spilling has started, messages go to the overflow list until it is empty, so the order is kept
+        assertEquals(Integer.valueOf(0), queue.poll());
+        queue.add(6);
+        for (int cnt = 1; cnt < 7; cnt++) {
+            assertEquals(Integer.valueOf(cnt), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertEquals(3, queue.getSpilled());
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    public void overflowOrder() {
+        ZWaveReceiveQueue<Integer> queue = fill(ReceiveOverflowPolicy.SPILL, 6);
+
+        // Messages go to the overflow list while it is in use, even when the policy no longer spills
+        queue.setPolicy(ReceiveOverflowPolicy.DROP_OLDEST);
+        assertEquals(Integer.valueOf(0), queue.poll());
+        queue.add(6);
+        queue.setPolicy(ReceiveOverflowPolicy.BLOCK);
+        assertEquals(Integer.valueOf(1), queue.poll());
+        queue.add(7);
+        for (int cnt = 2; cnt < 8; cnt++) {
+            assertEquals(Integer.valueOf(cnt), queue.poll());
+        }
+        assertNull(queue.poll());
+        assertEquals(4, queue.getSpilled());
+        assertEquals(0, queue.getDropped());
+
+        // Once the overflow list is empty the ring is used again
+        queue.add(8);
+        assertEquals(4, queue.getSpilled());
+        assertEquals(Integer.valueOf(8), queue.poll());
+    }
+
+    @Test
+    public void block() throws Exception {
+        final ZWaveReceiveQueue<Integer> queue = fill(ReceiveOverflowPolicy.BLOCK, 4);
+        final CountDownLatch added = new CountDownLatch(1);
+        Thread producer = new Thread() {
+            @Override
+            public void run() {
+                queue.add(4);
+                added.countDown();
+            }
+        };
+        producer.start();
+
+        // The producer waits until there is room
+        assertFalse(added.await(50, TimeUnit.MILLISECONDS));
+        assertEquals(Integer.valueOf(0), queue.take());
+        assertTrue(added.await(1, TimeUnit.SECONDS));
+        for (int cnt = 1; cnt < 5; cnt++) {
+            assertEquals(Integer.valueOf(cnt), queue.take());
+        }
+
+        // An interrupted producer gives up
+        for (int cnt = 0; cnt < 4; cnt++) {
+            assertTrue(queue.add(cnt));
+        }
+        final boolean[] result = new boolean[] { true };
+        producer = new Thread() {
+            @Override
+            public void run() {
+                interrupt();
+                result[0] = queue.add(99);
+            }
+        };
+        producer.start();
+        producer.join(1000);
+        assertFalse(result[0]);
+        assertEquals(1, queue.getDropped());
+        assertEquals(4, queue.size());
+
+        // The consumer can't wait for itself, so the message is spilled
+        assertTrue(queue.add(4));
+        assertEquals(1, queue.getSpilled());
+
+        // Producers then add to the overflow list without waiting, until it is empty
+        producer = new Thread() {
+            @Override
+            public void run() {
+                result[0] = queue.add(5);
+            }
+        };
+        producer.start();
+        producer.join(1000);
+        assertTrue(result[0]);
+        assertEquals(2, queue.getSpilled());
+        for (int cnt = 0; cnt < 6; cnt++) {
+            assertEquals(Integer.valueOf(cnt), queue.take());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void multipleProducers() throws Exception {
+        final int producers = 4;
+        final int count = 20000;
+        final ZWaveReceiveQueue<Integer> queue = new ZWaveReceiveQueue<Integer>(16);
+
+        for (int producer = 0; producer < producers; producer++) {
+            final int base = producer * count;
+            new Thread() {
+                @Override
+                public void run() {
+                    for (int cnt = 0; cnt < count; cnt++) {
+                        queue.add(base + cnt);
+                    }
+                }
+            }.start();
+        }
+
+        // Every message is received once, in the order each producer sent them
+        int[] next = new int[producers];
+        for (int cnt = 0; cnt < producers * count; cnt++) {
+            int value = queue.take();
+            int producer = value / count;
+            assertEquals(next[producer]++, value % count);
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.getDropped());
+        assertTrue(queue.getHighWaterMark() <= 16);
+    }
+}
@@ -0,0 +1,541 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.ZWaveCommandClassPayload;
+import com.zsmartsystems.zwave.ZWaveNetwork;
+import com.zsmartsystems.zwave.ZWaveNode;
+import com.zsmartsystems.zwave.ZWaveTransportTransmit;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassBasicV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSecurity2V1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassSwitchMultilevelV4;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2Engine;
+import com.zsmartsystems.zwave.security.s2.ZWaveS2KeyClass;
+import com.zsmartsystems.zwave.transaction.ZWaveTransactionResponse.State;
+
+/**
+ * Test cases for {@link ZWaveTransactionManager}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveTransactionManagerTest {
+    private ZWaveNetwork network;
+    private ZWaveTransactionManager transactionManager;
+    private final List<ZWaveCommandClassTransactionPayload> sent = new ArrayList<ZWaveCommandClassTransactionPayload>();
+    private final List<byte[]> multicastSent = new ArrayList<byte[]>();
+    private final ZWaveNode sleepingNode = new ZWaveNode(null, 5);
+    private final CountDownLatch slowNodeRelease = new CountDownLatch(1);
+    private final AtomicInteger slowNodeProcessed = new AtomicInteger();
+    private final CompletableFuture<ZWaveTransactionResponse> ownNodeResponse = new CompletableFuture<>();
+
+    @Before
+    public void setup() {
+        network = new ZWaveNetwork() {
+            @Override
+            public ZWaveNode getNode(int nodeId) {
+                if (nodeId == sleepingNode.getNodeId()) {
+                    return sleepingNode;
+                }
+                if (nodeId == 9) {
+                    // A node whose command class sends a transaction to the node when it gets a BASIC_REPORT
+                    ZWaveNode node = new ZWaveNode(this, nodeId) {
+                        @Override
+                        public List<ZWaveCommandClassPayload> processCommand(ZWaveCommandClassPayload payload) {
+                            if (payload.getCommandClassId() == CommandClassBasicV1.COMMAND_CLASS_KEY) {
+                                ownNodeResponse.complete(transactionManager.sendTransaction(getSwitchMultilevelGet(9)));
+                            }
+                            return super.processCommand(payload);
+                        }
+                    };
+                    node.setListening(true);
+                    node.addEndpoint(0);
+                    return node;
+                }
+                if (nodeId == 6) {
+                    // A node whose listeners take a long time to process each command
+                    ZWaveNode node = new ZWaveNode(this, nodeId) {
+                        @Override
+                        public List<ZWaveCommandClassPayload> processCommand(ZWaveCommandClassPayload payload) {
+                            try {
+                                slowNodeRelease.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            List<ZWaveCommandClassPayload> commands = super.processCommand(payload);
+                            slowNodeProcessed.incrementAndGet();
+                            return commands;
+                        }
+                    };
+                    node.setListening(true);
+                    node.addEndpoint(0);
+                    return node;
+                }
+                ZWaveNode node = new ZWaveNode(this, nodeId);
+                node.setListening(true);
+                node.addEndpoint(0);
+                return node;
+            }
+        };
+
+        transactionManager = new ZWaveTransactionManager(network, new ZWaveTransportTransmit() {
+            @Override
+            public void sendMessage(ZWaveCommandClassTransactionPayload payload) {
+                synchronized (sent) {
+                    sent.add(payload);
+                    sent.notify();
+                }
+            }
+
+            @Override
+            public boolean sendMulticastMessage(int[] nodeIds, byte[] payload) {
+                synchronized (sent) {
+                    multicastSent.add(payload);
+                }
+                return true;
+            }
+        });
+    }
+
+    @After
+    public void shutdown() {
+        slowNodeRelease.countDown();
+        transactionManager.shutdown();
+    }
+
+    private void waitForSent(int count) throws InterruptedException {
+        synchronized (sent) {
+            while (sent.size() < count) {
+                sent.wait(1000);
+            }
+        }
+    }
+
+    private ZWaveCommandClassPayload getSwitchMultilevelReport() {
+        return new ZWaveCommandClassPayload(CommandClassSwitchMultilevelV4.getSwitchMultilevelReport("ON_ENABLE", 0x20,
+                "ALREADY_AT_THE_TARGET_VALUE"));
+    }
+
+    private ZWaveCommandClassPayload getBasicReport() {
+        return new ZWaveCommandClassPayload(CommandClassBasicV1.getBasicReport(0x20));
+    }
+
+    private ZWaveCommandClassTransactionPayload getSwitchMultilevelGet(int nodeId) {
+        return new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                CommandClassSwitchMultilevelV4.getSwitchMultilevelGet())
+                        .withExpectedResponseCommand(CommandClassSwitchMultilevelV4.SWITCH_MULTILEVEL_REPORT).build();
+    }
+
+    @Test
+    public void getCorrelationKey() {
+        int key = ZWaveTransaction.getCorrelationKey(2, 0, 0x26, 3);
+        assertEquals(0x02002603, key);
+        assertNotEquals(key, ZWaveTransaction.getCorrelationKey(3, 0, 0x26, 3));
+        assertNotEquals(key, ZWaveTransaction.getCorrelationKey(2, 1, 0x26, 3));
+        assertNotEquals(key, ZWaveTransaction.getCorrelationKey(2, 0, 0x20, 3));
+        assertNotEquals(key, ZWaveTransaction.getCorrelationKey(2, 0, 0x26, 2));
+
+        ZWaveTransaction transaction = new ZWaveTransaction(getSwitchMultilevelGet(2));
+        assertEquals(key, transaction.getCorrelationKey());
+
+        transaction = new ZWaveTransaction(
+                new ZWaveCommandClassTransactionPayloadBuilder(2, CommandClassBasicV1.getBasicSet(0xFF)).build());
+        assertEquals(-1, transaction.getCorrelationKey());
+    }
+
+    @Test
+    public void receiveBurst() throws Exception {
+        // A burst larger than the receive queue is processed without losing any messages
+        for (int cnt = 0; cnt < 1000; cnt++) {
+            transactionManager.processReceiveMessage(2 + cnt % 200, getSwitchMultilevelReport());
+        }
+        long timeout = System.currentTimeMillis() + 5000;
+        while (transactionManager.getReceiveQueueLength() != 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, transactionManager.getReceiveQueueLength());
+        assertTrue(transactionManager.getReceiveQueueHighWaterMark() > 0);
+        assertEquals(0, transactionManager.getReceiveQueueDropped());
+    }
+
+    @Test
+    public void slowCommandProcessing() throws Exception {
+        // Slow processing of the commands from one node doesn't hold up the transactions to it, or other nodes
+        for (int cnt = 0; cnt < 10; cnt++) {
+            transactionManager.processReceiveMessage(6, getBasicReport());
+        }
+        Future<ZWaveTransactionResponse> future6 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(6));
+        Future<ZWaveTransactionResponse> future7 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(7));
+        waitForSent(2);
+        transactionManager.processReceiveMessage(6, getSwitchMultilevelReport());
+        transactionManager.processReceiveMessage(7, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, future7.get(1, TimeUnit.SECONDS).getState());
+
+        // The next transaction to the node is released, but the sender isn't notified until the report is processed
+        Future<ZWaveTransactionResponse> next6 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(6));
+        waitForSent(3);
+        assertFalse(future6.isDone());
+
+        slowNodeRelease.countDown();
+        assertEquals(State.COMPLETE, future6.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(11, slowNodeProcessed.get());
+        assertFalse(next6.isDone());
+    }
+
+    @Test
+    public void sendToOwnNodeWhileProcessing() throws Exception {
+        // The command class is still processing the BASIC_REPORT when the response to its transaction is received
+        transactionManager.processReceiveMessage(9, getBasicReport());
+        waitForSent(1);
+        transactionManager.processReceiveMessage(9, getSwitchMultilevelReport());
+
+        assertEquals(State.COMPLETE, ownNodeResponse.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    public void correlateResponse() throws Exception {
+        Future<ZWaveTransactionResponse> future = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(2));
+        waitForSent(1);
+
+        // The right report from the wrong node, and the wrong report from the right node, are not correlated
+        transactionManager.processReceiveMessage(3, getSwitchMultilevelReport());
+        transactionManager.processReceiveMessage(2,
+                new ZWaveCommandClassPayload(CommandClassBasicV1.getBasicReport(0x20)));
+        Thread.sleep(100);
+        assertFalse(future.isDone());
+
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, future.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(0, transactionManager.getSendQueueLength(2));
+    }
+
+    @Test
+    public void sendThroughNetwork() throws Exception {
+        network.setTransactionManager(transactionManager);
+        Future<ZWaveTransactionResponse> future = network.sendTransactionAsync(getSwitchMultilevelGet(2));
+        waitForSent(1);
+        assertEquals(1, network.getSendQueueLength(2));
+
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, future.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(0, network.getSendQueueLength(2));
+    }
+
+    @Test
+    public void releaseOneTransactionPerNode() throws Exception {
+        Future<ZWaveTransactionResponse> node2First = transactionManager
+                .sendTransactionAsync(getSwitchMultilevelGet(2));
+        waitForSent(1);
+        Future<ZWaveTransactionResponse> node2Second = transactionManager
+                .sendTransactionAsync(getSwitchMultilevelGet(2));
+        Future<ZWaveTransactionResponse> node3 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(3));
+        Future<ZWaveTransactionResponse> node4 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(4));
+
+        // Nodes 3 and 4 are released while node 2 is still waiting for its report
+        waitForSent(3);
+        Thread.sleep(100);
+        assertEquals(3, sent.size());
+        assertEquals(2, sent.get(0).getNodeId());
+        assertEquals(2, transactionManager.getSendQueueLength(2));
+
+        transactionManager.processReceiveMessage(4, getSwitchMultilevelReport());
+        transactionManager.processReceiveMessage(3, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, node4.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(State.COMPLETE, node3.get(1, TimeUnit.SECONDS).getState());
+        assertFalse(node2First.isDone());
+
+        // Completing the first transaction to node 2 releases the second
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, node2First.get(1, TimeUnit.SECONDS).getState());
+        waitForSent(4);
+        assertEquals(2, sent.get(3).getNodeId());
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, node2Second.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    public void limitOutstandingTransactions() throws Exception {
+        transactionManager.setMaxOutstandingTransactions(2);
+
+        Future<ZWaveTransactionResponse> node2 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(2));
+        Future<ZWaveTransactionResponse> node3 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(3));
+        Future<ZWaveTransactionResponse> node4 = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(4));
+
+        waitForSent(2);
+        Thread.sleep(100);
+        assertEquals(2, sent.size());
+
+        int firstNode = sent.get(0).getNodeId();
+        transactionManager.processReceiveMessage(firstNode, getSwitchMultilevelReport());
+        waitForSent(3);
+        for (ZWaveCommandClassTransactionPayload payload : sent.subList(1, 3)) {
+            transactionManager.processReceiveMessage(payload.getNodeId(), getSwitchMultilevelReport());
+        }
+
+        assertEquals(State.COMPLETE, node2.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(State.COMPLETE, node3.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(State.COMPLETE, node4.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaxOutstandingTransactionsInvalid() {
+        transactionManager.setMaxOutstandingTransactions(0);
+    }
+
+    @Test
+    public void holdTransactionsForSleepingNode() throws Exception {
+        Future<ZWaveTransactionResponse> future = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(5));
+        Future<ZWaveTransactionResponse> listening = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(2));
+
+        waitForSent(1);
+        Thread.sleep(100);
+        assertEquals(1, sent.size());
+        assertEquals(2, sent.get(0).getNodeId());
+        assertEquals(1, transactionManager.getSendQueueLength(5));
+
+        sleepingNode.setListening(true);
+        transactionManager.notifyNodeAwake(5);
+        waitForSent(2);
+        assertEquals(5, sent.get(1).getNodeId());
+
+        transactionManager.processReceiveMessage(5, getSwitchMultilevelReport());
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, future.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(State.COMPLETE, listening.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    public void coalesceQueuedGets() throws Exception {
+        // Two callers poll a sleeping node for the same value
+        Future<ZWaveTransactionResponse> first = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(5));
+        Future<ZWaveTransactionResponse> second = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(5));
+        assertEquals(1, transactionManager.getSendQueueLength(5));
+        assertEquals(1, transactionManager.getCoalescedTransactions());
+
+        // Each caller has its own future, so one giving up doesn't affect the other
+        Future<ZWaveTransactionResponse> third = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(5));
+        third.cancel(false);
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        sleepingNode.setListening(true);
+        transactionManager.notifyNodeAwake(5);
+        waitForSent(1);
+        transactionManager.processReceiveMessage(5, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, first.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(State.COMPLETE, second.get(1, TimeUnit.SECONDS).getState());
+        Thread.sleep(100);
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void supersedeQueuedSet() throws Exception {
+        Future<ZWaveTransactionResponse> first = transactionManager.sendTransactionAsync(
+                new ZWaveCommandClassTransactionPayloadBuilder(5, CommandClassBasicV1.getBasicSet(0x10)).withTarget(0)
+                        .build());
+        Future<ZWaveTransactionResponse> second = transactionManager.sendTransactionAsync(
+                new ZWaveCommandClassTransactionPayloadBuilder(5, CommandClassBasicV1.getBasicSet(0x20)).withTarget(0)
+                        .build());
+        assertEquals(1, transactionManager.getSendQueueLength(5));
+
+        // Only the last value is sent, and both callers see it complete
+        sleepingNode.setListening(true);
+        transactionManager.notifyNodeAwake(5);
+        waitForSent(1);
+        assertEquals(0x20, sent.get(0).getPayloadBuffer()[2]);
+        assertEquals(first.get(1, TimeUnit.SECONDS).getState(), second.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    public void retryThenTimeout() throws Exception {
+        ZWaveCommandClassTransactionPayload payload = getSwitchMultilevelGet(2);
+        payload.setTimeout(250);
+        payload.setMaxAttempts(2);
+
+        Future<ZWaveTransactionResponse> future = transactionManager.sendTransactionAsync(payload);
+        assertEquals(State.TIMEOUT_WAITING_FOR_DATA, future.get(2, TimeUnit.SECONDS).getState());
+        assertEquals(2, sent.size());
+        assertEquals(0, transactionManager.getSendQueueLength(2));
+
+        // The node can be used again, and a late report doesn't complete anything
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        future = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(2));
+        waitForSent(3);
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+        assertEquals(State.COMPLETE, future.get(1, TimeUnit.SECONDS).getState());
+    }
+
+    @Test
+    public void completeWithoutSendQueueLock() throws Exception {
+        // A dependent action that waits for another thread using the transaction manager doesn't deadlock
+        CompletableFuture<Boolean> future = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(2))
+                .thenApply(new Function<ZWaveTransactionResponse, Boolean>() {
+                    @Override
+                    public Boolean apply(ZWaveTransactionResponse response) {
+                        final CountDownLatch queried = new CountDownLatch(1);
+                        new Thread() {
+                            @Override
+                            public void run() {
+                                transactionManager.getSendQueueLength(3);
+                                queried.countDown();
+                            }
+                        }.start();
+                        try {
+                            return queried.await(1, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+                });
+        waitForSent(1);
+        transactionManager.processReceiveMessage(2, getSwitchMultilevelReport());
+
+        assertTrue(future.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelSecureTransactionWithoutSecurity() throws Exception {
+        ZWaveCommandClassTransactionPayload payload = getSwitchMultilevelGet(2);
+        payload.setRequiresSecurity();
+
+        Future<ZWaveTransactionResponse> future = transactionManager.sendTransactionAsync(payload);
+        assertEquals(State.CANCELLED, future.get(1, TimeUnit.SECONDS).getState());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void clearSendQueue() throws Exception {
+        Future<ZWaveTransactionResponse> future = transactionManager.sendTransactionAsync(getSwitchMultilevelGet(5));
+        transactionManager.clearSendQueue();
+
+        assertEquals(State.CANCELLED, future.get(1, TimeUnit.SECONDS).getState());
+        assertEquals(0, transactionManager.getSendQueueLength(5));
+    }
+
+    @Test
+    public void burstWithoutThreadPerTransaction() throws Exception {
+        int threads = Thread.activeCount();
+
+        List<CompletableFuture<ZWaveTransactionResponse>> futures = new ArrayList<>();
+        for (int cnt = 0; cnt < 1000; cnt++) {
+            futures.add(transactionManager.sendTransactionAsync(new ZWaveCommandClassTransactionPayloadBuilder(
+                    10 + cnt % 200, CommandClassBasicV1.getBasicSet(cnt / 200)).build()));
+        }
+        assertTrue(Thread.activeCount() - threads < 10);
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<ZWaveTransactionResponse> future : futures) {
+            assertEquals(State.COMPLETE, future.get().getState());
+        }
+        assertEquals(1000, sent.size());
+    }
+
+    @Test
+    public void secureMulticastToScene() throws Exception {
+        byte[] networkKey = new byte[16];
+        ZWaveS2Engine s2Engine = new ZWaveS2Engine(0xC0FFEE01, 1);
+        s2Engine.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, networkKey);
+        network.setS2Engine(s2Engine);
+
+        // A scene of 30 nodes, half of which already have a SPAN with the controller
+        Map<Integer, ZWaveS2Engine> devices = new HashMap<Integer, ZWaveS2Engine>();
+        for (int nodeId = 10; nodeId < 40; nodeId++) {
+            ZWaveS2Engine device = new ZWaveS2Engine(0xC0FFEE01, nodeId);
+            device.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, networkKey);
+            devices.put(nodeId, device);
+            if (nodeId % 2 == 0) {
+                s2Engine.handleNonceReport(nodeId, device.getNonceReport(1));
+            }
+        }
+
+        byte[] command = CommandClassSwitchMultilevelV4.getSwitchMultilevelSet("ON_ENABLE", "INSTANTLY");
+        Map<Integer, CompletableFuture<ZWaveTransactionResponse>> futures = transactionManager
+                .sendSecureMulticast(devices.keySet(), command);
+        assertEquals(30, futures.size());
+        assertEquals(1, multicastSent.size());
+
+        // The nodes without a SPAN are sent a NONCE_GET, and the others their follow-up
+        waitForSent(30);
+        for (int nodeId = 11; nodeId < 40; nodeId += 2) {
+            transactionManager.processReceiveMessage(nodeId,
+                    new ZWaveCommandClassPayload(devices.get(nodeId).getNonceReport(1)));
+        }
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[30])).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<ZWaveTransactionResponse> future : futures.values()) {
+            assertEquals(State.COMPLETE, future.get().getState());
+        }
+
+        // Every node gets the command from its follow-up, along with the MPAN for the next scene
+        assertEquals(45, sent.size());
+        for (ZWaveCommandClassTransactionPayload payload : sent) {
+            if (payload.getCommandClassCommand() == CommandClassSecurity2V1.SECURITY_2_MESSAGE_ENCAPSULATION) {
+                assertTrue(Arrays.equals(command,
+                        devices.get(payload.getDestinationNode()).decapsulate(1, payload.getPayloadBuffer())));
+            }
+        }
+
+        // The next scene is sent without any nonce exchange, and the command is received in the multicast frame
+        command = CommandClassSwitchMultilevelV4.getSwitchMultilevelSet("OFF_DISABLE", "INSTANTLY");
+        futures = transactionManager.sendSecureMulticast(devices.keySet(), command);
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[30])).get(10, TimeUnit.SECONDS);
+        assertEquals(2, multicastSent.size());
+        assertEquals(75, sent.size());
+        for (ZWaveS2Engine device : devices.values()) {
+            assertTrue(Arrays.equals(command, device.decapsulateMulticast(1, multicastSent.get(1))));
+        }
+        for (ZWaveCommandClassTransactionPayload payload : sent.subList(45, 75)) {
+            ZWaveS2Engine device = devices.get(payload.getDestinationNode());
+            assertEquals(0, device.decapsulate(1, payload.getPayloadBuffer()).length);
+        }
+    }
+
+    @Test
+    public void secureMulticastFollowUpEncapsulatedWhenSent() throws Exception {
+        byte[] networkKey = new byte[16];
+        ZWaveS2Engine s2Engine = new ZWaveS2Engine(0xC0FFEE01, 1);
+        s2Engine.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, networkKey);
+        network.setS2Engine(s2Engine);
+        ZWaveS2Engine device = new ZWaveS2Engine(0xC0FFEE01, 5);
+        device.setNetworkKey(ZWaveS2KeyClass.S2_UNAUTHENTICATED, networkKey);
+        s2Engine.handleNonceReport(5, device.getNonceReport(1));
+
+        // The follow-up waits in the queue while the node sleeps, and another frame uses the SPAN in the meantime
+        byte[] command = CommandClassSwitchMultilevelV4.getSwitchMultilevelSet("ON_ENABLE", "INSTANTLY");
+        CompletableFuture<ZWaveTransactionResponse> future = transactionManager
+                .sendSecureMulticast(Arrays.asList(5), command).get(5);
+        byte[] basicSet = CommandClassBasicV1.getBasicSet(0xFF);
+        assertTrue(Arrays.equals(basicSet, device.decapsulate(1, s2Engine.encapsulate(5, basicSet))));
+
+        sleepingNode.setListening(true);
+        transactionManager.notifyNodeAwake(5);
+        assertEquals(State.COMPLETE, future.get(1, TimeUnit.SECONDS).getState());
+        assertTrue(Arrays.equals(command, device.decapsulate(1, sent.get(0).getPayloadBuffer())));
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2014-2016 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package com.zsmartsystems.zwave.transaction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassBasicV1;
+import com.zsmartsystems.zwave.commandclass.impl.CommandClassConfigurationV1;
+
+/**
+ * Test cases for {@link ZWaveTransactionQueue}.
+ *
+ * @author Jordan Hayes
+ */
+public class ZWaveTransactionQueueTest {
+    private final Set<Integer> unavailableNodes = new HashSet<Integer>();
+    private final Set<Integer> checkedNodes = new HashSet<Integer>();
+
+    private final ZWaveTransactionQueue queue = new ZWaveTransactionQueue() {
+        @Override
+        protected boolean isNodeAvailable(int nodeId) {
+            checkedNodes.add(nodeId);
+            return !unavailableNodes.contains(nodeId);
+        }
+    };
+
+    private ZWaveTransaction getTransaction(int nodeId, int value, TransactionPriority priority) {
+        return new ZWaveTransaction(new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                CommandClassBasicV1.getBasicSet(value)).withPriority(priority).build());
+    }
+
+    private ZWaveTransaction getGet(int nodeId, int parameter, TransactionPriority priority) {
+        return new ZWaveTransaction(new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                CommandClassConfigurationV1.getConfigurationGet(parameter)).withPriority(priority)
+                        .withExpectedResponseCommand(CommandClassConfigurationV1.CONFIGURATION_REPORT).build());
+    }
+
+    private ZWaveTransaction getParameterSet(int nodeId, int parameter, int value) {
+        return new ZWaveTransaction(new ZWaveCommandClassTransactionPayloadBuilder(nodeId,
+                CommandClassConfigurationV1.getConfigurationSet(parameter, false, new byte[] { (byte) value }))
+                        .withTarget(1).build());
+    }
+
+    @Test
+    public void pollInPriorityOrder() {
+        ZWaveTransaction poll = getTransaction(2, 1, TransactionPriority.Poll);
+        ZWaveTransaction set = getTransaction(3, 2, TransactionPriority.Set);
+        ZWaveTransaction immediate = getTransaction(2, 3, TransactionPriority.Immediate);
+        queue.add(poll);
+        queue.add(set);
+        queue.add(immediate);
+
+        assertEquals(3, queue.size());
+        assertEquals(immediate, queue.poll());
+        assertEquals(set, queue.poll());
+        assertEquals(poll, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void roundRobinBetweenNodes() {
+        // Node 2 has a large backlog queued ahead of node 3
+        for (int value = 0; value < 100; value++) {
+            queue.add(getTransaction(2, value, TransactionPriority.Get));
+        }
+        queue.add(getTransaction(3, 0, TransactionPriority.Get));
+        assertEquals(100, queue.size(2));
+        assertEquals(1, queue.size(3));
+
+        // Node 3 is served once node 2 has used its quantum
+        int polled = 0;
+        while (queue.poll().getNodeId() == 2) {
+            polled++;
+        }
+        assertTrue(polled < 64);
+        assertEquals(0, queue.size(3));
+    }
+
+    @Test
+    public void removeEqualTransaction() {
+        queue.add(getTransaction(2, 1, TransactionPriority.Get));
+        queue.add(getTransaction(2, 2, TransactionPriority.Get));
+
+        assertTrue(queue.remove(getTransaction(2, 1, TransactionPriority.Set)));
+        assertEquals(1, queue.size(2));
+        assertEquals(2, queue.poll().getPayloadBuffer()[2]);
+    }
+
+    @Test
+    public void coalesceEqualGet() {
+        ZWaveTransaction poll = getGet(2, 1, TransactionPriority.Poll);
+        queue.add(poll);
+        assertNull(queue.coalesce(getGet(3, 1, TransactionPriority.Poll)));
+        assertNull(queue.coalesce(getGet(2, 2, TransactionPriority.Poll)));
+
+        // An equal GET shares the queued one, which moves up to the higher priority
+        queue.add(getGet(2, 3, TransactionPriority.Get));
+        assertEquals(poll, queue.coalesce(getGet(2, 1, TransactionPriority.Set)));
+        assertEquals(TransactionPriority.Set, poll.getPriority());
+        assertEquals(2, queue.size(2));
+        assertEquals(poll, queue.poll());
+
+        // Once it has been sent it is no longer shared
+        assertNull(queue.coalesce(getGet(2, 1, TransactionPriority.Poll)));
+    }
+
+    @Test
+    public void noCoalesceAfterSet() {
+        queue.add(getGet(2, 1, TransactionPriority.Get));
+        queue.add(getTransaction(2, 1, TransactionPriority.Get));
+
+        // The SET may change the value, so a later GET is sent again
+        assertNull(queue.coalesce(getGet(2, 1, TransactionPriority.Get)));
+    }
+
+    @Test
+    public void replaceSupersededSet() {
+        ZWaveTransaction first = getParameterSet(2, 1, 10);
+        ZWaveTransaction other = getParameterSet(2, 2, 10);
+        ZWaveTransaction get = getGet(2, 1, TransactionPriority.Get);
+        queue.add(first);
+        queue.add(other);
+        queue.add(get);
+
+        assertNull(queue.replaceSuperseded(getParameterSet(3, 1, 20)));
+        assertNull(queue.replaceSuperseded(getGet(2, 1, TransactionPriority.Get)));
+        ZWaveTransaction replacement = getParameterSet(2, 1, 20);
+        assertEquals(first, queue.replaceSuperseded(replacement));
+        assertEquals(3, queue.size(2));
+
+        // Without a target nothing is superseded, even by an equal transaction
+        ZWaveTransaction set = getTransaction(2, 5, TransactionPriority.Get);
+        queue.add(set);
+        assertNull(queue.replaceSuperseded(getTransaction(2, 5, TransactionPriority.Get)));
+
+        // The replacement is sent in the place of the original
+        assertEquals(replacement, queue.poll());
+        assertEquals(other, queue.poll());
+        assertEquals(get, queue.poll());
+        assertEquals(set, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void parkUnavailableNode() {
+        unavailableNodes.add(2);
+        queue.add(getTransaction(2, 1, TransactionPriority.Get));
+        assertNull(queue.poll());
+        assertTrue(checkedNodes.contains(2));
+
+        // A parked node isn't checked again, however much is queued for it
+        checkedNodes.clear();
+        for (int value = 0; value < 10; value++) {
+            queue.add(getTransaction(2, value + 2, TransactionPriority.Get));
+        }
+        assertNull(queue.poll());
+        assertTrue(checkedNodes.isEmpty());
+        assertEquals(11, queue.size(2));
+
+        unavailableNodes.clear();
+        queue.resumeNode(2);
+        assertEquals(2, queue.poll().getNodeId());
+        assertEquals(10, queue.size(2));
+    }
+
+    @Test
+    public void clear() {
+        queue.add(getTransaction(2, 1, TransactionPriority.Get));
+        queue.add(getTransaction(3, 1, TransactionPriority.Get));
+        queue.clear();
+
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.size(2));
+        assertNull(queue.poll());
+    }
+}